@@ -199,6 +199,19 @@ public class AxonServerConfiguration {
      */
     private int snapshotPrefetch = 1;
 
+    /**
+     * The number of threads used to upcast and deserialize events received through event streams, ahead of the event
+     * processor consuming them. Defaults to {@code 0}, meaning events are upcast and deserialized on the thread of the
+     * consuming event processor.
+     */
+    private int eventDecodingThreads = 0;
+
+    /**
+     * The maximum number of events per event stream that are upcast and deserialized ahead of the consuming event
+     * processor. Only used when {@code eventDecodingThreads} is larger than {@code 0}. Defaults to {@code 64}.
+     */
+    private int eventDecodingPrefetch = 64;
+
     /**
      * Indicates whether the download advice message should be suppressed, even when default connection properties
      * (which are generally only used in DEV mode) are used. Defaults to false.
@@ -872,6 +885,53 @@ public void setSnapshotPrefetch(int snapshotPrefetch) {
         this.snapshotPrefetch = snapshotPrefetch;
     }
 
+    /**
+     * The number of threads used to upcast and deserialize events received through event streams, ahead of the event
+     * processor consuming them. Defaults to {@code 0}, meaning events are upcast and deserialized on the thread of the
+     * consuming event processor.
+     *
+     * @return The number of threads used to upcast and deserialize events received through event streams.
+     */
+    public int getEventDecodingThreads() {
+        return eventDecodingThreads;
+    }
+
+    /**
+     * Sets the number of threads used to upcast and deserialize events received through event streams, ahead of the
+     * event processor consuming them. Defaults to {@code 0}, meaning events are upcast and deserialized on the thread
+     * of the consuming event processor.
+     * <p>
+     * Note that with decoding threads, each event is upcast individually. Upcasters depending on context built up from
+     * preceding events in the stream should not be combined with this setting.
+     *
+     * @param eventDecodingThreads The number of threads used to upcast and deserialize events received through event
+     *                             streams.
+     */
+    public void setEventDecodingThreads(int eventDecodingThreads) {
+        this.eventDecodingThreads = eventDecodingThreads;
+    }
+
+    /**
+     * The maximum number of events per event stream that are upcast and deserialized ahead of the consuming event
+     * processor. Only used when {@link #getEventDecodingThreads()} is larger than {@code 0}. Defaults to {@code 64}.
+     *
+     * @return The maximum number of events per event stream that are decoded ahead of the consuming event processor.
+     */
+    public int getEventDecodingPrefetch() {
+        return eventDecodingPrefetch;
+    }
+
+    /**
+     * Sets the maximum number of events per event stream that are upcast and deserialized ahead of the consuming event
+     * processor. Only used when {@link #getEventDecodingThreads()} is larger than {@code 0}. Defaults to {@code 64}.
+     *
+     * @param eventDecodingPrefetch The maximum number of events per event stream that are decoded ahead of the
+     *                              consuming event processor.
+     */
+    public void setEventDecodingPrefetch(int eventDecodingPrefetch) {
+        this.eventDecodingPrefetch = eventDecodingPrefetch;
+    }
+
     /**
      * @deprecated Through use of the <a href="https://github.com/AxonIQ/axonserver-connector-java">Axon Server Java
      * Connector</a> project, which enables the download message in absence of configured servers.
@@ -1269,6 +1329,12 @@ public static class FlowControlConfiguration {
          */
         private Integer newPermitsThreshold;
 
+        /**
+         * Whether the number of messages processed concurrently per handler adapts to the observed handler latency and
+         * executor queue depth. Only applies to commands and queries. Defaults to {@code false}.
+         */
+        private boolean adaptive;
+
         /**
          * Construct a {@link FlowControlConfiguration}.
          *
@@ -1377,6 +1443,32 @@ public Integer getNewPermitsThreshold() {
         public void setNewPermitsThreshold(Integer newPermitsThreshold) {
             this.newPermitsThreshold = newPermitsThreshold;
         }
+
+        /**
+         * Indicates whether the number of messages processed concurrently per handler adapts to the observed handler
+         * latency and executor queue depth. When enabled, messages exceeding the window of their handler are held back
+         * until earlier messages for that handler complete. Only applies to the
+         * {@link AxonServerConfiguration#getCommandFlowControl() command} and
+         * {@link AxonServerConfiguration#getQueryFlowControl() query} specific flow control settings. Defaults to
+         * {@code false}.
+         *
+         * @return {@code true} if adaptive flow control is enabled, {@code false} otherwise
+         * @see org.axonframework.axonserver.connector.util.AdaptiveFlowController
+         */
+        public boolean isAdaptive() {
+            return adaptive;
+        }
+
+        /**
+         * Sets whether the number of messages processed concurrently per handler adapts to the observed handler
+         * latency and executor queue depth. Only applies to commands and queries. Defaults to {@code false}.
+         *
+         * @param adaptive whether adaptive flow control is enabled
+         * @see org.axonframework.axonserver.connector.util.AdaptiveFlowController
+         */
+        public void setAdaptive(boolean adaptive) {
+            this.adaptive = adaptive;
+        }
     }
 
     public static class HeartbeatConfiguration {
@@ -1669,6 +1761,12 @@ public Builder snapshotPrefetch(int snapshotPrefetch) {
             return this;
         }
 
+        public Builder eventDecoding(int threads, int prefetch) {
+            instance.eventDecodingThreads = threads;
+            instance.eventDecodingPrefetch = prefetch;
+            return this;
+        }
+
         public Builder commandLoadFactor(int commandLoadFactor) {
             instance.commandLoadFactor = commandLoadFactor;
             return this;
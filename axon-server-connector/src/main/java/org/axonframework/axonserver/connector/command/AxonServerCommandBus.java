@@ -24,7 +24,9 @@
 import org.axonframework.axonserver.connector.ErrorCode;
 import org.axonframework.axonserver.connector.PriorityRunnable;
 import org.axonframework.axonserver.connector.TargetContextResolver;
+import org.axonframework.axonserver.connector.util.AdaptiveFlowController;
 import org.axonframework.axonserver.connector.util.ExecutorServiceBuilder;
+import org.axonframework.axonserver.connector.util.FlowControlMetrics;
 import org.axonframework.commandhandling.CommandBus;
 import org.axonframework.commandhandling.CommandBusSpanFactory;
 import org.axonframework.commandhandling.CommandCallback;
@@ -54,6 +56,7 @@
 import org.slf4j.LoggerFactory;
 
 import java.lang.invoke.MethodHandles;
+import java.util.Optional;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
@@ -92,6 +95,7 @@ public class AxonServerCommandBus implements CommandBus, Distributed<CommandBus>
     private final CommandCallback<Object, Object> defaultCommandCallback;
     private final ShutdownLatch shutdownLatch = new ShutdownLatch();
     private final ExecutorService executorService;
+    private final AdaptiveFlowController flowController;
     private final CommandBusSpanFactory spanFactory;
 
     /**
@@ -132,8 +136,17 @@ public AxonServerCommandBus(Builder builder) {
         this.context = c;
         this.targetContextResolver = builder.targetContextResolver.orElse(m -> c);
 
-        this.executorService =
-                builder.executorServiceBuilder.apply(builder.configuration, new PriorityBlockingQueue<>(1000));
+        PriorityBlockingQueue<Runnable> commandQueue = new PriorityBlockingQueue<>(1000);
+        this.executorService = builder.executorServiceBuilder.apply(builder.configuration, commandQueue);
+        AxonServerConfiguration.FlowControlConfiguration flowControl = configuration.getCommandFlowControl();
+        this.flowController = flowControl.isAdaptive()
+                ? AdaptiveFlowController.builder()
+                                        .initialWindow(configuration.getCommandThreads())
+                                        .maximumWindow(flowControl.getPermits())
+                                        .queueDepth(commandQueue::size, configuration.getCommandThreads())
+                                        .metrics(context, builder.flowControlMetrics)
+                                        .build()
+                : null;
         this.spanFactory = builder.spanFactory;
 
         dispatchInterceptors = new DispatchInterceptors<>();
@@ -222,10 +235,11 @@ public Registration subscribe(@Nonnull String commandName,
                                                                c, serializer, result, localSegment,
                                                                spanFactory);
                                                        long priority = priority(c.getProcessingInstructionsList());
-                                                       long sequence = TASK_SEQUENCE.incrementAndGet();
-                                                       executorService.execute(
-                                                               new PriorityRunnable(processingTask, priority, sequence)
-                                                       );
+                                                       execute(commandName, result, () -> executorService.execute(
+                                                               new PriorityRunnable(processingTask,
+                                                                                    priority,
+                                                                                    TASK_SEQUENCE.incrementAndGet())
+                                                       ));
                                                        return result;
                                                    },
                                                    loadFactorProvider.getFor(commandName),
@@ -235,6 +249,29 @@ public Registration subscribe(@Nonnull String commandName,
         return new AxonServerRegistration(localRegistration, serverRegistration::cancel);
     }
 
+    private void execute(String commandName, CompletableFuture<CommandResponse> result, Runnable task) {
+        if (flowController == null) {
+            task.run();
+            return;
+        }
+        flowController.execute(commandName, completion -> {
+            result.whenComplete((response, error) -> completion.run());
+            task.run();
+        });
+    }
+
+    /**
+     * Returns the {@link AdaptiveFlowController} limiting the number of commands processed concurrently per command
+     * name, if {@link AxonServerConfiguration.FlowControlConfiguration#isAdaptive() adaptive flow control} is enabled
+     * for commands. The controller exposes the current window of each command handler.
+     *
+     * @return the {@link AdaptiveFlowController} of this bus, or an empty {@link Optional} if adaptive flow control is
+     * disabled
+     */
+    public Optional<AdaptiveFlowController> flowController() {
+        return Optional.ofNullable(flowController);
+    }
+
     @Override
     public CommandBus localSegment() {
         return localSegment;
@@ -357,6 +394,7 @@ public static class Builder {
                 c -> StringUtils.nonEmptyOrNull(defaultContext) ? defaultContext : configuration.getContext();
         private CommandBusSpanFactory spanFactory = DefaultCommandBusSpanFactory
                 .builder().spanFactory(NoOpSpanFactory.INSTANCE).build();
+        private FlowControlMetrics flowControlMetrics = FlowControlMetrics.noOp();
 
         /**
          * Sets the {@link AxonServerConnectionManager} used to create connections between this application and an Axon
@@ -545,6 +583,20 @@ public Builder spanFactory(@Nonnull CommandBusSpanFactory spanFactory) {
             return this;
         }
 
+        /**
+         * Sets the {@link FlowControlMetrics} used to register a gauge for the adaptive flow control window of each
+         * command handler, per context. Only used when adaptive flow control is enabled. Defaults to
+         * {@link FlowControlMetrics#noOp()}.
+         *
+         * @param flowControlMetrics the {@link FlowControlMetrics} to register the window gauges with
+         * @return The current Builder instance, for fluent interfacing.
+         */
+        public Builder flowControlMetrics(@Nonnull FlowControlMetrics flowControlMetrics) {
+            assertNonNull(flowControlMetrics, "FlowControlMetrics may not be null");
+            this.flowControlMetrics = flowControlMetrics;
+            return this;
+        }
+
         /**
          * Initializes a {@link AxonServerCommandBus} as specified through this Builder.
          *
@@ -29,7 +29,7 @@
 import org.axonframework.axonserver.connector.util.GrpcMetadataSerializer;
 import org.axonframework.axonserver.connector.util.GrpcObjectSerializer;
 import org.axonframework.axonserver.connector.util.GrpcPayloadSerializer;
-import org.axonframework.axonserver.connector.util.GrpcSerializedObject;
+import org.axonframework.axonserver.connector.util.GrpcStreamingSerializedObject;
 import org.axonframework.commandhandling.CommandMessage;
 import org.axonframework.commandhandling.CommandResultMessage;
 import org.axonframework.commandhandling.GenericCommandResultMessage;
@@ -169,7 +169,7 @@ public <R> CommandResultMessage<R> deserialize(CommandResponse commandResponse)
 
         if (commandResponse.hasErrorMessage()) {
             Object exceptionDetails = commandResponse.hasPayload()
-                    ? messageSerializer.deserialize(new GrpcSerializedObject(commandResponse.getPayload()))
+                    ? messageSerializer.deserialize(new GrpcStreamingSerializedObject(commandResponse.getPayload()))
                     : null;
             AxonException exception = ErrorCode.getFromCode(commandResponse.getErrorCode())
                                                .convert(commandResponse.getErrorMessage(), () -> exceptionDetails);
@@ -183,7 +183,7 @@ public <R> CommandResultMessage<R> deserialize(CommandResponse commandResponse)
         Message<R> response = commandResponse.hasPayload()
                 ? new SerializedMessage<>(commandResponse.getMessageIdentifier(),
                                           new LazyDeserializingObject<>(
-                                                  new GrpcSerializedObject(commandResponse.getPayload()),
+                                                  new GrpcStreamingSerializedObject(commandResponse.getPayload()),
                                                   messageSerializer
                                           ),
                                           new LazyDeserializingObject<>(metaData))
@@ -18,7 +18,7 @@
 
 import io.axoniq.axonserver.grpc.command.Command;
 import org.axonframework.axonserver.connector.util.GrpcMetaData;
-import org.axonframework.axonserver.connector.util.GrpcSerializedObject;
+import org.axonframework.axonserver.connector.util.GrpcStreamingSerializedObject;
 import org.axonframework.commandhandling.CommandMessage;
 import org.axonframework.messaging.MetaData;
 import org.axonframework.serialization.LazyDeserializingObject;
@@ -51,7 +51,7 @@
      */
     public GrpcBackedCommandMessage(Command command, Serializer serializer) {
         this(command,
-             new LazyDeserializingObject<>(new GrpcSerializedObject(command.getPayload()), serializer),
+             new LazyDeserializingObject<>(new GrpcStreamingSerializedObject(command.getPayload()), serializer),
              new GrpcMetaData(command.getMetaDataMap(), serializer));
     }
 
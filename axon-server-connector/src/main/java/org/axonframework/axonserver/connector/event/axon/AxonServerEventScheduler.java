@@ -16,7 +16,7 @@
 
 package org.axonframework.axonserver.connector.event.axon;
 
-import com.google.protobuf.ByteString;
+import com.google.protobuf.UnsafeByteOperations;
 import io.axoniq.axonserver.connector.event.EventChannel;
 import io.axoniq.axonserver.grpc.InstructionAck;
 import io.axoniq.axonserver.grpc.event.Event;
@@ -244,7 +244,9 @@ private Event toEvent(Object event) {
                                                                   serializedPayload.getType().getRevision(),
                                                                   ""
                                                           ))
-                                                          .setData(ByteString.copyFrom(serializedPayload.getData())));
+                                                          .setData(UnsafeByteOperations.unsafeWrap(
+                                                                  serializedPayload.getData()
+                                                          )));
         metadata.forEach((k, v) -> builder.putMetaData(k, converter.convertToMetaDataValue(v)));
         return builder.build();
     }
@@ -16,7 +16,7 @@
 
 package org.axonframework.axonserver.connector.event.axon;
 
-import com.google.protobuf.ByteString;
+import com.google.protobuf.UnsafeByteOperations;
 import io.axoniq.axonserver.connector.event.AggregateEventStream;
 import io.axoniq.axonserver.connector.event.AppendEventsTransaction;
 import io.axoniq.axonserver.connector.event.EventChannel;
@@ -27,6 +27,7 @@
 import org.axonframework.axonserver.connector.AxonServerConnectionManager;
 import org.axonframework.axonserver.connector.util.GrpcMetaDataConverter;
 import org.axonframework.common.Assert;
+import org.axonframework.common.AxonThreadFactory;
 import org.axonframework.common.AxonConfigurationException;
 import org.axonframework.common.BuilderUtils;
 import org.axonframework.common.StringUtils;
@@ -67,11 +68,17 @@
 import java.lang.invoke.MethodHandles;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Spliterators;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.function.Consumer;
@@ -174,6 +181,22 @@ public DomainEventStream readEvents(String aggregateIdentifier) {
         return super.readEvents(aggregateIdentifier);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Axon Server streams the events of each aggregate, including its latest snapshot, in a single request. As such,
+     * this implementation opens such a stream per aggregate through {@link #readEvents(String)} rather than reading
+     * all snapshots and events up front.
+     */
+    @Override
+    public Map<String, DomainEventStream> readEventsForAggregates(@Nonnull Collection<String> aggregateIdentifiers) {
+        Map<String, DomainEventStream> result = new LinkedHashMap<>();
+        for (String aggregateIdentifier : aggregateIdentifiers) {
+            result.put(aggregateIdentifier, readEvents(aggregateIdentifier));
+        }
+        return result;
+    }
+
     /**
      * Builder class to instantiate a {@link AxonServerEventStore}.
      * <p>
@@ -416,6 +439,7 @@ static class AxonIQEventStorageEngine extends AbstractEventStorageEngine {
 
         private final Builder builder;
         private final String context;
+        private volatile Executor decodingExecutor;
 
         private static Builder builder() {
             return new Builder();
@@ -506,7 +530,9 @@ public Event map(EventMessage<?> eventMessage, Serializer serializer) {
                                                                       serializedPayload.getType().getRevision(),
                                                                       ""
                                                               ))
-                                                              .setData(ByteString.copyFrom(serializedPayload.getData()))
+                                                              .setData(UnsafeByteOperations.unsafeWrap(
+                                                                      serializedPayload.getData()
+                                                              ))
             ).setTimestamp(eventMessage.getTimestamp().toEpochMilli());
             eventMessage.getMetaData().forEach((k, v) -> builder.putMetaData(k, converter.convertToMetaDataValue(v)));
             return builder.build();
@@ -569,7 +595,37 @@ public TrackingEventStream openStream(TrackingToken trackingToken) {
                                                           configuration.isForceReadFromLeader()
                                                   );
 
-            return new EventBuffer(stream, upcasterChain, eventSerializer, !configuration.isEventBlockListingEnabled());
+            return new EventBuffer(stream,
+                                   upcasterChain,
+                                   eventSerializer,
+                                   !configuration.isEventBlockListingEnabled(),
+                                   decodingExecutor(),
+                                   configuration.getEventDecodingPrefetch());
+        }
+
+        /**
+         * Returns the executor to upcast and deserialize streamed events on, shared by all streams opened by this
+         * engine, or {@code null} if events are to be decoded on the consuming thread. Idle threads are released, so
+         * that the executor does not need to be shut down explicitly.
+         */
+        private Executor decodingExecutor() {
+            int threads = configuration.getEventDecodingThreads();
+            if (threads <= 0) {
+                return null;
+            }
+            if (decodingExecutor == null) {
+                synchronized (this) {
+                    if (decodingExecutor == null) {
+                        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                                threads, threads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                                new AxonThreadFactory("EventDecoder[" + context + "]")
+                        );
+                        executor.allowCoreThreadTimeOut(true);
+                        decodingExecutor = executor;
+                    }
+                }
+            }
+            return decodingExecutor;
         }
 
         public QueryResultStream query(String query, boolean liveUpdates) {
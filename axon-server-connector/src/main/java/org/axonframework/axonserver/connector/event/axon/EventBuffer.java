@@ -35,20 +35,35 @@
 import org.slf4j.LoggerFactory;
 
 import java.lang.invoke.MethodHandles;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.Spliterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
 /**
  * Client-side buffer of messages received from the server. Once consumed from this buffer, the client is notified of a
  * permit being consumed, potentially triggering a permit refresh, if flow control is enabled.
  * <p>
+ * By default, events are upcast and deserialized on the thread consuming this buffer. When a decoding
+ * {@link Executor} is provided, up to {@code prefetch} events are upcast and deserialized in parallel on that
+ * executor, while the consumer handles preceding events. Events are always returned in the order of their tokens.
+ * <p>
  * This class is intended for internal use. Be cautious.
  *
  * @author Marc Gathier
@@ -64,7 +79,12 @@ public class EventBuffer implements TrackingEventStream {
     private final EventStream delegate;
     private final Iterator<TrackedEventMessage<?>> eventStream;
     private final Serializer serializer;
+    private final EventUpcaster upcasterChain;
     private final boolean disableIgnoredEventFiltering;
+    private final Executor decodingExecutor;
+    private final int prefetch;
+    private final Deque<CompletableFuture<List<TrackedEventMessage<?>>>> decoding = new ArrayDeque<>();
+    private final AtomicInteger prefetchedEvents = new AtomicInteger();
 
     private TrackedEventMessage<?> peekEvent;
 
@@ -85,21 +105,49 @@ public EventBuffer(EventStream delegate,
                        EventUpcaster upcasterChain,
                        Serializer serializer,
                        boolean disableIgnoredEventFiltering) {
+        this(delegate, upcasterChain, serializer, disableIgnoredEventFiltering, null, 0);
+    }
+
+    /**
+     * Initializes an Event Buffer, passing messages through given {@code upcasterChain} and deserializing events using
+     * given {@code serializer}. If a {@code decodingExecutor} is given, up to {@code prefetch} events are upcast and
+     * deserialized in parallel on that executor. Otherwise, events are upcast and deserialized on the consuming thread.
+     * <p>
+     * Note that in parallel mode, each event is passed through the {@code upcasterChain} individually. Upcasters that
+     * depend on context built up from preceding events in the stream should not be combined with a
+     * {@code decodingExecutor}.
+     *
+     * @param delegate                     the {@link EventStream} to delegate operations to
+     * @param upcasterChain                the upcasterChain to translate serialized representations before
+     *                                     deserializing
+     * @param serializer                   the serializer capable of deserializing incoming messages
+     * @param disableIgnoredEventFiltering specifying whether events should or should not be included in the buffer
+     * @param decodingExecutor             the executor to upcast and deserialize events on, or {@code null} to do so
+     *                                     on the consuming thread
+     * @param prefetch                     the maximum number of events being decoded ahead of the consumer. Only used
+     *                                     when a {@code decodingExecutor} is given
+     */
+    public EventBuffer(EventStream delegate,
+                       EventUpcaster upcasterChain,
+                       Serializer serializer,
+                       boolean disableIgnoredEventFiltering,
+                       Executor decodingExecutor,
+                       int prefetch) {
         this.delegate = delegate;
         this.serializer = serializer;
+        this.upcasterChain = upcasterChain;
         this.disableIgnoredEventFiltering = disableIgnoredEventFiltering;
-        this.eventStream = EventUtils.upcastAndDeserializeTrackedEvents(
-                StreamSupport.stream(new SimpleSpliterator<>(this::poll), false), serializer, upcasterChain
-        ).iterator();
+        this.decodingExecutor = decodingExecutor;
+        this.prefetch = decodingExecutor == null ? 0 : Math.max(prefetch, 1);
+        if (decodingExecutor == null) {
+            this.eventStream = EventUtils.upcastAndDeserializeTrackedEvents(
+                    StreamSupport.stream(new SimpleSpliterator<>(this::poll), false), serializer, upcasterChain
+            ).iterator();
+        } else {
+            this.eventStream = new DecodingIterator();
+        }
 
-        delegate.onAvailable(() -> {
-            lock.lock();
-            try {
-                dataAvailable.signalAll();
-            } finally {
-                lock.unlock();
-            }
-        });
+        delegate.onAvailable(this::signalDataAvailable);
     }
 
     private TrackedEventData<byte[]> poll() {
@@ -112,6 +160,53 @@ private TrackedEventData<byte[]> convert(EventWithToken eventWithToken) {
         return new TrackedDomainEventData<>(trackingToken, new GrpcBackedDomainEventData(eventWithToken.getEvent()));
     }
 
+    private List<TrackedEventMessage<?>> decode(EventWithToken eventWithToken) {
+        List<TrackedEventMessage<?>> messages = EventUtils.upcastAndDeserializeTrackedEvents(
+                Stream.of(convert(eventWithToken)), serializer, upcasterChain
+        ).collect(Collectors.toList());
+        messages.forEach(EventBuffer::deserializeEagerly);
+        return messages;
+    }
+
+    private static void deserializeEagerly(TrackedEventMessage<?> message) {
+        try {
+            message.getPayload();
+            message.getMetaData();
+        } catch (Exception e) {
+            // the consumer will run into the same exception when accessing the payload, where it can be handled
+            logger.debug("Failed to deserialize event [{}] ahead of consumption.", message.getIdentifier(), e);
+        }
+    }
+
+    private void signalDataAvailable() {
+        lock.lock();
+        try {
+            dataAvailable.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of events that have been taken from the underlying stream to be decoded, but have not been
+     * consumed yet. Always returns {@code 0} when events are decoded on the consuming thread.
+     *
+     * @return the number of events that are being decoded ahead of the consumer
+     */
+    public int prefetchedEvents() {
+        return prefetchedEvents.get();
+    }
+
+    /**
+     * Returns the maximum number of events being decoded ahead of the consumer. Returns {@code 0} when events are
+     * decoded on the consuming thread.
+     *
+     * @return the maximum number of events being decoded ahead of the consumer
+     */
+    public int prefetchCapacity() {
+        return prefetch;
+    }
+
     /**
      * {@inheritDoc}
      * <p>
@@ -172,7 +267,7 @@ private TrackedEventMessage<?> peekNullable() {
             peekEvent = eventStream.next();
         }
         // If the peeked event still is null, the EventStream might've been closed.
-        if (peekEvent == null && delegate.isClosed()) {
+        if (peekEvent == null && decoding.isEmpty() && delegate.isClosed()) {
             throw new AxonServerException(ErrorCode.OTHER.errorCode(),
                                           "The Event Stream has been closed, so no further events can be retrieved",
                                           delegate.getError().orElse(null));
@@ -193,6 +288,9 @@ public TrackedEventMessage<?> nextAvailable() {
     @Override
     public void close() {
         delegate.close();
+        decoding.forEach(future -> future.cancel(false));
+        decoding.clear();
+        prefetchedEvents.set(0);
     }
 
     @Override
@@ -201,6 +299,61 @@ public boolean setOnAvailableCallback(Runnable callback) {
         return true;
     }
 
+    /**
+     * Iterator submitting events to the decoding executor, returning the decoded events in order of arrival. Only
+     * accessed by the consuming thread. The {@link #hasNext()} method never blocks on decoding, but returns
+     * {@code false} when the next event has not been decoded yet.
+     */
+    private class DecodingIterator implements Iterator<TrackedEventMessage<?>> {
+
+        private Iterator<TrackedEventMessage<?>> decoded = Collections.emptyIterator();
+
+        @Override
+        public boolean hasNext() {
+            fill();
+            while (!decoded.hasNext() && !decoding.isEmpty() && decoding.peekFirst().isDone()) {
+                CompletableFuture<List<TrackedEventMessage<?>>> head = decoding.pollFirst();
+                prefetchedEvents.decrementAndGet();
+                decoded = result(head).iterator();
+                fill();
+            }
+            return decoded.hasNext();
+        }
+
+        @Override
+        public TrackedEventMessage<?> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return decoded.next();
+        }
+
+        private void fill() {
+            while (decoding.size() < prefetch) {
+                EventWithToken eventWithToken = delegate.nextIfAvailable();
+                if (eventWithToken == null) {
+                    return;
+                }
+                CompletableFuture<List<TrackedEventMessage<?>>> future =
+                        CompletableFuture.supplyAsync(() -> decode(eventWithToken), decodingExecutor);
+                decoding.addLast(future);
+                prefetchedEvents.incrementAndGet();
+                future.whenComplete((r, e) -> signalDataAvailable());
+            }
+        }
+
+        private List<TrackedEventMessage<?>> result(CompletableFuture<List<TrackedEventMessage<?>>> future) {
+            try {
+                return future.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw e;
+            }
+        }
+    }
+
     private static class SimpleSpliterator<T> implements Spliterator<T> {
 
         private final Supplier<T> supplier;
@@ -42,8 +42,10 @@
 import org.axonframework.axonserver.connector.command.AxonServerRegistration;
 import org.axonframework.axonserver.connector.query.subscription.AxonServerSubscriptionQueryResult;
 import org.axonframework.axonserver.connector.query.subscription.SubscriptionMessageSerializer;
+import org.axonframework.axonserver.connector.util.AdaptiveFlowController;
 import org.axonframework.axonserver.connector.util.ExceptionSerializer;
 import org.axonframework.axonserver.connector.util.ExecutorServiceBuilder;
+import org.axonframework.axonserver.connector.util.FlowControlMetrics;
 import org.axonframework.axonserver.connector.util.PriorityTaskSchedulers;
 import org.axonframework.axonserver.connector.util.ProcessingInstructionHelper;
 import org.axonframework.axonserver.connector.util.UpstreamAwareStreamObserver;
@@ -95,6 +97,7 @@
 import java.lang.reflect.Type;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Spliterator;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CompletableFuture;
@@ -147,6 +150,7 @@ public class AxonServerQueryBus implements QueryBus, Distributed<QueryBus>, Life
     private final TargetContextResolver<? super QueryMessage<?, ?>> targetContextResolver;
     private final ShutdownLatch shutdownLatch = new ShutdownLatch();
     private final ExecutorService queryExecutor;
+    private final AdaptiveFlowController flowController;
     private final LocalSegmentAdapter localSegmentAdapter;
     private final String context;
     private final QueryBusSpanFactory spanFactory;
@@ -173,6 +177,15 @@ public AxonServerQueryBus(Builder builder) {
 
         PriorityBlockingQueue<Runnable> queryProcessQueue = new PriorityBlockingQueue<>(QUERY_QUEUE_CAPACITY);
         queryExecutor = builder.executorServiceBuilder.apply(configuration, queryProcessQueue);
+        AxonServerConfiguration.FlowControlConfiguration flowControl = configuration.getQueryFlowControl();
+        flowController = flowControl.isAdaptive()
+                ? AdaptiveFlowController.builder()
+                                        .initialWindow(configuration.getQueryThreads())
+                                        .maximumWindow(flowControl.getPermits())
+                                        .queueDepth(queryProcessQueue::size, configuration.getQueryThreads())
+                                        .metrics(context, builder.flowControlMetrics)
+                                        .build()
+                : null;
         localSegmentAdapter = new LocalSegmentAdapter();
     }
 
@@ -498,6 +511,18 @@ public QueryUpdateEmitter queryUpdateEmitter() {
         return updateEmitter;
     }
 
+    /**
+     * Returns the {@link AdaptiveFlowController} limiting the number of queries processed concurrently per query name,
+     * if {@link AxonServerConfiguration.FlowControlConfiguration#isAdaptive() adaptive flow control} is enabled for
+     * queries. The controller exposes the current window of each query handler.
+     *
+     * @return the {@link AdaptiveFlowController} of this bus, or an empty {@link Optional} if adaptive flow control is
+     * disabled
+     */
+    public Optional<AdaptiveFlowController> flowController() {
+        return Optional.ofNullable(flowController);
+    }
+
     @Override
     public QueryBus localSegment() {
         return localSegment;
@@ -567,6 +592,7 @@ public static class Builder {
         private QueryBusSpanFactory spanFactory = DefaultQueryBusSpanFactory.builder()
                                                                             .spanFactory(NoOpSpanFactory.INSTANCE)
                                                                             .build();
+        private FlowControlMetrics flowControlMetrics = FlowControlMetrics.noOp();
 
         /**
          * Sets the {@link AxonServerConnectionManager} used to create connections between this application and an Axon
@@ -771,6 +797,20 @@ public Builder spanFactory(@Nonnull QueryBusSpanFactory spanFactory) {
             return this;
         }
 
+        /**
+         * Sets the {@link FlowControlMetrics} used to register a gauge for the adaptive flow control window of each
+         * query handler, per context. Only used when adaptive flow control is enabled. Defaults to
+         * {@link FlowControlMetrics#noOp()}.
+         *
+         * @param flowControlMetrics the {@link FlowControlMetrics} to register the window gauges with
+         * @return The current Builder instance, for fluent interfacing.
+         */
+        public Builder flowControlMetrics(@Nonnull FlowControlMetrics flowControlMetrics) {
+            assertNonNull(flowControlMetrics, "FlowControlMetrics may not be null");
+            this.flowControlMetrics = flowControlMetrics;
+            return this;
+        }
+
         /**
          * Initializes a {@link AxonServerQueryBus} as specified through this Builder.
          *
@@ -941,7 +981,14 @@ public void handle(QueryRequest query, ReplyChannel<QueryResponse> responseHandl
 
         @Override
         public FlowControl stream(QueryRequest query, ReplyChannel<QueryResponse> responseHandler) {
-            Runnable onClose = () -> queriesInProgress.remove(query.getMessageIdentifier());
+            AtomicReference<Runnable> completion = new AtomicReference<>(() -> {
+            });
+            AtomicBoolean closed = new AtomicBoolean();
+            Runnable onClose = () -> {
+                queriesInProgress.remove(query.getMessageIdentifier());
+                closed.set(true);
+                completion.get().run();
+            };
             CloseAwareReplyChannel<QueryResponse> closeAwareReplyChannel =
                     new CloseAwareReplyChannel<>(responseHandler, onClose);
 
@@ -954,7 +1001,19 @@ public FlowControl stream(QueryRequest query, ReplyChannel<QueryResponse> respon
                                                                  TASK_SEQUENCE.incrementAndGet());
 
             queriesInProgress.put(query.getMessageIdentifier(), processingTask);
-            queryExecutor.execute(priorityTask);
+            if (flowController == null) {
+                queryExecutor.execute(priorityTask);
+            } else {
+                flowController.execute(query.getQuery(), done -> {
+                    completion.set(done);
+                    if (closed.get()) {
+                        // the stream was closed while the query was held back, so nothing will release its slot
+                        done.run();
+                    } else {
+                        queryExecutor.execute(priorityTask);
+                    }
+                });
+            }
 
             return new FlowControl() {
                 @Override
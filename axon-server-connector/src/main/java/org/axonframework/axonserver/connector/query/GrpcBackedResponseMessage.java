@@ -19,7 +19,7 @@
 import io.axoniq.axonserver.grpc.query.QueryResponse;
 import org.axonframework.axonserver.connector.ErrorCode;
 import org.axonframework.axonserver.connector.util.GrpcMetaData;
-import org.axonframework.axonserver.connector.util.GrpcSerializedObject;
+import org.axonframework.axonserver.connector.util.GrpcStreamingSerializedObject;
 import org.axonframework.messaging.IllegalPayloadAccessException;
 import org.axonframework.messaging.MetaData;
 import org.axonframework.queryhandling.QueryResponseMessage;
@@ -58,7 +58,9 @@ public GrpcBackedResponseMessage(QueryResponse queryResponse, Serializer seriali
         this.queryResponse = queryResponse;
         this.serializedPayload = queryResponse.hasPayload()
                 && !SerializedType.emptyType().getName().equalsIgnoreCase(queryResponse.getPayload().getType())
-                ? new LazyDeserializingObject<>(new GrpcSerializedObject(queryResponse.getPayload()), serializer)
+                ? new LazyDeserializingObject<>(
+                        new GrpcStreamingSerializedObject(queryResponse.getPayload()), serializer
+                )
                 : null;
         this.exception = queryResponse.hasErrorMessage()
                 ? ErrorCode.getFromCode(queryResponse.getErrorCode())
@@ -0,0 +1,407 @@
+/*
+ * Copyright (c) 2010-2024. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.axonserver.connector.util;
+
+import org.axonframework.common.AxonConfigurationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
+
+import static org.axonframework.common.BuilderUtils.assertNonNull;
+import static org.axonframework.common.BuilderUtils.assertStrictPositive;
+import static org.axonframework.common.BuilderUtils.assertThat;
+
+/**
+ * Limits the number of messages that are concurrently processed per handler, adapting each limit to the observed
+ * processing latency and the depth of the queue of the executor processing the messages.
+ * <p>
+ * Every handler (typically identified by the command or query name) gets its own window. Messages that arrive while
+ * the window of their handler is full are held back in a backlog, rather than being added to the shared executor. This
+ * prevents slow handlers from flooding the executor and starving fast handlers.
+ * <p>
+ * The window of a handler is resized on every completed message, using a latency gradient. The short term average
+ * latency is compared to the long term average latency. Windows shrink when the short term latency rises above the
+ * long term latency, or when the executor queue is deeper than the configured threshold. Windows grow, by the square
+ * root of the current window, while latency is stable and at least half of the window is in use.
+ *
+ * @author agent
+ * @since 4.11.0
+ */
+public class AdaptiveFlowController {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdaptiveFlowController.class);
+
+    private static final double SHORT_TERM_SMOOTHING = 0.2;
+    private static final double LONG_TERM_SMOOTHING = 0.01;
+    private static final double MIN_GRADIENT = 0.5;
+
+    private final int initialWindow;
+    private final int minimumWindow;
+    private final int maximumWindow;
+    private final double smoothing;
+    private final IntSupplier queueDepth;
+    private final int queueDepthThreshold;
+    private final LongSupplier nanoClock;
+    private final String context;
+    private final FlowControlMetrics metrics;
+    private final ConcurrentMap<String, Window> windows = new ConcurrentHashMap<>();
+
+    /**
+     * Instantiate an {@link AdaptiveFlowController} based on the fields contained in the {@link Builder}.
+     *
+     * @param builder the {@link Builder} used to instantiate an {@link AdaptiveFlowController} instance
+     */
+    protected AdaptiveFlowController(Builder builder) {
+        builder.validate();
+        this.initialWindow = Math.max(builder.minimumWindow, Math.min(builder.initialWindow, builder.maximumWindow));
+        this.minimumWindow = builder.minimumWindow;
+        this.maximumWindow = builder.maximumWindow;
+        this.smoothing = builder.smoothing;
+        this.queueDepth = builder.queueDepth;
+        this.queueDepthThreshold = builder.queueDepthThreshold;
+        this.nanoClock = builder.nanoClock;
+        this.context = builder.context;
+        this.metrics = builder.metrics;
+    }
+
+    /**
+     * Instantiate a Builder to be able to create an {@link AdaptiveFlowController}.
+     * <p>
+     * The initial window defaults to {@code 16}, the minimum window to {@code 1} and the maximum window to
+     * {@code 1000}. The smoothing factor defaults to {@code 0.2}. The queue depth supplier defaults to a supplier
+     * returning {@code 0}, with a threshold of {@code 100}. The {@link FlowControlMetrics} default to
+     * {@link FlowControlMetrics#noOp()}.
+     *
+     * @return a Builder to be able to create an {@link AdaptiveFlowController}
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Executes the given {@code task} for the handler with given {@code handlerName} as soon as the window of that
+     * handler allows. The {@code task} is invoked with a {@link Runnable} that must be invoked once processing of the
+     * message has completed, which releases its slot in the window. Invoking the completion more than once has no
+     * effect.
+     * <p>
+     * The task is invoked immediately by the calling thread when the window has room. Otherwise, it is invoked by the
+     * thread completing an earlier message of the same handler.
+     *
+     * @param handlerName the name of the handler the message is for
+     * @param task        the task dispatching the message, accepting the completion callback
+     */
+    public void execute(String handlerName, Consumer<Runnable> task) {
+        Window window = windows.get(handlerName);
+        if (window == null) {
+            window = windowFor(handlerName);
+        }
+        if (window.admit(task)) {
+            window.start(task);
+        }
+    }
+
+    private Window windowFor(String handlerName) {
+        Window created = new Window(initialWindow);
+        Window existing = windows.putIfAbsent(handlerName, created);
+        if (existing != null) {
+            return existing;
+        }
+        metrics.registerWindowGauge(context, handlerName, created::limit);
+        return created;
+    }
+
+    /**
+     * Returns the current window of the handler with given {@code handlerName}, which is the number of messages that
+     * may be processed concurrently for that handler. Returns the initial window for handlers that have not received
+     * any messages yet.
+     *
+     * @param handlerName the name of the handler to return the window for
+     * @return the current window of the handler
+     */
+    public int currentWindow(String handlerName) {
+        Window window = windows.get(handlerName);
+        return window == null ? initialWindow : window.limit();
+    }
+
+    /**
+     * Returns a snapshot of the current window of each handler that received messages.
+     *
+     * @return a map of handler name to the current window of that handler
+     */
+    public Map<String, Integer> currentWindows() {
+        Map<String, Integer> result = new HashMap<>();
+        windows.forEach((name, window) -> result.put(name, window.limit()));
+        return Collections.unmodifiableMap(result);
+    }
+
+    /**
+     * Returns the number of messages of the handler with given {@code handlerName} that are being processed.
+     *
+     * @param handlerName the name of the handler to return the number of messages in progress for
+     * @return the number of messages in progress for the handler
+     */
+    public int inProgress(String handlerName) {
+        Window window = windows.get(handlerName);
+        return window == null ? 0 : window.inProgress();
+    }
+
+    /**
+     * Returns the number of messages of the handler with given {@code handlerName} that are held back, awaiting room
+     * in the window of the handler.
+     *
+     * @param handlerName the name of the handler to return the backlog size for
+     * @return the number of messages held back for the handler
+     */
+    public int backlog(String handlerName) {
+        Window window = windows.get(handlerName);
+        return window == null ? 0 : window.backlog();
+    }
+
+    private class Window {
+
+        private final Deque<Consumer<Runnable>> backlog = new ArrayDeque<>();
+        private double limit;
+        private int inProgress;
+        private double shortTermLatency;
+        private double longTermLatency;
+
+        private Window(int initialLimit) {
+            this.limit = initialLimit;
+        }
+
+        private synchronized boolean admit(Consumer<Runnable> task) {
+            if (inProgress < (int) limit) {
+                inProgress++;
+                return true;
+            }
+            backlog.add(task);
+            return false;
+        }
+
+        private void start(Consumer<Runnable> task) {
+            long startTime = nanoClock.getAsLong();
+            AtomicBoolean completed = new AtomicBoolean();
+            Runnable completion = () -> {
+                if (completed.compareAndSet(false, true)) {
+                    complete(nanoClock.getAsLong() - startTime);
+                }
+            };
+            try {
+                task.accept(completion);
+            } catch (RuntimeException e) {
+                logger.warn("Failed to start processing a message. Releasing its slot in the window.", e);
+                completion.run();
+            }
+        }
+
+        private void complete(long latency) {
+            Consumer<Runnable> next;
+            synchronized (this) {
+                adjustLimit(Math.max(latency, 1));
+                inProgress--;
+                next = inProgress < (int) limit ? backlog.poll() : null;
+                if (next != null) {
+                    inProgress++;
+                }
+            }
+            if (next != null) {
+                start(next);
+            }
+        }
+
+        private void adjustLimit(long latency) {
+            if (longTermLatency == 0) {
+                shortTermLatency = latency;
+                longTermLatency = latency;
+                return;
+            }
+            shortTermLatency += (latency - shortTermLatency) * SHORT_TERM_SMOOTHING;
+            longTermLatency += (latency - longTermLatency) * LONG_TERM_SMOOTHING;
+            double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, longTermLatency / shortTermLatency));
+            if (queueDepth.getAsInt() > queueDepthThreshold) {
+                gradient = MIN_GRADIENT;
+            }
+            boolean applicationLimited = inProgress < limit / 2;
+            double newLimit = limit * gradient + (applicationLimited ? 0 : Math.sqrt(limit));
+            if (applicationLimited && newLimit > limit) {
+                return;
+            }
+            newLimit = limit * (1 - smoothing) + newLimit * smoothing;
+            limit = Math.max(minimumWindow, Math.min(maximumWindow, newLimit));
+        }
+
+        private synchronized int limit() {
+            return (int) limit;
+        }
+
+        private synchronized int inProgress() {
+            return inProgress;
+        }
+
+        private synchronized int backlog() {
+            return backlog.size();
+        }
+    }
+
+    /**
+     * Builder class to instantiate an {@link AdaptiveFlowController}.
+     * <p>
+     * The initial window defaults to {@code 16}, the minimum window to {@code 1} and the maximum window to
+     * {@code 1000}. The smoothing factor defaults to {@code 0.2}. The queue depth supplier defaults to a supplier
+     * returning {@code 0}, with a threshold of {@code 100}. The {@link FlowControlMetrics} default to
+     * {@link FlowControlMetrics#noOp()}.
+     */
+    public static class Builder {
+
+        private int initialWindow = 16;
+        private int minimumWindow = 1;
+        private int maximumWindow = 1000;
+        private double smoothing = 0.2;
+        private IntSupplier queueDepth = () -> 0;
+        private int queueDepthThreshold = 100;
+        private LongSupplier nanoClock = System::nanoTime;
+        private String context;
+        private FlowControlMetrics metrics = FlowControlMetrics.noOp();
+
+        /**
+         * Sets the window handlers start with. The value is capped between the minimum and maximum window. Defaults
+         * to {@code 16}.
+         *
+         * @param initialWindow the window handlers start with
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder initialWindow(int initialWindow) {
+            assertStrictPositive(initialWindow, "The initial window should be strictly positive");
+            this.initialWindow = initialWindow;
+            return this;
+        }
+
+        /**
+         * Sets the smallest window a handler may shrink to. Defaults to {@code 1}.
+         *
+         * @param minimumWindow the smallest window of a handler
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder minimumWindow(int minimumWindow) {
+            assertStrictPositive(minimumWindow, "The minimum window should be strictly positive");
+            this.minimumWindow = minimumWindow;
+            return this;
+        }
+
+        /**
+         * Sets the largest window a handler may grow to. Defaults to {@code 1000}.
+         *
+         * @param maximumWindow the largest window of a handler
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder maximumWindow(int maximumWindow) {
+            assertStrictPositive(maximumWindow, "The maximum window should be strictly positive");
+            this.maximumWindow = maximumWindow;
+            return this;
+        }
+
+        /**
+         * Sets the factor with which a newly computed window is blended into the current window. Must be larger than
+         * {@code 0} and at most {@code 1}. Higher values adapt faster, but less steadily. Defaults to {@code 0.2}.
+         *
+         * @param smoothing the factor with which new windows are blended into the current window
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder smoothing(double smoothing) {
+            assertThat(smoothing, s -> s > 0 && s <= 1, "The smoothing factor should be in the range (0, 1]");
+            this.smoothing = smoothing;
+            return this;
+        }
+
+        /**
+         * Sets the supplier of the number of tasks waiting in the queue of the executor that processes messages, and
+         * the depth above which all windows shrink. Defaults to a supplier returning {@code 0}, with a threshold of
+         * {@code 100}.
+         *
+         * @param queueDepth          the supplier of the executor queue depth
+         * @param queueDepthThreshold the queue depth above which windows shrink
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder queueDepth(IntSupplier queueDepth, int queueDepthThreshold) {
+            assertNonNull(queueDepth, "The queue depth supplier may not be null");
+            assertThat(queueDepthThreshold, t -> t >= 0, "The queue depth threshold may not be negative");
+            this.queueDepth = queueDepth;
+            this.queueDepthThreshold = queueDepthThreshold;
+            return this;
+        }
+
+        /**
+         * Sets the clock providing the current time in nanoseconds, used to measure processing latency. Defaults to
+         * {@link System#nanoTime()}.
+         *
+         * @param nanoClock the clock providing the current time in nanoseconds
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder nanoClock(LongSupplier nanoClock) {
+            assertNonNull(nanoClock, "The nano clock may not be null");
+            this.nanoClock = nanoClock;
+            return this;
+        }
+
+        /**
+         * Sets the {@link FlowControlMetrics} to register a gauge with for the window of each handler, along with the
+         * Axon Server {@code context} the handlers receive messages from. Defaults to
+         * {@link FlowControlMetrics#noOp()}.
+         *
+         * @param context the context the handlers receive messages from
+         * @param metrics the {@link FlowControlMetrics} to register the window gauges with
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder metrics(String context, FlowControlMetrics metrics) {
+            assertNonNull(metrics, "The FlowControlMetrics may not be null");
+            this.context = context;
+            this.metrics = metrics;
+            return this;
+        }
+
+        /**
+         * Initializes an {@link AdaptiveFlowController} as specified through this Builder.
+         *
+         * @return an {@link AdaptiveFlowController} as specified through this Builder
+         */
+        public AdaptiveFlowController build() {
+            return new AdaptiveFlowController(this);
+        }
+
+        /**
+         * Validates whether the fields contained in this Builder are set accordingly.
+         *
+         * @throws AxonConfigurationException if one field is asserted to be incorrect according to the Builder's
+         *                                    specifications
+         */
+        protected void validate() throws AxonConfigurationException {
+            assertThat(maximumWindow, max -> max >= minimumWindow,
+                       "The maximum window may not be smaller than the minimum window");
+        }
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2010-2024. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.axonserver.connector.util;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.UnsafeByteOperations;
+import org.axonframework.serialization.ContentTypeConverter;
+
+/**
+ * A {@link ContentTypeConverter} that converts a {@code byte[]} into a {@link ByteString}, without copying the array.
+ * The returned {@link ByteString} is backed by the given {@code byte[]}, which must not be modified afterwards.
+ *
+ * @author agent
+ * @since 4.11.0
+ */
+public class ByteArrayToByteStringConverter implements ContentTypeConverter<byte[], ByteString> {
+
+    @Override
+    public Class<byte[]> expectedSourceType() {
+        return byte[].class;
+    }
+
+    @Override
+    public Class<ByteString> targetType() {
+        return ByteString.class;
+    }
+
+    @Override
+    public ByteString convert(byte[] original) {
+        return UnsafeByteOperations.unsafeWrap(original);
+    }
+}
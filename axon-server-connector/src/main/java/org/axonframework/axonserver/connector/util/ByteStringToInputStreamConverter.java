@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2010-2024. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.axonserver.connector.util;
+
+import com.google.protobuf.ByteString;
+import org.axonframework.serialization.ContentTypeConverter;
+
+import java.io.InputStream;
+
+/**
+ * A {@link ContentTypeConverter} that converts a {@link ByteString} into an {@link InputStream}. The returned stream
+ * reads directly from the buffers backing the {@link ByteString}, without copying its contents.
+ *
+ * @author agent
+ * @since 4.11.0
+ */
+public class ByteStringToInputStreamConverter implements ContentTypeConverter<ByteString, InputStream> {
+
+    @Override
+    public Class<ByteString> expectedSourceType() {
+        return ByteString.class;
+    }
+
+    @Override
+    public Class<InputStream> targetType() {
+        return InputStream.class;
+    }
+
+    @Override
+    public InputStream convert(ByteString original) {
+        return original.newInput();
+    }
+}
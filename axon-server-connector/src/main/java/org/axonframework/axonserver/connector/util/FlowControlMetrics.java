@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2010-2024. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.axonserver.connector.util;
+
+import java.util.function.IntSupplier;
+
+/**
+ * Hook to expose the windows of an {@link AdaptiveFlowController} as metrics. A gauge is registered once for the window
+ * of each handler, as soon as the first message for that handler arrives.
+ *
+ * @author agent
+ * @since 4.11.0
+ */
+@FunctionalInterface
+public interface FlowControlMetrics {
+
+    /**
+     * Registers a gauge reporting the current window of the handler with given {@code handlerName}, within the given
+     * Axon Server {@code context}.
+     *
+     * @param context     the context the handler receives messages from
+     * @param handlerName the name of the handler, typically the command or query name
+     * @param window      supplier of the current window of the handler
+     */
+    void registerWindowGauge(String context, String handlerName, IntSupplier window);
+
+    /**
+     * Returns a {@link FlowControlMetrics} that does not register any gauges.
+     *
+     * @return a {@link FlowControlMetrics} that does not register any gauges
+     */
+    static FlowControlMetrics noOp() {
+        return (context, handlerName, window) -> {
+        };
+    }
+}
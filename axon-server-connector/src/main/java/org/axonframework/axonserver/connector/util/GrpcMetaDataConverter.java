@@ -16,7 +16,7 @@
 
 package org.axonframework.axonserver.connector.util;
 
-import com.google.protobuf.ByteString;
+import com.google.protobuf.UnsafeByteOperations;
 import io.axoniq.axonserver.grpc.MetaDataValue;
 import org.axonframework.messaging.MetaData;
 import org.axonframework.serialization.SerializedObject;
@@ -34,7 +34,8 @@
  * <p>
  * To optimize communication and minimize the loss of data structure, the MetaDataValue entries used in gRPC distinguish
  * between numerical values (double or long), Strings, booleans and arbitrary objects. The latter group is converted to
- * and from a {@code byte[]} using the configured Serializer.
+ * and from a {@code byte[]} using the configured Serializer. Serialized values are wrapped in, and read directly from,
+ * the gRPC buffers, without intermediate copies.
  *
  * @author Marc Gathier
  * @since 4.0
@@ -85,7 +86,7 @@ public MetaDataValue convertToMetaDataValue(Object value) {
                 builder.setBytesValue(io.axoniq.axonserver.grpc.SerializedObject
                                               .newBuilder()
                                               .setType(serializedType.getName())
-                                              .setData(ByteString.copyFrom(serializedObject.getData()))
+                                              .setData(UnsafeByteOperations.unsafeWrap(serializedObject.getData()))
                                               .setRevision(getOrDefault(serializedType.getRevision(), ""))
                                               .build());
             }
@@ -127,7 +128,7 @@ public Object convertFromMetaDataValue(MetaDataValue value) {
             case TEXT_VALUE:
                 return value.getTextValue();
             case BYTES_VALUE:
-                return serializer.deserialize(new GrpcSerializedObject(value.getBytesValue()));
+                return serializer.deserialize(new GrpcStreamingSerializedObject(value.getBytesValue()));
             case DOUBLE_VALUE:
                 return value.getDoubleValue();
             case NUMBER_VALUE:
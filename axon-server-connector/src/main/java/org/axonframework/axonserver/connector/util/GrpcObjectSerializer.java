@@ -16,7 +16,7 @@
 
 package org.axonframework.axonserver.connector.util;
 
-import com.google.protobuf.ByteString;
+import com.google.protobuf.UnsafeByteOperations;
 import org.axonframework.serialization.SerializedObject;
 
 import java.util.function.Function;
@@ -66,12 +66,21 @@ public GrpcObjectSerializer(org.axonframework.serialization.Serializer serialize
         this.serializer = serializer;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The serialized {@code byte[]} is wrapped rather than copied into the resulting gRPC message. Serialized data is
+     * never modified after serialization, making it safe to share between the {@link SerializedObject} and the gRPC
+     * message.
+     */
     @Override
     public io.axoniq.axonserver.grpc.SerializedObject apply(O o) {
         SerializedObject<byte[]> serializedPayload = serializer.serialize(o, byte[].class);
         String revision = getOrDefault(serializedPayload.getType().getRevision(), "");
         return io.axoniq.axonserver.grpc.SerializedObject.newBuilder()
-                                                         .setData(ByteString.copyFrom(serializedPayload.getData()))
+                                                         .setData(UnsafeByteOperations.unsafeWrap(
+                                                                 serializedPayload.getData()
+                                                         ))
                                                          .setType(serializedPayload.getType().getName())
                                                          .setRevision(revision)
                                                          .build();
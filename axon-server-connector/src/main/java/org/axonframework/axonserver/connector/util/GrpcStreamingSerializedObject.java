@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2010-2024. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.axonserver.connector.util;
+
+import org.axonframework.serialization.SerializedObject;
+import org.axonframework.serialization.SerializedType;
+import org.axonframework.serialization.SimpleSerializedType;
+
+import java.io.InputStream;
+
+/**
+ * Wrapper that allows clients to access a gRPC {@link io.axoniq.axonserver.grpc.SerializedObject} message as a {@link
+ * SerializedObject} of an {@link InputStream}.
+ * <p>
+ * In contrast to the {@link GrpcSerializedObject}, the data is not copied into a {@code byte[]}. Each invocation of
+ * {@link #getData()} returns a new stream reading directly from the buffers of the gRPC message. This allows
+ * serializers that consume streams, such as the {@link org.axonframework.serialization.json.JacksonSerializer} and
+ * {@link org.axonframework.serialization.xml.XStreamSerializer}, to deserialize without an intermediate copy.
+ *
+ * @author agent
+ * @since 4.11.0
+ */
+public class GrpcStreamingSerializedObject implements SerializedObject<InputStream> {
+
+    private final io.axoniq.axonserver.grpc.SerializedObject payload;
+    private final SerializedType type;
+
+    /**
+     * Initialize a {@link GrpcStreamingSerializedObject}, wrapping a {@link io.axoniq.axonserver.grpc.SerializedObject}
+     * as a {@link SerializedObject}.
+     *
+     * @param serializedObject a {@link io.axoniq.axonserver.grpc.SerializedObject} which will be wrapped as a {@link
+     *                         SerializedObject}
+     */
+    public GrpcStreamingSerializedObject(io.axoniq.axonserver.grpc.SerializedObject serializedObject) {
+        this.payload = serializedObject;
+        String revision = serializedObject.getRevision();
+        this.type = new SimpleSerializedType(serializedObject.getType(), "".equals(revision) ? null : revision);
+    }
+
+    @Override
+    public Class<InputStream> getContentType() {
+        return InputStream.class;
+    }
+
+    @Override
+    public SerializedType getType() {
+        return type;
+    }
+
+    @Override
+    public InputStream getData() {
+        return payload.getData().newInput();
+    }
+}
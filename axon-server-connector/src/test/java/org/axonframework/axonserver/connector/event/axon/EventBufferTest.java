@@ -35,6 +35,8 @@
 import org.mockito.stubbing.*;
 
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
 
@@ -117,6 +119,39 @@ void dataUpcastAndDeserialized() {
         verify(stubUpcaster).upcast(isA(Stream.class));
     }
 
+    @Test
+    @Timeout(value = 5, unit = TimeUnit.SECONDS)
+    void parallelDecodingPreservesTokenOrder() {
+        ExecutorService decodingExecutor = Executors.newFixedThreadPool(4);
+        try {
+            testSubject = new EventBuffer(eventStream, stubUpcaster, SERIALIZER, false, decodingExecutor, 8);
+            assertEquals(8, testSubject.prefetchCapacity());
+            for (long token = 1; token <= 20; token++) {
+                eventStream.onNext(TEST_EVENT_WITH_TOKEN.toBuilder().setToken(token).build());
+            }
+
+            for (long token = 1; token <= 20; token++) {
+                TrackedEventMessage<?> next = testSubject.nextAvailable();
+                assertEquals(new GlobalSequenceTrackingToken(token), next.trackingToken());
+                assertEquals("some object", next.getPayload());
+                assertTrue(testSubject.prefetchedEvents() <= 8);
+            }
+            assertFalse(testSubject.hasNextAvailable());
+            assertEquals(0, testSubject.prefetchedEvents());
+        } finally {
+            decodingExecutor.shutdownNow();
+        }
+    }
+
+    @Test
+    void sequentialDecodingDoesNotPrefetch() {
+        eventStream.onNext(TEST_EVENT_WITH_TOKEN);
+
+        assertTrue(testSubject.hasNextAvailable());
+        assertEquals(0, testSubject.prefetchCapacity());
+        assertEquals(0, testSubject.prefetchedEvents());
+    }
+
     @Test
     void hasNextAvailableThrowsAxonServerExceptionWhenStreamFailed() {
         TestException testException = new TestException();
@@ -0,0 +1,226 @@
+/*
+ * Copyright (c) 2010-2024. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.axonserver.connector.util;
+
+import org.axonframework.common.AxonConfigurationException;
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class validating the {@link AdaptiveFlowController}.
+ *
+ * @author agent
+ */
+class AdaptiveFlowControllerTest {
+
+    private static final String HANDLER = "handler";
+    private static final long MILLIS = 1_000_000L;
+
+    private AtomicLong clock;
+    private AtomicInteger queueDepth;
+    private Deque<Runnable> completions;
+
+    @BeforeEach
+    void setUp() {
+        clock = new AtomicLong();
+        queueDepth = new AtomicInteger();
+        completions = new ArrayDeque<>();
+    }
+
+    @Test
+    void tasksExceedingWindowAreStartedOnceEarlierTasksComplete() {
+        AdaptiveFlowController testSubject = controller(2);
+
+        testSubject.execute(HANDLER, completions::add);
+        testSubject.execute(HANDLER, completions::add);
+        testSubject.execute(HANDLER, completions::add);
+
+        assertEquals(2, completions.size());
+        assertEquals(2, testSubject.inProgress(HANDLER));
+        assertEquals(1, testSubject.backlog(HANDLER));
+
+        completions.poll().run();
+
+        assertEquals(2, completions.size());
+        assertEquals(2, testSubject.inProgress(HANDLER));
+        assertEquals(0, testSubject.backlog(HANDLER));
+    }
+
+    @Test
+    void invokingCompletionTwiceReleasesSingleSlot() {
+        AdaptiveFlowController testSubject = controller(4);
+        testSubject.execute(HANDLER, completions::add);
+        testSubject.execute(HANDLER, completions::add);
+
+        Runnable completion = completions.poll();
+        completion.run();
+        completion.run();
+
+        assertEquals(1, testSubject.inProgress(HANDLER));
+    }
+
+    @Test
+    void failureToStartTaskReleasesSlot() {
+        AdaptiveFlowController testSubject = controller(1);
+
+        testSubject.execute(HANDLER, c -> {
+            throw new IllegalStateException("Simulating failure");
+        });
+
+        assertEquals(0, testSubject.inProgress(HANDLER));
+    }
+
+    @Test
+    void windowsAreMaintainedPerHandler() {
+        AdaptiveFlowController testSubject = controller(1);
+
+        testSubject.execute(HANDLER, completions::add);
+        testSubject.execute("other", completions::add);
+
+        assertEquals(2, completions.size());
+        assertEquals(0, testSubject.backlog(HANDLER));
+        assertEquals(2, testSubject.currentWindows().size());
+    }
+
+    @Test
+    void windowGaugeIsRegisteredOncePerHandler() {
+        Map<String, IntSupplier> gauges = new HashMap<>();
+        AtomicInteger registrations = new AtomicInteger();
+        AdaptiveFlowController testSubject =
+                AdaptiveFlowController.builder()
+                                      .initialWindow(4)
+                                      .metrics("context", (context, handlerName, window) -> {
+                                          registrations.incrementAndGet();
+                                          gauges.put(context + "/" + handlerName, window);
+                                      })
+                                      .build();
+
+        testSubject.execute(HANDLER, completions::add);
+        testSubject.execute(HANDLER, completions::add);
+        testSubject.execute("other", completions::add);
+
+        assertEquals(2, registrations.get());
+        assertEquals(4, gauges.get("context/" + HANDLER).getAsInt());
+        assertEquals(4, gauges.get("context/other").getAsInt());
+    }
+
+    @Test
+    void windowGaugeReflectsTheCurrentWindow() {
+        Map<String, IntSupplier> gauges = new HashMap<>();
+        AdaptiveFlowController testSubject =
+                AdaptiveFlowController.builder()
+                                      .initialWindow(4)
+                                      .maximumWindow(100)
+                                      .smoothing(0.5)
+                                      .nanoClock(clock::get)
+                                      .metrics("context", (context, handlerName, window) -> gauges.put(handlerName,
+                                                                                                       window))
+                                      .build();
+
+        processSaturated(testSubject, 200, MILLIS);
+
+        assertTrue(gauges.get(HANDLER).getAsInt() > 4);
+        assertEquals(testSubject.currentWindow(HANDLER), gauges.get(HANDLER).getAsInt());
+    }
+
+    @Test
+    void windowGrowsWhileLatencyIsStable() {
+        AdaptiveFlowController testSubject = controller(4);
+
+        processSaturated(testSubject, 200, MILLIS);
+
+        assertTrue(testSubject.currentWindow(HANDLER) > 4);
+        assertTrue(testSubject.currentWindow(HANDLER) <= 100);
+    }
+
+    @Test
+    void windowDoesNotGrowWhenNotSaturated() {
+        AdaptiveFlowController testSubject = controller(8);
+
+        for (int i = 0; i < 100; i++) {
+            testSubject.execute(HANDLER, completions::add);
+            clock.addAndGet(MILLIS);
+            completions.poll().run();
+        }
+
+        assertEquals(8, testSubject.currentWindow(HANDLER));
+    }
+
+    @Test
+    void windowShrinksWhenLatencyIncreases() {
+        AdaptiveFlowController testSubject = controller(16);
+        processSaturated(testSubject, 200, MILLIS);
+        int stableWindow = testSubject.currentWindow(HANDLER);
+
+        processSaturated(testSubject, 50, 20 * MILLIS);
+
+        assertTrue(testSubject.currentWindow(HANDLER) < stableWindow);
+    }
+
+    @Test
+    void windowShrinksWhenExecutorQueueIsTooDeep() {
+        AdaptiveFlowController testSubject = controller(16);
+        queueDepth.set(50);
+
+        processSaturated(testSubject, 50, MILLIS);
+
+        assertTrue(testSubject.currentWindow(HANDLER) < 8);
+    }
+
+    @Test
+    void unknownHandlerReportsInitialWindow() {
+        assertEquals(16, controller(16).currentWindow("unknown"));
+    }
+
+    @Test
+    void buildingWithMaximumBelowMinimumFails() {
+        AdaptiveFlowController.Builder builder = AdaptiveFlowController.builder()
+                                                                       .minimumWindow(10)
+                                                                       .maximumWindow(5);
+
+        assertThrows(AxonConfigurationException.class, builder::build);
+    }
+
+    private AdaptiveFlowController controller(int initialWindow) {
+        return AdaptiveFlowController.builder()
+                                     .initialWindow(initialWindow)
+                                     .maximumWindow(100)
+                                     .smoothing(0.5)
+                                     .queueDepth(queueDepth::get, 10)
+                                     .nanoClock(clock::get)
+                                     .build();
+    }
+
+    private void processSaturated(AdaptiveFlowController testSubject, int messages, long latency) {
+        for (int i = 0; i < messages; i++) {
+            while (testSubject.backlog(HANDLER) == 0) {
+                testSubject.execute(HANDLER, completions::add);
+            }
+            clock.addAndGet(latency);
+            completions.poll().run();
+        }
+    }
+}
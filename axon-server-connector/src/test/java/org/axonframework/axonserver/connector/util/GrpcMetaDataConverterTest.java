@@ -150,7 +150,7 @@ void convertFromBytesMetaDataValue() {
 
         Object resultObject = testSubject.convertFromMetaDataValue(testMetaData);
 
-        verify(serializer).deserialize(isA(GrpcSerializedObject.class));
+        verify(serializer).deserialize(isA(GrpcStreamingSerializedObject.class));
         assertTrue(resultObject instanceof TestObject);
         assertEquals(testObject, resultObject);
     }
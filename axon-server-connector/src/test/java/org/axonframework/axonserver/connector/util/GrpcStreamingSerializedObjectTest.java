@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2010-2024. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.axonserver.connector.util;
+
+import com.google.protobuf.ByteString;
+import org.axonframework.axonserver.connector.utils.TestSerializer;
+import org.axonframework.serialization.ChainingConverter;
+import org.axonframework.serialization.SerializedObject;
+import org.axonframework.serialization.Serializer;
+import org.axonframework.serialization.SimpleSerializedObject;
+import org.axonframework.serialization.json.JacksonSerializer;
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class validating the {@link GrpcStreamingSerializedObject} and the {@link ByteString} based content type
+ * converters.
+ *
+ * @author agent
+ */
+class GrpcStreamingSerializedObjectTest {
+
+    @Test
+    void emptyRevisionIsExposedAsNull() {
+        io.axoniq.axonserver.grpc.SerializedObject grpcObject =
+                io.axoniq.axonserver.grpc.SerializedObject.newBuilder()
+                                                          .setType("some-type")
+                                                          .setData(ByteString.copyFromUtf8("data"))
+                                                          .build();
+
+        GrpcStreamingSerializedObject testSubject = new GrpcStreamingSerializedObject(grpcObject);
+
+        assertEquals(InputStream.class, testSubject.getContentType());
+        assertEquals("some-type", testSubject.getType().getName());
+        assertNull(testSubject.getType().getRevision());
+    }
+
+    @Test
+    void eachInvocationOfGetDataReturnsNewStream() throws IOException {
+        io.axoniq.axonserver.grpc.SerializedObject grpcObject =
+                io.axoniq.axonserver.grpc.SerializedObject.newBuilder()
+                                                          .setType("some-type")
+                                                          .setRevision("1")
+                                                          .setData(ByteString.copyFromUtf8("data"))
+                                                          .build();
+
+        GrpcStreamingSerializedObject testSubject = new GrpcStreamingSerializedObject(grpcObject);
+
+        assertEquals("1", testSubject.getType().getRevision());
+        assertEquals("data", new String(readFully(testSubject.getData()), StandardCharsets.UTF_8));
+        assertEquals("data", new String(readFully(testSubject.getData()), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void jacksonSerializerDeserializesStreamingObject() {
+        Serializer serializer = JacksonSerializer.defaultSerializer();
+        GrpcObjectSerializer<Object> objectSerializer = new GrpcObjectSerializer<>(serializer);
+
+        io.axoniq.axonserver.grpc.SerializedObject grpcObject = objectSerializer.apply("some-payload");
+
+        assertEquals("some-payload", serializer.deserialize(new GrpcStreamingSerializedObject(grpcObject)));
+    }
+
+    @Test
+    void xStreamSerializerDeserializesStreamingObject() {
+        Serializer serializer = TestSerializer.xStreamSerializer();
+        GrpcObjectSerializer<Object> objectSerializer = new GrpcObjectSerializer<>(serializer);
+
+        io.axoniq.axonserver.grpc.SerializedObject grpcObject = objectSerializer.apply("some-payload");
+
+        assertEquals("some-payload", serializer.deserialize(new GrpcStreamingSerializedObject(grpcObject)));
+    }
+
+    @Test
+    void serializedDataIsWrappedWithoutCopying() {
+        byte[] data = "data".getBytes(StandardCharsets.UTF_8);
+        GrpcObjectSerializer<Object> objectSerializer = new GrpcObjectSerializer<>(
+                new GrpcObjectSerializer.Serializer<Object>() {
+                    @SuppressWarnings("unchecked")
+                    @Override
+                    public <T> SerializedObject<T> serialize(Object object, Class<T> expectedRepresentation) {
+                        return new SimpleSerializedObject<>((T) data, expectedRepresentation, "some-type", null);
+                    }
+                });
+
+        io.axoniq.axonserver.grpc.SerializedObject grpcObject = objectSerializer.apply("some-payload");
+        data[0] = 'D';
+
+        assertEquals("Data", grpcObject.getData().toStringUtf8());
+        assertEquals("some-type", grpcObject.getType());
+        assertEquals("", grpcObject.getRevision());
+    }
+
+    @Test
+    void chainingConverterLoadsByteStringConverters() {
+        ChainingConverter converter = new ChainingConverter();
+        byte[] data = "data".getBytes(StandardCharsets.UTF_8);
+
+        ByteString byteString = converter.convert(data, byte[].class, ByteString.class);
+
+        assertEquals("data", byteString.toStringUtf8());
+        assertArrayEquals(data, converter.convert(byteString, ByteString.class, byte[].class));
+        assertTrue(converter.canConvert(ByteString.class, InputStream.class));
+    }
+
+    private static byte[] readFully(InputStream inputStream) throws IOException {
+        byte[] buffer = new byte[inputStream.available()];
+        int read = inputStream.read(buffer);
+        assertEquals(buffer.length, read);
+        return buffer;
+    }
+}
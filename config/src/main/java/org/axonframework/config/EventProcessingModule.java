@@ -29,8 +29,10 @@
 import org.axonframework.eventhandling.ListenerInvocationErrorHandler;
 import org.axonframework.eventhandling.LoggingErrorHandler;
 import org.axonframework.eventhandling.MultiEventHandlerInvoker;
+import org.axonframework.eventhandling.NoOpStreamingProcessorInstrumentation;
 import org.axonframework.eventhandling.PropagatingErrorHandler;
 import org.axonframework.eventhandling.SimpleEventHandlerInvoker;
+import org.axonframework.eventhandling.StreamingProcessorInstrumentation;
 import org.axonframework.eventhandling.SubscribingEventProcessor;
 import org.axonframework.eventhandling.TrackedEventMessage;
 import org.axonframework.eventhandling.TrackingEventProcessor;
@@ -989,6 +991,7 @@ protected EventProcessor trackingEventProcessor(String name,
                                      .transactionManager(transactionManager(name))
                                      .trackingEventProcessorConfiguration(config)
                                      .spanFactory(configuration.getComponent(EventProcessorSpanFactory.class))
+                                     .instrumentation(streamingProcessorInstrumentation(configuration))
                                      .build();
     }
 
@@ -1031,7 +1034,8 @@ protected EventProcessor pooledStreamingEventProcessor(
                                                  config.onShutdown(workerExecutor::shutdown);
                                                  return workerExecutor;
                                              })
-                                             .spanFactory(config.getComponent(EventProcessorSpanFactory.class));
+                                             .spanFactory(config.getComponent(EventProcessorSpanFactory.class))
+                                             .instrumentation(streamingProcessorInstrumentation(config));
 
         return psepConfigs.getOrDefault(CONFIGURED_DEFAULT_PSEP_CONFIG, noOp())
                           .andThen(psepConfigs.getOrDefault(name, noOp()))
@@ -1040,6 +1044,11 @@ protected EventProcessor pooledStreamingEventProcessor(
                           .build();
     }
 
+    private static StreamingProcessorInstrumentation streamingProcessorInstrumentation(Configuration config) {
+        return config.getComponent(StreamingProcessorInstrumentation.class,
+                                   () -> NoOpStreamingProcessorInstrumentation.INSTANCE);
+    }
+
     private ScheduledExecutorService defaultExecutor(int poolSize, String factoryName) {
         return Executors.newScheduledThreadPool(poolSize, new AxonThreadFactory(factoryName));
     }
@@ -46,8 +46,11 @@
 
 import java.util.Map;
 import java.util.Objects;
+import java.util.Queue;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
 import javax.annotation.Nonnull;
 
 import static org.axonframework.commandhandling.GenericCommandResultMessage.asCommandResultMessage;
@@ -67,6 +70,12 @@ public class CommandHandlerInvoker implements EventHandler<CommandHandlingEntry>
     private final Map<Class<?>, DisruptorRepository<?>> repositories = new ConcurrentHashMap<>();
     private final Cache cache;
     private final int segmentId;
+    private final int firstLevelCacheSize;
+    private final boolean refreshCacheAfterHandling;
+    private final LongAdder assignedCount = new LongAdder();
+    private final LongAdder handledCount = new LongAdder();
+    private final LongAdder handlingTimeNanos = new LongAdder();
+    private final Queue<String> committedAggregates = new ConcurrentLinkedQueue<>();
 
     /**
      * Returns the Repository instance for Aggregate with given {@code typeIdentifier} used by the CommandHandlerInvoker
@@ -93,25 +102,101 @@ public static <T> DisruptorRepository<T> getRepository(Class<?> type) {
      * @param segmentId The id of the segment this invoker should handle
      */
     public CommandHandlerInvoker(Cache cache, int segmentId) {
+        this(cache, segmentId, 0, false);
+    }
+
+    /**
+     * Create an aggregate invoker instance for the given {@code segment} and {@code cache}, with a first level cache
+     * bounded to the given {@code firstLevelCacheSize}.
+     * <p>
+     * When the {@code firstLevelCacheSize} is {@code 0}, the first level cache holds weak references to the aggregates
+     * without an upper bound. Otherwise, the least recently used aggregate is evicted into the given {@code cache} when
+     * the first level cache of a repository exceeds the given size. When {@code refreshCacheAfterHandling} is
+     * {@code true}, the {@code cache} entry of an aggregate is refreshed once an entry this invoker handled for it has
+     * been committed, allowing the aggregate to be picked up by another invoker. The refresh is performed by this
+     * invoker when it receives its next entry, as the aggregate may only be accessed by the thread of this invoker.
+     *
+     * @param cache                The cache temporarily storing aggregate instances
+     * @param segmentId            The id of the segment this invoker should handle
+     * @param firstLevelCacheSize  The maximum number of aggregates kept in the first level cache of each repository,
+     *                             or {@code 0} to keep weak references without an upper bound
+     * @param refreshCacheAfterHandling Whether to refresh the {@code cache} entry of an aggregate after handling
+     */
+    public CommandHandlerInvoker(Cache cache,
+                                 int segmentId,
+                                 int firstLevelCacheSize,
+                                 boolean refreshCacheAfterHandling) {
         this.cache = cache;
         this.segmentId = segmentId;
+        this.firstLevelCacheSize = firstLevelCacheSize;
+        this.refreshCacheAfterHandling = refreshCacheAfterHandling;
     }
 
     @Override
     public void onEvent(CommandHandlingEntry entry, long sequence, boolean endOfBatch) {
+        refreshCommittedAggregates();
         if (entry.isRecoverEntry()) {
             removeEntry(entry.getAggregateIdentifier());
         } else if (entry.getInvokerId() == segmentId) {
+            // the previous owner of a transferred aggregate may still have to refresh its cache entry
+            entry.awaitOwnershipTransfer();
+            long start = System.nanoTime();
             entry.start();
             try {
                 Object result = entry.getInvocationInterceptorChain().proceed();
                 entry.setResult(asCommandResultMessage(result));
+                String aggregateIdentifier = entry.getAggregateIdentifier();
+                if (refreshCacheAfterHandling && aggregateIdentifier != null) {
+                    // the entry is committed on the publisher thread, which may only record the aggregate to refresh
+                    entry.afterCommit(u -> committedAggregates.add(aggregateIdentifier));
+                }
             } catch (Exception throwable) {
                 entry.setResult(asCommandResultMessage(throwable));
             } finally {
                 entry.pause();
+                handlingTimeNanos.add(System.nanoTime() - start);
+                handledCount.increment();
             }
+        } else if (entry.getTransferredAggregateIdentifier() != null) {
+            // another invoker took ownership of the aggregate, so the instance we may hold is about to become stale
+            removeFromFirstLevelCache(entry.getTransferredAggregateIdentifier());
+            entry.acknowledgeOwnershipTransfer();
+        }
+    }
+
+    /**
+     * Registers that an entry has been assigned to this invoker. Used to keep track of the number of entries that are
+     * pending to be handled by this invoker.
+     */
+    void registerAssignedEntry() {
+        assignedCount.increment();
+    }
+
+    /**
+     * Returns the number of entries assigned to this invoker that have not been handled yet. This is only tracked for
+     * entries registered through {@link #registerAssignedEntry()}.
+     *
+     * @return the number of entries assigned to this invoker that have not been handled yet
+     */
+    long pendingEntries() {
+        return Math.max(0, assignedCount.sum() - handledCount.sum());
+    }
+
+    /**
+     * Returns a snapshot of the current load of this invoker.
+     *
+     * @return a snapshot of the current load of this invoker
+     */
+    public InvokerLoad currentLoad() {
+        int cachedAggregates = 0;
+        for (DisruptorRepository<?> repository : repositories.values()) {
+            cachedAggregates += repository.firstLevelCacheSize();
         }
+        return new InvokerLoad(segmentId,
+                               pendingEntries(),
+                               handledCount.sum(),
+                               handlingTimeNanos.sum(),
+                               cachedAggregates);
     }
 
     /**
@@ -166,16 +251,30 @@ public <T> Repository<T> createRepository(EventStore eventStore,
                         parameterResolverFactory,
                         handlerDefinition,
                         snapshotTriggerDefinition,
-                        repositoryProvider
+                        repositoryProvider,
+                        firstLevelCacheSize
                 )
         );
     }
 
     private void removeEntry(String aggregateIdentifier) {
+        removeFromFirstLevelCache(aggregateIdentifier);
+        cache.remove(aggregateIdentifier);
+    }
+
+    private void refreshCommittedAggregates() {
+        String aggregateIdentifier;
+        while ((aggregateIdentifier = committedAggregates.poll()) != null) {
+            for (DisruptorRepository<?> repository : repositories.values()) {
+                repository.refreshCache(aggregateIdentifier);
+            }
+        }
+    }
+
+    private void removeFromFirstLevelCache(String aggregateIdentifier) {
         for (DisruptorRepository<?> repository : repositories.values()) {
             repository.removeFromCache(aggregateIdentifier);
         }
-        cache.remove(aggregateIdentifier);
     }
 
     @Override
@@ -199,7 +298,7 @@ public void onShutdown() {
         private final RepositoryProvider repositoryProvider;
         private final SnapshotTriggerDefinition snapshotTriggerDefinition;
         private final AggregateFactory<T> aggregateFactory;
-        private final FirstLevelCache<T> firstLevelCache = new FirstLevelCache<>();
+        private final FirstLevelCache<T> firstLevelCache;
         private final Cache cache;
         private final AggregateModel<T> model;
 
@@ -209,9 +308,13 @@ private DisruptorRepository(AggregateFactory<T> aggregateFactory,
                                     ParameterResolverFactory parameterResolverFactory,
                                     HandlerDefinition handlerDefinition,
                                     SnapshotTriggerDefinition snapshotTriggerDefinition,
-                                    RepositoryProvider repositoryProvider) {
+                                    RepositoryProvider repositoryProvider,
+                                    int firstLevelCacheSize) {
             this.aggregateFactory = aggregateFactory;
             this.cache = cache;
+            this.firstLevelCache = firstLevelCacheSize > 0
+                    ? new FirstLevelCache<>(firstLevelCacheSize, this::evictToCache)
+                    : new FirstLevelCache<>();
             this.eventStore = eventStore;
             this.snapshotTriggerDefinition = snapshotTriggerDefinition;
             this.model = AnnotatedAggregateMetaModelFactory.inspectAggregate(
@@ -311,6 +414,22 @@ public Aggregate<T> loadOrCreate(@Nonnull String aggregateIdentifier, @Nonnull C
             }
         }
 
+        private void evictToCache(String aggregateIdentifier, EventSourcedAggregate<T> aggregate) {
+            logger.debug("Aggregate {} evicted from first level cache.", aggregateIdentifier);
+            cache.put(aggregateIdentifier, new AggregateCacheEntry<>(aggregate));
+        }
+
+        private void refreshCache(String aggregateIdentifier) {
+            EventSourcedAggregate<T> aggregate = firstLevelCache.get(aggregateIdentifier);
+            if (aggregate != null) {
+                cache.put(aggregateIdentifier, new AggregateCacheEntry<>(aggregate));
+            }
+        }
+
+        private int firstLevelCacheSize() {
+            return firstLevelCache.size();
+        }
+
         private void removeFromCache(String aggregateIdentifier) {
             EventSourcedAggregate<T> removed = firstLevelCache.remove(aggregateIdentifier);
             if (removed != null) {
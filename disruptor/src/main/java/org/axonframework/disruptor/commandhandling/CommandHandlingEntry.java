@@ -25,6 +25,7 @@
 
 import java.util.List;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
 
 /**
  * DataHolder for the DisruptorCommandBus. The CommandHandlingEntry maintains all information required for or produced
@@ -45,6 +46,9 @@ public class CommandHandlingEntry extends DisruptorUnitOfWork<CommandMessage<?>>
     private boolean isRecoverEntry;
     private String aggregateIdentifier;
     private int invokerSegmentId;
+    // for migration of aggregates between invokers
+    private String transferredAggregateIdentifier;
+    private CountDownLatch pendingTransferAcknowledgements;
 
     /**
      * Initializes the CommandHandlingEntry
@@ -139,6 +143,55 @@ public int getPublisherId() {
         return publisherSegmentId;
     }
 
+    /**
+     * Returns the identifier of the aggregate of which ownership has been transferred to the invoker handling this
+     * entry, or {@code null} if this entry did not cause an ownership transfer. Other invokers must discard any
+     * instance of this aggregate they may hold.
+     *
+     * @return the identifier of the aggregate transferred to the invoker handling this entry, if any
+     */
+    public String getTransferredAggregateIdentifier() {
+        return transferredAggregateIdentifier;
+    }
+
+    /**
+     * Marks this entry as the first entry handled by a (new) owning invoker of the aggregate with given
+     * {@code aggregateIdentifier}. Must be invoked after resetting the entry, before it is published. The owning
+     * invoker awaits the given number of other invokers to {@link #acknowledgeOwnershipTransfer() acknowledge} the
+     * transfer before handling this entry.
+     *
+     * @param aggregateIdentifier the identifier of the aggregate transferred to the invoker handling this entry
+     * @param otherInvokerCount   the number of other invokers that need to acknowledge the transfer
+     */
+    public void markOwnershipTransfer(String aggregateIdentifier, int otherInvokerCount) {
+        this.transferredAggregateIdentifier = aggregateIdentifier;
+        this.pendingTransferAcknowledgements = new CountDownLatch(otherInvokerCount);
+    }
+
+    /**
+     * Acknowledges the ownership transfer marked on this entry, indicating that the invoker no longer holds an
+     * instance of the transferred aggregate and has refreshed the cache entry of any changes it committed for it.
+     */
+    public void acknowledgeOwnershipTransfer() {
+        if (pendingTransferAcknowledgements != null) {
+            pendingTransferAcknowledgements.countDown();
+        }
+    }
+
+    /**
+     * Waits until all other invokers have {@link #acknowledgeOwnershipTransfer() acknowledged} the ownership transfer
+     * marked on this entry. Returns immediately if this entry did not cause an ownership transfer.
+     */
+    public void awaitOwnershipTransfer() {
+        if (pendingTransferAcknowledgements != null) {
+            try {
+                pendingTransferAcknowledgements.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
     /**
      * Resets this entry, preparing it for use for another command.
      *
@@ -163,6 +216,8 @@ public void reset(CommandMessage<?> newCommand,
         this.isRecoverEntry = false;
         this.result = null;
         this.aggregateIdentifier = null;
+        this.transferredAggregateIdentifier = null;
+        this.pendingTransferAcknowledgements = null;
         this.invocationInterceptorChain = new DefaultInterceptorChain<>(
                 this,
                 invokerInterceptors, newCommandHandler
@@ -187,6 +242,8 @@ public void resetAsRecoverEntry(String newAggregateIdentifier) {
         invokerSegmentId = -1;
         publisherSegmentId = -1;
         this.aggregateIdentifier = newAggregateIdentifier;
+        this.transferredAggregateIdentifier = null;
+        this.pendingTransferAcknowledgements = null;
         reset(null);
     }
 
@@ -210,6 +267,8 @@ public void resetAsCallable(Callable<Object> callable,
         this.callback = newCallback;
         result = null;
         aggregateIdentifier = null;
+        transferredAggregateIdentifier = null;
+        pendingTransferAcknowledgements = null;
         invocationInterceptorChain = callable::call;
         publisherInterceptorChain = () -> repeatingCommandHandler.handle(null);
         reset(null);
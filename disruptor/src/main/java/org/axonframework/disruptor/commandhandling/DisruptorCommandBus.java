@@ -161,6 +161,7 @@ public class DisruptorCommandBus implements CommandBus {
     private final CommandHandlerInvoker[] commandHandlerInvokers;
     private final DuplicateCommandHandlerResolver duplicateCommandHandlerResolver;
     private final CommandCallback<Object, Object> defaultCommandCallback;
+    private final InvokerAssignments invokerAssignments;
 
     private volatile boolean started = true;
     private volatile boolean disruptorShutDown = false;
@@ -182,6 +183,8 @@ public class DisruptorCommandBus implements CommandBus {
      * <li>The {@code invokerThreadCount} defaults to {@code 1}.</li>
      * <li>The {@link Cache} defaults to {@link NoCache#INSTANCE}.</li>
      * <li>The {@link DuplicateCommandHandlerResolver} defaults to {@link DuplicateCommandHandlerResolution#logAndOverride()}.</li>
+     * <li>The {@code firstLevelCacheSize} defaults to {@code 0}, keeping weak references without an upper bound.</li>
+     * <li>The {@code aggregateRebalancingThreshold} defaults to {@code 0}, disabling aggregate rebalancing.</li>
      * </ul>
      * The (2) Threads required for command execution are created immediately. Additional threads are used to invoke
      * response callbacks and to initialize a recovery process in the case of errors. The thread creation process can
@@ -247,7 +250,14 @@ protected DisruptorCommandBus(Builder builder) {
                                     builder.producerType,
                                     builder.waitStrategy);
         // Configure invoker Threads
-        commandHandlerInvokers = initializeInvokerThreads(builder.invokerThreadCount, builder.cache);
+        boolean rebalancing = builder.aggregateRebalancingThreshold > 0 && builder.invokerThreadCount > 1;
+        commandHandlerInvokers = initializeInvokerThreads(builder.invokerThreadCount,
+                                                          builder.cache,
+                                                          builder.firstLevelCacheSize,
+                                                          rebalancing);
+        invokerAssignments = rebalancing
+                ? new InvokerAssignments(commandHandlerInvokers, builder.aggregateRebalancingThreshold)
+                : null;
 
         disruptor.setDefaultExceptionHandler(new ExceptionHandler());
         disruptor.handleEventsWith(commandHandlerInvokers).then(publishers);
@@ -263,12 +273,29 @@ private EventPublisher[] initializePublisherThreads(int publisherThreadCount,
         return publishers;
     }
 
-    private CommandHandlerInvoker[] initializeInvokerThreads(int invokerThreadCount, Cache cache) {
+    private CommandHandlerInvoker[] initializeInvokerThreads(int invokerThreadCount,
+                                                            Cache cache,
+                                                            int firstLevelCacheSize,
+                                                            boolean rebalancing) {
         CommandHandlerInvoker[] invokers = new CommandHandlerInvoker[invokerThreadCount];
-        Arrays.setAll(invokers, t -> new CommandHandlerInvoker(cache, t));
+        Arrays.setAll(invokers, t -> new CommandHandlerInvoker(cache, t, firstLevelCacheSize, rebalancing));
         return invokers;
     }
 
+    /**
+     * Returns a snapshot of the load of each of the {@link CommandHandlerInvoker} threads of this command bus, ordered
+     * by their segment identifier.
+     *
+     * @return a snapshot of the load of each of the invoker threads
+     */
+    public List<InvokerLoad> getInvokerLoad() {
+        List<InvokerLoad> load = new ArrayList<>(commandHandlerInvokers.length);
+        for (CommandHandlerInvoker invoker : commandHandlerInvokers) {
+            load.add(invoker.currentLoad());
+        }
+        return load;
+    }
+
     @Override
     public <C> void dispatch(@Nonnull CommandMessage<C> command) {
         dispatch(command, defaultCommandCallback);
@@ -312,10 +339,11 @@ private <C, R> void doDispatch(CommandMessage<? extends C> command, CommandCallb
         }
 
         RingBuffer<CommandHandlingEntry> ringBuffer = disruptor.getRingBuffer();
+        String aggregateIdentifier = null;
         int invokerSegment = 0;
         int publisherSegment = 0;
         if (commandHandlerInvokers.length > 1 || publisherCount > 1) {
-            String aggregateIdentifier = commandTargetResolver.resolveTarget(command).getIdentifier();
+            aggregateIdentifier = commandTargetResolver.resolveTarget(command).getIdentifier();
             if (aggregateIdentifier != null) {
                 int idHash = aggregateIdentifier.hashCode() & Integer.MAX_VALUE;
                 if (commandHandlerInvokers.length > 1) {
@@ -326,20 +354,44 @@ private <C, R> void doDispatch(CommandMessage<? extends C> command, CommandCallb
                 }
             }
         }
+        CommandCallback<? super C, R> dispatchCallback = callback;
+        InvokerAssignments.Assignment assignment = null;
+        if (invokerAssignments != null && aggregateIdentifier != null) {
+            assignment = invokerAssignments.acquire(aggregateIdentifier, invokerSegment);
+            invokerSegment = assignment.segment();
+            dispatchCallback = releasingCallback(aggregateIdentifier, callback);
+        }
+        commandHandlerInvokers[invokerSegment].registerAssignedEntry();
         long sequence = ringBuffer.next();
         try {
             CommandHandlingEntry event = ringBuffer.get(sequence);
             event.reset(command, commandHandler, invokerSegment, publisherSegment,
                         new BlacklistDetectingCallback<C, R>(
-                                callback, disruptor.getRingBuffer(), this::doDispatch, rescheduleOnCorruptState
+                                dispatchCallback, disruptor.getRingBuffer(), this::doDispatch, rescheduleOnCorruptState
                         ),
                         invokerInterceptors,
                         publisherInterceptors);
+            if (assignment != null && assignment.isNewlyAssigned()) {
+                event.markOwnershipTransfer(aggregateIdentifier, commandHandlerInvokers.length - 1);
+            }
         } finally {
             ringBuffer.publish(sequence);
         }
     }
 
+    /**
+     * Wraps the given {@code callback} in one that releases the invoker assignment of the aggregate with given
+     * {@code aggregateIdentifier} before notifying the {@code callback}. The callback is only invoked once the command
+     * has been fully processed, including the commit of its unit of work.
+     */
+    private <C, R> CommandCallback<C, R> releasingCallback(String aggregateIdentifier,
+                                                          CommandCallback<? super C, R> callback) {
+        return (commandMessage, commandResultMessage) -> {
+            invokerAssignments.release(aggregateIdentifier);
+            callback.onResult(commandMessage, commandResultMessage);
+        };
+    }
+
     /**
      * Creates a repository instance for an Event Sourced aggregate that is created by the given {@code eventStore} and
      * {@code aggregateFactory}.
@@ -621,6 +673,8 @@ public void onResult(@Nonnull CommandMessage<?> commandMessage,
      * <li>The {@code invokerThreadCount} defaults to {@code 1}.</li>
      * <li>The {@link Cache} defaults to {@link NoCache#INSTANCE}.</li>
      * <li>The {@link DuplicateCommandHandlerResolver} defaults to {@link DuplicateCommandHandlerResolution#logAndOverride()}.</li>
+     * <li>The {@code firstLevelCacheSize} defaults to {@code 0}, keeping weak references without an upper bound.</li>
+     * <li>The {@code aggregateRebalancingThreshold} defaults to {@code 0}, disabling aggregate rebalancing.</li>
      * </ul>
      * The (2) Threads required for command execution are created immediately. Additional threads are used to invoke
      * response callbacks and to initialize a recovery process in the case of errors. The thread creation process can
@@ -658,6 +712,8 @@ public static class Builder {
         private Cache cache = NoCache.INSTANCE;
         private DuplicateCommandHandlerResolver duplicateCommandHandlerResolver = DuplicateCommandHandlerResolution.logAndOverride();
         private CommandCallback<Object, Object> defaultCommandCallback = FailureLoggingCommandCallback.INSTANCE;
+        private int firstLevelCacheSize = 0;
+        private int aggregateRebalancingThreshold = 0;
 
         /**
          * Set the {@link MessageHandlerInterceptor} of generic type {@link CommandMessage} to use with the {@link
@@ -954,6 +1010,50 @@ public Builder defaultCommandCallback(CommandCallback<Object, Object> defaultCom
             return this;
         }
 
+        /**
+         * Sets the maximum number of aggregates each invoker thread keeps in the first level cache of a repository.
+         * When this size is exceeded, the least recently used aggregate is evicted from the first level cache into the
+         * {@link #cache(Cache) second level Cache}, from which it is recreated when it is needed again.
+         * <p/>
+         * Defaults to {@code 0}, in which case the first level cache holds weak references to the aggregates without
+         * an upper bound, leaving it up to the garbage collector to clean up aggregates that are no longer in use.
+         *
+         * @param firstLevelCacheSize an {@code int} specifying the maximum number of aggregates in the first level
+         *                            cache of a repository, or {@code 0} for an unbounded, weakly referencing cache
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder firstLevelCacheSize(int firstLevelCacheSize) {
+            assertPositive(firstLevelCacheSize, "The first level cache size may not be negative");
+            this.firstLevelCacheSize = firstLevelCacheSize;
+            return this;
+        }
+
+        /**
+         * Enables the rebalancing of idle aggregates between invoker threads. By default, an aggregate is always
+         * handled by the invoker thread selected by the hash of its identifier. With rebalancing enabled, an aggregate
+         * that has no commands in flight is moved to the least loaded invoker thread when the invoker selected by its
+         * hash has more than the given {@code aggregateRebalancingThreshold} pending commands than the least loaded
+         * one. This prevents a few hot aggregates from delaying all other aggregates that hash to the same invoker.
+         * <p/>
+         * Aggregates moved to another invoker are recreated from the {@link #cache(Cache) second level Cache} or, if
+         * absent there, from the {@link EventStore}. To keep the second level cache current, invokers refresh its
+         * entry once a command has been committed when rebalancing is enabled. An aggregate is only handed over after
+         * its previous invoker has refreshed the cache and discarded its own instance.
+         * <p/>
+         * Defaults to {@code 0}, which disables rebalancing. Rebalancing only applies when the
+         * {@link #invokerThreadCount(int)} is greater than {@code 1}.
+         *
+         * @param aggregateRebalancingThreshold an {@code int} specifying the difference in pending commands between
+         *                                      invoker threads that triggers moving idle aggregates, or {@code 0} to
+         *                                      disable rebalancing
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder aggregateRebalancingThreshold(int aggregateRebalancingThreshold) {
+            assertPositive(aggregateRebalancingThreshold, "The aggregate rebalancing threshold may not be negative");
+            this.aggregateRebalancingThreshold = aggregateRebalancingThreshold;
+            return this;
+        }
+
 
         /**
          * Initializes a {@link DisruptorCommandBus} as specified through this Builder.
@@ -1043,6 +1143,13 @@ private void send(Message<?> message, ScopeDescriptor scopeDescription, Completa
                     }
                 }
             }
+            InvokerAssignments.Assignment assignment = null;
+            if (invokerAssignments != null && aggregateIdentifier != null) {
+                assignment = invokerAssignments.acquire(aggregateIdentifier, invokerSegment);
+                invokerSegment = assignment.segment();
+            }
+            boolean assigned = assignment != null;
+            commandHandlerInvokers[invokerSegment].registerAssignedEntry();
 
             long sequence = ringBuffer.next();
             try {
@@ -1062,6 +1169,9 @@ private void send(Message<?> message, ScopeDescriptor scopeDescription, Completa
                         publisherSegment,
                         new BlacklistDetectingCallback<>(
                                 (commandMessage, commandResultMessage) -> {
+                                    if (assigned) {
+                                        invokerAssignments.release(aggregateIdentifier);
+                                    }
                                     if (commandResultMessage.isExceptional()) {
                                         logger.warn("Failed sending message [{}] to aggregate with id [{}]",
                                                     message, aggregateIdentifier);
@@ -1071,10 +1181,18 @@ private void send(Message<?> message, ScopeDescriptor scopeDescription, Completa
                                     }
                                 },
                                 disruptor.getRingBuffer(),
-                                (commandMessage, callback) -> send(message, scopeDescription, future),
+                                (commandMessage, callback) -> {
+                                    if (assigned) {
+                                        invokerAssignments.release(aggregateIdentifier);
+                                    }
+                                    send(message, scopeDescription, future);
+                                },
                                 rescheduleOnCorruptState
                         )
                 );
+                if (assignment != null && assignment.isNewlyAssigned()) {
+                    event.markOwnershipTransfer(aggregateIdentifier, commandHandlerInvokers.length - 1);
+                }
             } finally {
                 ringBuffer.publish(sequence);
             }
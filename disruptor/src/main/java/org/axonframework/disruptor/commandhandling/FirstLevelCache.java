@@ -21,9 +21,11 @@
 import java.lang.ref.ReferenceQueue;
 import java.lang.ref.WeakReference;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.WeakHashMap;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
 
 /**
  * Works as an in-memory cache to keep a weak reference to the cached object, which then allows the garbage collector to
@@ -36,6 +38,10 @@
  * collector decides it wants to finalize a value, it will be removed from the map automatically.
  * <p>
  * This implementation is heavily inspired by http://www.java2s.com/Code/Java/Collections-Data-Structure/WeakValueHashMap.htm
+ * <p>
+ * Alternatively, the cache can be bounded to a maximum number of entries. In that case, values are strongly referenced
+ * and the least recently used entry is evicted once the maximum size is exceeded. Evicted entries are handed to an
+ * eviction listener, which allows them to be moved into a second level cache.
  *
  * @param <T> the type of the aggregate root
  * @author Premanand Chandrasekaran
@@ -45,6 +51,7 @@
 
     private final Map<String, WeakValue> delegate;
     private final ReferenceQueue<EventSourcedAggregate<T>> queue;
+    private final BoundedDelegate boundedDelegate;
 
     /**
      * Creates a FirstLevelCache with a desired initial capacity.
@@ -54,6 +61,7 @@
     private FirstLevelCache(int capacity) {
         delegate = new ConcurrentHashMap<>(capacity);
         queue = new ReferenceQueue<>();
+        boundedDelegate = null;
     }
 
     /**
@@ -63,6 +71,20 @@ private FirstLevelCache(int capacity) {
         this(1);
     }
 
+    /**
+     * Creates a FirstLevelCache that holds at most {@code maxSize} entries. Values are strongly referenced, and the
+     * least recently used entry is evicted when an entry is added to a full cache. Each evicted entry is reported to
+     * the given {@code evictionListener}.
+     *
+     * @param maxSize          the maximum number of entries to keep in this cache
+     * @param evictionListener the listener to notify of entries evicted from this cache
+     */
+    FirstLevelCache(int maxSize, BiConsumer<String, EventSourcedAggregate<T>> evictionListener) {
+        delegate = null;
+        queue = null;
+        boundedDelegate = new BoundedDelegate(maxSize, evictionListener);
+    }
+
     /**
      * Puts the given {@code value} in the cache under given {@code key}
      *
@@ -71,6 +93,11 @@ private FirstLevelCache(int capacity) {
      * @return the previous value associated with this key, or {@code null} if it didn't exist
      */
     public EventSourcedAggregate<T> put(String key, EventSourcedAggregate<T> value) {
+        if (boundedDelegate != null) {
+            synchronized (boundedDelegate) {
+                return boundedDelegate.put(key, value);
+            }
+        }
         processQueue();
         WeakValue valueRef = new WeakValue(key, value, queue);
         return getReferenceValue(delegate.put(key, valueRef));
@@ -83,6 +110,12 @@ public EventSourcedAggregate<T> put(String key, EventSourcedAggregate<T> value)
      * @return the entry previously stored, or {@code null} if no entry exists or when it has been garbage collected
      */
     public EventSourcedAggregate<T> get(Object key) {
+        if (boundedDelegate != null) {
+            synchronized (boundedDelegate) {
+                //noinspection SuspiciousMethodCalls
+                return boundedDelegate.get(key);
+            }
+        }
         processQueue();
         //noinspection SuspiciousMethodCalls
         return getReferenceValue(delegate.get(key));
@@ -95,6 +128,12 @@ public EventSourcedAggregate<T> get(Object key) {
      * @return the entry stored, or {@code null} if no entry was known for this key
      */
     public EventSourcedAggregate<T> remove(Object key) {
+        if (boundedDelegate != null) {
+            synchronized (boundedDelegate) {
+                //noinspection SuspiciousMethodCalls
+                return boundedDelegate.remove(key);
+            }
+        }
         //noinspection SuspiciousMethodCalls
         return getReferenceValue(delegate.remove(key));
     }
@@ -112,10 +151,36 @@ private void processQueue() {
     }
 
     public int size() {
+        if (boundedDelegate != null) {
+            synchronized (boundedDelegate) {
+                return boundedDelegate.size();
+            }
+        }
         processQueue();
         return delegate.size();
     }
 
+    private class BoundedDelegate extends LinkedHashMap<String, EventSourcedAggregate<T>> {
+
+        private final int maxSize;
+        private final BiConsumer<String, EventSourcedAggregate<T>> evictionListener;
+
+        private BoundedDelegate(int maxSize, BiConsumer<String, EventSourcedAggregate<T>> evictionListener) {
+            super(16, 0.75f, true);
+            this.maxSize = maxSize;
+            this.evictionListener = evictionListener;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, EventSourcedAggregate<T>> eldest) {
+            if (size() > maxSize) {
+                evictionListener.accept(eldest.getKey(), eldest.getValue());
+                return true;
+            }
+            return false;
+        }
+    }
+
     private class WeakValue extends WeakReference<EventSourcedAggregate<T>> {
 
         private final String key;
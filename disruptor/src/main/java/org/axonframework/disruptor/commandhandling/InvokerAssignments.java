@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2010-2024. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.disruptor.commandhandling;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Keeps track of the {@link CommandHandlerInvoker} owning an aggregate while entries for that aggregate are in flight
+ * in the {@link DisruptorCommandBus}.
+ * <p>
+ * As long as an aggregate has entries in flight, all entries for it are assigned to the same invoker. Once an
+ * aggregate is idle, its ownership is released. The next entry for that aggregate is assigned to the invoker selected
+ * by its identifier hash, unless that invoker has more than {@code threshold} pending entries than the least loaded
+ * invoker. In that case, ownership is moved to the least loaded invoker instead.
+ *
+ * @author agent
+ * @since 4.11.0
+ */
+class InvokerAssignments {
+
+    private final CommandHandlerInvoker[] invokers;
+    private final int threshold;
+    private final ConcurrentMap<String, Assignment> assignments = new ConcurrentHashMap<>();
+
+    /**
+     * Initializes the assignments for the given {@code invokers}, migrating idle aggregates when the pending entries
+     * of invokers differ more than the given {@code threshold}.
+     *
+     * @param invokers  the invokers to assign aggregates to
+     * @param threshold the difference in pending entries between invokers that triggers a migration
+     */
+    InvokerAssignments(CommandHandlerInvoker[] invokers, int threshold) {
+        this.invokers = invokers;
+        this.threshold = threshold;
+    }
+
+    /**
+     * Acquires the assignment for the aggregate with given {@code aggregateIdentifier}. Each invocation must be
+     * followed by exactly one invocation of {@link #release(String)} once the entry has been fully processed.
+     *
+     * @param aggregateIdentifier the identifier of the aggregate to assign
+     * @param defaultSegment      the invoker segment selected by the identifier hash of the aggregate
+     * @return the assignment of the aggregate
+     */
+    Assignment acquire(String aggregateIdentifier, int defaultSegment) {
+        while (true) {
+            Assignment current = assignments.computeIfPresent(aggregateIdentifier, (id, a) -> a.acquired());
+            if (current != null) {
+                return current;
+            }
+            Assignment created = new Assignment(selectSegment(defaultSegment), 1, true);
+            if (assignments.putIfAbsent(aggregateIdentifier, created) == null) {
+                return created;
+            }
+        }
+    }
+
+    /**
+     * Releases an assignment of the aggregate with given {@code aggregateIdentifier} previously acquired through
+     * {@link #acquire(String, int)}.
+     *
+     * @param aggregateIdentifier the identifier of the aggregate to release
+     */
+    void release(String aggregateIdentifier) {
+        assignments.computeIfPresent(aggregateIdentifier, (id, a) -> a.released());
+    }
+
+    /**
+     * Returns the number of aggregates that currently have entries in flight.
+     *
+     * @return the number of aggregates that currently have entries in flight
+     */
+    int activeAggregates() {
+        return assignments.size();
+    }
+
+    private int selectSegment(int defaultSegment) {
+        int leastLoaded = defaultSegment;
+        long leastPending = invokers[defaultSegment].pendingEntries();
+        long defaultPending = leastPending;
+        for (int i = 0; i < invokers.length; i++) {
+            long pending = invokers[i].pendingEntries();
+            if (pending < leastPending) {
+                leastLoaded = i;
+                leastPending = pending;
+            }
+        }
+        return defaultPending - leastPending > threshold ? leastLoaded : defaultSegment;
+    }
+
+    /**
+     * The assignment of an aggregate to an invoker segment. Instances are immutable, so that each acquisition gets its
+     * own view on whether it caused the aggregate to be (re)assigned.
+     */
+    static final class Assignment {
+
+        private final int segment;
+        private final int inFlight;
+        private final boolean newlyAssigned;
+
+        private Assignment(int segment, int inFlight, boolean newlyAssigned) {
+            this.segment = segment;
+            this.inFlight = inFlight;
+            this.newlyAssigned = newlyAssigned;
+        }
+
+        /**
+         * Returns the invoker segment owning the aggregate.
+         *
+         * @return the invoker segment owning the aggregate
+         */
+        int segment() {
+            return segment;
+        }
+
+        /**
+         * Indicates whether the acquisition returning this assignment (re)assigned the aggregate to an invoker. In
+         * that case, other invokers must discard any instance of the aggregate they hold.
+         *
+         * @return {@code true} if the aggregate has been (re)assigned, otherwise {@code false}
+         */
+        boolean isNewlyAssigned() {
+            return newlyAssigned;
+        }
+
+        private Assignment acquired() {
+            return new Assignment(segment, inFlight + 1, false);
+        }
+
+        private Assignment released() {
+            return inFlight <= 1 ? null : new Assignment(segment, inFlight - 1, false);
+        }
+    }
+}
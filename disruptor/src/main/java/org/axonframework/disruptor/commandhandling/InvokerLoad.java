@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2010-2024. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.disruptor.commandhandling;
+
+/**
+ * Snapshot of the load of a single {@link CommandHandlerInvoker} of the {@link DisruptorCommandBus}. The values are
+ * gathered without any synchronization between them, hence they provide an indication of the load rather than an exact
+ * measurement.
+ *
+ * @author agent
+ * @since 4.11.0
+ */
+public final class InvokerLoad {
+
+    private final int segmentId;
+    private final long pendingCommands;
+    private final long handledCommands;
+    private final long handlingTimeNanos;
+    private final int cachedAggregates;
+
+    /**
+     * Initializes a snapshot of the load of the invoker with given {@code segmentId}.
+     *
+     * @param segmentId         the identifier of the invoker segment
+     * @param pendingCommands   the number of entries assigned to the invoker that have not been handled yet
+     * @param handledCommands   the total number of entries handled by the invoker
+     * @param handlingTimeNanos the total time, in nanoseconds, the invoker spent handling entries
+     * @param cachedAggregates  the number of aggregates held in the first level caches of the invoker
+     */
+    public InvokerLoad(int segmentId,
+                       long pendingCommands,
+                       long handledCommands,
+                       long handlingTimeNanos,
+                       int cachedAggregates) {
+        this.segmentId = segmentId;
+        this.pendingCommands = pendingCommands;
+        this.handledCommands = handledCommands;
+        this.handlingTimeNanos = handlingTimeNanos;
+        this.cachedAggregates = cachedAggregates;
+    }
+
+    /**
+     * Returns the identifier of the invoker segment this snapshot describes.
+     *
+     * @return the identifier of the invoker segment this snapshot describes
+     */
+    public int getSegmentId() {
+        return segmentId;
+    }
+
+    /**
+     * Returns the number of entries assigned to the invoker that have not been handled yet.
+     *
+     * @return the number of entries assigned to the invoker that have not been handled yet
+     */
+    public long getPendingCommands() {
+        return pendingCommands;
+    }
+
+    /**
+     * Returns the total number of entries handled by the invoker.
+     *
+     * @return the total number of entries handled by the invoker
+     */
+    public long getHandledCommands() {
+        return handledCommands;
+    }
+
+    /**
+     * Returns the total time, in nanoseconds, the invoker spent handling entries.
+     *
+     * @return the total time, in nanoseconds, the invoker spent handling entries
+     */
+    public long getHandlingTimeNanos() {
+        return handlingTimeNanos;
+    }
+
+    /**
+     * Returns the number of aggregates held in the first level caches of the invoker.
+     *
+     * @return the number of aggregates held in the first level caches of the invoker
+     */
+    public int getCachedAggregates() {
+        return cachedAggregates;
+    }
+
+    @Override
+    public String toString() {
+        return "InvokerLoad{" +
+                "segmentId=" + segmentId +
+                ", pendingCommands=" + pendingCommands +
+                ", handledCommands=" + handledCommands +
+                ", handlingTimeNanos=" + handlingTimeNanos +
+                ", cachedAggregates=" + cachedAggregates +
+                '}';
+    }
+}
@@ -49,6 +49,11 @@
 import java.lang.reflect.Parameter;
 import java.time.Instant;
 import java.util.Collections;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 
@@ -178,6 +183,56 @@ void cacheEntryInvalidatedOnRecoveryEntry() {
         verify(mockEventStore, never()).readEvents(eq(aggregateIdentifier));
     }
 
+    @Test
+    void committedAggregateIsRefreshedInCacheWhenInvokerReceivesNextEntry() throws Exception {
+        testSubject = new CommandHandlerInvoker(mockCache, 0, 10, true);
+        final Repository<StubAggregate> repository = testSubject
+                .createRepository(mockEventStore, new GenericAggregateFactory<>(StubAggregate.class),
+                                  snapshotTriggerDefinition,
+                                  ClasspathParameterResolverFactory.forClass(StubAggregate.class));
+        when(mockCommandHandler.handle(eq(mockCommandMessage)))
+                .thenAnswer(invocationOnMock -> repository.load(aggregateIdentifier));
+        when(mockEventStore.readEvents(any()))
+                .thenReturn(DomainEventStream.of(
+                        new GenericDomainEventMessage<>("StubAggregate", aggregateIdentifier, 0, aggregateIdentifier)
+                ));
+        testSubject.onEvent(commandHandlingEntry, 0, true);
+        verify(mockCache).put(eq(aggregateIdentifier), notNull());
+
+        // the publisher commits the entry, while only the invoker may access the aggregate
+        commandHandlingEntry.resume();
+        commandHandlingEntry.commit();
+        verify(mockCache).put(eq(aggregateIdentifier), notNull());
+
+        CommandHandlingEntry nextEntry = new CommandHandlingEntry();
+        nextEntry.reset(mockCommandMessage, mockCommandHandler, 1, 0, null,
+                        Collections.emptyList(),
+                        Collections.emptyList());
+        testSubject.onEvent(nextEntry, 1, true);
+
+        verify(mockCache, times(2)).put(eq(aggregateIdentifier), notNull());
+    }
+
+    @Test
+    void ownerOfTransferredAggregateAwaitsAcknowledgementOfOtherInvokers() throws Exception {
+        CommandHandlerInvoker otherInvoker = new CommandHandlerInvoker(mockCache, 1, 10, true);
+        commandHandlingEntry.markOwnershipTransfer(aggregateIdentifier, 1);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> handling = executor.submit(() -> testSubject.onEvent(commandHandlingEntry, 0, true));
+            assertThrows(TimeoutException.class, () -> handling.get(100, TimeUnit.MILLISECONDS));
+            verify(mockCommandHandler, never()).handle(any());
+
+            otherInvoker.onEvent(commandHandlingEntry, 0, true);
+
+            handling.get(5, TimeUnit.SECONDS);
+            verify(mockCommandHandler).handle(mockCommandMessage);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     @Test
     void createRepositoryReturnsSameInstanceOnSecondInvocation() {
         final Repository<StubAggregate> repository1 = testSubject
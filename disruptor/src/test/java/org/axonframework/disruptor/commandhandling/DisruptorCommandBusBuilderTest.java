@@ -37,4 +37,15 @@ void setIllegalPublisherThreadCount() {
     void setIllegalInvokerThreadCount() {
         assertThrows(AxonConfigurationException.class, () -> DisruptorCommandBus.builder().invokerThreadCount(0));
     }
+
+    @Test
+    void setIllegalFirstLevelCacheSize() {
+        assertThrows(AxonConfigurationException.class, () -> DisruptorCommandBus.builder().firstLevelCacheSize(-1));
+    }
+
+    @Test
+    void setIllegalAggregateRebalancingThreshold() {
+        assertThrows(AxonConfigurationException.class,
+                     () -> DisruptorCommandBus.builder().aggregateRebalancingThreshold(-1));
+    }
 }
@@ -581,6 +581,33 @@ void commandProcessedAndEventsStored() throws InterruptedException {
         assertEquals(0, eventStore.countDownLatch.getCount(), "Seems that some events are not stored");
     }
 
+    @Test
+    @Timeout(value = 10)
+    void commandProcessedAndEventsStoredWithAggregateRebalancing() throws InterruptedException {
+        testSubject = DisruptorCommandBus.builder()
+                                         .invokerThreadCount(2)
+                                         .firstLevelCacheSize(10)
+                                         .aggregateRebalancingThreshold(1)
+                                         .build();
+        testSubject.subscribe(StubCommand.class.getName(), stubHandler);
+        stubHandler.setRepository(
+                testSubject.createRepository(eventStore, new GenericAggregateFactory<>(StubAggregate.class))
+        );
+
+        for (int i = 0; i < COMMAND_COUNT; i++) {
+            CommandMessage<StubCommand> command = asCommandMessage(new StubCommand(aggregateIdentifier));
+            testSubject.dispatch(command);
+        }
+
+        //noinspection ResultOfMethodCallIgnored
+        eventStore.countDownLatch.await(5, TimeUnit.SECONDS);
+
+        assertEquals(0, eventStore.countDownLatch.getCount(), "Seems that some events are not stored");
+        List<InvokerLoad> invokerLoad = testSubject.getInvokerLoad();
+        assertEquals(2, invokerLoad.size());
+        assertEquals(COMMAND_COUNT, invokerLoad.stream().mapToLong(InvokerLoad::getHandledCommands).sum());
+    }
+
     @Test
     void canResolveReturnsTrueForMatchingAggregateDescriptor() {
         testSubject = DisruptorCommandBus.builder().build();
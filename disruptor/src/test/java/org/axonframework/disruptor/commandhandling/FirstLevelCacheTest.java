@@ -19,6 +19,8 @@
 import org.axonframework.eventsourcing.EventSourcedAggregate;
 import org.junit.jupiter.api.*;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.stream.IntStream;
 
 import static java.lang.Thread.sleep;
@@ -82,6 +84,40 @@ void shouldClearWeakValues() throws Exception {
         assertEquals(0, customTestSubject.size());
     }
 
+    @Test
+    void boundedCacheEvictsLeastRecentlyUsedEntry() {
+        Map<String, EventSourcedAggregate<MyAggregate>> evicted = new HashMap<>();
+        FirstLevelCache<MyAggregate> boundedTestSubject = new FirstLevelCache<>(2, evicted::put);
+        //noinspection unchecked
+        EventSourcedAggregate<MyAggregate> other = mock(EventSourcedAggregate.class);
+        //noinspection unchecked
+        EventSourcedAggregate<MyAggregate> last = mock(EventSourcedAggregate.class);
+
+        boundedTestSubject.put("key", cacheable);
+        boundedTestSubject.put("other", other);
+        boundedTestSubject.get("key");
+        boundedTestSubject.put("last", last);
+
+        assertEquals(2, boundedTestSubject.size());
+        assertSame(cacheable, boundedTestSubject.get("key"));
+        assertSame(last, boundedTestSubject.get("last"));
+        assertNull(boundedTestSubject.get("other"));
+        assertEquals(1, evicted.size());
+        assertSame(other, evicted.get("other"));
+    }
+
+    @Test
+    void boundedCacheDoesNotNotifyEvictionOnRemove() {
+        Map<String, EventSourcedAggregate<MyAggregate>> evicted = new HashMap<>();
+        FirstLevelCache<MyAggregate> boundedTestSubject = new FirstLevelCache<>(2, evicted::put);
+
+        boundedTestSubject.put("key", cacheable);
+
+        assertSame(cacheable, boundedTestSubject.remove("key"));
+        assertEquals(0, boundedTestSubject.size());
+        assertTrue(evicted.isEmpty());
+    }
+
     static class MyAggregate {
 
     }
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2010-2024. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.disruptor.commandhandling;
+
+import org.axonframework.common.caching.NoCache;
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class validating the {@link InvokerAssignments}.
+ *
+ * @author agent
+ */
+class InvokerAssignmentsTest {
+
+    private CommandHandlerInvoker[] invokers;
+
+    private InvokerAssignments testSubject;
+
+    @BeforeEach
+    void setUp() {
+        invokers = new CommandHandlerInvoker[]{
+                new CommandHandlerInvoker(NoCache.INSTANCE, 0),
+                new CommandHandlerInvoker(NoCache.INSTANCE, 1)
+        };
+        testSubject = new InvokerAssignments(invokers, 2);
+    }
+
+    @Test
+    void idleAggregateIsAssignedToDefaultSegmentWhenLoadIsBalanced() {
+        InvokerAssignments.Assignment result = testSubject.acquire("aggregate", 0);
+
+        assertEquals(0, result.segment());
+        assertTrue(result.isNewlyAssigned());
+        assertEquals(1, testSubject.activeAggregates());
+    }
+
+    @Test
+    void aggregateInFlightKeepsItsAssignment() {
+        testSubject.acquire("aggregate", 0);
+        overloadInvoker(0);
+
+        InvokerAssignments.Assignment result = testSubject.acquire("aggregate", 0);
+
+        assertEquals(0, result.segment());
+        assertFalse(result.isNewlyAssigned());
+    }
+
+    @Test
+    void idleAggregateIsMovedToLeastLoadedSegment() {
+        overloadInvoker(0);
+
+        InvokerAssignments.Assignment result = testSubject.acquire("aggregate", 0);
+
+        assertEquals(1, result.segment());
+        assertTrue(result.isNewlyAssigned());
+    }
+
+    @Test
+    void assignmentIsRemovedOnceAllEntriesAreReleased() {
+        testSubject.acquire("aggregate", 0);
+        testSubject.acquire("aggregate", 0);
+
+        testSubject.release("aggregate");
+        assertEquals(1, testSubject.activeAggregates());
+
+        testSubject.release("aggregate");
+        assertEquals(0, testSubject.activeAggregates());
+    }
+
+    private void overloadInvoker(int segment) {
+        for (int i = 0; i < 3; i++) {
+            invokers[segment].registerAssignedEntry();
+        }
+    }
+}
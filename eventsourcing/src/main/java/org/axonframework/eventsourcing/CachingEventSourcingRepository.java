@@ -24,6 +24,12 @@
 import org.axonframework.modelling.command.RepositoryProvider;
 import org.axonframework.modelling.command.inspection.AggregateModel;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 import static org.axonframework.common.BuilderUtils.assertNonNull;
 
 /**
@@ -107,18 +113,57 @@ protected void doDeleteWithLock(EventSourcedAggregate<T> aggregate) {
      */
     @Override
     protected EventSourcedAggregate<T> doLoadWithLock(String aggregateIdentifier, Long expectedVersion) {
-        EventSourcedAggregate<T> aggregate = null;
+        EventSourcedAggregate<T> aggregate = loadFromCache(aggregateIdentifier);
+        return aggregate != null ? aggregate : super.doLoadWithLock(aggregateIdentifier, expectedVersion);
+    }
+
+    /**
+     * Attempts to recreate each of the aggregates from the cache, reading the aggregates that are not cached from the
+     * event store in a single batch.
+     *
+     * @param aggregateIdentifiers the distinct identifiers of the aggregates to load
+     * @return the fully initialized aggregates, mapped by identifier
+     */
+    @Override
+    protected Map<String, EventSourcedAggregate<T>> doLoadAllWithLock(Collection<String> aggregateIdentifiers) {
+        Map<String, EventSourcedAggregate<T>> cached = new LinkedHashMap<>();
+        List<String> uncached = new ArrayList<>();
+        for (String aggregateIdentifier : aggregateIdentifiers) {
+            EventSourcedAggregate<T> aggregate = loadFromCache(aggregateIdentifier);
+            if (aggregate == null) {
+                uncached.add(aggregateIdentifier);
+            } else {
+                cached.put(aggregateIdentifier, aggregate);
+            }
+        }
+        Map<String, EventSourcedAggregate<T>> loaded =
+                uncached.isEmpty() ? cached : super.doLoadAllWithLock(uncached);
+        Map<String, EventSourcedAggregate<T>> aggregates = new LinkedHashMap<>();
+        for (String aggregateIdentifier : aggregateIdentifiers) {
+            EventSourcedAggregate<T> aggregate = cached.get(aggregateIdentifier);
+            aggregates.put(aggregateIdentifier, aggregate != null ? aggregate : loaded.get(aggregateIdentifier));
+        }
+        return aggregates;
+    }
+
+    /**
+     * Recreates the aggregate with given {@code aggregateIdentifier} from the cache, if it is cached.
+     *
+     * @param aggregateIdentifier the identifier of the aggregate to recreate
+     * @return the recreated aggregate, or {@code null} if it is not cached
+     * @throws AggregateDeletedException if the cached aggregate has been deleted
+     */
+    private EventSourcedAggregate<T> loadFromCache(String aggregateIdentifier) {
         AggregateCacheEntry<T> cacheEntry = cache.get(aggregateIdentifier);
-        if (cacheEntry != null) {
-            CurrentUnitOfWork.get().onRollback(u -> cache.remove(aggregateIdentifier));
-            aggregate = cacheEntry.recreateAggregate(aggregateModel(),
-                                                     eventStore,
-                                                     repositoryProvider,
-                                                     snapshotTriggerDefinition);
+        if (cacheEntry == null) {
+            return null;
         }
-        if (aggregate == null) {
-            aggregate = super.doLoadWithLock(aggregateIdentifier, expectedVersion);
-        } else if (aggregate.isDeleted()) {
+        CurrentUnitOfWork.get().onRollback(u -> cache.remove(aggregateIdentifier));
+        EventSourcedAggregate<T> aggregate = cacheEntry.recreateAggregate(aggregateModel(),
+                                                                          eventStore,
+                                                                          repositoryProvider,
+                                                                          snapshotTriggerDefinition);
+        if (aggregate != null && aggregate.isDeleted()) {
             throw new AggregateDeletedException(aggregateIdentifier);
         }
         return aggregate;
@@ -36,6 +36,9 @@
 import org.axonframework.modelling.command.inspection.AggregateModel;
 import org.axonframework.tracing.SpanFactory;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.function.Predicate;
@@ -127,9 +130,33 @@ public static <T> Builder<T> builder(Class<T> aggregateType) {
      */
     @Override
     protected EventSourcedAggregate<T> doLoadWithLock(String aggregateIdentifier, Long expectedVersion) {
+        return initializeAggregate(aggregateIdentifier, readEvents(aggregateIdentifier));
+    }
+
+    /**
+     * Initializes the aggregates with given {@code aggregateIdentifiers} from the streams returned by
+     * {@link #readEventsForAggregates(Collection)}. This allows the {@link EventStore} to read the events of all
+     * aggregates in a single round trip.
+     *
+     * @param aggregateIdentifiers the distinct identifiers of the aggregates to load
+     * @return the fully initialized aggregates, mapped by identifier
+     * @throws AggregateDeletedException  in case any of the aggregates was marked as deleted
+     * @throws AggregateNotFoundException when any of the aggregates with the given identifiers does not exist
+     */
+    @Override
+    protected Map<String, EventSourcedAggregate<T>> doLoadAllWithLock(Collection<String> aggregateIdentifiers) {
+        Map<String, DomainEventStream> eventStreams = readEventsForAggregates(aggregateIdentifiers);
+        Map<String, EventSourcedAggregate<T>> aggregates = new LinkedHashMap<>();
+        for (String aggregateIdentifier : aggregateIdentifiers) {
+            aggregates.put(aggregateIdentifier,
+                           initializeAggregate(aggregateIdentifier, eventStreams.get(aggregateIdentifier)));
+        }
+        return aggregates;
+    }
+
+    private EventSourcedAggregate<T> initializeAggregate(String aggregateIdentifier, DomainEventStream eventStream) {
         SnapshotTrigger trigger = snapshotTriggerDefinition.prepareTrigger(aggregateFactory.getAggregateType());
-        DomainEventStream eventStream = readEvents(aggregateIdentifier);
-        if (!eventStream.hasNext()) {
+        if (eventStream == null || !eventStream.hasNext()) {
             throw new AggregateNotFoundException(aggregateIdentifier, "The aggregate was not found in the event store");
         }
         AggregateModel<T> model = aggregateModel();
@@ -172,6 +199,27 @@ protected DomainEventStream readEvents(String aggregateIdentifier) {
         return eventStreamFilter != null ? fullStream.filter(eventStreamFilter) : fullStream;
     }
 
+    /**
+     * Reads the events for each of the given {@code aggregateIdentifiers} from the eventStore, using
+     * {@link EventStore#readEventsForAggregates(Collection)}. This method may be overridden to add pre or
+     * postprocessing to the loading of the event streams. Note that it does not delegate to
+     * {@link #readEvents(String)}.
+     *
+     * @param aggregateIdentifiers the identifiers of the aggregates to load
+     * @return the domain event streams per aggregate identifier, with {@link #eventStreamFilter} applied if one was
+     * configured
+     */
+    protected Map<String, DomainEventStream> readEventsForAggregates(Collection<String> aggregateIdentifiers) {
+        Map<String, DomainEventStream> fullStreams = eventStore.readEventsForAggregates(aggregateIdentifiers);
+        if (eventStreamFilter == null) {
+            return fullStreams;
+        }
+        Map<String, DomainEventStream> filteredStreams = new LinkedHashMap<>();
+        fullStreams.forEach((aggregateIdentifier, stream) -> filteredStreams.put(aggregateIdentifier,
+                                                                                 stream.filter(eventStreamFilter)));
+        return filteredStreams;
+    }
+
     @Override
     protected void validateOnLoad(Aggregate<T> aggregate, Long expectedVersion) {
         if (expectedVersion != null && expectedVersion < aggregate.version()) {
@@ -21,25 +21,36 @@
 import org.axonframework.eventhandling.DomainEventData;
 import org.axonframework.eventhandling.DomainEventMessage;
 import org.axonframework.eventhandling.EventMessage;
+import org.axonframework.eventhandling.GenericDomainEventMessage;
 import org.axonframework.eventhandling.TrackedEventData;
 import org.axonframework.eventhandling.TrackedEventMessage;
 import org.axonframework.eventhandling.TrackingToken;
+import org.axonframework.eventsourcing.snapshotting.SnapshotEncoder;
 import org.axonframework.eventsourcing.snapshotting.SnapshotFilter;
 import org.axonframework.modelling.command.AggregateStreamCreationException;
 import org.axonframework.modelling.command.ConcurrencyException;
+import org.axonframework.serialization.LazyDeserializingObject;
+import org.axonframework.serialization.SerializedMessage;
+import org.axonframework.serialization.SerializedObject;
 import org.axonframework.serialization.Serializer;
 import org.axonframework.serialization.upcasting.event.EventUpcaster;
 import org.axonframework.serialization.upcasting.event.NoOpEventUpcaster;
 import org.axonframework.serialization.xml.XStreamSerializer;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 
 import static java.lang.String.format;
+import static java.util.stream.Collectors.toList;
 import static org.axonframework.common.BuilderUtils.assertNonNull;
 import static org.axonframework.eventhandling.EventUtils.upcastAndDeserializeTrackedEvents;
 import static org.axonframework.eventsourcing.EventStreamUtils.upcastAndDeserializeDomainEvents;
@@ -57,6 +68,7 @@ public abstract class AbstractEventStorageEngine implements EventStorageEngine {
     private final PersistenceExceptionResolver persistenceExceptionResolver;
     private final Serializer eventSerializer;
     private final SnapshotFilter snapshotFilter;
+    private final SnapshotEncoder snapshotEncoder;
 
     /**
      * Instantiate a {@link AbstractEventStorageEngine} based on the fields contained in the {@link Builder}.
@@ -73,6 +85,7 @@ protected AbstractEventStorageEngine(Builder builder) {
         this.persistenceExceptionResolver = builder.persistenceExceptionResolver;
         this.eventSerializer = builder.eventSerializer.get();
         this.snapshotFilter = builder.snapshotFilter;
+        this.snapshotEncoder = builder.snapshotEncoder;
     }
 
     @Override
@@ -81,6 +94,23 @@ public Stream<? extends TrackedEventMessage<?>> readEvents(TrackingToken trackin
         return upcastAndDeserializeTrackedEvents(input, getEventSerializer(), upcasterChain);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Payload types are only ignored when no upcasters are configured. Upcasters may change the type of an event, in
+     * which case the type of an ignored message does not identify the stored events to omit.
+     */
+    @Override
+    public Stream<? extends TrackedEventMessage<?>> readEvents(TrackingToken trackingToken,
+                                                               boolean mayBlock,
+                                                               @Nonnull Set<Class<?>> ignoredPayloadTypes) {
+        if (!(upcasterChain instanceof NoOpEventUpcaster)) {
+            return readEvents(trackingToken, mayBlock);
+        }
+        Stream<? extends TrackedEventData<?>> input = readEventData(trackingToken, mayBlock, ignoredPayloadTypes);
+        return upcastAndDeserializeTrackedEvents(input, getEventSerializer(), upcasterChain);
+    }
+
     @Override
     public DomainEventStream readEvents(@Nonnull String aggregateIdentifier, long firstSequenceNumber) {
         Stream<? extends DomainEventData<?>> input = readEventData(aggregateIdentifier, firstSequenceNumber);
@@ -89,15 +119,67 @@ public DomainEventStream readEvents(@Nonnull String aggregateIdentifier, long fi
 
     @Override
     public Optional<DomainEventMessage<?>> readSnapshot(@Nonnull String aggregateIdentifier) {
-        return readSnapshotData(aggregateIdentifier)
-                .filter(snapshotFilter::allow)
-                .map(snapshot -> upcastAndDeserializeDomainEvents(Stream.of(snapshot),
-                                                                  getSnapshotSerializer(),
-                                                                  upcasterChain
-                ))
-                .flatMap(DomainEventStream::asStream)
-                .findFirst()
-                .map(event -> (DomainEventMessage<?>) event);
+        return deserializeSnapshot(readSnapshotData(aggregateIdentifier));
+    }
+
+    private Optional<DomainEventMessage<?>> deserializeSnapshot(Stream<? extends DomainEventData<?>> snapshotData) {
+        if (snapshotEncoder != null) {
+            snapshotData = snapshotEncoder.decode(snapshotData.collect(toList()),
+                                                  getSnapshotSerializer().getConverter());
+        }
+        return snapshotData.filter(snapshotFilter::allow)
+                           .map(snapshot -> upcastAndDeserializeDomainEvents(Stream.of(snapshot),
+                                                                             getSnapshotSerializer(),
+                                                                             upcasterChain
+                           ))
+                           .flatMap(DomainEventStream::asStream)
+                           .findFirst()
+                           .map(event -> (DomainEventMessage<?>) event);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * This implementation reads the snapshot data of all aggregates through
+     * {@link #readSnapshotDataForAggregates(Collection)}, followed by the event data after those snapshots through
+     * {@link #readEventDataForAggregates(Map)}. The events of aggregates not returned by the latter are read through
+     * {@link #readEventData(String, long)} once their stream is consumed. Snapshots are deserialized eagerly, while
+     * events are upcast and deserialized lazily.
+     */
+    @Override
+    public Map<String, DomainEventStream> readEventsForAggregates(@Nonnull Collection<String> aggregateIdentifiers) {
+        Map<String, List<? extends DomainEventData<?>>> snapshotData =
+                readSnapshotDataForAggregates(aggregateIdentifiers);
+        Map<String, DomainEventMessage<?>> snapshots = new LinkedHashMap<>();
+        Map<String, Long> firstSequenceNumbers = new LinkedHashMap<>();
+        for (String aggregateIdentifier : aggregateIdentifiers) {
+            List<? extends DomainEventData<?>> aggregateSnapshots = snapshotData.get(aggregateIdentifier);
+            Optional<DomainEventMessage<?>> snapshot = Optional.empty();
+            if (aggregateSnapshots != null && !aggregateSnapshots.isEmpty()) {
+                snapshot = deserializeSnapshot(aggregateSnapshots.stream());
+                if (!snapshot.isPresent()) {
+                    // the snapshots read in bulk may not be allowed, so fall back to all snapshots of this aggregate
+                    snapshot = readSnapshot(aggregateIdentifier);
+                }
+            }
+            snapshot.ifPresent(s -> snapshots.put(aggregateIdentifier, s));
+            firstSequenceNumbers.put(aggregateIdentifier, snapshot.map(s -> s.getSequenceNumber() + 1).orElse(0L));
+        }
+        Map<String, List<? extends DomainEventData<?>>> eventData = readEventDataForAggregates(firstSequenceNumbers);
+        Map<String, DomainEventStream> result = new LinkedHashMap<>();
+        for (String aggregateIdentifier : aggregateIdentifiers) {
+            List<? extends DomainEventData<?>> aggregateEvents = eventData.get(aggregateIdentifier);
+            long firstSequenceNumber = firstSequenceNumbers.get(aggregateIdentifier);
+            Stream<? extends DomainEventData<?>> input =
+                    aggregateEvents != null
+                            ? aggregateEvents.stream()
+                            : readEventData(aggregateIdentifier, firstSequenceNumber);
+            DomainEventStream events = upcastAndDeserializeDomainEvents(input, getEventSerializer(), upcasterChain);
+            DomainEventMessage<?> snapshot = snapshots.get(aggregateIdentifier);
+            result.put(aggregateIdentifier,
+                       snapshot == null ? events : DomainEventStream.concat(DomainEventStream.of(snapshot), events));
+        }
+        return result;
     }
 
     @Override
@@ -107,7 +189,75 @@ public void appendEvents(@Nonnull List<? extends EventMessage<?>> events) {
 
     @Override
     public void storeSnapshot(@Nonnull DomainEventMessage<?> snapshot) {
-        storeSnapshot(snapshot, getSnapshotSerializer());
+        storeSnapshot(snapshotEncoder == null ? snapshot : encodeSnapshot(snapshot), getSnapshotSerializer());
+    }
+
+    private DomainEventMessage<?> encodeSnapshot(DomainEventMessage<?> snapshot) {
+        Serializer serializer = getSnapshotSerializer();
+        SerializedObject<byte[]> payload = snapshot.serializePayload(serializer, byte[].class);
+        String aggregateIdentifier = snapshot.getAggregateIdentifier();
+        SerializedObject<byte[]> encoded = snapshotEncoder.encode(
+                payload,
+                snapshot.getSequenceNumber(),
+                () -> storesDeltaSnapshots()
+                        ? readSnapshotData(aggregateIdentifier).collect(toList())
+                        : Collections.emptyList(),
+                serializer.getConverter()
+        );
+        SerializedMessage<Object> message = new SerializedMessage<>(
+                snapshot.getIdentifier(),
+                new LazyDeserializingObject<>(() -> encoded, payload.getType(), serializer),
+                new LazyDeserializingObject<>(snapshot.getMetaData())
+        );
+        return new GenericDomainEventMessage<>(snapshot.getType(),
+                                               aggregateIdentifier,
+                                               snapshot.getSequenceNumber(),
+                                               message,
+                                               snapshot::getTimestamp);
+    }
+
+    /**
+     * Returns the sequence number of the oldest snapshot to retain when storing the given {@code snapshot}. Storage
+     * engines removing older snapshots when storing a new one should retain snapshots from this sequence number.
+     * <p>
+     * This is the sequence number of the given {@code snapshot} itself, unless the configured {@link SnapshotEncoder}
+     * stored it as a delta against an older base snapshot. In that case, the sequence number of the base is returned.
+     *
+     * @param snapshot   the snapshot being stored
+     * @param serializer the serializer used to store the snapshot
+     * @return the sequence number of the oldest snapshot to retain
+     */
+    protected long snapshotRetentionSequenceNumber(DomainEventMessage<?> snapshot, Serializer serializer) {
+        if (!storesDeltaSnapshots()) {
+            return snapshot.getSequenceNumber();
+        }
+        return snapshotEncoder.baseSequenceNumber(snapshot.serializePayload(serializer, byte[].class).getType())
+                              .orElse(snapshot.getSequenceNumber());
+    }
+
+    /**
+     * Indicates whether this storage engine retains the snapshots from the {@link
+     * #snapshotRetentionSequenceNumber(DomainEventMessage, Serializer) retention sequence number} of the latest
+     * snapshot, and returns all of them through {@link #readSnapshotData(String)}. Only then may a {@link
+     * SnapshotEncoder} store snapshots as a delta against an older base snapshot.
+     * <p>
+     * Defaults to {@code false}.
+     *
+     * @return {@code true} if base snapshots are retained and returned, otherwise {@code false}
+     */
+    protected boolean retainsBaseSnapshots() {
+        return false;
+    }
+
+    /**
+     * Indicates whether snapshots may be stored as a delta against an older base snapshot. This is the case when a
+     * {@link SnapshotEncoder} using deltas is configured, and this storage engine {@link #retainsBaseSnapshots()
+     * retains base snapshots}. Storage engines may use this to only read older snapshots when needed.
+     *
+     * @return {@code true} if snapshots may be stored as a delta, otherwise {@code false}
+     */
+    protected boolean storesDeltaSnapshots() {
+        return snapshotEncoder != null && snapshotEncoder.usesDeltas() && retainsBaseSnapshots();
     }
 
     /**
@@ -213,6 +363,27 @@ private String buildExceptionMessage(EventMessage<?> failedEvent) {
     protected abstract Stream<? extends TrackedEventData<?>> readEventData(TrackingToken trackingToken,
                                                                            boolean mayBlock);
 
+    /**
+     * Returns a global {@link Stream} of serialized event data entries, like
+     * {@link #readEventData(TrackingToken, boolean)}, from which entries with a payload of any of the given
+     * {@code ignoredPayloadTypes} may be omitted. The tracking token of each returned entry must reflect the omitted
+     * entries preceding it.
+     * <p>
+     * The default implementation ignores the given payload types.
+     *
+     * @param trackingToken       Object describing the global index of the last processed event or {@code null} to
+     *                            create a stream of all events in the store
+     * @param mayBlock            If {@code true} the storage engine may optionally choose to block to wait for new
+     *                            event messages if the end of the stream is reached.
+     * @param ignoredPayloadTypes The payload types of entries that may be omitted from the stream
+     * @return A stream containing the tracked event entries stored since the given tracking token
+     */
+    protected Stream<? extends TrackedEventData<?>> readEventData(TrackingToken trackingToken,
+                                                                  boolean mayBlock,
+                                                                  Set<Class<?>> ignoredPayloadTypes) {
+        return readEventData(trackingToken, mayBlock);
+    }
+
     /**
      * Returns a stream of serialized event entries for given {@code aggregateIdentifier} if the backing database
      * contains a snapshot of the aggregate.
@@ -226,6 +397,50 @@ protected abstract Stream<? extends TrackedEventData<?>> readEventData(TrackingT
      */
     protected abstract Stream<? extends DomainEventData<?>> readSnapshotData(String aggregateIdentifier);
 
+    /**
+     * Returns the serialized snapshot entries of each of the given {@code aggregateIdentifiers}, mapped by aggregate
+     * identifier. Like {@link #readSnapshotData(String)}, the snapshots of each aggregate are to be returned in
+     * descending order of their sequence number. Storage engines may return the latest snapshot of each aggregate only,
+     * as all snapshots of an aggregate are read through {@link #readSnapshotData(String)} if none of the returned
+     * snapshots is allowed. Aggregates without snapshots may be absent from the returned map.
+     * <p>
+     * By default, this method invokes {@link #readSnapshotData(String)} for each of the aggregates. Storage engines
+     * able to read the snapshots of many aggregates in a single query should override this method.
+     *
+     * @param aggregateIdentifiers The aggregate identifiers to fetch snapshots for
+     * @return The serialized snapshots per aggregate identifier
+     */
+    protected Map<String, List<? extends DomainEventData<?>>> readSnapshotDataForAggregates(
+            Collection<String> aggregateIdentifiers
+    ) {
+        Map<String, List<? extends DomainEventData<?>>> result = new LinkedHashMap<>();
+        for (String aggregateIdentifier : aggregateIdentifiers) {
+            result.put(aggregateIdentifier, readSnapshotData(aggregateIdentifier).collect(toList()));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the serialized event entries of the aggregates in the given {@code firstSequenceNumbers} map that could
+     * be read in bulk, mapped by aggregate identifier. The events of each aggregate are to be ordered by sequence
+     * number and start with the sequence number mapped to that aggregate's identifier. Each returned list is to contain
+     * all events of that aggregate, and aggregates without events are to be returned with an empty list.
+     * <p>
+     * Aggregates absent from the returned map are read through {@link #readEventData(String, long)} instead, once
+     * their event stream is consumed. This allows storage engines to limit the amount of events held in memory.
+     * <p>
+     * By default, this method returns an empty map, reading the events of each aggregate separately. Storage engines
+     * able to read the events of many aggregates in a single query should override this method.
+     *
+     * @param firstSequenceNumbers The first expected sequence number per aggregate identifier
+     * @return The complete serialized event entries per aggregate identifier read in bulk
+     */
+    protected Map<String, List<? extends DomainEventData<?>>> readEventDataForAggregates(
+            Map<String, Long> firstSequenceNumbers
+    ) {
+        return Collections.emptyMap();
+    }
+
     /**
      * Get the serializer used by this storage engine when storing and retrieving snapshots.
      *
@@ -248,7 +463,7 @@ public Serializer getEventSerializer() {
      * Abstract Builder class to instantiate an {@link AbstractEventStorageEngine}.
      * <p>
      * The {@link EventUpcaster} defaults to a {@link NoOpEventUpcaster} and the {@code snapshotFilter} defaults to a
-     * {@link SnapshotFilter#allowAll()} instance.
+     * {@link SnapshotFilter#allowAll()} instance. No {@link SnapshotEncoder} is used by default.
      * <p>
      * The event and snapshot {@link Serializer} are <b>hard requirements</b> and as such should be provided.
      */
@@ -259,6 +474,7 @@ public abstract static class Builder {
         private PersistenceExceptionResolver persistenceExceptionResolver;
         private Supplier<Serializer> eventSerializer;
         private SnapshotFilter snapshotFilter = SnapshotFilter.allowAll();
+        private SnapshotEncoder snapshotEncoder;
 
         /**
          * Sets the {@link Serializer} used to serialize and deserialize snapshots.
@@ -343,6 +559,20 @@ public Builder snapshotFilter(SnapshotFilter snapshotFilter) {
             return this;
         }
 
+        /**
+         * Sets the {@link SnapshotEncoder} used to compress snapshots, or to store them as a delta against an older
+         * snapshot of the same aggregate. Defaults to {@code null}, storing snapshots as serialized.
+         * <p>
+         * Note that the encoder produces binary snapshot payloads, which thus need to be stored in a binary format.
+         *
+         * @param snapshotEncoder the {@link SnapshotEncoder} used to encode and decode snapshots
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder snapshotEncoder(SnapshotEncoder snapshotEncoder) {
+            this.snapshotEncoder = snapshotEncoder;
+            return this;
+        }
+
         /**
          * Validates whether the fields contained in this Builder are set accordingly.
          *
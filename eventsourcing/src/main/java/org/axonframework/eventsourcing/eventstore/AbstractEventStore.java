@@ -29,7 +29,10 @@
 import org.slf4j.LoggerFactory;
 
 import java.time.Instant;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
@@ -71,10 +74,26 @@ protected void prepareCommit(List<? extends EventMessage<?>> events) {
      * {@inheritDoc}
      * <p>
      * This implementation returns a {@link DomainEventStream} starting with the last stored snapshot of the aggregate
-     * followed by subsequent domain events.
+     * followed by subsequent domain events. If the {@link EventStorageEngine} is able to read both at once through
+     * {@link EventStorageEngine#readSnapshotAndEvents(String)}, that stream is used. Otherwise, the snapshot and events
+     * are read one after the other.
      */
     @Override
     public DomainEventStream readEvents(@Nonnull String aggregateIdentifier) {
+        Optional<DomainEventStream> combinedStream;
+        try {
+            combinedStream = storageEngine.readSnapshotAndEvents(aggregateIdentifier);
+        } catch (Exception | LinkageError e) {
+            logger.warn("Error reading snapshot and events for aggregate [{}]. Reading them separately.",
+                        aggregateIdentifier, e);
+            combinedStream = Optional.empty();
+        }
+        if (combinedStream.isPresent()) {
+            Stream<? extends DomainEventMessage<?>> domainEventMessages =
+                    stagedDomainEventMessages(aggregateIdentifier);
+            return DomainEventStream.concat(combinedStream.get(), DomainEventStream.of(domainEventMessages));
+        }
+
         Optional<DomainEventMessage<?>> optionalSnapshot;
         try {
             optionalSnapshot = storageEngine.readSnapshot(aggregateIdentifier);
@@ -95,6 +114,34 @@ public DomainEventStream readEvents(@Nonnull String aggregateIdentifier) {
         return DomainEventStream.concat(eventStream, DomainEventStream.of(domainEventMessages));
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * This implementation reads the snapshots and events of all given aggregates through
+     * {@link EventStorageEngine#readEventsForAggregates(Collection)}. If that fails, the aggregates are read one by one
+     * through {@link #readEvents(String)}, allowing {@link #handleSnapshotReadingError(String, Throwable)} to deal
+     * with snapshots that cannot be read.
+     */
+    @Override
+    public Map<String, DomainEventStream> readEventsForAggregates(@Nonnull Collection<String> aggregateIdentifiers) {
+        Map<String, DomainEventStream> storedStreams;
+        try {
+            storedStreams = storageEngine.readEventsForAggregates(aggregateIdentifiers);
+        } catch (Exception | LinkageError e) {
+            logger.warn("Error reading events for aggregates {}. Reading the aggregates one by one.",
+                        aggregateIdentifiers, e);
+            return EventStore.super.readEventsForAggregates(aggregateIdentifiers);
+        }
+        Map<String, DomainEventStream> result = new LinkedHashMap<>();
+        for (String aggregateIdentifier : aggregateIdentifiers) {
+            DomainEventStream eventStream = storedStreams.getOrDefault(aggregateIdentifier, DomainEventStream.empty());
+            Stream<? extends DomainEventMessage<?>> stagedMessages = stagedDomainEventMessages(aggregateIdentifier);
+            result.put(aggregateIdentifier,
+                       DomainEventStream.concat(eventStream, DomainEventStream.of(stagedMessages)));
+        }
+        return result;
+    }
+
     /**
      * Invoked when an error ({@link Exception} or {@link LinkageError}) occurs while attempting to read a snapshot
      * event. This method can be overridden to change the default behavior, which is to log the exception (warn level)
@@ -20,25 +20,44 @@
 import org.axonframework.common.BuilderUtils;
 import org.axonframework.common.jdbc.PersistenceExceptionResolver;
 import org.axonframework.eventhandling.DomainEventData;
+import org.axonframework.eventhandling.DomainEventMessage;
 import org.axonframework.eventhandling.TrackedEventData;
 import org.axonframework.eventhandling.TrackingToken;
+import org.axonframework.eventsourcing.snapshotting.SnapshotEncoder;
 import org.axonframework.eventsourcing.snapshotting.SnapshotFilter;
 import org.axonframework.serialization.Serializer;
 import org.axonframework.serialization.upcasting.event.EventUpcaster;
 import org.axonframework.serialization.upcasting.event.NoOpEventUpcaster;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
+import javax.annotation.Nonnull;
 
+import static java.lang.String.format;
+import static org.axonframework.common.BuilderUtils.assertNonNull;
+import static org.axonframework.common.BuilderUtils.assertStrictPositive;
 import static org.axonframework.common.BuilderUtils.assertThat;
 import static org.axonframework.common.ObjectUtils.getOrDefault;
+import static org.axonframework.eventsourcing.EventStreamUtils.upcastAndDeserializeDomainEvents;
 
 /**
  * {@link AbstractEventStorageEngine} implementation that fetches events in batches from the backing database.
@@ -56,9 +75,23 @@ public abstract class BatchingEventStorageEngine extends AbstractEventStorageEng
      * will block further event retrieval.
      */
     private static final boolean BATCH_OPTIMIZATION_DISABLED = false;
+    private static final int DEFAULT_OPTIMISTIC_LOADING_CACHE_SIZE = 1024;
+    /**
+     * The maximum size of an adaptively sized first batch of an optimistically loaded aggregate, as a multiple of the
+     * configured batch size.
+     */
+    private static final int MAX_ADAPTIVE_BATCH_SIZE_FACTOR = 10;
+    /**
+     * The maximum number of aggregates read by a single query when reading the events or snapshots of many aggregates
+     * at once. This keeps the number of query parameters well below the limits of the supported databases.
+     */
+    private static final int AGGREGATES_PER_QUERY = 100;
 
     private final int batchSize;
     private final Predicate<List<? extends DomainEventData<?>>> finalAggregateBatchPredicate;
+    private final boolean customFinalAggregateBatchPredicate;
+    private final Executor optimisticLoadingExecutor;
+    private final Map<String, StreamHint> streamHints;
 
     /**
      * Instantiate a {@link BatchingEventStorageEngine} based on the fields contained in the {@link Builder}.
@@ -72,6 +105,15 @@ protected BatchingEventStorageEngine(Builder builder) {
         super(builder);
         this.batchSize = builder.batchSize;
         this.finalAggregateBatchPredicate = getOrDefault(builder.finalAggregateBatchPredicate, this::defaultFinalAggregateBatchPredicate);
+        this.customFinalAggregateBatchPredicate = builder.finalAggregateBatchPredicate != null;
+        this.optimisticLoadingExecutor = builder.optimisticLoadingExecutor;
+        int cacheSize = builder.optimisticLoadingCacheSize;
+        this.streamHints = Collections.synchronizedMap(new LinkedHashMap<String, StreamHint>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, StreamHint> eldest) {
+                return size() > cacheSize;
+            }
+        });
     }
 
     /**
@@ -90,6 +132,28 @@ protected BatchingEventStorageEngine(Builder builder) {
      */
     protected abstract List<? extends TrackedEventData<?>> fetchTrackedEvents(TrackingToken lastToken, int batchSize);
 
+    /**
+     * Returns a batch of serialized event data entries in the event storage that have a {@link TrackingToken} greater
+     * than the given {@code lastToken}, like {@link #fetchTrackedEvents(TrackingToken, int)}. Entries with a payload
+     * type name contained in the given {@code ignoredPayloadTypes} may be omitted from the batch, as long as the
+     * tracking token of each returned entry reflects the omitted entries preceding it. Implementations should not
+     * return an empty batch while there are omitted entries beyond the given {@code lastToken}, as an empty batch marks
+     * the end of the stream.
+     * <p>
+     * The default implementation ignores the given payload types.
+     *
+     * @param lastToken           Object describing the global index of the last processed event or {@code null} to
+     *                            create a stream of all events in the store
+     * @param batchSize           The maximum number of events that should be returned
+     * @param ignoredPayloadTypes The serialized payload type names of entries that may be omitted
+     * @return A batch of tracked event messages stored since the given tracking token
+     */
+    protected List<? extends TrackedEventData<?>> fetchTrackedEvents(TrackingToken lastToken,
+                                                                     int batchSize,
+                                                                     Set<String> ignoredPayloadTypes) {
+        return fetchTrackedEvents(lastToken, batchSize);
+    }
+
     /**
      * Returns a batch of events published by an aggregate with given {@code aggregateIdentifier}.
      * <p/>
@@ -125,7 +189,14 @@ protected boolean fetchForAggregateUntilEmpty() {
     }
 
     private boolean defaultFinalAggregateBatchPredicate(List<? extends DomainEventData<?>> recentBatch) {
-        return fetchForAggregateUntilEmpty() ? recentBatch.isEmpty() : recentBatch.size() < batchSize;
+        return isFinalAggregateBatch(recentBatch, batchSize);
+    }
+
+    private boolean isFinalAggregateBatch(List<? extends DomainEventData<?>> recentBatch, int requestedBatchSize) {
+        if (customFinalAggregateBatchPredicate) {
+            return finalAggregateBatchPredicate.test(recentBatch);
+        }
+        return fetchForAggregateUntilEmpty() ? recentBatch.isEmpty() : recentBatch.size() < requestedBatchSize;
     }
 
     @Override
@@ -137,6 +208,117 @@ protected Stream<? extends DomainEventData<?>> readEventData(String identifier,
         return StreamSupport.stream(spliterator, false);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * When an {@link Builder#optimisticLoadingExecutor(Executor) optimistic loading executor} is configured, this
+     * implementation reads the snapshot on that executor, while concurrently reading the first batch of events after
+     * the snapshot sequence number seen when the aggregate was last loaded. Events overlapping with a newer snapshot
+     * are discarded. If the snapshot turns out to be older than expected, the events are read again from that
+     * snapshot onwards. The size of that first batch is based on the number of events read when the aggregate was
+     * last loaded. The first load of an aggregate reads the snapshot and events consecutively.
+     * <p>
+     * Without such executor, an empty Optional is returned, indicating the snapshot and events should be read
+     * separately.
+     */
+    @Override
+    public Optional<DomainEventStream> readSnapshotAndEvents(@Nonnull String aggregateIdentifier) {
+        if (optimisticLoadingExecutor == null) {
+            return Optional.empty();
+        }
+        StreamHint hint = streamHints.get(aggregateIdentifier);
+        if (hint == null) {
+            Optional<DomainEventMessage<?>> snapshot = readSnapshot(aggregateIdentifier);
+            long firstSequenceNumber = snapshot.map(s -> s.getSequenceNumber() + 1).orElse(0L);
+            StreamHint newHint = new StreamHint(firstSequenceNumber - 1);
+            streamHints.put(aggregateIdentifier, newHint);
+            return Optional.of(withSnapshot(
+                    snapshot, recordingLastSequenceNumber(readEventData(aggregateIdentifier, firstSequenceNumber), newHint)
+            ));
+        }
+
+        CompletableFuture<Optional<DomainEventMessage<?>>> snapshotFuture =
+                CompletableFuture.supplyAsync(() -> readSnapshot(aggregateIdentifier), optimisticLoadingExecutor);
+        long expectedFirstSequenceNumber = hint.snapshotSequenceNumber + 1;
+        int firstBatchSize = adaptiveBatchSize(hint, expectedFirstSequenceNumber);
+        List<? extends DomainEventData<?>> firstBatch;
+        try {
+            firstBatch = fetchDomainEvents(aggregateIdentifier, expectedFirstSequenceNumber, firstBatchSize);
+        } catch (RuntimeException | Error e) {
+            snapshotFuture.cancel(false);
+            throw e;
+        }
+        Optional<DomainEventMessage<?>> snapshot = awaitSnapshot(aggregateIdentifier, snapshotFuture);
+        long firstSequenceNumber = snapshot.map(s -> s.getSequenceNumber() + 1).orElse(0L);
+        hint.snapshotSequenceNumber = firstSequenceNumber - 1;
+        if (firstSequenceNumber < expectedFirstSequenceNumber) {
+            // The snapshot is older than expected, so the prefetched events do not cover the entire stream
+            return Optional.of(withSnapshot(
+                    snapshot, recordingLastSequenceNumber(readEventData(aggregateIdentifier, firstSequenceNumber), hint)
+            ));
+        }
+        Stream<? extends DomainEventData<?>> eventData =
+                firstBatch.stream().filter(event -> event.getSequenceNumber() >= firstSequenceNumber);
+        // the first batch may exceed the regular batch size, so its completeness is judged by the size requested
+        if (!isFinalAggregateBatch(firstBatch, firstBatchSize)) {
+            // a snapshot stored concurrently may lie beyond the first batch, so continue after whichever is last
+            long nextSequenceNumber = Math.max(firstBatch.get(firstBatch.size() - 1).getSequenceNumber() + 1,
+                                               firstSequenceNumber);
+            eventData = Stream.concat(eventData, readEventData(aggregateIdentifier, nextSequenceNumber));
+        }
+        return Optional.of(withSnapshot(snapshot, recordingLastSequenceNumber(eventData, hint)));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * When optimistic loading is enabled, the sequence number of the stored snapshot is remembered, so the next load
+     * of the aggregate reads its events from this snapshot onwards.
+     */
+    @Override
+    public void storeSnapshot(@Nonnull DomainEventMessage<?> snapshot) {
+        super.storeSnapshot(snapshot);
+        StreamHint hint = streamHints.get(snapshot.getAggregateIdentifier());
+        if (hint != null && hint.snapshotSequenceNumber < snapshot.getSequenceNumber()) {
+            hint.snapshotSequenceNumber = snapshot.getSequenceNumber();
+        }
+    }
+
+    private int adaptiveBatchSize(StreamHint hint, long firstSequenceNumber) {
+        long expectedEvents = hint.lastSequenceNumber - firstSequenceNumber + 2;
+        long maxBatchSize = (long) batchSize * MAX_ADAPTIVE_BATCH_SIZE_FACTOR;
+        return (int) Math.max(batchSize, Math.min(expectedEvents, maxBatchSize));
+    }
+
+    private Optional<DomainEventMessage<?>> awaitSnapshot(String aggregateIdentifier,
+                                                          CompletableFuture<Optional<DomainEventMessage<?>>> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new EventStoreException(format("Error reading aggregate snapshot [%s]", aggregateIdentifier),
+                                          cause);
+        }
+    }
+
+    private Stream<? extends DomainEventData<?>> recordingLastSequenceNumber(
+            Stream<? extends DomainEventData<?>> eventData, StreamHint hint
+    ) {
+        return eventData.peek(event -> hint.lastSequenceNumber = event.getSequenceNumber());
+    }
+
+    private DomainEventStream withSnapshot(Optional<DomainEventMessage<?>> snapshot,
+                                           Stream<? extends DomainEventData<?>> eventData) {
+        DomainEventStream events = upcastAndDeserializeDomainEvents(eventData, getEventSerializer(), upcasterChain);
+        return snapshot.map(s -> DomainEventStream.concat(DomainEventStream.of(s), events)).orElse(events);
+    }
+
     /**
      * {@inheritDoc}
      * <p>
@@ -151,6 +333,123 @@ protected Stream<? extends TrackedEventData<?>> readEventData(TrackingToken trac
         return StreamSupport.stream(spliterator, false);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The given {@code ignoredPayloadTypes} are converted to serialized type names for each batch, so that payload
+     * types added to the set while the stream is open are omitted from subsequent batches.
+     */
+    @Override
+    protected Stream<? extends TrackedEventData<?>> readEventData(TrackingToken trackingToken,
+                                                                  boolean mayBlock,
+                                                                  Set<Class<?>> ignoredPayloadTypes) {
+        EventStreamSpliterator<? extends TrackedEventData<?>> spliterator = new EventStreamSpliterator<>(
+                lastItem -> fetchTrackedEvents(lastItem == null ? trackingToken : lastItem.trackingToken(),
+                                               batchSize,
+                                               serializedTypeNames(ignoredPayloadTypes)),
+                batch -> BATCH_OPTIMIZATION_DISABLED
+        );
+        return StreamSupport.stream(spliterator, false);
+    }
+
+    private Set<String> serializedTypeNames(Set<Class<?>> payloadTypes) {
+        if (payloadTypes.isEmpty()) {
+            return Collections.emptySet();
+        }
+        Set<String> typeNames = new HashSet<>();
+        payloadTypes.forEach(type -> typeNames.add(getEventSerializer().typeForClass(type).getName()));
+        return typeNames;
+    }
+
+    /**
+     * Reads the snapshots of the given {@code aggregateIdentifiers} in chunks of a limited number of aggregates, using
+     * the given {@code fetchSnapshots} function to query each chunk. Storage engines may use this method to implement
+     * {@link #readSnapshotDataForAggregates(Collection)}.
+     *
+     * @param aggregateIdentifiers The aggregate identifiers to fetch snapshots for
+     * @param fetchSnapshots       Function returning the snapshot entries of a chunk of aggregate identifiers, ordered
+     *                             by aggregate identifier and descending sequence number
+     * @return The serialized snapshots per aggregate identifier
+     */
+    protected Map<String, List<? extends DomainEventData<?>>> readSnapshotDataInChunks(
+            Collection<String> aggregateIdentifiers,
+            Function<Collection<String>, List<? extends DomainEventData<?>>> fetchSnapshots
+    ) {
+        Map<String, List<? extends DomainEventData<?>>> result = new LinkedHashMap<>();
+        List<String> chunk = new ArrayList<>();
+        for (String aggregateIdentifier : aggregateIdentifiers) {
+            chunk.add(aggregateIdentifier);
+            if (chunk.size() == AGGREGATES_PER_QUERY) {
+                result.putAll(groupByAggregateIdentifier(fetchSnapshots.apply(chunk)));
+                chunk = new ArrayList<>();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            result.putAll(groupByAggregateIdentifier(fetchSnapshots.apply(chunk)));
+        }
+        return result;
+    }
+
+    /**
+     * Reads the events of the aggregates in the given {@code firstSequenceNumbers} map in chunks of a limited number of
+     * aggregates, using the given {@code fetchEvents} function to query each chunk. Each query returns at most the
+     * {@link #batchSize() batch size} of entries. When a query returns a full batch, only the aggregates of which all
+     * events were returned are included in the result, leaving the others to be read per aggregate. Storage engines
+     * may use this method to implement {@link #readEventDataForAggregates(Map)}.
+     *
+     * @param firstSequenceNumbers The first expected sequence number per aggregate identifier
+     * @param fetchEvents          Function returning at most the given number of event entries of a chunk of
+     *                             aggregates, ordered by aggregate identifier and sequence number
+     * @return The complete serialized event entries per aggregate identifier read in bulk
+     */
+    protected Map<String, List<? extends DomainEventData<?>>> readEventDataInChunks(
+            Map<String, Long> firstSequenceNumbers,
+            BiFunction<Map<String, Long>, Integer, List<? extends DomainEventData<?>>> fetchEvents
+    ) {
+        Map<String, List<? extends DomainEventData<?>>> result = new LinkedHashMap<>();
+        Map<String, Long> chunk = new LinkedHashMap<>();
+        for (Map.Entry<String, Long> entry : firstSequenceNumbers.entrySet()) {
+            chunk.put(entry.getKey(), entry.getValue());
+            if (chunk.size() == AGGREGATES_PER_QUERY) {
+                result.putAll(readCompleteEventData(chunk, fetchEvents));
+                chunk = new LinkedHashMap<>();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            result.putAll(readCompleteEventData(chunk, fetchEvents));
+        }
+        return result;
+    }
+
+    private Map<String, List<? extends DomainEventData<?>>> readCompleteEventData(
+            Map<String, Long> firstSequenceNumbers,
+            BiFunction<Map<String, Long>, Integer, List<? extends DomainEventData<?>>> fetchEvents
+    ) {
+        List<? extends DomainEventData<?>> batch = fetchEvents.apply(firstSequenceNumbers, batchSize);
+        Map<String, List<? extends DomainEventData<?>>> events = groupByAggregateIdentifier(batch);
+        if (batch.size() >= batchSize) {
+            // the events of the last aggregate in a full batch may continue, and later aggregates may be missing
+            events.remove(batch.get(batch.size() - 1).getAggregateIdentifier());
+            return events;
+        }
+        Map<String, List<? extends DomainEventData<?>>> result = new LinkedHashMap<>();
+        firstSequenceNumbers.keySet().forEach(
+                aggregateIdentifier -> result.put(aggregateIdentifier,
+                                                  events.getOrDefault(aggregateIdentifier, Collections.emptyList()))
+        );
+        return result;
+    }
+
+    private static Map<String, List<? extends DomainEventData<?>>> groupByAggregateIdentifier(
+            List<? extends DomainEventData<?>> entries
+    ) {
+        Map<String, List<DomainEventData<?>>> grouped = new LinkedHashMap<>();
+        for (DomainEventData<?> entry : entries) {
+            grouped.computeIfAbsent(entry.getAggregateIdentifier(), id -> new ArrayList<>()).add(entry);
+        }
+        return new LinkedHashMap<>(grouped);
+    }
+
     /**
      * Returns the maximum number of event entries to be fetched per batch.
      *
@@ -165,7 +464,8 @@ public int batchSize() {
      * <p>
      * The {@link EventUpcaster} defaults to a {@link NoOpEventUpcaster}, the {@code snapshotFilter} defaults to a
      * {@link SnapshotFilter#allowAll()} instance and the {@code batchSize} is defaulted to an integer of size {@code
-     * 100}.
+     * 100}. Optimistic loading is disabled by default, while its {@code optimisticLoadingCacheSize} defaults to an
+     * integer of size {@code 1024}.
      * <p>
      * The event and snapshot {@link Serializer} are <b>hard requirements</b> and as such should be provided.
      */
@@ -173,6 +473,8 @@ public abstract static class Builder extends AbstractEventStorageEngine.Builder
 
         private int batchSize = DEFAULT_BATCH_SIZE;
         private Predicate<List<? extends DomainEventData<?>>> finalAggregateBatchPredicate;
+        private Executor optimisticLoadingExecutor;
+        private int optimisticLoadingCacheSize = DEFAULT_OPTIMISTIC_LOADING_CACHE_SIZE;
 
         @Override
         public BatchingEventStorageEngine.Builder snapshotSerializer(Serializer snapshotSerializer) {
@@ -233,6 +535,12 @@ public BatchingEventStorageEngine.Builder snapshotFilter(SnapshotFilter snapshot
             return this;
         }
 
+        @Override
+        public BatchingEventStorageEngine.Builder snapshotEncoder(SnapshotEncoder snapshotEncoder) {
+            super.snapshotEncoder(snapshotEncoder);
+            return this;
+        }
+
         /**
          * Sets the {@code batchSize} specifying the number of events that should be read at each database access. When
          * more than this number of events must be read to rebuild an aggregate's state, the events are read in batches
@@ -251,6 +559,40 @@ public Builder batchSize(int batchSize) {
             return this;
         }
 
+        /**
+         * Sets the {@link Executor} used to read the snapshot of an aggregate while concurrently reading its events,
+         * enabling optimistic loading of aggregates. Events are read from the snapshot sequence number seen when the
+         * aggregate was last loaded, and the size of the first batch is based on the number of events read at that
+         * time. Defaults to {@code null}, reading the snapshot and events of an aggregate consecutively.
+         * <p>
+         * Note that the snapshot is read on a thread of the given {@code executor}. Only enable this for storage
+         * engines whose storage access is thread safe, like a JDBC based engine using a connection pool. It should not
+         * be used with an {@code EntityManager} that is shared between threads.
+         *
+         * @param optimisticLoadingExecutor the {@link Executor} used to read snapshots while concurrently reading
+         *                                  events
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder optimisticLoadingExecutor(Executor optimisticLoadingExecutor) {
+            assertNonNull(optimisticLoadingExecutor, "The optimisticLoadingExecutor may not be null");
+            this.optimisticLoadingExecutor = optimisticLoadingExecutor;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of aggregates for which the snapshot sequence number and stream length are
+         * remembered for optimistic loading. Aggregates that were least recently loaded are forgotten first. Defaults
+         * to {@code 1024}.
+         *
+         * @param optimisticLoadingCacheSize the maximum number of aggregates to remember loading details for
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder optimisticLoadingCacheSize(int optimisticLoadingCacheSize) {
+            assertStrictPositive(optimisticLoadingCacheSize, "The optimisticLoadingCacheSize must be a positive number");
+            this.optimisticLoadingCacheSize = optimisticLoadingCacheSize;
+            return this;
+        }
+
         /**
          * Validates whether the fields contained in this Builder are set accordingly.
          *
@@ -263,6 +605,20 @@ protected void validate() throws AxonConfigurationException {
         }
     }
 
+    /**
+     * The details of an aggregate's event stream seen when the aggregate was last loaded.
+     */
+    private static final class StreamHint {
+
+        private volatile long snapshotSequenceNumber;
+        private volatile long lastSequenceNumber;
+
+        private StreamHint(long snapshotSequenceNumber) {
+            this.snapshotSequenceNumber = snapshotSequenceNumber;
+            this.lastSequenceNumber = snapshotSequenceNumber;
+        }
+    }
+
     private static class EventStreamSpliterator<T> extends Spliterators.AbstractSpliterator<T> {
 
         private final Function<T, List<? extends T>> fetchFunction;
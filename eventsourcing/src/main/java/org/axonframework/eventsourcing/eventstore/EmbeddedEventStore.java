@@ -37,6 +37,7 @@
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
@@ -319,6 +320,7 @@ public void close() {
 
     private class EventConsumer implements TrackingEventStream {
 
+        private final Set<Class<?>> ignoredPayloadTypes = ConcurrentHashMap.newKeySet();
         private Stream<? extends TrackedEventMessage<?>> privateStream;
         private Iterator<? extends TrackedEventMessage<?>> privateIterator;
         private volatile TrackingToken lastToken;
@@ -403,7 +405,7 @@ private TrackedEventMessage<?> peekPrivateStream(boolean allowSwitchToTailingCon
                                                          int timeout,
                                                          TimeUnit timeUnit) throws InterruptedException {
             if (privateIterator == null) {
-                privateStream = storageEngine().readEvents(lastToken, false);
+                privateStream = storageEngine().readEvents(lastToken, false, ignoredPayloadTypes);
                 privateIterator = privateStream.iterator();
             }
             if (privateIterator.hasNext()) {
@@ -447,6 +449,18 @@ private TrackingToken lastToken() {
             return lastToken;
         }
 
+        /**
+         * Registers the payload type of the given {@code ignoredMessage}, allowing the storage engine to omit events of
+         * that type when this consumer reads from a private stream. Events read from the shared cache are not
+         * affected.
+         *
+         * @param ignoredMessage the message containing the payload to exclude from the stream
+         */
+        @Override
+        public void skipMessagesWithPayloadTypeOf(TrackedEventMessage<?> ignoredMessage) {
+            ignoredPayloadTypes.add(ignoredMessage.getPayloadType());
+        }
+
         @Override
         public void close() {
             closePrivateStream();
@@ -22,8 +22,12 @@
 import org.axonframework.eventhandling.TrackingToken;
 
 import java.time.Instant;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -86,6 +90,31 @@ default void appendEvents(@Nonnull EventMessage<?>... events) {
      */
     Stream<? extends TrackedEventMessage<?>> readEvents(@Nullable TrackingToken trackingToken, boolean mayBlock);
 
+    /**
+     * Open an event stream containing all events stored since given tracking token, like
+     * {@link #readEvents(TrackingToken, boolean)}. The storage engine may omit events with a payload of any of the given
+     * {@code ignoredPayloadTypes} from the returned stream. Omitted events are still reflected in the tracking token of
+     * the events following them, so that tokens advance across ranges of omitted events.
+     * <p>
+     * The given set may be modified while the stream is open. Implementations may use such modifications for events
+     * they read afterwards. Consumers should be prepared to receive events of ignored payload types regardless.
+     * <p>
+     * The default implementation ignores the given payload types and delegates to
+     * {@link #readEvents(TrackingToken, boolean)}.
+     *
+     * @param trackingToken       Object describing the global index of the last processed event or {@code null} to
+     *                            create a stream of all events in the store
+     * @param mayBlock            If {@code true} the storage engine may optionally choose to block to wait for new
+     *                            event messages if the end of the stream is reached.
+     * @param ignoredPayloadTypes The payload types of events that may be omitted from the stream
+     * @return A stream containing the tracked event messages stored since the given tracking token
+     */
+    default Stream<? extends TrackedEventMessage<?>> readEvents(@Nullable TrackingToken trackingToken,
+                                                                boolean mayBlock,
+                                                                @Nonnull Set<Class<?>> ignoredPayloadTypes) {
+        return readEvents(trackingToken, mayBlock);
+    }
+
     /**
      * Get a {@link DomainEventStream} containing all events published by the aggregate with given {@code
      * aggregateIdentifier}. By default calling this method is shorthand for an invocation of
@@ -124,6 +153,49 @@ default DomainEventStream readEvents(@Nonnull String aggregateIdentifier) {
      */
     Optional<DomainEventMessage<?>> readSnapshot(@Nonnull String aggregateIdentifier);
 
+    /**
+     * Try to read the latest snapshot of the aggregate with given {@code aggregateIdentifier} together with the events
+     * published after that snapshot, as a single {@link DomainEventStream}. If no snapshot is available, the stream
+     * contains all events of the aggregate.
+     * <p>
+     * Storage engines able to read the snapshot and events more efficiently than through consecutive invocations of
+     * {@link #readSnapshot(String)} and {@link #readEvents(String, long)} may implement this method, for example by
+     * reading both concurrently. An empty Optional indicates the caller should read the snapshot and events
+     * separately, which is what this default implementation does.
+     *
+     * @param aggregateIdentifier The identifier of the aggregate to return an event stream for
+     * @return An optional with a non-blocking DomainEventStream starting with the latest snapshot of the aggregate, or
+     * an empty Optional if the snapshot and events are to be read separately
+     */
+    default Optional<DomainEventStream> readSnapshotAndEvents(@Nonnull String aggregateIdentifier) {
+        return Optional.empty();
+    }
+
+    /**
+     * Get a {@link DomainEventStream} for each of the aggregates with given {@code aggregateIdentifiers}. Each stream
+     * starts with the latest snapshot of the aggregate, if one is available, followed by the events published after
+     * that snapshot. If no snapshot is available, the stream contains all events of the aggregate. Aggregates without
+     * any events result in an empty stream.
+     * <p>
+     * The returned map contains an entry for each of the given {@code aggregateIdentifiers}, in iteration order of the
+     * given collection. By default, this method reads the snapshot and events of each aggregate in turn. Storage
+     * engines are encouraged to override this method to read the data of all aggregates in as few round trips as
+     * possible.
+     *
+     * @param aggregateIdentifiers The identifiers of the aggregates to return an event stream for
+     * @return A map with a non-blocking DomainEventStream per given aggregate identifier
+     */
+    default Map<String, DomainEventStream> readEventsForAggregates(@Nonnull Collection<String> aggregateIdentifiers) {
+        Map<String, DomainEventStream> result = new LinkedHashMap<>();
+        for (String aggregateIdentifier : aggregateIdentifiers) {
+            Optional<DomainEventMessage<?>> snapshot = readSnapshot(aggregateIdentifier);
+            result.put(aggregateIdentifier, snapshot.map(s -> DomainEventStream.concat(
+                    DomainEventStream.of(s), readEvents(aggregateIdentifier, s.getSequenceNumber() + 1)
+            )).orElseGet(() -> readEvents(aggregateIdentifier)));
+        }
+        return result;
+    }
+
     /**
      * Returns the last known sequence number for the given {@code aggregateIdentifier}.
      * <p>
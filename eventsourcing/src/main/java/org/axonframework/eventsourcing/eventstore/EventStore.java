@@ -23,6 +23,9 @@
 import org.axonframework.eventhandling.TrackingToken;
 import org.axonframework.messaging.StreamableMessageSource;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Optional;
 import javax.annotation.Nonnull;
 
@@ -69,6 +72,26 @@ default DomainEventStream readEvents(@Nonnull String aggregateIdentifier, long f
                     wholeStream::getLastSequenceNumber);
     }
 
+    /**
+     * Open an event stream for each of the given {@code aggregateIdentifiers}, containing all domain events belonging
+     * to that aggregate. Each stream is equivalent to the one returned by {@link #readEvents(String)} for that
+     * aggregate.
+     * <p>
+     * The returned map contains an entry for each of the given {@code aggregateIdentifiers}, in iteration order of the
+     * given collection. The default implementation invokes {@link #readEvents(String)} for each aggregate in turn.
+     * Implementations may choose to read the events of all aggregates in as few round trips as possible.
+     *
+     * @param aggregateIdentifiers the identifiers of the aggregates whose events to fetch
+     * @return a map with a stream of all currently stored events per given aggregate identifier
+     */
+    default Map<String, DomainEventStream> readEventsForAggregates(@Nonnull Collection<String> aggregateIdentifiers) {
+        Map<String, DomainEventStream> result = new LinkedHashMap<>();
+        for (String aggregateIdentifier : aggregateIdentifiers) {
+            result.put(aggregateIdentifier, readEvents(aggregateIdentifier));
+        }
+        return result;
+    }
+
     /**
      * Stores the given (temporary) {@code snapshot} event. This snapshot replaces the segment of the event stream
      * identified by the {@code snapshot}'s {@link DomainEventMessage#getAggregateIdentifier() Aggregate Identifier} up
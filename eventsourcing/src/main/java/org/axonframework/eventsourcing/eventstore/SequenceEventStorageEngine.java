@@ -24,6 +24,7 @@
 import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.Spliterator;
 import java.util.Spliterators;
 import java.util.function.BiFunction;
@@ -91,6 +92,21 @@ public Stream<? extends TrackedEventMessage<?>> readEvents(TrackingToken trackin
         return StreamSupport.stream(merged, false);
     }
 
+    @Override
+    public Stream<? extends TrackedEventMessage<?>> readEvents(TrackingToken trackingToken,
+                                                               boolean mayBlock,
+                                                               @Nonnull Set<Class<?>> ignoredPayloadTypes) {
+        Spliterator<? extends TrackedEventMessage<?>> historicSpliterator =
+                historicStorage.readEvents(trackingToken, mayBlock, ignoredPayloadTypes).spliterator();
+        Spliterator<? extends TrackedEventMessage<?>> merged = new ConcatenatingSpliterator(
+                trackingToken,
+                historicSpliterator,
+                mayBlock,
+                token -> activeStorage.readEvents(token, mayBlock, ignoredPayloadTypes).spliterator()
+        );
+        return StreamSupport.stream(merged, false);
+    }
+
     @Override
     public DomainEventStream readEvents(@Nonnull String aggregateIdentifier, long firstSequenceNumber) {
         DomainEventStream historic = historicStorage.readEvents(aggregateIdentifier, firstSequenceNumber);
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2010-2024. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.axonframework.eventsourcing.eventstore.file;
+
+import java.util.Arrays;
+import java.util.OptionalLong;
+import java.util.stream.LongStream;
+
+/**
+ * Index of the events of a single aggregate in a {@link FileEventStorageEngine}, mapping the sequence numbers of the
+ * aggregate's events to their global index.
+ * <p>
+ * Entries are kept ordered by sequence number. Entries are added by a single thread at a time, while readers always
+ * observe a consistent view: an entry is only published after it has been written, and inserting before existing
+ * entries copies the index.
+ *
+ * @author agent
+ * @since 4.11.0
+ */
+final class AggregateSequenceIndex {
+
+    private volatile Entries entries = new Entries(new long[4], new long[4], 0);
+
+    /**
+     * Registers the event with given {@code sequenceNumber} at the given {@code globalIndex}. Must only be invoked by a
+     * single thread at a time, and only for sequence numbers that are not {@link #contains(long) contained} yet.
+     *
+     * @param sequenceNumber the sequence number of the event
+     * @param globalIndex    the global index of the event
+     */
+    void add(long sequenceNumber, long globalIndex) {
+        Entries current = entries;
+        int size = current.size;
+        if (size == 0 || current.sequenceNumbers[size - 1] < sequenceNumber) {
+            long[] sequenceNumbers = current.sequenceNumbers;
+            long[] globalIndexes = current.globalIndexes;
+            if (size == sequenceNumbers.length) {
+                sequenceNumbers = Arrays.copyOf(sequenceNumbers, size * 2);
+                globalIndexes = Arrays.copyOf(globalIndexes, size * 2);
+            }
+            sequenceNumbers[size] = sequenceNumber;
+            globalIndexes[size] = globalIndex;
+            entries = new Entries(sequenceNumbers, globalIndexes, size + 1);
+        } else {
+            int insertionPoint = -Arrays.binarySearch(current.sequenceNumbers, 0, size, sequenceNumber) - 1;
+            long[] sequenceNumbers = new long[Math.max(size * 2, 4)];
+            long[] globalIndexes = new long[sequenceNumbers.length];
+            System.arraycopy(current.sequenceNumbers, 0, sequenceNumbers, 0, insertionPoint);
+            System.arraycopy(current.globalIndexes, 0, globalIndexes, 0, insertionPoint);
+            sequenceNumbers[insertionPoint] = sequenceNumber;
+            globalIndexes[insertionPoint] = globalIndex;
+            System.arraycopy(current.sequenceNumbers, insertionPoint,
+                             sequenceNumbers, insertionPoint + 1, size - insertionPoint);
+            System.arraycopy(current.globalIndexes, insertionPoint,
+                             globalIndexes, insertionPoint + 1, size - insertionPoint);
+            entries = new Entries(sequenceNumbers, globalIndexes, size + 1);
+        }
+    }
+
+    /**
+     * Indicates whether an event with the given {@code sequenceNumber} has been registered.
+     *
+     * @param sequenceNumber the sequence number to check
+     * @return {@code true} if an event with the sequence number has been registered, otherwise {@code false}
+     */
+    boolean contains(long sequenceNumber) {
+        Entries current = entries;
+        return Arrays.binarySearch(current.sequenceNumbers, 0, current.size, sequenceNumber) >= 0;
+    }
+
+    /**
+     * Returns the global indexes of the events with a sequence number equal to or higher than the given
+     * {@code firstSequenceNumber}, ordered by sequence number.
+     *
+     * @param firstSequenceNumber the lowest sequence number to return the global index of
+     * @return the global indexes of the events, ordered by sequence number
+     */
+    LongStream globalIndexesFrom(long firstSequenceNumber) {
+        Entries current = entries;
+        int position = Arrays.binarySearch(current.sequenceNumbers, 0, current.size, firstSequenceNumber);
+        int start = position >= 0 ? position : -position - 1;
+        return Arrays.stream(current.globalIndexes, start, current.size);
+    }
+
+    /**
+     * Returns the highest registered sequence number, if any.
+     *
+     * @return the highest registered sequence number, or an empty OptionalLong if no events have been registered
+     */
+    OptionalLong lastSequenceNumber() {
+        Entries current = entries;
+        return current.size == 0 ? OptionalLong.empty() : OptionalLong.of(current.sequenceNumbers[current.size - 1]);
+    }
+
+    private static final class Entries {
+
+        private final long[] sequenceNumbers;
+        private final long[] globalIndexes;
+        private final int size;
+
+        private Entries(long[] sequenceNumbers, long[] globalIndexes, int size) {
+            this.sequenceNumbers = sequenceNumbers;
+            this.globalIndexes = globalIndexes;
+            this.size = size;
+        }
+    }
+}
@@ -0,0 +1,358 @@
+/*
+ * Copyright (c) 2010-2024. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.axonframework.eventsourcing.eventstore.file;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import static java.lang.String.format;
+
+/**
+ * A memory-mapped segment file of a {@link FileEventStorageEngine}, holding the events of a contiguous range of global
+ * indexes, starting at the {@link #firstIndex() first index} of the segment.
+ * <p>
+ * The file starts with a header, followed by the records of the events in order of their global index. Each record is
+ * prefixed with its length and a CRC32 checksum. The remainder of the file is zero-filled, so a record length of zero
+ * marks the end of the written data. The offset of each record is kept in memory, allowing an event to be located by
+ * its global index without scanning the file.
+ * <p>
+ * Records are written by a single thread at a time. Readers only access records up to the published {@link #size()},
+ * which is updated after the records have been written.
+ *
+ * @author agent
+ * @since 4.11.0
+ */
+final class EventSegment {
+
+    /**
+     * The suffix of the names of segment files.
+     */
+    static final String FILE_SUFFIX = ".events";
+    /**
+     * The size of the header at the start of each segment file.
+     */
+    static final int HEADER_SIZE = 2 * Integer.BYTES + Long.BYTES;
+    /**
+     * The number of bytes preceding each record: its length and checksum.
+     */
+    static final int RECORD_OVERHEAD = 2 * Integer.BYTES;
+
+    private static final int MAGIC = 0x41584546;
+    private static final int VERSION = 1;
+
+    private final Path file;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final long firstIndex;
+    private final Object forceLock = new Object();
+
+    private volatile int[] offsets;
+    private volatile int size;
+    private volatile int writePosition;
+    private volatile int forcedPosition;
+    private volatile Instant latestTimestamp;
+
+    private EventSegment(Path file, FileChannel channel, MappedByteBuffer buffer, long firstIndex, int[] offsets,
+                         int size, int writePosition, Instant latestTimestamp) {
+        this.file = file;
+        this.channel = channel;
+        this.buffer = buffer;
+        this.firstIndex = firstIndex;
+        this.offsets = offsets;
+        this.size = size;
+        this.writePosition = writePosition;
+        this.forcedPosition = writePosition;
+        this.latestTimestamp = latestTimestamp;
+    }
+
+    /**
+     * Returns the name of the file of the segment starting at the given {@code firstIndex}.
+     *
+     * @param firstIndex the global index of the first event in the segment
+     * @return the name of the segment file
+     */
+    static String fileName(long firstIndex) {
+        return format("%019d%s", firstIndex, FILE_SUFFIX);
+    }
+
+    /**
+     * Creates a new, empty segment in the given {@code directory}, for events starting at the given
+     * {@code firstIndex}.
+     *
+     * @param directory  the directory to create the segment file in
+     * @param firstIndex the global index of the first event in the segment
+     * @param capacity   the size of the segment file, in bytes
+     * @return the created segment
+     * @throws IOException when the segment file cannot be created
+     */
+    static EventSegment create(Path directory, long firstIndex, int capacity) throws IOException {
+        Path file = directory.resolve(fileName(firstIndex));
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW,
+                                               StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(Integer.BYTES, VERSION);
+            buffer.putLong(2 * Integer.BYTES, firstIndex);
+            buffer.force();
+            return new EventSegment(file, channel, buffer, firstIndex, new int[64], 0, HEADER_SIZE, Instant.MIN);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Opens an existing segment file, recovering the records it contains. When {@code recover} is {@code true}, the
+     * segment is the last one of the storage engine, and records of batches that were not entirely written are
+     * discarded. Otherwise, the segment is expected to be intact.
+     *
+     * @param file    the segment file to open
+     * @param recover whether to discard incomplete trailing batches
+     * @return the opened segment, or {@code null} if {@code recover} is {@code true} and the segment was never
+     * initialized, in which case the file is removed
+     * @throws IOException when the segment cannot be read, or is corrupt
+     */
+    static EventSegment open(Path file, boolean recover) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+            if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+                if (recover) {
+                    channel.close();
+                    Files.delete(file);
+                    return null;
+                }
+                throw new IOException(format("File [%s] is not an event segment", file));
+            }
+            if (buffer.getInt(Integer.BYTES) != VERSION) {
+                throw new IOException(format("Event segment [%s] has unsupported version [%d]",
+                                             file, buffer.getInt(Integer.BYTES)));
+            }
+            return scan(file, channel, buffer, recover);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private static EventSegment scan(Path file, FileChannel channel, MappedByteBuffer buffer, boolean recover)
+            throws IOException {
+        long firstIndex = buffer.getLong(2 * Integer.BYTES);
+        int[] offsets = new int[64];
+        int count = 0;
+        int position = HEADER_SIZE;
+        Instant latest = Instant.MIN;
+        int committedCount = 0;
+        int committedPosition = position;
+        Instant committedLatest = latest;
+        CRC32 checksum = new CRC32();
+        boolean corrupt = false;
+        while (position + RECORD_OVERHEAD <= buffer.capacity()) {
+            int length = buffer.getInt(position);
+            if (length == 0) {
+                break;
+            }
+            int recordStart = position + RECORD_OVERHEAD;
+            if (length < 0 || recordStart + length > buffer.capacity()
+                    || buffer.getInt(position + Integer.BYTES) != checksum(checksum, buffer, recordStart, length)) {
+                corrupt = true;
+                break;
+            }
+            if (count == offsets.length) {
+                offsets = Arrays.copyOf(offsets, count * 2);
+            }
+            offsets[count++] = position;
+            Instant timestamp = FileEventEntry.timestampOf(slice(buffer, recordStart, length));
+            latest = timestamp.isAfter(latest) ? timestamp : latest;
+            position = recordStart + length;
+            if ((buffer.get(recordStart) & FileEventEntry.FLAG_BATCH_END) != 0) {
+                committedCount = count;
+                committedPosition = position;
+                committedLatest = latest;
+            }
+        }
+        if (corrupt || committedPosition != position) {
+            if (!recover) {
+                throw new IOException(format("Event segment [%s] is corrupt at position [%d]", file, position));
+            }
+            // discard the records of the batch that was being written when the process stopped
+            for (int i = committedPosition; i < buffer.capacity(); i++) {
+                buffer.put(i, (byte) 0);
+            }
+            buffer.force();
+        }
+        return new EventSegment(file, channel, buffer, firstIndex, offsets, committedCount, committedPosition,
+                                committedLatest);
+    }
+
+    private static int checksum(CRC32 checksum, ByteBuffer buffer, int position, int length) {
+        checksum.reset();
+        checksum.update(slice(buffer, position, length));
+        return (int) checksum.getValue();
+    }
+
+    private static ByteBuffer slice(ByteBuffer buffer, int position, int length) {
+        ByteBuffer view = buffer.duplicate();
+        view.limit(position + length);
+        view.position(position);
+        return view.slice();
+    }
+
+    /**
+     * Indicates whether records with a total size of {@code bytes}, including their {@link #RECORD_OVERHEAD}, fit in
+     * the remaining space of this segment.
+     *
+     * @param bytes the total size of the records
+     * @return {@code true} if the records fit in this segment, otherwise {@code false}
+     */
+    boolean fits(int bytes) {
+        return (long) writePosition + bytes <= buffer.capacity();
+    }
+
+    /**
+     * Appends the given {@code records} to this segment. Must only be invoked by a single thread at a time, and only if
+     * the records {@link #fits(int) fit} in this segment. The records become visible to readers when all of them have
+     * been written.
+     *
+     * @param records         the records to append
+     * @param latestTimestamp the latest timestamp of the events in the records
+     */
+    void append(List<byte[]> records, Instant latestTimestamp) {
+        int count = size;
+        int[] currentOffsets = offsets;
+        if (currentOffsets.length < count + records.size()) {
+            currentOffsets = Arrays.copyOf(currentOffsets, Math.max(count + records.size(), count * 2));
+        }
+        ByteBuffer writer = buffer.duplicate();
+        int position = writePosition;
+        CRC32 checksum = new CRC32();
+        for (byte[] record : records) {
+            checksum.reset();
+            checksum.update(record, 0, record.length);
+            writer.position(position);
+            writer.putInt(record.length).putInt((int) checksum.getValue()).put(record);
+            currentOffsets[count++] = position;
+            position += RECORD_OVERHEAD + record.length;
+        }
+        this.offsets = currentOffsets;
+        this.writePosition = position;
+        if (latestTimestamp.isAfter(this.latestTimestamp)) {
+            this.latestTimestamp = latestTimestamp;
+        }
+        this.size = count;
+    }
+
+    /**
+     * Forces all records written to this segment to the storage device. Threads invoking this method concurrently share
+     * a single flush, as a flush covers all records that were written before it started.
+     */
+    void force() {
+        int target = writePosition;
+        if (forcedPosition >= target) {
+            return;
+        }
+        synchronized (forceLock) {
+            if (forcedPosition >= target) {
+                return;
+            }
+            int position = writePosition;
+            buffer.force();
+            forcedPosition = position;
+        }
+    }
+
+    /**
+     * Returns the record of the event with the given {@code globalIndex}. The returned buffer is a read-only view on
+     * the mapped segment file. The index must be within the range of this segment.
+     *
+     * @param globalIndex the global index of the event to return the record of
+     * @return a read-only view on the record of the event
+     */
+    ByteBuffer record(long globalIndex) {
+        int position = offsets[(int) (globalIndex - firstIndex)];
+        return slice(buffer, position + RECORD_OVERHEAD, buffer.getInt(position)).asReadOnlyBuffer();
+    }
+
+    /**
+     * Returns the timestamp of the event with the given {@code globalIndex}. The index must be within the range of this
+     * segment.
+     *
+     * @param globalIndex the global index of the event to return the timestamp of
+     * @return the timestamp of the event
+     */
+    Instant timestamp(long globalIndex) {
+        return FileEventEntry.timestampOf(record(globalIndex));
+    }
+
+    /**
+     * Returns the global index of the first event in this segment.
+     *
+     * @return the global index of the first event in this segment
+     */
+    long firstIndex() {
+        return firstIndex;
+    }
+
+    /**
+     * Returns the number of events in this segment.
+     *
+     * @return the number of events in this segment
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns the latest timestamp of the events in this segment, or {@link Instant#MIN} if the segment is empty.
+     *
+     * @return the latest timestamp of the events in this segment
+     */
+    Instant latestTimestamp() {
+        return latestTimestamp;
+    }
+
+    /**
+     * Closes the file of this segment, after forcing all written records to the storage device.
+     *
+     * @throws IOException when the file cannot be closed
+     */
+    void close() throws IOException {
+        force();
+        channel.close();
+    }
+
+    /**
+     * Closes and removes the file of this segment. Must only be invoked for empty segments.
+     *
+     * @throws IOException when the file cannot be removed
+     */
+    void delete() throws IOException {
+        channel.close();
+        Files.delete(file);
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2010-2024. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.axonframework.eventsourcing.eventstore.file;
+
+import org.axonframework.eventhandling.DomainEventData;
+import org.axonframework.eventhandling.TrackingToken;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+
+/**
+ * {@link FileEventEntry} of an event published by an aggregate, exposing the aggregate fields of the event.
+ *
+ * @author agent
+ * @since 4.11.0
+ */
+class FileDomainEventEntry extends FileEventEntry implements DomainEventData<byte[]> {
+
+    private final String type;
+    private final String aggregateIdentifier;
+    private final long sequenceNumber;
+
+    /**
+     * Initializes an entry for the given {@code record}, continuing to decode the payload fields at the position of
+     * the given {@code reader}.
+     *
+     * @param trackingToken       the token of the event, or {@code null} for snapshots
+     * @param record              the record containing the event
+     * @param reader              a view on the record, positioned at the payload type
+     * @param timestamp           the timestamp of the event
+     * @param eventIdentifier     the identifier of the event
+     * @param type                the type of the aggregate that published the event
+     * @param aggregateIdentifier the identifier of the aggregate that published the event
+     * @param sequenceNumber      the sequence number of the event in the aggregate's stream
+     */
+    FileDomainEventEntry(TrackingToken trackingToken, ByteBuffer record, ByteBuffer reader, Instant timestamp,
+                         String eventIdentifier, String type, String aggregateIdentifier, long sequenceNumber) {
+        super(trackingToken, record, reader, timestamp, eventIdentifier);
+        this.type = type;
+        this.aggregateIdentifier = aggregateIdentifier;
+        this.sequenceNumber = sequenceNumber;
+    }
+
+    @Override
+    public String getType() {
+        return type;
+    }
+
+    @Override
+    public String getAggregateIdentifier() {
+        return aggregateIdentifier;
+    }
+
+    @Override
+    public long getSequenceNumber() {
+        return sequenceNumber;
+    }
+}
@@ -0,0 +1,229 @@
+/*
+ * Copyright (c) 2010-2024. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.axonframework.eventsourcing.eventstore.file;
+
+import org.axonframework.eventhandling.DomainEventMessage;
+import org.axonframework.eventhandling.EventMessage;
+import org.axonframework.eventhandling.TrackedEventData;
+import org.axonframework.eventhandling.TrackingToken;
+import org.axonframework.eventsourcing.eventstore.EventStoreException;
+import org.axonframework.serialization.SerializedMetaData;
+import org.axonframework.serialization.SerializedObject;
+import org.axonframework.serialization.Serializer;
+import org.axonframework.serialization.SimpleSerializedObject;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+import static java.lang.String.format;
+
+/**
+ * Event entry backed by a record of a {@link FileEventStorageEngine}. The fields describing the event are decoded when
+ * the entry is created, while the serialized payload and meta data remain in the (memory-mapped) record until they are
+ * requested.
+ * <p>
+ * A record consists of a flags byte, the timestamp, the event identifier, the aggregate fields for domain events, the
+ * payload type and revision, followed by the length-prefixed payload and meta data.
+ *
+ * @author agent
+ * @since 4.11.0
+ */
+class FileEventEntry implements TrackedEventData<byte[]> {
+
+    /**
+     * Flag marking the last record of a batch of appended events.
+     */
+    static final byte FLAG_BATCH_END = 1;
+    /**
+     * Flag marking records containing the aggregate fields of a domain event.
+     */
+    static final byte FLAG_DOMAIN_EVENT = 2;
+
+    private static final int TIMESTAMP_POSITION = 1;
+
+    private final TrackingToken trackingToken;
+    private final ByteBuffer record;
+    private final Instant timestamp;
+    private final String eventIdentifier;
+    private final String payloadType;
+    private final String payloadRevision;
+    private final int payloadPosition;
+    private final int payloadLength;
+    private final int metaDataPosition;
+    private final int metaDataLength;
+
+    /**
+     * Initializes an entry for the given {@code record}, continuing to decode the payload fields at the position of
+     * the given {@code reader}.
+     *
+     * @param trackingToken   the token of the event, or {@code null} for snapshots
+     * @param record          the record containing the event
+     * @param reader          a view on the record, positioned at the payload type
+     * @param timestamp       the timestamp of the event
+     * @param eventIdentifier the identifier of the event
+     */
+    FileEventEntry(TrackingToken trackingToken, ByteBuffer record, ByteBuffer reader, Instant timestamp,
+                   String eventIdentifier) {
+        this.trackingToken = trackingToken;
+        this.record = record;
+        this.timestamp = timestamp;
+        this.eventIdentifier = eventIdentifier;
+        this.payloadType = readString(reader);
+        this.payloadRevision = readString(reader);
+        this.payloadLength = reader.getInt();
+        this.payloadPosition = reader.position();
+        reader.position(payloadPosition + payloadLength);
+        this.metaDataLength = reader.getInt();
+        this.metaDataPosition = reader.position();
+    }
+
+    /**
+     * Decodes the given {@code record} into an entry. Domain events are returned as a {@link FileDomainEventEntry}.
+     *
+     * @param trackingToken the token of the event, or {@code null} for snapshots
+     * @param record        the record to decode, positioned at its start
+     * @return an entry describing the event in the record
+     */
+    static FileEventEntry decode(TrackingToken trackingToken, ByteBuffer record) {
+        ByteBuffer reader = record.duplicate();
+        byte flags = reader.get();
+        Instant timestamp = Instant.ofEpochSecond(reader.getLong(), reader.getInt());
+        String eventIdentifier = readString(reader);
+        if ((flags & FLAG_DOMAIN_EVENT) != 0) {
+            String type = readString(reader);
+            String aggregateIdentifier = readString(reader);
+            long sequenceNumber = reader.getLong();
+            return new FileDomainEventEntry(trackingToken, record, reader, timestamp, eventIdentifier,
+                                            type, aggregateIdentifier, sequenceNumber);
+        }
+        return new FileEventEntry(trackingToken, record, reader, timestamp, eventIdentifier);
+    }
+
+    /**
+     * Reads the timestamp of the event in the given {@code record}, without decoding any of its other fields.
+     *
+     * @param record the record to read the timestamp from
+     * @return the timestamp of the event in the record
+     */
+    static Instant timestampOf(ByteBuffer record) {
+        return Instant.ofEpochSecond(record.getLong(TIMESTAMP_POSITION),
+                                     record.getInt(TIMESTAMP_POSITION + Long.BYTES));
+    }
+
+    /**
+     * Encodes the given {@code event} into a record, using the given {@code serializer} to serialize its payload and
+     * meta data.
+     *
+     * @param event      the event to encode
+     * @param serializer the serializer for the payload and meta data
+     * @return the record describing the event
+     */
+    static byte[] encode(EventMessage<?> event, Serializer serializer) {
+        SerializedObject<byte[]> payload = event.serializePayload(serializer, byte[].class);
+        SerializedObject<byte[]> metaData = event.serializeMetaData(serializer, byte[].class);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(
+                128 + payload.getData().length + metaData.getData().length
+        );
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            boolean domainEvent = event instanceof DomainEventMessage;
+            out.writeByte(domainEvent ? FLAG_DOMAIN_EVENT : 0);
+            out.writeLong(event.getTimestamp().getEpochSecond());
+            out.writeInt(event.getTimestamp().getNano());
+            writeString(out, event.getIdentifier());
+            if (domainEvent) {
+                DomainEventMessage<?> domainEventMessage = (DomainEventMessage<?>) event;
+                writeString(out, domainEventMessage.getType());
+                writeString(out, domainEventMessage.getAggregateIdentifier());
+                out.writeLong(domainEventMessage.getSequenceNumber());
+            }
+            writeString(out, payload.getType().getName());
+            writeString(out, payload.getType().getRevision());
+            out.writeInt(payload.getData().length);
+            out.write(payload.getData());
+            out.writeInt(metaData.getData().length);
+            out.write(metaData.getData());
+        } catch (IOException e) {
+            throw new EventStoreException(format("Failed to encode event [%s]", event.getIdentifier()), e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+        } else {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    private static String readString(ByteBuffer reader) {
+        int length = reader.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        reader.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private byte[] copy(int position, int length) {
+        byte[] bytes = new byte[length];
+        ByteBuffer source = record.duplicate();
+        source.position(position);
+        source.get(bytes);
+        return bytes;
+    }
+
+    @Override
+    public TrackingToken trackingToken() {
+        return trackingToken;
+    }
+
+    @Override
+    public String getEventIdentifier() {
+        return eventIdentifier;
+    }
+
+    @Override
+    public Instant getTimestamp() {
+        return timestamp;
+    }
+
+    @Override
+    public SerializedObject<byte[]> getMetaData() {
+        return new SerializedMetaData<>(copy(metaDataPosition, metaDataLength), byte[].class);
+    }
+
+    @Override
+    public SerializedObject<byte[]> getPayload() {
+        return new SimpleSerializedObject<>(copy(payloadPosition, payloadLength), byte[].class,
+                                            payloadType, payloadRevision);
+    }
+
+    @Override
+    public String toString() {
+        return format("FileEventEntry{eventIdentifier='%s', payloadType='%s', trackingToken=%s}",
+                      eventIdentifier, payloadType, trackingToken);
+    }
+}
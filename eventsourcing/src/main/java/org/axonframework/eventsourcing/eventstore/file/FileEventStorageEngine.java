@@ -0,0 +1,679 @@
+/*
+ * Copyright (c) 2010-2024. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.axonframework.eventsourcing.eventstore.file;
+
+import org.axonframework.common.Assert;
+import org.axonframework.common.AxonConfigurationException;
+import org.axonframework.common.jdbc.PersistenceExceptionResolver;
+import org.axonframework.eventhandling.DomainEventData;
+import org.axonframework.eventhandling.DomainEventMessage;
+import org.axonframework.eventhandling.EventMessage;
+import org.axonframework.eventhandling.GlobalSequenceTrackingToken;
+import org.axonframework.eventhandling.TrackedEventData;
+import org.axonframework.eventhandling.TrackingToken;
+import org.axonframework.eventsourcing.eventstore.AbstractEventStorageEngine;
+import org.axonframework.eventsourcing.eventstore.EventStoreException;
+import org.axonframework.eventsourcing.snapshotting.SnapshotEncoder;
+import org.axonframework.eventsourcing.snapshotting.SnapshotFilter;
+import org.axonframework.lifecycle.Lifecycle;
+import org.axonframework.lifecycle.Phase;
+import org.axonframework.serialization.Serializer;
+import org.axonframework.serialization.upcasting.event.EventUpcaster;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import javax.annotation.Nonnull;
+
+import static java.lang.String.format;
+import static org.axonframework.common.BuilderUtils.assertNonNull;
+import static org.axonframework.common.BuilderUtils.assertThat;
+
+/**
+ * EventStorageEngine implementation that stores events in memory-mapped, append-only segment files on the local file
+ * system. It is intended for single-node deployments where a database would be overkill, such as edge deployments,
+ * and as a fast local storage engine for benchmarks.
+ * <p>
+ * Events are appended to the active segment file, which is replaced by a new segment once it is full. Each event is
+ * assigned the next global index, and is tracked with a {@link GlobalSequenceTrackingToken}. The offsets of the events
+ * within each segment, and the global indexes of the events of each aggregate, are kept in memory. They are rebuilt
+ * from the segment files when the engine starts. Streams read events directly from the mapped files, only copying the
+ * serialized payload and meta data of the events that are actually deserialized.
+ * <p>
+ * By default, appended events are forced to the storage device before {@code appendEvents} returns, and only become
+ * visible to event streams and aggregate reads once they have been forced. Threads appending concurrently share a
+ * single flush. Each batch of appended events is written atomically: when the engine starts, the records of a batch
+ * that was not entirely written are discarded. Snapshots are stored in a separate log, of which only the latest
+ * snapshot of each aggregate is retained, along with its base when it is stored as a delta by a
+ * {@link SnapshotEncoder}.
+ * <p>
+ * Only a single engine can use a storage directory at a time. The uniqueness of aggregate sequence numbers is
+ * enforced, while event identifiers are not indexed, and are therefore not checked for uniqueness.
+ *
+ * @author agent
+ * @since 4.11.0
+ */
+public class FileEventStorageEngine extends AbstractEventStorageEngine implements Lifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(FileEventStorageEngine.class);
+
+    private static final String LOCK_FILE_NAME = "engine.lock";
+    private static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+    private static final AtomicLongFieldUpdater<FileEventStorageEngine> HEAD_INDEX =
+            AtomicLongFieldUpdater.newUpdater(FileEventStorageEngine.class, "headIndex");
+
+    private final Path storageDirectory;
+    private final int segmentSize;
+    private final boolean forceOnAppend;
+    private final FileChannel lockChannel;
+    private final FileLock lock;
+    private final ConcurrentSkipListMap<Long, EventSegment> segments = new ConcurrentSkipListMap<>();
+    private final Map<String, AggregateSequenceIndex> aggregateIndexes = new ConcurrentHashMap<>();
+    private final SnapshotLog snapshotLog;
+    private final ReentrantLock appendLock = new ReentrantLock();
+
+    // the index of the last event that is visible to readers, which is forced when forceOnAppend is set
+    private volatile long headIndex = -1;
+    // the index of the last event written to a segment, guarded by the appendLock
+    private long appendedIndex = -1;
+    private volatile EventSegment activeSegment;
+    private volatile boolean closed;
+
+    /**
+     * Instantiate a {@link FileEventStorageEngine} based on the fields contained in the {@link Builder}. The segment
+     * files in the storage directory are opened and indexed, discarding any events of a batch that was not entirely
+     * written.
+     * <p>
+     * Will assert that the event and snapshot {@link Serializer} and the storage directory are not {@code null}, and
+     * will throw an {@link AxonConfigurationException} if any of them is {@code null}.
+     *
+     * @param builder the {@link Builder} used to instantiate a {@link FileEventStorageEngine} instance
+     * @throws EventStoreException when the storage directory cannot be opened, or is in use by another engine
+     */
+    protected FileEventStorageEngine(Builder builder) {
+        super(builder);
+        this.storageDirectory = builder.storageDirectory;
+        this.segmentSize = builder.segmentSize;
+        this.forceOnAppend = builder.forceOnAppend;
+        try {
+            Files.createDirectories(storageDirectory);
+            this.lockChannel = FileChannel.open(storageDirectory.resolve(LOCK_FILE_NAME),
+                                                StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            throw new EventStoreException(format("Failed to open storage directory [%s]", storageDirectory), e);
+        }
+        try {
+            this.lock = acquireLock();
+            openSegments();
+            this.snapshotLog = new SnapshotLog(storageDirectory, forceOnAppend);
+        } catch (IOException | RuntimeException e) {
+            releaseQuietly();
+            if (e instanceof EventStoreException) {
+                throw (EventStoreException) e;
+            }
+            throw new EventStoreException(format("Failed to open storage directory [%s]", storageDirectory), e);
+        }
+    }
+
+    private FileLock acquireLock() throws IOException {
+        FileLock acquired;
+        try {
+            acquired = lockChannel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            acquired = null;
+        }
+        if (acquired == null) {
+            throw new EventStoreException(format("Storage directory [%s] is in use by another engine",
+                                                 storageDirectory));
+        }
+        return acquired;
+    }
+
+    private void releaseQuietly() {
+        for (EventSegment segment : segments.values()) {
+            try {
+                segment.close();
+            } catch (IOException e) {
+                logger.warn("Failed to close segment while aborting the opening of [{}]", storageDirectory, e);
+            }
+        }
+        try {
+            lockChannel.close();
+        } catch (IOException e) {
+            logger.warn("Failed to release the lock on storage directory [{}]", storageDirectory, e);
+        }
+    }
+
+    /**
+     * Instantiate a Builder to be able to create a {@link FileEventStorageEngine}.
+     * <p>
+     * The following configurable fields have defaults:
+     * <ul>
+     * <li>The {@link EventUpcaster} defaults to an {@link org.axonframework.serialization.upcasting.event.NoOpEventUpcaster}.</li>
+     * <li>The {@link PersistenceExceptionResolver} defaults to a resolver detecting duplicate aggregate sequence
+     * numbers.</li>
+     * <li>The {@code snapshotFilter} defaults to a {@link SnapshotFilter#allowAll()} instance.</li>
+     * <li>The {@code segmentSize} defaults to {@code 64} MiB.</li>
+     * <li>The {@code forceOnAppend} defaults to {@code true}.</li>
+     * </ul>
+     * <p>
+     * The event and snapshot {@link Serializer} and the {@code storageDirectory} are <b>hard requirements</b> and as
+     * such should be provided.
+     *
+     * @return a Builder to be able to create a {@link FileEventStorageEngine}
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    private void openSegments() throws IOException {
+        TreeMap<Long, Path> files = new TreeMap<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(storageDirectory,
+                                                                     "*" + EventSegment.FILE_SUFFIX)) {
+            for (Path file : stream) {
+                String name = file.getFileName().toString();
+                files.put(Long.parseLong(name.substring(0, name.length() - EventSegment.FILE_SUFFIX.length())), file);
+            }
+        }
+        for (Map.Entry<Long, Path> file : files.entrySet()) {
+            boolean last = file.getKey().equals(files.lastKey());
+            EventSegment segment = EventSegment.open(file.getValue(), last);
+            if (segment == null) {
+                continue;
+            }
+            if (!segments.isEmpty() && segment.firstIndex() != headIndex + 1) {
+                throw new EventStoreException(format("Segment [%s] does not follow global index [%d]",
+                                                     file.getValue(), headIndex));
+            }
+            segments.put(segment.firstIndex(), segment);
+            for (long index = segment.firstIndex(); index < segment.firstIndex() + segment.size(); index++) {
+                FileEventEntry entry = FileEventEntry.decode(null, segment.record(index));
+                if (entry instanceof FileDomainEventEntry) {
+                    FileDomainEventEntry domainEntry = (FileDomainEventEntry) entry;
+                    aggregateIndexes.computeIfAbsent(domainEntry.getAggregateIdentifier(),
+                                                     id -> new AggregateSequenceIndex())
+                                    .add(domainEntry.getSequenceNumber(), index);
+                }
+            }
+            headIndex = segment.firstIndex() + segment.size() - 1;
+            appendedIndex = headIndex;
+            activeSegment = segment;
+        }
+        if (!segments.isEmpty()) {
+            logger.info("Opened {} segments in [{}], containing events up to global index [{}]",
+                        segments.size(), storageDirectory, headIndex);
+        }
+    }
+
+    @Override
+    public void registerLifecycleHandlers(@Nonnull LifecycleRegistry lifecycle) {
+        lifecycle.onShutdown(Phase.EXTERNAL_CONNECTIONS, this::close);
+    }
+
+    /**
+     * Closes the segment files and snapshot log of this engine, and releases the lock on the storage directory. Events
+     * can no longer be appended once the engine is closed.
+     */
+    public void close() {
+        appendLock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            for (EventSegment segment : segments.values()) {
+                segment.close();
+            }
+            snapshotLog.close();
+            lock.release();
+            lockChannel.close();
+        } catch (IOException e) {
+            throw new EventStoreException(format("Failed to close storage directory [%s]", storageDirectory), e);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    @Override
+    protected void appendEvents(List<? extends EventMessage<?>> events, Serializer serializer) {
+        if (events.isEmpty()) {
+            return;
+        }
+        List<byte[]> records = new ArrayList<>(events.size());
+        Instant latestTimestamp = Instant.MIN;
+        int bytes = 0;
+        for (EventMessage<?> event : events) {
+            byte[] record = FileEventEntry.encode(event, serializer);
+            records.add(record);
+            bytes += EventSegment.RECORD_OVERHEAD + record.length;
+            if (event.getTimestamp().isAfter(latestTimestamp)) {
+                latestTimestamp = event.getTimestamp();
+            }
+        }
+        records.get(records.size() - 1)[0] |= FileEventEntry.FLAG_BATCH_END;
+
+        EventSegment segment;
+        long lastIndex;
+        appendLock.lock();
+        try {
+            Assert.state(!closed, () -> "The storage engine has been closed");
+            validateSequenceNumbers(events);
+            segment = segmentFor(bytes);
+            long firstIndex = appendedIndex + 1;
+            segment.append(records, latestTimestamp);
+            for (int i = 0; i < events.size(); i++) {
+                if (events.get(i) instanceof DomainEventMessage) {
+                    DomainEventMessage<?> event = (DomainEventMessage<?>) events.get(i);
+                    aggregateIndexes.computeIfAbsent(event.getAggregateIdentifier(), id -> new AggregateSequenceIndex())
+                                    .add(event.getSequenceNumber(), firstIndex + i);
+                }
+            }
+            lastIndex = firstIndex + events.size() - 1;
+            appendedIndex = lastIndex;
+            if (!forceOnAppend) {
+                headIndex = lastIndex;
+            }
+        } catch (IOException e) {
+            throw new EventStoreException("Failed to create a new segment file", e);
+        } finally {
+            appendLock.unlock();
+        }
+        if (forceOnAppend) {
+            force(segment);
+            // the flush covers all batches appended to the segment before it, and earlier segments are forced when
+            // they are full, so all events up to this batch are durable
+            publishHead(lastIndex);
+        }
+    }
+
+    /**
+     * Forces the records written to the given {@code segment} to the storage device.
+     *
+     * @param segment the segment to force
+     */
+    void force(EventSegment segment) {
+        segment.force();
+    }
+
+    private void publishHead(long index) {
+        HEAD_INDEX.accumulateAndGet(this, index, Math::max);
+    }
+
+    private void validateSequenceNumbers(List<? extends EventMessage<?>> events) {
+        Map<String, Set<Long>> batchSequenceNumbers = new HashMap<>();
+        for (EventMessage<?> event : events) {
+            if (event instanceof DomainEventMessage) {
+                DomainEventMessage<?> domainEvent = (DomainEventMessage<?>) event;
+                AggregateSequenceIndex index = aggregateIndexes.get(domainEvent.getAggregateIdentifier());
+                boolean duplicate =
+                        (index != null && index.contains(domainEvent.getSequenceNumber()))
+                                || !batchSequenceNumbers.computeIfAbsent(domainEvent.getAggregateIdentifier(),
+                                                                         id -> new HashSet<>())
+                                                        .add(domainEvent.getSequenceNumber());
+                if (duplicate) {
+                    handlePersistenceException(new DuplicateSequenceNumberException(format(
+                            "Aggregate [%s] already contains an event with sequence number [%d]",
+                            domainEvent.getAggregateIdentifier(), domainEvent.getSequenceNumber()
+                    )), event);
+                }
+            }
+        }
+    }
+
+    private EventSegment segmentFor(int bytes) throws IOException {
+        EventSegment active = activeSegment;
+        if (active != null && active.fits(bytes)) {
+            return active;
+        }
+        if (active != null && active.size() == 0) {
+            // an empty segment that is too small for the batch is replaced by a larger one
+            segments.remove(active.firstIndex());
+            active.delete();
+        } else if (active != null) {
+            // full segments are always forced, so only the last segment can contain incomplete batches
+            active.force();
+        }
+        EventSegment created = EventSegment.create(storageDirectory, appendedIndex + 1,
+                                                   Math.max(segmentSize, EventSegment.HEADER_SIZE + bytes));
+        segments.put(created.firstIndex(), created);
+        activeSegment = created;
+        return created;
+    }
+
+    @Override
+    protected void storeSnapshot(DomainEventMessage<?> snapshot, Serializer serializer) {
+        byte[] record = FileEventEntry.encode(snapshot, serializer);
+        try {
+            snapshotLog.store(snapshot.getAggregateIdentifier(),
+                              snapshot.getSequenceNumber(),
+                              snapshotRetentionSequenceNumber(snapshot, serializer),
+                              record);
+        } catch (IOException e) {
+            handlePersistenceException(e, snapshot);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The snapshot log retains snapshots from the retention sequence number, and returns all of them when reading the
+     * snapshots of an aggregate.
+     */
+    @Override
+    protected boolean retainsBaseSnapshots() {
+        return true;
+    }
+
+    @Override
+    protected Stream<? extends DomainEventData<?>> readEventData(String identifier, long firstSequenceNumber) {
+        AggregateSequenceIndex index = aggregateIndexes.get(identifier);
+        if (index == null) {
+            return Stream.empty();
+        }
+        long head = headIndex;
+        return index.globalIndexesFrom(firstSequenceNumber)
+                    .filter(globalIndex -> globalIndex <= head)
+                    .mapToObj(globalIndex -> (FileDomainEventEntry) readEvent(globalIndex));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * This implementation produces non-blocking event streams, which end at the last event appended when the stream
+     * reaches it.
+     */
+    @Override
+    protected Stream<? extends TrackedEventData<?>> readEventData(TrackingToken trackingToken, boolean mayBlock) {
+        Assert.isTrue(
+                trackingToken == null || trackingToken instanceof GlobalSequenceTrackingToken,
+                () -> format("Token [%s] is of the wrong type. Expected [%s]",
+                             trackingToken, GlobalSequenceTrackingToken.class.getSimpleName())
+        );
+        long nextIndex = trackingToken == null
+                ? firstIndex()
+                : Math.max(firstIndex(), ((GlobalSequenceTrackingToken) trackingToken).getGlobalIndex() + 1);
+        return StreamSupport.stream(new EventSpliterator(nextIndex), false);
+    }
+
+    @Override
+    protected Stream<? extends DomainEventData<?>> readSnapshotData(String aggregateIdentifier) {
+        try {
+            return snapshotLog.read(aggregateIdentifier)
+                              .stream()
+                              .map(snapshot -> (FileDomainEventEntry) snapshot);
+        } catch (IOException e) {
+            throw new EventStoreException(format("Failed to read the snapshots of aggregate [%s]",
+                                                 aggregateIdentifier), e);
+        }
+    }
+
+    @Override
+    public Optional<Long> lastSequenceNumberFor(@Nonnull String aggregateIdentifier) {
+        AggregateSequenceIndex index = aggregateIndexes.get(aggregateIdentifier);
+        OptionalLong lastSequenceNumber = index == null ? OptionalLong.empty() : index.lastSequenceNumber();
+        return lastSequenceNumber.isPresent() ? Optional.of(lastSequenceNumber.getAsLong()) : Optional.empty();
+    }
+
+    @Override
+    public TrackingToken createTailToken() {
+        if (isEmpty()) {
+            return null;
+        }
+        return new GlobalSequenceTrackingToken(firstIndex() - 1);
+    }
+
+    @Override
+    public TrackingToken createHeadToken() {
+        if (isEmpty()) {
+            return null;
+        }
+        return new GlobalSequenceTrackingToken(headIndex);
+    }
+
+    @Override
+    public TrackingToken createTokenAt(@Nonnull Instant dateTime) {
+        long head = headIndex;
+        for (EventSegment segment : segments.values()) {
+            if (segment.latestTimestamp().isBefore(dateTime)) {
+                continue;
+            }
+            long lastIndex = Math.min(head, segment.firstIndex() + segment.size() - 1);
+            for (long index = segment.firstIndex(); index <= lastIndex; index++) {
+                if (!segment.timestamp(index).isBefore(dateTime)) {
+                    return new GlobalSequenceTrackingToken(index - 1);
+                }
+            }
+        }
+        return createHeadToken();
+    }
+
+    private boolean isEmpty() {
+        return headIndex < firstIndex();
+    }
+
+    private long firstIndex() {
+        return segments.isEmpty() ? 0 : segments.firstKey();
+    }
+
+    private FileEventEntry readEvent(long globalIndex) {
+        return FileEventEntry.decode(new GlobalSequenceTrackingToken(globalIndex),
+                                     segments.floorEntry(globalIndex).getValue().record(globalIndex));
+    }
+
+    /**
+     * Spliterator reading the events following a global index directly from the segment files, up to the last event
+     * appended at the time each event is read.
+     */
+    private class EventSpliterator extends Spliterators.AbstractSpliterator<TrackedEventData<?>> {
+
+        private long nextIndex;
+        private EventSegment segment;
+
+        private EventSpliterator(long nextIndex) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.nextIndex = nextIndex;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super TrackedEventData<?>> action) {
+            if (nextIndex > headIndex) {
+                return false;
+            }
+            if (segment == null || nextIndex >= segment.firstIndex() + segment.size()) {
+                segment = segments.floorEntry(nextIndex).getValue();
+            }
+            action.accept(FileEventEntry.decode(new GlobalSequenceTrackingToken(nextIndex),
+                                                segment.record(nextIndex)));
+            nextIndex++;
+            return true;
+        }
+    }
+
+    /**
+     * Exception indicating that an event was appended with a sequence number that is already taken by another event of
+     * the same aggregate.
+     */
+    private static class DuplicateSequenceNumberException extends RuntimeException {
+
+        private DuplicateSequenceNumberException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * Builder class to instantiate a {@link FileEventStorageEngine}.
+     * <p>
+     * The following configurable fields have defaults:
+     * <ul>
+     * <li>The {@link EventUpcaster} defaults to an {@link org.axonframework.serialization.upcasting.event.NoOpEventUpcaster}.</li>
+     * <li>The {@link PersistenceExceptionResolver} defaults to a resolver detecting duplicate aggregate sequence
+     * numbers.</li>
+     * <li>The {@code snapshotFilter} defaults to a {@link SnapshotFilter#allowAll()} instance.</li>
+     * <li>The {@code segmentSize} defaults to {@code 64} MiB.</li>
+     * <li>The {@code forceOnAppend} defaults to {@code true}.</li>
+     * </ul>
+     * <p>
+     * The event and snapshot {@link Serializer} and the {@code storageDirectory} are <b>hard requirements</b> and as
+     * such should be provided.
+     */
+    public static class Builder extends AbstractEventStorageEngine.Builder {
+
+        private Path storageDirectory;
+        private int segmentSize = DEFAULT_SEGMENT_SIZE;
+        private boolean forceOnAppend = true;
+
+        private Builder() {
+            persistenceExceptionResolver(DuplicateSequenceNumberException.class::isInstance);
+        }
+
+        @Override
+        public FileEventStorageEngine.Builder snapshotSerializer(Serializer snapshotSerializer) {
+            super.snapshotSerializer(snapshotSerializer);
+            return this;
+        }
+
+        @Override
+        public FileEventStorageEngine.Builder upcasterChain(EventUpcaster upcasterChain) {
+            super.upcasterChain(upcasterChain);
+            return this;
+        }
+
+        /**
+         * {@inheritDoc} Defaults to a resolver detecting duplicate aggregate sequence numbers.
+         */
+        @Override
+        public FileEventStorageEngine.Builder persistenceExceptionResolver(
+                PersistenceExceptionResolver persistenceExceptionResolver
+        ) {
+            super.persistenceExceptionResolver(persistenceExceptionResolver);
+            return this;
+        }
+
+        @Override
+        public FileEventStorageEngine.Builder eventSerializer(Serializer eventSerializer) {
+            super.eventSerializer(eventSerializer);
+            return this;
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * @deprecated in favor of {@link #snapshotFilter(SnapshotFilter)}
+         */
+        @Override
+        @Deprecated
+        public FileEventStorageEngine.Builder snapshotFilter(Predicate<? super DomainEventData<?>> snapshotFilter) {
+            super.snapshotFilter(snapshotFilter);
+            return this;
+        }
+
+        @Override
+        public FileEventStorageEngine.Builder snapshotFilter(SnapshotFilter snapshotFilter) {
+            super.snapshotFilter(snapshotFilter);
+            return this;
+        }
+
+        @Override
+        public FileEventStorageEngine.Builder snapshotEncoder(SnapshotEncoder snapshotEncoder) {
+            super.snapshotEncoder(snapshotEncoder);
+            return this;
+        }
+
+        /**
+         * Sets the directory to store the segment files and snapshot log in. The directory is created if it does not
+         * exist.
+         *
+         * @param storageDirectory the directory to store the segment files and snapshot log in
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder storageDirectory(Path storageDirectory) {
+            assertNonNull(storageDirectory, "The storage directory may not be null");
+            this.storageDirectory = storageDirectory;
+            return this;
+        }
+
+        /**
+         * Sets the size in bytes of each segment file. The entire segment is mapped into memory. Batches of events
+         * that exceed this size are written to a larger segment of their own. Defaults to {@code 64} MiB.
+         *
+         * @param segmentSize the size in bytes of each segment file
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder segmentSize(int segmentSize) {
+            assertThat(segmentSize, size -> size > EventSegment.HEADER_SIZE,
+                       "The segment size should be larger than the segment header");
+            this.segmentSize = segmentSize;
+            return this;
+        }
+
+        /**
+         * Sets whether appended events and stored snapshots are forced to the storage device before the append
+         * returns. When disabled, the operating system decides when to write them, and events appended shortly before
+         * a power loss may be lost. Events are never lost when only the process stops. Defaults to {@code true}.
+         *
+         * @param forceOnAppend whether to force appended events and snapshots to the storage device
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder forceOnAppend(boolean forceOnAppend) {
+            this.forceOnAppend = forceOnAppend;
+            return this;
+        }
+
+        /**
+         * Initializes a {@link FileEventStorageEngine} as specified through this Builder.
+         *
+         * @return a {@link FileEventStorageEngine} as specified through this Builder
+         */
+        public FileEventStorageEngine build() {
+            return new FileEventStorageEngine(this);
+        }
+
+        @Override
+        protected void validate() throws AxonConfigurationException {
+            super.validate();
+            assertNonNull(storageDirectory, "The storage directory is a hard requirement and should be provided");
+        }
+    }
+}
@@ -0,0 +1,243 @@
+/*
+ * Copyright (c) 2010-2024. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.axonframework.eventsourcing.eventstore.file;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log holding the snapshots of a {@link FileEventStorageEngine}. The positions of the retained snapshots
+ * of each aggregate are kept in memory. Each snapshot carries the sequence number from which snapshots of the same
+ * aggregate are to be retained, which is the sequence number of the snapshot itself, unless it is stored as a delta
+ * against an older snapshot. Superseded snapshots remain in the log until the space they take up exceeds the space
+ * taken by the retained snapshots, at which point the log is compacted.
+ * <p>
+ * Records are prefixed with their length and a CRC32 checksum, like the records in an {@link EventSegment}, followed
+ * by the retention sequence number. When the log is opened, a trailing record that was not entirely written is
+ * discarded.
+ *
+ * @author agent
+ * @since 4.11.0
+ */
+final class SnapshotLog {
+
+    /**
+     * The name of the snapshot log file.
+     */
+    static final String FILE_NAME = "snapshots.log";
+
+    private static final long MINIMUM_COMPACTION_SIZE = 1024 * 1024;
+    private static final int RETENTION_SIZE = Long.BYTES;
+
+    private final Path file;
+    private final boolean force;
+    private final Map<String, NavigableMap<Long, Location>> locations = new HashMap<>();
+
+    private FileChannel channel;
+    private long size;
+    private long liveSize;
+
+    /**
+     * Opens the snapshot log in the given {@code directory}, creating it if it does not exist.
+     *
+     * @param directory the directory containing the snapshot log
+     * @param force     whether to force each snapshot to the storage device before returning
+     * @throws IOException when the log cannot be opened
+     */
+    SnapshotLog(Path directory, boolean force) throws IOException {
+        this.file = directory.resolve(FILE_NAME);
+        this.force = force;
+        open();
+    }
+
+    private void open() throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        locations.clear();
+        liveSize = 0;
+        long position = 0;
+        ByteBuffer header = ByteBuffer.allocate(EventSegment.RECORD_OVERHEAD);
+        CRC32 checksum = new CRC32();
+        while (position + EventSegment.RECORD_OVERHEAD <= channel.size()) {
+            header.clear();
+            readFully(header, position);
+            int length = header.getInt(0);
+            if (length <= 0 || position + EventSegment.RECORD_OVERHEAD + length > channel.size()) {
+                break;
+            }
+            ByteBuffer record = ByteBuffer.allocate(length);
+            readFully(record, position + EventSegment.RECORD_OVERHEAD);
+            checksum.reset();
+            checksum.update(record.array(), 0, length);
+            if (header.getInt(Integer.BYTES) != (int) checksum.getValue()) {
+                break;
+            }
+            long retainFrom = record.getLong(0);
+            record.position(RETENTION_SIZE);
+            FileDomainEventEntry snapshot = (FileDomainEventEntry) FileEventEntry.decode(null, record.slice());
+            register(snapshot.getAggregateIdentifier(), new Location(position, length, snapshot.getSequenceNumber()),
+                     retainFrom);
+            position += EventSegment.RECORD_OVERHEAD + length;
+        }
+        if (position < channel.size()) {
+            // discard the snapshot that was being written when the process stopped
+            channel.truncate(position);
+            channel.force(true);
+        }
+        size = position;
+    }
+
+    /**
+     * Stores the given {@code record} as snapshot of the aggregate with given {@code aggregateIdentifier}. Snapshots of
+     * the aggregate with a sequence number lower than the given {@code retainFrom} are discarded. The snapshot is not
+     * stored if the aggregate has a snapshot with a higher sequence number.
+     *
+     * @param aggregateIdentifier the identifier of the aggregate the snapshot was taken of
+     * @param sequenceNumber      the sequence number of the snapshot
+     * @param retainFrom          the sequence number of the oldest snapshot of the aggregate to retain
+     * @param record              the record of the snapshot
+     * @throws IOException when the snapshot cannot be written
+     */
+    synchronized void store(String aggregateIdentifier, long sequenceNumber, long retainFrom, byte[] record)
+            throws IOException {
+        NavigableMap<Long, Location> current = locations.get(aggregateIdentifier);
+        if (current != null && current.lastKey() > sequenceNumber) {
+            return;
+        }
+        int length = RETENTION_SIZE + record.length;
+        ByteBuffer buffer = ByteBuffer.allocate(EventSegment.RECORD_OVERHEAD + length);
+        buffer.putInt(length).putInt(0).putLong(retainFrom).put(record);
+        CRC32 checksum = new CRC32();
+        checksum.update(buffer.array(), EventSegment.RECORD_OVERHEAD, length);
+        buffer.putInt(Integer.BYTES, (int) checksum.getValue());
+        buffer.flip();
+        long position = size;
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, position + buffer.position());
+        }
+        if (force) {
+            channel.force(false);
+        }
+        size += EventSegment.RECORD_OVERHEAD + length;
+        register(aggregateIdentifier, new Location(position, length, sequenceNumber), retainFrom);
+        long garbage = size - liveSize;
+        if (garbage > MINIMUM_COMPACTION_SIZE && garbage > liveSize) {
+            compact();
+        }
+    }
+
+    /**
+     * Reads the retained snapshots of the aggregate with given {@code aggregateIdentifier}, in descending order of
+     * their sequence number.
+     *
+     * @param aggregateIdentifier the identifier of the aggregate to read the snapshots of
+     * @return the retained snapshots of the aggregate, which is empty if the aggregate has no snapshot
+     * @throws IOException when a snapshot cannot be read
+     */
+    synchronized List<FileEventEntry> read(String aggregateIdentifier) throws IOException {
+        NavigableMap<Long, Location> retained = locations.get(aggregateIdentifier);
+        List<FileEventEntry> snapshots = new ArrayList<>();
+        if (retained == null) {
+            return snapshots;
+        }
+        for (Location location : retained.descendingMap().values()) {
+            ByteBuffer record = ByteBuffer.allocate(location.length);
+            readFully(record, location.position + EventSegment.RECORD_OVERHEAD);
+            record.position(RETENTION_SIZE);
+            snapshots.add(FileEventEntry.decode(null, record.slice()));
+        }
+        return snapshots;
+    }
+
+    /**
+     * Closes the snapshot log.
+     *
+     * @throws IOException when the log cannot be closed
+     */
+    synchronized void close() throws IOException {
+        channel.close();
+    }
+
+    private void register(String aggregateIdentifier, Location location, long retainFrom) {
+        NavigableMap<Long, Location> retained = locations.computeIfAbsent(aggregateIdentifier, id -> new TreeMap<>());
+        Location previous = retained.put(location.sequenceNumber, location);
+        if (previous != null) {
+            liveSize -= EventSegment.RECORD_OVERHEAD + previous.length;
+        }
+        liveSize += EventSegment.RECORD_OVERHEAD + location.length;
+        NavigableMap<Long, Location> discarded = retained.headMap(Math.min(retainFrom, location.sequenceNumber), false);
+        for (Location superseded : discarded.values()) {
+            liveSize -= EventSegment.RECORD_OVERHEAD + superseded.length;
+        }
+        discarded.clear();
+    }
+
+    private void compact() throws IOException {
+        Path compacted = file.resolveSibling(FILE_NAME + ".tmp");
+        try (FileChannel target = FileChannel.open(compacted, StandardOpenOption.CREATE,
+                                                   StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            for (NavigableMap<Long, Location> retained : locations.values()) {
+                for (Location location : retained.values()) {
+                    long remaining = EventSegment.RECORD_OVERHEAD + location.length;
+                    long position = location.position;
+                    while (remaining > 0) {
+                        long transferred = channel.transferTo(position, remaining, target);
+                        position += transferred;
+                        remaining -= transferred;
+                    }
+                }
+            }
+            target.force(true);
+        }
+        channel.close();
+        Files.move(compacted, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        open();
+    }
+
+    private void readFully(ByteBuffer target, long position) throws IOException {
+        while (target.hasRemaining()) {
+            if (channel.read(target, position + target.position()) < 0) {
+                throw new IOException("Unexpected end of snapshot log");
+            }
+        }
+    }
+
+    private static final class Location {
+
+        private final long position;
+        private final int length;
+        private final long sequenceNumber;
+
+        private Location(long position, int length, long sequenceNumber) {
+            this.position = position;
+            this.length = length;
+            this.sequenceNumber = sequenceNumber;
+        }
+    }
+}
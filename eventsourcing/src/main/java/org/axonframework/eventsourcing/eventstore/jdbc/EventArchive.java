@@ -0,0 +1,297 @@
+/*
+ * Copyright (c) 2010-2024. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.axonframework.eventsourcing.eventstore.jdbc;
+
+import org.axonframework.eventhandling.DomainEventData;
+import org.axonframework.eventhandling.GapAwareTrackingToken;
+import org.axonframework.eventhandling.TrackedEventData;
+import org.axonframework.eventhandling.TrackingToken;
+import org.axonframework.eventsourcing.eventstore.EventStoreException;
+import org.axonframework.serialization.Converter;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Collectors;
+
+import static java.lang.String.format;
+
+/**
+ * An archival tier for the {@link JdbcEventStorageEngine}, holding cold ranges of the event table in compressed files
+ * on local disk.
+ * <p>
+ * The archive consists of segments, each of which covers a contiguous range of global indexes. The ranges of
+ * consecutive segments are adjacent, so the archive as a whole covers all global indexes from the start of the first
+ * segment up to the end of the last one. Each read only touches the segments, and the blocks within them, that contain
+ * the requested events. Segments are added by a {@link JdbcEventArchiver} and are never modified afterwards.
+ * <p>
+ * When configured on a {@link JdbcEventStorageEngine}, the engine reads archived events from this archive. Streams
+ * remain available for replays, and aggregates with archived events can still be loaded, although loading them
+ * requires a lookup in the index of each segment. Aggregates with archived events should therefore preferably be
+ * snapshotted.
+ *
+ * @author agent
+ * @since 4.11.0
+ */
+public class EventArchive {
+
+    private final Path directory;
+    private final ConcurrentSkipListMap<Long, EventArchiveSegment> segments = new ConcurrentSkipListMap<>();
+
+    /**
+     * Initializes an archive storing its segments in the given {@code directory}. The directory is created if it does
+     * not exist, and any existing segments in it are opened.
+     *
+     * @param directory the directory to store the segments of the archive in
+     * @throws EventStoreException when the directory cannot be created, or contains invalid segments
+     */
+    public EventArchive(Path directory) {
+        this.directory = directory;
+        refresh();
+    }
+
+    /**
+     * Opens any segments added to the directory of this archive since it was opened or last refreshed. This allows
+     * multiple nodes to share an archive directory, while only one of them runs the {@link JdbcEventArchiver}. The
+     * {@link JdbcEventStorageEngine} refreshes its archive when it finds events missing from the event table.
+     *
+     * @throws EventStoreException when the directory cannot be read, or contains invalid segments
+     */
+    public synchronized void refresh() {
+        NavigableMap<Long, EventArchiveSegment> found = new TreeMap<>(segments);
+        Set<Path> known = found.values().stream().map(EventArchiveSegment::file).collect(Collectors.toSet());
+        try {
+            Files.createDirectories(directory);
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+                for (Path file : files) {
+                    String name = file.getFileName().toString();
+                    if (name.endsWith(EventArchiveSegment.FILE_SUFFIX) && !known.contains(file)) {
+                        EventArchiveSegment segment = EventArchiveSegment.open(file);
+                        found.put(segment.rangeStart(), segment);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new EventStoreException(format("Failed to open event archive in [%s]", directory), e);
+        }
+        EventArchiveSegment previous = null;
+        for (EventArchiveSegment segment : found.values()) {
+            if (previous != null && segment.rangeStart() != previous.rangeEnd() + 1) {
+                throw new EventStoreException(format("Event archive in [%s] is missing the range [%d-%d]",
+                                                     directory, previous.rangeEnd() + 1, segment.rangeStart() - 1));
+            }
+            previous = segment;
+        }
+        segments.putAll(found);
+    }
+
+    /**
+     * Indicates whether this archive contains any segments.
+     *
+     * @return {@code true} if no ranges have been archived yet, {@code false} otherwise
+     */
+    public boolean isEmpty() {
+        return segments.isEmpty();
+    }
+
+    /**
+     * Returns the highest global index covered by this archive, or an empty Optional if nothing has been archived yet.
+     * All events up to and including this index are available from the archive.
+     *
+     * @return the highest global index covered by this archive, if any
+     */
+    public Optional<Long> lastArchivedIndex() {
+        Map.Entry<Long, EventArchiveSegment> last = segments.lastEntry();
+        return last == null ? Optional.empty() : Optional.of(last.getValue().rangeEnd());
+    }
+
+    /**
+     * Returns the lowest global index covered by this archive, or an empty Optional if nothing has been archived yet.
+     *
+     * @return the lowest global index covered by this archive, if any
+     */
+    Optional<Long> firstArchivedIndex() {
+        Map.Entry<Long, EventArchiveSegment> first = segments.firstEntry();
+        return first == null ? Optional.empty() : Optional.of(first.getValue().rangeStart());
+    }
+
+    /**
+     * Returns the number of segments in this archive. As segments are only ever added, a change in this number
+     * indicates that a range has been archived in the meantime.
+     *
+     * @return the number of segments in this archive
+     */
+    int segmentCount() {
+        return segments.size();
+    }
+
+    /**
+     * Reads the next batch of archived events following the given {@code lastToken}. The batch consists of the
+     * remaining events of the compressed block containing the next event. An empty list is returned when the archive
+     * contains no events after the given token.
+     *
+     * @param lastToken the token of the last event read, or {@code null} to read from the start of the archive
+     * @return the next batch of archived events
+     */
+    List<TrackedEventData<?>> readEvents(TrackingToken lastToken) {
+        if (segments.isEmpty()) {
+            return Collections.emptyList();
+        }
+        long lastIndex = lastToken == null ? Long.MIN_VALUE : ((GapAwareTrackingToken) lastToken).getIndex();
+        Long firstSegment = lastIndex == Long.MIN_VALUE ? null : segments.floorKey(lastIndex + 1);
+        NavigableMap<Long, EventArchiveSegment> candidates =
+                firstSegment == null ? segments : segments.tailMap(firstSegment, true);
+        for (EventArchiveSegment segment : candidates.values()) {
+            try {
+                List<TrackedEventData<?>> batch = segment.readBlockAfter(lastIndex);
+                if (!batch.isEmpty()) {
+                    return batch;
+                }
+            } catch (IOException e) {
+                throw new EventStoreException(format("Failed to read events from archive segment [%s]",
+                                                     segment.file()), e);
+            }
+        }
+        return Collections.emptyList();
+    }
+
+    /**
+     * Reads the archived events of the aggregate with given {@code aggregateIdentifier}, starting at the given
+     * {@code firstSequenceNumber}.
+     *
+     * @param aggregateIdentifier the identifier of the aggregate to read events for
+     * @param firstSequenceNumber the lowest sequence number to return
+     * @return the archived events of the aggregate, ordered by sequence number
+     */
+    List<DomainEventData<?>> readEvents(String aggregateIdentifier, long firstSequenceNumber) {
+        List<DomainEventData<?>> result = new ArrayList<>();
+        for (EventArchiveSegment segment : segments.values()) {
+            try {
+                result.addAll(segment.readAggregate(aggregateIdentifier, firstSequenceNumber));
+            } catch (IOException e) {
+                throw new EventStoreException(
+                        format("Failed to read events for aggregate [%s] from archive segment [%s]",
+                               aggregateIdentifier, segment.file()), e
+                );
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the sequence number of the last archived event of the aggregate with given
+     * {@code aggregateIdentifier}, or an empty Optional if the archive contains no events of that aggregate.
+     *
+     * @param aggregateIdentifier the identifier of the aggregate to find the last sequence number for
+     * @return the sequence number of the last archived event of the aggregate, if any
+     */
+    Optional<Long> lastSequenceNumberFor(String aggregateIdentifier) {
+        for (EventArchiveSegment segment : segments.descendingMap().values()) {
+            List<DomainEventData<?>> events;
+            try {
+                events = segment.readAggregate(aggregateIdentifier, 0);
+            } catch (IOException e) {
+                throw new EventStoreException(
+                        format("Failed to read events for aggregate [%s] from archive segment [%s]",
+                               aggregateIdentifier, segment.file()), e
+                );
+            }
+            if (!events.isEmpty()) {
+                return Optional.of(events.get(events.size() - 1).getSequenceNumber());
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Returns the global index of the first archived event, or an empty Optional if the archive contains no events.
+     *
+     * @return the global index of the first archived event, if any
+     */
+    Optional<Long> firstEventIndex() {
+        return segments.values().stream()
+                       .filter(segment -> segment.eventCount() > 0)
+                       .findFirst()
+                       .map(EventArchiveSegment::firstEventIndex);
+    }
+
+    /**
+     * Returns the global index of the first archived event with a timestamp at or after the given {@code dateTime}, or
+     * an empty Optional if the archive contains no such event.
+     *
+     * @param dateTime the timestamp to find the first event for
+     * @return the global index of the first archived event at or after {@code dateTime}, if any
+     */
+    Optional<Long> firstEventIndexAt(Instant dateTime) {
+        for (EventArchiveSegment segment : segments.values()) {
+            if (segment.eventCount() > 0 && !segment.lastTimestamp().isBefore(dateTime)) {
+                try {
+                    return Optional.ofNullable(segment.firstIndexAt(dateTime));
+                } catch (IOException e) {
+                    throw new EventStoreException(format("Failed to read events from archive segment [%s]",
+                                                         segment.file()), e);
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Archives the given {@code events} in a new segment, covering the global indexes from {@code rangeStart} up to
+     * and including {@code rangeEnd}. The range must directly follow the range of the last segment in this archive.
+     *
+     * @param rangeStart the lowest global index covered by the segment
+     * @param rangeEnd   the highest global index covered by the segment
+     * @param events     the events in the range, in order of their global index
+     * @param blockSize  the number of events per compressed block
+     * @param converter  the converter used to convert serialized payloads and meta data to bytes
+     * @throws EventStoreException when writing the segment fails
+     */
+    synchronized void append(long rangeStart,
+                             long rangeEnd,
+                             Iterator<? extends TrackedEventData<?>> events,
+                             int blockSize,
+                             Converter converter) {
+        Optional<Long> lastArchivedIndex = lastArchivedIndex();
+        if (lastArchivedIndex.isPresent() && rangeStart != lastArchivedIndex.get() + 1) {
+            throw new IllegalArgumentException(format("Range [%d-%d] does not follow the last archived index [%d]",
+                                                      rangeStart, rangeEnd, lastArchivedIndex.get()));
+        }
+        Path file = directory.resolve(format("%019d-%019d%s", rangeStart, rangeEnd, EventArchiveSegment.FILE_SUFFIX));
+        try {
+            EventArchiveSegment segment =
+                    EventArchiveSegment.write(file, rangeStart, rangeEnd, events, blockSize, converter);
+            segments.put(rangeStart, segment);
+        } catch (IOException e) {
+            throw new EventStoreException(format("Failed to archive events in range [%d-%d]", rangeStart, rangeEnd),
+                                          e);
+        }
+    }
+}
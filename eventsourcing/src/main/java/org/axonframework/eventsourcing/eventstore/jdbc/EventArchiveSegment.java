@@ -0,0 +1,556 @@
+/*
+ * Copyright (c) 2010-2024. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.axonframework.eventsourcing.eventstore.jdbc;
+
+import org.axonframework.eventhandling.DomainEventData;
+import org.axonframework.eventhandling.GapAwareTrackingToken;
+import org.axonframework.eventhandling.GenericDomainEventEntry;
+import org.axonframework.eventhandling.TrackedDomainEventData;
+import org.axonframework.eventhandling.TrackedEventData;
+import org.axonframework.eventhandling.TrackingToken;
+import org.axonframework.serialization.Converter;
+import org.axonframework.serialization.SerializedObject;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A single file of an {@link EventArchive}, holding the events of a contiguous range of global indexes.
+ * <p>
+ * Events are stored in blocks that are compressed individually, so that a stream only needs to decompress the blocks
+ * it reads. The footer of the file contains a table of these blocks and an index of the aggregates that have events in
+ * each block. The footer is memory mapped, so that locating the blocks touched by a read does not require any heap
+ * memory.
+ *
+ * @author agent
+ * @since 4.11.0
+ */
+final class EventArchiveSegment {
+
+    static final String FILE_SUFFIX = ".segment";
+
+    private static final int MAGIC = 0x41584553;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 2 * Integer.BYTES;
+    private static final int TRAILER_SIZE = Long.BYTES + Integer.BYTES;
+    private static final int FOOTER_FIXED_SIZE = 5 * Long.BYTES + 2 * Integer.BYTES;
+    private static final int BLOCK_ENTRY_SIZE = 3 * Long.BYTES + Integer.BYTES;
+    private static final int INDEX_ENTRY_SIZE = Long.BYTES + Integer.BYTES;
+
+    private final Path file;
+    private final ByteBuffer footer;
+    private final long rangeStart;
+    private final long rangeEnd;
+    private final long eventCount;
+    private final long firstTimestamp;
+    private final long lastTimestamp;
+    private final int blockCount;
+    private final int indexSize;
+
+    private EventArchiveSegment(Path file, ByteBuffer footer) {
+        this.file = file;
+        this.footer = footer;
+        this.rangeStart = footer.getLong(0);
+        this.rangeEnd = footer.getLong(Long.BYTES);
+        this.eventCount = footer.getLong(2 * Long.BYTES);
+        this.firstTimestamp = footer.getLong(3 * Long.BYTES);
+        this.lastTimestamp = footer.getLong(4 * Long.BYTES);
+        this.blockCount = footer.getInt(5 * Long.BYTES);
+        this.indexSize = footer.getInt(5 * Long.BYTES + Integer.BYTES);
+    }
+
+    /**
+     * Opens the segment stored in the given {@code file}, mapping its footer into memory.
+     *
+     * @param file the segment file to open
+     * @return the opened segment
+     * @throws IOException when the file cannot be read or is not a valid segment file
+     */
+    static EventArchiveSegment open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE + FOOTER_FIXED_SIZE + TRAILER_SIZE) {
+                throw new IOException("File [" + file + "] is too small to be an event archive segment");
+            }
+            ByteBuffer header = readFully(channel, 0, HEADER_SIZE);
+            ByteBuffer trailer = readFully(channel, size - TRAILER_SIZE, TRAILER_SIZE);
+            if (header.getInt(0) != MAGIC || trailer.getInt(Long.BYTES) != MAGIC) {
+                throw new IOException("File [" + file + "] is not an event archive segment");
+            }
+            if (header.getInt(Integer.BYTES) != VERSION) {
+                throw new IOException("File [" + file + "] has unsupported segment version "
+                                              + header.getInt(Integer.BYTES));
+            }
+            long footerOffset = trailer.getLong(0);
+            ByteBuffer footer = channel.map(FileChannel.MapMode.READ_ONLY,
+                                            footerOffset,
+                                            size - TRAILER_SIZE - footerOffset);
+            return new EventArchiveSegment(file, footer);
+        }
+    }
+
+    /**
+     * Writes the given {@code events} to a new segment file covering the global indexes from {@code rangeStart} up to
+     * and including {@code rangeEnd}. The segment is written to a temporary file first, which is moved to the given
+     * {@code file} once complete.
+     *
+     * @param file       the file to write the segment to
+     * @param rangeStart the lowest global index covered by the segment
+     * @param rangeEnd   the highest global index covered by the segment
+     * @param events     the events to write, in order of their global index
+     * @param blockSize  the number of events per compressed block
+     * @param converter  the converter used to convert serialized payloads and meta data to bytes
+     * @return the written segment
+     * @throws IOException when writing the segment fails
+     */
+    static EventArchiveSegment write(Path file,
+                                     long rangeStart,
+                                     long rangeEnd,
+                                     Iterator<? extends TrackedEventData<?>> events,
+                                     int blockSize,
+                                     Converter converter) throws IOException {
+        Path temporaryFile = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporaryFile,
+                                                    StandardOpenOption.CREATE,
+                                                    StandardOpenOption.TRUNCATE_EXISTING,
+                                                    StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(VERSION);
+            header.flip();
+            writeFully(channel, header);
+
+            List<long[]> blocks = new ArrayList<>();
+            List<IndexEntry> index = new ArrayList<>();
+            long eventCount = 0;
+            long firstTimestamp = 0;
+            long lastTimestamp = 0;
+            while (events.hasNext()) {
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                Set<String> aggregates = new HashSet<>();
+                long firstIndex = -1;
+                long lastIndex = -1;
+                try (DataOutputStream out = new DataOutputStream(new GZIPOutputStream(bytes))) {
+                    for (int i = 0; i < blockSize && events.hasNext(); i++) {
+                        TrackedEventData<?> event = events.next();
+                        long globalIndex = globalIndexOf(event.trackingToken());
+                        if (firstIndex < 0) {
+                            firstIndex = globalIndex;
+                        }
+                        lastIndex = globalIndex;
+                        long timestamp = event.getTimestamp().toEpochMilli();
+                        if (eventCount++ == 0) {
+                            firstTimestamp = timestamp;
+                        }
+                        lastTimestamp = timestamp;
+                        String aggregateIdentifier = writeRecord(out, globalIndex, event, converter);
+                        if (aggregateIdentifier != null) {
+                            aggregates.add(aggregateIdentifier);
+                        }
+                    }
+                    out.writeByte(0);
+                }
+                int blockNumber = blocks.size();
+                aggregates.forEach(aggregate -> index.add(new IndexEntry(hash(aggregate), blockNumber)));
+                blocks.add(new long[]{firstIndex, lastIndex, channel.position(), bytes.size()});
+                writeFully(channel, ByteBuffer.wrap(bytes.toByteArray()));
+            }
+            index.sort(Comparator.comparingLong((IndexEntry e) -> e.hash).thenComparingInt(e -> e.block));
+
+            long footerOffset = channel.position();
+            ByteBuffer footer = ByteBuffer.allocate(FOOTER_FIXED_SIZE
+                                                            + blocks.size() * BLOCK_ENTRY_SIZE
+                                                            + index.size() * INDEX_ENTRY_SIZE
+                                                            + TRAILER_SIZE);
+            footer.putLong(rangeStart).putLong(rangeEnd).putLong(eventCount)
+                  .putLong(firstTimestamp).putLong(lastTimestamp)
+                  .putInt(blocks.size()).putInt(index.size());
+            for (long[] block : blocks) {
+                footer.putLong(block[0]).putLong(block[1]).putLong(block[2]).putInt((int) block[3]);
+            }
+            for (IndexEntry entry : index) {
+                footer.putLong(entry.hash).putInt(entry.block);
+            }
+            footer.putLong(footerOffset).putInt(MAGIC);
+            footer.flip();
+            writeFully(channel, footer);
+            channel.force(true);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temporaryFile);
+            throw e;
+        }
+        Files.move(temporaryFile, file, StandardCopyOption.ATOMIC_MOVE);
+        return open(file);
+    }
+
+    private static String writeRecord(DataOutputStream out,
+                                      long globalIndex,
+                                      TrackedEventData<?> event,
+                                      Converter converter) throws IOException {
+        String type = null;
+        String aggregateIdentifier = null;
+        long sequenceNumber = 0;
+        if (event instanceof DomainEventData) {
+            DomainEventData<?> domainEvent = (DomainEventData<?>) event;
+            type = domainEvent.getType();
+            aggregateIdentifier = domainEvent.getAggregateIdentifier();
+            sequenceNumber = domainEvent.getSequenceNumber();
+        }
+        out.writeByte(1);
+        out.writeLong(globalIndex);
+        out.writeUTF(event.getTimestamp().toString());
+        writeNullable(out, type);
+        writeNullable(out, aggregateIdentifier);
+        out.writeLong(sequenceNumber);
+        out.writeUTF(event.getEventIdentifier());
+        out.writeUTF(event.getPayload().getType().getName());
+        writeNullable(out, event.getPayload().getType().getRevision());
+        writeBytes(out, event.getPayload(), converter);
+        writeBytes(out, event.getMetaData(), converter);
+        return aggregateIdentifier;
+    }
+
+    private static void writeNullable(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static void writeBytes(DataOutputStream out,
+                                   SerializedObject<?> serializedObject,
+                                   Converter converter) throws IOException {
+        if (serializedObject == null || serializedObject.getData() == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] data = converter.convert(serializedObject, byte[].class).getData();
+        out.writeInt(data.length);
+        out.write(data);
+    }
+
+    private static long globalIndexOf(TrackingToken token) {
+        if (!(token instanceof GapAwareTrackingToken)) {
+            throw new IllegalArgumentException(
+                    "Only events tracked by a GapAwareTrackingToken can be archived, got [" + token + "]"
+            );
+        }
+        return ((GapAwareTrackingToken) token).getIndex();
+    }
+
+    /**
+     * Returns the lowest global index covered by this segment.
+     *
+     * @return the lowest global index covered by this segment
+     */
+    long rangeStart() {
+        return rangeStart;
+    }
+
+    /**
+     * Returns the highest global index covered by this segment.
+     *
+     * @return the highest global index covered by this segment
+     */
+    long rangeEnd() {
+        return rangeEnd;
+    }
+
+    /**
+     * Returns the number of events in this segment.
+     *
+     * @return the number of events in this segment
+     */
+    long eventCount() {
+        return eventCount;
+    }
+
+    /**
+     * Returns the global index of the first event in this segment. Must only be invoked on segments containing events.
+     *
+     * @return the global index of the first event in this segment
+     */
+    long firstEventIndex() {
+        return blockFirstIndex(0);
+    }
+
+    /**
+     * Returns the timestamp of the last event in this segment, or {@link Instant#EPOCH} if it has no events.
+     *
+     * @return the timestamp of the last event in this segment
+     */
+    Instant lastTimestamp() {
+        return Instant.ofEpochMilli(lastTimestamp);
+    }
+
+    /**
+     * Returns the timestamp of the first event in this segment, or {@link Instant#EPOCH} if it has no events.
+     *
+     * @return the timestamp of the first event in this segment
+     */
+    Instant firstTimestamp() {
+        return Instant.ofEpochMilli(firstTimestamp);
+    }
+
+    /**
+     * Returns the path of the file backing this segment.
+     *
+     * @return the path of the file backing this segment
+     */
+    Path file() {
+        return file;
+    }
+
+    /**
+     * Reads the events of the block containing the first event with a global index higher than the given
+     * {@code lastIndex}. Only the events following {@code lastIndex} are returned. An empty list is returned when this
+     * segment has no events after {@code lastIndex}.
+     *
+     * @param lastIndex the global index of the last event read
+     * @return the events following {@code lastIndex} in the block containing the next event
+     * @throws IOException when reading the block fails
+     */
+    List<TrackedEventData<?>> readBlockAfter(long lastIndex) throws IOException {
+        int low = 0;
+        int high = blockCount - 1;
+        int found = -1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (blockLastIndex(middle) > lastIndex) {
+                found = middle;
+                high = middle - 1;
+            } else {
+                low = middle + 1;
+            }
+        }
+        if (found < 0) {
+            return Collections.emptyList();
+        }
+        List<TrackedEventData<?>> result = new ArrayList<>();
+        try (DataInputStream in = openBlock(found)) {
+            Record record;
+            while ((record = Record.read(in)) != null) {
+                if (record.globalIndex > lastIndex) {
+                    result.add(new TrackedDomainEventData<>(
+                            GapAwareTrackingToken.newInstance(record.globalIndex, Collections.emptySortedSet()),
+                            record.entry
+                    ));
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Reads the events of the aggregate with given {@code aggregateIdentifier}, starting at the given
+     * {@code firstSequenceNumber}. Only the blocks that contain events of the aggregate according to the index of this
+     * segment are decompressed.
+     *
+     * @param aggregateIdentifier the identifier of the aggregate to read events for
+     * @param firstSequenceNumber the lowest sequence number to return
+     * @return the events of the aggregate in this segment, ordered by sequence number
+     * @throws IOException when reading a block fails
+     */
+    List<DomainEventData<?>> readAggregate(String aggregateIdentifier, long firstSequenceNumber) throws IOException {
+        List<DomainEventData<?>> result = new ArrayList<>();
+        for (int block : blocksOf(aggregateIdentifier)) {
+            try (DataInputStream in = openBlock(block)) {
+                Record record;
+                while ((record = Record.read(in)) != null) {
+                    if (aggregateIdentifier.equals(record.entry.getAggregateIdentifier())
+                            && record.entry.getSequenceNumber() >= firstSequenceNumber) {
+                        result.add(record.entry);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the global index of the first event with a timestamp at or after the given {@code dateTime}, or
+     * {@code null} if this segment contains no such event.
+     *
+     * @param dateTime the timestamp to find the first event for
+     * @return the global index of the first event at or after {@code dateTime}, or {@code null}
+     * @throws IOException when reading a block fails
+     */
+    Long firstIndexAt(Instant dateTime) throws IOException {
+        for (int block = 0; block < blockCount; block++) {
+            try (DataInputStream in = openBlock(block)) {
+                Record record;
+                while ((record = Record.read(in)) != null) {
+                    if (!record.entry.getTimestamp().isBefore(dateTime)) {
+                        return record.globalIndex;
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    private List<Integer> blocksOf(String aggregateIdentifier) {
+        long hash = hash(aggregateIdentifier);
+        int low = 0;
+        int high = indexSize - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (indexHash(middle) < hash) {
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        List<Integer> blocks = new ArrayList<>();
+        for (int i = low; i < indexSize && indexHash(i) == hash; i++) {
+            blocks.add(footer.getInt(indexPosition(i) + Long.BYTES));
+        }
+        return blocks;
+    }
+
+    private DataInputStream openBlock(int block) throws IOException {
+        int position = blockPosition(block);
+        long offset = footer.getLong(position + 2 * Long.BYTES);
+        int length = footer.getInt(position + 3 * Long.BYTES);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer compressed = readFully(channel, offset, length);
+            return new DataInputStream(new GZIPInputStream(new ByteArrayInputStream(compressed.array())));
+        }
+    }
+
+    private long blockFirstIndex(int block) {
+        return footer.getLong(blockPosition(block));
+    }
+
+    private long blockLastIndex(int block) {
+        return footer.getLong(blockPosition(block) + Long.BYTES);
+    }
+
+    private int blockPosition(int block) {
+        return FOOTER_FIXED_SIZE + block * BLOCK_ENTRY_SIZE;
+    }
+
+    private long indexHash(int entry) {
+        return footer.getLong(indexPosition(entry));
+    }
+
+    private int indexPosition(int entry) {
+        return FOOTER_FIXED_SIZE + blockCount * BLOCK_ENTRY_SIZE + entry * INDEX_ENTRY_SIZE;
+    }
+
+    private static long hash(String value) {
+        // 64-bit FNV-1a, which makes collisions between aggregates in the same segment negligible
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    private static ByteBuffer readFully(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("Unexpected end of event archive segment");
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static final class IndexEntry {
+
+        private final long hash;
+        private final int block;
+
+        private IndexEntry(long hash, int block) {
+            this.hash = hash;
+            this.block = block;
+        }
+    }
+
+    private static final class Record {
+
+        private final long globalIndex;
+        private final GenericDomainEventEntry<byte[]> entry;
+
+        private Record(long globalIndex, GenericDomainEventEntry<byte[]> entry) {
+            this.globalIndex = globalIndex;
+            this.entry = entry;
+        }
+
+        private static Record read(DataInputStream in) throws IOException {
+            if (in.readByte() == 0) {
+                return null;
+            }
+            long globalIndex = in.readLong();
+            String timestamp = in.readUTF();
+            String type = readNullable(in);
+            String aggregateIdentifier = readNullable(in);
+            long sequenceNumber = in.readLong();
+            String eventIdentifier = in.readUTF();
+            String payloadType = in.readUTF();
+            String payloadRevision = readNullable(in);
+            byte[] payload = readBytes(in);
+            byte[] metaData = readBytes(in);
+            return new Record(globalIndex, new GenericDomainEventEntry<>(
+                    type, aggregateIdentifier, sequenceNumber, eventIdentifier, timestamp,
+                    payloadType, payloadRevision, payload, metaData
+            ));
+        }
+
+        private static String readNullable(DataInputStream in) throws IOException {
+            return in.readBoolean() ? in.readUTF() : null;
+        }
+
+        private static byte[] readBytes(DataInputStream in) throws IOException {
+            int length = in.readInt();
+            if (length < 0) {
+                return null;
+            }
+            byte[] data = new byte[length];
+            in.readFully(data);
+            return data;
+        }
+    }
+}
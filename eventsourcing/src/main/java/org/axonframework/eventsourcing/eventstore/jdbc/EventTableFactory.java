@@ -49,4 +49,21 @@ public interface EventTableFactory {
      * @throws SQLException when an exception occurs while creating the prepared statement
      */
     PreparedStatement createSnapshotEventTable(Connection connection, EventSchema schema) throws SQLException;
+
+    /**
+     * Creates a PreparedStatement that allows for the creation of an index on the global index, payload type and
+     * timestamp of the Event entries. The index covers the queries used to omit events of ignored payload types.
+     *
+     * @param connection The connection to create the PreparedStatement for
+     * @param schema     The event schema with the name of the table and its columns
+     * @return The statement to create the index, ready to be executed
+     *
+     * @throws SQLException when an exception occurs while creating the prepared statement
+     */
+    default PreparedStatement createPayloadTypeIndex(Connection connection, EventSchema schema) throws SQLException {
+        String sql = "CREATE INDEX " + schema.domainEventTable() + "_ptype ON " + schema.domainEventTable()
+                + " (" + schema.globalIndexColumn() + ", " + schema.payloadTypeColumn() + ", "
+                + schema.timestampColumn() + ")";
+        return connection.prepareStatement(sql);
+    }
 }
@@ -0,0 +1,339 @@
+/*
+ * Copyright (c) 2010-2024. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.axonframework.eventsourcing.eventstore.jdbc;
+
+import org.axonframework.common.AxonConfigurationException;
+import org.axonframework.eventhandling.GapAwareTrackingToken;
+import org.axonframework.eventhandling.GenericEventMessage;
+import org.axonframework.eventhandling.TrackedEventData;
+import org.axonframework.eventhandling.TrackingToken;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import javax.annotation.Nonnull;
+
+import static org.axonframework.common.BuilderUtils.assertNonNull;
+import static org.axonframework.common.BuilderUtils.assertStrictPositive;
+import static org.axonframework.common.BuilderUtils.assertThat;
+
+/**
+ * Moves cold ranges of the event table of a {@link JdbcEventStorageEngine} to its {@link EventArchive}, and purges
+ * archived ranges from the event table, keeping the table and its indexes small.
+ * <p>
+ * The event table is divided in ranges of {@link Builder#segmentSize(long) segmentSize} global indexes. A range is
+ * archived once it is closed and all its events are older than the {@link Builder#minimumAge(Duration) minimumAge}.
+ * Archiving and purging are separate steps, allowing archived segments to be backed up, or picked up by other nodes
+ * sharing the archive directory, before the events are removed from the table. Both are expected to be invoked
+ * periodically, for example by a scheduled task.
+ *
+ * @author agent
+ * @since 4.11.0
+ */
+public class JdbcEventArchiver {
+
+    private static final Logger logger = LoggerFactory.getLogger(JdbcEventArchiver.class);
+
+    private final JdbcEventStorageEngine storageEngine;
+    private final EventArchive eventArchive;
+    private final long segmentSize;
+    private final int blockSize;
+    private final Duration minimumAge;
+    private final int purgeBatchSize;
+
+    private long purgedUpTo = Long.MIN_VALUE;
+
+    /**
+     * Instantiate a {@link JdbcEventArchiver} based on the fields contained in the {@link Builder}.
+     * <p>
+     * Will assert that the {@link JdbcEventStorageEngine} is not {@code null} and has an {@link EventArchive}
+     * configured, and will throw an {@link AxonConfigurationException} otherwise.
+     *
+     * @param builder the {@link Builder} used to instantiate a {@link JdbcEventArchiver} instance
+     */
+    protected JdbcEventArchiver(Builder builder) {
+        builder.validate();
+        this.storageEngine = builder.storageEngine;
+        this.eventArchive = builder.storageEngine.eventArchive();
+        this.segmentSize = builder.segmentSize;
+        this.blockSize = builder.blockSize;
+        this.minimumAge = builder.minimumAge;
+        this.purgeBatchSize = builder.purgeBatchSize;
+    }
+
+    /**
+     * Instantiate a Builder to be able to create a {@link JdbcEventArchiver}.
+     * <p>
+     * The segment size defaults to {@code 1000000} global indexes, the block size to {@code 1000} events, the minimum
+     * age to {@code 30} days and the purge batch size to {@code 10000} global indexes. The
+     * {@link JdbcEventStorageEngine} is a <b>hard requirement</b> and as such should be provided.
+     *
+     * @return a Builder to be able to create a {@link JdbcEventArchiver}
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Archives all ranges of the event table that are closed and older than the minimum age. The events remain in the
+     * event table until they are {@link #purge() purged}.
+     *
+     * @return the number of archived segments
+     */
+    public synchronized int archive() {
+        int archived = 0;
+        Optional<long[]> range;
+        while ((range = nextColdRange()).isPresent()) {
+            long rangeStart = range.get()[0];
+            long rangeEnd = range.get()[1];
+            eventArchive.append(rangeStart,
+                                rangeEnd,
+                                new RangeIterator(rangeStart, rangeEnd),
+                                blockSize,
+                                storageEngine.getEventSerializer().getConverter());
+            logger.info("Archived events in range [{}-{}]", rangeStart, rangeEnd);
+            archived++;
+        }
+        return archived;
+    }
+
+    /**
+     * Deletes the events in all archived ranges from the event table. Ranges preceding the first event in the event
+     * table are not purged again, so purging resumes where it left off after a restart.
+     *
+     * @return the number of deleted events
+     */
+    public synchronized long purge() {
+        Optional<Long> lastArchivedIndex = eventArchive.lastArchivedIndex();
+        Optional<Long> firstArchivedIndex = eventArchive.firstArchivedIndex();
+        if (!lastArchivedIndex.isPresent() || !firstArchivedIndex.isPresent()) {
+            return 0;
+        }
+        if (purgedUpTo == Long.MIN_VALUE) {
+            Long tableTailIndex = storageEngine.tableTailIndex();
+            purgedUpTo = tableTailIndex == null ? lastArchivedIndex.get() : tableTailIndex;
+        }
+        long deleted = 0;
+        long start = Math.max(firstArchivedIndex.get(), purgedUpTo + 1);
+        while (start <= lastArchivedIndex.get()) {
+            long end = Math.min(lastArchivedIndex.get(), start + purgeBatchSize - 1);
+            deleted += storageEngine.purgeEvents(start, end);
+            purgedUpTo = end;
+            start = end + 1;
+        }
+        if (deleted > 0) {
+            logger.info("Purged {} archived events up to global index [{}]", deleted, lastArchivedIndex.get());
+        }
+        return deleted;
+    }
+
+    private Optional<long[]> nextColdRange() {
+        long rangeStart;
+        Optional<Long> lastArchivedIndex = eventArchive.lastArchivedIndex();
+        if (lastArchivedIndex.isPresent()) {
+            rangeStart = lastArchivedIndex.get() + 1;
+        } else {
+            TrackingToken tail = storageEngine.createTailToken();
+            if (tail == null) {
+                return Optional.empty();
+            }
+            rangeStart = ((GapAwareTrackingToken) tail).getIndex() + 1;
+        }
+        long rangeEnd = rangeStart + segmentSize - 1;
+        // the range is closed and cold once the first event following it is older than the minimum age
+        List<? extends TrackedEventData<?>> following = storageEngine.fetchTrackedEvents(tokenAt(rangeEnd), 1);
+        Instant threshold = GenericEventMessage.clock.instant().minus(minimumAge);
+        if (following.isEmpty() || !following.get(0).getTimestamp().isBefore(threshold)) {
+            return Optional.empty();
+        }
+        return Optional.of(new long[]{rangeStart, rangeEnd});
+    }
+
+    private static TrackingToken tokenAt(long globalIndex) {
+        return GapAwareTrackingToken.newInstance(globalIndex, Collections.emptySortedSet());
+    }
+
+    private static long indexOf(TrackedEventData<?> event) {
+        return ((GapAwareTrackingToken) event.trackingToken()).getIndex();
+    }
+
+    /**
+     * Iterator over the events of a range of the event table, reading them in batches.
+     */
+    private class RangeIterator implements Iterator<TrackedEventData<?>> {
+
+        private final long rangeEnd;
+        private TrackingToken lastToken;
+        private Iterator<? extends TrackedEventData<?>> batch = Collections.emptyIterator();
+        private TrackedEventData<?> next;
+        private boolean completed;
+
+        private RangeIterator(long rangeStart, long rangeEnd) {
+            this.rangeEnd = rangeEnd;
+            this.lastToken = tokenAt(rangeStart - 1);
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next != null) {
+                return true;
+            }
+            if (completed) {
+                return false;
+            }
+            if (!batch.hasNext()) {
+                List<? extends TrackedEventData<?>> events =
+                        storageEngine.fetchTrackedEvents(lastToken, storageEngine.batchSize());
+                batch = events.iterator();
+            }
+            if (!batch.hasNext()) {
+                completed = true;
+                return false;
+            }
+            TrackedEventData<?> candidate = batch.next();
+            if (indexOf(candidate) > rangeEnd) {
+                completed = true;
+                return false;
+            }
+            lastToken = candidate.trackingToken();
+            next = candidate;
+            return true;
+        }
+
+        @Override
+        public TrackedEventData<?> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            TrackedEventData<?> result = next;
+            next = null;
+            return result;
+        }
+    }
+
+    /**
+     * Builder class to instantiate a {@link JdbcEventArchiver}.
+     * <p>
+     * The segment size defaults to {@code 1000000} global indexes, the block size to {@code 1000} events, the minimum
+     * age to {@code 30} days and the purge batch size to {@code 10000} global indexes. The
+     * {@link JdbcEventStorageEngine} is a <b>hard requirement</b> and as such should be provided.
+     */
+    public static class Builder {
+
+        private JdbcEventStorageEngine storageEngine;
+        private long segmentSize = 1_000_000;
+        private int blockSize = 1000;
+        private Duration minimumAge = Duration.ofDays(30);
+        private int purgeBatchSize = 10_000;
+
+        /**
+         * Sets the {@link JdbcEventStorageEngine} whose event table should be archived. The engine must have an
+         * {@link EventArchive} configured.
+         *
+         * @param storageEngine the {@link JdbcEventStorageEngine} whose event table should be archived
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder storageEngine(@Nonnull JdbcEventStorageEngine storageEngine) {
+            assertNonNull(storageEngine, "JdbcEventStorageEngine may not be null");
+            this.storageEngine = storageEngine;
+            return this;
+        }
+
+        /**
+         * Sets the number of global indexes covered by each archived segment. Defaults to {@code 1000000}.
+         *
+         * @param segmentSize the number of global indexes covered by each archived segment
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder segmentSize(long segmentSize) {
+            assertStrictPositive(segmentSize, "The segment size should be a strictly positive number");
+            this.segmentSize = segmentSize;
+            return this;
+        }
+
+        /**
+         * Sets the number of events compressed together in a block of a segment. Streams decompress a block at a
+         * time, so larger blocks compress better, while smaller blocks reduce the cost of reading individual
+         * aggregates. Defaults to {@code 1000}.
+         *
+         * @param blockSize the number of events compressed together in a block
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder blockSize(int blockSize) {
+            assertStrictPositive(blockSize, "The block size should be a strictly positive number");
+            this.blockSize = blockSize;
+            return this;
+        }
+
+        /**
+         * Sets the minimum age of the events in a range before the range is archived. This age should comfortably
+         * exceed the gap timeout of the storage engine, so that no more events can be committed into an archived
+         * range. Defaults to {@code 30} days.
+         *
+         * @param minimumAge the minimum age of the events in a range before it is archived
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder minimumAge(@Nonnull Duration minimumAge) {
+            assertNonNull(minimumAge, "The minimum age may not be null");
+            assertThat(minimumAge, age -> !age.isNegative() && !age.isZero(),
+                       "The minimum age should be a strictly positive duration");
+            this.minimumAge = minimumAge;
+            return this;
+        }
+
+        /**
+         * Sets the number of global indexes deleted per statement when purging archived events from the event table.
+         * Defaults to {@code 10000}.
+         *
+         * @param purgeBatchSize the number of global indexes deleted per statement
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder purgeBatchSize(int purgeBatchSize) {
+            assertStrictPositive(purgeBatchSize, "The purge batch size should be a strictly positive number");
+            this.purgeBatchSize = purgeBatchSize;
+            return this;
+        }
+
+        /**
+         * Initializes a {@link JdbcEventArchiver} as specified through this Builder.
+         *
+         * @return a {@link JdbcEventArchiver} as specified through this Builder
+         */
+        public JdbcEventArchiver build() {
+            return new JdbcEventArchiver(this);
+        }
+
+        /**
+         * Validates whether the fields contained in this Builder are set accordingly.
+         *
+         * @throws AxonConfigurationException if one field is asserted to be incorrect according to the Builder's
+         *                                    specifications
+         */
+        protected void validate() throws AxonConfigurationException {
+            assertNonNull(storageEngine, "The JdbcEventStorageEngine is a hard requirement and should be provided");
+            assertNonNull(storageEngine.eventArchive(),
+                          "The JdbcEventStorageEngine should have an EventArchive configured");
+        }
+    }
+}
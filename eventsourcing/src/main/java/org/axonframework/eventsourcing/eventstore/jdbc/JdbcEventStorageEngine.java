@@ -33,6 +33,7 @@
 import org.axonframework.eventhandling.TrackedEventData;
 import org.axonframework.eventhandling.TrackingToken;
 import org.axonframework.eventsourcing.eventstore.BatchingEventStorageEngine;
+import org.axonframework.eventsourcing.eventstore.DomainEventStream;
 import org.axonframework.eventsourcing.eventstore.EventStoreException;
 import org.axonframework.eventsourcing.eventstore.jdbc.statements.AppendEventsStatementBuilder;
 import org.axonframework.eventsourcing.eventstore.jdbc.statements.AppendSnapshotStatementBuilder;
@@ -40,15 +41,21 @@
 import org.axonframework.eventsourcing.eventstore.jdbc.statements.CreateHeadTokenStatementBuilder;
 import org.axonframework.eventsourcing.eventstore.jdbc.statements.CreateTailTokenStatementBuilder;
 import org.axonframework.eventsourcing.eventstore.jdbc.statements.CreateTokenAtStatementBuilder;
+import org.axonframework.eventsourcing.eventstore.jdbc.statements.DeleteEventsStatementBuilder;
 import org.axonframework.eventsourcing.eventstore.jdbc.statements.DeleteSnapshotsStatementBuilder;
 import org.axonframework.eventsourcing.eventstore.jdbc.statements.FetchTrackedEventsStatementBuilder;
 import org.axonframework.eventsourcing.eventstore.jdbc.statements.JdbcEventStorageEngineStatements;
 import org.axonframework.eventsourcing.eventstore.jdbc.statements.LastSequenceNumberForStatementBuilder;
 import org.axonframework.eventsourcing.eventstore.jdbc.statements.ReadEventDataForAggregateStatementBuilder;
+import org.axonframework.eventsourcing.eventstore.jdbc.statements.ReadEventDataForAggregatesStatementBuilder;
+import org.axonframework.eventsourcing.eventstore.jdbc.statements.ReadEventDataForIndexesStatementBuilder;
 import org.axonframework.eventsourcing.eventstore.jdbc.statements.ReadEventDataWithGapsStatementBuilder;
 import org.axonframework.eventsourcing.eventstore.jdbc.statements.ReadEventDataWithoutGapsStatementBuilder;
+import org.axonframework.eventsourcing.eventstore.jdbc.statements.ReadEventIndexesStatementBuilder;
+import org.axonframework.eventsourcing.eventstore.jdbc.statements.ReadSnapshotDataForAggregatesStatementBuilder;
 import org.axonframework.eventsourcing.eventstore.jdbc.statements.ReadSnapshotDataStatementBuilder;
 import org.axonframework.eventsourcing.eventstore.jdbc.statements.TimestampWriter;
+import org.axonframework.eventsourcing.snapshotting.SnapshotEncoder;
 import org.axonframework.eventsourcing.snapshotting.SnapshotFilter;
 import org.axonframework.modelling.command.ConcurrencyException;
 import org.axonframework.serialization.Serializer;
@@ -64,13 +71,19 @@
 import java.time.Instant;
 import java.time.format.DateTimeParseException;
 import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAccessor;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.concurrent.Executor;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.LongStream;
 import java.util.stream.Stream;
@@ -114,6 +127,8 @@ public class JdbcEventStorageEngine extends BatchingEventStorageEngine {
     private final int maxGapOffset;
     private final long lowestGlobalSequence;
     private final boolean extendedGapCheckEnabled;
+    private final TrackedEventBatchCache batchCache;
+    private final EventArchive eventArchive;
     private final CreateTokenAtStatementBuilder createTokenAt;
     private final AppendEventsStatementBuilder appendEvents;
     private final LastSequenceNumberForStatementBuilder lastSequenceNumberFor;
@@ -121,12 +136,17 @@ public class JdbcEventStorageEngine extends BatchingEventStorageEngine {
     private final CreateHeadTokenStatementBuilder createHeadToken;
     private final AppendSnapshotStatementBuilder appendSnapshot;
     private final DeleteSnapshotsStatementBuilder deleteSnapshots;
+    private final DeleteEventsStatementBuilder deleteEvents;
     private final FetchTrackedEventsStatementBuilder fetchTrackedEvents;
     private final CleanGapsStatementBuilder cleanGaps;
     private final ReadEventDataForAggregateStatementBuilder readEventDataForAggregate;
     private final ReadSnapshotDataStatementBuilder readSnapshotData;
+    private final ReadEventDataForAggregatesStatementBuilder readEventDataForAggregates;
+    private final ReadSnapshotDataForAggregatesStatementBuilder readSnapshotDataForAggregates;
     private final ReadEventDataWithoutGapsStatementBuilder readEventDataWithoutGaps;
     private final ReadEventDataWithGapsStatementBuilder readEventDataWithGaps;
+    private final ReadEventIndexesStatementBuilder readEventIndexes;
+    private final ReadEventDataForIndexesStatementBuilder readEventDataForIndexes;
     private int gapTimeout;
     private int gapCleaningThreshold;
 
@@ -150,6 +170,8 @@ protected JdbcEventStorageEngine(Builder builder) {
         this.gapTimeout = builder.gapTimeout;
         this.gapCleaningThreshold = builder.gapCleaningThreshold;
         this.extendedGapCheckEnabled = builder.extendedGapCheckEnabled;
+        this.batchCache = builder.batchCacheSize > 0 ? new TrackedEventBatchCache(builder.batchCacheSize) : null;
+        this.eventArchive = builder.eventArchive;
         this.createTokenAt = builder.createTokenAt;
         this.appendEvents = builder.appendEvents;
         this.lastSequenceNumberFor = builder.lastSequenceNumberFor;
@@ -157,12 +179,17 @@ protected JdbcEventStorageEngine(Builder builder) {
         this.createHeadToken = builder.createHeadToken;
         this.appendSnapshot = builder.appendSnapshot;
         this.deleteSnapshots = builder.deleteSnapshots;
+        this.deleteEvents = builder.deleteEvents;
         this.fetchTrackedEvents = builder.fetchTrackedEvents;
         this.cleanGaps = builder.cleanGaps;
         this.readEventDataForAggregate = builder.readEventDataForAggregate;
         this.readSnapshotData = builder.readSnapshotData;
+        this.readEventDataForAggregates = builder.readEventDataForAggregates;
+        this.readSnapshotDataForAggregates = builder.readSnapshotDataForAggregates;
         this.readEventDataWithoutGaps = builder.readEventDataWithoutGaps;
         this.readEventDataWithGaps = builder.readEventDataWithGaps;
+        this.readEventIndexes = builder.readEventIndexes;
+        this.readEventDataForIndexes = builder.readEventDataForIndexes;
     }
 
     /**
@@ -174,6 +201,7 @@ protected JdbcEventStorageEngine(Builder builder) {
      * <li>The {@link PersistenceExceptionResolver} is defaulted to a {@link JdbcSQLErrorCodesResolver}</li>
      * <li>The {@code snapshotFilter} defaults to a {@link SnapshotFilter#allowAll()} instance.</li>
      * <li>The {@code batchSize} defaults to an integer of size {@code 100}.</li>
+     * <li>The {@code optimisticLoadingCacheSize} defaults to an integer of size {@code 1024}.</li>
      * <li>The {@code dataType} is defaulted to the {@code byte[]} type.</li>
      * <li>The {@link EventSchema} defaults to an {@link EventSchema#EventSchema()} call.</li>
      * <li>The {@code maxGapOffset} defaults to an  integer of size {@code 10000}.</li>
@@ -181,6 +209,8 @@ protected JdbcEventStorageEngine(Builder builder) {
      * <li>The {@code gapTimeout} defaults to an integer of size {@code 60000} (1 minute).</li>
      * <li>The {@code gapCleaningThreshold} defaults to an integer of size {@code 250}.</li>
      * <li>The {@code extendedGapCheckEnabled} defaults to {@code true}.</li>
+     * <li>The {@code batchCacheSize} defaults to {@code 0}, disabling the shared batch cache.</li>
+     * <li>The {@link EventArchive} defaults to {@code null}, meaning all events are read from the event table.</li>
      * <li>The {@code createTokenAt} defaults to {@link JdbcEventStorageEngineStatements#createTokenAt}.</li>
      * <li>The {@code appendEvents} defaults to {@link JdbcEventStorageEngineStatements#appendEvents}.</li>
      * <li>The {@code lastSequenceNumberFor} defaults to {@link JdbcEventStorageEngineStatements#lastSequenceNumberFor}.</li>
@@ -188,12 +218,17 @@ protected JdbcEventStorageEngine(Builder builder) {
      * <li>The {@code createHeadToken} defaults to {@link JdbcEventStorageEngineStatements#createHeadToken}.</li>
      * <li>The {@code appendSnapshot} defaults to {@link JdbcEventStorageEngineStatements#appendSnapshot}.</li>
      * <li>The {@code deleteSnapshots} defaults to {@link JdbcEventStorageEngineStatements#deleteSnapshots}.</li>
+     * <li>The {@code deleteEvents} defaults to {@link JdbcEventStorageEngineStatements#deleteEvents}.</li>
      * <li>The {@code fetchTrackedEvents} defaults to {@link JdbcEventStorageEngineStatements#fetchTrackedEvents}.</li>
      * <li>The {@code cleanGaps} defaults to {@link JdbcEventStorageEngineStatements#cleanGaps}.</li>
      * <li>The {@code readEventDataForAggregate} defaults to {@link JdbcEventStorageEngineStatements#readEventDataForAggregate}.</li>
      * <li>The {@code readSnapshotData} defaults to {@link JdbcEventStorageEngineStatements#readSnapshotData}.</li>
+     * <li>The {@code readEventDataForAggregates} defaults to {@link JdbcEventStorageEngineStatements#readEventDataForAggregates}.</li>
+     * <li>The {@code readSnapshotDataForAggregates} defaults to {@link JdbcEventStorageEngineStatements#readSnapshotDataForAggregates}.</li>
      * <li>The {@code readEventDataWithoutGaps} defaults to {@link JdbcEventStorageEngineStatements#readEventDataWithoutGaps}.</li>
      * <li>The {@code readEventDataWithGaps} defaults to {@link JdbcEventStorageEngineStatements#readEventDataWithGaps}.</li>
+     * <li>The {@code readEventIndexes} defaults to {@link JdbcEventStorageEngineStatements#readEventIndexes}.</li>
+     * <li>The {@code readEventDataForIndexes} defaults to {@link JdbcEventStorageEngineStatements#readEventDataForIndexes}.</li>
      * </ul>
      * <p>
      * The event and snapshot {@link Serializer}, {@link ConnectionProvider} and {@link TransactionManager} are <b>hard
@@ -301,6 +336,21 @@ protected PreparedStatement deleteSnapshots(Connection connection, String aggreg
         return deleteSnapshots.build(connection, schema, aggregateIdentifier, sequenceNumber);
     }
 
+    /**
+     * Creates a statement deleting the event entries with a global index in the given range. Used by
+     * {@link JdbcEventStorageEngine#purgeEvents(long, long)} to remove archived events from the event table.
+     *
+     * @param connection       The connection to the database.
+     * @param firstGlobalIndex The lowest global index of the entries to delete, inclusive.
+     * @param lastGlobalIndex  The highest global index of the entries to delete, inclusive.
+     * @return The newly created {@link PreparedStatement}.
+     * @throws SQLException when an exception occurs while creating the prepared statement.
+     */
+    protected PreparedStatement deleteEvents(Connection connection, long firstGlobalIndex, long lastGlobalIndex)
+            throws SQLException {
+        return deleteEvents.build(connection, schema, firstGlobalIndex, lastGlobalIndex);
+    }
+
     /**
      * Creates a statement to be used at {@link JdbcEventStorageEngine#fetchTrackedEvents(TrackingToken, int)}.
      *
@@ -356,6 +406,35 @@ protected PreparedStatement readSnapshotData(Connection connection, String ident
         return readSnapshotData.build(connection, schema, identifier);
     }
 
+    /**
+     * Creates a statement to be used at {@link JdbcEventStorageEngine#readEventDataForAggregates(Map)}.
+     *
+     * @param connection           The connection to the database.
+     * @param firstSequenceNumbers The expected sequence number of the first returned entry per aggregate identifier.
+     *
+     * @return The newly created {@link PreparedStatement}.
+     * @throws SQLException when an exception occurs while creating the prepared statement.
+     */
+    protected PreparedStatement readEventDataForAggregates(Connection connection,
+                                                           Map<String, Long> firstSequenceNumbers)
+            throws SQLException {
+        return readEventDataForAggregates.build(connection, schema, firstSequenceNumbers);
+    }
+
+    /**
+     * Creates a statement to be used at {@link JdbcEventStorageEngine#readSnapshotDataForAggregates(Collection)}.
+     *
+     * @param connection  The connection to the database.
+     * @param identifiers The identifiers of the aggregates.
+     *
+     * @return The newly created {@link PreparedStatement}.
+     * @throws SQLException when an exception occurs while creating the prepared statement.
+     */
+    protected PreparedStatement readSnapshotDataForAggregates(Connection connection, Collection<String> identifiers)
+            throws SQLException {
+        return readSnapshotDataForAggregates.build(connection, schema, identifiers);
+    }
+
     /**
      * Creates a statement to be used at {@link JdbcEventStorageEngine#fetchTrackedEvents(TrackingToken, int)}
      *
@@ -387,6 +466,41 @@ protected PreparedStatement readEventDataWithGaps(Connection connection, long gl
         return readEventDataWithGaps.build(connection, schema, globalIndex, batchSize, gaps);
     }
 
+    /**
+     * Creates a statement reading the global index and timestamp of the entries in the batch following the given
+     * {@code lastToken}. Used by {@link JdbcEventStorageEngine#fetchTrackedEvents(TrackingToken, int, Set)} when events
+     * of ignored payload types are omitted.
+     *
+     * @param connection The connection to the database.
+     * @param lastToken  The last known token, or {@code null} to read from the start of the store.
+     * @param batchSize  The number of items to include in the batch
+     * @return The newly created {@link PreparedStatement}.
+     * @throws SQLException when an exception occurs while creating the prepared statement.
+     */
+    protected PreparedStatement readEventIndexes(Connection connection, GapAwareTrackingToken lastToken,
+                                                 int batchSize) throws SQLException {
+        long globalIndex = lastToken == null ? -1 : lastToken.getIndex();
+        List<Long> gaps = lastToken == null ? Collections.emptyList() : new ArrayList<>(lastToken.getGaps());
+        return readEventIndexes.build(connection, schema, globalIndex, batchSize, gaps);
+    }
+
+    /**
+     * Creates a statement reading the entries at the given {@code globalIndexes}, excluding entries with a payload type
+     * in the given {@code ignoredPayloadTypes}. The entry at the highest index is always included. Used by
+     * {@link JdbcEventStorageEngine#fetchTrackedEvents(TrackingToken, int, Set)} when events of ignored payload types
+     * are omitted.
+     *
+     * @param connection          The connection to the database.
+     * @param globalIndexes       The ascending global indexes of the entries to read.
+     * @param ignoredPayloadTypes The payload type names of the entries to exclude.
+     * @return The newly created {@link PreparedStatement}.
+     * @throws SQLException when an exception occurs while creating the prepared statement.
+     */
+    protected PreparedStatement readEventDataForIndexes(Connection connection, List<Long> globalIndexes,
+                                                        Collection<String> ignoredPayloadTypes) throws SQLException {
+        return readEventDataForIndexes.build(connection, schema, globalIndexes, ignoredPayloadTypes);
+    }
+
     /**
      * Performs the DDL queries to create the schema necessary for this storage engine implementation.
      *
@@ -401,6 +515,56 @@ public void createSchema(EventTableFactory schemaFactory) {
                        connection -> schemaFactory.createSnapshotEventTable(connection, schema));
     }
 
+    /**
+     * Deletes the events with a global index in the given range from the event table, after they have been moved to
+     * the {@link EventArchive}. Used by the {@link JdbcEventArchiver}.
+     *
+     * @param firstGlobalIndex the lowest global index of the events to delete, inclusive
+     * @param lastGlobalIndex  the highest global index of the events to delete, inclusive
+     * @return the number of deleted events
+     * @throws IllegalStateException when the range has not been archived
+     * @throws EventStoreException   when an error occurs executing SQL statements
+     */
+    protected int purgeEvents(long firstGlobalIndex, long lastGlobalIndex) {
+        if (eventArchive == null || eventArchive.lastArchivedIndex().orElse(Long.MIN_VALUE) < lastGlobalIndex) {
+            throw new IllegalStateException(format(
+                    "Cannot purge events up to global index [%d], as they have not been archived", lastGlobalIndex
+            ));
+        }
+        return transactionManager.fetchInTransaction(() -> executeUpdate(
+                getConnection(),
+                connection -> deleteEvents(connection, firstGlobalIndex, lastGlobalIndex),
+                e -> new EventStoreException(
+                        format("Failed to purge events in range [%d-%d]", firstGlobalIndex, lastGlobalIndex), e
+                )
+        ));
+    }
+
+    /**
+     * Returns the {@link EventArchive} holding the cold ranges of the event table, or {@code null} if none is
+     * configured.
+     *
+     * @return the {@link EventArchive} of this engine, or {@code null}
+     */
+    EventArchive eventArchive() {
+        return eventArchive;
+    }
+
+    /**
+     * Creates an index supporting the omission of events of ignored payload types, using the given
+     * {@code schemaFactory}. The index is recommended when streaming processors ignore a large share of the stored
+     * payload types. It should only be created once, as not all databases support conditional index creation.
+     *
+     * @param schemaFactory factory of the event schema
+     * @throws EventStoreException when an error occurs executing SQL statements.
+     * @see EventTableFactory#createPayloadTypeIndex(Connection, EventSchema)
+     */
+    public void createPayloadTypeIndex(EventTableFactory schemaFactory) {
+        executeUpdates(getConnection(), e -> {
+                           throw new EventStoreException("Failed to create payload type index", e);
+                       }, connection -> schemaFactory.createPayloadTypeIndex(connection, schema));
+    }
+
     @Override
     protected void appendEvents(List<? extends EventMessage<?>> events, Serializer serializer) {
         if (events.isEmpty()) {
@@ -422,7 +586,7 @@ protected void storeSnapshot(DomainEventMessage<?> snapshot, Serializer serializ
                         connection -> appendSnapshot(connection, snapshot, serializer),
                         connection -> deleteSnapshots(connection,
                                                       snapshot.getAggregateIdentifier(),
-                                                      snapshot.getSequenceNumber())
+                                                      snapshotRetentionSequenceNumber(snapshot, serializer))
                 );
             } catch (ConcurrencyException e) {
                 // Ignore duplicate key issues in snapshot. It just means a snapshot already exists
@@ -430,9 +594,20 @@ protected void storeSnapshot(DomainEventMessage<?> snapshot, Serializer serializ
         });
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * This storage engine retains snapshots from the retention sequence number, and returns all of them when reading
+     * the snapshots of an aggregate.
+     */
+    @Override
+    protected boolean retainsBaseSnapshots() {
+        return true;
+    }
+
     @Override
     public Optional<Long> lastSequenceNumberFor(@Nonnull String aggregateIdentifier) {
-        return Optional.ofNullable(transactionManager.fetchInTransaction(
+        Optional<Long> lastSequenceNumber = Optional.ofNullable(transactionManager.fetchInTransaction(
                 () -> executeQuery(getConnection(),
                                    connection -> lastSequenceNumberFor(connection, aggregateIdentifier),
                                    resultSet -> nextAndExtract(resultSet, 1, Long.class),
@@ -440,17 +615,36 @@ public Optional<Long> lastSequenceNumberFor(@Nonnull String aggregateIdentifier)
                                            format("Failed to read events for aggregate [%s]", aggregateIdentifier), e
                                    )
                 )));
+        if (lastSequenceNumber.isPresent() || eventArchive == null) {
+            return lastSequenceNumber;
+        }
+        return eventArchive.lastSequenceNumberFor(aggregateIdentifier);
     }
 
     @Override
     public TrackingToken createTailToken() {
-        Long index = transactionManager.fetchInTransaction(() -> executeQuery(
+        if (eventArchive != null) {
+            Optional<Long> firstArchivedEvent = eventArchive.firstEventIndex();
+            if (firstArchivedEvent.isPresent()) {
+                return createToken(firstArchivedEvent.get() - 1);
+            }
+        }
+        return createToken(tableTailIndex());
+    }
+
+    /**
+     * Returns the global index preceding the first event in the event table, or {@code null} if the event table is
+     * empty. Unlike {@link #createTailToken()}, this disregards the {@link EventArchive}.
+     *
+     * @return the global index preceding the first event in the event table, or {@code null}
+     */
+    Long tableTailIndex() {
+        return transactionManager.fetchInTransaction(() -> executeQuery(
                 getConnection(),
                 this::createTailToken,
                 resultSet -> nextAndExtract(resultSet, 1, Long.class),
                 e -> new EventStoreException("Failed to get tail token", e)
         ));
-        return createToken(index);
     }
 
     @Override
@@ -460,6 +654,12 @@ public TrackingToken createHeadToken() {
 
     @Override
     public TrackingToken createTokenAt(@Nonnull Instant dateTime) {
+        if (eventArchive != null) {
+            Optional<Long> firstArchivedEvent = eventArchive.firstEventIndexAt(dateTime);
+            if (firstArchivedEvent.isPresent()) {
+                return createToken(firstArchivedEvent.get() - 1);
+            }
+        }
         Long index = transactionManager.fetchInTransaction(() -> executeQuery(
                 getConnection(),
                 connection -> createTokenAt(connection, dateTime),
@@ -498,6 +698,80 @@ protected List<? extends DomainEventData<?>> fetchDomainEvents(String aggregateI
                 ));
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * When an {@link EventArchive} is configured, the events are read from the archive if they are missing from the
+     * event table. As the archive holds the oldest ranges of the event table, this is only the case when the first
+     * requested event is not found in the event table. The archive is {@link EventArchive#refresh() refreshed} when
+     * it does not hold the events missing from the event table, as another node may have archived and purged them.
+     */
+    @Override
+    protected Stream<? extends DomainEventData<?>> readEventData(String identifier, long firstSequenceNumber) {
+        if (eventArchive == null) {
+            return super.readEventData(identifier, firstSequenceNumber);
+        }
+        List<? extends DomainEventData<?>> firstBatch = fetchDomainEvents(identifier, firstSequenceNumber, batchSize());
+        if (isArchiveLookupRequired(identifier, firstSequenceNumber, firstBatch)) {
+            List<DomainEventData<?>> archived = readArchivedEvents(identifier, firstSequenceNumber, firstBatch);
+            if (!archived.isEmpty()) {
+                long nextSequenceNumber = archived.get(archived.size() - 1).getSequenceNumber() + 1;
+                return Stream.concat(archived.stream(), super.readEventData(identifier, nextSequenceNumber));
+            }
+        }
+        if (firstBatch.isEmpty()) {
+            return firstBatch.stream();
+        }
+        long nextSequenceNumber = firstBatch.get(firstBatch.size() - 1).getSequenceNumber() + 1;
+        return Stream.concat(firstBatch.stream(), super.readEventData(identifier, nextSequenceNumber));
+    }
+
+    private boolean isArchiveLookupRequired(String identifier,
+                                            long firstSequenceNumber,
+                                            List<? extends DomainEventData<?>> firstBatch) {
+        if (!firstBatch.isEmpty()) {
+            return firstBatch.get(0).getSequenceNumber() != firstSequenceNumber;
+        }
+        if (eventArchive.isEmpty()) {
+            return false;
+        }
+        // ranges are purged in order of their global index, so if the preceding event is still in the table, the
+        // requested events cannot have been archived
+        return firstSequenceNumber == 0 || fetchDomainEvents(identifier, firstSequenceNumber - 1, 1).isEmpty();
+    }
+
+    private List<DomainEventData<?>> readArchivedEvents(String identifier,
+                                                        long firstSequenceNumber,
+                                                        List<? extends DomainEventData<?>> firstBatch) {
+        List<DomainEventData<?>> archived = eventArchive.readEvents(identifier, firstSequenceNumber);
+        if (!firstBatch.isEmpty() && !precedes(archived, firstBatch)) {
+            // events are missing from the table, so another node must have archived and purged them
+            eventArchive.refresh();
+            archived = eventArchive.readEvents(identifier, firstSequenceNumber);
+        }
+        return archived;
+    }
+
+    private static boolean precedes(List<? extends DomainEventData<?>> archived,
+                                    List<? extends DomainEventData<?>> events) {
+        return !archived.isEmpty()
+                && archived.get(archived.size() - 1).getSequenceNumber() + 1 == events.get(0).getSequenceNumber();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Optimistic loading is disabled when an {@link EventArchive} is configured, as the first batch of events may need
+     * to be read from the archive.
+     */
+    @Override
+    public Optional<DomainEventStream> readSnapshotAndEvents(@Nonnull String aggregateIdentifier) {
+        if (eventArchive != null) {
+            return Optional.empty();
+        }
+        return super.readSnapshotAndEvents(aggregateIdentifier);
+    }
+
     @Override
     protected boolean fetchForAggregateUntilEmpty() {
         return true;
@@ -505,12 +779,75 @@ protected boolean fetchForAggregateUntilEmpty() {
 
     @Override
     protected List<? extends TrackedEventData<?>> fetchTrackedEvents(TrackingToken lastToken, int batchSize) {
+        return fetchTrackedEvents(lastToken, batchSize, Collections.emptySet());
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * When payload types are ignored, the global index and timestamp of the entries in the batch are read first, after
+     * which only the entries of other payload types are read in full. The entry at the end of the batch is always read,
+     * so that the returned tracking tokens advance past any trailing ignored entries.
+     */
+    @Override
+    protected List<? extends TrackedEventData<?>> fetchTrackedEvents(TrackingToken lastToken,
+                                                                     int batchSize,
+                                                                     Set<String> ignoredPayloadTypes) {
         Assert.isTrue(
                 lastToken == null || lastToken instanceof GapAwareTrackingToken,
                 () -> String.format("Token [%s] is of the wrong type. Expected [%s]",
                                     lastToken, GapAwareTrackingToken.class.getSimpleName())
         );
+        Supplier<List<? extends TrackedEventData<?>>> fetch = eventArchive == null
+                ? () -> doFetchTrackedEvents(lastToken, batchSize, ignoredPayloadTypes)
+                : () -> fetchTrackedEventsWithArchive(lastToken, batchSize, ignoredPayloadTypes);
+        if (batchCache == null) {
+            return fetch.get();
+        }
+        return batchCache.fetch(lastToken, batchSize, ignoredPayloadTypes, fetch, this::isSettled);
+    }
+
+    private List<? extends TrackedEventData<?>> fetchTrackedEventsWithArchive(TrackingToken lastToken,
+                                                                             int batchSize,
+                                                                             Set<String> ignoredPayloadTypes) {
+        while (true) {
+            int segmentCount = eventArchive.segmentCount();
+            List<TrackedEventData<?>> archived = eventArchive.readEvents(lastToken);
+            if (!archived.isEmpty()) {
+                return archived;
+            }
+            List<? extends TrackedEventData<?>> events =
+                    doFetchTrackedEvents(lastToken, batchSize, ignoredPayloadTypes);
+            if (skipsIndexes(lastToken, events)) {
+                // the skipped indexes may have been archived and purged by another node sharing the archive
+                eventArchive.refresh();
+            }
+            if (eventArchive.segmentCount() == segmentCount) {
+                return events;
+            }
+            // a range was archived while reading from the table, so it may have been purged before the query ran
+        }
+    }
+
+    private static boolean skipsIndexes(TrackingToken lastToken, List<? extends TrackedEventData<?>> events) {
+        if (events.isEmpty()) {
+            return false;
+        }
+        if (lastToken == null) {
+            return true;
+        }
+        long firstIndex = ((GapAwareTrackingToken) events.get(0).trackingToken()).getIndex();
+        return firstIndex > ((GapAwareTrackingToken) lastToken).getIndex() + 1;
+    }
 
+    private boolean isSettled(List<? extends TrackedEventData<?>> batch) {
+        // gaps in recent batches may still be filled, changing the outcome of the same read
+        return !batch.isEmpty() && batch.get(batch.size() - 1).getTimestamp().isBefore(gapTimeoutFrame());
+    }
+
+    private List<? extends TrackedEventData<?>> doFetchTrackedEvents(TrackingToken lastToken,
+                                                                    int batchSize,
+                                                                    Set<String> ignoredPayloadTypes) {
         return transactionManager.fetchInTransaction(() -> {
             // If there are many gaps, it worthwhile checking if it is possible to clean them up.
             GapAwareTrackingToken cleanedToken;
@@ -520,7 +857,7 @@ protected List<? extends TrackedEventData<?>> fetchTrackedEvents(TrackingToken l
                 cleanedToken = (GapAwareTrackingToken) lastToken;
             }
 
-            List<TrackedEventData<?>> eventData = executeEventDataQuery(cleanedToken, batchSize);
+            List<TrackedEventData<?>> eventData = executeEventDataQuery(cleanedToken, batchSize, ignoredPayloadTypes);
 
             // Additional check for empty batches. This may be because there is a gap of more than _batchSize_ items ahead
             // see
@@ -532,14 +869,19 @@ protected List<? extends TrackedEventData<?>> fetchTrackedEvents(TrackingToken l
                                            e -> new EventStoreException("Failed to read globalIndex ahead of token",
                                                                         e));
                 if (result != null) {
-                    return executeEventDataQuery(cleanedToken, (int) (result - index));
+                    return executeEventDataQuery(cleanedToken, (int) (result - index), ignoredPayloadTypes);
                 }
             }
             return eventData;
         });
     }
 
-    private List<TrackedEventData<?>> executeEventDataQuery(GapAwareTrackingToken cleanedToken, int batchSize) {
+    private List<TrackedEventData<?>> executeEventDataQuery(GapAwareTrackingToken cleanedToken,
+                                                            int batchSize,
+                                                            Set<String> ignoredPayloadTypes) {
+        if (!ignoredPayloadTypes.isEmpty()) {
+            return executeFilteredEventDataQuery(cleanedToken, batchSize, ignoredPayloadTypes);
+        }
         return executeQuery(
                 getConnection(),
                 connection -> readEventData(connection, cleanedToken, batchSize),
@@ -557,6 +899,58 @@ private List<TrackedEventData<?>> executeEventDataQuery(GapAwareTrackingToken cl
         );
     }
 
+    private List<TrackedEventData<?>> executeFilteredEventDataQuery(GapAwareTrackingToken cleanedToken,
+                                                                    int batchSize,
+                                                                    Set<String> ignoredPayloadTypes) {
+        List<Long> indexes = new ArrayList<>();
+        List<Instant> timestamps = new ArrayList<>();
+        executeQuery(
+                getConnection(),
+                connection -> readEventIndexes(connection, cleanedToken, batchSize),
+                resultSet -> {
+                    while (resultSet.next()) {
+                        indexes.add(resultSet.getLong(schema.globalIndexColumn()));
+                        timestamps.add(toInstant(readTimeStamp(resultSet, schema.timestampColumn())));
+                    }
+                    return null;
+                },
+                e -> new EventStoreException(format("Failed to read event indexes from token [%s]", cleanedToken), e)
+        );
+        if (indexes.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return executeQuery(
+                getConnection(),
+                connection -> readEventDataForIndexes(connection, indexes, ignoredPayloadTypes),
+                resultSet -> {
+                    GapAwareTrackingToken previousToken = cleanedToken;
+                    List<TrackedEventData<?>> results = new ArrayList<>();
+                    int position = 0;
+                    while (resultSet.next()) {
+                        long globalIndex = resultSet.getLong(schema.globalIndexColumn());
+                        // ignored entries preceding this one only advance the token
+                        while (position < indexes.size() && indexes.get(position) < globalIndex) {
+                            previousToken =
+                                    advanceToken(previousToken, indexes.get(position), timestamps.get(position));
+                            position++;
+                        }
+                        TrackedEventData<?> next = getTrackedEventData(resultSet, previousToken);
+                        results.add(next);
+                        previousToken = (GapAwareTrackingToken) next.trackingToken();
+                        position++;
+                    }
+                    return results;
+                },
+                e -> new EventStoreException(format("Failed to read events from token [%s]", cleanedToken), e)
+        );
+    }
+
+    private static Instant toInstant(Object timestamp) {
+        return timestamp instanceof TemporalAccessor
+                ? Instant.from((TemporalAccessor) timestamp)
+                : DateTimeUtils.parseInstant(timestamp.toString());
+    }
+
     private GapAwareTrackingToken cleanGaps(TrackingToken lastToken) {
         SortedSet<Long> gaps = ((GapAwareTrackingToken) lastToken).getGaps();
         return executeQuery(
@@ -602,6 +996,69 @@ protected Stream<? extends DomainEventData<?>> readSnapshotData(String aggregate
         });
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * This implementation reads the latest snapshot of each aggregate, querying a limited number of aggregates at a
+     * time. When snapshots may be stored as a delta, the snapshots are read per aggregate instead.
+     */
+    @Override
+    protected Map<String, List<? extends DomainEventData<?>>> readSnapshotDataForAggregates(
+            Collection<String> aggregateIdentifiers
+    ) {
+        if (storesDeltaSnapshots()) {
+            return super.readSnapshotDataForAggregates(aggregateIdentifiers);
+        }
+        return readSnapshotDataInChunks(aggregateIdentifiers, chunk -> transactionManager.fetchInTransaction(
+                () -> executeQuery(
+                        getConnection(),
+                        connection -> readSnapshotDataForAggregates(connection, chunk),
+                        JdbcUtils.listResults(this::getSnapshotData),
+                        e -> new EventStoreException(format("Error reading aggregate snapshots %s", chunk), e)
+                )
+        ));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * This implementation queries a limited number of aggregates at a time, reading at most the {@link #batchSize()
+     * batch size} of events per query. When an {@link EventArchive} is configured, aggregates of which the first
+     * requested event is missing from the event table are left to {@link #readEventData(String, long)}, which reads
+     * their archived events.
+     */
+    @Override
+    protected Map<String, List<? extends DomainEventData<?>>> readEventDataForAggregates(
+            Map<String, Long> firstSequenceNumbers
+    ) {
+        Map<String, List<? extends DomainEventData<?>>> events =
+                readEventDataInChunks(firstSequenceNumbers, this::fetchDomainEventsForAggregates);
+        if (eventArchive != null) {
+            events.entrySet().removeIf(entry -> !startsAt(entry.getValue(), firstSequenceNumbers.get(entry.getKey())));
+        }
+        return events;
+    }
+
+    private List<? extends DomainEventData<?>> fetchDomainEventsForAggregates(Map<String, Long> firstSequenceNumbers,
+                                                                           int batchSize) {
+        return transactionManager.fetchInTransaction(() -> executeQuery(
+                getConnection(),
+                connection -> {
+                    PreparedStatement statement = readEventDataForAggregates(connection, firstSequenceNumbers);
+                    statement.setMaxRows(batchSize);
+                    return statement;
+                },
+                JdbcUtils.listResults(this::getDomainEventData),
+                e -> new EventStoreException(
+                        format("Failed to read events for aggregates %s", firstSequenceNumbers.keySet()), e
+                )
+        ));
+    }
+
+    private static boolean startsAt(List<? extends DomainEventData<?>> events, long firstSequenceNumber) {
+        return !events.isEmpty() && events.get(0).getSequenceNumber() == firstSequenceNumber;
+    }
+
     /**
      * Creates a statement to read all tracked event entries stored.
      *
@@ -674,10 +1131,16 @@ protected TrackedEventData<?> getTrackedEventData(ResultSet resultSet,
         );
 
         // Now that we have the event itself, we can calculate the token.
-        boolean allowGaps = domainEvent.getTimestamp().isAfter(gapTimeoutFrame());
-        GapAwareTrackingToken token = previousToken;
-        if (token == null) {
-            token = GapAwareTrackingToken.newInstance(
+        GapAwareTrackingToken token = advanceToken(previousToken, globalSequence, domainEvent.getTimestamp());
+        return new TrackedDomainEventData<>(token, domainEvent);
+    }
+
+    private GapAwareTrackingToken advanceToken(GapAwareTrackingToken previousToken,
+                                               long globalSequence,
+                                               Instant timestamp) {
+        boolean allowGaps = timestamp.isAfter(gapTimeoutFrame());
+        if (previousToken == null) {
+            return GapAwareTrackingToken.newInstance(
                     globalSequence,
                     allowGaps
                     ? LongStream.range(Math.min(lowestGlobalSequence, globalSequence), globalSequence)
@@ -685,10 +1148,8 @@ protected TrackedEventData<?> getTrackedEventData(ResultSet resultSet,
                                 .collect(Collectors.toCollection(TreeSet::new))
                     : Collections.emptySortedSet()
             );
-        } else {
-            token = token.advanceTo(globalSequence, allowGaps ? maxGapOffset : 0);
         }
-        return new TrackedDomainEventData<>(token, domainEvent);
+        return previousToken.advanceTo(globalSequence, allowGaps ? maxGapOffset : 0);
     }
 
     private Instant gapTimeoutFrame() {
@@ -861,6 +1322,7 @@ public void setGapCleaningThreshold(int gapCleaningThreshold) {
      * <li>The {@link PersistenceExceptionResolver} is defaulted to a {@link JdbcSQLErrorCodesResolver}</li>
      * <li>The {@code snapshotFilter} defaults to a {@link SnapshotFilter#allowAll()} instance.</li>
      * <li>The {@code batchSize} defaults to an integer of size {@code 100}.</li>
+     * <li>The {@code optimisticLoadingCacheSize} defaults to an integer of size {@code 1024}.</li>
      * <li>The {@code dataType} is defaulted to the {@code byte[]} type.</li>
      * <li>The {@link EventSchema} defaults to an {@link EventSchema#EventSchema()} call.</li>
      * <li>The {@code maxGapOffset} defaults to an  integer of size {@code 10000}.</li>
@@ -868,6 +1330,8 @@ public void setGapCleaningThreshold(int gapCleaningThreshold) {
      * <li>The {@code gapTimeout} defaults to an integer of size {@code 60000} (1 minute).</li>
      * <li>The {@code gapCleaningThreshold} defaults to an integer of size {@code 250}.</li>
      * <li>The {@code extendedGapCheckEnabled} defaults to {@code true}.</li>
+     * <li>The {@code batchCacheSize} defaults to {@code 0}, disabling the shared batch cache.</li>
+     * <li>The {@link EventArchive} defaults to {@code null}, meaning all events are read from the event table.</li>
      * <li>The {@code createTokenAt} defaults to {@link JdbcEventStorageEngineStatements#createTokenAt}.</li>
      * <li>The {@code appendEvents} defaults to {@link JdbcEventStorageEngineStatements#appendEvents}.</li>
      * <li>The {@code lastSequenceNumberFor} defaults to {@link JdbcEventStorageEngineStatements#lastSequenceNumberFor}.</li>
@@ -875,12 +1339,17 @@ public void setGapCleaningThreshold(int gapCleaningThreshold) {
      * <li>The {@code createHeadToken} defaults to {@link JdbcEventStorageEngineStatements#createHeadToken}.</li>
      * <li>The {@code appendSnapshot} defaults to {@link JdbcEventStorageEngineStatements#appendSnapshot}.</li>
      * <li>The {@code deleteSnapshots} defaults to {@link JdbcEventStorageEngineStatements#deleteSnapshots}.</li>
+     * <li>The {@code deleteEvents} defaults to {@link JdbcEventStorageEngineStatements#deleteEvents}.</li>
      * <li>The {@code fetchTrackedEvents} defaults to {@link JdbcEventStorageEngineStatements#fetchTrackedEvents}.</li>
      * <li>The {@code cleanGaps} defaults to {@link JdbcEventStorageEngineStatements#cleanGaps}.</li>
      * <li>The {@code readEventDataForAggregate} defaults to {@link JdbcEventStorageEngineStatements#readEventDataForAggregate}.</li>
      * <li>The {@code readSnapshotData} defaults to {@link JdbcEventStorageEngineStatements#readSnapshotData}.</li>
+     * <li>The {@code readEventDataForAggregates} defaults to {@link JdbcEventStorageEngineStatements#readEventDataForAggregates}.</li>
+     * <li>The {@code readSnapshotDataForAggregates} defaults to {@link JdbcEventStorageEngineStatements#readSnapshotDataForAggregates}.</li>
      * <li>The {@code readEventDataWithoutGaps} defaults to {@link JdbcEventStorageEngineStatements#readEventDataWithoutGaps}.</li>
      * <li>The {@code readEventDataWithGaps} defaults to {@link JdbcEventStorageEngineStatements#readEventDataWithGaps}.</li>
+     * <li>The {@code readEventIndexes} defaults to {@link JdbcEventStorageEngineStatements#readEventIndexes}.</li>
+     * <li>The {@code readEventDataForIndexes} defaults to {@link JdbcEventStorageEngineStatements#readEventDataForIndexes}.</li>
      * </ul>
      * <p>
      * The event and snapshot {@link Serializer}, {@link ConnectionProvider} and {@link TransactionManager} are <b>hard
@@ -897,6 +1366,8 @@ public static class Builder extends BatchingEventStorageEngine.Builder {
         private int gapTimeout = DEFAULT_GAP_TIMEOUT;
         private int gapCleaningThreshold = DEFAULT_GAP_CLEANING_THRESHOLD;
         private boolean extendedGapCheckEnabled = DEFAULT_EXTENDED_GAP_CHECK_ENABLED;
+        private int batchCacheSize = 0;
+        private EventArchive eventArchive;
 
         private CreateTokenAtStatementBuilder createTokenAt = JdbcEventStorageEngineStatements::createTokenAt;
         private AppendEventsStatementBuilder appendEvents = JdbcEventStorageEngineStatements::appendEvents;
@@ -905,12 +1376,17 @@ public static class Builder extends BatchingEventStorageEngine.Builder {
         private CreateHeadTokenStatementBuilder createHeadToken = JdbcEventStorageEngineStatements::createHeadToken;
         private AppendSnapshotStatementBuilder appendSnapshot = JdbcEventStorageEngineStatements::appendSnapshot;
         private DeleteSnapshotsStatementBuilder deleteSnapshots = JdbcEventStorageEngineStatements::deleteSnapshots;
+        private DeleteEventsStatementBuilder deleteEvents = JdbcEventStorageEngineStatements::deleteEvents;
         private FetchTrackedEventsStatementBuilder fetchTrackedEvents = JdbcEventStorageEngineStatements::fetchTrackedEvents;
         private CleanGapsStatementBuilder cleanGaps = JdbcEventStorageEngineStatements::cleanGaps;
         private ReadEventDataForAggregateStatementBuilder readEventDataForAggregate = JdbcEventStorageEngineStatements::readEventDataForAggregate;
         private ReadSnapshotDataStatementBuilder readSnapshotData = JdbcEventStorageEngineStatements::readSnapshotData;
+        private ReadEventDataForAggregatesStatementBuilder readEventDataForAggregates = JdbcEventStorageEngineStatements::readEventDataForAggregates;
+        private ReadSnapshotDataForAggregatesStatementBuilder readSnapshotDataForAggregates = JdbcEventStorageEngineStatements::readSnapshotDataForAggregates;
         private ReadEventDataWithoutGapsStatementBuilder readEventDataWithoutGaps = JdbcEventStorageEngineStatements::readEventDataWithoutGaps;
         private ReadEventDataWithGapsStatementBuilder readEventDataWithGaps = JdbcEventStorageEngineStatements::readEventDataWithGaps;
+        private ReadEventIndexesStatementBuilder readEventIndexes = JdbcEventStorageEngineStatements::readEventIndexes;
+        private ReadEventDataForIndexesStatementBuilder readEventDataForIndexes = JdbcEventStorageEngineStatements::readEventDataForIndexes;
 
         private Builder() {
             persistenceExceptionResolver(new JdbcSQLErrorCodesResolver());
@@ -1004,6 +1480,18 @@ public Builder deleteSnapshots(DeleteSnapshotsStatementBuilder deleteSnapshots)
             return this;
         }
 
+        /**
+         * Set the PreparedStatement to be used on {@link JdbcEventStorageEngine#deleteEvents(Connection, long, long)}.
+         * Defaults to {@link JdbcEventStorageEngineStatements#deleteEvents(Connection, EventSchema, long, long)}
+         *
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder deleteEvents(DeleteEventsStatementBuilder deleteEvents) {
+            assertNonNull(deleteEvents, "deleteEvents may not be null");
+            this.deleteEvents = deleteEvents;
+            return this;
+        }
+
         /**
          * Set the PreparedStatement to be used on {@link JdbcEventStorageEngine#fetchTrackedEvents(Connection, long)}.
          * Defaults to {@link JdbcEventStorageEngineStatements#fetchTrackedEvents(Connection, EventSchema, long)}
@@ -1053,6 +1541,36 @@ public Builder readSnapshotData(ReadSnapshotDataStatementBuilder readSnapshotDat
             return this;
         }
 
+        /**
+         * Set the PreparedStatement to be used on
+         * {@link JdbcEventStorageEngine#readEventDataForAggregates(Connection, Map)}. Defaults to
+         * {@link JdbcEventStorageEngineStatements#readEventDataForAggregates(Connection, EventSchema, Map)}
+         *
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder readEventDataForAggregates(
+                ReadEventDataForAggregatesStatementBuilder readEventDataForAggregates
+        ) {
+            assertNonNull(readEventDataForAggregates, "readEventDataForAggregates may not be null");
+            this.readEventDataForAggregates = readEventDataForAggregates;
+            return this;
+        }
+
+        /**
+         * Set the PreparedStatement to be used on
+         * {@link JdbcEventStorageEngine#readSnapshotDataForAggregates(Connection, Collection)}. Defaults to
+         * {@link JdbcEventStorageEngineStatements#readSnapshotDataForAggregates(Connection, EventSchema, Collection)}
+         *
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder readSnapshotDataForAggregates(
+                ReadSnapshotDataForAggregatesStatementBuilder readSnapshotDataForAggregates
+        ) {
+            assertNonNull(readSnapshotDataForAggregates, "readSnapshotDataForAggregates may not be null");
+            this.readSnapshotDataForAggregates = readSnapshotDataForAggregates;
+            return this;
+        }
+
         /**
          * Set the PreparedStatement to be used on {@link JdbcEventStorageEngine#readEventDataWithoutGaps(Connection,
          * long, int)}. Defaults to {@link JdbcEventStorageEngineStatements#readEventDataWithoutGaps(Connection,
@@ -1079,6 +1597,32 @@ public Builder readEventDataWithGaps(ReadEventDataWithGapsStatementBuilder readE
             return this;
         }
 
+        /**
+         * Set the PreparedStatement to be used on {@link JdbcEventStorageEngine#readEventIndexes(Connection,
+         * GapAwareTrackingToken, int)}. Defaults to {@link JdbcEventStorageEngineStatements#readEventIndexes(Connection,
+         * EventSchema, long, int, List)}
+         *
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder readEventIndexes(ReadEventIndexesStatementBuilder readEventIndexes) {
+            assertNonNull(readEventIndexes, "readEventIndexes may not be null");
+            this.readEventIndexes = readEventIndexes;
+            return this;
+        }
+
+        /**
+         * Set the PreparedStatement to be used on {@link JdbcEventStorageEngine#readEventDataForIndexes(Connection,
+         * List, Collection)}. Defaults to {@link JdbcEventStorageEngineStatements#readEventDataForIndexes(Connection,
+         * EventSchema, List, Collection)}
+         *
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder readEventDataForIndexes(ReadEventDataForIndexesStatementBuilder readEventDataForIndexes) {
+            assertNonNull(readEventDataForIndexes, "readEventDataForIndexes may not be null");
+            this.readEventDataForIndexes = readEventDataForIndexes;
+            return this;
+        }
+
         @Override
         public JdbcEventStorageEngine.Builder snapshotSerializer(Serializer snapshotSerializer) {
             super.snapshotSerializer(snapshotSerializer);
@@ -1139,12 +1683,30 @@ public JdbcEventStorageEngine.Builder snapshotFilter(SnapshotFilter snapshotFilt
             return this;
         }
 
+        @Override
+        public JdbcEventStorageEngine.Builder snapshotEncoder(SnapshotEncoder snapshotEncoder) {
+            super.snapshotEncoder(snapshotEncoder);
+            return this;
+        }
+
         @Override
         public JdbcEventStorageEngine.Builder batchSize(int batchSize) {
             super.batchSize(batchSize);
             return this;
         }
 
+        @Override
+        public JdbcEventStorageEngine.Builder optimisticLoadingExecutor(Executor optimisticLoadingExecutor) {
+            super.optimisticLoadingExecutor(optimisticLoadingExecutor);
+            return this;
+        }
+
+        @Override
+        public JdbcEventStorageEngine.Builder optimisticLoadingCacheSize(int optimisticLoadingCacheSize) {
+            super.optimisticLoadingCacheSize(optimisticLoadingCacheSize);
+            return this;
+        }
+
         /**
          * Sets the {@link ConnectionProvider} which provides access to a JDBC connection.
          *
@@ -1291,6 +1853,46 @@ public Builder extendedGapCheckEnabled(boolean extendedGapCheckEnabled) {
             return this;
         }
 
+        /**
+         * Sets the number of batches of events kept in a cache shared between all streams opened on this storage
+         * engine. Streams reading the same range of the event store, such as processors replaying after a reset, are
+         * served from a single database read. Concurrent reads of the same batch are coalesced as well.
+         * <p>
+         * Only batches of which the last event is older than the {@code gapTimeout} are cached, as more recent batches
+         * may still change when gaps are filled. Batches are cached in their serialized form, so each stream still
+         * deserializes the events it consumes.
+         * <p>
+         * Defaults to {@code 0}, which disables the cache.
+         *
+         * @param batchCacheSize the maximum number of batches to cache, or {@code 0} to disable the cache
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder batchCacheSize(int batchCacheSize) {
+            assertThat(batchCacheSize, size -> size >= 0, "The batchCacheSize may not be negative");
+            this.batchCacheSize = batchCacheSize;
+            return this;
+        }
+
+        /**
+         * Sets the {@link EventArchive} holding the cold ranges of the event table. Events are read from the archive
+         * when they are no longer, or not yet, available in the event table. Ranges are moved to the archive by a
+         * {@link JdbcEventArchiver}.
+         * <p>
+         * Streams read archived ranges from the archive rather than the event table, so replays do not load the
+         * database. Aggregates are read from the archive only when their events are missing from the event table.
+         * Loading aggregates optimistically, through an {@link #optimisticLoadingExecutor(Executor)}, is disabled
+         * when an archive is configured.
+         * <p>
+         * Defaults to {@code null}, meaning all events are read from the event table.
+         *
+         * @param eventArchive the {@link EventArchive} holding the cold ranges of the event table
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder eventArchive(EventArchive eventArchive) {
+            this.eventArchive = eventArchive;
+            return this;
+        }
+
         private void assertPositive(int num, final String numberDescription) {
             assertThat(num, number -> number > 0, "The " + numberDescription + " must be a positive number");
         }
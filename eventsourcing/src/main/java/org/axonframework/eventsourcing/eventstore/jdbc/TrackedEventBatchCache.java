@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2010-2024. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.axonframework.eventsourcing.eventstore.jdbc;
+
+import org.axonframework.eventhandling.TrackedEventData;
+import org.axonframework.eventhandling.TrackingToken;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * A bounded, least-recently-used cache of batches of {@link TrackedEventData}, shared between all streams opened on a
+ * {@link JdbcEventStorageEngine}. Batches are keyed by the token they were read from, so streams reading the same range
+ * of the event store, such as processors replaying from the tail, are served from a single database read.
+ * <p>
+ * Concurrent requests for the same batch are coalesced: only the first request reads from the database, while the
+ * others wait for its result.
+ *
+ * @author agent
+ * @since 4.11.0
+ */
+class TrackedEventBatchCache {
+
+    private final int maxSize;
+    private final Map<BatchKey, List<? extends TrackedEventData<?>>> batches;
+    private final ConcurrentMap<BatchKey, CompletableFuture<List<? extends TrackedEventData<?>>>> inProgress =
+            new ConcurrentHashMap<>();
+
+    /**
+     * Initialize a cache holding at most {@code maxSize} batches.
+     *
+     * @param maxSize the maximum number of batches to hold
+     */
+    TrackedEventBatchCache(int maxSize) {
+        this.maxSize = maxSize;
+        this.batches = new LinkedHashMap<BatchKey, List<? extends TrackedEventData<?>>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<BatchKey, List<? extends TrackedEventData<?>>> eldest) {
+                return size() > TrackedEventBatchCache.this.maxSize;
+            }
+        };
+    }
+
+    /**
+     * Returns the batch read from the given {@code lastToken}, using the given {@code loader} to read it from the
+     * database if it is not cached yet. If another thread is already reading the same batch, this method waits for its
+     * result instead. A batch read by the {@code loader} is only cached if it matches the given {@code cacheable}
+     * predicate.
+     *
+     * @param lastToken           the token the batch is read from, may be {@code null}
+     * @param batchSize           the requested size of the batch
+     * @param ignoredPayloadTypes the payload types omitted from the batch
+     * @param loader              the supplier reading the batch from the database
+     * @param cacheable           predicate indicating whether a batch read by the {@code loader} may be cached
+     * @return the batch read from the given {@code lastToken}
+     */
+    List<? extends TrackedEventData<?>> fetch(TrackingToken lastToken,
+                                              int batchSize,
+                                              Set<String> ignoredPayloadTypes,
+                                              Supplier<List<? extends TrackedEventData<?>>> loader,
+                                              Predicate<List<? extends TrackedEventData<?>>> cacheable) {
+        BatchKey key = new BatchKey(lastToken, batchSize, ignoredPayloadTypes);
+        List<? extends TrackedEventData<?>> cached = get(key);
+        if (cached != null) {
+            return cached;
+        }
+        CompletableFuture<List<? extends TrackedEventData<?>>> future = new CompletableFuture<>();
+        CompletableFuture<List<? extends TrackedEventData<?>>> existing = inProgress.putIfAbsent(key, future);
+        if (existing != null) {
+            return await(existing);
+        }
+        try {
+            // another thread may have completed the same read in the meantime
+            List<? extends TrackedEventData<?>> result = get(key);
+            if (result == null) {
+                result = loader.get();
+                if (cacheable.test(result)) {
+                    result = Collections.unmodifiableList(result);
+                    synchronized (batches) {
+                        batches.put(key, result);
+                    }
+                }
+            }
+            future.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inProgress.remove(key, future);
+        }
+    }
+
+    /**
+     * Returns the number of batches currently held by this cache.
+     *
+     * @return the number of cached batches
+     */
+    int size() {
+        synchronized (batches) {
+            return batches.size();
+        }
+    }
+
+    private List<? extends TrackedEventData<?>> get(BatchKey key) {
+        synchronized (batches) {
+            return batches.get(key);
+        }
+    }
+
+    private static List<? extends TrackedEventData<?>> await(
+            CompletableFuture<List<? extends TrackedEventData<?>>> future
+    ) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            } else if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private static final class BatchKey {
+
+        private final TrackingToken lastToken;
+        private final int batchSize;
+        private final Set<String> ignoredPayloadTypes;
+
+        private BatchKey(TrackingToken lastToken, int batchSize, Set<String> ignoredPayloadTypes) {
+            this.lastToken = lastToken;
+            this.batchSize = batchSize;
+            this.ignoredPayloadTypes = ignoredPayloadTypes.isEmpty()
+                    ? Collections.emptySet()
+                    : new HashSet<>(ignoredPayloadTypes);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            BatchKey batchKey = (BatchKey) o;
+            return batchSize == batchKey.batchSize
+                    && Objects.equals(lastToken, batchKey.lastToken)
+                    && Objects.equals(ignoredPayloadTypes, batchKey.ignoredPayloadTypes);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(lastToken, batchSize, ignoredPayloadTypes);
+        }
+    }
+}
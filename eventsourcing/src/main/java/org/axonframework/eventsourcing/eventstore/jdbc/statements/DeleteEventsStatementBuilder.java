@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2010-2024. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.axonframework.eventsourcing.eventstore.jdbc.statements;
+
+import org.axonframework.eventsourcing.eventstore.jdbc.EventSchema;
+import org.axonframework.eventsourcing.eventstore.jdbc.JdbcEventStorageEngine;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * Contract which defines how to build a PreparedStatement deleting a range of event entries, for use when the
+ * {@link JdbcEventStorageEngine} purges events that have been moved to its
+ * {@link org.axonframework.eventsourcing.eventstore.jdbc.EventArchive}.
+ *
+ * @author agent
+ * @since 4.11.0
+ */
+@FunctionalInterface
+public interface DeleteEventsStatementBuilder {
+
+    /**
+     * Creates a statement deleting the event entries with a global index in the given range.
+     *
+     * @param connection       The connection to the database.
+     * @param schema           The EventSchema to be used
+     * @param firstGlobalIndex The lowest global index of the entries to delete, inclusive.
+     * @param lastGlobalIndex  The highest global index of the entries to delete, inclusive.
+     * @return The newly created {@link PreparedStatement}.
+     * @throws SQLException when an exception occurs while creating the prepared statement.
+     */
+    PreparedStatement build(Connection connection, EventSchema schema, long firstGlobalIndex, long lastGlobalIndex)
+            throws SQLException;
+}
@@ -32,8 +32,10 @@
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.time.Instant;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.SortedSet;
 
 import static org.axonframework.common.DateTimeUtils.formatInstant;
@@ -378,6 +380,80 @@ public static PreparedStatement readSnapshotData(Connection connection, EventSch
         return statement;
     }
 
+    /**
+     * Set the PreparedStatement to be used on {@link JdbcEventStorageEngine#readSnapshotDataForAggregates(Collection)}.
+     * Only the latest snapshot of each aggregate is returned. Defaults to:
+     * <p/>
+     * {@code "SELECT [domainEventFields] FROM [snapshotTable] WHERE [aggregateIdentifierColumn] IN (?, ...) AND
+     * [sequenceNumberColumn] = (SELECT MAX(latest.[sequenceNumberColumn]) FROM [snapshotTable] latest WHERE
+     * latest.[aggregateIdentifierColumn] = [snapshotTable].[aggregateIdentifierColumn]) ORDER BY
+     * [aggregateIdentifierColumn]" }
+     * <p/>
+     * <b>NOTE:</b> each "?" is one of the identifiers from
+     * {@link JdbcEventStorageEngine#readSnapshotDataForAggregates(Collection)} and should <b>always</b> be present for
+     * the PreparedStatement to work.
+     *
+     * @param connection  The connection to the database.
+     * @param schema      The EventSchema to be used
+     * @param identifiers The identifiers of the aggregates.
+     * @return The newly created {@link PreparedStatement}.
+     * @throws SQLException when an exception occurs while creating the prepared statement.
+     */
+    public static PreparedStatement readSnapshotDataForAggregates(Connection connection, EventSchema schema,
+                                                                  Collection<String> identifiers)
+            throws SQLException {
+        final String sql = "SELECT "
+                + schema.domainEventFields() + " FROM " + schema.snapshotTable() + " WHERE "
+                + schema.aggregateIdentifierColumn() + " IN ("
+                + String.join(",", Collections.nCopies(identifiers.size(), "?")) + ") AND "
+                + schema.sequenceNumberColumn() + " = (SELECT MAX(latest." + schema.sequenceNumberColumn()
+                + ") FROM " + schema.snapshotTable() + " latest WHERE latest." + schema.aggregateIdentifierColumn()
+                + " = " + schema.snapshotTable() + "." + schema.aggregateIdentifierColumn() + ") ORDER BY "
+                + schema.aggregateIdentifierColumn();
+        PreparedStatement statement = connection.prepareStatement(sql);
+        int parameterIndex = 1;
+        for (String identifier : identifiers) {
+            statement.setString(parameterIndex++, identifier);
+        }
+        return statement;
+    }
+
+    /**
+     * Set the PreparedStatement to be used on {@link JdbcEventStorageEngine#readEventDataForAggregates(Map)}. Defaults
+     * to:
+     * <p/>
+     * {@code "SELECT [trackedEventFields] FROM [domainEventTable] WHERE ([aggregateIdentifierColumn] = ?1 AND
+     * [sequenceNumberColumn] >= ?2) OR ... ORDER BY [aggregateIdentifierColumn], [sequenceNumberColumn] ASC" }
+     * <p/>
+     * <b>NOTE:</b> each pair of "?1" and "?2" is an identifier and its first sequence number from
+     * {@link JdbcEventStorageEngine#readEventDataForAggregates(Map)} and they should <b>always</b> be present for the
+     * PreparedStatement to work.
+     *
+     * @param connection           The connection to the database.
+     * @param schema               The EventSchema to be used
+     * @param firstSequenceNumbers The expected sequence number of the first returned entry per aggregate identifier.
+     * @return The newly created {@link PreparedStatement}.
+     * @throws SQLException when an exception occurs while creating the prepared statement.
+     */
+    public static PreparedStatement readEventDataForAggregates(Connection connection, EventSchema schema,
+                                                               Map<String, Long> firstSequenceNumbers)
+            throws SQLException {
+        String condition = "(" + schema.aggregateIdentifierColumn() + " = ? AND "
+                + schema.sequenceNumberColumn() + " >= ?)";
+        final String sql =
+                "SELECT " + schema.trackedEventFields() + " FROM " + schema.domainEventTable() + " WHERE "
+                        + String.join(" OR ", Collections.nCopies(firstSequenceNumbers.size(), condition))
+                        + " ORDER BY " + schema.aggregateIdentifierColumn() + ", "
+                        + schema.sequenceNumberColumn() + " ASC";
+        PreparedStatement statement = connection.prepareStatement(sql);
+        int parameterIndex = 1;
+        for (Map.Entry<String, Long> entry : firstSequenceNumbers.entrySet()) {
+            statement.setString(parameterIndex++, entry.getKey());
+            statement.setLong(parameterIndex++, entry.getValue());
+        }
+        return statement;
+    }
+
     /**
      * Set the PreparedStatement to be used on {@link JdbcEventStorageEngine#fetchTrackedEvents(TrackingToken, int)}
      * when there is no gaps on the {@link GapAwareTrackingToken}. Defaults to:
@@ -443,4 +519,105 @@ public static PreparedStatement readEventDataWithGaps(Connection connection, Eve
         }
         return statement;
     }
+
+    /**
+     * Set the PreparedStatement reading the global index and timestamp of the event entries in a batch, used by
+     * {@link JdbcEventStorageEngine} when events of ignored payload types are omitted. Defaults to:
+     * <p/>
+     * {@code "SELECT [globalIndexColumn], [timestampColumn] FROM [domainEventTable] WHERE ([globalIndexColumn] > ?1 AND
+     * [globalIndexColumn] <= ?2) OR [globalIndexColumn] IN (?3 .. ?n) ORDER BY [globalIndexColumn] ASC" }
+     * <p/>
+     * <b>NOTE:</b> "?1" is the globalIndex and "?2" is the batchSize parameters. "?3 .. ?n" is taken from the {@link
+     * GapAwareTrackingToken#getGaps()}, and is omitted if there are no gaps.
+     *
+     * @param connection  The connection to the database.
+     * @param schema      The EventSchema to be used
+     * @param globalIndex The index taken from the tracking token.
+     * @param batchSize   The number of items to include in the batch
+     * @param gaps        The gaps taken from the tracking token, which may be empty.
+     * @return The newly created {@link PreparedStatement}.
+     * @throws SQLException when an exception occurs while creating the prepared statement.
+     */
+    public static PreparedStatement readEventIndexes(Connection connection, EventSchema schema, long globalIndex,
+                                                     int batchSize, List<Long> gaps) throws SQLException {
+        String sql = "SELECT " + schema.globalIndexColumn() + ", " + schema.timestampColumn()
+                + " FROM " + schema.domainEventTable() + " WHERE ("
+                + schema.globalIndexColumn() + " > ? AND " + schema.globalIndexColumn() + " <= ?)"
+                + (gaps.isEmpty() ? "" : " OR " + schema.globalIndexColumn() + " IN ("
+                + String.join(",", Collections.nCopies(gaps.size(), "?")) + ")")
+                + " ORDER BY " + schema.globalIndexColumn() + " ASC";
+        PreparedStatement statement = connection.prepareStatement(sql);
+        statement.setLong(1, globalIndex);
+        statement.setLong(2, globalIndex + batchSize);
+        for (int i = 0; i < gaps.size(); i++) {
+            statement.setLong(i + 3, gaps.get(i));
+        }
+        return statement;
+    }
+
+    /**
+     * Set the PreparedStatement deleting a range of event entries, used by {@link JdbcEventStorageEngine} to purge
+     * events that have been archived. Defaults to:
+     * <p/>
+     * {@code "DELETE FROM [domainEventTable] WHERE [globalIndexColumn] >= ?1 AND [globalIndexColumn] <= ?2" }
+     * <p/>
+     * <b>NOTE:</b> "?1" is the lowest and "?2" the highest global index of the range, both inclusive.
+     *
+     * @param connection       The connection to the database.
+     * @param schema           The EventSchema to be used
+     * @param firstGlobalIndex The lowest global index of the entries to delete, inclusive.
+     * @param lastGlobalIndex  The highest global index of the entries to delete, inclusive.
+     * @return The newly created {@link PreparedStatement}.
+     * @throws SQLException when an exception occurs while creating the prepared statement.
+     */
+    public static PreparedStatement deleteEvents(Connection connection, EventSchema schema,
+                                                 long firstGlobalIndex, long lastGlobalIndex) throws SQLException {
+        final String sql = "DELETE FROM " + schema.domainEventTable() + " WHERE " + schema.globalIndexColumn()
+                + " >= ? AND " + schema.globalIndexColumn() + " <= ?";
+        PreparedStatement statement = connection.prepareStatement(sql);
+        statement.setLong(1, firstGlobalIndex);
+        statement.setLong(2, lastGlobalIndex);
+        return statement;
+    }
+
+    /**
+     * Set the PreparedStatement reading the event entries at the given global indexes, excluding entries of ignored
+     * payload types, used by {@link JdbcEventStorageEngine} when events of ignored payload types are omitted. Defaults
+     * to:
+     * <p/>
+     * {@code "SELECT [trackedEventFields] FROM [domainEventTable] WHERE [globalIndexColumn] IN (?1 .. ?n) AND
+     * ([payloadTypeColumn] NOT IN (?n+1 .. ?m) OR [globalIndexColumn] = ?m+1) ORDER BY [globalIndexColumn] ASC" }
+     * <p/>
+     * <b>NOTE:</b> "?1 .. ?n" are the given global indexes, "?n+1 .. ?m" the ignored payload types and "?m+1" is the
+     * highest of the given global indexes, which is always included so that the tracking token can advance past
+     * trailing ignored entries.
+     *
+     * @param connection          The connection to the database.
+     * @param schema              The EventSchema to be used
+     * @param globalIndexes       The ascending global indexes of the entries to read.
+     * @param ignoredPayloadTypes The payload type names of the entries to exclude.
+     * @return The newly created {@link PreparedStatement}.
+     * @throws SQLException when an exception occurs while creating the prepared statement.
+     */
+    public static PreparedStatement readEventDataForIndexes(Connection connection, EventSchema schema,
+                                                            List<Long> globalIndexes,
+                                                            Collection<String> ignoredPayloadTypes)
+            throws SQLException {
+        String sql = "SELECT " + schema.trackedEventFields() + " FROM " + schema.domainEventTable()
+                + " WHERE " + schema.globalIndexColumn() + " IN ("
+                + String.join(",", Collections.nCopies(globalIndexes.size(), "?")) + ") AND ("
+                + schema.payloadTypeColumn() + " NOT IN ("
+                + String.join(",", Collections.nCopies(ignoredPayloadTypes.size(), "?")) + ") OR "
+                + schema.globalIndexColumn() + " = ?) ORDER BY " + schema.globalIndexColumn() + " ASC";
+        PreparedStatement statement = connection.prepareStatement(sql);
+        int parameterIndex = 1;
+        for (Long globalIndex : globalIndexes) {
+            statement.setLong(parameterIndex++, globalIndex);
+        }
+        for (String payloadType : ignoredPayloadTypes) {
+            statement.setString(parameterIndex++, payloadType);
+        }
+        statement.setLong(parameterIndex, globalIndexes.get(globalIndexes.size() - 1));
+        return statement;
+    }
 }
@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2010-2024. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.axonframework.eventsourcing.eventstore.jdbc.statements;
+
+import org.axonframework.eventsourcing.eventstore.jdbc.EventSchema;
+import org.axonframework.eventsourcing.eventstore.jdbc.JdbcEventStorageEngine;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Contract which defines how to build a PreparedStatement reading the event entries at the given global indexes,
+ * excluding entries of ignored payload types, for use when the {@link JdbcEventStorageEngine} omits events of ignored
+ * payload types.
+ *
+ * @author agent
+ * @since 4.11.0
+ */
+@FunctionalInterface
+public interface ReadEventDataForIndexesStatementBuilder {
+
+    /**
+     * Creates a statement reading the event entries at the given {@code globalIndexes}. Entries with a payload type in
+     * the given {@code ignoredPayloadTypes} are excluded, with the exception of the entry at the highest of the given
+     * indexes, which is always included.
+     *
+     * @param connection          The connection to the database.
+     * @param schema              The EventSchema to be used
+     * @param globalIndexes       The ascending global indexes of the entries to read.
+     * @param ignoredPayloadTypes The payload type names of the entries to exclude.
+     * @return The newly created {@link PreparedStatement}.
+     * @throws SQLException when an exception occurs while creating the prepared statement.
+     */
+    PreparedStatement build(Connection connection, EventSchema schema, List<Long> globalIndexes,
+                            Collection<String> ignoredPayloadTypes) throws SQLException;
+}
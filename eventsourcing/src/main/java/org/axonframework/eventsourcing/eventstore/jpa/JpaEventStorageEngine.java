@@ -17,6 +17,7 @@
 package org.axonframework.eventsourcing.eventstore.jpa;
 
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
 import jakarta.persistence.TypedQuery;
 import org.axonframework.common.Assert;
 import org.axonframework.common.AxonConfigurationException;
@@ -35,6 +36,7 @@
 import org.axonframework.eventhandling.TrackedEventData;
 import org.axonframework.eventhandling.TrackingToken;
 import org.axonframework.eventsourcing.eventstore.BatchingEventStorageEngine;
+import org.axonframework.eventsourcing.snapshotting.SnapshotEncoder;
 import org.axonframework.eventsourcing.snapshotting.SnapshotFilter;
 import org.axonframework.serialization.Serializer;
 import org.axonframework.serialization.upcasting.event.EventUpcaster;
@@ -46,10 +48,14 @@
 import java.time.format.DateTimeParseException;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.Executor;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.LongStream;
@@ -117,6 +123,7 @@ protected JpaEventStorageEngine(Builder builder) {
      * {@link DataSource} is provided</li>
      * <li>The {@code snapshotFilter} defaults to a {@link SnapshotFilter#allowAll()} instance.</li>
      * <li>The {@code batchSize} defaults to an integer of size {@code 100}.</li>
+     * <li>The {@code optimisticLoadingCacheSize} defaults to an integer of size {@code 1024}.</li>
      * <li>The {@code explicitFlush} defaults to {@code true}.</li>
      * <li>The {@code maxGapOffset} defaults to an  integer of size {@code 10000}.</li>
      * <li>The {@code lowestGlobalSequence} defaults to a long of size {@code 1}.</li>
@@ -205,24 +212,111 @@ protected List<? extends TrackedEventData<?>> fetchTrackedEvents(TrackingToken l
             );
 
             // Now that we have the event itself, we can calculate the token
-            boolean allowGaps = domainEvent.getTimestamp().isAfter(gapTimeoutThreshold());
-            if (token == null) {
-                token = GapAwareTrackingToken.newInstance(
-                        globalSequence,
-                        allowGaps
-                        ? LongStream.range(Math.min(lowestGlobalSequence, globalSequence), globalSequence)
-                                    .boxed()
-                                    .collect(Collectors.toCollection(TreeSet::new))
-                        : Collections.emptySortedSet()
-                );
-            } else {
-                token = token.advanceTo(globalSequence, allowGaps ? maxGapOffset : 0);
-            }
+            token = advanceToken(token, globalSequence, domainEvent.getTimestamp());
             result.add(new TrackedDomainEventData<>(token, domainEvent));
         }
         return result;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * When payload types are ignored, the global index and timestamp of the entries in the batch are read first, after
+     * which only the entries of other payload types are read in full. The entry at the end of the batch is always read,
+     * so that the returned tracking tokens advance past any trailing ignored entries.
+     */
+    @Override
+    protected List<? extends TrackedEventData<?>> fetchTrackedEvents(TrackingToken lastToken,
+                                                                     int batchSize,
+                                                                     Set<String> ignoredPayloadTypes) {
+        if (ignoredPayloadTypes.isEmpty()) {
+            return fetchTrackedEvents(lastToken, batchSize);
+        }
+        Assert.isTrue(
+                lastToken == null || lastToken instanceof GapAwareTrackingToken,
+                () -> String.format("Token [%s] is of the wrong type. Expected [%s]",
+                                    lastToken, GapAwareTrackingToken.class.getSimpleName())
+        );
+
+        GapAwareTrackingToken previousToken = cleanedToken((GapAwareTrackingToken) lastToken);
+
+        return transactionManager.fetchInTransaction(() -> {
+            List<Object[]> positions = fetchEventIndexes(previousToken, batchSize);
+            List<TrackedEventData<?>> result = new ArrayList<>();
+            if (positions.isEmpty()) {
+                return result;
+            }
+            List<Long> indexes = positions.stream().map(p -> (Long) p[0]).collect(Collectors.toList());
+            List<Object[]> entries = entityManager().createQuery(
+                    "SELECT e.globalIndex, e.type, e.aggregateIdentifier, e.sequenceNumber, e.eventIdentifier, "
+                            + "e.timeStamp, e.payloadType, e.payloadRevision, e.payload, e.metaData " +
+                            "FROM " + domainEventEntryEntityName() + " e " +
+                            "WHERE e.globalIndex IN :indexes " +
+                            "AND (e.payloadType NOT IN :payloadTypes OR e.globalIndex = :lastIndex) " +
+                            "ORDER BY e.globalIndex ASC", Object[].class
+            ).setParameter("indexes", indexes)
+             .setParameter("payloadTypes", ignoredPayloadTypes)
+             .setParameter("lastIndex", indexes.get(indexes.size() - 1))
+             .getResultList();
+
+            GapAwareTrackingToken token = previousToken;
+            int position = 0;
+            for (Object[] entry : entries) {
+                long globalSequence = (Long) entry[0];
+                // ignored entries preceding this one only advance the token
+                while (position < positions.size() && indexes.get(position) < globalSequence) {
+                    Instant timestamp = DateTimeUtils.parseInstant(positions.get(position)[1].toString());
+                    token = advanceToken(token, indexes.get(position), timestamp);
+                    position++;
+                }
+                String aggregateIdentifier = (String) entry[2];
+                String eventIdentifier = (String) entry[4];
+                GenericDomainEventEntry<?> domainEvent = new GenericDomainEventEntry<>(
+                        (String) entry[1], eventIdentifier.equals(aggregateIdentifier) ? null : aggregateIdentifier,
+                        (long) entry[3], eventIdentifier, entry[5],
+                        (String) entry[6], (String) entry[7], entry[8], entry[9]
+                );
+                token = advanceToken(token, globalSequence, domainEvent.getTimestamp());
+                result.add(new TrackedDomainEventData<>(token, domainEvent));
+                position++;
+            }
+            return result;
+        });
+    }
+
+    private List<Object[]> fetchEventIndexes(GapAwareTrackingToken token, int batchSize) {
+        TypedQuery<Object[]> query;
+        if (token == null || token.getGaps().isEmpty()) {
+            query = entityManager().createQuery(
+                    "SELECT e.globalIndex, e.timeStamp FROM " + domainEventEntryEntityName() + " e " +
+                            "WHERE e.globalIndex > :token ORDER BY e.globalIndex ASC", Object[].class);
+        } else {
+            query = entityManager().createQuery(
+                    "SELECT e.globalIndex, e.timeStamp FROM " + domainEventEntryEntityName() + " e " +
+                            "WHERE e.globalIndex > :token OR e.globalIndex IN :gaps ORDER BY e.globalIndex ASC",
+                    Object[].class
+            ).setParameter("gaps", token.getGaps());
+        }
+        return query.setParameter("token", token == null ? -1L : token.getIndex())
+                    .setMaxResults(batchSize)
+                    .getResultList();
+    }
+
+    private GapAwareTrackingToken advanceToken(GapAwareTrackingToken token, long globalSequence, Instant timestamp) {
+        boolean allowGaps = timestamp.isAfter(gapTimeoutThreshold());
+        if (token == null) {
+            return GapAwareTrackingToken.newInstance(
+                    globalSequence,
+                    allowGaps
+                    ? LongStream.range(Math.min(lowestGlobalSequence, globalSequence), globalSequence)
+                                .boxed()
+                                .collect(Collectors.toCollection(TreeSet::new))
+                    : Collections.emptySortedSet()
+            );
+        }
+        return token.advanceTo(globalSequence, allowGaps ? maxGapOffset : 0);
+    }
+
     private GapAwareTrackingToken cleanedToken(GapAwareTrackingToken lastToken) {
         if (lastToken != null && lastToken.getGaps().size() > gapCleaningThreshold) {
             return withGapsCleaned(lastToken, transactionManager.fetchInTransaction(() -> entityManager()
@@ -303,12 +397,81 @@ protected Stream<? extends DomainEventData<?>> readSnapshotData(String aggregate
                                         + "ORDER BY e.sequenceNumber DESC"
                         )
                         .setParameter("id", aggregateIdentifier)
-                        .setMaxResults(1)
+                        .setMaxResults(storesDeltaSnapshots() ? Integer.MAX_VALUE : 1)
                         .getResultList()
                         .stream()
         );
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * This implementation reads the latest snapshot of each aggregate, querying a limited number of aggregates at a
+     * time. When snapshots may be stored as a delta, the snapshots are read per aggregate instead.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    protected Map<String, List<? extends DomainEventData<?>>> readSnapshotDataForAggregates(
+            Collection<String> aggregateIdentifiers
+    ) {
+        if (storesDeltaSnapshots()) {
+            return super.readSnapshotDataForAggregates(aggregateIdentifiers);
+        }
+        return readSnapshotDataInChunks(aggregateIdentifiers, chunk -> transactionManager.fetchInTransaction(
+                () -> entityManager()
+                        .createQuery(
+                                "SELECT new org.axonframework.eventhandling.GenericDomainEventEntry("
+                                        + "e.type, e.aggregateIdentifier, e.sequenceNumber, e.eventIdentifier, "
+                                        + "e.timeStamp, e.payloadType, e.payloadRevision, e.payload, e.metaData) FROM "
+                                        + snapshotEventEntryEntityName() + " e "
+                                        + "WHERE e.aggregateIdentifier IN :ids AND e.sequenceNumber = ("
+                                        + "SELECT MAX(latest.sequenceNumber) FROM " + snapshotEventEntryEntityName()
+                                        + " latest WHERE latest.aggregateIdentifier = e.aggregateIdentifier) "
+                                        + "ORDER BY e.aggregateIdentifier"
+                        )
+                        .setParameter("ids", chunk)
+                        .getResultList()
+        ));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * This implementation queries a limited number of aggregates at a time, reading at most the {@link #batchSize()
+     * batch size} of events per query.
+     */
+    @Override
+    protected Map<String, List<? extends DomainEventData<?>>> readEventDataForAggregates(
+            Map<String, Long> firstSequenceNumbers
+    ) {
+        return readEventDataInChunks(firstSequenceNumbers, this::fetchDomainEventsForAggregates);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<? extends DomainEventData<?>> fetchDomainEventsForAggregates(Map<String, Long> firstSequenceNumbers,
+                                                                           int batchSize) {
+        List<String> conditions = new ArrayList<>();
+        for (int i = 0; i < firstSequenceNumbers.size(); i++) {
+            conditions.add("(e.aggregateIdentifier = :id" + i + " AND e.sequenceNumber >= :seq" + i + ")");
+        }
+        return transactionManager.fetchInTransaction(() -> {
+            Query query = entityManager().createQuery(
+                    "SELECT new org.axonframework.eventhandling.GenericDomainEventEntry(" +
+                            "e.type, e.aggregateIdentifier, e.sequenceNumber, e.eventIdentifier, e.timeStamp, "
+                            + "e.payloadType, e.payloadRevision, e.payload, e.metaData) FROM "
+                            + domainEventEntryEntityName() + " e WHERE " + String.join(" OR ", conditions)
+                            + " ORDER BY e.aggregateIdentifier, e.sequenceNumber ASC"
+            );
+            int i = 0;
+            for (Map.Entry<String, Long> entry : firstSequenceNumbers.entrySet()) {
+                query.setParameter("id" + i, entry.getKey())
+                     .setParameter("seq" + i, entry.getValue());
+                i++;
+            }
+            return query.setMaxResults(batchSize).getResultList();
+        });
+    }
+
     @Override
     protected void appendEvents(List<? extends EventMessage<?>> events, Serializer serializer) {
         if (events.isEmpty()) {
@@ -331,7 +494,7 @@ protected void appendEvents(List<? extends EventMessage<?>> events, Serializer s
     protected void storeSnapshot(DomainEventMessage<?> snapshot, Serializer serializer) {
         try {
             entityManager().merge(createSnapshotEntity(snapshot, serializer));
-            deleteSnapshots(snapshot.getAggregateIdentifier(), snapshot.getSequenceNumber());
+            deleteSnapshots(snapshot.getAggregateIdentifier(), snapshotRetentionSequenceNumber(snapshot, serializer));
             if (explicitFlush) {
                 entityManager().flush();
             }
@@ -340,6 +503,17 @@ protected void storeSnapshot(DomainEventMessage<?> snapshot, Serializer serializ
         }
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * This storage engine retains snapshots from the retention sequence number. All of them are returned when reading
+     * the snapshots of an aggregate if snapshots may be stored as a delta.
+     */
+    @Override
+    protected boolean retainsBaseSnapshots() {
+        return true;
+    }
+
     @Override
     public Optional<Long> lastSequenceNumberFor(@Nonnull String aggregateIdentifier) {
         List<Long> results = entityManager().createQuery(
@@ -497,6 +671,7 @@ public void setGapCleaningThreshold(int gapCleaningThreshold) {
      * {@link DataSource} is provided</li>
      * <li>The {@code snapshotFilter} defaults to a {@link SnapshotFilter#allowAll()} instance.</li>
      * <li>The {@code batchSize} defaults to an integer of size {@code 100}.</li>
+     * <li>The {@code optimisticLoadingCacheSize} defaults to an integer of size {@code 1024}.</li>
      * <li>The {@code explicitFlush} defaults to {@code true}.</li>
      * <li>The {@code maxGapOffset} defaults to an  integer of size {@code 10000}.</li>
      * <li>The {@code lowestGlobalSequence} defaults to a long of size {@code 1}.</li>
@@ -572,12 +747,30 @@ public JpaEventStorageEngine.Builder snapshotFilter(SnapshotFilter snapshotFilte
             return this;
         }
 
+        @Override
+        public JpaEventStorageEngine.Builder snapshotEncoder(SnapshotEncoder snapshotEncoder) {
+            super.snapshotEncoder(snapshotEncoder);
+            return this;
+        }
+
         @Override
         public JpaEventStorageEngine.Builder batchSize(int batchSize) {
             super.batchSize(batchSize);
             return this;
         }
 
+        @Override
+        public JpaEventStorageEngine.Builder optimisticLoadingExecutor(Executor optimisticLoadingExecutor) {
+            super.optimisticLoadingExecutor(optimisticLoadingExecutor);
+            return this;
+        }
+
+        @Override
+        public JpaEventStorageEngine.Builder optimisticLoadingCacheSize(int optimisticLoadingCacheSize) {
+            super.optimisticLoadingCacheSize(optimisticLoadingCacheSize);
+            return this;
+        }
+
         /**
          * Sets the {@link PersistenceExceptionResolver} as a {@link SQLErrorCodesResolver}, using the provided
          * {@link DataSource} to resolve the error codes. <b>Note</b> that the provided DataSource sole purpose in this
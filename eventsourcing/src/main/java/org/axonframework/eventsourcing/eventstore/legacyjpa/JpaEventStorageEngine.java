@@ -35,6 +35,7 @@
 import org.axonframework.eventsourcing.eventstore.BatchingEventStorageEngine;
 import org.axonframework.eventsourcing.eventstore.jpa.DomainEventEntry;
 import org.axonframework.eventsourcing.eventstore.jpa.SnapshotEventEntry;
+import org.axonframework.eventsourcing.snapshotting.SnapshotEncoder;
 import org.axonframework.eventsourcing.snapshotting.SnapshotFilter;
 import org.axonframework.serialization.Serializer;
 import org.axonframework.serialization.upcasting.event.EventUpcaster;
@@ -50,6 +51,7 @@
 import java.util.List;
 import java.util.Optional;
 import java.util.TreeSet;
+import java.util.concurrent.Executor;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.LongStream;
@@ -122,6 +124,7 @@ protected JpaEventStorageEngine(Builder builder) {
      * {@link DataSource} is provided</li>
      * <li>The {@code snapshotFilter} defaults to a {@link SnapshotFilter#allowAll()} instance.</li>
      * <li>The {@code batchSize} defaults to an integer of size {@code 100}.</li>
+     * <li>The {@code optimisticLoadingCacheSize} defaults to an integer of size {@code 1024}.</li>
      * <li>The {@code explicitFlush} defaults to {@code true}.</li>
      * <li>The {@code maxGapOffset} defaults to an  integer of size {@code 10000}.</li>
      * <li>The {@code lowestGlobalSequence} defaults to a long of size {@code 1}.</li>
@@ -311,7 +314,7 @@ protected Stream<? extends DomainEventData<?>> readSnapshotData(String aggregate
                                         + "ORDER BY e.sequenceNumber DESC"
                         )
                         .setParameter("id", aggregateIdentifier)
-                        .setMaxResults(1)
+                        .setMaxResults(storesDeltaSnapshots() ? Integer.MAX_VALUE : 1)
                         .getResultList()
                         .stream()
         );
@@ -339,7 +342,7 @@ protected void appendEvents(List<? extends EventMessage<?>> events, Serializer s
     protected void storeSnapshot(DomainEventMessage<?> snapshot, Serializer serializer) {
         try {
             entityManager().merge(createSnapshotEntity(snapshot, serializer));
-            deleteSnapshots(snapshot.getAggregateIdentifier(), snapshot.getSequenceNumber());
+            deleteSnapshots(snapshot.getAggregateIdentifier(), snapshotRetentionSequenceNumber(snapshot, serializer));
             if (explicitFlush) {
                 entityManager().flush();
             }
@@ -348,6 +351,17 @@ protected void storeSnapshot(DomainEventMessage<?> snapshot, Serializer serializ
         }
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * This storage engine retains snapshots from the retention sequence number. All of them are returned when reading
+     * the snapshots of an aggregate if snapshots may be stored as a delta.
+     */
+    @Override
+    protected boolean retainsBaseSnapshots() {
+        return true;
+    }
+
     @Override
     public Optional<Long> lastSequenceNumberFor(@Nonnull String aggregateIdentifier) {
         List<Long> results = entityManager().createQuery(
@@ -503,6 +517,7 @@ public void setGapCleaningThreshold(int gapCleaningThreshold) {
      * {@link DataSource} is provided</li>
      * <li>The {@code snapshotFilter} defaults to a {@link SnapshotFilter#allowAll()} instance.</li>
      * <li>The {@code batchSize} defaults to an integer of size {@code 100}.</li>
+     * <li>The {@code optimisticLoadingCacheSize} defaults to an integer of size {@code 1024}.</li>
      * <li>The {@code explicitFlush} defaults to {@code true}.</li>
      * <li>The {@code maxGapOffset} defaults to an  integer of size {@code 10000}.</li>
      * <li>The {@code lowestGlobalSequence} defaults to a long of size {@code 1}.</li>
@@ -579,12 +594,30 @@ public Builder snapshotFilter(SnapshotFilter snapshotFilter) {
             return this;
         }
 
+        @Override
+        public Builder snapshotEncoder(SnapshotEncoder snapshotEncoder) {
+            super.snapshotEncoder(snapshotEncoder);
+            return this;
+        }
+
         @Override
         public Builder batchSize(int batchSize) {
             super.batchSize(batchSize);
             return this;
         }
 
+        @Override
+        public Builder optimisticLoadingExecutor(Executor optimisticLoadingExecutor) {
+            super.optimisticLoadingExecutor(optimisticLoadingExecutor);
+            return this;
+        }
+
+        @Override
+        public Builder optimisticLoadingCacheSize(int optimisticLoadingCacheSize) {
+            super.optimisticLoadingCacheSize(optimisticLoadingCacheSize);
+            return this;
+        }
+
         /**
          * Sets the {@link PersistenceExceptionResolver} as a {@link SQLErrorCodesResolver}, using the provided
          * {@link DataSource} to resolve the error codes. <b>Note</b> that the provided DataSource sole purpose in this
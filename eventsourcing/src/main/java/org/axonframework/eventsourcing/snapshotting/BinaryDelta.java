@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2010-2024. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.axonframework.eventsourcing.snapshotting;
+
+import java.io.ByteArrayOutputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Computes and applies binary deltas between serialized snapshots. A delta describes a target as a sequence of
+ * instructions to either copy a range of bytes from the base, or to insert literal bytes. As serialized snapshots of
+ * the same aggregate mostly differ in the values of the fields that changed, a delta is typically a fraction of the
+ * size of the target.
+ * <p>
+ * Matching ranges are found by indexing the base in fixed-size blocks and looking up each position of the target with
+ * a rolling hash. A match is extended in both directions for as long as the bytes are equal.
+ *
+ * @author agent
+ * @since 4.11.0
+ */
+final class BinaryDelta {
+
+    private static final int BLOCK_SIZE = 16;
+    private static final int MULTIPLIER = 31;
+    private static final int OUTGOING_FACTOR = power(MULTIPLIER, BLOCK_SIZE - 1);
+
+    private static final int COPY = 1;
+    private static final int INSERT = 2;
+
+    private BinaryDelta() {
+        // utility class
+    }
+
+    /**
+     * Computes the delta describing the given {@code target} in terms of the given {@code base}.
+     *
+     * @param base   the bytes to compute the delta against
+     * @param target the bytes to describe
+     * @return the delta from {@code base} to {@code target}
+     */
+    static byte[] diff(byte[] base, byte[] target) {
+        ByteArrayOutputStream delta = new ByteArrayOutputStream();
+        Map<Integer, Integer> blocks = new HashMap<>();
+        for (int offset = 0; offset + BLOCK_SIZE <= base.length; offset += BLOCK_SIZE) {
+            blocks.putIfAbsent(hash(base, offset), offset);
+        }
+        int literalStart = 0;
+        int position = 0;
+        int hash = target.length >= BLOCK_SIZE ? hash(target, 0) : 0;
+        while (position + BLOCK_SIZE <= target.length) {
+            Integer candidate = blocks.get(hash);
+            if (candidate != null && equal(base, candidate, target, position, BLOCK_SIZE)) {
+                int baseStart = candidate;
+                int targetStart = position;
+                while (targetStart > literalStart && baseStart > 0 && base[baseStart - 1] == target[targetStart - 1]) {
+                    baseStart--;
+                    targetStart--;
+                }
+                int length = position - targetStart + BLOCK_SIZE;
+                while (baseStart + length < base.length && targetStart + length < target.length
+                        && base[baseStart + length] == target[targetStart + length]) {
+                    length++;
+                }
+                writeInsert(delta, target, literalStart, targetStart);
+                writeCopy(delta, baseStart, length);
+                position = targetStart + length;
+                literalStart = position;
+                if (position + BLOCK_SIZE <= target.length) {
+                    hash = hash(target, position);
+                }
+            } else {
+                if (position + BLOCK_SIZE < target.length) {
+                    hash = (hash - (target[position] & 0xFF) * OUTGOING_FACTOR) * MULTIPLIER
+                            + (target[position + BLOCK_SIZE] & 0xFF);
+                }
+                position++;
+            }
+        }
+        writeInsert(delta, target, literalStart, target.length);
+        return delta.toByteArray();
+    }
+
+    /**
+     * Applies the given {@code delta} to the given {@code base}, reconstructing the target the delta was computed for.
+     *
+     * @param base  the bytes the delta was computed against
+     * @param delta the delta to apply
+     * @return the target described by the delta
+     * @throws IllegalArgumentException when the delta is malformed, or does not match the base
+     */
+    static byte[] patch(byte[] base, byte[] delta) {
+        ByteArrayOutputStream target = new ByteArrayOutputStream(base.length + delta.length);
+        int[] position = {0};
+        while (position[0] < delta.length) {
+            int instruction = delta[position[0]++];
+            if (instruction == COPY) {
+                int offset = readVarInt(delta, position);
+                int length = readVarInt(delta, position);
+                if (offset < 0 || length < 0 || offset + length > base.length) {
+                    throw new IllegalArgumentException("Delta refers to bytes outside of the base");
+                }
+                target.write(base, offset, length);
+            } else if (instruction == INSERT) {
+                int length = readVarInt(delta, position);
+                if (length < 0 || position[0] + length > delta.length) {
+                    throw new IllegalArgumentException("Delta contains a truncated insert instruction");
+                }
+                target.write(delta, position[0], length);
+                position[0] += length;
+            } else {
+                throw new IllegalArgumentException("Delta contains an unknown instruction [" + instruction + "]");
+            }
+        }
+        return target.toByteArray();
+    }
+
+    private static void writeCopy(ByteArrayOutputStream delta, int offset, int length) {
+        delta.write(COPY);
+        writeVarInt(delta, offset);
+        writeVarInt(delta, length);
+    }
+
+    private static void writeInsert(ByteArrayOutputStream delta, byte[] source, int start, int end) {
+        if (end > start) {
+            delta.write(INSERT);
+            writeVarInt(delta, end - start);
+            delta.write(source, start, end - start);
+        }
+    }
+
+    private static void writeVarInt(ByteArrayOutputStream out, int value) {
+        int remaining = value;
+        while ((remaining & ~0x7F) != 0) {
+            out.write((remaining & 0x7F) | 0x80);
+            remaining >>>= 7;
+        }
+        out.write(remaining);
+    }
+
+    private static int readVarInt(byte[] source, int[] position) {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            if (position[0] >= source.length) {
+                throw new IllegalArgumentException("Delta contains a truncated number");
+            }
+            byte current = source[position[0]++];
+            value |= (current & 0x7F) << shift;
+            if ((current & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Delta contains a malformed number");
+    }
+
+    private static int hash(byte[] source, int offset) {
+        int hash = 0;
+        for (int i = offset; i < offset + BLOCK_SIZE; i++) {
+            hash = hash * MULTIPLIER + (source[i] & 0xFF);
+        }
+        return hash;
+    }
+
+    private static boolean equal(byte[] first, int firstOffset, byte[] second, int secondOffset, int length) {
+        for (int i = 0; i < length; i++) {
+            if (first[firstOffset + i] != second[secondOffset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int power(int base, int exponent) {
+        int result = 1;
+        for (int i = 0; i < exponent; i++) {
+            result *= base;
+        }
+        return result;
+    }
+}
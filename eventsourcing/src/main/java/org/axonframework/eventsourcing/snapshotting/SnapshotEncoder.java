@@ -0,0 +1,391 @@
+/*
+ * Copyright (c) 2010-2024. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.axonframework.eventsourcing.snapshotting;
+
+import org.axonframework.common.AxonConfigurationException;
+import org.axonframework.eventhandling.DomainEventData;
+import org.axonframework.eventhandling.GenericDomainEventEntry;
+import org.axonframework.serialization.Converter;
+import org.axonframework.serialization.SerializedObject;
+import org.axonframework.serialization.SerializedType;
+import org.axonframework.serialization.SimpleSerializedObject;
+import org.axonframework.serialization.SimpleSerializedType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import static org.axonframework.common.BuilderUtils.assertPositive;
+import static org.axonframework.common.BuilderUtils.assertStrictPositive;
+
+/**
+ * Encodes the serialized payload of snapshots before they are stored, and decodes them when they are read. Large
+ * snapshots may be compressed, and snapshots may be stored as a delta against a periodically stored full snapshot of
+ * the same aggregate, the base.
+ * <p>
+ * The encoding of a snapshot is indicated in the name of its serialized type. A compressed snapshot has its type name
+ * prefixed with {@code deflate:}, and a delta against the base with sequence number {@code 12} has its type name
+ * prefixed with {@code delta.12:}. The revision of the serialized type is left as is. As snapshots are decoded before
+ * being passed to a {@link SnapshotFilter}, filters such as the {@link RevisionSnapshotFilter} observe the original
+ * type and revision. Snapshots stored without an encoder are read as is, allowing an encoder to be introduced on an
+ * existing event store.
+ * <p>
+ * The payload of encoded snapshots is binary. Storage engines using this encoder should thus store snapshot payloads
+ * in a binary format, such as a {@code byte[]} or {@code BLOB} column.
+ * <p>
+ * Delta snapshots require the storage engine to retain the base of the latest snapshot, and to return it when reading
+ * the snapshots of an aggregate. Storage engines that don't will ignore the configured {@link
+ * Builder#fullSnapshotInterval(int) full snapshot interval} and store full snapshots only.
+ *
+ * @author agent
+ * @since 4.11.0
+ */
+public class SnapshotEncoder {
+
+    private static final Logger logger = LoggerFactory.getLogger(SnapshotEncoder.class);
+
+    private static final String COMPRESSED_PREFIX = "deflate:";
+    private static final String DELTA_PREFIX = "delta.";
+    private static final char DELTA_SEPARATOR = ':';
+
+    private final boolean compressionEnabled;
+    private final int compressionThreshold;
+    private final int fullSnapshotInterval;
+
+    /**
+     * Instantiate a Builder to be able to create a {@link SnapshotEncoder}.
+     * <p>
+     * Compression is enabled by default, for snapshots of at least {@code 1024} bytes. The {@code
+     * fullSnapshotInterval} defaults to {@code 1}, meaning that every snapshot is stored in full.
+     *
+     * @return a Builder to be able to create a {@link SnapshotEncoder}
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Instantiate a {@link SnapshotEncoder} based on the fields contained in the {@link Builder}.
+     *
+     * @param builder the {@link Builder} used to instantiate a {@link SnapshotEncoder} instance
+     */
+    protected SnapshotEncoder(Builder builder) {
+        builder.validate();
+        this.compressionEnabled = builder.compressionEnabled;
+        this.compressionThreshold = builder.compressionThreshold;
+        this.fullSnapshotInterval = builder.fullSnapshotInterval;
+    }
+
+    /**
+     * Indicates whether this encoder may store snapshots as a delta against a base snapshot.
+     *
+     * @return {@code true} if snapshots may be stored as a delta, otherwise {@code false}
+     */
+    public boolean usesDeltas() {
+        return fullSnapshotInterval > 1;
+    }
+
+    /**
+     * Returns the sequence number of the base snapshot the snapshot with given serialized {@code type} was encoded
+     * against, if any. Storage engines should retain the snapshot with this sequence number for as long as the
+     * snapshot with the given {@code type} is retained.
+     *
+     * @param type the serialized type of an encoded snapshot
+     * @return the sequence number of the base snapshot, or an empty {@link OptionalLong} for full snapshots
+     */
+    public OptionalLong baseSequenceNumber(SerializedType type) {
+        String name = type.getName();
+        if (name.startsWith(COMPRESSED_PREFIX)) {
+            name = name.substring(COMPRESSED_PREFIX.length());
+        }
+        return parseBaseSequenceNumber(name);
+    }
+
+    /**
+     * Encodes the given serialized {@code snapshot} payload of the snapshot with given {@code sequenceNumber}.
+     * <p>
+     * When deltas are used, the snapshot is stored as a delta against the latest full snapshot in the given {@code
+     * storedSnapshots}, provided that the number of deltas against that base has not reached the full snapshot
+     * interval yet, and that the delta is less than half the size of the snapshot. The stored snapshots are only
+     * requested when a delta may be stored, and are expected in descending order of their sequence number.
+     * <p>
+     * Subsequently, the result is compressed if it exceeds the compression threshold and compression makes it
+     * smaller.
+     *
+     * @param snapshot        the serialized payload of the snapshot to encode
+     * @param sequenceNumber  the sequence number of the snapshot to encode
+     * @param storedSnapshots supplier of the snapshots currently stored for the aggregate
+     * @param converter       the converter used to read the payload of stored snapshots as a {@code byte[]}
+     * @return the encoded payload, or the given {@code snapshot} if it is stored as is
+     */
+    public SerializedObject<byte[]> encode(SerializedObject<byte[]> snapshot,
+                                           long sequenceNumber,
+                                           Supplier<? extends List<? extends DomainEventData<?>>> storedSnapshots,
+                                           Converter converter) {
+        SerializedType type = snapshot.getType();
+        String name = type.getName();
+        byte[] data = snapshot.getData();
+        if (usesDeltas()) {
+            Optional<DomainEventData<?>> base = findBase(storedSnapshots.get(), sequenceNumber, type);
+            if (base.isPresent()) {
+                try {
+                    byte[] delta = BinaryDelta.diff(decodeFull(base.get(), converter), data);
+                    if (delta.length < data.length / 2) {
+                        name = DELTA_PREFIX + base.get().getSequenceNumber() + DELTA_SEPARATOR + name;
+                        data = delta;
+                    }
+                } catch (Exception e) {
+                    logger.warn("Could not read base snapshot of aggregate [{}] at sequence [{}]. "
+                                        + "Storing a full snapshot instead.",
+                                base.get().getAggregateIdentifier(), base.get().getSequenceNumber(), e);
+                }
+            }
+        }
+        if (compressionEnabled && data.length >= compressionThreshold) {
+            byte[] compressed = deflate(data);
+            if (compressed.length < data.length) {
+                name = COMPRESSED_PREFIX + name;
+                data = compressed;
+            }
+        }
+        if (data == snapshot.getData()) {
+            return snapshot;
+        }
+        return new SimpleSerializedObject<>(data, byte[].class, new SimpleSerializedType(name, type.getRevision()));
+    }
+
+    /**
+     * Decodes the given {@code storedSnapshots} of a single aggregate, which are expected in descending order of their
+     * sequence number. Snapshots are decoded lazily, in the order of the returned stream. Snapshots that have not been
+     * encoded are returned as is. Snapshots that cannot be decoded, for example because their base snapshot is not
+     * available, are omitted from the stream.
+     *
+     * @param storedSnapshots the stored snapshots of an aggregate
+     * @param converter       the converter used to read the payload of stored snapshots as a {@code byte[]}
+     * @return a stream of the decoded snapshots, in the order of the given {@code storedSnapshots}
+     */
+    public Stream<? extends DomainEventData<?>> decode(List<? extends DomainEventData<?>> storedSnapshots,
+                                                       Converter converter) {
+        return storedSnapshots.stream()
+                              .map(snapshot -> decode(snapshot, storedSnapshots, converter))
+                              .filter(Optional::isPresent)
+                              .map(Optional::get);
+    }
+
+    private Optional<DomainEventData<?>> decode(DomainEventData<?> snapshot,
+                                                List<? extends DomainEventData<?>> storedSnapshots,
+                                                Converter converter) {
+        SerializedType type = snapshot.getPayload().getType();
+        if (!isEncoded(type.getName())) {
+            return Optional.of(snapshot);
+        }
+        try {
+            String name = type.getName();
+            byte[] data = converter.convert(snapshot.getPayload(), byte[].class).getData();
+            if (name.startsWith(COMPRESSED_PREFIX)) {
+                name = name.substring(COMPRESSED_PREFIX.length());
+                data = inflate(data);
+            }
+            OptionalLong baseSequenceNumber = parseBaseSequenceNumber(name);
+            if (baseSequenceNumber.isPresent()) {
+                name = name.substring(name.indexOf(DELTA_SEPARATOR) + 1);
+                Optional<? extends DomainEventData<?>> base =
+                        storedSnapshots.stream()
+                                       .filter(s -> s.getSequenceNumber() == baseSequenceNumber.getAsLong())
+                                       .findFirst();
+                if (!base.isPresent()) {
+                    logger.warn("Ignoring snapshot of aggregate [{}] at sequence [{}]. "
+                                        + "Its base snapshot at sequence [{}] is not available.",
+                                snapshot.getAggregateIdentifier(), snapshot.getSequenceNumber(),
+                                baseSequenceNumber.getAsLong());
+                    return Optional.empty();
+                }
+                data = BinaryDelta.patch(decodeFull(base.get(), converter), data);
+            }
+            byte[] metaData = converter.convert(snapshot.getMetaData(), byte[].class).getData();
+            return Optional.of(new GenericDomainEventEntry<>(snapshot.getType(),
+                                                             snapshot.getAggregateIdentifier(),
+                                                             snapshot.getSequenceNumber(),
+                                                             snapshot.getEventIdentifier(),
+                                                             snapshot.getTimestamp(),
+                                                             name,
+                                                             type.getRevision(),
+                                                             data,
+                                                             metaData));
+        } catch (Exception e) {
+            logger.warn("Ignoring snapshot of aggregate [{}] at sequence [{}]. It could not be decoded.",
+                        snapshot.getAggregateIdentifier(), snapshot.getSequenceNumber(), e);
+            return Optional.empty();
+        }
+    }
+
+    private Optional<DomainEventData<?>> findBase(List<? extends DomainEventData<?>> storedSnapshots,
+                                                  long sequenceNumber,
+                                                  SerializedType type) {
+        int deltas = 0;
+        for (DomainEventData<?> stored : storedSnapshots) {
+            if (stored.getSequenceNumber() >= sequenceNumber) {
+                continue;
+            }
+            SerializedType storedType = stored.getPayload().getType();
+            OptionalLong storedBase = baseSequenceNumber(storedType);
+            if (storedBase.isPresent()) {
+                deltas++;
+                continue;
+            }
+            String storedName = storedType.getName();
+            if (storedName.startsWith(COMPRESSED_PREFIX)) {
+                storedName = storedName.substring(COMPRESSED_PREFIX.length());
+            }
+            boolean compatible = storedName.equals(type.getName())
+                    && Objects.equals(storedType.getRevision(), type.getRevision());
+            return compatible && deltas < fullSnapshotInterval - 1 ? Optional.of(stored) : Optional.empty();
+        }
+        return Optional.empty();
+    }
+
+    private byte[] decodeFull(DomainEventData<?> snapshot, Converter converter) {
+        byte[] data = converter.convert(snapshot.getPayload(), byte[].class).getData();
+        return snapshot.getPayload().getType().getName().startsWith(COMPRESSED_PREFIX) ? inflate(data) : data;
+    }
+
+    private static boolean isEncoded(String name) {
+        return name.startsWith(COMPRESSED_PREFIX) || parseBaseSequenceNumber(name).isPresent();
+    }
+
+    private static OptionalLong parseBaseSequenceNumber(String name) {
+        int separator = name.indexOf(DELTA_SEPARATOR);
+        if (!name.startsWith(DELTA_PREFIX) || separator < 0) {
+            return OptionalLong.empty();
+        }
+        try {
+            return OptionalLong.of(Long.parseLong(name.substring(DELTA_PREFIX.length(), separator)));
+        } catch (NumberFormatException e) {
+            return OptionalLong.empty();
+        }
+    }
+
+    private static byte[] deflate(byte[] data) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(data.length / 2);
+        try (OutputStream out = new DeflaterOutputStream(bytes)) {
+            out.write(data);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to compress snapshot", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static byte[] inflate(byte[] data) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(data.length * 4);
+        byte[] buffer = new byte[8192];
+        try (InputStream in = new InflaterInputStream(new ByteArrayInputStream(data))) {
+            int read;
+            while ((read = in.read(buffer)) >= 0) {
+                bytes.write(buffer, 0, read);
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Failed to decompress snapshot", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Builder class to instantiate a {@link SnapshotEncoder}.
+     * <p>
+     * Compression is enabled by default, for snapshots of at least {@code 1024} bytes. The {@code
+     * fullSnapshotInterval} defaults to {@code 1}, meaning that every snapshot is stored in full.
+     */
+    public static class Builder {
+
+        private boolean compressionEnabled = true;
+        private int compressionThreshold = 1024;
+        private int fullSnapshotInterval = 1;
+
+        /**
+         * Sets whether snapshots are compressed using the {@link java.util.zip.Deflater}. Defaults to {@code true}.
+         *
+         * @param compressionEnabled whether snapshots are compressed
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder compressionEnabled(boolean compressionEnabled) {
+            this.compressionEnabled = compressionEnabled;
+            return this;
+        }
+
+        /**
+         * Sets the minimal size in bytes of a snapshot for it to be compressed. Smaller snapshots gain little from
+         * compression. Defaults to {@code 1024}.
+         *
+         * @param compressionThreshold the minimal size in bytes of a snapshot for it to be compressed
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder compressionThreshold(int compressionThreshold) {
+            assertPositive(compressionThreshold, "The compressionThreshold may not be negative");
+            this.compressionThreshold = compressionThreshold;
+            return this;
+        }
+
+        /**
+         * Sets the interval at which full snapshots are stored. With an interval of {@code n}, up to {@code n - 1}
+         * snapshots following a full snapshot are stored as a delta against that full snapshot. Defaults to {@code
+         * 1}, meaning that every snapshot is stored in full.
+         * <p>
+         * A larger interval reduces the size of stored snapshots for aggregates of which only a small part changes
+         * between snapshots, at the cost of retaining the full snapshot for longer.
+         *
+         * @param fullSnapshotInterval the interval at which full snapshots are stored
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder fullSnapshotInterval(int fullSnapshotInterval) {
+            assertStrictPositive(fullSnapshotInterval, "The fullSnapshotInterval should be strictly positive");
+            this.fullSnapshotInterval = fullSnapshotInterval;
+            return this;
+        }
+
+        /**
+         * Initializes a {@link SnapshotEncoder} as specified through this Builder.
+         *
+         * @return a {@link SnapshotEncoder} as specified through this Builder
+         */
+        public SnapshotEncoder build() {
+            return new SnapshotEncoder(this);
+        }
+
+        /**
+         * Validates whether the fields contained in this Builder are set accordingly.
+         *
+         * @throws AxonConfigurationException if one field is asserted to be incorrect according to the Builder's
+         *                                    specifications
+         */
+        protected void validate() throws AxonConfigurationException {
+            // Kept to be overridden
+        }
+    }
+}
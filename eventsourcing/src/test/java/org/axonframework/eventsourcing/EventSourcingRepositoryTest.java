@@ -30,6 +30,7 @@
 import org.axonframework.modelling.command.Aggregate;
 import org.axonframework.modelling.command.AggregateIdentifier;
 import org.axonframework.modelling.command.AggregateLifecycle;
+import org.axonframework.modelling.command.AggregateNotFoundException;
 import org.axonframework.modelling.command.AggregateRoot;
 import org.axonframework.modelling.command.ConflictingAggregateVersionException;
 import org.axonframework.modelling.command.DefaultRepositorySpanFactory;
@@ -38,7 +39,10 @@
 import org.mockito.*;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import static org.axonframework.messaging.MetaData.emptyInstance;
@@ -116,6 +120,72 @@ void loadAndSaveAggregate() {
         assertSame(event3, aggregate.invoke(TestAggregate::getLiveEvents).get(0).getPayload());
     }
 
+    @Test
+    void loadAllReadsEventsOfAllAggregatesAtOnce() {
+        String identifier1 = UUID.randomUUID().toString();
+        String identifier2 = UUID.randomUUID().toString();
+        DomainEventMessage event1 =
+                new GenericDomainEventMessage<>("type", identifier1, (long) 1, "Mock contents", emptyInstance());
+        DomainEventMessage event2 =
+                new GenericDomainEventMessage<>("type", identifier2, (long) 1, "Mock contents", emptyInstance());
+        Map<String, DomainEventStream> eventStreams = new LinkedHashMap<>();
+        eventStreams.put(identifier1, DomainEventStream.of(event1));
+        eventStreams.put(identifier2, DomainEventStream.of(event2));
+        when(mockEventStore.readEventsForAggregates(Arrays.asList(identifier1, identifier2)))
+                .thenReturn(eventStreams);
+
+        Map<String, Aggregate<TestAggregate>> result =
+                testSubject.loadAll(Arrays.asList(identifier1, identifier2, identifier1));
+
+        assertEquals(Arrays.asList(identifier1, identifier2), new ArrayList<>(result.keySet()));
+        assertSame(event1, result.get(identifier1).invoke(TestAggregate::getHandledEvents).get(0));
+        assertSame(event2, result.get(identifier2).invoke(TestAggregate::getHandledEvents).get(0));
+        verify(mockEventStore, never()).readEvents(anyString());
+
+        assertSame(result.get(identifier1), testSubject.load(identifier1));
+        verify(mockEventStore, never()).readEvents(anyString());
+    }
+
+    @Test
+    void loadAllThrowsAggregateNotFoundExceptionWhenAnyAggregateIsMissing() {
+        String identifier1 = UUID.randomUUID().toString();
+        String identifier2 = UUID.randomUUID().toString();
+        DomainEventMessage event1 =
+                new GenericDomainEventMessage<>("type", identifier1, (long) 1, "Mock contents", emptyInstance());
+        Map<String, DomainEventStream> eventStreams = new LinkedHashMap<>();
+        eventStreams.put(identifier1, DomainEventStream.of(event1));
+        eventStreams.put(identifier2, DomainEventStream.empty());
+        when(mockEventStore.readEventsForAggregates(any())).thenReturn(eventStreams);
+
+        List<String> identifiers = Arrays.asList(identifier1, identifier2);
+        assertThrows(AggregateNotFoundException.class, () -> testSubject.loadAll(identifiers));
+    }
+
+    @Test
+    void loadAllIsTracedCorrectly() {
+        String identifier1 = UUID.randomUUID().toString();
+        String identifier2 = UUID.randomUUID().toString();
+        Map<String, DomainEventStream> eventStreams = new LinkedHashMap<>();
+        eventStreams.put(identifier1, DomainEventStream.of(
+                new GenericDomainEventMessage<>("type", identifier1, (long) 1, "Mock contents", emptyInstance())
+        ));
+        eventStreams.put(identifier2, DomainEventStream.of(
+                new GenericDomainEventMessage<>("type", identifier2, (long) 1, "Mock contents", emptyInstance())
+        ));
+        when(mockEventStore.readEventsForAggregates(any())).thenAnswer(invocation -> {
+            testSpanFactory.verifySpanActive("Repository.loadAll");
+            return eventStreams;
+        });
+
+        testSubject.loadAll(Arrays.asList(identifier1, identifier2));
+
+        testSpanFactory.verifySpanCompleted("Repository.loadAll");
+        testSpanFactory.verifySpanHasAttributeValue("Repository.loadAll",
+                                                    "axon.aggregateId",
+                                                    identifier1 + "," + identifier2);
+        testSpanFactory.verifySpanHasType("Repository.loadAll", TestSpanFactory.TestSpanType.INTERNAL);
+    }
+
     @Test
     void loadAndSaveAggregateIsTracedCorrectly() {
         String identifier = UUID.randomUUID().toString();
@@ -23,8 +23,11 @@
 import org.axonframework.serialization.upcasting.event.EventUpcaster;
 import org.junit.jupiter.api.*;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.function.UnaryOperator;
 import java.util.stream.Stream;
 
@@ -148,6 +151,25 @@ public void snapshotFilterRejectsSnapshotsOnCombinedFilter() {
         assertFalse(testSubject.readSnapshot(AGGREGATE).isPresent());
     }
 
+    @Test
+    public void readEventsForAggregatesStartsFromLatestSnapshot() {
+        testSubject.appendEvents(createEvent(AGGREGATE, 0), createEvent(AGGREGATE, 1), createEvent(AGGREGATE, 2),
+                                 createEvent("other", 0), createEvent("other", 1));
+        testSubject.storeSnapshot(createEvent(AGGREGATE, 1));
+
+        Map<String, DomainEventStream> result =
+                testSubject.readEventsForAggregates(Arrays.asList(AGGREGATE, "other", "unknown"));
+
+        assertEquals(Arrays.asList(AGGREGATE, "other", "unknown"), new ArrayList<>(result.keySet()));
+        assertEquals(Arrays.asList(1L, 2L), result.get(AGGREGATE).asStream()
+                                                  .map(DomainEventMessage::getSequenceNumber)
+                                                  .collect(toList()));
+        assertEquals(Arrays.asList(0L, 1L), result.get("other").asStream()
+                                                  .map(DomainEventMessage::getSequenceNumber)
+                                                  .collect(toList()));
+        assertFalse(result.get("unknown").hasNext());
+    }
+
     protected void setTestSubject(AbstractEventStorageEngine testSubject) {
         super.setTestSubject(this.testSubject = testSubject);
     }
@@ -22,11 +22,21 @@
 import org.junit.jupiter.api.Test;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 
 import static org.axonframework.eventsourcing.utils.EventStoreTestUtils.AGGREGATE;
+import static org.axonframework.eventsourcing.utils.EventStoreTestUtils.createEvent;
 import static org.axonframework.eventsourcing.utils.EventStoreTestUtils.createEvents;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
@@ -66,6 +76,90 @@ void loadLargeAmountFromOpenStream() {
         assertEquals(last.getIdentifier(), resultEventMessage.get().getIdentifier());
     }
 
+    @Test
+    void optimisticLoadingStartsFromLatestSnapshot() {
+        //noinspection unchecked
+        BatchingEventStorageEngine optimisticEngine =
+                createEngine(builder -> (EB) builder.optimisticLoadingExecutor(Runnable::run));
+        optimisticEngine.appendEvents(createEvents(5));
+
+        Optional<DomainEventStream> firstLoad = optimisticEngine.readSnapshotAndEvents(AGGREGATE);
+        assertTrue(firstLoad.isPresent());
+        assertEquals(Arrays.asList(0L, 1L, 2L, 3L, 4L), sequenceNumbers(firstLoad.get()));
+
+        optimisticEngine.storeSnapshot(createEvent(AGGREGATE, 2));
+        optimisticEngine.appendEvents(createEvent(AGGREGATE, 5));
+
+        Optional<DomainEventStream> secondLoad = optimisticEngine.readSnapshotAndEvents(AGGREGATE);
+        assertTrue(secondLoad.isPresent());
+        assertEquals(Arrays.asList(2L, 3L, 4L, 5L), sequenceNumbers(secondLoad.get()));
+    }
+
+    @Test
+    void optimisticLoadingSkipsEventsCoveredByASnapshotBeyondTheFirstBatch() {
+        //noinspection unchecked
+        BatchingEventStorageEngine optimisticEngine =
+                createEngine(builder -> (EB) builder.batchSize(5).optimisticLoadingExecutor(Runnable::run));
+        optimisticEngine.appendEvents(createEvents(80));
+        assertEquals(80, optimisticEngine.readSnapshotAndEvents(AGGREGATE)
+                                         .orElseThrow(AssertionError::new)
+                                         .asStream()
+                                         .count());
+
+        // stored by another instance, so the next load still expects to read events from the start of the stream
+        testSubject.storeSnapshot(createEvent(AGGREGATE, 60));
+
+        Optional<DomainEventStream> result = optimisticEngine.readSnapshotAndEvents(AGGREGATE);
+        assertTrue(result.isPresent());
+        List<Long> expected = LongStream.range(60, 80).boxed().collect(Collectors.toList());
+        assertEquals(expected, sequenceNumbers(result.get()));
+    }
+
+    @Test
+    void readSnapshotAndEventsIsNotSupportedWithoutOptimisticLoading() {
+        assertFalse(testSubject.readSnapshotAndEvents(AGGREGATE).isPresent());
+    }
+
+    @Test
+    void readEventsForAggregatesReadsAggregatesExceedingTheBatchSize() {
+        //noinspection unchecked
+        BatchingEventStorageEngine smallBatchEngine = createEngine(builder -> (EB) builder.batchSize(5));
+        List<String> aggregateIdentifiers = Arrays.asList("aggregate-a", "aggregate-b", "aggregate-c");
+        for (String aggregateIdentifier : aggregateIdentifiers) {
+            smallBatchEngine.appendEvents(createEvents(() -> aggregateIdentifier, 4));
+        }
+
+        Map<String, DomainEventStream> result = smallBatchEngine.readEventsForAggregates(aggregateIdentifiers);
+
+        for (String aggregateIdentifier : aggregateIdentifiers) {
+            assertEquals(Arrays.asList(0L, 1L, 2L, 3L), sequenceNumbers(result.get(aggregateIdentifier)));
+        }
+    }
+
+    @Test
+    void readEventsForAggregatesReadsManyAggregates() {
+        List<String> aggregateIdentifiers = IntStream.range(0, 250)
+                                                     .mapToObj(i -> "aggregate-" + i)
+                                                     .collect(Collectors.toList());
+        for (String aggregateIdentifier : aggregateIdentifiers) {
+            testSubject.appendEvents(createEvent(aggregateIdentifier, 0), createEvent(aggregateIdentifier, 1));
+        }
+        testSubject.storeSnapshot(createEvent("aggregate-0", 0));
+        testSubject.storeSnapshot(createEvent("aggregate-0", 1));
+
+        Map<String, DomainEventStream> result = testSubject.readEventsForAggregates(aggregateIdentifiers);
+
+        assertEquals(aggregateIdentifiers, new ArrayList<>(result.keySet()));
+        assertEquals(Collections.singletonList(1L), sequenceNumbers(result.get("aggregate-0")));
+        for (String aggregateIdentifier : aggregateIdentifiers.subList(1, aggregateIdentifiers.size())) {
+            assertEquals(Arrays.asList(0L, 1L), sequenceNumbers(result.get(aggregateIdentifier)));
+        }
+    }
+
+    private static List<Long> sequenceNumbers(DomainEventStream eventStream) {
+        return eventStream.asStream().map(DomainEventMessage::getSequenceNumber).collect(Collectors.toList());
+    }
+
     protected void setTestSubject(BatchingEventStorageEngine testSubject) {
         super.setTestSubject(this.testSubject = testSubject);
     }
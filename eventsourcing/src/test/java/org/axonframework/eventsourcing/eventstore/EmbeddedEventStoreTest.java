@@ -276,7 +276,7 @@ void consumerStopsTailingWhenItFallsBehindTheCache() throws Exception {
         Thread.sleep(100); //allow the cleaner thread to evict the consumer
         reset(storageEngine);
         assertTrue(stream.hasNextAvailable());
-        verify(storageEngine).readEvents(firstEvent.trackingToken(), false);
+        verify(storageEngine).readEvents(eq(firstEvent.trackingToken()), eq(false), anySet());
     }
 
     @Test
@@ -309,7 +309,7 @@ void streamEventsShouldNotReturnDuplicateTokens() throws InterruptedException {
         Iterator<GenericTrackedEventMessage<String>> mockIterator = mock(Iterator.class);
         when(mockStream.iterator()).thenReturn(mockIterator);
         //noinspection unchecked
-        when(storageEngine.readEvents(any(TrackingToken.class), eq(false))).thenReturn(mockStream);
+        when(storageEngine.readEvents(any(TrackingToken.class), eq(false), anySet())).thenReturn(mockStream);
         when(mockIterator.hasNext()).thenAnswer(new SynchronizedBooleanAnswer(false))
                                     .thenAnswer(new SynchronizedBooleanAnswer(true));
         when(mockIterator.next()).thenReturn(new GenericTrackedEventMessage<>(new GlobalSequenceTrackingToken(1),
@@ -0,0 +1,318 @@
+/*
+ * Copyright (c) 2010-2024. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.axonframework.eventsourcing.eventstore.file;
+
+import org.axonframework.common.IdentifierFactory;
+import org.axonframework.eventhandling.DomainEventData;
+import org.axonframework.eventhandling.DomainEventMessage;
+import org.axonframework.eventhandling.GenericDomainEventMessage;
+import org.axonframework.eventhandling.GlobalSequenceTrackingToken;
+import org.axonframework.eventhandling.TrackedEventMessage;
+import org.axonframework.eventhandling.TrackingToken;
+import org.axonframework.eventsourcing.eventstore.AbstractEventStorageEngineTest;
+import org.axonframework.eventsourcing.eventstore.EventStoreException;
+import org.axonframework.eventsourcing.snapshotting.SnapshotEncoder;
+import org.axonframework.eventsourcing.utils.TestSerializer;
+import org.axonframework.messaging.MetaData;
+import org.axonframework.modelling.command.ConcurrencyException;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.axonframework.eventsourcing.utils.EventStoreTestUtils.AGGREGATE;
+import static org.axonframework.eventsourcing.utils.EventStoreTestUtils.PAYLOAD;
+import static org.axonframework.eventsourcing.utils.EventStoreTestUtils.createEvent;
+import static org.axonframework.eventsourcing.utils.EventStoreTestUtils.createEvents;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class validating the {@link FileEventStorageEngine}.
+ *
+ * @author agent
+ */
+class FileEventStorageEngineTest
+        extends AbstractEventStorageEngineTest<FileEventStorageEngine, FileEventStorageEngine.Builder> {
+
+    @TempDir
+    Path tempDirectory;
+
+    private final List<FileEventStorageEngine> engines = new ArrayList<>();
+    private Path storageDirectory;
+    private FileEventStorageEngine testSubject;
+
+    @BeforeEach
+    void setUp() {
+        storageDirectory = tempDirectory.resolve("events");
+        setTestSubject(testSubject = createEngine());
+    }
+
+    @AfterEach
+    void closeEngines() {
+        engines.forEach(FileEventStorageEngine::close);
+    }
+
+    /**
+     * Event identifiers are not indexed by the {@link FileEventStorageEngine}, so only duplicate aggregate sequence
+     * numbers are rejected.
+     */
+    @Override
+    @Test
+    public void uniqueKeyConstraintOnFirstEventIdentifierThrowsAggregateIdentifierAlreadyExistsException() {
+        testSubject.appendEvents(createEvent("id", AGGREGATE, 0), createEvent("id", "otherAggregate", 0));
+
+        assertEquals(2, testSubject.readEvents(null, false).count());
+    }
+
+    /**
+     * Event identifiers are not indexed by the {@link FileEventStorageEngine}, so only duplicate aggregate sequence
+     * numbers are rejected.
+     */
+    @Override
+    @Test
+    public void uniqueKeyConstraintOnEventIdentifier() {
+        testSubject.appendEvents(createEvent("id", AGGREGATE, 1), createEvent("id", "otherAggregate", 1));
+
+        assertEquals(2, testSubject.readEvents(null, false).count());
+    }
+
+    @Test
+    void duplicateSequenceNumberOfStoredEventIsRejected() {
+        testSubject.appendEvents(createEvents(3));
+
+        assertThrows(ConcurrencyException.class, () -> testSubject.appendEvents(createEvent(2)));
+        assertEquals(3, testSubject.readEvents(null, false).count());
+    }
+
+    @Test
+    void eventsAndSnapshotsAreAvailableAfterReopening() {
+        testSubject.appendEvents(createEvents(5));
+        testSubject.appendEvents(createEvent("other", 0));
+        testSubject.storeSnapshot(createEvent(3));
+        List<String> expectedIdentifiers = readEventIdentifiers(testSubject);
+        testSubject.close();
+
+        FileEventStorageEngine reopened = createEngine();
+
+        assertEquals(expectedIdentifiers, readEventIdentifiers(reopened));
+        assertEquals(new GlobalSequenceTrackingToken(5), reopened.createHeadToken());
+        assertEquals(4L, reopened.lastSequenceNumberFor(AGGREGATE).orElse(-1L));
+        assertEquals(3L, reopened.readSnapshot(AGGREGATE).map(DomainEventMessage::getSequenceNumber).orElse(-1L));
+
+        reopened.appendEvents(createEvent(5));
+        assertEquals(new GlobalSequenceTrackingToken(6), reopened.createHeadToken());
+    }
+
+    @Test
+    void incompleteBatchIsDiscardedWhenReopening() throws IOException {
+        testSubject.appendEvents(createEvents(2));
+        testSubject.appendEvents(createEvent(2), createEvent(3), createEvent(4));
+        testSubject.close();
+        corruptLastRecord(storageDirectory.resolve(EventSegment.fileName(0)));
+
+        FileEventStorageEngine reopened = createEngine();
+
+        assertEquals(2, reopened.readEvents(null, false).count());
+        assertEquals(1L, reopened.lastSequenceNumberFor(AGGREGATE).orElse(-1L));
+        reopened.appendEvents(createEvent(2));
+        assertEquals(new GlobalSequenceTrackingToken(2), reopened.createHeadToken());
+    }
+
+    @Test
+    void eventsAreSpreadOverMultipleSegments() throws IOException {
+        testSubject = createEngine(builder -> builder.segmentSize(1024));
+        for (int i = 0; i < 20; i++) {
+            testSubject.appendEvents(new GenericDomainEventMessage<>(
+                    "type", AGGREGATE, i, PAYLOAD, MetaData.emptyInstance(),
+                    IdentifierFactory.getInstance().generateIdentifier(),
+                    Instant.parse("2007-12-03T10:15:00.00Z").plusSeconds(i)
+            ));
+        }
+
+        try (Stream<Path> files = Files.list(storageDirectory)) {
+            assertTrue(files.filter(file -> file.toString().endsWith(EventSegment.FILE_SUFFIX)).count() > 1);
+        }
+        List<? extends TrackedEventMessage<?>> events = testSubject.readEvents(null, false)
+                                                                   .collect(Collectors.toList());
+        assertEquals(20, events.size());
+        for (int i = 0; i < events.size(); i++) {
+            assertEquals(new GlobalSequenceTrackingToken(i), events.get(i).trackingToken());
+        }
+        assertEquals(10, testSubject.readEvents(AGGREGATE, 10).asStream().count());
+        TrackingToken tokenAt = testSubject.createTokenAt(Instant.parse("2007-12-03T10:15:15.00Z"));
+        assertEquals(new GlobalSequenceTrackingToken(14), tokenAt);
+    }
+
+    @Test
+    void batchIsNotVisibleBeforeItHasBeenForced() throws Exception {
+        CountDownLatch forcing = new CountDownLatch(1);
+        CountDownLatch forceReleased = new CountDownLatch(1);
+        engines.forEach(FileEventStorageEngine::close);
+        testSubject = new FileEventStorageEngine(builder()) {
+            @Override
+            void force(EventSegment segment) {
+                forcing.countDown();
+                try {
+                    assertTrue(forceReleased.await(5, TimeUnit.SECONDS));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                super.force(segment);
+            }
+        };
+        engines.add(testSubject);
+        CompletableFuture<Void> append =
+                CompletableFuture.runAsync(() -> testSubject.appendEvents(createEvents(2)));
+        assertTrue(forcing.await(5, TimeUnit.SECONDS));
+
+        assertEquals(0, testSubject.readEvents(null, false).count());
+        assertEquals(0, testSubject.readEvents(AGGREGATE).asStream().count());
+        assertNull(testSubject.createHeadToken());
+
+        forceReleased.countDown();
+        append.get(5, TimeUnit.SECONDS);
+
+        assertEquals(2, testSubject.readEvents(null, false).count());
+        assertEquals(2, testSubject.readEvents(AGGREGATE).asStream().count());
+        assertEquals(new GlobalSequenceTrackingToken(1), testSubject.createHeadToken());
+    }
+
+    @Test
+    void batchExceedingTheSegmentSizeIsWrittenToALargerSegment() {
+        testSubject = createEngine(builder -> builder.segmentSize(256));
+
+        testSubject.appendEvents(createEvents(10));
+        testSubject.appendEvents(createEvent(10));
+
+        assertEquals(11, testSubject.readEvents(AGGREGATE).asStream().count());
+    }
+
+    @Test
+    void storageDirectoryCannotBeUsedByTwoEngines() {
+        FileEventStorageEngine.Builder secondEngine = builder();
+
+        assertThrows(EventStoreException.class, secondEngine::build);
+    }
+
+    @Test
+    void latestSnapshotIsRetained() {
+        testSubject.storeSnapshot(createEvent(3));
+        testSubject.storeSnapshot(createEvent(1));
+        testSubject.close();
+
+        FileEventStorageEngine reopened = createEngine();
+
+        assertEquals(3L, reopened.readSnapshot(AGGREGATE).map(DomainEventMessage::getSequenceNumber).orElse(-1L));
+    }
+
+    @Test
+    void deltaSnapshotsAreReadAgainstTheirRetainedBase() {
+        SnapshotEncoder encoder = SnapshotEncoder.builder().compressionEnabled(false).fullSnapshotInterval(3).build();
+        testSubject = createEngine(builder -> builder.snapshotEncoder(encoder));
+        String state = largeState();
+        for (int sequenceNumber = 0; sequenceNumber < 4; sequenceNumber++) {
+            state = state.substring(0, 100) + sequenceNumber + state.substring(101);
+            testSubject.storeSnapshot(createEvent(AGGREGATE, sequenceNumber, state));
+        }
+
+        List<String> types = testSubject.readSnapshotData(AGGREGATE)
+                                        .map(snapshot -> snapshot.getPayload().getType().getName())
+                                        .collect(Collectors.toList());
+        String fullSnapshotType = TestSerializer.xStreamSerializer().typeForClass(String.class).getName();
+        assertEquals(Collections.singletonList(fullSnapshotType), types);
+
+        testSubject.storeSnapshot(createEvent(AGGREGATE, 4, state + "changed"));
+        testSubject.close();
+
+        FileEventStorageEngine reopened = createEngine(builder -> builder.snapshotEncoder(encoder));
+        List<Long> retained = reopened.readSnapshotData(AGGREGATE)
+                                      .map(DomainEventData::getSequenceNumber)
+                                      .collect(Collectors.toList());
+        assertEquals(Arrays.asList(4L, 3L), retained);
+        DomainEventMessage<?> snapshot = reopened.readSnapshot(AGGREGATE).orElseThrow(AssertionError::new);
+        assertEquals(4L, snapshot.getSequenceNumber());
+        assertEquals(state + "changed", snapshot.getPayload());
+    }
+
+    private static String largeState() {
+        Random random = new Random(1);
+        StringBuilder state = new StringBuilder();
+        while (state.length() < 100_000) {
+            state.append(Long.toHexString(random.nextLong()));
+        }
+        return state.toString();
+    }
+
+    private List<String> readEventIdentifiers(FileEventStorageEngine engine) {
+        return engine.readEvents(null, false)
+                     .map(TrackedEventMessage::getIdentifier)
+                     .collect(Collectors.toList());
+    }
+
+    private static void corruptLastRecord(Path segmentFile) throws IOException {
+        try (FileChannel channel = FileChannel.open(segmentFile, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(EventSegment.RECORD_OVERHEAD);
+            long position = EventSegment.HEADER_SIZE;
+            long lastRecord = position;
+            while (true) {
+                header.clear();
+                channel.read(header, position);
+                int length = header.getInt(0);
+                if (length == 0) {
+                    break;
+                }
+                lastRecord = position;
+                position += EventSegment.RECORD_OVERHEAD + length;
+            }
+            // simulate a torn write by invalidating the checksum of the last record of the last batch
+            channel.write(ByteBuffer.wrap(new byte[]{1, 2, 3, 4}), lastRecord + Integer.BYTES);
+        }
+    }
+
+    private FileEventStorageEngine.Builder builder() {
+        return FileEventStorageEngine.builder()
+                                     .eventSerializer(TestSerializer.xStreamSerializer())
+                                     .snapshotSerializer(TestSerializer.xStreamSerializer())
+                                     .storageDirectory(storageDirectory);
+    }
+
+    @Override
+    protected FileEventStorageEngine createEngine(UnaryOperator<FileEventStorageEngine.Builder> customization) {
+        engines.forEach(FileEventStorageEngine::close);
+        FileEventStorageEngine engine = customization.apply(builder()).build();
+        engines.add(engine);
+        return engine;
+    }
+}
@@ -0,0 +1,276 @@
+/*
+ * Copyright (c) 2010-2024. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.axonframework.eventsourcing.eventstore.jdbc;
+
+import org.axonframework.common.AxonConfigurationException;
+import org.axonframework.common.transaction.NoTransactionManager;
+import org.axonframework.eventhandling.DomainEventMessage;
+import org.axonframework.eventhandling.GapAwareTrackingToken;
+import org.axonframework.eventhandling.GenericEventMessage;
+import org.axonframework.eventhandling.TrackedEventMessage;
+import org.axonframework.eventhandling.TrackingToken;
+import org.axonframework.eventsourcing.eventstore.DomainEventStream;
+import org.axonframework.eventsourcing.eventstore.jpa.SQLErrorCodesResolver;
+import org.axonframework.eventsourcing.utils.TestSerializer;
+import org.hsqldb.jdbc.JDBCDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.axonframework.eventsourcing.utils.EventStoreTestUtils.AGGREGATE;
+import static org.axonframework.eventsourcing.utils.EventStoreTestUtils.createEvent;
+import static org.axonframework.eventsourcing.utils.EventStoreTestUtils.createEvents;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Test class validating the {@link JdbcEventArchiver} and the way a {@link JdbcEventStorageEngine} reads from its
+ * {@link EventArchive}.
+ *
+ * @author agent
+ */
+class JdbcEventArchiverTest {
+
+    @TempDir
+    Path archiveDirectory;
+
+    private JDBCDataSource dataSource;
+    private JdbcEventStorageEngine storageEngine;
+    private JdbcEventArchiver testSubject;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        dataSource = new JDBCDataSource();
+        dataSource.setUrl("jdbc:hsqldb:mem:test");
+        storageEngine = createEngine(new EventArchive(archiveDirectory));
+        testSubject = JdbcEventArchiver.builder()
+                                       .storageEngine(storageEngine)
+                                       .segmentSize(10)
+                                       .blockSize(3)
+                                       .minimumAge(Duration.ofMinutes(1))
+                                       .purgeBatchSize(4)
+                                       .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        GenericEventMessage.clock = Clock.systemUTC();
+    }
+
+    @Test
+    void buildingWithoutAnArchiveConfiguredOnTheEngineFails() throws SQLException {
+        JdbcEventStorageEngine engineWithoutArchive = createEngine(null);
+        JdbcEventArchiver.Builder builder = JdbcEventArchiver.builder().storageEngine(engineWithoutArchive);
+
+        assertThrows(AxonConfigurationException.class, builder::build);
+    }
+
+    @Test
+    void recentEventsAreNotArchived() {
+        storageEngine.appendEvents(createEvents(25));
+
+        assertEquals(0, testSubject.archive());
+        assertTrue(storageEngine.eventArchive().isEmpty());
+    }
+
+    @Test
+    void onlyClosedRangesAreArchived() {
+        appendOldEvents(25);
+
+        assertEquals(2, testSubject.archive());
+        assertEquals(2, storageEngine.eventArchive().segmentCount());
+        // the last range is still open, as no event follows it
+        assertEquals(0, testSubject.archive());
+    }
+
+    @Test
+    void purgingAnUnarchivedRangeIsRejected() {
+        appendOldEvents(5);
+        long firstIndex = ((GapAwareTrackingToken) storageEngine.createTailToken()).getIndex() + 1;
+
+        assertThrows(IllegalStateException.class, () -> storageEngine.purgeEvents(firstIndex, firstIndex + 4));
+    }
+
+    @Test
+    void streamsReturnTheSameEventsAfterArchivingAndPurging() {
+        appendOldEvents(25);
+        List<TrackingToken> expectedTokens = readAllTokens();
+        TrackingToken expectedTailToken = storageEngine.createTailToken();
+
+        testSubject.archive();
+        assertEquals(20, testSubject.purge());
+
+        assertEquals(expectedTokens, readAllTokens());
+        assertEquals(expectedTailToken, storageEngine.createTailToken());
+        assertEquals(expectedTokens.get(10), storageEngine.readEvents(expectedTokens.get(9), false)
+                                                          .findFirst()
+                                                          .map(TrackedEventMessage::trackingToken)
+                                                          .orElse(null));
+    }
+
+    @Test
+    void purgeOnlyDeletesEventsOnce() {
+        appendOldEvents(25);
+        testSubject.archive();
+
+        assertEquals(20, testSubject.purge());
+        assertEquals(0, testSubject.purge());
+    }
+
+    @Test
+    void aggregatesWithPurgedEventsAreLoadedFromTheArchive() {
+        appendOldEvents(25);
+        testSubject.archive();
+        testSubject.purge();
+
+        List<Long> allSequenceNumbers = readSequenceNumbers(0);
+        List<Long> partialSequenceNumbers = readSequenceNumbers(13);
+
+        assertEquals(25, allSequenceNumbers.size());
+        assertEquals(0L, allSequenceNumbers.get(0));
+        assertEquals(24L, allSequenceNumbers.get(24));
+        assertEquals(12, partialSequenceNumbers.size());
+        assertEquals(13L, partialSequenceNumbers.get(0));
+        assertEquals(Optional.of(24L), storageEngine.lastSequenceNumberFor(AGGREGATE));
+    }
+
+    @Test
+    void partlyArchivedAggregatesAreLoadedInBulkFromTheArchive() {
+        // the remaining events fit in a single batch, so they are all read in bulk
+        appendOldEvents(22);
+        storageEngine.appendEvents(createEvent("other", 0));
+        testSubject.archive();
+        testSubject.purge();
+
+        Map<String, DomainEventStream> result =
+                storageEngine.readEventsForAggregates(Arrays.asList(AGGREGATE, "other"));
+
+        List<Long> sequenceNumbers = result.get(AGGREGATE).asStream()
+                                           .map(DomainEventMessage::getSequenceNumber)
+                                           .collect(Collectors.toList());
+        assertEquals(LongStream.range(0, 22).boxed().collect(Collectors.toList()), sequenceNumbers);
+        assertEquals(1, result.get("other").asStream().count());
+    }
+
+    @Test
+    void purgeDoesNotDeleteRangesAgainAfterRestart() {
+        appendOldEvents(25);
+        testSubject.archive();
+        testSubject.purge();
+        JdbcEventStorageEngine engineSpy = spy(storageEngine);
+        JdbcEventArchiver restarted = JdbcEventArchiver.builder()
+                                                       .storageEngine(engineSpy)
+                                                       .segmentSize(10)
+                                                       .purgeBatchSize(4)
+                                                       .build();
+
+        assertEquals(0, restarted.purge());
+        verify(engineSpy, never()).purgeEvents(anyLong(), anyLong());
+    }
+
+    @Test
+    void rangesArchivedAndPurgedByAnotherNodeAreReadAfterRefresh() throws SQLException {
+        appendOldEvents(25);
+        JdbcEventStorageEngine otherNode = newEngine(new EventArchive(archiveDirectory));
+        List<TrackingToken> expectedTokens = readAllTokens();
+
+        testSubject.archive();
+        testSubject.purge();
+
+        assertEquals(expectedTokens.get(5), otherNode.readEvents(expectedTokens.get(4), false)
+                                                     .findFirst()
+                                                     .map(TrackedEventMessage::trackingToken)
+                                                     .orElse(null));
+        assertEquals(25, otherNode.readEvents(AGGREGATE, 0).asStream().count());
+    }
+
+    @Test
+    void archiveIsReopenedFromItsDirectory() {
+        appendOldEvents(25);
+        testSubject.archive();
+        EventArchive original = storageEngine.eventArchive();
+
+        EventArchive reopened = new EventArchive(archiveDirectory);
+
+        assertEquals(original.lastArchivedIndex(), reopened.lastArchivedIndex());
+        assertEquals(original.firstEventIndex(), reopened.firstEventIndex());
+        assertEquals(original.readEvents(AGGREGATE, 0).size(), reopened.readEvents(AGGREGATE, 0).size());
+    }
+
+    private void appendOldEvents(int count) {
+        GenericEventMessage.clock =
+                Clock.fixed(Clock.systemUTC().instant().minus(1, ChronoUnit.HOURS), Clock.systemUTC().getZone());
+        storageEngine.appendEvents(createEvents(count));
+        GenericEventMessage.clock = Clock.systemUTC();
+    }
+
+    private List<TrackingToken> readAllTokens() {
+        return storageEngine.readEvents(null, false)
+                            .map(TrackedEventMessage::trackingToken)
+                            .collect(Collectors.toList());
+    }
+
+    private List<Long> readSequenceNumbers(long firstSequenceNumber) {
+        return storageEngine.readEvents(AGGREGATE, firstSequenceNumber)
+                            .asStream()
+                            .map(DomainEventMessage::getSequenceNumber)
+                            .collect(Collectors.toList());
+    }
+
+    private JdbcEventStorageEngine createEngine(EventArchive eventArchive) throws SQLException {
+        JdbcEventStorageEngine engine = newEngine(eventArchive);
+        try (Connection connection = dataSource.getConnection()) {
+            connection.prepareStatement("DROP TABLE IF EXISTS DomainEventEntry").executeUpdate();
+            connection.prepareStatement("DROP TABLE IF EXISTS SnapshotEventEntry").executeUpdate();
+        }
+        engine.createSchema(HsqlEventTableFactory.INSTANCE);
+        return engine;
+    }
+
+    private JdbcEventStorageEngine newEngine(EventArchive eventArchive) throws SQLException {
+        JdbcEventStorageEngine.Builder builder =
+                JdbcEventStorageEngine.builder()
+                                      .eventSerializer(TestSerializer.xStreamSerializer())
+                                      .snapshotSerializer(TestSerializer.xStreamSerializer())
+                                      .persistenceExceptionResolver(new SQLErrorCodesResolver(dataSource))
+                                      .batchSize(4)
+                                      .connectionProvider(dataSource::getConnection)
+                                      .transactionManager(NoTransactionManager.INSTANCE);
+        if (eventArchive != null) {
+            builder.eventArchive(eventArchive);
+        }
+        return new JdbcEventStorageEngine(builder);
+    }
+}
@@ -18,6 +18,7 @@
 
 import org.axonframework.common.jdbc.PersistenceExceptionResolver;
 import org.axonframework.common.transaction.NoTransactionManager;
+import org.axonframework.eventhandling.DomainEventData;
 import org.axonframework.eventhandling.DomainEventMessage;
 import org.axonframework.eventhandling.GapAwareTrackingToken;
 import org.axonframework.eventhandling.GenericEventMessage;
@@ -30,6 +31,8 @@
 import org.axonframework.eventsourcing.eventstore.jdbc.statements.JdbcEventStorageEngineStatements;
 import org.axonframework.eventsourcing.eventstore.jdbc.statements.ReadEventDataForAggregateStatementBuilder;
 import org.axonframework.eventsourcing.eventstore.jpa.SQLErrorCodesResolver;
+import org.axonframework.eventsourcing.snapshotting.SnapshotEncoder;
+import org.axonframework.messaging.Message;
 import org.axonframework.eventsourcing.utils.TestSerializer;
 import org.axonframework.serialization.UnknownSerializedType;
 import org.hsqldb.jdbc.JDBCDataSource;
@@ -46,8 +49,11 @@
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Random;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 import java.util.stream.LongStream;
@@ -64,9 +70,12 @@
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 
 /**
  * Test class validating the {@link JdbcEventStorageEngine}.
@@ -118,12 +127,102 @@ void loadLargeAmountOfEventsFromAggregateStream_WithCustomFinalBatchPredicate()
         verify(readForAggregateStatementBuilder, times(4)).build(any(), any(), eq(AGGREGATE), anyLong(), anyInt());
     }
 
+    @Test
+    void optimisticLoadingReadsAnAdaptivelySizedFirstBatchInASingleQuery() throws SQLException {
+        JdbcEventStorageEngine.Builder builder =
+                JdbcEventStorageEngine.builder()
+                                      .eventSerializer(TestSerializer.xStreamSerializer())
+                                      .snapshotSerializer(TestSerializer.xStreamSerializer())
+                                      .batchSize(10)
+                                      .readEventDataForAggregate(readForAggregateStatementBuilder)
+                                      .optimisticLoadingExecutor(Runnable::run)
+                                      .connectionProvider(dataSource::getConnection)
+                                      .transactionManager(NoTransactionManager.INSTANCE);
+        // judge the completeness of an aggregate's batches by their size, rather than reading until an empty batch
+        JdbcEventStorageEngine sizeJudgingEngine = new JdbcEventStorageEngine(builder) {
+            @Override
+            protected boolean fetchForAggregateUntilEmpty() {
+                return false;
+            }
+        };
+        setTestSubject(testSubject = doCreateTables(HsqlEventTableFactory.INSTANCE, sizeJudgingEngine));
+        testSubject.appendEvents(createEvents(15));
+        assertEquals(15, testSubject.readSnapshotAndEvents(AGGREGATE)
+                                    .orElseThrow(AssertionError::new)
+                                    .asStream()
+                                    .count());
+        clearInvocations(readForAggregateStatementBuilder);
+
+        assertEquals(15, testSubject.readSnapshotAndEvents(AGGREGATE)
+                                    .orElseThrow(AssertionError::new)
+                                    .asStream()
+                                    .count());
+
+        // a first batch of 16 events is requested, of which the 15 returned events complete the stream
+        verify(readForAggregateStatementBuilder).build(any(), any(), eq(AGGREGATE), eq(0L), eq(16));
+        verifyNoMoreInteractions(readForAggregateStatementBuilder);
+    }
+
+    @Test
+    void optimisticLoadingContinuesAfterASnapshotBeyondTheFirstBatch() throws SQLException {
+        JdbcEventStorageEngine otherInstance = testSubject;
+        setTestSubject(testSubject = createEngine(b -> b.batchSize(5)
+                                                        .optimisticLoadingExecutor(Runnable::run)
+                                                        .readEventDataForAggregate(readForAggregateStatementBuilder)));
+        testSubject.appendEvents(createEvents(80));
+        assertEquals(80, testSubject.readSnapshotAndEvents(AGGREGATE)
+                                    .orElseThrow(AssertionError::new)
+                                    .asStream()
+                                    .count());
+        // stored by another instance, so the next load still expects to read events from the start of the stream
+        otherInstance.storeSnapshot(createEvent(AGGREGATE, 60));
+        clearInvocations(readForAggregateStatementBuilder);
+
+        assertEquals(20, testSubject.readSnapshotAndEvents(AGGREGATE)
+                                    .orElseThrow(AssertionError::new)
+                                    .asStream()
+                                    .count());
+
+        // the first batch holds events 0 to 49, after which the events covered by the snapshot are not read again
+        verify(readForAggregateStatementBuilder).build(any(), any(), eq(AGGREGATE), eq(0L), eq(50));
+        verify(readForAggregateStatementBuilder).build(any(), any(), eq(AGGREGATE), eq(61L), anyInt());
+        verify(readForAggregateStatementBuilder, never()).build(any(), any(), eq(AGGREGATE), eq(50L), anyInt());
+    }
+
     @Test
     void storeTwoExactSameSnapshots() {
         testSubject.storeSnapshot(createEvent(1));
         testSubject.storeSnapshot(createEvent(1));
     }
 
+    @Test
+    void deltaSnapshotsRetainTheirBaseUntilTheNextFullSnapshot() {
+        SnapshotEncoder encoder = SnapshotEncoder.builder().fullSnapshotInterval(3).build();
+        testSubject = createEngine(engineBuilder -> engineBuilder.snapshotEncoder(encoder));
+        StringBuilder state = new StringBuilder();
+        Random random = new Random(1);
+        while (state.length() < 100_000) {
+            state.append(Long.toHexString(random.nextLong()));
+        }
+        for (int sequenceNumber = 0; sequenceNumber < 3; sequenceNumber++) {
+            state.setCharAt(sequenceNumber * 1000, 'x');
+            testSubject.storeSnapshot(createEvent(AGGREGATE, sequenceNumber, state.toString()));
+        }
+
+        assertEquals(Arrays.asList(2L, 1L, 0L), testSubject.readSnapshotData(AGGREGATE)
+                                                           .map(DomainEventData::getSequenceNumber)
+                                                           .collect(toList()));
+        assertEquals(state.toString(), testSubject.readSnapshot(AGGREGATE).map(Message::getPayload).orElse(null));
+
+        state.setCharAt(3000, 'x');
+        testSubject.storeSnapshot(createEvent(AGGREGATE, 3, state.toString()));
+
+        assertEquals(Collections.singletonList(3L), testSubject.readSnapshotData(AGGREGATE)
+                                                               .map(DomainEventData::getSequenceNumber)
+                                                               .collect(toList()));
+        assertEquals(state.toString(), testSubject.readSnapshot(AGGREGATE).map(Message::getPayload).orElse(null));
+    }
+
     @Test
     void loadLastSequenceNumber() {
         String aggregateId = UUID.randomUUID().toString();
@@ -252,6 +351,69 @@ void eventsWithUnknownPayloadTypeDoNotResultInError() throws SQLException, Inter
         assertEquals(expectedPayloadTwo, eventStoreResult.nextAvailable().getPayload());
     }
 
+    @Test
+    void fetchTrackedEventsOmitsIgnoredPayloadTypesExceptForTheLastEntryOfTheBatch() throws SQLException {
+        testSubject.appendEvents(createEvents(5));
+        List<? extends TrackedEventData<?>> unfiltered = testSubject.fetchTrackedEvents((TrackingToken) null, 10);
+        try (Connection conn = dataSource.getConnection()) {
+            conn.prepareStatement("UPDATE DomainEventEntry e SET e.payloadType = 'ignored' WHERE e.sequenceNumber > 0")
+                .executeUpdate();
+        }
+
+        List<? extends TrackedEventData<?>> filtered =
+                testSubject.fetchTrackedEvents(null, 10, Collections.singleton("ignored"));
+
+        assertEquals(2, filtered.size());
+        assertEquals(0L, ((DomainEventData<?>) filtered.get(0)).getSequenceNumber());
+        assertEquals(4L, ((DomainEventData<?>) filtered.get(1)).getSequenceNumber());
+        assertEquals(unfiltered.get(0).trackingToken(), filtered.get(0).trackingToken());
+        assertEquals(unfiltered.get(4).trackingToken(), filtered.get(1).trackingToken());
+    }
+
+    @Test
+    void streamWithIgnoredPayloadTypesAdvancesPastIgnoredBatches() {
+        int testBatchSize = 10;
+        testSubject = createEngine(engineBuilder -> engineBuilder.batchSize(testBatchSize));
+        testSubject.appendEvents(createEvents(25));
+        TrackingToken expectedLastToken = testSubject.readEvents(null, false)
+                                                     .reduce((first, second) -> second)
+                                                     .map(TrackedEventMessage::trackingToken)
+                                                     .orElseThrow(IllegalStateException::new);
+
+        List<? extends TrackedEventMessage<?>> actualEvents =
+                testSubject.readEvents(null, false, Collections.singleton(String.class)).collect(toList());
+
+        // only the last entry of each batch is read
+        assertEquals(3, actualEvents.size());
+        assertEquals(expectedLastToken, actualEvents.get(2).trackingToken());
+    }
+
+    @Test
+    void streamsReadingTheSameSettledRangeShareBatchesThroughTheBatchCache() {
+        AtomicInteger databaseReads = new AtomicInteger();
+        testSubject = createEngine(engineBuilder -> engineBuilder.batchSize(10).batchCacheSize(16)
+                                                                 .readEventDataWithoutGaps((c, schema, index, size) -> {
+                                                                     databaseReads.incrementAndGet();
+                                                                     return JdbcEventStorageEngineStatements
+                                                                             .readEventDataWithoutGaps(c, schema,
+                                                                                                       index, size);
+                                                                 }));
+        GenericEventMessage.clock =
+                Clock.fixed(Clock.systemUTC().instant().minus(1, ChronoUnit.HOURS), Clock.systemUTC().getZone());
+        testSubject.appendEvents(createEvents(25));
+        GenericEventMessage.clock = Clock.systemUTC();
+
+        List<? extends TrackedEventMessage<?>> firstStream = testSubject.readEvents(null, false).collect(toList());
+        int readsOfFirstStream = databaseReads.get();
+        List<? extends TrackedEventMessage<?>> secondStream = testSubject.readEvents(null, false).collect(toList());
+
+        assertEquals(25, firstStream.size());
+        assertEquals(25, secondStream.size());
+        assertEquals(firstStream.get(24).trackingToken(), secondStream.get(24).trackingToken());
+        // only the empty batch at the head of the stream is read again
+        assertEquals(readsOfFirstStream + 1, databaseReads.get());
+    }
+
     @Test
     void streamCrossesConsecutiveGapsOfMoreThanBatchSuccessfully() throws SQLException {
         int testBatchSize = 10;
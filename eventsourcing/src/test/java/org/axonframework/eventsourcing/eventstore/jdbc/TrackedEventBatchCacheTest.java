@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2010-2024. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.axonframework.eventsourcing.eventstore.jdbc;
+
+import org.axonframework.eventhandling.GapAwareTrackingToken;
+import org.axonframework.eventhandling.TrackedEventData;
+import org.axonframework.eventhandling.TrackingToken;
+import org.junit.jupiter.api.*;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class validating the {@link TrackedEventBatchCache}.
+ *
+ * @author agent
+ */
+class TrackedEventBatchCacheTest {
+
+    private static final TrackingToken TOKEN = GapAwareTrackingToken.newInstance(10, Collections.emptySortedSet());
+
+    private TrackedEventBatchCache testSubject;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        testSubject = new TrackedEventBatchCache(2);
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void cachedBatchIsReturnedWithoutReadingItAgain() {
+        List<? extends TrackedEventData<?>> first = testSubject.fetch(TOKEN, 10, Collections.emptySet(),
+                                                                      countingLoader(), batch -> true);
+        List<? extends TrackedEventData<?>> second = testSubject.fetch(TOKEN, 10, Collections.emptySet(),
+                                                                       countingLoader(), batch -> true);
+
+        assertEquals(1, loads.get());
+        assertSame(first, second);
+    }
+
+    @Test
+    void batchesAreKeyedByTokenBatchSizeAndIgnoredPayloadTypes() {
+        testSubject.fetch(TOKEN, 10, Collections.emptySet(), countingLoader(), batch -> true);
+        testSubject.fetch(TOKEN, 20, Collections.emptySet(), countingLoader(), batch -> true);
+        testSubject.fetch(TOKEN, 10, Collections.singleton("ignored"), countingLoader(), batch -> true);
+        testSubject.fetch(TOKEN, 10, Collections.singleton("ignored"), countingLoader(), batch -> true);
+
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void batchNotMatchingCacheablePredicateIsNotCached() {
+        testSubject.fetch(null, 10, Collections.emptySet(), countingLoader(), batch -> false);
+        testSubject.fetch(null, 10, Collections.emptySet(), countingLoader(), batch -> false);
+
+        assertEquals(2, loads.get());
+        assertEquals(0, testSubject.size());
+    }
+
+    @Test
+    void leastRecentlyUsedBatchIsEvicted() {
+        TrackingToken otherToken = GapAwareTrackingToken.newInstance(20, Collections.emptySortedSet());
+        TrackingToken thirdToken = GapAwareTrackingToken.newInstance(30, Collections.emptySortedSet());
+        testSubject.fetch(TOKEN, 10, Collections.emptySet(), countingLoader(), batch -> true);
+        testSubject.fetch(otherToken, 10, Collections.emptySet(), countingLoader(), batch -> true);
+        // use the first batch, making the second one the least recently used
+        testSubject.fetch(TOKEN, 10, Collections.emptySet(), countingLoader(), batch -> true);
+        testSubject.fetch(thirdToken, 10, Collections.emptySet(), countingLoader(), batch -> true);
+        assertEquals(3, loads.get());
+
+        testSubject.fetch(TOKEN, 10, Collections.emptySet(), countingLoader(), batch -> true);
+        assertEquals(3, loads.get());
+        testSubject.fetch(otherToken, 10, Collections.emptySet(), countingLoader(), batch -> true);
+        assertEquals(4, loads.get());
+        assertEquals(2, testSubject.size());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void concurrentReadsOfTheSameBatchAreCoalesced() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Supplier<List<? extends TrackedEventData<?>>> blockingLoader = () -> {
+            loading.countDown();
+            try {
+                assertTrue(release.await(5, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return countingLoader().get();
+        };
+        Supplier<List<? extends TrackedEventData<?>>> secondLoader = mock(Supplier.class);
+        CompletableFuture<List<? extends TrackedEventData<?>>> first = CompletableFuture.supplyAsync(
+                () -> testSubject.fetch(TOKEN, 10, Collections.emptySet(), blockingLoader, batch -> false)
+        );
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+        CompletableFuture<List<? extends TrackedEventData<?>>> second = new CompletableFuture<>();
+        Thread secondReader = new Thread(() -> second.complete(
+                testSubject.fetch(TOKEN, 10, Collections.emptySet(), secondLoader, batch -> false)
+        ));
+        secondReader.start();
+
+        // the second reader parks on the pending read of the first, as the first one can't complete yet
+        long deadline = System.currentTimeMillis() + 5000;
+        while (secondReader.getState() != Thread.State.WAITING && System.currentTimeMillis() < deadline) {
+            Thread.yield();
+        }
+        assertEquals(Thread.State.WAITING, secondReader.getState());
+        assertFalse(second.isDone());
+        release.countDown();
+
+        assertSame(first.get(5, TimeUnit.SECONDS), second.get(5, TimeUnit.SECONDS));
+        assertEquals(1, loads.get());
+        verifyNoInteractions(secondLoader);
+    }
+
+    @Test
+    void failedReadIsRethrownAndNotCached() {
+        IllegalStateException failure = new IllegalStateException("mock");
+
+        IllegalStateException actual = assertThrows(IllegalStateException.class, () -> testSubject.fetch(
+                TOKEN, 10, Collections.emptySet(), () -> {
+                    throw failure;
+                }, batch -> true
+        ));
+        assertSame(failure, actual);
+
+        testSubject.fetch(TOKEN, 10, Collections.emptySet(), countingLoader(), batch -> true);
+        assertEquals(1, loads.get());
+    }
+
+    private Supplier<List<? extends TrackedEventData<?>>> countingLoader() {
+        return () -> {
+            loads.incrementAndGet();
+            return Collections.<TrackedEventData<?>>singletonList(mock(TrackedEventData.class));
+        };
+    }
+}
@@ -0,0 +1,302 @@
+/*
+ * Copyright (c) 2010-2024. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.axonframework.eventsourcing.snapshotting;
+
+import org.axonframework.common.AxonConfigurationException;
+import org.axonframework.eventhandling.DomainEventData;
+import org.axonframework.eventhandling.GenericDomainEventEntry;
+import org.axonframework.serialization.ChainingConverter;
+import org.axonframework.serialization.Converter;
+import org.axonframework.serialization.SerializedObject;
+import org.axonframework.serialization.SimpleSerializedObject;
+import org.axonframework.serialization.SimpleSerializedType;
+import org.junit.jupiter.api.*;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class validating the {@link SnapshotEncoder}.
+ *
+ * @author agent
+ */
+class SnapshotEncoderTest {
+
+    private static final String AGGREGATE_TYPE = "MyAggregate";
+    private static final String PAYLOAD_TYPE = "com.example.MyAggregate";
+    private static final String REVISION = "1";
+
+    private final Converter converter = new ChainingConverter();
+
+    @Test
+    void snapshotBelowCompressionThresholdIsStoredAsIs() {
+        SnapshotEncoder testSubject = SnapshotEncoder.builder().compressionThreshold(1024).build();
+        SerializedObject<byte[]> snapshot = serialized(repetitiveData(512));
+
+        assertSame(snapshot, testSubject.encode(snapshot, 0, Collections::emptyList, converter));
+    }
+
+    @Test
+    void largeSnapshotIsCompressedAndDecodedToItsOriginalForm() {
+        SnapshotEncoder testSubject = SnapshotEncoder.builder().build();
+        byte[] data = repetitiveData(100_000);
+
+        SerializedObject<byte[]> encoded = testSubject.encode(serialized(data), 0, Collections::emptyList, converter);
+
+        assertEquals("deflate:" + PAYLOAD_TYPE, encoded.getType().getName());
+        assertEquals(REVISION, encoded.getType().getRevision());
+        assertTrue(encoded.getData().length < data.length / 10);
+        assertFalse(testSubject.baseSequenceNumber(encoded.getType()).isPresent());
+
+        List<DomainEventData<?>> decoded = decode(testSubject, entry(0, encoded));
+        assertEquals(1, decoded.size());
+        assertEquals(PAYLOAD_TYPE, decoded.get(0).getPayload().getType().getName());
+        assertEquals(REVISION, decoded.get(0).getPayload().getType().getRevision());
+        assertArrayEquals(data, (byte[]) decoded.get(0).getPayload().getData());
+        assertArrayEquals("meta-data".getBytes(StandardCharsets.UTF_8),
+                          (byte[]) decoded.get(0).getMetaData().getData());
+    }
+
+    @Test
+    void incompressibleSnapshotIsStoredAsIs() {
+        SnapshotEncoder testSubject = SnapshotEncoder.builder().build();
+        SerializedObject<byte[]> snapshot = serialized(randomData(100_000, 1));
+
+        assertSame(snapshot, testSubject.encode(snapshot, 0, Collections::emptyList, converter));
+    }
+
+    @Test
+    void storedSnapshotsAreNotRequestedWhenDeltasAreNotUsed() {
+        SnapshotEncoder testSubject = SnapshotEncoder.builder().build();
+
+        assertFalse(testSubject.usesDeltas());
+        testSubject.encode(serialized(randomData(10_000, 1)), 1, () -> fail("Unexpected request"), converter);
+    }
+
+    @Test
+    void snapshotIsStoredAsDeltaAgainstLatestFullSnapshot() {
+        SnapshotEncoder testSubject = SnapshotEncoder.builder()
+                                                     .compressionEnabled(false)
+                                                     .fullSnapshotInterval(3)
+                                                     .build();
+        byte[] base = randomData(100_000, 1);
+        byte[] changed = changed(base, 1);
+        List<DomainEventData<?>> stored = new ArrayList<>();
+        stored.add(entry(4, testSubject.encode(serialized(base), 4, Collections::emptyList, converter)));
+
+        SerializedObject<byte[]> encoded = testSubject.encode(serialized(changed), 9, () -> stored, converter);
+
+        assertEquals("delta.4:" + PAYLOAD_TYPE, encoded.getType().getName());
+        assertEquals(REVISION, encoded.getType().getRevision());
+        assertEquals(4L, testSubject.baseSequenceNumber(encoded.getType()).orElse(-1L));
+        assertTrue(encoded.getData().length < 1000);
+
+        stored.add(0, entry(9, encoded));
+        List<DomainEventData<?>> decoded = decode(testSubject, stored);
+        assertEquals(2, decoded.size());
+        assertEquals(9L, decoded.get(0).getSequenceNumber());
+        assertEquals(PAYLOAD_TYPE, decoded.get(0).getPayload().getType().getName());
+        assertArrayEquals(changed, (byte[]) decoded.get(0).getPayload().getData());
+        assertArrayEquals(base, (byte[]) decoded.get(1).getPayload().getData());
+    }
+
+    @Test
+    void compressedDeltaIsDecodedAgainstCompressedBase() {
+        SnapshotEncoder testSubject = SnapshotEncoder.builder().fullSnapshotInterval(2).build();
+        byte[] base = repetitiveData(100_000);
+        byte[] changed = changed(base, 7);
+        List<DomainEventData<?>> stored = new ArrayList<>();
+        stored.add(entry(0, testSubject.encode(serialized(base), 0, Collections::emptyList, converter)));
+
+        stored.add(0, entry(1, testSubject.encode(serialized(changed), 1, () -> stored, converter)));
+
+        assertEquals("deflate:" + PAYLOAD_TYPE, stored.get(1).getPayload().getType().getName());
+        assertTrue(stored.get(0).getPayload().getType().getName().startsWith("delta.0:")
+                           || stored.get(0).getPayload().getType().getName().startsWith("deflate:delta.0:"));
+        assertArrayEquals(changed, (byte[]) decode(testSubject, stored).get(0).getPayload().getData());
+    }
+
+    @Test
+    void fullSnapshotIsStoredOnceIntervalIsReached() {
+        SnapshotEncoder testSubject = SnapshotEncoder.builder()
+                                                     .compressionEnabled(false)
+                                                     .fullSnapshotInterval(3)
+                                                     .build();
+        byte[] data = randomData(100_000, 1);
+        List<DomainEventData<?>> stored = new ArrayList<>();
+        for (int sequenceNumber = 0; sequenceNumber < 4; sequenceNumber++) {
+            data = changed(data, sequenceNumber);
+            stored.add(0, entry(sequenceNumber,
+                                testSubject.encode(serialized(data), sequenceNumber, () -> stored, converter)));
+        }
+
+        List<String> types = stored.stream()
+                                   .map(snapshot -> snapshot.getPayload().getType().getName())
+                                   .collect(Collectors.toList());
+        assertEquals(Arrays.asList(PAYLOAD_TYPE, "delta.0:" + PAYLOAD_TYPE, "delta.0:" + PAYLOAD_TYPE, PAYLOAD_TYPE),
+                     types);
+        assertArrayEquals(data, (byte[]) decode(testSubject, stored).get(0).getPayload().getData());
+    }
+
+    @Test
+    void fullSnapshotIsStoredWhenLatestFullSnapshotHasAnotherRevision() {
+        SnapshotEncoder testSubject = SnapshotEncoder.builder()
+                                                     .compressionEnabled(false)
+                                                     .fullSnapshotInterval(3)
+                                                     .build();
+        byte[] base = randomData(100_000, 1);
+        SerializedObject<byte[]> oldRevision =
+                new SimpleSerializedObject<>(base, byte[].class, new SimpleSerializedType(PAYLOAD_TYPE, "0"));
+        List<DomainEventData<?>> stored = Collections.singletonList(entry(0, oldRevision));
+
+        SerializedObject<byte[]> encoded = testSubject.encode(serialized(changed(base, 1)), 1, () -> stored, converter);
+
+        assertEquals(PAYLOAD_TYPE, encoded.getType().getName());
+    }
+
+    @Test
+    void fullSnapshotIsStoredWhenDeltaIsNotSignificantlySmaller() {
+        SnapshotEncoder testSubject = SnapshotEncoder.builder()
+                                                     .compressionEnabled(false)
+                                                     .fullSnapshotInterval(3)
+                                                     .build();
+        List<DomainEventData<?>> stored =
+                Collections.singletonList(entry(0, serialized(randomData(100_000, 1))));
+
+        SerializedObject<byte[]> encoded =
+                testSubject.encode(serialized(randomData(100_000, 2)), 1, () -> stored, converter);
+
+        assertEquals(PAYLOAD_TYPE, encoded.getType().getName());
+    }
+
+    @Test
+    void deltaWithoutAvailableBaseIsOmittedWhenDecoding() {
+        SnapshotEncoder testSubject = SnapshotEncoder.builder()
+                                                     .compressionEnabled(false)
+                                                     .fullSnapshotInterval(3)
+                                                     .build();
+        byte[] base = randomData(100_000, 1);
+        List<DomainEventData<?>> stored = Collections.singletonList(entry(0, serialized(base)));
+        SerializedObject<byte[]> delta = testSubject.encode(serialized(changed(base, 1)), 1, () -> stored, converter);
+
+        assertTrue(decode(testSubject, entry(1, delta)).isEmpty());
+    }
+
+    @Test
+    void corruptSnapshotIsOmittedWhenDecoding() {
+        SnapshotEncoder testSubject = SnapshotEncoder.builder().build();
+        SerializedObject<byte[]> corrupt = new SimpleSerializedObject<>(
+                new byte[]{1, 2, 3}, byte[].class, new SimpleSerializedType("deflate:" + PAYLOAD_TYPE, REVISION)
+        );
+
+        assertTrue(decode(testSubject, entry(0, corrupt)).isEmpty());
+    }
+
+    @Test
+    void snapshotsStoredWithoutEncoderAreDecodedAsIs() {
+        SnapshotEncoder testSubject = SnapshotEncoder.builder().fullSnapshotInterval(3).build();
+        DomainEventData<?> snapshot = entry(0, serialized(repetitiveData(100_000)));
+
+        List<DomainEventData<?>> decoded = decode(testSubject, snapshot);
+
+        assertEquals(1, decoded.size());
+        assertSame(snapshot, decoded.get(0));
+    }
+
+    @Test
+    void decodedSnapshotsRemainCompatibleWithRevisionSnapshotFilter() {
+        SnapshotEncoder testSubject = SnapshotEncoder.builder().build();
+        SnapshotFilter filter = RevisionSnapshotFilter.builder().type(AGGREGATE_TYPE).revision(REVISION).build();
+        SerializedObject<byte[]> encoded =
+                testSubject.encode(serialized(repetitiveData(100_000)), 0, Collections::emptyList, converter);
+
+        assertTrue(filter.allow(decode(testSubject, entry(0, encoded)).get(0)));
+        assertFalse(RevisionSnapshotFilter.builder().type(AGGREGATE_TYPE).revision("2").build()
+                                          .allow(decode(testSubject, entry(0, encoded)).get(0)));
+    }
+
+    @Test
+    void buildWithNegativeCompressionThresholdThrowsAxonConfigurationException() {
+        SnapshotEncoder.Builder builder = SnapshotEncoder.builder();
+
+        assertThrows(AxonConfigurationException.class, () -> builder.compressionThreshold(-1));
+    }
+
+    @Test
+    void buildWithZeroFullSnapshotIntervalThrowsAxonConfigurationException() {
+        SnapshotEncoder.Builder builder = SnapshotEncoder.builder();
+
+        assertThrows(AxonConfigurationException.class, () -> builder.fullSnapshotInterval(0));
+    }
+
+    private List<DomainEventData<?>> decode(SnapshotEncoder encoder, DomainEventData<?> snapshot) {
+        return decode(encoder, Collections.singletonList(snapshot));
+    }
+
+    private List<DomainEventData<?>> decode(SnapshotEncoder encoder, List<DomainEventData<?>> snapshots) {
+        return encoder.decode(snapshots, converter).collect(Collectors.toList());
+    }
+
+    private static DomainEventData<?> entry(long sequenceNumber, SerializedObject<byte[]> payload) {
+        return new GenericDomainEventEntry<>(AGGREGATE_TYPE,
+                                             "aggregateId",
+                                             sequenceNumber,
+                                             "snapshot-" + sequenceNumber,
+                                             Instant.now(),
+                                             payload.getType().getName(),
+                                             payload.getType().getRevision(),
+                                             payload.getData(),
+                                             "meta-data".getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static SerializedObject<byte[]> serialized(byte[] data) {
+        return new SimpleSerializedObject<>(data, byte[].class, PAYLOAD_TYPE, REVISION);
+    }
+
+    private static byte[] repetitiveData(int size) {
+        byte[] data = new byte[size];
+        byte[] pattern = "<field>some repetitive value</field>".getBytes(StandardCharsets.UTF_8);
+        for (int i = 0; i < size; i++) {
+            data[i] = pattern[i % pattern.length];
+        }
+        return data;
+    }
+
+    private static byte[] randomData(int size, long seed) {
+        byte[] data = new byte[size];
+        new Random(seed).nextBytes(data);
+        return data;
+    }
+
+    private static byte[] changed(byte[] data, int seed) {
+        byte[] changed = Arrays.copyOf(data, data.length);
+        Random random = new Random(seed);
+        for (int i = 0; i < 10; i++) {
+            changed[random.nextInt(changed.length)] = (byte) random.nextInt();
+        }
+        return changed;
+    }
+}
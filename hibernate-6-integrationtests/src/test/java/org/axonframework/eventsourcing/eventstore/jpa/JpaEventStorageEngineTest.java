@@ -42,6 +42,7 @@
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -271,6 +272,26 @@ void eventsWithUnknownPayloadDoNotResultInError() throws InterruptedException {
         assertFalse(eventStoreResult.hasNextAvailable());
     }
 
+    @Test
+    void fetchTrackedEventsOmitsIgnoredPayloadTypesExceptForTheLastEntryOfTheBatch() {
+        testSubject.appendEvents(createEvents(5));
+        entityManager.clear();
+        List<? extends TrackedEventData<?>> unfiltered = testSubject.fetchTrackedEvents(null, 10);
+        entityManager.createQuery("UPDATE DomainEventEntry e SET e.payloadType = :type WHERE e.sequenceNumber > 0")
+                     .setParameter("type", "ignored")
+                     .executeUpdate();
+        entityManager.clear();
+
+        List<? extends TrackedEventData<?>> filtered =
+                testSubject.fetchTrackedEvents(null, 10, Collections.singleton("ignored"));
+
+        assertEquals(2, filtered.size());
+        assertEquals(0L, ((DomainEventData<?>) filtered.get(0)).getSequenceNumber());
+        assertEquals(4L, ((DomainEventData<?>) filtered.get(1)).getSequenceNumber());
+        assertEquals(unfiltered.get(0).trackingToken(), filtered.get(0).trackingToken());
+        assertEquals(unfiltered.get(4).trackingToken(), filtered.get(1).trackingToken());
+    }
+
     @Test
     void appendEventsIsPerformedInATransaction() {
         testSubject.appendEvents(createEvents(2));
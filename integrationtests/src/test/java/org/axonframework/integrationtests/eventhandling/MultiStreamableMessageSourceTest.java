@@ -40,7 +40,9 @@
 import java.util.OptionalLong;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import static org.awaitility.Awaitility.await;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
@@ -261,6 +263,138 @@ void peekWithMultipleStreams() throws InterruptedException {
         singleEventStream.close();
     }
 
+    @Test
+    void prefetchingStreamConsumesMessagesFromAllSourcesInOrder() throws InterruptedException {
+        MultiStreamableMessageSource prefetchingSource = MultiStreamableMessageSource.builder()
+                                                                                     .addMessageSource("eventStoreA",
+                                                                                                       eventStoreA)
+                                                                                     .addMessageSource("eventStoreB",
+                                                                                                       eventStoreB)
+                                                                                     .prefetchBufferSize(4)
+                                                                                     .build();
+        BlockingStream<TrackedEventMessage<?>> stream = prefetchingSource.openStream(null);
+        AtomicInteger buffered = new AtomicInteger();
+        stream.setOnAvailableCallback(buffered::incrementAndGet);
+
+        eventStoreA.publish(GenericEventMessage.asEventMessage("Event1"));
+        Thread.sleep(20);
+        eventStoreB.publish(GenericEventMessage.asEventMessage("Event2"));
+        Thread.sleep(20);
+        eventStoreA.publish(GenericEventMessage.asEventMessage("Event3"));
+        // the prefetching threads need to have buffered all messages before they can be merged in order
+        await().atMost(Duration.ofSeconds(5)).until(() -> buffered.get() == 3);
+
+        assertTrue(stream.hasNextAvailable(1, TimeUnit.SECONDS));
+        assertEquals("Event1", stream.peek().map(Message::getPayload).orElse(null));
+        assertEquals("Event1", stream.nextAvailable().getPayload());
+        assertEquals("Event2", stream.nextAvailable().getPayload());
+        TrackedEventMessage<?> last = stream.nextAvailable();
+        assertEquals("Event3", last.getPayload());
+        assertFalse(stream.hasNextAvailable());
+
+        MultiSourceTrackingToken lastToken = (MultiSourceTrackingToken) last.trackingToken();
+        assertEquals(OptionalLong.of(1), lastToken.getTokenForStream("eventStoreA").position());
+        assertEquals(OptionalLong.of(0), lastToken.getTokenForStream("eventStoreB").position());
+
+        stream.close();
+    }
+
+    @Test
+    void prefetchingStreamWaitsForMessagesPublishedAfterOpening() throws InterruptedException {
+        MultiStreamableMessageSource prefetchingSource = MultiStreamableMessageSource.builder()
+                                                                                     .addMessageSource("eventStoreA",
+                                                                                                       eventStoreA)
+                                                                                     .addMessageSource("eventStoreB",
+                                                                                                       eventStoreB)
+                                                                                     .prefetchBufferSize(4)
+                                                                                     .build();
+        BlockingStream<TrackedEventMessage<?>> stream = prefetchingSource.openStream(null);
+        assertFalse(stream.hasNextAvailable(10, TimeUnit.MILLISECONDS));
+
+        eventStoreB.publish(GenericEventMessage.asEventMessage("Event1"));
+
+        assertTrue(stream.hasNextAvailable(5, TimeUnit.SECONDS));
+        assertEquals("Event1", stream.nextAvailable().getPayload());
+
+        stream.close();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void prefetchingStreamStopsReadingSourceWithFullBuffer() throws InterruptedException {
+        AtomicInteger reads = new AtomicInteger();
+        BlockingStream<TrackedEventMessage<?>> infiniteStream = mock(BlockingStream.class);
+        when(infiniteStream.hasNextAvailable(anyInt(), any())).thenReturn(true);
+        when(infiniteStream.nextAvailable()).thenAnswer(i -> new GenericTrackedEventMessage<>(
+                new GlobalSequenceTrackingToken(reads.getAndIncrement()), GenericEventMessage.asEventMessage("Event")
+        ));
+        StreamableMessageSource<TrackedEventMessage<?>> infiniteSource = mock(StreamableMessageSource.class);
+        when(infiniteSource.openStream(any())).thenReturn(infiniteStream);
+
+        MultiStreamableMessageSource prefetchingSource = MultiStreamableMessageSource.builder()
+                                                                                     .addMessageSource("infinite",
+                                                                                                       infiniteSource)
+                                                                                     .addMessageSource("eventStoreB",
+                                                                                                       eventStoreB)
+                                                                                     .prefetchBufferSize(2)
+                                                                                     .build();
+        BlockingStream<TrackedEventMessage<?>> stream = prefetchingSource.openStream(null);
+
+        // two messages fit in the buffer, the third one is blocked until space becomes available
+        await().atMost(Duration.ofSeconds(5)).until(() -> reads.get() == 3);
+        await().during(Duration.ofMillis(100)).atMost(Duration.ofSeconds(1)).until(() -> reads.get() == 3);
+
+        assertTrue(stream.hasNextAvailable(1, TimeUnit.SECONDS));
+        stream.nextAvailable();
+        await().atMost(Duration.ofSeconds(5)).until(() -> reads.get() == 4);
+
+        stream.close();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void prefetchingStreamPropagatesFailureOfSource() throws InterruptedException {
+        BlockingStream<TrackedEventMessage<?>> failingStream = mock(BlockingStream.class);
+        when(failingStream.hasNextAvailable(anyInt(), any())).thenThrow(new IllegalArgumentException("failing"));
+        StreamableMessageSource<TrackedEventMessage<?>> failingSource = mock(StreamableMessageSource.class);
+        when(failingSource.openStream(any())).thenReturn(failingStream);
+
+        MultiStreamableMessageSource prefetchingSource = MultiStreamableMessageSource.builder()
+                                                                                     .addMessageSource("failing",
+                                                                                                       failingSource)
+                                                                                     .prefetchBufferSize(2)
+                                                                                     .build();
+        BlockingStream<TrackedEventMessage<?>> stream = prefetchingSource.openStream(null);
+
+        IllegalStateException result =
+                assertThrows(IllegalStateException.class, () -> stream.hasNextAvailable(5, TimeUnit.SECONDS));
+        assertTrue(result.getCause() instanceof IllegalArgumentException);
+        verify(failingStream, timeout(5000)).close();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void closingPrefetchingStreamClosesUnderlyingStreams() {
+        BlockingStream<TrackedEventMessage<?>> streamOne = mock(BlockingStream.class);
+        StreamableMessageSource<TrackedEventMessage<?>> sourceOne = mock(StreamableMessageSource.class);
+        when(sourceOne.openStream(any())).thenReturn(streamOne);
+        BlockingStream<TrackedEventMessage<?>> streamTwo = mock(BlockingStream.class);
+        StreamableMessageSource<TrackedEventMessage<?>> sourceTwo = mock(StreamableMessageSource.class);
+        when(sourceTwo.openStream(any())).thenReturn(streamTwo);
+
+        MultiStreamableMessageSource prefetchingSource = MultiStreamableMessageSource.builder()
+                                                                                     .addMessageSource("one", sourceOne)
+                                                                                     .addMessageSource("two", sourceTwo)
+                                                                                     .prefetchBufferSize(2)
+                                                                                     .build();
+        BlockingStream<TrackedEventMessage<?>> stream = prefetchingSource.openStream(null);
+
+        stream.close();
+
+        verify(streamOne, timeout(5000)).close();
+        verify(streamTwo, timeout(5000)).close();
+    }
+
     /**
      * Create a timestamp a bit prior to {@link Instant#now()}. This can for example be used on
      * {@link StreamableMessageSource#createTokenAt(Instant)} right after the insertion of some events, so that the
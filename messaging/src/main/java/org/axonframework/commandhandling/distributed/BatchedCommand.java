@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2010-2024. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.commandhandling.distributed;
+
+import org.axonframework.commandhandling.CommandCallback;
+import org.axonframework.commandhandling.CommandMessage;
+
+import java.util.Optional;
+import javax.annotation.Nonnull;
+
+/**
+ * A command that is part of a batch sent to a single {@link Member} through
+ * {@link CommandBusConnector#sendBatch(Member, java.util.List)}, together with the callback expecting its result, if
+ * any.
+ *
+ * @author agent
+ * @since 4.11.0
+ */
+public final class BatchedCommand {
+
+    private final CommandMessage<?> command;
+    private final CommandCallback<?, ?> callback;
+
+    /**
+     * Initializes a batched command for the given {@code command}, notifying the given {@code callback} of its result.
+     * The {@code callback} may be {@code null} for commands for which the sender does not expect a reply.
+     *
+     * @param command  the command to send
+     * @param callback the callback to notify of the result, or {@code null} if no reply is expected
+     */
+    public BatchedCommand(@Nonnull CommandMessage<?> command, CommandCallback<?, ?> callback) {
+        this.command = command;
+        this.callback = callback;
+    }
+
+    /**
+     * Returns the command to send.
+     *
+     * @return the command to send
+     */
+    public CommandMessage<?> command() {
+        return command;
+    }
+
+    /**
+     * Returns the callback to notify of the result of the command, if the sender expects a reply.
+     *
+     * @return an Optional containing the callback to notify, or an empty Optional if no reply is expected
+     */
+    @SuppressWarnings("unchecked")
+    public Optional<CommandCallback<Object, Object>> callback() {
+        return Optional.ofNullable((CommandCallback<Object, Object>) callback);
+    }
+
+    @Override
+    public String toString() {
+        return "BatchedCommand{command=" + command.getCommandName() + ", expectsReply=" + (callback != null) + '}';
+    }
+}
@@ -0,0 +1,302 @@
+/*
+ * Copyright (c) 2010-2024. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.commandhandling.distributed;
+
+import org.axonframework.commandhandling.CommandBus;
+import org.axonframework.commandhandling.CommandCallback;
+import org.axonframework.commandhandling.CommandMessage;
+import org.axonframework.common.AxonConfigurationException;
+import org.axonframework.common.AxonThreadFactory;
+import org.axonframework.common.Registration;
+import org.axonframework.messaging.MessageHandler;
+import org.axonframework.messaging.MessageHandlerInterceptor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.invoke.MethodHandles;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nonnull;
+
+import static org.axonframework.commandhandling.GenericCommandResultMessage.asCommandResultMessage;
+import static org.axonframework.common.BuilderUtils.assertNonNull;
+import static org.axonframework.common.BuilderUtils.assertStrictPositive;
+import static org.axonframework.common.BuilderUtils.assertThat;
+
+/**
+ * A {@link CommandBusConnector} that coalesces commands sent to the same remote {@link Member} within a short window
+ * into a single {@link CommandBusConnector#sendBatch(Member, List) batch} on the delegate connector. This reduces the
+ * per-message framing overhead when many small commands are routed between the same nodes.
+ * <p>
+ * The first command for a member opens a batch, which is sent once the batch window has passed, or as soon as it
+ * contains the maximum number of commands. Commands for a {@link Member#local() local} member are passed to the
+ * delegate directly.
+ * <p>
+ * As commands are sent asynchronously, failures to send a batch are not thrown from the {@code send} methods.
+ * Instead, the callback of each command in the failed batch is notified with a {@link CommandDispatchException}, and
+ * the destination is {@link Member#suspect() suspected}.
+ *
+ * @author agent
+ * @since 4.11.0
+ */
+public class BatchingCommandBusConnector implements CommandBusConnector {
+
+    private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+    private final CommandBusConnector delegate;
+    private final int maxBatchSize;
+    private final long batchWindowNanos;
+    private final ScheduledExecutorService scheduler;
+    private final boolean ownsScheduler;
+    private final ConcurrentMap<String, Batch> pendingBatches = new ConcurrentHashMap<>();
+
+    /**
+     * Instantiate a Builder to be able to create a {@link BatchingCommandBusConnector}.
+     * <p>
+     * The {@code maxBatchSize} defaults to {@code 64} and the {@code batchWindow} to one millisecond. The
+     * {@link ScheduledExecutorService} defaults to a single threaded executor owned by the connector. The delegate
+     * {@link CommandBusConnector} is a <b>hard requirement</b> and as such should be provided.
+     *
+     * @return a Builder to be able to create a {@link BatchingCommandBusConnector}
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Instantiate a {@link BatchingCommandBusConnector} based on the fields contained in the {@link Builder}.
+     *
+     * @param builder the {@link Builder} used to instantiate a {@link BatchingCommandBusConnector} instance
+     */
+    protected BatchingCommandBusConnector(Builder builder) {
+        builder.validate();
+        this.delegate = builder.delegate;
+        this.maxBatchSize = builder.maxBatchSize;
+        this.batchWindowNanos = builder.batchWindow.toNanos();
+        this.ownsScheduler = builder.scheduler == null;
+        this.scheduler = ownsScheduler
+                ? Executors.newSingleThreadScheduledExecutor(new AxonThreadFactory("BatchingCommandBusConnector"))
+                : builder.scheduler;
+    }
+
+    @Override
+    public <C> void send(@Nonnull Member destination, @Nonnull CommandMessage<? extends C> command) throws Exception {
+        if (destination.local()) {
+            delegate.send(destination, command);
+        } else {
+            enqueue(destination, new BatchedCommand(command, null));
+        }
+    }
+
+    @Override
+    public <C, R> void send(@Nonnull Member destination,
+                            @Nonnull CommandMessage<C> command,
+                            @Nonnull CommandCallback<? super C, R> callback) throws Exception {
+        if (destination.local()) {
+            delegate.send(destination, command, callback);
+        } else {
+            enqueue(destination, new BatchedCommand(command, callback));
+        }
+    }
+
+    private void enqueue(Member destination, BatchedCommand command) {
+        Batch[] full = new Batch[1];
+        pendingBatches.compute(destination.name(), (name, batch) -> {
+            if (batch == null) {
+                batch = new Batch(destination);
+                Batch scheduled = batch;
+                scheduler.schedule(() -> flush(name, scheduled), batchWindowNanos, TimeUnit.NANOSECONDS);
+            }
+            batch.commands.add(command);
+            if (batch.commands.size() >= maxBatchSize) {
+                full[0] = batch;
+                return null;
+            }
+            return batch;
+        });
+        if (full[0] != null) {
+            send(full[0]);
+        }
+    }
+
+    private void flush(String memberName, Batch batch) {
+        if (pendingBatches.remove(memberName, batch)) {
+            send(batch);
+        }
+    }
+
+    /**
+     * Sends all pending batches, without waiting for their batch window to pass.
+     */
+    public void flush() {
+        pendingBatches.forEach(this::flush);
+    }
+
+    private void send(Batch batch) {
+        try {
+            delegate.sendBatch(batch.destination, batch.commands);
+        } catch (Exception e) {
+            logger.warn("Failed to send a batch of {} commands to member [{}].",
+                        batch.commands.size(), batch.destination.name(), e);
+            batch.destination.suspect();
+            for (BatchedCommand batched : batch.commands) {
+                batched.callback().ifPresent(callback -> callback.onResult(
+                        batched.command(),
+                        asCommandResultMessage(new CommandDispatchException(
+                                "An error occurred while trying to send a batch of commands: " + e.getMessage(), e
+                        ))
+                ));
+            }
+        }
+    }
+
+    @Override
+    public Registration subscribe(@Nonnull String commandName,
+                                  @Nonnull MessageHandler<? super CommandMessage<?>> handler) {
+        return delegate.subscribe(commandName, handler);
+    }
+
+    @Override
+    public Optional<CommandBus> localSegment() {
+        return delegate.localSegment();
+    }
+
+    @Override
+    public Registration registerHandlerInterceptor(
+            @Nonnull MessageHandlerInterceptor<? super CommandMessage<?>> handlerInterceptor
+    ) {
+        return delegate.registerHandlerInterceptor(handlerInterceptor);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Sends all pending batches before initiating the shutdown of the delegate connector.
+     */
+    @Override
+    public CompletableFuture<Void> initiateShutdown() {
+        flush();
+        if (ownsScheduler) {
+            scheduler.shutdown();
+        }
+        return delegate.initiateShutdown();
+    }
+
+    private static final class Batch {
+
+        private final Member destination;
+        private final List<BatchedCommand> commands = new ArrayList<>();
+
+        private Batch(Member destination) {
+            this.destination = destination;
+        }
+    }
+
+    /**
+     * Builder class to instantiate a {@link BatchingCommandBusConnector}.
+     * <p>
+     * The {@code maxBatchSize} defaults to {@code 64} and the {@code batchWindow} to one millisecond. The
+     * {@link ScheduledExecutorService} defaults to a single threaded executor owned by the connector. The delegate
+     * {@link CommandBusConnector} is a <b>hard requirement</b> and as such should be provided.
+     */
+    public static class Builder {
+
+        private CommandBusConnector delegate;
+        private int maxBatchSize = 64;
+        private Duration batchWindow = Duration.ofMillis(1);
+        private ScheduledExecutorService scheduler;
+
+        /**
+         * Sets the {@link CommandBusConnector} performing the actual transport of the batches.
+         *
+         * @param delegate the {@link CommandBusConnector} performing the actual transport of the batches
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder delegate(@Nonnull CommandBusConnector delegate) {
+            assertNonNull(delegate, "The delegate CommandBusConnector may not be null");
+            this.delegate = delegate;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of commands in a single batch. A batch is sent as soon as it reaches this size.
+         * Defaults to {@code 64}.
+         *
+         * @param maxBatchSize the maximum number of commands in a single batch
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder maxBatchSize(int maxBatchSize) {
+            assertStrictPositive(maxBatchSize, "The maximum batch size should be strictly positive");
+            this.maxBatchSize = maxBatchSize;
+            return this;
+        }
+
+        /**
+         * Sets the time a batch is kept open for more commands to the same member, after its first command has been
+         * added. Defaults to one millisecond. Note that this adds up to this window to the latency of each command.
+         *
+         * @param batchWindow the time a batch is kept open for more commands
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder batchWindow(@Nonnull Duration batchWindow) {
+            assertNonNull(batchWindow, "The batch window may not be null");
+            assertThat(batchWindow, w -> !w.isNegative() && !w.isZero(), "The batch window should be positive");
+            this.batchWindow = batchWindow;
+            return this;
+        }
+
+        /**
+         * Sets the {@link ScheduledExecutorService} used to send batches once their window has passed. Defaults to a
+         * single threaded executor owned, and shut down, by the connector.
+         *
+         * @param scheduler the {@link ScheduledExecutorService} used to send batches once their window has passed
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder scheduler(@Nonnull ScheduledExecutorService scheduler) {
+            assertNonNull(scheduler, "The ScheduledExecutorService may not be null");
+            this.scheduler = scheduler;
+            return this;
+        }
+
+        /**
+         * Initializes a {@link BatchingCommandBusConnector} as specified through this Builder.
+         *
+         * @return a {@link BatchingCommandBusConnector} as specified through this Builder
+         */
+        public BatchingCommandBusConnector build() {
+            return new BatchingCommandBusConnector(this);
+        }
+
+        /**
+         * Validate whether the fields contained in this Builder are set accordingly.
+         *
+         * @throws AxonConfigurationException if one field is asserted to be incorrect according to the Builder's
+         *                                    specifications
+         */
+        protected void validate() {
+            assertNonNull(delegate, "The delegate CommandBusConnector is a hard requirement and should be provided");
+        }
+    }
+}
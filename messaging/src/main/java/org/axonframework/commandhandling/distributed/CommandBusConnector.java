@@ -25,10 +25,13 @@
 import org.axonframework.messaging.MessageHandlerInterceptorSupport;
 import org.axonframework.messaging.RemoteHandlingException;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import javax.annotation.Nonnull;
 
+import static org.axonframework.commandhandling.GenericCommandResultMessage.asCommandResultMessage;
+
 /**
  * Interface describing the component that remotely connects multiple CommandBus instances.
  *
@@ -79,6 +82,43 @@ <C, R> void send(@Nonnull Member destination, @Nonnull CommandMessage<C> command
                      @Nonnull CommandCallback<? super C, R> callback)
             throws Exception;
 
+    /**
+     * Sends the given batch of {@code commands} to the given {@code destination}. Connectors supporting batching should
+     * transfer the commands in a single transport frame, and notify the callback of each
+     * {@link BatchedCommand command} expecting a reply of its individual result.
+     * <p/>
+     * If this method throws an exception, the sender is guaranteed that the destination did not receive any of the
+     * commands. If the method returns normally, the actual implementation of the connector defines the delivery
+     * guarantees.
+     * <p/>
+     * The default implementation {@link #send(Member, CommandMessage, CommandCallback) sends} each command
+     * individually. As some commands may have been sent when another fails, this implementation never throws. Instead,
+     * a failure to send a command is reported to its callback.
+     *
+     * @param destination The member of the network to send the commands to
+     * @param commands    The commands to send to the (remote) member, in order
+     * @throws Exception when an error occurs before or during the sending of the batch, in which case none of the
+     *                   commands has been received by the destination
+     */
+    @SuppressWarnings("unchecked")
+    default void sendBatch(@Nonnull Member destination, @Nonnull List<BatchedCommand> commands) throws Exception {
+        for (BatchedCommand batched : commands) {
+            CommandMessage<Object> command = (CommandMessage<Object>) batched.command();
+            Optional<CommandCallback<Object, Object>> callback = batched.callback();
+            try {
+                if (callback.isPresent()) {
+                    send(destination, command, callback.get());
+                } else {
+                    send(destination, command);
+                }
+            } catch (Exception e) {
+                callback.ifPresent(c -> c.onResult(command, asCommandResultMessage(new CommandDispatchException(
+                        "An error occurred while trying to send a batched command: " + e.getMessage(), e
+                ))));
+            }
+        }
+    }
+
     /**
      * Subscribes a command message handler for commands with given {@code commandName}.
      *
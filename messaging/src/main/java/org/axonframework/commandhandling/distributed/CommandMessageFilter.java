@@ -44,6 +44,17 @@ public interface CommandMessageFilter extends Serializable {
      */
     boolean matches(@Nonnull CommandMessage<?> commandMessage);
 
+    /**
+     * Indicates whether the outcome of {@link #matches(CommandMessage)} depends on nothing but the
+     * {@link CommandMessage#getCommandName() command name}. If so, components may cache the outcome per command name
+     * instead of evaluating this filter for each command. Defaults to {@code false}.
+     *
+     * @return {@code true} if this filter only inspects the command name, otherwise {@code false}
+     */
+    default boolean dependsOnCommandNameOnly() {
+        return false;
+    }
+
     /**
      * Returns a filter that matches when both this instance and the given {@code other} match.
      *
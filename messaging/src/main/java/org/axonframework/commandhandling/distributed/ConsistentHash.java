@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2010-2018. Axon Framework
+ * Copyright (c) 2010-2024. Axon Framework
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,10 +18,17 @@
 
 import org.axonframework.commandhandling.CommandMessage;
 import org.axonframework.common.Assert;
+import org.axonframework.common.AxonConfigurationException;
 import org.axonframework.common.digest.Digester;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.function.Function;
+import java.util.function.ToLongFunction;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -32,14 +39,28 @@
  * <p>
  * A ConsistentHash is used to route commands targeting the same aggregate to the same member. In that case the
  * aggregate identifier is the routing key.
+ * <p>
+ * The ring is computed once per membership change, as a sorted array of 64-bit positions. Routing a command takes a
+ * binary search on that array. When the {@link CommandMessageFilter filters} of all members only
+ * {@link CommandMessageFilter#dependsOnCommandNameOnly() depend on the command name}, the members eligible for a command
+ * name are cached in a bitmap, so that filters are not evaluated for each command.
  */
 public class ConsistentHash {
 
-    private final SortedMap<String, ConsistentHashMember> hashToMember;
+    private static final ThreadLocal<MessageDigest> MD5 = ThreadLocal.withInitial(ConsistentHash::newMD5Digest);
+
     private final int modCount;
     private final Function<String, String> hashFunction;
+    private final ToLongFunction<String> positionFunction;
     private final Map<String, ConsistentHashMember> members;
 
+    private final ConsistentHashMember[] distinctMembers;
+    private final Optional<Member>[] memberOptionals;
+    private final long[] ring;
+    private final int[] ringMembers;
+    private final boolean commandNameBasedFilters;
+    private final ConcurrentMap<String, long[]> eligibleMembersByCommandName = new ConcurrentHashMap<>();
+
     /**
      * Returns the hash of the given {@code routingKey}. By default this creates a MD5 hash with hex encoding.
      *
@@ -50,6 +71,71 @@ protected static String hash(String routingKey) {
         return Digester.md5Hex(routingKey);
     }
 
+    /**
+     * Returns the position of the given {@code routingKey} on the ring, based on the first 64 bits of its MD5 hash.
+     * Positions are compared as unsigned values, which orders them identically to the hex encoded hashes returned by
+     * {@link #hash(String)}.
+     *
+     * @param routingKey the routing key to calculate the position for
+     * @return the position of the routing key on the ring
+     */
+    protected static long md5Position(String routingKey) {
+        byte[] digest = MD5.get().digest(routingKey.getBytes(StandardCharsets.UTF_8));
+        long position = 0;
+        for (int i = 0; i < 8; i++) {
+            position = (position << 8) | (digest[i] & 0xFF);
+        }
+        return position;
+    }
+
+    /**
+     * Returns a position of the given {@code routingKey} on the ring using a non-cryptographic 64-bit hash (FNV-1a,
+     * followed by a bit mixing step). It is considerably cheaper to calculate than {@link #md5Position(String)}, and
+     * doesn't allocate any objects.
+     * <p>
+     * Note that all nodes in a cluster must use the same position function, or commands for the same routing key may
+     * be routed to different members.
+     *
+     * @param routingKey the routing key to calculate the position for
+     * @return the position of the routing key on the ring
+     */
+    public static long nonCryptographicPosition(String routingKey) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < routingKey.length(); i++) {
+            hash ^= routingKey.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    /**
+     * Initializes a new {@link ConsistentHash} using the given {@code positionFunction} to calculate the positions of
+     * routing keys and members on the ring. To register members use {@link #with(Member, int, CommandMessageFilter)}.
+     * <p>
+     * Use {@link #nonCryptographicPosition(String)} to avoid the cost of an MD5 hash for each routed command. All nodes
+     * in a cluster must use the same position function.
+     *
+     * @param positionFunction the function calculating a position on the ring for a routing key
+     * @return a new {@link ConsistentHash} without members
+     */
+    public static ConsistentHash usingPositionFunction(ToLongFunction<String> positionFunction) {
+        Assert.notNull(positionFunction, () -> "Position function may not be null");
+        return new ConsistentHash(Collections.emptyMap(), ConsistentHash::hash, positionFunction, 0);
+    }
+
+    private static MessageDigest newMD5Digest() {
+        try {
+            return MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            throw new AxonConfigurationException("This environment doesn't support the MD5 hashing algorithm", e);
+        }
+    }
+
     /**
      * Initializes a new {@link ConsistentHash}. To register members use {@link #with(Member, int, CommandMessageFilter)}.
      */
@@ -64,19 +150,54 @@ public ConsistentHash() {
      * @param hashFunction The hash function to use to calculate each member's positions on the ring
      */
     public ConsistentHash(Function<String, String> hashFunction) {
-        hashToMember = Collections.emptySortedMap();
-        members = Collections.emptyMap();
-        modCount = 0;
-        this.hashFunction = hashFunction;
+        this(Collections.emptyMap(), hashFunction, ConsistentHash::md5Position, 0);
     }
 
+    @SuppressWarnings("unchecked")
     private ConsistentHash(Map<String, ConsistentHashMember> members,
-                           Function<String, String> hashFunction, int modCount) {
+                           Function<String, String> hashFunction,
+                           ToLongFunction<String> positionFunction,
+                           int modCount) {
         this.hashFunction = hashFunction;
+        this.positionFunction = positionFunction;
         this.modCount = modCount;
-        this.hashToMember = new TreeMap<>();
         this.members = members;
-        members.values().forEach(m -> m.hashes().forEach(h -> hashToMember.put(h, m)));
+
+        this.distinctMembers = members.values().toArray(new ConsistentHashMember[0]);
+        this.memberOptionals = new Optional[distinctMembers.length];
+        int ringSize = 0;
+        boolean nameBased = true;
+        for (int i = 0; i < distinctMembers.length; i++) {
+            memberOptionals[i] = Optional.of(distinctMembers[i]);
+            ringSize += Math.max(distinctMembers[i].segmentCount(), 0);
+            CommandMessageFilter filter = distinctMembers[i].getCommandFilter();
+            nameBased &= filter != null && filter.dependsOnCommandNameOnly();
+        }
+        this.commandNameBasedFilters = nameBased;
+
+        // positions are stored with their sign bit flipped, so that a signed sort yields the unsigned ordering
+        long[] entries = new long[ringSize];
+        int[] owners = new int[ringSize];
+        int entry = 0;
+        for (int i = 0; i < distinctMembers.length; i++) {
+            for (int segment = 0; segment < distinctMembers[i].segmentCount(); segment++) {
+                entries[entry] = positionFunction.applyAsLong(distinctMembers[i].name() + " #" + segment)
+                        ^ Long.MIN_VALUE;
+                owners[entry] = i;
+                entry++;
+            }
+        }
+        Integer[] order = new Integer[ringSize];
+        for (int i = 0; i < ringSize; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingLong((Integer i) -> entries[i]));
+        this.ring = new long[ringSize];
+        this.ringMembers = new int[ringSize];
+        for (int i = 0; i < ringSize; i++) {
+            ring[i] = entries[order[i]];
+            ringMembers[i] = owners[order[i]];
+        }
     }
 
     /**
@@ -88,11 +209,11 @@ private ConsistentHash(Map<String, ConsistentHashMember> members,
      * @return A collection containing each of the nodes, in the order they would be considered
      */
     public Collection<ConsistentHashMember> getEligibleMembers(String routingKey) {
-        String hash = hash(routingKey);
-        Collection<ConsistentHashMember> tail = hashToMember.tailMap(hash).values();
-        Collection<ConsistentHashMember> head = hashToMember.headMap(hash).values();
-        LinkedHashSet<ConsistentHashMember> combined = new LinkedHashSet<>(tail);
-        combined.addAll(head);
+        LinkedHashSet<ConsistentHashMember> combined = new LinkedHashSet<>();
+        int start = startIndex(routingKey);
+        for (int i = 0; i < ring.length && combined.size() < distinctMembers.length; i++) {
+            combined.add(distinctMembers[ringMembers[(start + i) % ring.length]]);
+        }
         return combined;
     }
 
@@ -105,20 +226,60 @@ public Collection<ConsistentHashMember> getEligibleMembers(String routingKey) {
      * @return the member that should handle the message or an empty Optional if no suitable member was found
      */
     public Optional<Member> getMember(String routingKey, CommandMessage<?> commandMessage) {
-        String hash = hash(routingKey);
-        Optional<Member> foundMember = findSuitableMember(commandMessage, hashToMember.tailMap(hash).values());
-        if (!foundMember.isPresent()) {
-            foundMember = findSuitableMember(commandMessage, hashToMember.headMap(hash).values());
+        if (ring.length == 0) {
+            return Optional.empty();
         }
-        return foundMember;
+        long[] eligible = commandNameBasedFilters ? eligibleMembers(commandMessage) : null;
+        int index = startIndex(routingKey);
+        for (int i = 0; i < ring.length; i++) {
+            int member = ringMembers[index];
+            boolean suitable = eligible != null
+                    ? (eligible[member >>> 6] & (1L << member)) != 0
+                    : distinctMembers[member].commandFilter.matches(commandMessage);
+            if (suitable) {
+                return memberOptionals[member];
+            }
+            if (++index == ring.length) {
+                index = 0;
+            }
+        }
+        return Optional.empty();
     }
 
-    private Optional<Member> findSuitableMember(CommandMessage<?> commandMessage,
-                                                Collection<ConsistentHashMember> members) {
-        return members.stream()
-                .filter(member -> member.commandFilter.matches(commandMessage))
-                .map(Member.class::cast)
-                .findAny();
+    /**
+     * Returns the index of the first ring position at or after the position of the given {@code routingKey}, wrapping
+     * around to the start of the ring.
+     */
+    private int startIndex(String routingKey) {
+        if (ring.length == 0) {
+            return 0;
+        }
+        long position = positionFunction.applyAsLong(routingKey) ^ Long.MIN_VALUE;
+        int low = 0;
+        int high = ring.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (ring[mid] < position) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low == ring.length ? 0 : low;
+    }
+
+    private long[] eligibleMembers(CommandMessage<?> commandMessage) {
+        long[] eligible = eligibleMembersByCommandName.get(commandMessage.getCommandName());
+        if (eligible == null) {
+            eligible = new long[(distinctMembers.length + 63) >>> 6];
+            for (int i = 0; i < distinctMembers.length; i++) {
+                if (distinctMembers[i].commandFilter.matches(commandMessage)) {
+                    eligible[i >>> 6] |= 1L << i;
+                }
+            }
+            eligibleMembersByCommandName.putIfAbsent(commandMessage.getCommandName(), eligible);
+        }
+        return eligible;
     }
 
     /**
@@ -153,7 +314,7 @@ public ConsistentHash with(Member member, int loadFactor, CommandMessageFilter c
         Map<String, ConsistentHashMember> newMembers = new TreeMap<>(members);
         newMembers.put(member.name(), newMember);
 
-        return new ConsistentHash(newMembers, hashFunction, modCount + 1);
+        return new ConsistentHash(newMembers, hashFunction, positionFunction, modCount + 1);
     }
 
     /**
@@ -170,7 +331,7 @@ public ConsistentHash without(Member member) {
 
         Map<String, ConsistentHashMember> newMembers = new TreeMap<>(members);
         newMembers.remove(member.name());
-        return new ConsistentHash(newMembers, hashFunction, modCount + 1);
+        return new ConsistentHash(newMembers, hashFunction, positionFunction, modCount + 1);
     }
 
     @Override
@@ -182,12 +343,12 @@ public boolean equals(Object o) {
             return false;
         }
         ConsistentHash that = (ConsistentHash) o;
-        return Objects.equals(hashToMember, that.hashToMember);
+        return Objects.equals(members, that.members);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(hashToMember);
+        return Objects.hash(members);
     }
 
     @Override
@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) 2010-2024. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.commandhandling.distributed;
+
+import org.axonframework.commandhandling.CommandBus;
+import org.axonframework.commandhandling.CommandCallback;
+import org.axonframework.commandhandling.CommandMessage;
+import org.axonframework.common.AxonConfigurationException;
+import org.axonframework.common.Registration;
+import org.axonframework.messaging.MessageHandler;
+import org.axonframework.messaging.MessageHandlerInterceptor;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nonnull;
+
+import static org.axonframework.common.BuilderUtils.assertNonNull;
+
+/**
+ * A {@link CommandBusConnector} connecting segments of a {@link DistributedCommandBus} within a single JVM. Each node
+ * is represented by a {@code LocalCommandBusConnector} handling commands on its own local {@link CommandBus}. Commands
+ * are delivered to the connector found as {@link Member#getConnectionEndpoint(Class) connection endpoint} of the
+ * destination, for example through a {@link SimpleMember} with the connector as its endpoint.
+ * <p>
+ * This connector is intended for tests and benchmarks. It keeps track of the number of transport frames and commands
+ * it received, so that the effect of {@link #sendBatch(Member, List) batching} can be observed.
+ *
+ * @author agent
+ * @since 4.11.0
+ */
+public class LocalCommandBusConnector implements CommandBusConnector {
+
+    private final CommandBus localSegment;
+    private final AtomicLong receivedFrames = new AtomicLong();
+    private final AtomicLong receivedCommands = new AtomicLong();
+
+    /**
+     * Instantiate a Builder to be able to create a {@link LocalCommandBusConnector}.
+     * <p>
+     * The local {@link CommandBus} is a <b>hard requirement</b> and as such should be provided.
+     *
+     * @return a Builder to be able to create a {@link LocalCommandBusConnector}
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Instantiate a {@link LocalCommandBusConnector} based on the fields contained in the {@link Builder}.
+     *
+     * @param builder the {@link Builder} used to instantiate a {@link LocalCommandBusConnector} instance
+     */
+    protected LocalCommandBusConnector(Builder builder) {
+        builder.validate();
+        this.localSegment = builder.localSegment;
+    }
+
+    @Override
+    public <C> void send(@Nonnull Member destination, @Nonnull CommandMessage<? extends C> command) {
+        LocalCommandBusConnector target = resolve(destination);
+        target.receivedFrames.incrementAndGet();
+        target.receive(command, null);
+    }
+
+    @Override
+    public <C, R> void send(@Nonnull Member destination,
+                            @Nonnull CommandMessage<C> command,
+                            @Nonnull CommandCallback<? super C, R> callback) {
+        LocalCommandBusConnector target = resolve(destination);
+        target.receivedFrames.incrementAndGet();
+        target.receive(command, callback);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The batch is delivered to the destination as a single frame.
+     */
+    @Override
+    public void sendBatch(@Nonnull Member destination, @Nonnull List<BatchedCommand> commands) {
+        LocalCommandBusConnector target = resolve(destination);
+        target.receivedFrames.incrementAndGet();
+        for (BatchedCommand batched : commands) {
+            target.receive(batched.command(), batched.callback().orElse(null));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void receive(CommandMessage<?> command, CommandCallback<?, ?> callback) {
+        receivedCommands.incrementAndGet();
+        if (callback == null) {
+            localSegment.dispatch(command);
+        } else {
+            localSegment.dispatch((CommandMessage<Object>) command, (CommandCallback<Object, Object>) callback);
+        }
+    }
+
+    private LocalCommandBusConnector resolve(Member destination) {
+        Optional<LocalCommandBusConnector> endpoint =
+                destination.getConnectionEndpoint(LocalCommandBusConnector.class);
+        if (endpoint.isPresent()) {
+            return endpoint.get();
+        }
+        if (destination.local()) {
+            return this;
+        }
+        throw new CommandBusConnectorCommunicationException(
+                "Member [" + destination.name() + "] does not provide a LocalCommandBusConnector endpoint"
+        );
+    }
+
+    /**
+     * Returns the number of transport frames received by this connector. A batch of commands counts as a single frame.
+     *
+     * @return the number of transport frames received by this connector
+     */
+    public long receivedFrames() {
+        return receivedFrames.get();
+    }
+
+    /**
+     * Returns the number of commands received by this connector.
+     *
+     * @return the number of commands received by this connector
+     */
+    public long receivedCommands() {
+        return receivedCommands.get();
+    }
+
+    @Override
+    public Registration subscribe(@Nonnull String commandName,
+                                  @Nonnull MessageHandler<? super CommandMessage<?>> handler) {
+        return localSegment.subscribe(commandName, handler);
+    }
+
+    @Override
+    public Optional<CommandBus> localSegment() {
+        return Optional.of(localSegment);
+    }
+
+    @Override
+    public Registration registerHandlerInterceptor(
+            @Nonnull MessageHandlerInterceptor<? super CommandMessage<?>> handlerInterceptor
+    ) {
+        return localSegment.registerHandlerInterceptor(handlerInterceptor);
+    }
+
+    /**
+     * Builder class to instantiate a {@link LocalCommandBusConnector}.
+     * <p>
+     * The local {@link CommandBus} is a <b>hard requirement</b> and as such should be provided.
+     */
+    public static class Builder {
+
+        private CommandBus localSegment;
+
+        /**
+         * Sets the {@link CommandBus} on which commands received by this connector are handled.
+         *
+         * @param localSegment the {@link CommandBus} on which commands received by this connector are handled
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder localSegment(@Nonnull CommandBus localSegment) {
+            assertNonNull(localSegment, "The local CommandBus may not be null");
+            this.localSegment = localSegment;
+            return this;
+        }
+
+        /**
+         * Initializes a {@link LocalCommandBusConnector} as specified through this Builder.
+         *
+         * @return a {@link LocalCommandBusConnector} as specified through this Builder
+         */
+        public LocalCommandBusConnector build() {
+            return new LocalCommandBusConnector(this);
+        }
+
+        /**
+         * Validate whether the fields contained in this Builder are set accordingly.
+         *
+         * @throws AxonConfigurationException if one field is asserted to be incorrect according to the Builder's
+         *                                    specifications
+         */
+        protected void validate() {
+            assertNonNull(localSegment, "The local CommandBus is a hard requirement and should be provided");
+        }
+    }
+}
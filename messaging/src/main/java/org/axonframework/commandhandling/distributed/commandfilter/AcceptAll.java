@@ -39,6 +39,11 @@ public boolean matches(@Nonnull CommandMessage<?> message) {
         return true;
     }
 
+    @Override
+    public boolean dependsOnCommandNameOnly() {
+        return true;
+    }
+
     @Override
     public CommandMessageFilter and(@Nonnull CommandMessageFilter other) {
         return other;
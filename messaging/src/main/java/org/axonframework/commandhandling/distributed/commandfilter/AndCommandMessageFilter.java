@@ -55,6 +55,11 @@ public boolean matches(@Nonnull CommandMessage<?> commandMessage) {
         return first.matches(commandMessage) && second.matches(commandMessage);
     }
 
+    @Override
+    public boolean dependsOnCommandNameOnly() {
+        return first.dependsOnCommandNameOnly() && second.dependsOnCommandNameOnly();
+    }
+
     @JsonGetter
     private CommandMessageFilter getFirst() {
         return first;
@@ -66,6 +66,11 @@ public boolean matches(@Nonnull CommandMessage<?> commandMessage) {
         return commandNames.contains(commandMessage.getCommandName());
     }
 
+    @Override
+    public boolean dependsOnCommandNameOnly() {
+        return true;
+    }
+
     @Override
     public CommandMessageFilter negate() {
         return new DenyCommandNameFilter(commandNames);
@@ -69,6 +69,11 @@ public boolean matches(@Nonnull CommandMessage<?> commandMessage) {
         return !commandNames.contains(commandMessage.getCommandName());
     }
 
+    @Override
+    public boolean dependsOnCommandNameOnly() {
+        return true;
+    }
+
     @Override
     public CommandMessageFilter and(@Nonnull CommandMessageFilter other) {
         if (other instanceof DenyCommandNameFilter) {
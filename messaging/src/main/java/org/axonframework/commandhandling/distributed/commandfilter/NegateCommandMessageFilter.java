@@ -51,6 +51,11 @@ public boolean matches(@Nonnull CommandMessage<?> commandMessage) {
         return !filter.matches(commandMessage);
     }
 
+    @Override
+    public boolean dependsOnCommandNameOnly() {
+        return filter.dependsOnCommandNameOnly();
+    }
+
     @JsonGetter
     private CommandMessageFilter getFilter() {
         return filter;
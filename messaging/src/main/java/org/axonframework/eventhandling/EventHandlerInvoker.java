@@ -17,6 +17,7 @@
 package org.axonframework.eventhandling;
 
 import java.util.Objects;
+import java.util.OptionalInt;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
@@ -39,6 +40,22 @@ public interface EventHandlerInvoker {
      */
     boolean canHandle(@Nonnull EventMessage<?> eventMessage, @Nonnull Segment segment);
 
+    /**
+     * Returns the hash of the sequence identifier this invoker assigns to the given {@code eventMessage}, which is the
+     * value matched against a {@link Segment} by {@link #canHandle(EventMessage, Segment)}. Allows event processors to
+     * resolve the segment owning an event once, instead of evaluating every segment separately.
+     * <p>
+     * The default implementation returns an empty {@link OptionalInt}, indicating the segment can only be resolved
+     * through {@link #canHandle(EventMessage, Segment)}.
+     *
+     * @param eventMessage The message to resolve the sequence identifier hash for
+     * @return the hash of the sequence identifier of the given message, or an empty {@link OptionalInt} if it cannot be
+     * resolved up front
+     */
+    default OptionalInt sequenceIdentifierHash(@Nonnull EventMessage<?> eventMessage) {
+        return OptionalInt.empty();
+    }
+
     /**
      * Check whether or not this invoker has handlers that can handle the given {@code payloadType}.
      *
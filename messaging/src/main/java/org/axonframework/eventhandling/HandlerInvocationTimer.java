@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2010-2024. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.eventhandling;
+
+import org.axonframework.messaging.unitofwork.CurrentUnitOfWork;
+import org.axonframework.messaging.unitofwork.UnitOfWork;
+
+/**
+ * Reports the time spent in each event handler to a {@link StreamingProcessorInstrumentation}. A timer is attached to
+ * the {@link UnitOfWork} processing a batch of events, from which the {@link SimpleEventHandlerInvoker} picks it up
+ * when invoking its handlers.
+ *
+ * @author agent
+ * @since 4.11.0
+ */
+public class HandlerInvocationTimer {
+
+    private static final String RESOURCE_KEY = HandlerInvocationTimer.class.getName();
+
+    // set once any timer is attached, so invokers skip the unit of work lookup while no instrumentation is in use
+    private static volatile boolean attached;
+
+    private final StreamingProcessorInstrumentation instrumentation;
+    private final String processorName;
+    private final int segmentId;
+
+    private HandlerInvocationTimer(StreamingProcessorInstrumentation instrumentation,
+                                   String processorName,
+                                   int segmentId) {
+        this.instrumentation = instrumentation;
+        this.processorName = processorName;
+        this.segmentId = segmentId;
+    }
+
+    /**
+     * Attaches a timer reporting to the given {@code instrumentation} to the given {@code unitOfWork}. Nothing is
+     * attached if the {@code instrumentation} is the {@link NoOpStreamingProcessorInstrumentation}.
+     *
+     * @param unitOfWork      the unit of work processing the events of the segment
+     * @param instrumentation the instrumentation to report handler invocations to
+     * @param processorName   the name of the processor processing the events
+     * @param segmentId       the segment the events are processed for
+     */
+    public static void attach(UnitOfWork<?> unitOfWork,
+                              StreamingProcessorInstrumentation instrumentation,
+                              String processorName,
+                              int segmentId) {
+        if (instrumentation != NoOpStreamingProcessorInstrumentation.INSTANCE) {
+            attached = true;
+            unitOfWork.resources().put(RESOURCE_KEY,
+                                       new HandlerInvocationTimer(instrumentation, processorName, segmentId));
+        }
+    }
+
+    /**
+     * Returns the timer attached to the current {@link UnitOfWork}, if any. The current unit of work is not consulted
+     * as long as no timer has ever been attached.
+     *
+     * @return the timer attached to the current unit of work, or {@code null} if there is none
+     */
+    static HandlerInvocationTimer current() {
+        if (!attached || !CurrentUnitOfWork.isStarted()) {
+            return null;
+        }
+        return CurrentUnitOfWork.get().getResource(RESOURCE_KEY);
+    }
+
+    /**
+     * Reports that a handler of the given {@code handlerType} took given {@code durationNanos} to handle an event.
+     *
+     * @param handlerType   the type of the event handler
+     * @param durationNanos the time the handler took
+     */
+    void record(Class<?> handlerType, long durationNanos) {
+        instrumentation.handlerInvoked(processorName, segmentId, handlerType, durationNanos);
+    }
+}
@@ -20,6 +20,7 @@
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.OptionalInt;
 import javax.annotation.Nonnull;
 
 /**
@@ -79,6 +80,25 @@ private boolean canHandle(EventHandlerInvoker invoker, EventMessage<?> eventMess
                 && invoker.canHandle(eventMessage, segment);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * A hash is only returned when all delegates agree on it. When any of the delegates cannot resolve it, or the
+     * delegates use different sequencing, an empty {@link OptionalInt} is returned.
+     */
+    @Override
+    public OptionalInt sequenceIdentifierHash(@Nonnull EventMessage<?> eventMessage) {
+        OptionalInt result = OptionalInt.empty();
+        for (EventHandlerInvoker delegate : delegates) {
+            OptionalInt hash = delegate.sequenceIdentifierHash(eventMessage);
+            if (!hash.isPresent() || (result.isPresent() && result.getAsInt() != hash.getAsInt())) {
+                return OptionalInt.empty();
+            }
+            result = hash;
+        }
+        return result;
+    }
+
     @Override
     public boolean canHandleType(@Nonnull Class<?> payloadType) {
         return delegates.stream().anyMatch(i -> i.canHandleType(payloadType));
@@ -16,6 +16,7 @@
 
 package org.axonframework.eventhandling;
 
+import org.axonframework.common.AxonThreadFactory;
 import org.axonframework.common.stream.BlockingStream;
 import org.axonframework.messaging.StreamableMessageSource;
 import org.slf4j.Logger;
@@ -23,7 +24,9 @@
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.AbstractMap;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -31,9 +34,20 @@
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Stream;
 
+import static org.axonframework.common.BuilderUtils.assertNonNull;
+import static org.axonframework.common.BuilderUtils.assertPositive;
 import static org.axonframework.common.BuilderUtils.assertThat;
 
 /**
@@ -45,6 +59,11 @@
  * {@link Builder#longPollingSource(String)}. This stream long polls for a fraction of the specified duration before
  * looping through the sources again repeating until the duration has been met. This ensures the highest chance of a
  * consumable message being found.
+ * <p>
+ * Alternatively, a {@link Builder#prefetchBufferSize(int) prefetch buffer size} can be configured. Each opened stream
+ * then reads every source on a dedicated thread into a bounded buffer, and merges the buffered messages using a
+ * priority heap. A source whose buffer is full is not read from until the processor has consumed its messages, while
+ * the other sources continue to be read.
  *
  * @author Greg Woods
  * @since 4.2
@@ -52,9 +71,12 @@
 public class MultiStreamableMessageSource implements StreamableMessageSource<TrackedEventMessage<?>> {
 
     private static final Logger logger = LoggerFactory.getLogger(MultiStreamableMessageSource.class);
+    private static final int PREFETCH_POLL_INTERVAL_MILLIS = 1000;
 
     private final List<IdentifiedStreamableMessageSource> eventStreams;
     private final Comparator<Map.Entry<String, TrackedEventMessage<?>>> trackedEventComparator;
+    private final int prefetchBufferSize;
+    private final ThreadFactory prefetchThreadFactory;
 
     /**
      * Instantiate a Builder to be able to create an {@link MultiStreamableMessageSource}. The configurable field
@@ -75,6 +97,8 @@ public static Builder builder() {
     protected MultiStreamableMessageSource(Builder builder) {
         this.eventStreams = builder.messageSources();
         this.trackedEventComparator = builder.trackedEventComparator;
+        this.prefetchBufferSize = builder.prefetchBufferSize;
+        this.prefetchThreadFactory = builder.prefetchThreadFactory;
     }
 
     /**
@@ -82,12 +106,17 @@ protected MultiStreamableMessageSource(Builder builder) {
      *
      * @param trackingToken Object containing the position in the stream or {@code null} to open a stream containing all
      *                      messages.
-     * @return An instance of {@link MultiSourceBlockingStream} with open streams for each event source.
+     * @return A {@link BlockingStream} with open streams for each event source.
      */
     @Override
     public MultiSourceBlockingStream openStream(TrackingToken trackingToken) {
         if (trackingToken == null) {
             return openStream(createTailToken());
+        } else if (trackingToken instanceof MultiSourceTrackingToken && prefetchBufferSize > 0) {
+            return new PrefetchingMultiSourceBlockingStream(
+                    eventStreams, (MultiSourceTrackingToken) trackingToken, trackedEventComparator,
+                    prefetchBufferSize, prefetchThreadFactory
+            );
         } else if (trackingToken instanceof MultiSourceTrackingToken) {
             return new MultiSourceBlockingStream(
                     eventStreams, (MultiSourceTrackingToken) trackingToken, trackedEventComparator
@@ -141,6 +170,8 @@ public static class Builder {
                 Comparator.comparing((Map.Entry<String, TrackedEventMessage<?>> t) -> t.getValue().getTimestamp());
         private final Map<String, StreamableMessageSource<TrackedEventMessage<?>>> messageSourceMap = new LinkedHashMap<>();
         private String longPollingSource = "";
+        private int prefetchBufferSize = 0;
+        private ThreadFactory prefetchThreadFactory = new AxonThreadFactory("MultiStreamableMessageSource");
 
         /**
          * Adds a message source to the list of sources.
@@ -190,6 +221,37 @@ public Builder longPollingSource(String longPollingSource) {
             return this;
         }
 
+        /**
+         * Sets the number of messages to prefetch from each source. When set to a positive value, each opened stream
+         * reads every source on a dedicated thread into a buffer of this size, rather than polling the sources on the
+         * consuming thread. A source is not read from while its buffer is full, providing backpressure per source. The
+         * {@link #longPollingSource(String) long polling source} is not used when prefetching. Defaults to {@code 0},
+         * which disables prefetching.
+         *
+         * @param prefetchBufferSize The number of messages to buffer per source, or {@code 0} to disable prefetching.
+         * @return The current Builder instance, for fluent interfacing.
+         */
+        public Builder prefetchBufferSize(int prefetchBufferSize) {
+            assertPositive(prefetchBufferSize, "The prefetch buffer size should be a positive number");
+            this.prefetchBufferSize = prefetchBufferSize;
+            return this;
+        }
+
+        /**
+         * Sets the {@link ThreadFactory} used to create the threads prefetching messages from each source, when a
+         * {@link #prefetchBufferSize(int) prefetch buffer size} is configured. Every opened stream creates one thread
+         * per source. Defaults to an {@link AxonThreadFactory} using the group name
+         * {@code "MultiStreamableMessageSource"}.
+         *
+         * @param prefetchThreadFactory The {@link ThreadFactory} creating the prefetching threads.
+         * @return The current Builder instance, for fluent interfacing.
+         */
+        public Builder prefetchThreadFactory(ThreadFactory prefetchThreadFactory) {
+            assertNonNull(prefetchThreadFactory, "The prefetch ThreadFactory may not be null");
+            this.prefetchThreadFactory = prefetchThreadFactory;
+            return this;
+        }
+
         /**
          * Initializes a {@link MultiStreamableMessageSource} as specified through this Builder.
          *
@@ -357,6 +419,16 @@ public MultiSourceBlockingStream(Iterable<IdentifiedStreamableMessageSource> mes
             }
         }
 
+        /**
+         * Construct a {@link MultiSourceBlockingStream} without underlying streams, for subclasses that open and read
+         * the underlying streams themselves, overriding all operations of this stream.
+         */
+        MultiSourceBlockingStream() {
+            this.messageStreams = Collections.emptyList();
+            this.streamBySourceId = Collections.emptyMap();
+            this.trackedEventComparator = null;
+        }
+
         /**
          * Checks if a message is available to consume on any of the streams.
          *
@@ -549,4 +621,242 @@ public boolean setOnAvailableCallback(Runnable callback) {
                                  .orElse(false);
         }
     }
+
+    /**
+     * A {@link BlockingStream} implementation that reads each underlying stream on a dedicated thread into a bounded
+     * buffer, and merges the buffered messages using a priority heap ordered by the {@code trackedEventComparator}.
+     * <p>
+     * The heap contains at most one message per source: the oldest message that source has buffered. Consuming a
+     * message replaces it by the next buffered message of the same source, if any.
+     * <p>
+     * Extends the {@link MultiSourceBlockingStream} so both can be returned from
+     * {@link MultiStreamableMessageSource#openStream(TrackingToken)}, but overrides all of its operations.
+     */
+    private static class PrefetchingMultiSourceBlockingStream extends MultiSourceBlockingStream {
+
+        private final List<PrefetchingSource> sources;
+        private final Map<String, PrefetchingSource> sourceById;
+        private final PriorityQueue<Map.Entry<String, TrackedEventMessage<?>>> heads;
+        private final Lock lock = new ReentrantLock();
+        private final Condition messagesAvailable = lock.newCondition();
+        private volatile Runnable onAvailableCallback = () -> {
+        };
+        private MultiSourceTrackingToken trackingToken;
+        private TrackedEventMessage<?> peekedMessage;
+
+        /**
+         * Construct a new {@link PrefetchingMultiSourceBlockingStream} from the message sources provided using the
+         * {@link MultiSourceTrackingToken}, opening each underlying stream at its respective token position and
+         * starting a thread prefetching its messages.
+         *
+         * @param messageSources         The sources backing this stream.
+         * @param trackingToken          The {@link MultiSourceTrackingToken} containing the positions to open the
+         *                               stream.
+         * @param trackedEventComparator The comparator used to choose the message to read when multiple sources have
+         *                               messages available.
+         * @param bufferSize             The maximum number of messages to buffer per source.
+         * @param threadFactory          The {@link ThreadFactory} creating the prefetching threads.
+         */
+        public PrefetchingMultiSourceBlockingStream(
+                Iterable<IdentifiedStreamableMessageSource> messageSources,
+                MultiSourceTrackingToken trackingToken,
+                Comparator<? super Map.Entry<String, TrackedEventMessage<?>>> trackedEventComparator,
+                int bufferSize,
+                ThreadFactory threadFactory
+        ) {
+            this.trackingToken = trackingToken;
+            this.heads = new PriorityQueue<>(trackedEventComparator);
+            this.sources = new ArrayList<>();
+            this.sourceById = new HashMap<>();
+            try {
+                messageSources.forEach(src -> {
+                    PrefetchingSource source = new PrefetchingSource(
+                            src.sourceId(), src.openStream(trackingToken.getTokenForStream(src.sourceId())), bufferSize
+                    );
+                    sources.add(source);
+                    sourceById.put(src.sourceId(), source);
+                });
+            } catch (Exception e) {
+                sources.forEach(source -> source.stream.close());
+                throw e;
+            }
+            sources.forEach(source -> {
+                source.thread = threadFactory.newThread(source);
+                source.thread.start();
+            });
+        }
+
+        @Override
+        public boolean hasNextAvailable() {
+            return peekedMessage != null || !fillHeads().isEmpty();
+        }
+
+        @Override
+        public boolean hasNextAvailable(int timeout, TimeUnit unit) throws InterruptedException {
+            long deadline = System.nanoTime() + unit.toNanos(timeout);
+            while (!hasNextAvailable()) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                lock.lock();
+                try {
+                    // re-checked while holding the lock, so a signal sent after this check can't be missed
+                    if (sources.stream().allMatch(source -> source.buffer.isEmpty() && source.failure == null)) {
+                        messagesAvailable.awaitNanos(remaining);
+                    }
+                } finally {
+                    lock.unlock();
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public Optional<TrackedEventMessage<?>> peek() {
+            if (peekedMessage == null && hasNextAvailable()) {
+                peekedMessage = consumeHead();
+            }
+            return Optional.ofNullable(peekedMessage);
+        }
+
+        @Override
+        public TrackedEventMessage<?> nextAvailable() throws InterruptedException {
+            while (!hasNextAvailable(Integer.MAX_VALUE, TimeUnit.MILLISECONDS)) {
+                // keep waiting until any of the sources has a message available
+            }
+            TrackedEventMessage<?> next = peekedMessage != null ? peekedMessage : consumeHead();
+            peekedMessage = null;
+            trackingToken = (MultiSourceTrackingToken) next.trackingToken();
+            return next;
+        }
+
+        private TrackedEventMessage<?> consumeHead() {
+            Map.Entry<String, TrackedEventMessage<?>> head = heads.poll();
+            //noinspection ConstantConditions
+            String sourceId = head.getKey();
+            sourceById.get(sourceId).inHeap = false;
+            TrackedEventMessage<?> message = head.getValue();
+            MultiSourceTrackingToken advancedToken = trackingToken.advancedTo(sourceId, message.trackingToken());
+            return message.withTrackingToken(advancedToken);
+        }
+
+        private Queue<Map.Entry<String, TrackedEventMessage<?>>> fillHeads() {
+            for (PrefetchingSource source : sources) {
+                if (!source.inHeap) {
+                    TrackedEventMessage<?> message = source.buffer.poll();
+                    if (message != null) {
+                        heads.add(new AbstractMap.SimpleImmutableEntry<>(source.sourceId, message));
+                        source.inHeap = true;
+                    } else if (source.failure != null) {
+                        throw new IllegalStateException(
+                                "Failed to read messages from source [" + source.sourceId + "]", source.failure
+                        );
+                    }
+                }
+            }
+            return heads;
+        }
+
+        /**
+         * Stops the prefetching threads, which close their underlying stream.
+         */
+        @Override
+        public void close() {
+            sources.forEach(PrefetchingSource::stop);
+        }
+
+        /**
+         * Forwards the request to skip messages to each underlying stream. The request is handed to the prefetching
+         * threads, as the underlying streams are only accessed by these threads. Messages that have already been
+         * buffered are not affected.
+         *
+         * @param ignoredMessage The message whose payload type may be skipped.
+         */
+        @Override
+        public void skipMessagesWithPayloadTypeOf(TrackedEventMessage<?> ignoredMessage) {
+            sources.forEach(source -> source.skipRequests.add(ignoredMessage));
+        }
+
+        /**
+         * Set a {@code callback} to be invoked whenever a prefetching thread buffers a message. As the prefetching
+         * threads notify this stream directly, this functionality is always supported.
+         *
+         * @param callback a {@link Runnable}
+         * @return {@code true}
+         */
+        @Override
+        public boolean setOnAvailableCallback(Runnable callback) {
+            this.onAvailableCallback = callback;
+            return true;
+        }
+
+        private void signalMessageAvailable() {
+            lock.lock();
+            try {
+                messagesAvailable.signalAll();
+            } finally {
+                lock.unlock();
+            }
+            onAvailableCallback.run();
+        }
+
+        /**
+         * Task reading a single underlying stream into a bounded buffer. Blocks while the buffer is full.
+         */
+        private class PrefetchingSource implements Runnable {
+
+            private final String sourceId;
+            private final BlockingStream<TrackedEventMessage<?>> stream;
+            private final BlockingQueue<TrackedEventMessage<?>> buffer;
+            private final Queue<TrackedEventMessage<?>> skipRequests = new ConcurrentLinkedQueue<>();
+            private volatile boolean running = true;
+            private volatile Throwable failure;
+            private Thread thread;
+            // only accessed by the consuming thread
+            private boolean inHeap;
+
+            private PrefetchingSource(String sourceId, BlockingStream<TrackedEventMessage<?>> stream, int bufferSize) {
+                this.sourceId = sourceId;
+                this.stream = stream;
+                this.buffer = new ArrayBlockingQueue<>(bufferSize);
+            }
+
+            @Override
+            public void run() {
+                try {
+                    while (running) {
+                        TrackedEventMessage<?> ignoredMessage;
+                        while ((ignoredMessage = skipRequests.poll()) != null) {
+                            stream.skipMessagesWithPayloadTypeOf(ignoredMessage);
+                        }
+                        if (stream.hasNextAvailable(PREFETCH_POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS)) {
+                            buffer.put(stream.nextAvailable());
+                            signalMessageAvailable();
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    if (running) {
+                        logger.warn("Prefetching thread of source [{}] was interrupted", sourceId);
+                        failure = e;
+                        signalMessageAvailable();
+                    }
+                    Thread.currentThread().interrupt();
+                } catch (Throwable e) {
+                    logger.warn("Failed to prefetch messages from source [{}]", sourceId, e);
+                    failure = e;
+                    signalMessageAvailable();
+                } finally {
+                    stream.close();
+                }
+            }
+
+            private void stop() {
+                running = false;
+                if (thread != null) {
+                    thread.interrupt();
+                }
+            }
+        }
+    }
 }
@@ -0,0 +1,31 @@
+/*
+ * Copyright (c) 2010-2024. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.eventhandling;
+
+/**
+ * A {@link StreamingProcessorInstrumentation} that ignores all measurements.
+ *
+ * @author agent
+ * @since 4.11.0
+ */
+public enum NoOpStreamingProcessorInstrumentation implements StreamingProcessorInstrumentation {
+
+    /**
+     * Singleton instance of a {@link NoOpStreamingProcessorInstrumentation}.
+     */
+    INSTANCE
+}
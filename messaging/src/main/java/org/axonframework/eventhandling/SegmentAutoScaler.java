@@ -0,0 +1,519 @@
+/*
+ * Copyright (c) 2010-2024. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.axonframework.eventhandling;
+
+import org.axonframework.common.AxonConfigurationException;
+import org.axonframework.common.AxonThreadFactory;
+import org.axonframework.common.transaction.NoTransactionManager;
+import org.axonframework.common.transaction.TransactionManager;
+import org.axonframework.eventhandling.tokenstore.TokenStore;
+import org.axonframework.eventhandling.tokenstore.UnableToClaimTokenException;
+import org.axonframework.lifecycle.Lifecycle;
+import org.axonframework.lifecycle.Phase;
+import org.axonframework.messaging.StreamableMessageSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import javax.annotation.Nonnull;
+
+import static org.axonframework.common.BuilderUtils.assertNonNull;
+import static org.axonframework.common.BuilderUtils.assertPositive;
+import static org.axonframework.common.BuilderUtils.assertStrictPositive;
+import static org.axonframework.common.BuilderUtils.assertThat;
+
+/**
+ * Component that periodically evaluates the lag of the segments claimed by a {@link StreamingEventProcessor}, and
+ * {@link StreamingEventProcessor#splitSegment(int) splits} or {@link StreamingEventProcessor#mergeSegment(int) merges}
+ * segments accordingly.
+ * <p>
+ * The lag of a segment is the distance between the {@link StreamableMessageSource#createHeadToken() head} of the
+ * message source and the {@link EventTrackerStatus#getCurrentPosition() current position} of the segment. The segment
+ * with the highest lag is split once that lag exceeds the {@link Builder#splitLagThreshold(long) split threshold}. Two
+ * sibling segments are merged once both have stayed below the {@link Builder#mergeLagThreshold(long) merge threshold}
+ * for a number of {@link Builder#coldRounds(int) consecutive evaluations}. At most one action is taken per evaluation,
+ * and the total number of segments is kept between the configured {@link Builder#minSegments(int) minimum} and
+ * {@link Builder#maxSegments(int) maximum}.
+ * <p>
+ * Scaling decisions are coordinated through the {@link TokenStore}: an evaluation only acts while it holds the claim on
+ * a dedicated lock entry, named after the processor with the {@link #LOCK_PREFIX} prepended. As an instance only acts
+ * on segments claimed by its own processor, an auto scaler can be registered with every instance of the processor.
+ * <p>
+ * Auto scaling requires a {@link TokenStore} that {@link TokenStore#requiresExplicitSegmentInitialization() requires
+ * explicit segment initialization}, as processors cannot split or merge segments otherwise.
+ *
+ * @author agent
+ * @since 4.11.0
+ */
+public class SegmentAutoScaler implements Lifecycle {
+
+    /**
+     * The prefix prepended to the processor name to construct the name of the token entry used to coordinate scaling
+     * decisions between instances. Starts with the {@link TokenStore#RESERVED_PROCESSOR_NAME_PREFIX}, so the entry can
+     * be told apart from the entries of event processors.
+     */
+    public static final String LOCK_PREFIX = TokenStore.RESERVED_PROCESSOR_NAME_PREFIX + "autoscaler:";
+
+    private static final Logger logger = LoggerFactory.getLogger(SegmentAutoScaler.class);
+
+    private final StreamingEventProcessor processor;
+    private final StreamableMessageSource<? extends TrackedEventMessage<?>> messageSource;
+    private final TokenStore tokenStore;
+    private final TransactionManager transactionManager;
+    private final int minSegments;
+    private final int maxSegments;
+    private final long splitLagThreshold;
+    private final long mergeLagThreshold;
+    private final int coldRounds;
+    private final long evaluationIntervalMillis;
+    private final ScheduledExecutorService executorService;
+    private final boolean ownsExecutorService;
+    private final String lockName;
+
+    private final Map<Integer, Integer> coldCounters = new HashMap<>();
+    private ScheduledFuture<?> scheduledEvaluation;
+
+    /**
+     * Instantiate a {@link SegmentAutoScaler} based on the fields contained in the {@link Builder}.
+     * <p>
+     * Will assert that the {@link StreamingEventProcessor}, {@link StreamableMessageSource} and {@link TokenStore} are
+     * not {@code null}, and that the configured thresholds and segment bounds are consistent. An
+     * {@link AxonConfigurationException} is thrown otherwise.
+     *
+     * @param builder the {@link Builder} used to instantiate a {@link SegmentAutoScaler} instance
+     */
+    protected SegmentAutoScaler(Builder builder) {
+        builder.validate();
+        this.processor = builder.processor;
+        this.messageSource = builder.messageSource;
+        this.tokenStore = builder.tokenStore;
+        this.transactionManager = builder.transactionManager;
+        this.minSegments = builder.minSegments;
+        this.maxSegments = builder.maxSegments;
+        this.splitLagThreshold = builder.splitLagThreshold;
+        this.mergeLagThreshold = builder.mergeLagThreshold;
+        this.coldRounds = builder.coldRounds;
+        this.evaluationIntervalMillis = builder.evaluationIntervalMillis;
+        this.ownsExecutorService = builder.executorService == null;
+        this.executorService = ownsExecutorService
+                ? Executors.newSingleThreadScheduledExecutor(new AxonThreadFactory("SegmentAutoScaler["
+                                                                                           + processor.getName() + "]"))
+                : builder.executorService;
+        this.lockName = LOCK_PREFIX + processor.getName();
+    }
+
+    /**
+     * Instantiate a Builder to be able to create a {@link SegmentAutoScaler}.
+     * <p>
+     * The {@link TransactionManager} defaults to a {@link NoTransactionManager}, the minimum number of segments to
+     * {@code 1}, the maximum number of segments to {@code 64}, the split lag threshold to {@code 10000} events, the
+     * merge lag threshold to {@code 100} events, the number of cold rounds to {@code 12} and the evaluation interval to
+     * {@code 5} seconds. The {@link StreamingEventProcessor}, {@link StreamableMessageSource} and {@link TokenStore}
+     * are <b>hard requirements</b> and as such should be provided.
+     *
+     * @return a Builder to be able to create a {@link SegmentAutoScaler}
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public void registerLifecycleHandlers(@Nonnull LifecycleRegistry lifecycle) {
+        lifecycle.onStart(Phase.INSTRUCTION_COMPONENTS, this::start);
+        lifecycle.onShutdown(Phase.INSTRUCTION_COMPONENTS, this::shutdown);
+    }
+
+    /**
+     * Schedules periodic evaluation of the processor's segments. Has no effect if evaluations are already scheduled.
+     */
+    public synchronized void start() {
+        if (scheduledEvaluation == null) {
+            scheduledEvaluation = executorService.scheduleWithFixedDelay(this::evaluateSafely,
+                                                                         evaluationIntervalMillis,
+                                                                         evaluationIntervalMillis,
+                                                                         TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Stops periodic evaluation of the processor's segments. If the {@link ScheduledExecutorService} was created by
+     * this auto scaler, it is shut down as well.
+     */
+    public synchronized void shutdown() {
+        if (scheduledEvaluation != null) {
+            scheduledEvaluation.cancel(false);
+            scheduledEvaluation = null;
+        }
+        if (ownsExecutorService) {
+            executorService.shutdown();
+        }
+    }
+
+    private void evaluateSafely() {
+        try {
+            evaluate();
+        } catch (Exception e) {
+            logger.warn("Failed to evaluate segments of processor [{}] for auto scaling.", processor.getName(), e);
+        }
+    }
+
+    /**
+     * Evaluates the lag of the segments claimed by the processor, and splits or merges a segment when required. This
+     * method is invoked periodically once this auto scaler is {@link #start() started}, but may also be invoked
+     * directly.
+     *
+     * @return {@code true} if a segment was split or merged, {@code false} otherwise
+     */
+    public synchronized boolean evaluate() {
+        if (!processor.isRunning() || processor.isError()) {
+            return false;
+        }
+        Map<Integer, Long> lags = segmentLags();
+        if (lags.isEmpty()) {
+            coldCounters.clear();
+            return false;
+        }
+        coldCounters.keySet().retainAll(lags.keySet());
+        lags.forEach((segmentId, lag) -> coldCounters.put(
+                segmentId, lag <= mergeLagThreshold ? coldCounters.getOrDefault(segmentId, 0) + 1 : 0
+        ));
+
+        Optional<Integer> splitCandidate = splitCandidate(lags);
+        Optional<Integer> mergeCandidate = splitCandidate.isPresent() ? Optional.empty() : mergeCandidate();
+        if (!splitCandidate.isPresent() && !mergeCandidate.isPresent()) {
+            return false;
+        }
+        if (!acquireLock()) {
+            logger.debug("Skipping auto scaling of processor [{}], as another instance is scaling it.",
+                         processor.getName());
+            return false;
+        }
+        try {
+            int segmentCount = transactionManager.fetchInTransaction(
+                    () -> tokenStore.fetchSegments(processor.getName())
+            ).length;
+            if (splitCandidate.isPresent() && segmentCount < maxSegments) {
+                int segmentId = splitCandidate.get();
+                logger.info("Splitting segment [{}] of processor [{}], as its lag of {} events exceeds {}.",
+                            segmentId, processor.getName(), lags.get(segmentId), splitLagThreshold);
+                return actionCompleted(processor.splitSegment(segmentId));
+            } else if (mergeCandidate.isPresent() && segmentCount > minSegments) {
+                int segmentId = mergeCandidate.get();
+                logger.info("Merging segment [{}] of processor [{}], as it and its sibling have been idle for {} "
+                                    + "evaluations.", segmentId, processor.getName(), coldRounds);
+                return actionCompleted(processor.mergeSegment(segmentId));
+            }
+            return false;
+        } finally {
+            releaseLock();
+        }
+    }
+
+    private Map<Integer, Long> segmentLags() {
+        TrackingToken headToken = messageSource.createHeadToken();
+        OptionalLong head = headToken == null ? OptionalLong.empty() : headToken.position();
+        Map<Integer, Long> lags = new HashMap<>();
+        if (!head.isPresent()) {
+            return lags;
+        }
+        processor.processingStatus().forEach((segmentId, status) -> {
+            OptionalLong position = status.getCurrentPosition();
+            if (!status.isErrorState() && !status.isMerging() && position.isPresent()) {
+                lags.put(segmentId, Math.max(0, head.getAsLong() - position.getAsLong()));
+            }
+        });
+        return lags;
+    }
+
+    private Optional<Integer> splitCandidate(Map<Integer, Long> lags) {
+        return lags.entrySet()
+                   .stream()
+                   .filter(entry -> entry.getValue() > splitLagThreshold)
+                   .max(Map.Entry.comparingByValue())
+                   .map(Map.Entry::getKey);
+    }
+
+    private Optional<Integer> mergeCandidate() {
+        Map<Integer, EventTrackerStatus> status = processor.processingStatus();
+        return coldCounters.entrySet()
+                           .stream()
+                           .filter(entry -> entry.getValue() >= coldRounds)
+                           .map(Map.Entry::getKey)
+                           .filter(segmentId -> {
+                               EventTrackerStatus segmentStatus = status.get(segmentId);
+                               if (segmentStatus == null) {
+                                   return false;
+                               }
+                               Segment segment = segmentStatus.getSegment();
+                               int siblingId = segment.mergeableSegmentId();
+                               EventTrackerStatus siblingStatus = status.get(siblingId);
+                               return siblingId != segmentId
+                                       && siblingStatus != null
+                                       && siblingStatus.getSegment().getMask() == segment.getMask()
+                                       && coldCounters.getOrDefault(siblingId, 0) >= coldRounds;
+                           })
+                           .min(Comparator.naturalOrder());
+    }
+
+    private boolean actionCompleted(CompletableFuture<Boolean> action) {
+        // segment ownership changes after a split or merge, so idle rounds need to be counted anew
+        coldCounters.clear();
+        try {
+            return Boolean.TRUE.equals(action.get(evaluationIntervalMillis, TimeUnit.MILLISECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException | TimeoutException e) {
+            logger.warn("Auto scaling of processor [{}] did not complete successfully.", processor.getName(), e);
+            return false;
+        }
+    }
+
+    private boolean acquireLock() {
+        try {
+            transactionManager.executeInTransaction(() -> {
+                if (tokenStore.fetchSegments(lockName).length == 0) {
+                    try {
+                        tokenStore.initializeTokenSegments(lockName, 1);
+                    } catch (UnableToClaimTokenException e) {
+                        // another instance initialized the lock concurrently
+                    }
+                }
+                tokenStore.fetchToken(lockName, 0);
+            });
+            return true;
+        } catch (UnableToClaimTokenException e) {
+            return false;
+        }
+    }
+
+    private void releaseLock() {
+        try {
+            transactionManager.executeInTransaction(() -> tokenStore.releaseClaim(lockName, 0));
+        } catch (Exception e) {
+            logger.warn("Failed to release the auto scaling lock of processor [{}].", processor.getName(), e);
+        }
+    }
+
+    /**
+     * Builder class to instantiate a {@link SegmentAutoScaler}.
+     * <p>
+     * The {@link TransactionManager} defaults to a {@link NoTransactionManager}, the minimum number of segments to
+     * {@code 1}, the maximum number of segments to {@code 64}, the split lag threshold to {@code 10000} events, the
+     * merge lag threshold to {@code 100} events, the number of cold rounds to {@code 12} and the evaluation interval to
+     * {@code 5} seconds. The {@link StreamingEventProcessor}, {@link StreamableMessageSource} and {@link TokenStore}
+     * are <b>hard requirements</b> and as such should be provided.
+     */
+    public static class Builder {
+
+        private StreamingEventProcessor processor;
+        private StreamableMessageSource<? extends TrackedEventMessage<?>> messageSource;
+        private TokenStore tokenStore;
+        private TransactionManager transactionManager = NoTransactionManager.INSTANCE;
+        private int minSegments = 1;
+        private int maxSegments = 64;
+        private long splitLagThreshold = 10_000;
+        private long mergeLagThreshold = 100;
+        private int coldRounds = 12;
+        private long evaluationIntervalMillis = 5000;
+        private ScheduledExecutorService executorService;
+
+        /**
+         * Sets the {@link StreamingEventProcessor} whose segments should be scaled.
+         *
+         * @param processor the {@link StreamingEventProcessor} whose segments should be scaled
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder processor(@Nonnull StreamingEventProcessor processor) {
+            assertNonNull(processor, "StreamingEventProcessor may not be null");
+            this.processor = processor;
+            return this;
+        }
+
+        /**
+         * Sets the {@link StreamableMessageSource} the processor reads from. Its
+         * {@link StreamableMessageSource#createHeadToken() head token} is used to calculate the lag of each segment.
+         *
+         * @param messageSource the {@link StreamableMessageSource} the processor reads from
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder messageSource(
+                @Nonnull StreamableMessageSource<? extends TrackedEventMessage<?>> messageSource
+        ) {
+            assertNonNull(messageSource, "StreamableMessageSource may not be null");
+            this.messageSource = messageSource;
+            return this;
+        }
+
+        /**
+         * Sets the {@link TokenStore} used by the processor. It is used to determine the total number of segments, and
+         * to coordinate scaling decisions between instances.
+         *
+         * @param tokenStore the {@link TokenStore} used by the processor
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder tokenStore(@Nonnull TokenStore tokenStore) {
+            assertNonNull(tokenStore, "TokenStore may not be null");
+            this.tokenStore = tokenStore;
+            return this;
+        }
+
+        /**
+         * Sets the {@link TransactionManager} used when accessing the {@link TokenStore}. Defaults to a
+         * {@link NoTransactionManager}.
+         *
+         * @param transactionManager the {@link TransactionManager} used when accessing the {@link TokenStore}
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder transactionManager(@Nonnull TransactionManager transactionManager) {
+            assertNonNull(transactionManager, "TransactionManager may not be null");
+            this.transactionManager = transactionManager;
+            return this;
+        }
+
+        /**
+         * Sets the minimum number of segments. Segments are not merged when this would bring the total number of
+         * segments below this value. Defaults to {@code 1}.
+         *
+         * @param minSegments the minimum number of segments
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder minSegments(int minSegments) {
+            assertStrictPositive(minSegments, "The minimum number of segments should be a higher value than zero");
+            this.minSegments = minSegments;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of segments. Segments are not split when this would bring the total number of
+         * segments above this value. Defaults to {@code 64}.
+         *
+         * @param maxSegments the maximum number of segments
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder maxSegments(int maxSegments) {
+            assertStrictPositive(maxSegments, "The maximum number of segments should be a higher value than zero");
+            this.maxSegments = maxSegments;
+            return this;
+        }
+
+        /**
+         * Sets the number of events a segment needs to lag behind the head of the message source before it is split.
+         * Defaults to {@code 10000}.
+         *
+         * @param splitLagThreshold the lag, in events, above which a segment is split
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder splitLagThreshold(long splitLagThreshold) {
+            assertStrictPositive(splitLagThreshold, "The split lag threshold should be a higher value than zero");
+            this.splitLagThreshold = splitLagThreshold;
+            return this;
+        }
+
+        /**
+         * Sets the number of events a segment may lag behind the head of the message source to be considered idle.
+         * Two sibling segments that are both idle for {@link #coldRounds(int) a number of evaluations} are merged.
+         * Defaults to {@code 100}.
+         *
+         * @param mergeLagThreshold the lag, in events, at or below which a segment is considered idle
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder mergeLagThreshold(long mergeLagThreshold) {
+            assertPositive(mergeLagThreshold, "The merge lag threshold should be a positive value");
+            this.mergeLagThreshold = mergeLagThreshold;
+            return this;
+        }
+
+        /**
+         * Sets the number of consecutive evaluations two sibling segments need to be idle before they are merged.
+         * Defaults to {@code 12}.
+         *
+         * @param coldRounds the number of consecutive idle evaluations before merging
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder coldRounds(int coldRounds) {
+            assertStrictPositive(coldRounds, "The number of cold rounds should be a higher value than zero");
+            this.coldRounds = coldRounds;
+            return this;
+        }
+
+        /**
+         * Sets the interval between evaluations. This is also the maximum time an evaluation waits for a split or merge
+         * to complete. Defaults to {@code 5} seconds.
+         *
+         * @param interval the interval between evaluations
+         * @param unit     the unit of the given {@code interval}
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder evaluationInterval(long interval, @Nonnull TimeUnit unit) {
+            assertNonNull(unit, "TimeUnit may not be null");
+            assertStrictPositive(interval, "The evaluation interval should be a higher value than zero");
+            this.evaluationIntervalMillis = unit.toMillis(interval);
+            return this;
+        }
+
+        /**
+         * Sets the {@link ScheduledExecutorService} used to schedule evaluations. When not set, a single threaded
+         * executor is created, which is shut down together with the auto scaler.
+         *
+         * @param executorService the {@link ScheduledExecutorService} used to schedule evaluations
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder executorService(@Nonnull ScheduledExecutorService executorService) {
+            assertNonNull(executorService, "ScheduledExecutorService may not be null");
+            this.executorService = executorService;
+            return this;
+        }
+
+        /**
+         * Initializes a {@link SegmentAutoScaler} as specified through this Builder.
+         *
+         * @return a {@link SegmentAutoScaler} as specified through this Builder
+         */
+        public SegmentAutoScaler build() {
+            return new SegmentAutoScaler(this);
+        }
+
+        /**
+         * Validates whether the fields contained in this Builder are set accordingly.
+         *
+         * @throws AxonConfigurationException if one field is asserted to be incorrect according to the Builder's
+         *                                    specifications
+         */
+        protected void validate() throws AxonConfigurationException {
+            assertNonNull(processor, "The StreamingEventProcessor is a hard requirement and should be provided");
+            assertNonNull(messageSource, "The StreamableMessageSource is a hard requirement and should be provided");
+            assertNonNull(tokenStore, "The TokenStore is a hard requirement and should be provided");
+            assertThat(minSegments, min -> min <= maxSegments,
+                       "The minimum number of segments may not exceed the maximum number of segments");
+            assertThat(mergeLagThreshold, lag -> lag < splitLagThreshold,
+                       "The merge lag threshold should be lower than the split lag threshold");
+        }
+    }
+}
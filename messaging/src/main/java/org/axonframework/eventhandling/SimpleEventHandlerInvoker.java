@@ -26,6 +26,7 @@
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.OptionalInt;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -123,11 +124,17 @@ protected Object sequenceIdentifier(EventMessage<?> event) {
     }
 
     protected void invokeHandlers(EventMessage<?> message) throws Exception {
+        HandlerInvocationTimer timer = HandlerInvocationTimer.current();
         for (EventMessageHandler handler : eventHandlingComponents) {
+            long start = timer == null ? 0 : System.nanoTime();
             try {
                 handler.handle(message);
             } catch (Exception e) {
                 listenerInvocationErrorHandler.onError(e, message, handler);
+            } finally {
+                if (timer != null) {
+                    timer.record(handler.getTargetType(), System.nanoTime() - start);
+                }
             }
         }
     }
@@ -137,6 +144,11 @@ public boolean canHandle(@Nonnull EventMessage<?> eventMessage, @Nonnull Segment
         return hasHandler(eventMessage) && sequencingPolicyMatchesSegment(eventMessage, segment);
     }
 
+    @Override
+    public OptionalInt sequenceIdentifierHash(@Nonnull EventMessage<?> eventMessage) {
+        return OptionalInt.of(Objects.hashCode(sequenceIdentifier(eventMessage)));
+    }
+
     @Override
     public boolean canHandleType(@Nonnull Class<?> payloadType) {
         return eventHandlingComponents.stream().anyMatch(eh -> eh.canHandleType(payloadType));
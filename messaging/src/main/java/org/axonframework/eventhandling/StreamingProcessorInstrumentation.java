@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2010-2024. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.eventhandling;
+
+import java.time.Instant;
+
+/**
+ * Receives measurements from the hot path of a {@link StreamingEventProcessor}, allowing to determine whether a slow
+ * processor is bound by fetching events, by its event handlers or by the {@link
+ * org.axonframework.eventhandling.tokenstore.TokenStore}. In contrast to a {@link
+ * org.axonframework.monitoring.MessageMonitor}, measurements are reported per processor and segment instead of per
+ * message.
+ * <p>
+ * Implementations are invoked by the processing threads and should therefore be fast and non-blocking. All methods
+ * default to a no-op, so implementations only need to override the measurements they are interested in. Durations are
+ * reported in nanoseconds.
+ *
+ * @author agent
+ * @see NoOpStreamingProcessorInstrumentation
+ * @since 4.11.0
+ */
+public interface StreamingProcessorInstrumentation {
+
+    /**
+     * Invoked after the processor with given {@code processorName} read a number of events from its event stream.
+     * Time spent waiting for events to become available is not included in the {@code durationNanos}.
+     *
+     * @param processorName the name of the processor that read the events
+     * @param segmentId     the segment the events were read for, or {@code -1} if the events were read for all
+     *                      segments claimed by the processor
+     * @param count         the number of events read
+     * @param durationNanos the time it took to read the events
+     */
+    default void eventsFetched(String processorName, int segmentId, int count, long durationNanos) {
+    }
+
+    /**
+     * Invoked after a batch of events has been processed for a segment, including the commit of its unit of work.
+     *
+     * @param processorName the name of the processor that processed the batch
+     * @param segmentId     the segment the batch was processed for
+     * @param batchSize     the number of events in the batch
+     * @param durationNanos the time it took to process the batch
+     */
+    default void batchProcessed(String processorName, int segmentId, int batchSize, long durationNanos) {
+    }
+
+    /**
+     * Invoked after an event handler has been invoked for an event. Note that the time to deserialize the payload of
+     * the event is included in the {@code durationNanos} of the first handler accessing it.
+     *
+     * @param processorName the name of the processor that invoked the handler
+     * @param segmentId     the segment the event was handled for
+     * @param handlerType   the type of the event handler, as defined by
+     *                      {@link org.axonframework.messaging.MessageHandler#getTargetType()}
+     * @param durationNanos the time the handler took to handle the event
+     */
+    default void handlerInvoked(String processorName, int segmentId, Class<?> handlerType, long durationNanos) {
+    }
+
+    /**
+     * Invoked after the token of a segment has been stored in the token store.
+     *
+     * @param processorName the name of the processor that stored the token
+     * @param segmentId     the segment the token was stored for
+     * @param durationNanos the time it took to store the token
+     */
+    default void tokenStored(String processorName, int segmentId, long durationNanos) {
+    }
+
+    /**
+     * Invoked after the processor with given {@code processorName} claimed a segment.
+     *
+     * @param processorName the name of the processor that claimed the segment
+     * @param segmentId     the segment that was claimed
+     */
+    default void segmentClaimed(String processorName, int segmentId) {
+    }
+
+    /**
+     * Invoked after the processor with given {@code processorName} released its claim on a segment.
+     *
+     * @param processorName the name of the processor that released the segment
+     * @param segmentId     the segment that was released
+     */
+    default void segmentReleased(String processorName, int segmentId) {
+    }
+
+    /**
+     * Invoked after a segment has advanced to the given {@code token}, which is the position of an event published at
+     * the given {@code eventTimestamp}. Together with the position of the head of the stream, this allows to compute
+     * the lag of the segment in events and in time.
+     *
+     * @param processorName  the name of the processor the segment belongs to
+     * @param segmentId      the segment that advanced
+     * @param token          the token the segment advanced to
+     * @param eventTimestamp the timestamp of the last event processed by the segment
+     */
+    default void segmentAdvanced(String processorName,
+                                 int segmentId,
+                                 TrackingToken token,
+                                 Instant eventTimestamp) {
+    }
+}
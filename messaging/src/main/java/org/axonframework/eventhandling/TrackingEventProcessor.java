@@ -24,6 +24,7 @@
 import org.axonframework.common.stream.BlockingStream;
 import org.axonframework.common.transaction.NoTransactionManager;
 import org.axonframework.common.transaction.TransactionManager;
+import org.axonframework.eventhandling.pooled.MaxSegmentProvider;
 import org.axonframework.eventhandling.tokenstore.TokenStore;
 import org.axonframework.eventhandling.tokenstore.UnableToClaimTokenException;
 import org.axonframework.lifecycle.Lifecycle;
@@ -43,6 +44,7 @@
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -123,6 +125,8 @@ public class TrackingEventProcessor extends AbstractEventProcessor implements St
     private final boolean storeTokenBeforeProcessing;
     private final int eventAvailabilityTimeout;
     private final EventTrackerStatusChangeListener trackerStatusChangeListener;
+    private final StreamingProcessorInstrumentation instrumentation;
+    private final MaxSegmentProvider maxSegmentProvider;
 
     /**
      * Instantiate a {@link TrackingEventProcessor} based on the fields contained in the {@link Builder}.
@@ -156,23 +160,21 @@ protected TrackingEventProcessor(Builder builder) {
         this.lastTokenResourceKey = "Processor[" + builder.name + "]/Token";
         this.initialTrackingTokenBuilder = config.getInitialTrackingToken();
         this.trackerStatusChangeListener = config.getEventTrackerStatusChangeListener();
+        this.maxSegmentProvider = config.getMaxSegmentProvider();
+        this.instrumentation = builder.instrumentation;
 
         registerHandlerInterceptor((unitOfWork, interceptorChain) -> {
             if (!(unitOfWork instanceof BatchingUnitOfWork) || ((BatchingUnitOfWork<?>) unitOfWork).isFirstMessage()) {
                 Instant startTime = now();
                 TrackingToken lastToken = unitOfWork.getResource(lastTokenResourceKey);
                 if (storeTokenBeforeProcessing) {
-                    tokenStore.storeToken(lastToken,
-                                          builder.name,
-                                          unitOfWork.getResource(segmentIdResourceKey));
+                    storeToken(lastToken, unitOfWork.getResource(segmentIdResourceKey));
                 } else {
                     tokenStore.extendClaim(getName(), unitOfWork.getResource(segmentIdResourceKey));
                 }
                 unitOfWork.onPrepareCommit(uow -> {
                     if (!storeTokenBeforeProcessing) {
-                        tokenStore.storeToken(lastToken,
-                                              builder.name,
-                                              unitOfWork.getResource(segmentIdResourceKey));
+                        storeToken(lastToken, unitOfWork.getResource(segmentIdResourceKey));
                     } else if (now().isAfter(startTime.plusMillis(eventAvailabilityTimeout))) {
                         tokenStore.extendClaim(getName(), unitOfWork.getResource(segmentIdResourceKey));
                     }
@@ -182,6 +184,12 @@ protected TrackingEventProcessor(Builder builder) {
         });
     }
 
+    private void storeToken(TrackingToken token, int segmentId) {
+        long startTime = System.nanoTime();
+        tokenStore.storeToken(token, getName(), segmentId);
+        instrumentation.tokenStored(getName(), segmentId, System.nanoTime() - startTime);
+    }
+
     /**
      * Instantiate a Builder to be able to create a {@link TrackingEventProcessor}.
      * <p>
@@ -314,6 +322,7 @@ && canClaimSegment(segment.getSegmentId())) {
                 try {
                     eventStream = ensureEventStreamOpened(eventStream, segment);
                     processBatch(segment, eventStream);
+                    releaseIfAboveMaxSegments(segment.getSegmentId());
                     errorWaitTime = 1;
                     TrackerStatus trackerStatus = activeSegments.get(segment.getSegmentId());
                     if (trackerStatus.isErrorState()) {
@@ -371,6 +380,7 @@ private void releaseToken(Segment segment) {
                 tokenStore.releaseClaim(getName(), segment.getSegmentId());
                 eventHandlerInvoker().segmentReleased(segment);
             });
+            instrumentation.segmentReleased(getName(), segment.getSegmentId());
             logger.info("Released claim");
         } catch (Exception e) {
             // Ignore exception
@@ -419,6 +429,8 @@ private void processBatch(Segment segment, BlockingStream<TrackedEventMessage<?>
             while (batch.isEmpty() && processingTime > 0 && eventStream.hasNextAvailable((int) processingTime, MILLISECONDS)) {
                 processingTime = processingDeadline - now().toEpochMilli();
 
+                long fetchStart = System.nanoTime();
+                int fetched = 1;
                 final TrackedEventMessage<?> firstMessage = eventStream.nextAvailable();
                 lastToken = firstMessage.trackingToken();
                 processingSegments = processingSegments(lastToken, segment);
@@ -433,6 +445,7 @@ private void processBatch(Segment segment, BlockingStream<TrackedEventMessage<?>
                         && i < batchSize * 10 && batch.size() < batchSize
                         && eventStream.peek().map(m -> isRegularProcessing(segment, m)).orElse(false); i++) {
                     final TrackedEventMessage<?> trackedEventMessage = eventStream.nextAvailable();
+                    fetched++;
                     lastToken = trackedEventMessage.trackingToken();
                     if (canHandle(trackedEventMessage, processingSegments)) {
                         batch.add(trackedEventMessage);
@@ -440,6 +453,9 @@ private void processBatch(Segment segment, BlockingStream<TrackedEventMessage<?>
                         ignoreEvent(eventStream, trackedEventMessage);
                     }
                 }
+                instrumentation.eventsFetched(
+                        getName(), segment.getSegmentId(), fetched, System.nanoTime() - fetchStart
+                );
 
                 if (batch.isEmpty()) {
                     // The batch is empty because none of the events can be handled by this segment. Update the status.
@@ -467,7 +483,7 @@ private void processBatch(Segment segment, BlockingStream<TrackedEventMessage<?>
                 // The token is updated but didn't contain events for this segment. So, we update the token position.
                 TrackingToken finalLastToken = lastToken;
                 transactionManager.executeInTransaction(
-                        () -> tokenStore.storeToken(finalLastToken, getName(), segment.getSegmentId())
+                        () -> storeToken(finalLastToken, segment.getSegmentId())
                 );
                 return;
             }
@@ -488,7 +504,18 @@ private void processBatch(Segment segment, BlockingStream<TrackedEventMessage<?>
             unitOfWork.attachTransaction(transactionManager);
             unitOfWork.resources().put(segmentIdResourceKey, segment.getSegmentId());
             unitOfWork.resources().put(lastTokenResourceKey, finalLastToken);
-            processInUnitOfWork(batch, unitOfWork, processingSegments);
+            HandlerInvocationTimer.attach(unitOfWork, instrumentation, getName(), segment.getSegmentId());
+            long batchStart = System.nanoTime();
+            try {
+                processInUnitOfWork(batch, unitOfWork, processingSegments);
+            } finally {
+                instrumentation.batchProcessed(
+                        getName(), segment.getSegmentId(), batch.size(), System.nanoTime() - batchStart
+                );
+            }
+            instrumentation.segmentAdvanced(
+                    getName(), segment.getSegmentId(), finalLastToken, batch.get(batch.size() - 1).getTimestamp()
+            );
 
             TrackerStatus previousStatus = activeSegments.get(segment.getSegmentId());
             TrackerStatus updatedStatus =
@@ -645,6 +672,30 @@ public CompletableFuture<Boolean> claimSegment(int segmentId) {
         return result;
     }
 
+    /**
+     * Releases the segment with given {@code segmentId} if this processor holds more segments than the
+     * {@link MaxSegmentProvider} allows, and the segment is among the surplus. The segments with the highest
+     * identifiers are released first, so that all workers agree on which segments form the surplus.
+     *
+     * @param segmentId the identifier of the segment to release if it is part of the surplus
+     */
+    private void releaseIfAboveMaxSegments(int segmentId) {
+        int surplus = activeSegments.size() - maxSegmentProvider.getMaxSegments(getName());
+        if (surplus <= 0) {
+            return;
+        }
+        boolean isSurplus = activeSegments.keySet()
+                                          .stream()
+                                          .sorted(Comparator.reverseOrder())
+                                          .limit(surplus)
+                                          .anyMatch(id -> id == segmentId);
+        if (isSurplus) {
+            logger.info("Processor [{}] holds [{}] segments more than its maximum. Releasing segment [{}].",
+                        getName(), surplus, segmentId);
+            releaseSegment(segmentId);
+        }
+    }
+
     private boolean canClaimSegment(int segmentId) {
         return segmentReleaseDeadlines.getOrDefault(segmentId, Long.MIN_VALUE) < System.currentTimeMillis();
     }
@@ -944,6 +995,7 @@ public static class Builder extends AbstractEventProcessor.Builder {
         private TrackingEventProcessorConfiguration trackingEventProcessorConfiguration =
                 TrackingEventProcessorConfiguration.forSingleThreadedProcessing();
         private Boolean storeTokenBeforeProcessing;
+        private StreamingProcessorInstrumentation instrumentation = NoOpStreamingProcessorInstrumentation.INSTANCE;
 
         public Builder() {
             super.rollbackConfiguration(RollbackConfigurationType.ANY_THROWABLE);
@@ -1088,6 +1140,21 @@ public Builder storingTokensAfterProcessing() {
             return this;
         }
 
+        /**
+         * Sets the {@link StreamingProcessorInstrumentation} receiving measurements of fetching events, processing
+         * batches, invoking event handlers and storing tokens, per {@link Segment}. Defaults to a {@link
+         * NoOpStreamingProcessorInstrumentation}.
+         *
+         * @param instrumentation the {@link StreamingProcessorInstrumentation} receiving the measurements of this
+         *                        processor
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder instrumentation(@Nonnull StreamingProcessorInstrumentation instrumentation) {
+            assertNonNull(instrumentation, "StreamingProcessorInstrumentation may not be null");
+            this.instrumentation = instrumentation;
+            return this;
+        }
+
         /**
          * Initializes a {@link TrackingEventProcessor} as specified through this Builder.
          *
@@ -1301,7 +1368,11 @@ public void run() {
 
                     // Submit segmentation workers matching the size of our thread pool (-1 for the current dispatcher).
                     // Keep track of the last processed segments...
-                    for (int i = 0; i < segmentsToClaim.size() && availableThreads.get() > 0; i++) {
+                    int maxSegments = maxSegmentProvider.getMaxSegments(processorName);
+                    for (int i = 0;
+                         i < segmentsToClaim.size() && availableThreads.get() > 0
+                                 && activeSegments.size() < maxSegments;
+                         i++) {
                         Segment segment = segmentsToClaim.get(i);
                         int segmentId = segment.getSegmentId();
 
@@ -1317,6 +1388,7 @@ public void run() {
                                         trackerStatusChangeListener.onEventTrackerStatusChange(
                                                 singletonMap(segmentId, new AddedTrackerStatus(newStatus))
                                         );
+                                        instrumentation.segmentClaimed(processorName, segmentId);
                                     }
                                 });
                             } catch (UnableToClaimTokenException ucte) {
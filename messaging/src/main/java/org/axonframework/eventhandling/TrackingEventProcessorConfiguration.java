@@ -18,6 +18,7 @@
 
 import org.axonframework.common.Assert;
 import org.axonframework.common.AxonThreadFactory;
+import org.axonframework.eventhandling.pooled.MaxSegmentProvider;
 import org.axonframework.messaging.StreamableMessageSource;
 
 import java.util.concurrent.ThreadFactory;
@@ -55,6 +56,7 @@ public class TrackingEventProcessorConfiguration {
     private EventTrackerStatusChangeListener eventTrackerStatusChangeListener = EventTrackerStatusChangeListener.noOp();
     private boolean autoStart;
     private long workerTerminationTimeout;
+    private MaxSegmentProvider maxSegmentProvider = MaxSegmentProvider.maxShort();
 
     /**
      * Initialize a configuration with single threaded processing.
@@ -259,6 +261,24 @@ public TrackingEventProcessorConfiguration andWorkerTerminationTimeout(long work
         return this;
     }
 
+    /**
+     * Sets the {@link MaxSegmentProvider} defining the maximum number of segments the processor may claim. When the
+     * processor holds more segments than this maximum, it releases the surplus. Use a
+     * {@link org.axonframework.eventhandling.pooled.LoadBalancingMaxSegmentProvider} to distribute the segments evenly
+     * over all nodes running the processor. Note that the processor can never claim more segments than it has
+     * threads.
+     * <p>
+     * Defaults to {@link MaxSegmentProvider#maxShort()}.
+     *
+     * @param maxSegmentProvider The {@link MaxSegmentProvider} defining the maximum number of segments to claim.
+     * @return {@code this} for method chaining.
+     */
+    public TrackingEventProcessorConfiguration andMaxSegmentProvider(@Nonnull MaxSegmentProvider maxSegmentProvider) {
+        assertNonNull(maxSegmentProvider, "MaxSegmentProvider may not be null");
+        this.maxSegmentProvider = maxSegmentProvider;
+        return this;
+    }
+
     /**
      * Return the maximum number of events to process in a single batch.
      *
@@ -347,6 +367,15 @@ public EventTrackerStatusChangeListener getEventTrackerStatusChangeListener() {
         return eventTrackerStatusChangeListener;
     }
 
+    /**
+     * Returns the {@link MaxSegmentProvider} defining the maximum number of segments the processor may claim.
+     *
+     * @return The {@link MaxSegmentProvider} defining the maximum number of segments the processor may claim.
+     */
+    public MaxSegmentProvider getMaxSegmentProvider() {
+        return maxSegmentProvider;
+    }
+
     /**
      * Returns the timeout to terminate workers during a {@link TrackingEventProcessor#shutDown()}.
      *
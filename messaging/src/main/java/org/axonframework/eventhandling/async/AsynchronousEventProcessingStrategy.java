@@ -17,6 +17,7 @@
 package org.axonframework.eventhandling.async;
 
 import org.axonframework.eventhandling.EventMessage;
+import org.axonframework.eventhandling.EventProcessingException;
 import org.axonframework.eventhandling.EventProcessingStrategy;
 import org.axonframework.messaging.unitofwork.CurrentUnitOfWork;
 import org.axonframework.messaging.unitofwork.UnitOfWork;
@@ -28,16 +29,28 @@
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import javax.annotation.Nonnull;
 
 import static java.util.Objects.requireNonNull;
+import static org.axonframework.common.BuilderUtils.assertStrictPositive;
 
 /**
  * Implementation of a {@link EventProcessingStrategy} that creates event processing tasks for asynchronous execution.
  * Clients can decide if events may be processed in sequence or in parallel using a {@link SequencingPolicy}.
+ * <p>
+ * By default, a task is created for each sequence identifier with events waiting to be processed. For sequencing
+ * policies with a high number of distinct sequence identifiers, the strategy can be constructed in partitioned mode
+ * instead, using {@link #AsynchronousEventProcessingStrategy(Executor, SequencingPolicy, int, int)}. In that mode,
+ * events are assigned to a fixed number of lanes based on the hash of their sequence identifier. Each lane processes
+ * its events sequentially and holds a bounded number of pending tasks, blocking publishers when it is full.
  *
  * @author Rene de Waele
  */
@@ -48,6 +61,9 @@ public class AsynchronousEventProcessingStrategy implements EventProcessingStrat
     private final Executor executor;
     private final SequencingPolicy<? super EventMessage<?>> sequencingPolicy;
     private final ConcurrentMap<Object, EventProcessorTask> currentTasks = new ConcurrentHashMap<>();
+    private final Lane[] lanes;
+    private final AtomicInteger nextConcurrentLane = new AtomicInteger();
+    private final ThreadLocal<Lane> activeLane = new ThreadLocal<>();
 
     /**
      * Initializes a new {@link AsynchronousEventProcessingStrategy} that uses the given {@code executor} to execute
@@ -61,6 +77,38 @@ public AsynchronousEventProcessingStrategy(Executor executor,
                                                SequencingPolicy<? super EventMessage<?>> sequencingPolicy) {
         this.executor = requireNonNull(executor);
         this.sequencingPolicy = requireNonNull(sequencingPolicy);
+        this.lanes = null;
+    }
+
+    /**
+     * Initializes a new {@link AsynchronousEventProcessingStrategy} in partitioned mode. Events are assigned to one of
+     * {@code laneCount} lanes based on the hash of the sequence identifier given by the {@code sequencingPolicy}.
+     * Events without a sequence identifier are assigned to the lanes in a round-robin fashion. Each lane processes its
+     * events sequentially in tasks executed by the given {@code executor}, so at most {@code laneCount} threads of the
+     * {@code executor} are used at any time.
+     * <p>
+     * Each lane accepts up to {@code laneCapacity} scheduled batches of events before publishers block until the lane
+     * has caught up. Events published by a thread processing one of the lanes never block, to prevent lanes from
+     * waiting for each other. A lane processes at most {@code laneCapacity} batches before yielding its thread.
+     * Exceptions thrown while processing a batch are logged, after which the lane continues with the next batch.
+     *
+     * @param executor         the event processing job executor
+     * @param sequencingPolicy the policy that determines if an event may be processed in sequence or in parallel
+     * @param laneCount        the number of lanes to assign events to
+     * @param laneCapacity     the maximum number of batches of events waiting to be processed per lane
+     */
+    public AsynchronousEventProcessingStrategy(Executor executor,
+                                               SequencingPolicy<? super EventMessage<?>> sequencingPolicy,
+                                               int laneCount,
+                                               int laneCapacity) {
+        assertStrictPositive(laneCount, "The laneCount must be a positive number");
+        assertStrictPositive(laneCapacity, "The laneCapacity must be a positive number");
+        this.executor = requireNonNull(executor);
+        this.sequencingPolicy = requireNonNull(sequencingPolicy);
+        this.lanes = new Lane[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            lanes[i] = new Lane(laneCapacity);
+        }
     }
 
     @Override
@@ -86,6 +134,10 @@ public void handle(@Nonnull List<? extends EventMessage<?>> events,
      */
     protected void schedule(List<? extends EventMessage<?>> events,
                             Consumer<List<? extends EventMessage<?>>> processor) {
+        if (lanes != null) {
+            assignEventsToLanes(events, processor);
+            return;
+        }
         Map<Object, List<EventMessage<?>>> groupedEvents = new HashMap<>();
         for (EventMessage<?> event : events) {
             groupedEvents.computeIfAbsent(sequencingPolicy.getSequenceIdentifierFor(event), key -> new ArrayList<>())
@@ -108,6 +160,38 @@ protected void schedule(List<? extends EventMessage<?>> events,
         });
     }
 
+    private void assignEventsToLanes(List<? extends EventMessage<?>> events,
+                                     Consumer<List<? extends EventMessage<?>>> processor) {
+        List<EventMessage<?>>[] laneEvents = newLaneEventArray();
+        int concurrentLane = -1;
+        for (EventMessage<?> event : events) {
+            Object sequenceIdentifier = sequencingPolicy.getSequenceIdentifierFor(event);
+            int lane;
+            if (sequenceIdentifier != null) {
+                lane = (sequenceIdentifier.hashCode() & Integer.MAX_VALUE) % lanes.length;
+            } else {
+                if (concurrentLane < 0) {
+                    concurrentLane = (nextConcurrentLane.getAndIncrement() & Integer.MAX_VALUE) % lanes.length;
+                }
+                lane = concurrentLane;
+            }
+            if (laneEvents[lane] == null) {
+                laneEvents[lane] = new ArrayList<>();
+            }
+            laneEvents[lane].add(event);
+        }
+        for (int i = 0; i < lanes.length; i++) {
+            if (laneEvents[i] != null) {
+                lanes[i].schedule(laneEvents[i], processor);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<EventMessage<?>>[] newLaneEventArray() {
+        return new List[lanes.length];
+    }
+
     private void assignEventsToScheduler(List<? extends EventMessage<?>> events, Object sequenceIdentifier,
                                          Consumer<List<? extends EventMessage<?>>> processor) {
         boolean taskScheduled = false;
@@ -139,6 +223,100 @@ protected EventProcessorTask newProcessingScheduler(EventProcessorTask.ShutdownC
         return new EventProcessorTask(executor, shutDownCallback);
     }
 
+    /**
+     * A lane of the partitioned mode, processing the batches of events assigned to it one by one. The lane is
+     * scheduled on the executor whenever it has batches waiting and is not running already.
+     */
+    private final class Lane implements Runnable {
+
+        private final ConcurrentLinkedQueue<LaneTask> tasks = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final Semaphore capacity;
+        private final int maxTasksPerRun;
+
+        private Lane(int capacity) {
+            this.capacity = new Semaphore(capacity);
+            this.maxTasksPerRun = capacity;
+        }
+
+        private void schedule(List<? extends EventMessage<?>> events,
+                              Consumer<List<? extends EventMessage<?>>> processor) {
+            boolean bounded = activeLane.get() == null;
+            if (bounded) {
+                try {
+                    capacity.acquire();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new EventProcessingException("Interrupted while waiting for capacity to schedule events", e);
+                }
+            }
+            tasks.add(new LaneTask(events, processor, bounded));
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    executor.execute(this);
+                } catch (RuntimeException e) {
+                    scheduled.set(false);
+                    throw e;
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            do {
+                processTasks();
+                scheduled.set(false);
+            } while (!tasks.isEmpty() && scheduled.compareAndSet(false, true) && !reschedule());
+        }
+
+        private void processTasks() {
+            activeLane.set(this);
+            try {
+                LaneTask task;
+                int processed = 0;
+                while (processed < maxTasksPerRun && (task = tasks.poll()) != null) {
+                    processed++;
+                    try {
+                        task.processor.accept(task.events);
+                    } catch (RuntimeException e) {
+                        logger.warn("Processing of events in lane failed. Continuing with the next batch.", e);
+                    } finally {
+                        if (task.holdsCapacity) {
+                            capacity.release();
+                        }
+                    }
+                }
+            } finally {
+                activeLane.remove();
+            }
+        }
+
+        private boolean reschedule() {
+            try {
+                executor.execute(this);
+                return true;
+            } catch (RejectedExecutionException e) {
+                logger.info("Processing of lane could not yield. Executor refused the task.");
+                return false;
+            }
+        }
+    }
+
+    private static final class LaneTask {
+
+        private final List<? extends EventMessage<?>> events;
+        private final Consumer<List<? extends EventMessage<?>>> processor;
+        private final boolean holdsCapacity;
+
+        private LaneTask(List<? extends EventMessage<?>> events,
+                         Consumer<List<? extends EventMessage<?>>> processor,
+                         boolean holdsCapacity) {
+            this.events = events;
+            this.processor = processor;
+            this.holdsCapacity = holdsCapacity;
+        }
+    }
+
     private enum NoActionCallback implements EventProcessorTask.ShutdownCallback {
         INSTANCE;
 
@@ -42,15 +42,21 @@
 import org.slf4j.LoggerFactory;
 
 import java.lang.invoke.MethodHandles;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 import javax.annotation.Nonnull;
 
 import static org.axonframework.common.BuilderUtils.assertNonNull;
+import static org.axonframework.common.BuilderUtils.assertStrictPositive;
 import static org.axonframework.messaging.deadletter.ThrowableCause.truncated;
 
 /**
@@ -83,6 +89,13 @@
     private final boolean sequenceIdentifierCacheEnabled;
     private final int sequenceIdentifierCacheSize;
     private final Map<Segment, SequenceIdentifierCache> sequenceIdentifierCache;
+    private final boolean sequenceIdentifierFilterEnabled;
+    private final int sequenceIdentifierFilterSize;
+    private final AtomicReference<SequenceIdentifierFilter> sequenceIdentifierFilter = new AtomicReference<>();
+    private final Object filterLock = new Object();
+    private final Set<Segment> filteredSegments = ConcurrentHashMap.newKeySet();
+    private final Set<Object> enqueuedSequences = ConcurrentHashMap.newKeySet();
+    private final AtomicLong filterRebuilds = new AtomicLong();
     private final List<MessageHandlerInterceptor<? super EventMessage<?>>> interceptors = new CopyOnWriteArrayList<>();
 
     /**
@@ -104,6 +117,11 @@ protected DeadLetteringEventHandlerInvoker(Builder builder) {
         } else {
             sequenceIdentifierCache = null;
         }
+        this.sequenceIdentifierFilterEnabled = builder.sequenceIdentifierFilterEnabled;
+        this.sequenceIdentifierFilterSize = builder.sequenceIdentifierFilterSize;
+        if (sequenceIdentifierFilterEnabled) {
+            sequenceIdentifierFilter.set(new SequenceIdentifierFilter(sequenceIdentifierFilterSize));
+        }
     }
 
     /**
@@ -113,8 +131,9 @@ protected DeadLetteringEventHandlerInvoker(Builder builder) {
      * {@link Throwable#getMessage()} size to {@code 1024} characters when invoked for any dead letter, the
      * {@link ListenerInvocationErrorHandler} is defaulted to a {@link PropagatingErrorHandler}, the
      * {@link SequencingPolicy} to a {@link SequentialPerAggregatePolicy}, {@code allowReset} defaults to {@code false},
-     * {@code sequenceIdentifierCacheEnabled} defaults to {@code false} and  {@code sequenceIdentifierCacheSize}
-     * defaults to {@code 1024}. Providing at least one Event Handler, a {@link SequencedDeadLetterQueue}, and a
+     * {@code sequenceIdentifierCacheEnabled} defaults to {@code false},  {@code sequenceIdentifierCacheSize}
+     * defaults to {@code 1024}, {@code sequenceIdentifierFilterEnabled} defaults to {@code false} and
+     * {@code sequenceIdentifierFilterSize} defaults to {@code 65536}. Providing at least one Event Handler, a {@link SequencedDeadLetterQueue}, and a
      * {@link TransactionManager} are <b>hard requirements</b> and as such should be provided.
      *
      * @return A builder that can construct a {@link DeadLetteringEventHandlerInvoker}.
@@ -178,6 +197,12 @@ private void invokeHandlers(@Nonnull EventMessage<?> message, @Nonnull Segment s
             if (decision.shouldEnqueue()) {
                 Throwable cause = decision.enqueueCause().orElse(null);
                 markEnqueued(sequenceIdentifier, segment);
+                if (sequenceIdentifierFilterEnabled) {
+                    // registered before enqueueing, as a false positive is harmless, while a false negative is not.
+                    // Rebuilds retain it, as the enqueue may not have been committed when the queue is read.
+                    enqueuedSequences.add(sequenceIdentifier);
+                    sequenceIdentifierFilter.get().add(sequenceIdentifier);
+                }
                 queue.enqueue(sequenceIdentifier, decision.withDiagnostics(letter.withCause(cause)));
             } else if (logger.isInfoEnabled()) {
                 logger.info("The enqueue policy decided not to dead letter event [{}].", message.getIdentifier());
@@ -189,6 +214,9 @@ private boolean mightBePresent(
             @Nonnull Object sequenceIdentifier,
             @Nonnull Segment segment
     ) {
+        if (sequenceIdentifierFilterEnabled && !filterMightContain(sequenceIdentifier, segment)) {
+            return false;
+        }
         if (!sequenceIdentifierCacheEnabled) {
             return true;
         }
@@ -199,6 +227,56 @@ private boolean mightBePresent(
                                       .mightBePresent(sequenceIdentifier);
     }
 
+    private boolean filterMightContain(@Nonnull Object sequenceIdentifier, @Nonnull Segment segment) {
+        if (!filteredSegments.contains(segment)) {
+            rebuildSequenceIdentifierFilter(segment);
+        }
+        return sequenceIdentifierFilter.get().mightContain(sequenceIdentifier);
+    }
+
+    /**
+     * Rebuilds the {@link SequenceIdentifierFilter} from the sequences present in the queue. This is required whenever
+     * a segment is (re)claimed, as other instances may have dead-lettered sequences for it in the meantime. The queue
+     * is read once for all segments, so segments claimed while another rebuild was pending are covered by that rebuild
+     * rather than causing another scan of the queue. Sequences enqueued by this invoker are retained, as their enqueue
+     * may not have been committed yet.
+     * <p>
+     * The new filter is populated aside and published once complete, so that segments checking the filter while it is
+     * rebuilt keep using the previous filter instead of observing a partially populated one.
+     */
+    private void rebuildSequenceIdentifierFilter(Segment segment) {
+        long rebuildsBeforeClaim = filterRebuilds.get();
+        synchronized (filterLock) {
+            if (filteredSegments.contains(segment)) {
+                return;
+            }
+            if (filterRebuilds.get() != rebuildsBeforeClaim) {
+                // a rebuild started after this segment was claimed, and has read all its sequences
+                filteredSegments.add(segment);
+                return;
+            }
+            if (logger.isDebugEnabled()) {
+                logger.debug("Rebuilding the sequence identifier filter for claimed segment [{}].",
+                             segment.getSegmentId());
+            }
+            filterRebuilds.incrementAndGet();
+            SequenceIdentifierFilter rebuiltFilter = new SequenceIdentifierFilter(sequenceIdentifierFilterSize);
+            enqueuedSequences.forEach(rebuiltFilter::add);
+            transactionManager.executeInTransaction(() -> {
+                for (Iterable<DeadLetter<? extends EventMessage<?>>> sequence : queue.deadLetters()) {
+                    Iterator<DeadLetter<? extends EventMessage<?>>> letters = sequence.iterator();
+                    if (letters.hasNext()) {
+                        rebuiltFilter.add(super.sequenceIdentifier(letters.next().message()));
+                    }
+                }
+            });
+            sequenceIdentifierFilter.set(rebuiltFilter);
+            // sequences enqueued during the rebuild may only have been added to the previous filter
+            enqueuedSequences.forEach(rebuiltFilter::add);
+            filteredSegments.add(segment);
+        }
+    }
+
     private void markEnqueued(@Nonnull Object sequenceIdentifier, @Nonnull Segment segment) {
         if (sequenceIdentifierCacheEnabled) {
             sequenceIdentifierCache.computeIfPresent(segment, (k, v) -> v.markEnqueued(sequenceIdentifier));
@@ -215,6 +293,7 @@ private void markNotEnqueued(@Nonnull Object sequenceIdentifier, @Nonnull Segmen
     public void performReset() {
         if (allowReset) {
             transactionManager.executeInTransaction(queue::clear);
+            clearSequenceIdentifierFilter();
         }
         super.performReset(null);
     }
@@ -223,20 +302,94 @@ public void performReset() {
     public <R> void performReset(R resetContext) {
         if (allowReset) {
             transactionManager.executeInTransaction(queue::clear);
+            clearSequenceIdentifierFilter();
         }
         super.performReset(resetContext);
     }
 
+    private void clearSequenceIdentifierFilter() {
+        if (sequenceIdentifierFilterEnabled) {
+            synchronized (filterLock) {
+                filteredSegments.clear();
+                enqueuedSequences.clear();
+                sequenceIdentifierFilter.set(new SequenceIdentifierFilter(sequenceIdentifierFilterSize));
+            }
+        }
+    }
+
     @Override
     public boolean process(Predicate<DeadLetter<? extends EventMessage<?>>> sequenceFilter) {
-        DeadLetteredEventProcessingTask processingTask =
-                new DeadLetteredEventProcessingTask(super.eventHandlers(),
-                                                    interceptors,
-                                                    enqueuePolicy,
-                                                    transactionManager);
+        DeadLetteredEventProcessingTask processingTask = createProcessingTask();
+        UnitOfWork<?> uow = new DefaultUnitOfWork<>(null);
+        uow.attachTransaction(transactionManager);
+        return uow.executeWithResult(
+                () -> processSequence(uow, sequenceFilter, processingTask, new AtomicReference<>())
+        ).getPayload();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * All sequences are processed in a single {@link UnitOfWork} and transaction, avoiding the overhead of a
+     * transaction per sequence when many sequences need to be retried. Sequences that fail again are requeued, after
+     * which processing continues with the next matching sequence. Note that an exception thrown by the
+     * {@link SequencedDeadLetterQueue} rolls back the processing of all sequences in this batch.
+     */
+    @Override
+    public int process(Predicate<DeadLetter<? extends EventMessage<?>>> sequenceFilter, int maxSequences) {
+        assertStrictPositive(maxSequences, "The maximum number of sequences to process should be strictly positive");
+        DeadLetteredEventProcessingTask processingTask = createProcessingTask();
         UnitOfWork<?> uow = new DefaultUnitOfWork<>(null);
         uow.attachTransaction(transactionManager);
-        return uow.executeWithResult(() -> queue.process(sequenceFilter, processingTask::process)).getPayload();
+        return uow.executeWithResult(() -> {
+            Set<Object> attempted = new HashSet<>();
+            Predicate<DeadLetter<? extends EventMessage<?>>> notAttempted =
+                    letter -> !attempted.contains(super.sequenceIdentifier(letter.message()))
+                            && sequenceFilter.test(letter);
+            int processed = 0;
+            for (int i = 0; i < maxSequences; i++) {
+                AtomicReference<Object> current = new AtomicReference<>();
+                boolean success = processSequence(uow, notAttempted, processingTask, current);
+                if (current.get() == null) {
+                    // no (remaining) sequence matched the filter
+                    break;
+                }
+                attempted.add(current.get());
+                if (success) {
+                    processed++;
+                }
+            }
+            return processed;
+        }).getPayload();
+    }
+
+    private DeadLetteredEventProcessingTask createProcessingTask() {
+        return new DeadLetteredEventProcessingTask(super.eventHandlers(),
+                                                   interceptors,
+                                                   enqueuePolicy,
+                                                   transactionManager);
+    }
+
+    private boolean processSequence(UnitOfWork<?> uow,
+                                    Predicate<DeadLetter<? extends EventMessage<?>>> sequenceFilter,
+                                    DeadLetteredEventProcessingTask processingTask,
+                                    AtomicReference<Object> processedSequence) {
+        boolean result = queue.process(sequenceFilter, letter -> {
+            if (processedSequence.get() == null) {
+                processedSequence.set(super.sequenceIdentifier(letter.message()));
+            }
+            return processingTask.process(letter);
+        });
+        Object sequenceIdentifier = processedSequence.get();
+        if (result && sequenceIdentifierFilterEnabled && sequenceIdentifier != null) {
+            // the sequence is only gone once the eviction has been committed. Identifiers the filter never counted,
+            // such as sequences another instance enqueued after the last rebuild, are ignored by the filter
+            uow.afterCommit(u -> {
+                enqueuedSequences.remove(sequenceIdentifier);
+                sequenceIdentifierFilter.get().remove(sequenceIdentifier);
+            });
+        }
+        return result;
     }
 
     @Override
@@ -254,6 +407,7 @@ public void segmentReleased(Segment segment) {
             }
             sequenceIdentifierCache.remove(segment);
         }
+        filteredSegments.remove(segment);
         super.segmentReleased(segment);
     }
 
@@ -264,8 +418,9 @@ public void segmentReleased(Segment segment) {
      * {@link Throwable#getMessage()} size to {@code 1024} characters when invoked for any dead letter, the
      * {@link ListenerInvocationErrorHandler} is defaulted to a {@link PropagatingErrorHandler}, the
      * {@link SequencingPolicy} to a {@link SequentialPerAggregatePolicy}, {@code allowReset} defaults to {@code false},
-     * {@code sequenceIdentifierCacheEnabled} defaults to {@code false} and {@code sequenceIdentifierCacheSize} used
-     * defaults to 1024. Providing at least one Event Handler, a {@link SequencedDeadLetterQueue}, and a
+     * {@code sequenceIdentifierCacheEnabled} defaults to {@code false}, {@code sequenceIdentifierCacheSize} used
+     * defaults to 1024, {@code sequenceIdentifierFilterEnabled} defaults to {@code false} and
+     * {@code sequenceIdentifierFilterSize} defaults to 65536. Providing at least one Event Handler, a {@link SequencedDeadLetterQueue}, and a
      * {@link TransactionManager} are <b>hard requirements</b> and as such should be provided.
      */
     public static class Builder extends SimpleEventHandlerInvoker.Builder<Builder> {
@@ -276,6 +431,8 @@ public static class Builder extends SimpleEventHandlerInvoker.Builder<Builder> {
         private boolean allowReset = false;
         private boolean sequenceIdentifierCacheEnabled = false;
         private int sequenceIdentifierCacheSize = 1024;
+        private boolean sequenceIdentifierFilterEnabled = false;
+        private int sequenceIdentifierFilterSize = 65536;
 
         private Builder() {
             // The parent's error handler defaults to propagating the error.
@@ -382,6 +539,42 @@ public Builder sequenceIdentifierCacheSize(int sequenceIdentifierCacheSize) {
             return this;
         }
 
+        /**
+         * Enables a filter on the sequence identifiers present in the {@link SequencedDeadLetterQueue}, shared by all
+         * segments of this {@link DeadLetteringEventHandlerInvoker}. The filter knows for certain when a sequence
+         * identifier is <em>not</em> dead-lettered, in which case the
+         * {@link SequencedDeadLetterQueue#enqueueIfPresent(Object, Supplier)} call is skipped. This prevents a round trip
+         * to the queue for each event when the queue is not empty.
+         * <p>
+         * Whenever a segment is claimed, the filter is rebuilt by reading the sequences present in the queue once. The
+         * filter is updated whenever this invoker enqueues a new sequence, or successfully processes an entire sequence.
+         * Other components evicting dead letters from the queue only lead to false positives, which cause the queue to
+         * be consulted. The filter can be combined with the {@link #enableSequenceIdentifierCache() sequence identifier
+         * cache}, which is consulted for identifiers the filter reports as possibly present.
+         *
+         * @return The current Builder instance for fluent interfacing.
+         */
+        public Builder enableSequenceIdentifierFilter() {
+            this.sequenceIdentifierFilterEnabled = true;
+            return this;
+        }
+
+        /**
+         * Sets the number of counters used by the filter enabled through {@link #enableSequenceIdentifierFilter()}. The
+         * value is rounded up to the next power of two and defaults to {@code 65536}. Each counter takes four bytes of
+         * memory. The chance of a false positive increases as the number of dead-lettered sequences approaches the
+         * number of counters.
+         *
+         * @param sequenceIdentifierFilterSize The number of counters used by the sequence identifier filter.
+         * @return The current Builder instance for fluent interfacing.
+         */
+        public Builder sequenceIdentifierFilterSize(int sequenceIdentifierFilterSize) {
+            assertStrictPositive(sequenceIdentifierFilterSize,
+                                 "The sequence identifier filter size should be strictly positive");
+            this.sequenceIdentifierFilterSize = sequenceIdentifierFilterSize;
+            return this;
+        }
+
         /**
          * Initializes a {@link DeadLetteringEventHandlerInvoker} as specified through this Builder.
          *
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2010-2024. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.eventhandling.deadletter;
+
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * A counting bloom filter over the sequence identifiers contained in a
+ * {@link org.axonframework.messaging.deadletter.SequencedDeadLetterQueue}. A single instance is shared between all
+ * segments of a {@link DeadLetteringEventHandlerInvoker}, which replaces it with a newly populated instance when the
+ * filter is rebuilt.
+ * <p>
+ * When {@link #mightContain(Object)} returns {@code false}, the sequence identifier is definitely not dead-lettered,
+ * and the queue does not need to be consulted. A {@code true} result may be a false positive, in which case the queue
+ * needs to be checked. As counters are used instead of single bits, identifiers can be {@link #remove(Object) removed}
+ * once their sequence has been evicted entirely.
+ * <p>
+ * The identifiers counted by the filter are tracked as well, so that an identifier is counted at most once and only
+ * identifiers that were counted are ever uncounted. This keeps the counters accurate when the same sequence is
+ * registered more than once, or when a sequence is removed that was never added. Modifications are synchronized on the
+ * filter instance, while {@link #mightContain(Object)} does not block.
+ *
+ * @author agent
+ * @since 4.11.0
+ */
+class SequenceIdentifierFilter {
+
+    private static final int HASH_FUNCTIONS = 3;
+
+    private final AtomicIntegerArray counters;
+    private final int mask;
+    private final Set<Object> registered = new HashSet<>();
+
+    /**
+     * Initializes an empty filter with at least the given {@code size} counters. The size is rounded up to the next
+     * power of two.
+     *
+     * @param size the minimal number of counters to use
+     */
+    SequenceIdentifierFilter(int size) {
+        int capacity = Integer.highestOneBit(Math.max(size - 1, 1)) << 1;
+        this.counters = new AtomicIntegerArray(capacity);
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Indicates whether the given {@code sequenceIdentifier} might be contained in the queue.
+     *
+     * @param sequenceIdentifier the sequence identifier to check
+     * @return {@code false} if the identifier is definitely not contained, {@code true} if it might be
+     */
+    boolean mightContain(Object sequenceIdentifier) {
+        int hash = spread(Objects.hashCode(sequenceIdentifier));
+        int step = secondaryHash(hash);
+        for (int i = 0; i < HASH_FUNCTIONS; i++) {
+            if (counters.get((hash + i * step) & mask) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Registers the given {@code sequenceIdentifier} as contained in the queue. Adding an identifier that is already
+     * registered has no effect.
+     *
+     * @param sequenceIdentifier the sequence identifier to add
+     * @return {@code true} if the identifier was not registered yet, {@code false} otherwise
+     */
+    synchronized boolean add(Object sequenceIdentifier) {
+        if (!registered.add(sequenceIdentifier)) {
+            return false;
+        }
+        int hash = spread(Objects.hashCode(sequenceIdentifier));
+        int step = secondaryHash(hash);
+        for (int i = 0; i < HASH_FUNCTIONS; i++) {
+            counters.incrementAndGet((hash + i * step) & mask);
+        }
+        return true;
+    }
+
+    /**
+     * Unregisters the given {@code sequenceIdentifier}, after its sequence has been removed from the queue entirely.
+     * Removing an identifier that is not registered has no effect.
+     *
+     * @param sequenceIdentifier the sequence identifier to remove
+     * @return {@code true} if the identifier was registered, {@code false} otherwise
+     */
+    synchronized boolean remove(Object sequenceIdentifier) {
+        if (!registered.remove(sequenceIdentifier)) {
+            return false;
+        }
+        int hash = spread(Objects.hashCode(sequenceIdentifier));
+        int step = secondaryHash(hash);
+        for (int i = 0; i < HASH_FUNCTIONS; i++) {
+            counters.decrementAndGet((hash + i * step) & mask);
+        }
+        return true;
+    }
+
+    /**
+     * Removes all identifiers from this filter.
+     */
+    synchronized void clear() {
+        registered.clear();
+        for (int i = 0; i < counters.length(); i++) {
+            counters.set(i, 0);
+        }
+    }
+
+    private static int spread(int hash) {
+        int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static int secondaryHash(int hash) {
+        // an odd step guarantees distinct positions in a power-of-two sized table
+        return (Integer.rotateLeft(hash, 13) * 0x85EBCA6B) | 1;
+    }
+}
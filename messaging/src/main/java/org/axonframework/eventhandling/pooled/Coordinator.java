@@ -19,8 +19,10 @@
 import org.axonframework.common.stream.BlockingStream;
 import org.axonframework.common.transaction.TransactionManager;
 import org.axonframework.eventhandling.GenericEventMessage;
+import org.axonframework.eventhandling.NoOpStreamingProcessorInstrumentation;
 import org.axonframework.eventhandling.Segment;
 import org.axonframework.eventhandling.StreamingEventProcessor;
+import org.axonframework.eventhandling.StreamingProcessorInstrumentation;
 import org.axonframework.eventhandling.TrackedEventMessage;
 import org.axonframework.eventhandling.TrackerStatus;
 import org.axonframework.eventhandling.TrackingToken;
@@ -37,10 +39,13 @@
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.OptionalInt;
 import java.util.Queue;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
@@ -77,6 +82,11 @@
 class Coordinator {
 
     private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+    /**
+     * The largest number of entries the routing table of the coordination task may have. Processors with more segments
+     * than this resolve the owning segment of an event by matching the routing hash against every segment instead.
+     */
+    private static final int MAX_ROUTING_TABLE_SIZE = 1 << 16;
 
     private final String name;
     private final StreamableMessageSource<TrackedEventMessage<?>> messageSource;
@@ -85,6 +95,7 @@ class Coordinator {
     private final ScheduledExecutorService executorService;
     private final BiFunction<Segment, TrackingToken, WorkPackage> workPackageFactory;
     private final EventFilter eventFilter;
+    private final EventRouter eventRouter;
     private final Consumer<? super TrackedEventMessage<?>> ignoredMessageHandler;
     private final BiConsumer<Integer, UnaryOperator<TrackerStatus>> processingStatusUpdater;
     private final long tokenClaimInterval;
@@ -95,6 +106,7 @@ class Coordinator {
     private final Function<StreamableMessageSource<TrackedEventMessage<?>>, TrackingToken> initialToken;
     private final boolean coordinatorExtendsClaims;
     private final Consumer<Segment> segmentReleasedAction;
+    private final StreamingProcessorInstrumentation instrumentation;
 
     private final Map<Integer, WorkPackage> workPackages = new ConcurrentHashMap<>();
     private final AtomicReference<RunState> runState;
@@ -121,6 +133,7 @@ private Coordinator(Builder builder) {
         this.executorService = builder.executorService;
         this.workPackageFactory = builder.workPackageFactory;
         this.eventFilter = builder.eventFilter;
+        this.eventRouter = builder.eventRouter;
         this.ignoredMessageHandler = builder.ignoredMessageHandler;
         this.processingStatusUpdater = builder.processingStatusUpdater;
         this.tokenClaimInterval = builder.tokenClaimInterval;
@@ -132,6 +145,7 @@ private Coordinator(Builder builder) {
         this.runState = new AtomicReference<>(RunState.initial(builder.shutdownAction));
         this.coordinatorExtendsClaims = builder.coordinatorExtendsClaims;
         this.segmentReleasedAction = builder.segmentReleasedAction;
+        this.instrumentation = builder.instrumentation;
     }
 
     /**
@@ -381,6 +395,36 @@ interface EventFilter {
         boolean canHandleTypeOf(TrackedEventMessage<?> eventMessage);
     }
 
+    /**
+     * Interface allowing the {@link Coordinator} to resolve the {@link WorkPackage} owning a {@link TrackedEventMessage}
+     * once, instead of having every {@code WorkPackage} validate whether the event belongs to its {@link Segment}.
+     */
+    interface EventRouter {
+
+        /**
+         * Resolves the hash matched against a {@link Segment} to decide which segment the given {@code eventMessage}
+         * belongs to. An empty result indicates the owning segment cannot be resolved up front, in which case the event
+         * is offered to every {@link WorkPackage}.
+         *
+         * @param eventMessage the {@link TrackedEventMessage} to resolve the routing hash for
+         * @return the routing hash of the given {@code eventMessage}, or an empty {@link OptionalInt} if it cannot be
+         * resolved up front
+         * @throws Exception when resolving the routing hash fails
+         */
+        OptionalInt routingHash(TrackedEventMessage<?> eventMessage) throws Exception;
+
+        /**
+         * Checks whether any of the event handlers this processor coordinates can handle the given
+         * {@code eventMessage}, regardless of the {@link Segment} it belongs to.
+         *
+         * @param eventMessage the {@link TrackedEventMessage} to validate whether it can be handled
+         * @return {@code true} if any of the event handlers can handle the given {@code eventMessage}, {@code false}
+         * otherwise
+         * @throws Exception when validating of the given {@code eventMessage} fails
+         */
+        boolean canHandle(TrackedEventMessage<?> eventMessage) throws Exception;
+    }
+
     /**
      * Package private builder class to construct a {@link Coordinator}. Not used for validation of the fields as is the
      * case with most builders, but purely to clarify the construction of a {@code WorkPackage}.
@@ -394,6 +438,7 @@ static class Builder {
         private ScheduledExecutorService executorService;
         private BiFunction<Segment, TrackingToken, WorkPackage> workPackageFactory;
         private EventFilter eventFilter;
+        private EventRouter eventRouter;
         private Consumer<? super TrackedEventMessage<?>> ignoredMessageHandler = i -> {
         };
         private BiConsumer<Integer, UnaryOperator<TrackerStatus>> processingStatusUpdater;
@@ -408,6 +453,7 @@ static class Builder {
         private boolean coordinatorExtendsClaims = false;
         private Consumer<Segment> segmentReleasedAction = segment -> {
         };
+        private StreamingProcessorInstrumentation instrumentation = NoOpStreamingProcessorInstrumentation.INSTANCE;
 
         /**
          * The name of the processor this service coordinates for.
@@ -489,6 +535,20 @@ Builder eventFilter(EventFilter eventFilter) {
             return this;
         }
 
+        /**
+         * An {@link EventRouter} used to resolve the {@link WorkPackage} owning a {@link TrackedEventMessage} once per
+         * event. When not set, every event is offered to all {@code WorkPackages}, each validating whether the event
+         * belongs to its own segment.
+         *
+         * @param eventRouter an {@link EventRouter} used to resolve the {@link WorkPackage} owning a
+         *                    {@link TrackedEventMessage}
+         * @return the current Builder instance, for fluent interfacing
+         */
+        Builder eventRouter(EventRouter eventRouter) {
+            this.eventRouter = eventRouter;
+            return this;
+        }
+
 
         /**
          * A {@link Consumer} of {@link TrackedEventMessage} that is invoked when the event is ignored by all
@@ -635,6 +695,18 @@ Builder segmentReleasedAction(Consumer<Segment> segmentReleasedAction) {
             return this;
         }
 
+        /**
+         * Sets the {@link StreamingProcessorInstrumentation} to report fetch measurements and segment releases to.
+         * Defaults to the {@link NoOpStreamingProcessorInstrumentation}.
+         *
+         * @param instrumentation the {@link StreamingProcessorInstrumentation} to report measurements to
+         * @return the current Builder instance, for fluent interfacing
+         */
+        Builder instrumentation(StreamingProcessorInstrumentation instrumentation) {
+            this.instrumentation = instrumentation;
+            return this;
+        }
+
         /**
          * Initializes a {@link Coordinator} as specified through this Builder.
          *
@@ -691,6 +763,9 @@ private class CoordinationTask implements Runnable {
         private final AtomicBoolean processingGate = new AtomicBoolean();
         private final AtomicBoolean scheduledGate = new AtomicBoolean();
         private final AtomicBoolean interruptibleScheduledGate = new AtomicBoolean();
+        private final Set<WorkPackage> routedWorkPackages = new HashSet<>();
+        private WorkPackage[] routingTable;
+        private int routingMask;
         private BlockingStream<TrackedEventMessage<?>> eventStream;
         private TrackingToken lastScheduledToken = NoToken.INSTANCE;
         private boolean availabilityCallbackSupported;
@@ -960,7 +1035,10 @@ private boolean isDone() {
          */
         private void coordinateWorkPackages() throws InterruptedException {
             logger.debug("Processor [{}] is coordinating work to all its work packages.", name);
-            for (int fetched = 0;
+            updateRoutingTable();
+            long fetchStart = System.nanoTime();
+            int fetched = 0;
+            for (;
                  fetched < WorkPackage.BUFFER_SIZE && isSpaceAvailable() && eventStream.hasNextAvailable();
                  fetched++) {
                 TrackedEventMessage<?> event = eventStream.nextAvailable();
@@ -979,6 +1057,9 @@ private void coordinateWorkPackages() throws InterruptedException {
                     offerEventToWorkPackages(event);
                 }
             }
+            if (fetched > 0) {
+                instrumentation.eventsFetched(name, -1, fetched, System.nanoTime() - fetchStart);
+            }
 
             // If a work package has been aborted by something else than the Coordinator. We should abandon it.
             workPackages.values().stream()
@@ -996,11 +1077,74 @@ private boolean eventsEqualingLastScheduledToken() {
                               .isPresent();
         }
 
+        /**
+         * Rebuilds the table used to look up the {@link WorkPackage} owning a routing hash, if the set of work packages
+         * changed since it was last built. The table contains an entry for every value of the largest segment mask in
+         * use, each pointing to the work package whose segment matches that value. When segments overlap (for example
+         * halfway a merge), or the table would become too large, no table is used and every work package validates
+         * the routing hash against its own segment instead.
+         */
+        private void updateRoutingTable() {
+            if (eventRouter == null || (routedWorkPackages.size() == workPackages.size()
+                    && routedWorkPackages.containsAll(workPackages.values()))) {
+                return;
+            }
+            routedWorkPackages.clear();
+            routedWorkPackages.addAll(workPackages.values());
+            routingTable = null;
+
+            int tableMask = 0;
+            for (WorkPackage workPackage : routedWorkPackages) {
+                tableMask |= workPackage.segment().getMask();
+            }
+            if (tableMask >= MAX_ROUTING_TABLE_SIZE) {
+                return;
+            }
+            WorkPackage[] table = new WorkPackage[tableMask + 1];
+            for (WorkPackage workPackage : routedWorkPackages) {
+                Segment segment = workPackage.segment();
+                for (int i = segment.getSegmentId(); i <= tableMask; i += segment.getMask() + 1) {
+                    if (table[i] != null) {
+                        return;
+                    }
+                    table[i] = workPackage;
+                }
+            }
+            routingTable = table;
+            routingMask = tableMask;
+        }
+
         private void offerEventToWorkPackages(TrackedEventMessage<?> event) {
+            OptionalInt routingHash = OptionalInt.empty();
+            boolean canHandle = false;
+            if (eventRouter != null) {
+                try {
+                    routingHash = eventRouter.routingHash(event);
+                    canHandle = routingHash.isPresent() && eventRouter.canHandle(event);
+                } catch (Exception e) {
+                    logger.debug("Processor [{}] failed to resolve the routing hash of event [{}]. "
+                                         + "Offering it to all work packages.", name, event.getIdentifier(), e);
+                    routingHash = OptionalInt.empty();
+                }
+            }
+
             boolean anyScheduled = false;
-            for (WorkPackage workPackage : workPackages.values()) {
-                boolean scheduled = workPackage.scheduleEvent(event);
-                anyScheduled = anyScheduled || scheduled;
+            if (!routingHash.isPresent()) {
+                for (WorkPackage workPackage : workPackages.values()) {
+                    boolean scheduled = workPackage.scheduleEvent(event);
+                    anyScheduled = anyScheduled || scheduled;
+                }
+            } else {
+                // Every work package receives the event, for its token to advance, but only the owner handles it
+                int hash = routingHash.getAsInt();
+                WorkPackage owner = canHandle && routingTable != null ? routingTable[hash & routingMask] : null;
+                for (WorkPackage workPackage : workPackages.values()) {
+                    boolean handles = canHandle && (routingTable != null
+                            ? workPackage == owner
+                            : workPackage.segment().matches(hash));
+                    boolean scheduled = workPackage.scheduleRoutedEvent(event, handles);
+                    anyScheduled = anyScheduled || scheduled;
+                }
             }
             if (!anyScheduled) {
                 ignoredMessageHandler.accept(event);
@@ -1084,6 +1228,7 @@ private CompletableFuture<Void> abortWorkPackage(WorkPackage work, Exception cau
                                () -> {
                                    tokenStore.releaseClaim(name, work.segment().getSegmentId());
                                    segmentReleasedAction.accept(work.segment());
+                                   instrumentation.segmentReleased(name, work.segment().getSegmentId());
                                }
                        ))
                        .exceptionally(throwable -> {
@@ -0,0 +1,353 @@
+/*
+ * Copyright (c) 2010-2024. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.eventhandling.pooled;
+
+import org.axonframework.common.AxonConfigurationException;
+import org.axonframework.common.transaction.NoTransactionManager;
+import org.axonframework.common.transaction.TransactionManager;
+import org.axonframework.eventhandling.Segment;
+import org.axonframework.eventhandling.tokenstore.TokenStore;
+import org.axonframework.eventhandling.tokenstore.UnableToClaimTokenException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.invoke.MethodHandles;
+import java.time.Clock;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nonnull;
+
+import static org.axonframework.common.BuilderUtils.assertNonNull;
+import static org.axonframework.common.BuilderUtils.assertStrictPositive;
+
+/**
+ * A {@link MaxSegmentProvider} that distributes the segments of a processor evenly over all nodes running it. Each
+ * node returns its fair share of the segments, being the total number of segments divided by the number of active
+ * nodes, rounded up. Processors claiming more segments than this maximum release the surplus, which is then claimed by
+ * the nodes that are below their share.
+ * <p>
+ * Nodes discover each other through the {@link TokenStore}. For every processor, a registry of node slots is kept under
+ * the processor name prefixed with {@link #NODE_REGISTRY_PREFIX}. Each node claims one slot and extends that claim
+ * whenever the maximum is refreshed, so the number of slots claimed by other nodes is the number of active peers. Slots
+ * of nodes that stopped become claimable once their claim times out.
+ * <p>
+ * To avoid segments moving back and forth while nodes join and leave, a lower maximum is only applied once it has been
+ * observed for a number of consecutive {@link Builder#stabilizationRounds(int) stabilization rounds}. A higher maximum
+ * is applied immediately, as it only allows claiming segments no other node holds.
+ *
+ * @author agent
+ * @since 4.11.0
+ */
+public class LoadBalancingMaxSegmentProvider implements MaxSegmentProvider {
+
+    /**
+     * The prefix prepended to the processor name to construct the name under which node slots are registered in the
+     * {@link TokenStore}. Starts with the {@link TokenStore#RESERVED_PROCESSOR_NAME_PREFIX}, so the registry can be told
+     * apart from the entries of event processors.
+     */
+    public static final String NODE_REGISTRY_PREFIX = TokenStore.RESERVED_PROCESSOR_NAME_PREFIX + "nodes:";
+
+    private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+    private final TokenStore tokenStore;
+    private final TransactionManager transactionManager;
+    private final long refreshInterval;
+    private final int stabilizationRounds;
+    private final int maxNodes;
+    private final Clock clock;
+
+    private final Map<String, Balance> balances = new ConcurrentHashMap<>();
+
+    /**
+     * Instantiate a Builder to be able to create a {@link LoadBalancingMaxSegmentProvider}.
+     * <p>
+     * The {@link TransactionManager} defaults to a {@link NoTransactionManager}, the {@code refreshInterval} to 5000
+     * milliseconds, the {@code stabilizationRounds} to {@code 3}, the {@code maxNodes} to {@code 64} and the
+     * {@link Clock} to {@link Clock#systemUTC()}. The {@link TokenStore} is a <b>hard requirement</b> and as such should
+     * be provided.
+     *
+     * @return a Builder to be able to create a {@link LoadBalancingMaxSegmentProvider}
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Instantiate a {@link LoadBalancingMaxSegmentProvider} based on the fields contained in the {@link Builder}.
+     * <p>
+     * Will assert that the {@link TokenStore} is not {@code null} and will throw an {@link AxonConfigurationException}
+     * if it is.
+     *
+     * @param builder the {@link Builder} used to instantiate a {@link LoadBalancingMaxSegmentProvider} instance
+     */
+    protected LoadBalancingMaxSegmentProvider(Builder builder) {
+        builder.validate();
+        this.tokenStore = builder.tokenStore;
+        this.transactionManager = builder.transactionManager;
+        this.refreshInterval = builder.refreshInterval;
+        this.stabilizationRounds = builder.stabilizationRounds;
+        this.maxNodes = builder.maxNodes;
+        this.clock = builder.clock;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The maximum is refreshed at most once per refresh interval. Until the first refresh succeeds, or when the
+     * processor's segments have not been initialized yet, {@link Short#MAX_VALUE} is returned.
+     */
+    @Override
+    public int getMaxSegments(String processingGroup) {
+        Balance balance = balances.computeIfAbsent(processingGroup, Balance::new);
+        synchronized (balance) {
+            long now = clock.millis();
+            if (now >= balance.nextRefresh) {
+                try {
+                    int fairShare = transactionManager.fetchInTransaction(() -> fairShare(balance));
+                    balance.update(fairShare);
+                    balance.nextRefresh = now + refreshInterval;
+                } catch (Exception e) {
+                    logger.debug("Failed to determine the fair share of segments for processor [{}]. "
+                                         + "Keeping a maximum of [{}] segments.",
+                                 processingGroup, balance.maxSegments, e);
+                }
+            }
+            return balance.maxSegments;
+        }
+    }
+
+    /**
+     * Returns the number of nodes this provider observed as active for the given {@code processingGroup} during the
+     * last refresh, including this node. Returns {@code 0} if no refresh took place yet.
+     *
+     * @param processingGroup the name of the processor to return the number of active nodes for
+     * @return the number of active nodes observed during the last refresh
+     */
+    public int activeNodes(String processingGroup) {
+        Balance balance = balances.get(processingGroup);
+        return balance == null ? 0 : balance.activeNodes;
+    }
+
+    private int fairShare(Balance balance) {
+        int totalSegments = tokenStore.fetchSegments(balance.processorName).length;
+        String registry = NODE_REGISTRY_PREFIX + balance.processorName;
+        int slots = ensureRegistry(registry);
+        heartbeat(registry, balance);
+
+        List<Segment> claimableSlots = tokenStore.fetchAvailableSegments(registry);
+        // Claimable slots include the slot of this node, which is why this node is added separately
+        balance.activeNodes = Math.max(slots - claimableSlots.size(), 0) + 1;
+        if (totalSegments == 0) {
+            return Short.MAX_VALUE;
+        }
+        return (totalSegments + balance.activeNodes - 1) / balance.activeNodes;
+    }
+
+    private int ensureRegistry(String registry) {
+        int[] slots = tokenStore.fetchSegments(registry);
+        if (slots.length > 0) {
+            return slots.length;
+        }
+        try {
+            tokenStore.initializeTokenSegments(registry, maxNodes);
+        } catch (UnableToClaimTokenException e) {
+            logger.debug("Node registry [{}] was initialized concurrently.", registry);
+        }
+        return tokenStore.fetchSegments(registry).length;
+    }
+
+    private void heartbeat(String registry, Balance balance) {
+        if (balance.slot >= 0) {
+            try {
+                tokenStore.extendClaim(registry, balance.slot);
+                return;
+            } catch (UnableToClaimTokenException e) {
+                logger.info("Lost slot [{}] in node registry [{}]. Claiming a new slot.", balance.slot, registry);
+                balance.slot = -1;
+            }
+        }
+        for (Segment slot : tokenStore.fetchAvailableSegments(registry)) {
+            try {
+                tokenStore.fetchToken(registry, slot.getSegmentId());
+                balance.slot = slot.getSegmentId();
+                return;
+            } catch (UnableToClaimTokenException e) {
+                logger.debug("Slot [{}] in node registry [{}] was claimed concurrently.", slot.getSegmentId(), registry);
+            }
+        }
+        logger.warn("All [{}] slots in node registry [{}] are claimed. This node is not visible to its peers.",
+                    maxNodes, registry);
+    }
+
+    /**
+     * The balancing state of a single processor.
+     */
+    private class Balance {
+
+        private final String processorName;
+        private int slot = -1;
+        private int maxSegments = Short.MAX_VALUE;
+        private int activeNodes;
+        private boolean initialized;
+        private int lowerRounds;
+        private int lowerMaxSegments;
+        private long nextRefresh = Long.MIN_VALUE;
+
+        private Balance(String processorName) {
+            this.processorName = processorName;
+        }
+
+        private void update(int fairShare) {
+            if (!initialized || fairShare >= maxSegments) {
+                initialized = true;
+                maxSegments = fairShare;
+                lowerRounds = 0;
+                return;
+            }
+            // Use the highest share observed while lowering, as nodes may still be joining or leaving
+            lowerMaxSegments = lowerRounds == 0 ? fairShare : Math.max(lowerMaxSegments, fairShare);
+            lowerRounds++;
+            if (lowerRounds >= stabilizationRounds) {
+                logger.info("Lowering the maximum number of segments for processor [{}] from [{}] to [{}], "
+                                    + "as [{}] nodes are active.",
+                            processorName, maxSegments, lowerMaxSegments, activeNodes);
+                maxSegments = lowerMaxSegments;
+                lowerRounds = 0;
+            }
+        }
+    }
+
+    /**
+     * Builder class to instantiate a {@link LoadBalancingMaxSegmentProvider}.
+     * <p>
+     * The {@link TransactionManager} defaults to a {@link NoTransactionManager}, the {@code refreshInterval} to 5000
+     * milliseconds, the {@code stabilizationRounds} to {@code 3}, the {@code maxNodes} to {@code 64} and the
+     * {@link Clock} to {@link Clock#systemUTC()}. The {@link TokenStore} is a <b>hard requirement</b> and as such should
+     * be provided.
+     */
+    public static class Builder {
+
+        private TokenStore tokenStore;
+        private TransactionManager transactionManager = NoTransactionManager.INSTANCE;
+        private long refreshInterval = 5000;
+        private int stabilizationRounds = 3;
+        private int maxNodes = 64;
+        private Clock clock = Clock.systemUTC();
+
+        /**
+         * Sets the {@link TokenStore} holding the segments of the balanced processors, and in which the node registries
+         * are kept.
+         *
+         * @param tokenStore the {@link TokenStore} holding the segments of the balanced processors
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder tokenStore(@Nonnull TokenStore tokenStore) {
+            assertNonNull(tokenStore, "TokenStore may not be null");
+            this.tokenStore = tokenStore;
+            return this;
+        }
+
+        /**
+         * Sets the {@link TransactionManager} used to execute {@link TokenStore} operations in. Defaults to a
+         * {@link NoTransactionManager}.
+         *
+         * @param transactionManager the {@link TransactionManager} used to execute {@link TokenStore} operations in
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder transactionManager(@Nonnull TransactionManager transactionManager) {
+            assertNonNull(transactionManager, "TransactionManager may not be null");
+            this.transactionManager = transactionManager;
+            return this;
+        }
+
+        /**
+         * Sets the interval at which the fair share of segments is recalculated, and the claim on this node's registry
+         * slot is extended. Should be shorter than the claim timeout of the {@link TokenStore}, to keep the slot
+         * claimed. Defaults to 5000 milliseconds.
+         *
+         * @param refreshInterval the interval at which the fair share of segments is recalculated
+         * @param timeUnit        the unit of the given {@code refreshInterval}
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder refreshInterval(long refreshInterval, @Nonnull TimeUnit timeUnit) {
+            assertStrictPositive(refreshInterval, "The refresh interval should be strictly positive");
+            assertNonNull(timeUnit, "TimeUnit may not be null");
+            this.refreshInterval = timeUnit.toMillis(refreshInterval);
+            return this;
+        }
+
+        /**
+         * Sets the number of consecutive refreshes a lower fair share needs to be observed before it is applied.
+         * Prevents segments from being released while nodes are starting or stopping. Defaults to {@code 3}.
+         *
+         * @param stabilizationRounds the number of consecutive refreshes a lower fair share needs to be observed
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder stabilizationRounds(int stabilizationRounds) {
+            assertStrictPositive(stabilizationRounds, "The number of stabilization rounds should be strictly positive");
+            this.stabilizationRounds = stabilizationRounds;
+            return this;
+        }
+
+        /**
+         * Sets the number of slots in the node registry of a processor, being the maximum number of nodes that can be
+         * taken into account when balancing. Only used when the registry is created. Defaults to {@code 64}.
+         *
+         * @param maxNodes the number of slots in the node registry of a processor
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder maxNodes(int maxNodes) {
+            assertStrictPositive(maxNodes, "The maximum number of nodes should be strictly positive");
+            this.maxNodes = maxNodes;
+            return this;
+        }
+
+        /**
+         * Sets the {@link Clock} used to decide when to refresh the fair share of segments. Defaults to
+         * {@link Clock#systemUTC()}.
+         *
+         * @param clock the {@link Clock} used to decide when to refresh the fair share of segments
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder clock(@Nonnull Clock clock) {
+            assertNonNull(clock, "Clock may not be null");
+            this.clock = clock;
+            return this;
+        }
+
+        /**
+         * Initializes a {@link LoadBalancingMaxSegmentProvider} as specified through this Builder.
+         *
+         * @return a {@link LoadBalancingMaxSegmentProvider} as specified through this Builder
+         */
+        public LoadBalancingMaxSegmentProvider build() {
+            return new LoadBalancingMaxSegmentProvider(this);
+        }
+
+        /**
+         * Validates whether the fields contained in this Builder are set accordingly.
+         *
+         * @throws AxonConfigurationException if one field is asserted to be incorrect according to the Builder's
+         *                                    specifications
+         */
+        protected void validate() throws AxonConfigurationException {
+            assertNonNull(tokenStore, "The TokenStore is a hard requirement and should be provided");
+        }
+    }
+}
@@ -27,10 +27,12 @@
 import org.axonframework.eventhandling.EventProcessorSpanFactory;
 import org.axonframework.eventhandling.EventTrackerStatus;
 import org.axonframework.eventhandling.GenericEventMessage;
+import org.axonframework.eventhandling.NoOpStreamingProcessorInstrumentation;
 import org.axonframework.eventhandling.PropagatingErrorHandler;
 import org.axonframework.eventhandling.ReplayToken;
 import org.axonframework.eventhandling.Segment;
 import org.axonframework.eventhandling.StreamingEventProcessor;
+import org.axonframework.eventhandling.StreamingProcessorInstrumentation;
 import org.axonframework.eventhandling.TrackedEventMessage;
 import org.axonframework.eventhandling.TrackerStatus;
 import org.axonframework.eventhandling.TrackingToken;
@@ -51,6 +53,7 @@
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Map;
+import java.util.OptionalInt;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledExecutorService;
@@ -102,6 +105,7 @@ public class PooledStreamingEventProcessor extends AbstractEventProcessor implem
     private final long claimExtensionThreshold;
     private final int batchSize;
     private final Clock clock;
+    private final StreamingProcessorInstrumentation instrumentation;
 
     private final AtomicReference<String> tokenStoreIdentifier = new AtomicReference<>();
     private final Map<Integer, TrackerStatus> processingStatus = new ConcurrentHashMap<>();
@@ -136,6 +140,7 @@ protected PooledStreamingEventProcessor(PooledStreamingEventProcessor.Builder bu
         this.claimExtensionThreshold = builder.claimExtensionThreshold;
         this.batchSize = builder.batchSize;
         this.clock = builder.clock;
+        this.instrumentation = builder.instrumentation;
 
         this.coordinator = Coordinator.builder()
                                       .name(name)
@@ -145,6 +150,7 @@ protected PooledStreamingEventProcessor(PooledStreamingEventProcessor.Builder bu
                                       .executorService(builder.coordinatorExecutorBuilder.apply(name))
                                       .workPackageFactory(this::spawnWorker)
                                       .eventFilter(event -> canHandleType(event.getPayloadType()))
+                                      .eventRouter(new HandlerEventRouter())
                                       .onMessageIgnored(this::reportIgnored)
                                       .processingStatusUpdater(this::statusUpdater)
                                       .tokenClaimInterval(tokenClaimInterval)
@@ -155,6 +161,7 @@ protected PooledStreamingEventProcessor(PooledStreamingEventProcessor.Builder bu
                                       .initialToken(initialToken)
                                       .coordinatorClaimExtension(builder.coordinatorExtendsClaims)
                                       .segmentReleasedAction(segment -> eventHandlerInvoker().segmentReleased(segment))
+                                      .instrumentation(instrumentation)
                                       .build();
     }
 
@@ -175,6 +182,7 @@ protected PooledStreamingEventProcessor(PooledStreamingEventProcessor.Builder bu
      *     <li>The {@link Clock} defaults to {@link GenericEventMessage#clock}.</li>
      *     <li>The {@link EventProcessorSpanFactory} defaults to a {@link org.axonframework.eventhandling.DefaultEventProcessorSpanFactory} backed by a {@link org.axonframework.tracing.NoOpSpanFactory}.</li>
      *     <li>The {@code coordinatorExtendsClaims} defaults to a {@code false}.</li>
+     *     <li>The {@link StreamingProcessorInstrumentation} defaults to a {@link NoOpStreamingProcessorInstrumentation}.</li>
      * </ul>
      * The following fields of this builder are <b>hard requirements</b> and as such should be provided:
      * <ul>
@@ -356,6 +364,7 @@ public Map<Integer, EventTrackerStatus> processingStatus() {
     }
 
     private WorkPackage spawnWorker(Segment segment, TrackingToken initialToken) {
+        instrumentation.segmentClaimed(name, segment.getSegmentId());
         return WorkPackage.builder()
                           .name(name)
                           .tokenStore(tokenStore)
@@ -371,6 +380,7 @@ private WorkPackage spawnWorker(Segment segment, TrackingToken initialToken) {
                                   segment.getSegmentId(), new TrackerStatus(segment, initialToken)
                           ))
                           .clock(clock)
+                          .instrumentation(instrumentation)
                           .build();
     }
 
@@ -403,6 +413,24 @@ private void statusUpdater(int segmentId, UnaryOperator<TrackerStatus> segmentUp
         processingStatus.computeIfPresent(segmentId, (s, ts) -> segmentUpdater.apply(ts));
     }
 
+    /**
+     * A {@link Coordinator.EventRouter} resolving the owning segment of an event through the sequence identifier hash
+     * of the {@link EventHandlerInvoker}. Whether the event can be handled at all is validated against the
+     * {@link Segment#ROOT_SEGMENT}, which matches any sequence identifier.
+     */
+    private class HandlerEventRouter implements Coordinator.EventRouter {
+
+        @Override
+        public OptionalInt routingHash(TrackedEventMessage<?> eventMessage) {
+            return eventHandlerInvoker().sequenceIdentifierHash(eventMessage);
+        }
+
+        @Override
+        public boolean canHandle(TrackedEventMessage<?> eventMessage) throws Exception {
+            return PooledStreamingEventProcessor.this.canHandle(eventMessage, Segment.ROOT_SEGMENT);
+        }
+    }
+
     /**
      * Builder class to instantiate a {@link PooledStreamingEventProcessor}.
      * <p>
@@ -420,6 +448,7 @@ private void statusUpdater(int segmentId, UnaryOperator<TrackerStatus> segmentUp
      *     <li>The {@link Clock} defaults to {@link GenericEventMessage#clock}.</li>
      *     <li>The {@link EventProcessorSpanFactory} defaults to a {@link org.axonframework.eventhandling.DefaultEventProcessorSpanFactory} backed by a {@link org.axonframework.tracing.NoOpSpanFactory}.</li>
      *     <li>The {@code coordinatorExtendsClaims} defaults to a {@code false}.</li>
+     *     <li>The {@link StreamingProcessorInstrumentation} defaults to a {@link NoOpStreamingProcessorInstrumentation}.</li>
      * </ul>
      * The following fields of this builder are <b>hard requirements</b> and as such should be provided:
      * <ul>
@@ -447,6 +476,7 @@ public static class Builder extends AbstractEventProcessor.Builder {
         private int batchSize = 1;
         private Clock clock = GenericEventMessage.clock;
         private boolean coordinatorExtendsClaims = false;
+        private StreamingProcessorInstrumentation instrumentation = NoOpStreamingProcessorInstrumentation.INSTANCE;
 
         protected Builder() {
             rollbackConfiguration(RollbackConfigurationType.ANY_THROWABLE);
@@ -775,6 +805,21 @@ public Builder enableCoordinatorClaimExtension() {
             return this;
         }
 
+        /**
+         * Sets the {@link StreamingProcessorInstrumentation} receiving measurements of fetching events, processing
+         * batches, invoking event handlers and storing tokens, per {@link Segment}. Defaults to a {@link
+         * NoOpStreamingProcessorInstrumentation}.
+         *
+         * @param instrumentation the {@link StreamingProcessorInstrumentation} receiving the measurements of this
+         *                        processor
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder instrumentation(@Nonnull StreamingProcessorInstrumentation instrumentation) {
+            assertNonNull(instrumentation, "StreamingProcessorInstrumentation may not be null");
+            this.instrumentation = instrumentation;
+            return this;
+        }
+
         /**
          * Initializes a {@link PooledStreamingEventProcessor} as specified through this Builder.
          *
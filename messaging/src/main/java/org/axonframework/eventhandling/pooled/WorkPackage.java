@@ -20,7 +20,10 @@
 import org.axonframework.common.transaction.TransactionManager;
 import org.axonframework.eventhandling.EventMessage;
 import org.axonframework.eventhandling.GenericEventMessage;
+import org.axonframework.eventhandling.HandlerInvocationTimer;
+import org.axonframework.eventhandling.NoOpStreamingProcessorInstrumentation;
 import org.axonframework.eventhandling.Segment;
+import org.axonframework.eventhandling.StreamingProcessorInstrumentation;
 import org.axonframework.eventhandling.TrackedEventMessage;
 import org.axonframework.eventhandling.TrackerStatus;
 import org.axonframework.eventhandling.TrackingToken;
@@ -46,6 +49,7 @@
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
 import java.util.function.UnaryOperator;
 
 /**
@@ -71,6 +75,8 @@
 class WorkPackage {
 
     private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+    private static final Predicate<TrackedEventMessage<?>> HANDLE = event -> true;
+    private static final Predicate<TrackedEventMessage<?>> IGNORE = event -> false;
 
     static final int BUFFER_SIZE = 1024;
 
@@ -85,6 +91,7 @@ class WorkPackage {
     private final long claimExtensionThreshold;
     private final Consumer<UnaryOperator<TrackerStatus>> segmentStatusUpdater;
     private final Clock clock;
+    private final StreamingProcessorInstrumentation instrumentation;
     private final String segmentIdResourceKey;
     private final String lastTokenResourceKey;
 
@@ -122,6 +129,7 @@ private WorkPackage(Builder builder) {
         this.claimExtensionThreshold = builder.claimExtensionThreshold;
         this.segmentStatusUpdater = builder.segmentStatusUpdater;
         this.clock = builder.clock;
+        this.instrumentation = builder.instrumentation;
         this.segmentIdResourceKey = "Processor[" + builder.name + "]/SegmentId";
         this.lastTokenResourceKey = "Processor[" + builder.name + "]/Token";
 
@@ -210,6 +218,27 @@ private void assertEqualTokens(List<TrackedEventMessage<?>> events) {
      * @return {@code True} if this {@link WorkPackage} scheduled the event for execution, otherwise {@code false}.
      */
     public boolean scheduleEvent(TrackedEventMessage<?> event) {
+        return scheduleEvent(event, this::canHandle);
+    }
+
+    /**
+     * Schedule a {@link TrackedEventMessage} for which the {@link Coordinator} already resolved whether this work
+     * package should handle it. Will immediately disregard the given {@code event} if its {@link TrackingToken} is
+     * covered by the previously scheduled event. Events this package does not handle are still scheduled, to ensure
+     * the token of this package advances.
+     * <p>
+     * <b>Threading note:</b> This method is and should only to be called by the {@link Coordinator} thread of a {@link
+     * PooledStreamingEventProcessor}.
+     *
+     * @param event     The event to schedule for work in this work package.
+     * @param canHandle Whether this work package should handle the given {@code event}.
+     * @return {@code True} if this {@link WorkPackage} scheduled the event for execution, otherwise {@code false}.
+     */
+    public boolean scheduleRoutedEvent(TrackedEventMessage<?> event, boolean canHandle) {
+        return scheduleEvent(event, canHandle ? HANDLE : IGNORE);
+    }
+
+    private boolean scheduleEvent(TrackedEventMessage<?> event, Predicate<TrackedEventMessage<?>> handles) {
         if (shouldNotSchedule(event)) {
             logger.trace("Ignoring event [{}] with position [{}] for work package [{}]. "
                                  + "The last token [{}] covers event's token [{}].",
@@ -220,7 +249,7 @@ public boolean scheduleEvent(TrackedEventMessage<?> event) {
         logger.debug("Assigned event [{}] with position [{}] to work package [{}].",
                      event.getIdentifier(), event.trackingToken().position().orElse(-1), segment.getSegmentId());
 
-        boolean canHandle = canHandle(event);
+        boolean canHandle = handles.test(event);
         processingQueue.add(new DefaultProcessingEntry(event, canHandle));
         lastDeliveredToken = event.trackingToken();
         // the worker must always be scheduled to ensure claims are extended
@@ -307,19 +336,28 @@ private void processEvents() throws Exception {
         if (!eventBatch.isEmpty()) {
             logger.debug("Work Package [{}]-[{}] is processing a batch of {} events.",
                          segment.getSegmentId(), name, eventBatch.size());
+            long startTime = System.nanoTime();
             try {
                 processingEvents.set(true);
                 UnitOfWork<TrackedEventMessage<?>> unitOfWork = new BatchingUnitOfWork<>(eventBatch);
                 unitOfWork.attachTransaction(transactionManager);
                 unitOfWork.resources().put(segmentIdResourceKey, segment.getSegmentId());
                 unitOfWork.resources().put(lastTokenResourceKey, lastConsumedToken);
+                HandlerInvocationTimer.attach(unitOfWork, instrumentation, name, segment.getSegmentId());
                 unitOfWork.onPrepareCommit(u -> storeToken(lastConsumedToken));
                 unitOfWork.afterCommit(
                         u -> segmentStatusUpdater.accept(status -> status.advancedTo(lastConsumedToken))
                 );
+                TrackedEventMessage<?> lastEvent = eventBatch.get(eventBatch.size() - 1);
+                unitOfWork.afterCommit(u -> instrumentation.segmentAdvanced(
+                        name, segment.getSegmentId(), lastConsumedToken, lastEvent.getTimestamp()
+                ));
                 batchProcessor.processBatch(eventBatch, unitOfWork, Collections.singleton(segment));
             } finally {
                 processingEvents.set(false);
+                instrumentation.batchProcessed(
+                        name, segment.getSegmentId(), eventBatch.size(), System.nanoTime() - startTime
+                );
             }
         } else {
             segmentStatusUpdater.accept(status -> status.advancedTo(lastConsumedToken));
@@ -345,7 +383,9 @@ public void extendClaimIfThresholdIsMet() {
 
     private void storeToken(TrackingToken token) {
         logger.debug("Work Package [{}]-[{}] will store token [{}].", name, segment.getSegmentId(), token);
+        long startTime = System.nanoTime();
         tokenStore.storeToken(token, name, segment.getSegmentId());
+        instrumentation.tokenStored(name, segment.getSegmentId(), System.nanoTime() - startTime);
         lastStoredToken = token;
         nextClaimExtension.set(now() + claimExtensionThreshold);
     }
@@ -520,6 +560,7 @@ static class Builder {
         private long claimExtensionThreshold = 5000;
         private Consumer<UnaryOperator<TrackerStatus>> segmentStatusUpdater;
         private Clock clock = GenericEventMessage.clock;
+        private StreamingProcessorInstrumentation instrumentation = NoOpStreamingProcessorInstrumentation.INSTANCE;
 
         /**
          * The {@code name} of the processor this {@link WorkPackage} processes events for.
@@ -660,6 +701,18 @@ Builder clock(Clock clock) {
             return this;
         }
 
+        /**
+         * Sets the {@link StreamingProcessorInstrumentation} to report batch, handler and token store measurements to.
+         * Defaults to the {@link NoOpStreamingProcessorInstrumentation}.
+         *
+         * @param instrumentation the {@link StreamingProcessorInstrumentation} to report measurements to
+         * @return the current Builder instance, for fluent interfacing
+         */
+        Builder instrumentation(StreamingProcessorInstrumentation instrumentation) {
+            this.instrumentation = instrumentation;
+            return this;
+        }
+
         /**
          * Initializes a {@link WorkPackage} as specified through this Builder.
          *
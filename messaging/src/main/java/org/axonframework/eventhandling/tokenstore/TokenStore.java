@@ -37,6 +37,13 @@
  */
 public interface TokenStore {
 
+    /**
+     * The prefix of the processor names under which Axon Framework stores entries that coordinate event processors,
+     * rather than the progress of an event processor. Tooling listing the event processors in a token store should
+     * omit the names starting with this prefix, and event processors should not be given names starting with it.
+     */
+    String RESERVED_PROCESSOR_NAME_PREFIX = "__axon:";
+
     /**
      * Initializes the given {@code segmentCount} number of segments for the given {@code processorName} to track its
      * tokens. This method should only be invoked when no tokens have been stored for the given processor, yet.
@@ -41,6 +41,7 @@
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.Duration;
+import java.time.Instant;
 import java.time.temporal.TemporalAmount;
 import java.util.Collections;
 import java.util.List;
@@ -80,6 +81,7 @@ public class JdbcTokenStore implements TokenStore {
     private final TemporalAmount claimTimeout;
     private final String nodeId;
     private final Class<?> contentType;
+    private final boolean leaseClaims;
     private static final String COUNT_COLUMN_NAME = "segmentCount";
 
     /**
@@ -87,8 +89,8 @@ public class JdbcTokenStore implements TokenStore {
      * <p>
      * The {@code schema} is defaulted to an {@link TokenSchema}, the {@code claimTimeout} to a 10 seconds duration,
      * {@code nodeId} is defaulted to the name of the managed bean for the runtime system of the Java virtual machine
-     * and the {@code contentType} to a {@code byte[]} {@link Class}. The {@link ConnectionProvider} and
-     * {@link Serializer} are <b>hard requirements</b> and as such should be provided.
+     * and the {@code contentType} to a {@code byte[]} {@link Class}. Lease claims are disabled by default. The
+     * {@link ConnectionProvider} and {@link Serializer} are <b>hard requirements</b> and as such should be provided.
      *
      * @return a Builder to be able to create a {@link JdbcTokenStore}
      */
@@ -113,6 +115,7 @@ protected JdbcTokenStore(Builder builder) {
         this.claimTimeout = builder.claimTimeout;
         this.nodeId = builder.nodeId;
         this.contentType = builder.contentType;
+        this.leaseClaims = builder.leaseClaims;
     }
 
     /**
@@ -236,7 +239,22 @@ public void storeToken(TrackingToken token, @Nonnull String processorName, int s
                     ), e)
             );
 
-            if (updatedToken == 0) {
+            if (updatedToken == 0 && leaseClaims) {
+                logger.debug("Could not update token [{}] for processor [{}] and segment [{}]. "
+                                     + "Trying to claim the lease instead.",
+                             token, processorName, segment);
+                int claimed = executeUpdate(
+                        connection,
+                        c -> claimLease(c, token, processorName, segment),
+                        e -> new JdbcException(format(
+                                "Could not store token [%s] for processor [%s] and segment [%d]",
+                                token, processorName, segment
+                        ), e)
+                );
+                if (claimed == 0) {
+                    throw leaseUnavailable(connection, processorName, segment);
+                }
+            } else if (updatedToken == 0) {
                 logger.debug("Could not update token [{}] for processor [{}] and segment [{}]. "
                                      + "Trying load-then-save approach instead.",
                              token, processorName, segment);
@@ -262,6 +280,9 @@ public void storeToken(TrackingToken token, @Nonnull String processorName, int s
     public TrackingToken fetchToken(@Nonnull String processorName, int segment) throws UnableToClaimTokenException {
         Connection connection = getConnection();
         try {
+            if (leaseClaims) {
+                return claimLeaseAndLoadToken(connection, processorName, segment);
+            }
             return executeQuery(connection, c -> selectForUpdate(c, processorName, segment),
                                 resultSet -> loadToken(connection, resultSet, processorName, segment),
                                 e -> new JdbcException(
@@ -277,6 +298,10 @@ public TrackingToken fetchToken(@Nonnull String processorName, @Nonnull Segment
             throws UnableToClaimTokenException {
         Connection connection = getConnection();
         try {
+            if (leaseClaims) {
+                validateSegment(processorName, segment);
+                return claimLeaseAndLoadToken(connection, processorName, segment.getSegmentId());
+            }
             return executeQuery(connection, c -> selectForUpdate(c, processorName, segment.getSegmentId()),
                                 resultSet -> loadToken(connection, resultSet, processorName, segment),
                                 e -> new JdbcException(
@@ -287,6 +312,81 @@ public TrackingToken fetchToken(@Nonnull String processorName, @Nonnull Segment
         }
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * When {@link Builder#leaseClaims(boolean) lease claims} are enabled, the claim is extended through a single update
+     * statement, only affecting the entry if it is still owned by this node.
+     */
+    @Override
+    public void extendClaim(@Nonnull String processorName, int segment) throws UnableToClaimTokenException {
+        if (!leaseClaims) {
+            TokenStore.super.extendClaim(processorName, segment);
+            return;
+        }
+        Connection connection = getConnection();
+        try {
+            int extended = executeUpdate(connection,
+                                         c -> extendLease(c, processorName, segment),
+                                         e -> new JdbcException(format(
+                                                 "Could not extend claim for processor [%s] and segment [%d]",
+                                                 processorName, segment
+                                         ), e));
+            if (extended == 0) {
+                throw leaseUnavailable(connection, processorName, segment);
+            }
+        } finally {
+            closeQuietly(connection);
+        }
+    }
+
+    private TrackingToken claimLeaseAndLoadToken(Connection connection, String processorName, int segment) {
+        int claimed = executeUpdate(connection,
+                                    c -> claimLease(c, processorName, segment),
+                                    e -> new JdbcException(format(
+                                            "Could not claim token for processor [%s] and segment [%d]",
+                                            processorName, segment
+                                    ), e));
+        if (claimed == 0) {
+            throw leaseUnavailable(connection, processorName, segment);
+        }
+        return executeQuery(connection,
+                            c -> select(c, processorName, segment, false),
+                            resultSet -> {
+                                if (!resultSet.next()) {
+                                    throw new UnableToClaimTokenException(format(
+                                            "Unable to claim token '%s[%s]'. It has been removed",
+                                            processorName, segment
+                                    ));
+                                }
+                                return readTokenEntry(resultSet).getToken(serializer);
+                            },
+                            e -> new JdbcException(format(
+                                    "Could not load token for processor [%s] and segment [%d]",
+                                    processorName, segment
+                            ), e),
+                            false);
+    }
+
+    private UnableToClaimTokenException leaseUnavailable(Connection connection, String processorName, int segment) {
+        return executeQuery(connection,
+                            c -> select(c, processorName, segment, false),
+                            resultSet -> resultSet.next()
+                                    ? new UnableToClaimTokenException(format(
+                                    "Unable to claim token '%s[%s]'. It is owned by '%s'",
+                                    processorName, segment, resultSet.getString(schema.ownerColumn())
+                            ))
+                                    : new UnableToClaimTokenException(format(
+                                    "Unable to claim token '%s[%s]'. It has not been initialized yet",
+                                    processorName, segment
+                            )),
+                            e -> new JdbcException(format(
+                                    "Could not load token for processor [%s] and segment [%d]",
+                                    processorName, segment
+                            ), e),
+                            false);
+    }
+
     @Override
     public void releaseClaim(@Nonnull String processorName, int segment) {
         Connection connection = getConnection();
@@ -439,6 +539,109 @@ protected PreparedStatement storeUpdate(Connection connection,
         return preparedStatement;
     }
 
+    /**
+     * Returns a {@link PreparedStatement} which claims the lease on the token entry for the given
+     * {@code processorName} and {@code segment} combination, without changing the token. The entry is only updated if
+     * it is unclaimed, already owned by this node, or if the claim of another node has timed out.
+     *
+     * @param connection    the connection to the underlying database
+     * @param processorName the name of the processor to claim the entry for
+     * @param segment       the segment of the processor to claim the entry for
+     * @return a {@link PreparedStatement} that will claim the token entry when executed
+     * @throws SQLException when an exception occurs while creating the prepared statement
+     */
+    protected PreparedStatement claimLease(Connection connection,
+                                           String processorName,
+                                           int segment) throws SQLException {
+        final String sql = "UPDATE " + schema.tokenTable() + " SET "
+                + schema.ownerColumn() + " = ?, "
+                + schema.timestampColumn() + " = ? "
+                + "WHERE " + schema.processorNameColumn() + " = ? "
+                + "AND " + schema.segmentColumn() + " = ? "
+                + "AND (" + schema.ownerColumn() + " IS NULL "
+                + "OR " + schema.ownerColumn() + " = ? "
+                + "OR " + schema.timestampColumn() + " < ?)";
+        Instant now = AbstractTokenEntry.clock.instant();
+        PreparedStatement preparedStatement = connection.prepareStatement(sql);
+        preparedStatement.setString(1, nodeId);
+        preparedStatement.setString(2, formatInstant(now));
+        preparedStatement.setString(3, processorName);
+        preparedStatement.setInt(4, segment);
+        preparedStatement.setString(5, nodeId);
+        preparedStatement.setString(6, formatInstant(now.minus(claimTimeout)));
+        return preparedStatement;
+    }
+
+    /**
+     * Returns a {@link PreparedStatement} which stores the given {@code token} and claims the lease on the token entry
+     * for the given {@code processorName} and {@code segment} combination. The entry is only updated if it is
+     * unclaimed, already owned by this node, or if the claim of another node has timed out.
+     *
+     * @param connection    the connection to the underlying database
+     * @param token         the new token to store
+     * @param processorName the name of the processor to claim the entry for
+     * @param segment       the segment of the processor to claim the entry for
+     * @return a {@link PreparedStatement} that will store the token and claim the entry when executed
+     * @throws SQLException when an exception occurs while creating the prepared statement
+     */
+    protected PreparedStatement claimLease(Connection connection,
+                                           TrackingToken token,
+                                           String processorName,
+                                           int segment) throws SQLException {
+        AbstractTokenEntry<?> tokenToStore =
+                new GenericTokenEntry<>(token, serializer, contentType, processorName, segment);
+        Object tokenDataToStore = getOrDefault(tokenToStore.getSerializedToken(), SerializedObject::getData, null);
+        String tokenTypeToStore = getOrDefault(tokenToStore.getTokenType(), SerializedType::getName, null);
+
+        final String sql = "UPDATE " + schema.tokenTable() + " SET "
+                + schema.ownerColumn() + " = ?, "
+                + schema.tokenColumn() + " = ?, "
+                + schema.tokenTypeColumn() + " = ?, "
+                + schema.timestampColumn() + " = ? "
+                + "WHERE " + schema.processorNameColumn() + " = ? "
+                + "AND " + schema.segmentColumn() + " = ? "
+                + "AND (" + schema.ownerColumn() + " IS NULL "
+                + "OR " + schema.ownerColumn() + " = ? "
+                + "OR " + schema.timestampColumn() + " < ?)";
+        Instant now = AbstractTokenEntry.clock.instant();
+        PreparedStatement preparedStatement = connection.prepareStatement(sql);
+        preparedStatement.setString(1, nodeId);
+        preparedStatement.setObject(2, tokenDataToStore);
+        preparedStatement.setString(3, tokenTypeToStore);
+        preparedStatement.setString(4, formatInstant(now));
+        preparedStatement.setString(5, processorName);
+        preparedStatement.setInt(6, segment);
+        preparedStatement.setString(7, nodeId);
+        preparedStatement.setString(8, formatInstant(now.minus(claimTimeout)));
+        return preparedStatement;
+    }
+
+    /**
+     * Returns a {@link PreparedStatement} which extends the lease this node has on the token entry for the given
+     * {@code processorName} and {@code segment} combination. The entry is only updated if it is owned by this node.
+     *
+     * @param connection    the connection to the underlying database
+     * @param processorName the name of the processor to extend the claim for
+     * @param segment       the segment of the processor to extend the claim for
+     * @return a {@link PreparedStatement} that will extend the claim when executed
+     * @throws SQLException when an exception occurs while creating the prepared statement
+     */
+    protected PreparedStatement extendLease(Connection connection,
+                                            String processorName,
+                                            int segment) throws SQLException {
+        final String sql = "UPDATE " + schema.tokenTable() + " SET "
+                + schema.timestampColumn() + " = ? "
+                + "WHERE " + schema.processorNameColumn() + " = ? "
+                + "AND " + schema.segmentColumn() + " = ? "
+                + "AND " + schema.ownerColumn() + " = ?";
+        PreparedStatement preparedStatement = connection.prepareStatement(sql);
+        preparedStatement.setString(1, formatInstant(AbstractTokenEntry.clock.instant()));
+        preparedStatement.setString(2, processorName);
+        preparedStatement.setInt(3, segment);
+        preparedStatement.setString(4, nodeId);
+        return preparedStatement;
+    }
+
     /**
      * Returns a {@link PreparedStatement} to select a token entry from the underlying storage. The {@link ResultSet}
      * that is returned when this statement is executed should be updatable.
@@ -816,8 +1019,8 @@ protected Connection getConnection() {
      * <p>
      * The {@code schema} is defaulted to an {@link TokenSchema}, the {@code claimTimeout} to a 10 seconds duration,
      * {@code nodeId} is defaulted to the name of the managed bean for the runtime system of the Java virtual machine
-     * and the {@code contentType} to a {@code byte[]} {@link Class}. The {@link ConnectionProvider} and
-     * {@link Serializer} are <b>hard requirements</b> and as such should be provided.
+     * and the {@code contentType} to a {@code byte[]} {@link Class}. Lease claims are disabled by default. The
+     * {@link ConnectionProvider} and {@link Serializer} are <b>hard requirements</b> and as such should be provided.
      */
     public static class Builder {
 
@@ -827,6 +1030,7 @@ public static class Builder {
         private TemporalAmount claimTimeout = Duration.ofSeconds(10);
         private String nodeId = ManagementFactory.getRuntimeMXBean().getName();
         private Class<?> contentType = byte[].class;
+        private boolean leaseClaims = false;
 
         /**
          * Sets the {@link ConnectionProvider} used to provide connections to the underlying database.
@@ -905,6 +1109,21 @@ public Builder contentType(Class<?> contentType) {
             return this;
         }
 
+        /**
+         * Sets whether claims are managed as leases. When enabled, tokens are claimed, extended and stolen through a
+         * single conditional update statement, which only succeeds if the entry is unclaimed, owned by this node, or
+         * if the claim has not been updated for the {@link #claimTimeout(TemporalAmount) claimTimeout}. This avoids
+         * the {@code SELECT ... FOR UPDATE} statements, and the row locks that come with them, that are otherwise used
+         * to claim a token. Defaults to {@code false}.
+         *
+         * @param leaseClaims whether claims are managed as leases through single conditional update statements
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder leaseClaims(boolean leaseClaims) {
+            this.leaseClaims = leaseClaims;
+            return this;
+        }
+
         /**
          * Initializes a {@link JdbcTokenStore} as specified through this Builder.
          *
@@ -44,6 +44,26 @@
      */
     boolean process(Predicate<DeadLetter<? extends M>> sequenceFilter);
 
+    /**
+     * Process up to {@code maxSequences} sequences of {@link DeadLetter dead letters} matching the given
+     * {@code sequenceFilter}. Each sequence is attempted at most once per invocation.
+     * <p>
+     * Implementations are encouraged to process all sequences in a single transaction, to reduce the overhead of
+     * retrying many sequences. The default implementation {@link #process(Predicate) processes} sequences one by one,
+     * until {@code maxSequences} sequences have been processed, or until processing a sequence is unsuccessful.
+     *
+     * @param sequenceFilter A filter for the first {@link DeadLetter dead letter} entries of each sequence.
+     * @param maxSequences   The maximum number of sequences to process.
+     * @return The number of sequences that were processed successfully in their entirety.
+     */
+    default int process(Predicate<DeadLetter<? extends M>> sequenceFilter, int maxSequences) {
+        int processed = 0;
+        while (processed < maxSequences && process(sequenceFilter)) {
+            processed++;
+        }
+        return processed;
+    }
+
     /**
      * Process any sequence of {@link DeadLetter dead letters} belonging to this component.
      * <p>
@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2010-2024. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.queryhandling;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marker annotation for {@link QueryHandler @QueryHandler} annotated methods, declaring that the responses of the
+ * handler may be cached by a {@link CachingQueryBus}.
+ * <p>
+ * Only annotate handlers that are idempotent and whose response depends solely on the query name, payload and
+ * response type. Meta-data of the query is not taken into account when looking up a cached response. Cached responses
+ * are invalidated when the {@link QueryResponseCache#invalidating(QueryUpdateEmitter) invalidating} {@link
+ * QueryUpdateEmitter} emits an update matching the query, or when their time-to-live expires.
+ *
+ * @author agent
+ * @see CachingQueryBus
+ * @since 4.11.0
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.ANNOTATION_TYPE})
+public @interface CacheableQuery {
+
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2010-2024. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.queryhandling;
+
+import org.axonframework.messaging.MessageHandler;
+
+import java.util.Objects;
+import javax.annotation.Nonnull;
+
+/**
+ * A {@link MessageHandler} wrapping a query handler whose responses may be cached. Subscribing an instance of this
+ * class to a {@link CachingQueryBus} marks the query name it is subscribed with as cacheable. Other {@link QueryBus}
+ * implementations treat it as a regular query handler.
+ *
+ * @param <Q> the type of {@link QueryMessage} handled
+ * @author agent
+ * @see CacheableQuery
+ * @since 4.11.0
+ */
+public class CacheableQueryHandler<Q extends QueryMessage<?, ?>> implements MessageHandler<Q> {
+
+    private final MessageHandler<Q> delegate;
+
+    /**
+     * Wraps the given {@code delegate}, marking its responses as cacheable.
+     *
+     * @param delegate the query handler to invoke when handling queries
+     */
+    public CacheableQueryHandler(@Nonnull MessageHandler<Q> delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Object handle(Q message) throws Exception {
+        return delegate.handle(message);
+    }
+
+    @Override
+    public boolean canHandle(Q message) {
+        return delegate.canHandle(message);
+    }
+
+    @Override
+    public Class<?> getTargetType() {
+        return delegate.getTargetType();
+    }
+
+    @Override
+    public boolean canHandleType(Class<?> payloadType) {
+        return delegate.canHandleType(payloadType);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        return Objects.equals(delegate, ((CacheableQueryHandler<?>) o).delegate);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(delegate);
+    }
+}
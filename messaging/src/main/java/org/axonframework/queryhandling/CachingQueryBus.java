@@ -0,0 +1,262 @@
+/*
+ * Copyright (c) 2010-2024. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.queryhandling;
+
+import org.axonframework.common.AxonConfigurationException;
+import org.axonframework.common.Registration;
+import org.axonframework.messaging.MessageDispatchInterceptor;
+import org.axonframework.messaging.MessageHandler;
+import org.axonframework.messaging.MessageHandlerInterceptor;
+import org.reactivestreams.Publisher;
+
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import javax.annotation.Nonnull;
+
+import static org.axonframework.common.BuilderUtils.assertNonNull;
+
+/**
+ * A {@link QueryBus} decorator that caches the responses of point-to-point {@link #query(QueryMessage) queries} in a
+ * {@link QueryResponseCache}. Scatter-gather, streaming and subscription queries are always delegated.
+ * <p>
+ * Only queries that are declared cacheable are cached. A query name is cacheable when it is configured through
+ * {@link Builder#cacheableQueries(String...)}, or when a {@link CacheableQueryHandler} is subscribed for it. The latter
+ * happens for {@link QueryHandler @QueryHandler} methods that are also annotated with {@link CacheableQuery}. When the
+ * handlers are not registered locally, as is the case when dispatching through Axon Server, the query names must be
+ * configured on the builder.
+ * <p>
+ * Dispatch interceptors are registered with, and invoked by, this bus, so they also apply to queries answered from the
+ * cache. The {@link #queryUpdateEmitter()} of this bus invalidates cached responses when updates are emitted through
+ * it. Updates emitted through other {@link QueryUpdateEmitter} instances must be routed through
+ * {@link QueryResponseCache#invalidating(QueryUpdateEmitter)} to invalidate the cache.
+ *
+ * @author agent
+ * @since 4.11.0
+ */
+public class CachingQueryBus implements QueryBus {
+
+    private final QueryBus delegate;
+    private final QueryResponseCache responseCache;
+    private final QueryUpdateEmitter queryUpdateEmitter;
+    private final Set<String> configuredQueryNames;
+    private final ConcurrentMap<String, Integer> cacheableHandlerCounts = new ConcurrentHashMap<>();
+    private final List<MessageDispatchInterceptor<? super QueryMessage<?, ?>>> dispatchInterceptors =
+            new CopyOnWriteArrayList<>();
+
+    /**
+     * Instantiate a {@link CachingQueryBus} based on the fields contained in the {@link Builder}.
+     *
+     * @param builder the {@link Builder} used to instantiate a {@link CachingQueryBus} instance
+     */
+    protected CachingQueryBus(Builder builder) {
+        builder.validate();
+        this.delegate = builder.delegate;
+        this.responseCache = builder.responseCache;
+        this.configuredQueryNames = builder.cacheableQueryNames;
+        this.queryUpdateEmitter = responseCache.invalidating(delegate.queryUpdateEmitter());
+    }
+
+    /**
+     * Instantiate a Builder to be able to create a {@link CachingQueryBus}.
+     * <p>
+     * The {@link QueryResponseCache} defaults to a cache created through {@link QueryResponseCache#builder()}, and no
+     * query names are cacheable unless configured or subscribed through a {@link CacheableQueryHandler}. The delegate
+     * {@link QueryBus} is a <b>hard requirement</b> and as such should be provided.
+     *
+     * @return a Builder to be able to create a {@link CachingQueryBus}
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public <R> Registration subscribe(@Nonnull String queryName,
+                                      @Nonnull Type responseType,
+                                      @Nonnull MessageHandler<? super QueryMessage<?, R>> handler) {
+        Registration registration = delegate.subscribe(queryName, responseType, handler);
+        if (!(handler instanceof CacheableQueryHandler)) {
+            return registration;
+        }
+        cacheableHandlerCounts.merge(queryName, 1, Integer::sum);
+        return () -> {
+            cacheableHandlerCounts.computeIfPresent(queryName, (name, count) -> count > 1 ? count - 1 : null);
+            return registration.cancel();
+        };
+    }
+
+    @Override
+    public <Q, R> CompletableFuture<QueryResponseMessage<R>> query(@Nonnull QueryMessage<Q, R> query) {
+        QueryMessage<Q, R> interceptedQuery = intercept(query);
+        if (isCacheable(interceptedQuery.getQueryName())) {
+            return responseCache.computeIfAbsent(interceptedQuery, delegate::query);
+        }
+        return delegate.query(interceptedQuery);
+    }
+
+    @Override
+    public <Q, R> Publisher<QueryResponseMessage<R>> streamingQuery(StreamingQueryMessage<Q, R> query) {
+        return delegate.streamingQuery(intercept(query));
+    }
+
+    @Override
+    public <Q, R> Stream<QueryResponseMessage<R>> scatterGather(@Nonnull QueryMessage<Q, R> query,
+                                                                long timeout,
+                                                                @Nonnull TimeUnit unit) {
+        return delegate.scatterGather(intercept(query), timeout, unit);
+    }
+
+    @SuppressWarnings("deprecation")
+    @Override
+    public <Q, I, U> SubscriptionQueryResult<QueryResponseMessage<I>, SubscriptionQueryUpdateMessage<U>> subscriptionQuery(
+            @Nonnull SubscriptionQueryMessage<Q, I, U> query,
+            SubscriptionQueryBackpressure backpressure,
+            int updateBufferSize
+    ) {
+        return delegate.subscriptionQuery(intercept(query), backpressure, updateBufferSize);
+    }
+
+    @Override
+    public <Q, I, U> SubscriptionQueryResult<QueryResponseMessage<I>, SubscriptionQueryUpdateMessage<U>> subscriptionQuery(
+            @Nonnull SubscriptionQueryMessage<Q, I, U> query,
+            int updateBufferSize
+    ) {
+        return delegate.subscriptionQuery(intercept(query), updateBufferSize);
+    }
+
+    @Override
+    public QueryUpdateEmitter queryUpdateEmitter() {
+        return queryUpdateEmitter;
+    }
+
+    @Override
+    public @Nonnull Registration registerHandlerInterceptor(
+            @Nonnull MessageHandlerInterceptor<? super QueryMessage<?, ?>> interceptor) {
+        return delegate.registerHandlerInterceptor(interceptor);
+    }
+
+    @Override
+    public @Nonnull Registration registerDispatchInterceptor(
+            @Nonnull MessageDispatchInterceptor<? super QueryMessage<?, ?>> interceptor) {
+        dispatchInterceptors.add(interceptor);
+        return () -> dispatchInterceptors.remove(interceptor);
+    }
+
+    /**
+     * Returns the {@link QueryResponseCache} used by this bus.
+     *
+     * @return the {@link QueryResponseCache} used by this bus
+     */
+    public QueryResponseCache responseCache() {
+        return responseCache;
+    }
+
+    private boolean isCacheable(String queryName) {
+        return configuredQueryNames.contains(queryName) || cacheableHandlerCounts.containsKey(queryName);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <Q, R, T extends QueryMessage<Q, R>> T intercept(T query) {
+        T intercepted = query;
+        for (MessageDispatchInterceptor<? super QueryMessage<?, ?>> interceptor : dispatchInterceptors) {
+            intercepted = (T) interceptor.handle(intercepted);
+        }
+        return intercepted;
+    }
+
+    /**
+     * Builder class to instantiate a {@link CachingQueryBus}.
+     * <p>
+     * The {@link QueryResponseCache} defaults to a cache created through {@link QueryResponseCache#builder()}, and no
+     * query names are cacheable unless configured or subscribed through a {@link CacheableQueryHandler}. The delegate
+     * {@link QueryBus} is a <b>hard requirement</b> and as such should be provided.
+     */
+    public static class Builder {
+
+        private QueryBus delegate;
+        private QueryResponseCache responseCache;
+        private final Set<String> cacheableQueryNames = ConcurrentHashMap.newKeySet();
+
+        /**
+         * Sets the {@link QueryBus} to delegate queries to, for example a {@link SimpleQueryBus} or a bus connecting
+         * to Axon Server.
+         *
+         * @param delegate the {@link QueryBus} to delegate queries to
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder delegate(@Nonnull QueryBus delegate) {
+            assertNonNull(delegate, "Delegate QueryBus may not be null");
+            this.delegate = delegate;
+            return this;
+        }
+
+        /**
+         * Sets the {@link QueryResponseCache} to store responses in. Defaults to a cache created through
+         * {@link QueryResponseCache#builder()}.
+         *
+         * @param responseCache the {@link QueryResponseCache} to store responses in
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder responseCache(@Nonnull QueryResponseCache responseCache) {
+            assertNonNull(responseCache, "QueryResponseCache may not be null");
+            this.responseCache = responseCache;
+            return this;
+        }
+
+        /**
+         * Declares the queries with the given {@code queryNames} as cacheable, regardless of the handlers subscribed
+         * to this bus. Use this to cache queries that are handled remotely.
+         *
+         * @param queryNames the names of the queries whose responses may be cached
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder cacheableQueries(@Nonnull String... queryNames) {
+            assertNonNull(queryNames, "Query names may not be null");
+            this.cacheableQueryNames.addAll(Arrays.asList(queryNames));
+            return this;
+        }
+
+        /**
+         * Initializes a {@link CachingQueryBus} as specified through this Builder.
+         *
+         * @return a {@link CachingQueryBus} as specified through this Builder
+         */
+        public CachingQueryBus build() {
+            if (responseCache == null) {
+                responseCache = QueryResponseCache.builder().build();
+            }
+            return new CachingQueryBus(this);
+        }
+
+        /**
+         * Validates whether the fields contained in this Builder are set accordingly.
+         *
+         * @throws AxonConfigurationException if one field is asserted to be incorrect according to the Builder's
+         *                                    specifications
+         */
+        protected void validate() throws AxonConfigurationException {
+            assertNonNull(delegate, "The delegate QueryBus is a hard requirement and should be provided");
+        }
+    }
+}
@@ -0,0 +1,441 @@
+/*
+ * Copyright (c) 2010-2024. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.queryhandling;
+
+import org.axonframework.common.AxonConfigurationException;
+import org.axonframework.common.Registration;
+import org.axonframework.messaging.MessageDispatchInterceptor;
+import org.axonframework.messaging.responsetypes.ResponseType;
+import org.axonframework.messaging.unitofwork.CurrentUnitOfWork;
+import org.axonframework.messaging.unitofwork.UnitOfWork;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import javax.annotation.Nonnull;
+
+import static org.axonframework.common.BuilderUtils.assertNonNull;
+import static org.axonframework.common.BuilderUtils.assertStrictPositive;
+import static org.axonframework.common.BuilderUtils.assertThat;
+
+/**
+ * A bounded cache of query responses, used by the {@link CachingQueryBus}. Responses are cached by query name,
+ * payload and response type. The payload of a query must therefore implement {@link Object#equals(Object)} and
+ * {@link Object#hashCode()} for responses to be found. Meta-data of the query is not part of the key.
+ * <p>
+ * Entries are evicted in least-recently-used order once the {@link Builder#maximumSize(int) maximum size} is exceeded,
+ * and expire after the configured {@link Builder#timeToLive(Duration) time-to-live}. Concurrent lookups of a response
+ * that is still being computed share the pending result, so identical queries are dispatched only once. Exceptional
+ * responses are never retained.
+ * <p>
+ * Entries are invalidated when updates are emitted through a {@link QueryUpdateEmitter} created with
+ * {@link #invalidating(QueryUpdateEmitter)}. Each cached query is tested against the filter of the emitted update, as
+ * if it were a {@link SubscriptionQueryMessage}. Similar to update emission, invalidation is postponed until the
+ * {@link UnitOfWork} the update was emitted in has been committed.
+ *
+ * @author agent
+ * @since 4.11.0
+ */
+public class QueryResponseCache {
+
+    private final int maximumSize;
+    private final long timeToLiveMillis;
+    private final Clock clock;
+    private final Map<CacheKey, Entry> entries;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Instantiate a {@link QueryResponseCache} based on the fields contained in the {@link Builder}.
+     *
+     * @param builder the {@link Builder} used to instantiate a {@link QueryResponseCache} instance
+     */
+    protected QueryResponseCache(Builder builder) {
+        builder.validate();
+        this.maximumSize = builder.maximumSize;
+        this.timeToLiveMillis = builder.timeToLive.toMillis();
+        this.clock = builder.clock;
+        this.entries = new LinkedHashMap<CacheKey, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<CacheKey, Entry> eldest) {
+                return size() > maximumSize;
+            }
+        };
+    }
+
+    /**
+     * Instantiate a Builder to be able to create a {@link QueryResponseCache}.
+     * <p>
+     * The maximum size defaults to {@code 10000} entries, the time-to-live to one minute and the {@link Clock} to
+     * {@link Clock#systemUTC()}.
+     *
+     * @return a Builder to be able to create a {@link QueryResponseCache}
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Returns the response for the given {@code query}, using the given {@code dispatcher} to compute it if no valid
+     * response is cached. The returned future completes with the same response for all callers sharing the entry.
+     *
+     * @param query      the query to find the response for
+     * @param dispatcher the function dispatching the query when no cached response is available
+     * @param <Q>        the payload type of the query
+     * @param <R>        the response type of the query
+     * @return a future completing with the (possibly cached) response to the given {@code query}
+     */
+    public <Q, R> CompletableFuture<QueryResponseMessage<R>> computeIfAbsent(
+            @Nonnull QueryMessage<Q, R> query,
+            @Nonnull Function<QueryMessage<Q, R>, CompletableFuture<QueryResponseMessage<R>>> dispatcher
+    ) {
+        CacheKey key = new CacheKey(query);
+        long now = clock.millis();
+        Entry entry;
+        boolean created = false;
+        synchronized (entries) {
+            entry = entries.get(key);
+            if (entry == null || entry.isExpired(now)) {
+                entry = new Entry(asSubscriptionQuery(query), now + timeToLiveMillis);
+                entries.put(key, entry);
+                created = true;
+            }
+        }
+        if (!created) {
+            hits.incrementAndGet();
+            return entry.response();
+        }
+        misses.incrementAndGet();
+        Entry newEntry = entry;
+        CompletableFuture<QueryResponseMessage<R>> dispatched;
+        try {
+            dispatched = dispatcher.apply(query);
+        } catch (RuntimeException e) {
+            remove(key, newEntry);
+            newEntry.result.completeExceptionally(e);
+            throw e;
+        }
+        dispatched.whenComplete((response, error) -> {
+            if (error != null || response.isExceptional()) {
+                remove(key, newEntry);
+            }
+            if (error != null) {
+                newEntry.result.completeExceptionally(error);
+            } else {
+                newEntry.result.complete(response);
+            }
+        });
+        return newEntry.response();
+    }
+
+    /**
+     * Removes all cached responses for which the given {@code filter} matches the cached query, represented as a
+     * {@link SubscriptionQueryMessage} with its response type as update response type. Queries for which the filter
+     * throws an exception are removed as well.
+     *
+     * @param filter the filter to test cached queries against
+     * @param <U>    the type of update the filter expects
+     */
+    @SuppressWarnings("unchecked")
+    public <U> void invalidate(@Nonnull Predicate<SubscriptionQueryMessage<?, ?, U>> filter) {
+        List<Map.Entry<CacheKey, Entry>> candidates;
+        synchronized (entries) {
+            candidates = new ArrayList<>(entries.size());
+            entries.forEach((key, entry) -> candidates.add(new SimpleImmutableEntry<>(key, entry)));
+        }
+        for (Map.Entry<CacheKey, Entry> candidate : candidates) {
+            boolean matches;
+            try {
+                matches = filter.test((SubscriptionQueryMessage<?, ?, U>) candidate.getValue().query);
+            } catch (RuntimeException e) {
+                matches = true;
+            }
+            if (matches) {
+                remove(candidate.getKey(), candidate.getValue());
+            }
+        }
+    }
+
+    /**
+     * Removes all cached responses.
+     */
+    public void invalidateAll() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    /**
+     * Wraps the given {@code delegate} in a {@link QueryUpdateEmitter} that {@link #invalidate(Predicate) invalidates}
+     * matching entries of this cache for every emitted update. All operations are delegated to the given
+     * {@code delegate}.
+     *
+     * @param delegate the {@link QueryUpdateEmitter} to delegate to
+     * @return a {@link QueryUpdateEmitter} invalidating this cache when emitting updates
+     */
+    public QueryUpdateEmitter invalidating(@Nonnull QueryUpdateEmitter delegate) {
+        return new InvalidatingQueryUpdateEmitter(delegate);
+    }
+
+    /**
+     * Returns the number of responses currently held by this cache, including those still being computed and those
+     * that expired but have not been evicted yet.
+     *
+     * @return the number of entries in this cache
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Returns the number of lookups that were answered from this cache.
+     *
+     * @return the number of cache hits
+     */
+    public long hitCount() {
+        return hits.get();
+    }
+
+    /**
+     * Returns the number of lookups that required the query to be dispatched.
+     *
+     * @return the number of cache misses
+     */
+    public long missCount() {
+        return misses.get();
+    }
+
+    private void remove(CacheKey key, Entry entry) {
+        synchronized (entries) {
+            entries.remove(key, entry);
+        }
+    }
+
+    private void invalidateAfterCommit(Predicate<? extends SubscriptionQueryMessage<?, ?, ?>> filter) {
+        //noinspection unchecked,rawtypes
+        Runnable task = () -> invalidate((Predicate) filter);
+        if (CurrentUnitOfWork.isStarted() && UnitOfWork.Phase.STARTED.equals(CurrentUnitOfWork.get().phase())) {
+            CurrentUnitOfWork.get().afterCommit(uow -> task.run());
+        } else {
+            task.run();
+        }
+    }
+
+    private static <Q, R> SubscriptionQueryMessage<Q, R, R> asSubscriptionQuery(QueryMessage<Q, R> query) {
+        return new GenericSubscriptionQueryMessage<>(
+                query, query.getQueryName(), query.getResponseType(), query.getResponseType()
+        );
+    }
+
+    private static final class CacheKey {
+
+        private final String queryName;
+        private final Object payload;
+        private final ResponseType<?> responseType;
+        private final int hashCode;
+
+        private CacheKey(QueryMessage<?, ?> query) {
+            this.queryName = query.getQueryName();
+            this.payload = query.getPayload();
+            this.responseType = query.getResponseType();
+            this.hashCode = Objects.hash(queryName, payload, responseType);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            CacheKey that = (CacheKey) o;
+            return hashCode == that.hashCode
+                    && queryName.equals(that.queryName)
+                    && Objects.equals(payload, that.payload)
+                    && Objects.equals(responseType, that.responseType);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    private static final class Entry {
+
+        private final SubscriptionQueryMessage<?, ?, ?> query;
+        private final long expiresAt;
+        private final CompletableFuture<QueryResponseMessage<?>> result = new CompletableFuture<>();
+
+        private Entry(SubscriptionQueryMessage<?, ?, ?> query, long expiresAt) {
+            this.query = query;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+
+        @SuppressWarnings("unchecked")
+        private <R> CompletableFuture<QueryResponseMessage<R>> response() {
+            // a dependent future prevents callers from completing the shared result
+            return result.thenApply(response -> (QueryResponseMessage<R>) response);
+        }
+    }
+
+    private class InvalidatingQueryUpdateEmitter implements QueryUpdateEmitter {
+
+        private final QueryUpdateEmitter delegate;
+
+        private InvalidatingQueryUpdateEmitter(QueryUpdateEmitter delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public <U> void emit(@Nonnull Predicate<SubscriptionQueryMessage<?, ?, U>> filter,
+                             @Nonnull SubscriptionQueryUpdateMessage<U> update) {
+            invalidateAfterCommit(filter);
+            delegate.emit(filter, update);
+        }
+
+        @Override
+        public void complete(@Nonnull Predicate<SubscriptionQueryMessage<?, ?, ?>> filter) {
+            delegate.complete(filter);
+        }
+
+        @Override
+        public void completeExceptionally(@Nonnull Predicate<SubscriptionQueryMessage<?, ?, ?>> filter,
+                                          @Nonnull Throwable cause) {
+            delegate.completeExceptionally(filter, cause);
+        }
+
+        @Override
+        public boolean queryUpdateHandlerRegistered(@Nonnull SubscriptionQueryMessage<?, ?, ?> query) {
+            return delegate.queryUpdateHandlerRegistered(query);
+        }
+
+        @SuppressWarnings("deprecation")
+        @Override
+        public <U> UpdateHandlerRegistration<U> registerUpdateHandler(SubscriptionQueryMessage<?, ?, ?> query,
+                                                                      SubscriptionQueryBackpressure backpressure,
+                                                                      int updateBufferSize) {
+            return delegate.registerUpdateHandler(query, backpressure, updateBufferSize);
+        }
+
+        @Override
+        public <U> UpdateHandlerRegistration<U> registerUpdateHandler(@Nonnull SubscriptionQueryMessage<?, ?, ?> query,
+                                                                      int updateBufferSize) {
+            return delegate.registerUpdateHandler(query, updateBufferSize);
+        }
+
+        @Override
+        public Set<SubscriptionQueryMessage<?, ?, ?>> activeSubscriptions() {
+            return delegate.activeSubscriptions();
+        }
+
+        @Override
+        public @Nonnull Registration registerDispatchInterceptor(
+                @Nonnull MessageDispatchInterceptor<? super SubscriptionQueryUpdateMessage<?>> interceptor) {
+            return delegate.registerDispatchInterceptor(interceptor);
+        }
+    }
+
+    /**
+     * Builder class to instantiate a {@link QueryResponseCache}.
+     * <p>
+     * The maximum size defaults to {@code 10000} entries, the time-to-live to one minute and the {@link Clock} to
+     * {@link Clock#systemUTC()}.
+     */
+    public static class Builder {
+
+        private int maximumSize = 10000;
+        private Duration timeToLive = Duration.ofMinutes(1);
+        private Clock clock = Clock.systemUTC();
+
+        /**
+         * Sets the maximum number of responses to retain. When exceeded, the least recently used response is evicted.
+         * Defaults to {@code 10000}.
+         *
+         * @param maximumSize the maximum number of responses to retain
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder maximumSize(int maximumSize) {
+            assertStrictPositive(maximumSize, "The maximum size should be a strictly positive number");
+            this.maximumSize = maximumSize;
+            return this;
+        }
+
+        /**
+         * Sets the duration a response is retained for, measured from the moment the query was dispatched. Defaults to
+         * one minute.
+         *
+         * @param timeToLive the duration responses are retained for
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder timeToLive(@Nonnull Duration timeToLive) {
+            assertNonNull(timeToLive, "The time-to-live may not be null");
+            assertThat(timeToLive, d -> !d.isNegative() && !d.isZero(),
+                       "The time-to-live should be a strictly positive duration");
+            this.timeToLive = timeToLive;
+            return this;
+        }
+
+        /**
+         * Sets the {@link Clock} used to determine expiry of responses. Defaults to {@link Clock#systemUTC()}.
+         *
+         * @param clock the {@link Clock} used to determine expiry of responses
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder clock(@Nonnull Clock clock) {
+            assertNonNull(clock, "Clock may not be null");
+            this.clock = clock;
+            return this;
+        }
+
+        /**
+         * Initializes a {@link QueryResponseCache} as specified through this Builder.
+         *
+         * @return a {@link QueryResponseCache} as specified through this Builder
+         */
+        public QueryResponseCache build() {
+            return new QueryResponseCache(this);
+        }
+
+        /**
+         * Validates whether the fields contained in this Builder are set accordingly.
+         *
+         * @throws AxonConfigurationException if one field is asserted to be incorrect according to the Builder's
+         *                                    specifications
+         */
+        protected void validate() throws AxonConfigurationException {
+            // Method kept for overriding
+        }
+    }
+}
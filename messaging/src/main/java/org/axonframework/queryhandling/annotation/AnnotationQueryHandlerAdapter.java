@@ -23,6 +23,8 @@
 import org.axonframework.messaging.annotation.HandlerDefinition;
 import org.axonframework.messaging.annotation.MessageHandlingMember;
 import org.axonframework.messaging.annotation.ParameterResolverFactory;
+import org.axonframework.queryhandling.CacheableQuery;
+import org.axonframework.queryhandling.CacheableQueryHandler;
 import org.axonframework.queryhandling.NoHandlerForQueryException;
 import org.axonframework.queryhandling.QueryBus;
 import org.axonframework.queryhandling.QueryHandler;
@@ -37,7 +39,8 @@
 /**
  * Adapter that turns any {@link QueryHandler @QueryHandler} annotated bean into a {@link MessageHandler}
  * implementation. Each annotated method is subscribed as a QueryHandler at the {@link QueryBus} for the query type
- * specified by the parameter/return type of that method.
+ * specified by the parameter/return type of that method. Methods that are also annotated with {@link CacheableQuery} are
+ * subscribed as a {@link CacheableQueryHandler}.
  *
  * @author Marc Gathier
  * @since 3.1
@@ -96,7 +99,7 @@ public Registration subscribe(@Nonnull QueryBus queryBus) {
                                                       .map(queryHandler -> queryBus.subscribe(
                                                               queryHandler.getQueryName(),
                                                               queryHandler.getResultType(),
-                                                              this
+                                                              subscribedHandler(queryHandler)
                                                       ))
                                                       .collect(Collectors.toList());
 
@@ -106,6 +109,10 @@ public Registration subscribe(@Nonnull QueryBus queryBus) {
                                   .orElse(false);
     }
 
+    private MessageHandler<QueryMessage<?, ?>> subscribedHandler(QueryHandlingMember<?> queryHandler) {
+        return queryHandler.hasAnnotation(CacheableQuery.class) ? new CacheableQueryHandler<>(this) : this;
+    }
+
     @Override
     public Object handle(QueryMessage<?, ?> message) throws Exception {
         MessageHandlingMember<? super T> handler =
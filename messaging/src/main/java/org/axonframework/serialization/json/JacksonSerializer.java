@@ -40,6 +40,7 @@
 import org.axonframework.serialization.UnknownSerializedType;
 
 import java.io.IOException;
+import java.io.InputStream;
 import javax.annotation.Nonnull;
 
 import static org.axonframework.common.BuilderUtils.assertNonNull;
@@ -201,6 +202,9 @@ public <S, T> T deserialize(@Nonnull SerializedObject<S> serializedObject) {
                 return getReader(type)
                         .readValue((JsonNode) serializedObject.getData());
             }
+            if (InputStream.class.isAssignableFrom(serializedObject.getContentType())) {
+                return getReader(type).readValue((InputStream) serializedObject.getData());
+            }
             SerializedObject<byte[]> byteSerialized = converter.convert(serializedObject, byte[].class);
             return getReader(type).readValue(byteSerialized.getData());
         } catch (IOException e) {
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2010-2024. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.tracing;
+
+import org.axonframework.messaging.Message;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * A {@link SpanSampler} that samples at most a fixed number of spans per second. Sampling decisions are made
+ * lock-free, by reserving a slot of {@code 1 / spansPerSecond} seconds per sampled span. Unused slots are carried over
+ * for at most one second, allowing short bursts.
+ *
+ * @author agent
+ * @see SpanSampler#rateLimited(int)
+ * @since 4.11.0
+ */
+public class RateLimitingSpanSampler implements SpanSampler {
+
+    private final long interval;
+    private final long maxBurst;
+    private final LongSupplier nanoClock;
+    private final AtomicLong nextSlot;
+
+    /**
+     * Creates a {@link RateLimitingSpanSampler} sampling at most the given {@code spansPerSecond}, measuring time with
+     * the given {@code nanoClock}.
+     *
+     * @param spansPerSecond the maximum number of spans to sample each second
+     * @param nanoClock      the clock providing the current time in nanoseconds
+     */
+    public RateLimitingSpanSampler(int spansPerSecond, LongSupplier nanoClock) {
+        if (spansPerSecond <= 0) {
+            throw new IllegalArgumentException("The number of spans per second should be strictly positive");
+        }
+        this.interval = TimeUnit.SECONDS.toNanos(1) / spansPerSecond;
+        this.maxBurst = TimeUnit.SECONDS.toNanos(1);
+        this.nanoClock = nanoClock;
+        this.nextSlot = new AtomicLong(nanoClock.getAsLong() - maxBurst);
+    }
+
+    @Override
+    public boolean sample(Message<?> message) {
+        long now = nanoClock.getAsLong();
+        while (true) {
+            long slot = nextSlot.get();
+            if (slot >= now) {
+                return false;
+            }
+            long next = Math.max(slot, now - maxBurst) + interval;
+            if (nextSlot.compareAndSet(slot, next)) {
+                return true;
+            }
+        }
+    }
+}
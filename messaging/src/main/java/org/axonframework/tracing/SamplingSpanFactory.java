@@ -0,0 +1,264 @@
+/*
+ * Copyright (c) 2010-2024. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.tracing;
+
+import org.axonframework.common.AxonConfigurationException;
+import org.axonframework.common.BuilderUtils;
+import org.axonframework.messaging.Message;
+
+import java.util.function.Supplier;
+import javax.annotation.Nonnull;
+
+/**
+ * Implementation of {@link SpanFactory} that wraps another factory and only creates spans for the messages selected by
+ * a {@link SpanSampler}. Spans that are not sampled are never created by the delegate, avoiding the cost of building
+ * them, evaluating their {@link SpanAttributesProvider attributes} and exporting them.
+ * <p>
+ * Sampling decisions are made at the head of the trace. The {@link Builder#rootTraceSampler(SpanSampler) root trace
+ * sampler} decides whether root traces, such as the trace of a batch processed by a streaming event processor, are
+ * recorded. Handler spans are decided upon by the {@link Builder#sampler(SpanSampler) sampler}, allowing a recorded
+ * batch trace to contain only the spans of the sampled events in it. Any other span follows the decision made for
+ * the span that is current on the thread creating it: nested spans of a span that was not sampled are not recorded
+ * either. Without a current span of this factory, the {@code sampler} decides.
+ *
+ * @author agent
+ * @since 4.11.0
+ */
+public class SamplingSpanFactory implements SpanFactory {
+
+    private static final ThreadLocal<Boolean> CURRENT_DECISION = new ThreadLocal<>();
+
+    private final SpanFactory delegateSpanFactory;
+    private final SpanSampler sampler;
+    private final SpanSampler rootTraceSampler;
+
+    /**
+     * Creates the {@link SamplingSpanFactory} based on the {@link Builder} provided.
+     *
+     * @param builder The {@link Builder} to use during construction.
+     */
+    protected SamplingSpanFactory(Builder builder) {
+        builder.validate();
+        this.delegateSpanFactory = builder.delegateSpanFactory;
+        this.sampler = builder.sampler;
+        this.rootTraceSampler = builder.rootTraceSampler;
+    }
+
+    /**
+     * Creates a new {@link Builder} that can build a {@link SamplingSpanFactory}.
+     * <p>
+     * Requires the delegate {@link SpanFactory} to be configured.
+     * <p>
+     * The {@code sampler} and {@code rootTraceSampler} default to {@link SpanSampler#always()}.
+     *
+     * @return The {@link Builder} in charge of creating a {@link SamplingSpanFactory}.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public Span createRootTrace(Supplier<String> operationNameSupplier) {
+        if (!rootTraceSampler.sample(null)) {
+            return new SampledSpan(NoOpSpanFactory.NoOpSpan.INSTANCE, false);
+        }
+        return new SampledSpan(delegateSpanFactory.createRootTrace(operationNameSupplier), true);
+    }
+
+    @Override
+    public Span createHandlerSpan(Supplier<String> operationNameSupplier, Message<?> parentMessage,
+                                  boolean isChildTrace, Message<?>... linkedParents) {
+        boolean sampled = !Boolean.FALSE.equals(CURRENT_DECISION.get()) && sampler.sample(parentMessage);
+        if (!sampled) {
+            return new SampledSpan(NoOpSpanFactory.NoOpSpan.INSTANCE, false);
+        }
+        return new SampledSpan(
+                delegateSpanFactory.createHandlerSpan(operationNameSupplier, parentMessage, isChildTrace, linkedParents),
+                true
+        );
+    }
+
+    @Override
+    public Span createDispatchSpan(Supplier<String> operationNameSupplier, Message<?> parentMessage,
+                                   Message<?>... linkedSiblings) {
+        if (!followCurrentDecision(parentMessage)) {
+            return new SampledSpan(NoOpSpanFactory.NoOpSpan.INSTANCE, false);
+        }
+        return new SampledSpan(
+                delegateSpanFactory.createDispatchSpan(operationNameSupplier, parentMessage, linkedSiblings), true
+        );
+    }
+
+    @Override
+    public Span createInternalSpan(Supplier<String> operationNameSupplier) {
+        if (!followCurrentDecision(null)) {
+            return new SampledSpan(NoOpSpanFactory.NoOpSpan.INSTANCE, false);
+        }
+        return new SampledSpan(delegateSpanFactory.createInternalSpan(operationNameSupplier), true);
+    }
+
+    @Override
+    public Span createInternalSpan(Supplier<String> operationNameSupplier, Message<?> message) {
+        if (!followCurrentDecision(message)) {
+            return new SampledSpan(NoOpSpanFactory.NoOpSpan.INSTANCE, false);
+        }
+        return new SampledSpan(delegateSpanFactory.createInternalSpan(operationNameSupplier, message), true);
+    }
+
+    private boolean followCurrentDecision(Message<?> message) {
+        Boolean currentDecision = CURRENT_DECISION.get();
+        return currentDecision != null ? currentDecision : sampler.sample(message);
+    }
+
+    @Override
+    public void registerSpanAttributeProvider(SpanAttributesProvider provider) {
+        delegateSpanFactory.registerSpanAttributeProvider(provider);
+    }
+
+    @Override
+    public <M extends Message<?>> M propagateContext(M message) {
+        return delegateSpanFactory.propagateContext(message);
+    }
+
+    /**
+     * A {@link Span} that registers the sampling decision made for it as the current decision for the duration of its
+     * scopes, so that nested spans follow that decision.
+     */
+    private static class SampledSpan implements Span {
+
+        private final Span delegate;
+        private final boolean sampled;
+
+        private SampledSpan(Span delegate, boolean sampled) {
+            this.delegate = delegate;
+            this.sampled = sampled;
+        }
+
+        @Override
+        public Span start() {
+            delegate.start();
+            return this;
+        }
+
+        @Override
+        public SpanScope makeCurrent() {
+            Boolean previousDecision = CURRENT_DECISION.get();
+            CURRENT_DECISION.set(sampled);
+            SpanScope delegateScope = delegate.makeCurrent();
+            return () -> {
+                delegateScope.close();
+                if (previousDecision == null) {
+                    CURRENT_DECISION.remove();
+                } else {
+                    CURRENT_DECISION.set(previousDecision);
+                }
+            };
+        }
+
+        @Override
+        public void end() {
+            delegate.end();
+        }
+
+        @Override
+        public Span recordException(Throwable t) {
+            delegate.recordException(t);
+            return this;
+        }
+
+        @Override
+        public Span addAttribute(String key, String value) {
+            delegate.addAttribute(key, value);
+            return this;
+        }
+    }
+
+    /**
+     * Builder class to instantiate a {@link SamplingSpanFactory}.
+     * <p>
+     * Requires the delegate {@link SpanFactory} to be configured.
+     * <p>
+     * The {@code sampler} and {@code rootTraceSampler} default to {@link SpanSampler#always()}.
+     */
+    public static class Builder {
+
+        private SpanFactory delegateSpanFactory;
+        private SpanSampler sampler = SpanSampler.always();
+        private SpanSampler rootTraceSampler = SpanSampler.always();
+
+        /**
+         * Defines the delegate {@link SpanFactory} to use, which actually provides the sampled spans. This delegate is
+         * required for the builder to be built correctly.
+         *
+         * @param spanFactory The {@link SpanFactory} to configure for use.
+         * @return The current Builder instance, for fluent interfacing.
+         */
+        public Builder delegate(@Nonnull SpanFactory spanFactory) {
+            BuilderUtils.assertNonNull(spanFactory, "The spanFactory should not be null");
+            this.delegateSpanFactory = spanFactory;
+            return this;
+        }
+
+        /**
+         * Configures the {@link SpanSampler} deciding whether handler spans, and spans created without a current span
+         * of this factory, are recorded. Defaults to {@link SpanSampler#always()}.
+         *
+         * @param sampler The {@link SpanSampler} deciding on spans of messages.
+         * @return The current Builder instance, for fluent interfacing.
+         */
+        public Builder sampler(@Nonnull SpanSampler sampler) {
+            BuilderUtils.assertNonNull(sampler, "The sampler should not be null");
+            this.sampler = sampler;
+            return this;
+        }
+
+        /**
+         * Configures the {@link SpanSampler} deciding whether root traces are recorded. The sampler is invoked with a
+         * {@code null} message. Defaults to {@link SpanSampler#always()}.
+         * <p>
+         * When streaming event processors handle events in small batches, consider sampling root traces as well, as
+         * each batch starts a root trace.
+         *
+         * @param rootTraceSampler The {@link SpanSampler} deciding on root traces.
+         * @return The current Builder instance, for fluent interfacing.
+         */
+        public Builder rootTraceSampler(@Nonnull SpanSampler rootTraceSampler) {
+            BuilderUtils.assertNonNull(rootTraceSampler, "The rootTraceSampler should not be null");
+            this.rootTraceSampler = rootTraceSampler;
+            return this;
+        }
+
+        /**
+         * Executes the builder's configuration, creating the {@link SamplingSpanFactory}.
+         *
+         * @return The span factory.
+         */
+        public SamplingSpanFactory build() {
+            return new SamplingSpanFactory(this);
+        }
+
+        /**
+         * Validates whether the fields contained in this Builder are set accordingly.
+         *
+         * @throws AxonConfigurationException if one field is asserted to be incorrect, according to the Builder's
+         *                                    specifications
+         */
+        protected void validate() {
+            BuilderUtils.assertNonNull(delegateSpanFactory, "The delegate SpanFactory should be provided to the builder");
+        }
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2010-2024. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.tracing;
+
+import org.axonframework.messaging.Message;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Decides whether a trace should be recorded, used by the {@link SamplingSpanFactory} before creating a {@link Span}.
+ * Declining to sample a span avoids the cost of creating it, of evaluating its
+ * {@link SpanAttributesProvider attributes} and of exporting it.
+ *
+ * @author agent
+ * @since 4.11.0
+ */
+@FunctionalInterface
+public interface SpanSampler {
+
+    /**
+     * Indicates whether a span for the given {@code message} should be recorded. The {@code message} is {@code null}
+     * for spans that do not relate to a message, such as root traces.
+     *
+     * @param message the message the span is created for, or {@code null} if the span does not relate to a message
+     * @return {@code true} if the span should be recorded, {@code false} otherwise
+     */
+    boolean sample(@Nullable Message<?> message);
+
+    /**
+     * Returns a {@link SpanSampler} that samples all spans.
+     *
+     * @return a {@link SpanSampler} that samples all spans
+     */
+    static SpanSampler always() {
+        return message -> true;
+    }
+
+    /**
+     * Returns a {@link SpanSampler} that does not sample any span.
+     *
+     * @return a {@link SpanSampler} that does not sample any span
+     */
+    static SpanSampler never() {
+        return message -> false;
+    }
+
+    /**
+     * Returns a {@link SpanSampler} sampling the given {@code ratio} of spans. The decision for spans of a message is
+     * based on the message's identifier, so that all applications using the same ratio make the same decision for the
+     * same message. Spans that do not relate to a message are sampled randomly.
+     *
+     * @param ratio the ratio of spans to sample, between {@code 0} and {@code 1}
+     * @return a {@link SpanSampler} sampling the given {@code ratio} of spans
+     */
+    static SpanSampler ratio(double ratio) {
+        if (ratio < 0 || ratio > 1) {
+            throw new IllegalArgumentException("The ratio should be between 0 and 1, but was " + ratio);
+        }
+        if (ratio == 1) {
+            return always();
+        }
+        long threshold = (long) (ratio * (1L << 31));
+        return message -> {
+            int hash = message == null
+                    ? ThreadLocalRandom.current().nextInt()
+                    : message.getIdentifier().hashCode() * 0x9E3779B9;
+            return (hash & Integer.MAX_VALUE) < threshold;
+        };
+    }
+
+    /**
+     * Returns a {@link SpanSampler} sampling at most the given {@code spansPerSecond}.
+     *
+     * @param spansPerSecond the maximum number of spans to sample each second
+     * @return a {@link SpanSampler} sampling at most the given {@code spansPerSecond}
+     */
+    static SpanSampler rateLimited(int spansPerSecond) {
+        return new RateLimitingSpanSampler(spansPerSecond, System::nanoTime);
+    }
+
+    /**
+     * Returns a {@link SpanSampler} that delegates the decision for messages to the sampler registered for their
+     * {@link Message#getPayloadType() payload type}. Messages of other payload types, and spans that do not relate to
+     * a message, are sampled by the given {@code defaultSampler}.
+     *
+     * @param samplersPerPayloadType the samplers to use for the payload types in the keys
+     * @param defaultSampler         the sampler for messages of other payload types and spans without message
+     * @return a {@link SpanSampler} deciding per payload type
+     */
+    static SpanSampler perPayloadType(@Nonnull Map<Class<?>, SpanSampler> samplersPerPayloadType,
+                                      @Nonnull SpanSampler defaultSampler) {
+        Map<Class<?>, SpanSampler> samplers = new HashMap<>(samplersPerPayloadType);
+        return message -> message == null
+                ? defaultSampler.sample(null)
+                : samplers.getOrDefault(message.getPayloadType(), defaultSampler).sample(message);
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2010-2024. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.commandhandling.distributed;
+
+import org.axonframework.commandhandling.CommandCallback;
+import org.axonframework.commandhandling.CommandMessage;
+import org.axonframework.commandhandling.CommandResultMessage;
+import org.axonframework.commandhandling.GenericCommandMessage;
+import org.axonframework.commandhandling.SimpleCommandBus;
+import org.axonframework.messaging.GenericMessage;
+import org.junit.jupiter.api.*;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class validating the {@link BatchingCommandBusConnector} in combination with the
+ * {@link LocalCommandBusConnector}.
+ *
+ * @author agent
+ */
+class BatchingCommandBusConnectorTest {
+
+    private LocalCommandBusConnector remoteConnector;
+    private Member remoteMember;
+    private LocalCommandBusConnector localConnector;
+    private List<CommandResultMessage<?>> results;
+    private CommandCallback<Object, Object> callback;
+
+    private BatchingCommandBusConnector testSubject;
+
+    @BeforeEach
+    void setUp() {
+        SimpleCommandBus remoteBus = SimpleCommandBus.builder().build();
+        remoteBus.subscribe("command", command -> "handled " + command.getPayload());
+        remoteConnector = LocalCommandBusConnector.builder().localSegment(remoteBus).build();
+        remoteMember = spy(new SimpleMember<>("remote", remoteConnector, SimpleMember.REMOTE_MEMBER, null));
+        localConnector = LocalCommandBusConnector.builder()
+                                                 .localSegment(SimpleCommandBus.builder().build())
+                                                 .build();
+        results = new CopyOnWriteArrayList<>();
+        callback = (command, result) -> results.add(result);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (testSubject != null) {
+            testSubject.initiateShutdown();
+        }
+    }
+
+    @Test
+    void fullBatchIsSentAsSingleFrame() throws Exception {
+        testSubject = BatchingCommandBusConnector.builder()
+                                                 .delegate(localConnector)
+                                                 .maxBatchSize(3)
+                                                 .batchWindow(Duration.ofHours(1))
+                                                 .build();
+
+        for (int i = 0; i < 3; i++) {
+            testSubject.send(remoteMember, command("payload" + i), callback);
+        }
+
+        assertEquals(1, remoteConnector.receivedFrames());
+        assertEquals(3, remoteConnector.receivedCommands());
+        assertEquals(3, results.size());
+        for (int i = 0; i < 3; i++) {
+            assertEquals("handled payload" + i, results.get(i).getPayload());
+        }
+    }
+
+    @Test
+    void batchIsSentOnceWindowPasses() throws Exception {
+        testSubject = BatchingCommandBusConnector.builder()
+                                                 .delegate(localConnector)
+                                                 .batchWindow(Duration.ofMillis(10))
+                                                 .build();
+
+        testSubject.send(remoteMember, command("first"), callback);
+        testSubject.send(remoteMember, command("second"));
+
+        await().atMost(Duration.ofSeconds(1)).until(() -> remoteConnector.receivedCommands() == 2);
+        assertEquals(1, remoteConnector.receivedFrames());
+        assertEquals(1, results.size());
+    }
+
+    @Test
+    void pendingBatchesAreSentOnShutdown() throws Exception {
+        testSubject = BatchingCommandBusConnector.builder()
+                                                 .delegate(localConnector)
+                                                 .batchWindow(Duration.ofHours(1))
+                                                 .build();
+
+        testSubject.send(remoteMember, command("payload"), callback);
+        assertEquals(0, remoteConnector.receivedFrames());
+
+        testSubject.initiateShutdown();
+
+        assertEquals(1, remoteConnector.receivedFrames());
+        assertEquals(1, results.size());
+    }
+
+    @Test
+    void commandsForLocalMemberAreNotBatched() throws Exception {
+        testSubject = BatchingCommandBusConnector.builder()
+                                                 .delegate(remoteConnector)
+                                                 .batchWindow(Duration.ofHours(1))
+                                                 .build();
+        Member localMember = new SimpleMember<>("local", null, SimpleMember.LOCAL_MEMBER, null);
+
+        testSubject.send(localMember, command("payload"), callback);
+
+        assertEquals(1, remoteConnector.receivedFrames());
+        assertEquals("handled payload", results.get(0).getPayload());
+    }
+
+    @Test
+    void failedBatchIsReportedToEachCallback() throws Exception {
+        CommandBusConnector failingConnector = mock(CommandBusConnector.class);
+        doThrow(new CommandBusConnectorCommunicationException("oops")).when(failingConnector)
+                                                                      .sendBatch(any(), any());
+        testSubject = BatchingCommandBusConnector.builder()
+                                                 .delegate(failingConnector)
+                                                 .maxBatchSize(2)
+                                                 .batchWindow(Duration.ofHours(1))
+                                                 .build();
+
+        testSubject.send(remoteMember, command("first"), callback);
+        testSubject.send(remoteMember, command("second"), callback);
+
+        assertEquals(2, results.size());
+        results.forEach(result -> {
+            assertTrue(result.isExceptional());
+            assertTrue(result.exceptionResult() instanceof CommandDispatchException);
+        });
+        verify(remoteMember).suspect();
+    }
+
+    private static CommandMessage<Object> command(Object payload) {
+        return new GenericCommandMessage<>(new GenericMessage<>(payload), "command");
+    }
+}
@@ -111,6 +111,65 @@ void conflictingHashesDoNotImpactMembership() {
         assertEquals(consistentHash.getMembers(), consistentHashModified.getMembers());
     }
 
+    @Test
+    void messageRoutedUsingContentBasedFilter() {
+        ConsistentHash consistentHash =
+                new ConsistentHash().with(member1, 2, message -> "other".equals(message.getPayload()))
+                                    .with(member2, 2, AcceptAll.INSTANCE);
+
+        Optional<Member> actual = consistentHash.getMember("routingKey", new GenericCommandMessage<>(new GenericMessage<>("test"), "name1"));
+        assertTrue(actual.isPresent());
+        assertEquals("member2", actual.get().name());
+
+        actual = consistentHash.getMember("routingKey", new GenericCommandMessage<>(new GenericMessage<>("other"), "name1"));
+        assertTrue(actual.isPresent());
+        assertEquals("member1", actual.get().name());
+    }
+
+    @Test
+    void eligibilityIsTrackedForManyMembers() {
+        ConsistentHash consistentHash = ConsistentHash.usingPositionFunction(ConsistentHash::nonCryptographicPosition);
+        for (int i = 0; i < 100; i++) {
+            String commandName = i == 70 ? "name70" : "other";
+            consistentHash = consistentHash.with(new SimpleMember<>("member" + i, "", false, null), 10, new CommandNameFilter(commandName));
+        }
+
+        for (int i = 0; i < 20; i++) {
+            Optional<Member> actual = consistentHash.getMember("key" + i, new GenericCommandMessage<>(new GenericMessage<>("test"), "name70"));
+            assertTrue(actual.isPresent());
+            assertEquals("member70", actual.get().name());
+        }
+    }
+
+    @Test
+    void nonCryptographicPositionRoutesConsistently() {
+        ConsistentHash consistentHash = ConsistentHash.usingPositionFunction(ConsistentHash::nonCryptographicPosition)
+                                                      .with(member1, 10, AcceptAll.INSTANCE)
+                                                      .with(member2, 10, AcceptAll.INSTANCE);
+        GenericCommandMessage<String> command = new GenericCommandMessage<>(new GenericMessage<>("test"), "name1");
+
+        for (int i = 0; i < 20; i++) {
+            Optional<Member> first = consistentHash.getMember("key" + i, command);
+            Optional<Member> second = consistentHash.getMember("key" + i, command);
+            assertTrue(first.isPresent());
+            assertEquals(first.get().name(), second.get().name());
+            assertEquals(first.get().name(), consistentHash.getEligibleMembers("key" + i).iterator().next().name());
+        }
+        assertEquals(2, consistentHash.getEligibleMembers("key").size());
+    }
+
+    @Test
+    void md5PositionOrdersLikeHexHash() {
+        String[] keys = {"routingKey", "someOtherKey", "member1 #0", "member2 #1"};
+        for (String first : keys) {
+            for (String second : keys) {
+                assertEquals(Integer.signum(ConsistentHash.hash(first).compareTo(ConsistentHash.hash(second))),
+                             Integer.signum(Long.compareUnsigned(ConsistentHash.md5Position(first),
+                                                                 ConsistentHash.md5Position(second))));
+            }
+        }
+    }
+
     @Test
     void notEqualsForModifiedInstanceWithDefaultInstance() throws Exception {
         ConsistentHash consistentHash = new ConsistentHash(s -> "fixed").with(member1, 1, AcceptAll.INSTANCE);
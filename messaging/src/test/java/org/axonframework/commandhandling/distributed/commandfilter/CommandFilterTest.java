@@ -18,6 +18,7 @@
 
 import org.axonframework.commandhandling.CommandMessage;
 import org.axonframework.commandhandling.GenericCommandMessage;
+import org.axonframework.commandhandling.distributed.CommandMessageFilter;
 import org.axonframework.messaging.GenericMessage;
 import org.junit.jupiter.api.*;
 
@@ -110,4 +111,23 @@ void denyCommandNameFilter() {
         assertFalse(filterAcceptable.and(DenyAll.INSTANCE).matches(testCommand));
         assertFalse(filterAcceptable.and(AcceptAll.INSTANCE).matches(testCommand));
     }
+
+    @Test
+    void commandNameBasedFiltersAreRecognizedThroughCombinations() {
+        CommandNameFilter nameFilter = new CommandNameFilter("acceptable");
+        CommandMessageFilter contentFilter = command -> command.getPayload() != null;
+
+        assertTrue(AcceptAll.INSTANCE.dependsOnCommandNameOnly());
+        assertTrue(DenyAll.INSTANCE.dependsOnCommandNameOnly());
+        assertTrue(nameFilter.dependsOnCommandNameOnly());
+        assertTrue(nameFilter.negate().dependsOnCommandNameOnly());
+        assertTrue(new AndCommandMessageFilter(nameFilter, AcceptAll.INSTANCE).dependsOnCommandNameOnly());
+        assertTrue(new OrCommandMessageFilter(nameFilter, DenyAll.INSTANCE).dependsOnCommandNameOnly());
+        assertTrue(new NegateCommandMessageFilter(nameFilter).dependsOnCommandNameOnly());
+
+        assertFalse(contentFilter.dependsOnCommandNameOnly());
+        assertFalse(new AndCommandMessageFilter(nameFilter, contentFilter).dependsOnCommandNameOnly());
+        assertFalse(new OrCommandMessageFilter(contentFilter, nameFilter).dependsOnCommandNameOnly());
+        assertFalse(new NegateCommandMessageFilter(contentFilter).dependsOnCommandNameOnly());
+    }
 }
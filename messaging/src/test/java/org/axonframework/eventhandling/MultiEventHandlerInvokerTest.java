@@ -20,6 +20,7 @@
 import org.mockito.*;
 
 import java.util.List;
+import java.util.OptionalInt;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -56,6 +57,30 @@ void setUp() {
         testSubject = new MultiEventHandlerInvoker(mockedEventHandlerInvokerOne, mockedEventHandlerInvokerTwo);
     }
 
+    @Test
+    void sequenceIdentifierHashIsReturnedWhenAllDelegatesAgree() {
+        when(mockedEventHandlerInvokerOne.sequenceIdentifierHash(testEventMessage)).thenReturn(OptionalInt.of(42));
+        when(mockedEventHandlerInvokerTwo.sequenceIdentifierHash(testEventMessage)).thenReturn(OptionalInt.of(42));
+
+        assertEquals(OptionalInt.of(42), testSubject.sequenceIdentifierHash(testEventMessage));
+    }
+
+    @Test
+    void sequenceIdentifierHashIsEmptyWhenDelegatesDisagree() {
+        when(mockedEventHandlerInvokerOne.sequenceIdentifierHash(testEventMessage)).thenReturn(OptionalInt.of(42));
+        when(mockedEventHandlerInvokerTwo.sequenceIdentifierHash(testEventMessage)).thenReturn(OptionalInt.of(7));
+
+        assertFalse(testSubject.sequenceIdentifierHash(testEventMessage).isPresent());
+    }
+
+    @Test
+    void sequenceIdentifierHashIsEmptyWhenAnyDelegateCannotResolveIt() {
+        when(mockedEventHandlerInvokerOne.sequenceIdentifierHash(testEventMessage)).thenReturn(OptionalInt.of(42));
+        when(mockedEventHandlerInvokerTwo.sequenceIdentifierHash(testEventMessage)).thenReturn(OptionalInt.empty());
+
+        assertFalse(testSubject.sequenceIdentifierHash(testEventMessage).isPresent());
+    }
+
     @Test
     void delegatesReturnsSetDelegates() {
         List<EventHandlerInvoker> result = testSubject.delegates();
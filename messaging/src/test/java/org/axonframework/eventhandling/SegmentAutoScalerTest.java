@@ -0,0 +1,234 @@
+/*
+ * Copyright (c) 2010-2024. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.axonframework.eventhandling;
+
+import org.axonframework.common.AxonConfigurationException;
+import org.axonframework.eventhandling.tokenstore.TokenStore;
+import org.axonframework.eventhandling.tokenstore.UnableToClaimTokenException;
+import org.axonframework.messaging.StreamableMessageSource;
+import org.junit.jupiter.api.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class validating the {@link SegmentAutoScaler}.
+ *
+ * @author agent
+ */
+class SegmentAutoScalerTest {
+
+    private static final String PROCESSOR_NAME = "test";
+    private static final String LOCK_NAME = SegmentAutoScaler.LOCK_PREFIX + PROCESSOR_NAME;
+
+    private StreamingEventProcessor processor;
+    private StreamableMessageSource<TrackedEventMessage<?>> messageSource;
+    private TokenStore tokenStore;
+    private Map<Integer, EventTrackerStatus> processingStatus;
+
+    private SegmentAutoScaler testSubject;
+
+    @BeforeEach
+    void setUp() {
+        //noinspection unchecked
+        messageSource = mock(StreamableMessageSource.class);
+        tokenStore = mock(TokenStore.class);
+        processor = mock(StreamingEventProcessor.class);
+        processingStatus = new HashMap<>();
+
+        when(processor.getName()).thenReturn(PROCESSOR_NAME);
+        when(processor.isRunning()).thenReturn(true);
+        when(processor.processingStatus()).thenReturn(processingStatus);
+        when(processor.splitSegment(anyInt())).thenReturn(CompletableFuture.completedFuture(true));
+        when(processor.mergeSegment(anyInt())).thenReturn(CompletableFuture.completedFuture(true));
+        when(messageSource.createHeadToken()).thenReturn(new GlobalSequenceTrackingToken(1000));
+        when(tokenStore.fetchSegments(LOCK_NAME)).thenReturn(new int[]{0});
+        when(tokenStore.fetchSegments(PROCESSOR_NAME)).thenReturn(new int[]{0, 1});
+
+        testSubject = SegmentAutoScaler.builder()
+                                       .processor(processor)
+                                       .messageSource(messageSource)
+                                       .tokenStore(tokenStore)
+                                       .minSegments(1)
+                                       .maxSegments(4)
+                                       .splitLagThreshold(500)
+                                       .mergeLagThreshold(10)
+                                       .coldRounds(2)
+                                       .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        testSubject.shutdown();
+    }
+
+    @Test
+    void evaluateSplitsSegmentWithHighestLagAboveThreshold() {
+        addStatus(0, 1, 100);
+        addStatus(1, 1, 300);
+
+        assertTrue(testSubject.evaluate());
+
+        verify(processor).splitSegment(0);
+        verify(tokenStore).fetchToken(LOCK_NAME, 0);
+        verify(tokenStore).releaseClaim(LOCK_NAME, 0);
+    }
+
+    @Test
+    void evaluateDoesNotSplitWhenMaximumNumberOfSegmentsIsReached() {
+        when(tokenStore.fetchSegments(PROCESSOR_NAME)).thenReturn(new int[]{0, 1, 2, 3});
+        addStatus(0, 1, 100);
+
+        assertFalse(testSubject.evaluate());
+
+        verify(processor, never()).splitSegment(anyInt());
+        verify(tokenStore).releaseClaim(LOCK_NAME, 0);
+    }
+
+    @Test
+    void evaluateDoesNotActWhenLagIsBetweenThresholds() {
+        addStatus(0, 1, 800);
+        addStatus(1, 1, 600);
+
+        assertFalse(testSubject.evaluate());
+        assertFalse(testSubject.evaluate());
+
+        verify(processor, never()).splitSegment(anyInt());
+        verify(processor, never()).mergeSegment(anyInt());
+        verify(tokenStore, never()).fetchToken(eq(LOCK_NAME), anyInt());
+    }
+
+    @Test
+    void evaluateMergesSiblingSegmentsOnceIdleForConfiguredRounds() {
+        addStatus(0, 1, 995);
+        addStatus(1, 1, 1000);
+
+        assertFalse(testSubject.evaluate());
+        verify(processor, never()).mergeSegment(anyInt());
+
+        assertTrue(testSubject.evaluate());
+        verify(processor).mergeSegment(0);
+    }
+
+    @Test
+    void evaluateDoesNotMergeWhenSiblingIsNotClaimedLocally() {
+        addStatus(0, 1, 1000);
+
+        assertFalse(testSubject.evaluate());
+        assertFalse(testSubject.evaluate());
+        assertFalse(testSubject.evaluate());
+
+        verify(processor, never()).mergeSegment(anyInt());
+    }
+
+    @Test
+    void evaluateDoesNotMergeBelowMinimumNumberOfSegments() {
+        testSubject = SegmentAutoScaler.builder()
+                                       .processor(processor)
+                                       .messageSource(messageSource)
+                                       .tokenStore(tokenStore)
+                                       .minSegments(2)
+                                       .splitLagThreshold(500)
+                                       .mergeLagThreshold(10)
+                                       .coldRounds(1)
+                                       .build();
+        addStatus(0, 1, 1000);
+        addStatus(1, 1, 1000);
+
+        assertFalse(testSubject.evaluate());
+
+        verify(processor, never()).mergeSegment(anyInt());
+    }
+
+    @Test
+    void evaluateSkipsActionWhenAnotherInstanceHoldsTheLock() {
+        when(tokenStore.fetchToken(LOCK_NAME, 0)).thenThrow(new UnableToClaimTokenException("claimed"));
+        addStatus(0, 1, 100);
+
+        assertFalse(testSubject.evaluate());
+
+        verify(processor, never()).splitSegment(anyInt());
+        verify(tokenStore, never()).releaseClaim(LOCK_NAME, 0);
+    }
+
+    @Test
+    void evaluateInitializesLockEntryWhenAbsent() {
+        when(tokenStore.fetchSegments(LOCK_NAME)).thenReturn(new int[0]);
+        addStatus(0, 1, 100);
+
+        assertTrue(testSubject.evaluate());
+
+        verify(tokenStore).initializeTokenSegments(LOCK_NAME, 1);
+        verify(processor).splitSegment(0);
+    }
+
+    @Test
+    void evaluateIgnoresSegmentsInErrorState() {
+        Segment segment = Segment.computeSegment(0, 0, 1);
+        processingStatus.put(0, new TrackerStatus(segment, false, new GlobalSequenceTrackingToken(100),
+                                                  new RuntimeException("faulty")));
+
+        assertFalse(testSubject.evaluate());
+
+        verify(processor, never()).splitSegment(anyInt());
+    }
+
+    @Test
+    void evaluateDoesNothingWhenProcessorIsNotRunning() {
+        when(processor.isRunning()).thenReturn(false);
+        addStatus(0, 1, 100);
+
+        assertFalse(testSubject.evaluate());
+
+        verifyNoInteractions(tokenStore);
+    }
+
+    @Test
+    void buildingWithMinimumAboveMaximumSegmentsThrowsAxonConfigurationException() {
+        SegmentAutoScaler.Builder builder = SegmentAutoScaler.builder()
+                                                             .processor(processor)
+                                                             .messageSource(messageSource)
+                                                             .tokenStore(tokenStore)
+                                                             .minSegments(8)
+                                                             .maxSegments(4);
+
+        assertThrows(AxonConfigurationException.class, builder::build);
+    }
+
+    @Test
+    void buildingWithMergeThresholdAboveSplitThresholdThrowsAxonConfigurationException() {
+        SegmentAutoScaler.Builder builder = SegmentAutoScaler.builder()
+                                                             .processor(processor)
+                                                             .messageSource(messageSource)
+                                                             .tokenStore(tokenStore)
+                                                             .splitLagThreshold(100)
+                                                             .mergeLagThreshold(100);
+
+        assertThrows(AxonConfigurationException.class, builder::build);
+    }
+
+    private void addStatus(int segmentId, int mask, long position) {
+        Segment segment = Segment.computeSegment(segmentId, 0, 1);
+        assertEquals(mask, segment.getMask());
+        processingStatus.put(segmentId, new TrackerStatus(segment, new GlobalSequenceTrackingToken(position)));
+    }
+}
@@ -17,12 +17,16 @@
 package org.axonframework.eventhandling;
 
 import org.axonframework.common.AxonConfigurationException;
+import org.axonframework.messaging.unitofwork.DefaultUnitOfWork;
+import org.axonframework.messaging.unitofwork.UnitOfWork;
 import org.junit.jupiter.api.*;
 import org.mockito.*;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.OptionalInt;
 
+import static org.axonframework.utils.EventTestUtils.AGGREGATE;
 import static org.axonframework.utils.EventTestUtils.createEvent;
 import static org.axonframework.utils.EventTestUtils.createEvents;
 import static org.junit.jupiter.api.Assertions.*;
@@ -79,6 +83,34 @@ void repeatedEventPublication() throws Exception {
         inOrder.verifyNoMoreInteractions();
     }
 
+    @Test
+    void handlerInvocationsAreReportedToAttachedTimer() throws Exception {
+        testSubject = SimpleEventHandlerInvoker.builder()
+                                               .eventHandlers(mockHandler1, mockHandler2)
+                                               .build();
+        StreamingProcessorInstrumentation instrumentation = mock(StreamingProcessorInstrumentation.class);
+        EventMessage<?> event = createEvent();
+        UnitOfWork<EventMessage<?>> unitOfWork = DefaultUnitOfWork.startAndGet(event);
+        HandlerInvocationTimer.attach(unitOfWork, instrumentation, "processor", 3);
+        try {
+            testSubject.handle(event, Segment.ROOT_SEGMENT);
+        } finally {
+            unitOfWork.rollback();
+        }
+
+        verify(instrumentation, times(2)).handlerInvoked(eq("processor"), eq(3), any(), anyLong());
+    }
+
+    @Test
+    void sequenceIdentifierHashIsTheHashOfTheSequenceIdentifier() {
+        EventMessage<?> event = createEvent();
+
+        OptionalInt result = testSubject.sequenceIdentifierHash(event);
+
+        assertTrue(result.isPresent());
+        assertEquals(AGGREGATE.hashCode(), result.getAsInt());
+    }
+
     @Test
     void performReset() {
         testSubject.performReset();
@@ -22,6 +22,7 @@
 import org.axonframework.messaging.unitofwork.UnitOfWork;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
 import org.mockito.InOrder;
 import org.mockito.Mockito;
 
@@ -29,13 +30,20 @@
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.function.Consumer;
 
+import static org.awaitility.Awaitility.await;
 import static org.axonframework.utils.EventTestUtils.createEvent;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.*;
 
 /**
@@ -129,4 +137,70 @@ void eventsScheduledForHandlingWhenSurroundingUnitOfWorkCommits() {
 
         verify(executor, times(2)).execute(isA(Runnable.class));
     }
+
+    @Test
+    void partitionedModeProcessesEventsOfOneLaneInSingleTask() {
+        testSubject = new AsynchronousEventProcessingStrategy(executor, new SequentialPerAggregatePolicy(), 1, 10);
+        EventMessage<?> message1 = createEvent("aggregate1", 1);
+        EventMessage<?> message2 = createEvent("aggregate2", 1);
+        //noinspection unchecked
+        Consumer<List<? extends EventMessage<?>>> processor = mock(Consumer.class);
+
+        testSubject.handle(Arrays.asList(message1, message2), processor);
+
+        verify(executor, times(1)).execute(isA(Runnable.class));
+        verify(processor).accept(Arrays.asList(message1, message2));
+    }
+
+    @Test
+    void partitionedModeContinuesWithNextBatchAfterProcessingFailure() {
+        testSubject = new AsynchronousEventProcessingStrategy(executor, new SequentialPerAggregatePolicy(), 1, 10);
+        EventMessage<?> message1 = createEvent("aggregate1", 1);
+        EventMessage<?> message2 = createEvent("aggregate1", 2);
+        //noinspection unchecked
+        Consumer<List<? extends EventMessage<?>>> processor = mock(Consumer.class);
+        doThrow(new IllegalStateException("mock")).when(processor).accept(Collections.singletonList(message1));
+
+        testSubject.handle(Collections.singletonList(message1), processor);
+        testSubject.handle(Collections.singletonList(message2), processor);
+
+        verify(processor).accept(Collections.singletonList(message2));
+    }
+
+    @Test
+    @Timeout(value = 5)
+    void partitionedModeBlocksPublisherWhenLaneIsFull() throws Exception {
+        ExecutorService laneExecutor = Executors.newSingleThreadExecutor();
+        try {
+            testSubject = new AsynchronousEventProcessingStrategy(laneExecutor, new SequentialPolicy(), 1, 1);
+            CountDownLatch processingStarted = new CountDownLatch(1);
+            CountDownLatch releaseProcessing = new CountDownLatch(1);
+            List<EventMessage<?>> processed = Collections.synchronizedList(new ArrayList<>());
+            Consumer<List<? extends EventMessage<?>>> processor = events -> {
+                processingStarted.countDown();
+                try {
+                    releaseProcessing.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                processed.addAll(events);
+            };
+            EventMessage<?> message1 = createEvent(1);
+            EventMessage<?> message2 = createEvent(2);
+
+            testSubject.handle(Collections.singletonList(message1), processor);
+            processingStarted.await();
+            CompletableFuture<Void> secondPublication = CompletableFuture.runAsync(
+                    () -> testSubject.handle(Collections.singletonList(message2), processor)
+            );
+
+            assertThrows(TimeoutException.class, () -> secondPublication.get(100, TimeUnit.MILLISECONDS));
+            releaseProcessing.countDown();
+            secondPublication.get();
+            await().atMost(Duration.ofSeconds(1)).until(() -> processed.size() == 2);
+            assertEquals(Arrays.asList(message1, message2), processed);
+        } finally {
+            laneExecutor.shutdownNow();
+        }
+    }
 }
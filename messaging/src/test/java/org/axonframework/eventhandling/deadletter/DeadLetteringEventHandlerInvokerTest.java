@@ -42,12 +42,23 @@
 import java.time.Clock;
 import java.time.Instant;
 import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.function.UnaryOperator;
 
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
 import static org.axonframework.utils.EventTestUtils.createEvent;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -245,6 +256,159 @@ void handleMethodHandlesEventJustFineWithCacheTryAgainToQueueAfterCleaned() thro
         verifyNoInteractions(transactionManager);
     }
 
+    @Test
+    void handleMethodSkipsQueueForSequencesNotInTheFilter() throws Exception {
+        setTestSubject(createTestSubject(DeadLetteringEventHandlerInvoker.Builder::enableSequenceIdentifierFilter));
+        DeadLetter<? extends EventMessage<?>> presentLetter = new GenericDeadLetter<>("foo", createEvent("foo", 1));
+        when(queue.deadLetters()).thenReturn(singletonList(singletonList(presentLetter)));
+        when(queue.enqueueIfPresent(any(), any())).thenReturn(true);
+
+        testSubject.handle(createEvent("foo", 2), Segment.ROOT_SEGMENT);
+        testSubject.handle(createEvent("bar", 2), Segment.ROOT_SEGMENT);
+
+        verify(queue).enqueueIfPresent(eq("foo"), any());
+        verify(queue, never()).enqueueIfPresent(eq("bar"), any());
+        verify(handler).handle(argThat(e -> "bar".equals(((DomainEventMessage<?>) e).getAggregateIdentifier())));
+        verify(queue, times(1)).deadLetters();
+    }
+
+    @Test
+    void handleMethodAddsNewlyEnqueuedSequenceToTheFilter() throws Exception {
+        setTestSubject(createTestSubject(DeadLetteringEventHandlerInvoker.Builder::enableSequenceIdentifierFilter));
+        when(queue.deadLetters()).thenReturn(emptyList());
+        when(enqueuePolicy.decide(any(), any())).thenReturn(Decisions.enqueue());
+        doThrow(new RuntimeException("oops")).when(handler).handle(TEST_EVENT);
+
+        testSubject.handle(TEST_EVENT, Segment.ROOT_SEGMENT);
+        verify(queue, never()).enqueueIfPresent(any(), any());
+        verify(queue).enqueue(eq(TEST_SEQUENCE_ID), any());
+
+        testSubject.handle(nextMessage(TEST_EVENT), Segment.ROOT_SEGMENT);
+        verify(queue).enqueueIfPresent(eq(TEST_SEQUENCE_ID), any());
+    }
+
+    @Test
+    void handleMethodReloadsFilterWhenSegmentIsClaimedAgain() throws Exception {
+        setTestSubject(createTestSubject(DeadLetteringEventHandlerInvoker.Builder::enableSequenceIdentifierFilter));
+        when(queue.deadLetters()).thenReturn(emptyList());
+
+        testSubject.handle(TEST_EVENT, Segment.ROOT_SEGMENT);
+        testSubject.segmentReleased(Segment.ROOT_SEGMENT);
+        testSubject.handle(nextMessage(TEST_EVENT), Segment.ROOT_SEGMENT);
+
+        verify(queue, times(2)).deadLetters();
+        verify(queue, never()).enqueueIfPresent(any(), any());
+    }
+
+    @Test
+    void processedSequenceIsRemovedFromTheFilterAfterSegmentIsClaimedAgain() throws Exception {
+        setTestSubject(createTestSubject(DeadLetteringEventHandlerInvoker.Builder::enableSequenceIdentifierFilter));
+        DeadLetter<EventMessage<?>> presentLetter = new GenericDeadLetter<>("foo", createEvent("foo", 1));
+        when(queue.deadLetters()).thenReturn(singletonList(singletonList(presentLetter)));
+        when(queue.enqueueIfPresent(any(), any())).thenReturn(true);
+        when(queue.process(any(), any())).thenAnswer(invocation -> {
+            Function<DeadLetter<? extends EventMessage<?>>, EnqueueDecision<EventMessage<?>>> task =
+                    invocation.getArgument(1);
+            return !task.apply(presentLetter).shouldEnqueue();
+        });
+
+        testSubject.handle(createEvent("foo", 2), Segment.ROOT_SEGMENT);
+        testSubject.segmentReleased(Segment.ROOT_SEGMENT);
+        testSubject.handle(createEvent("foo", 3), Segment.ROOT_SEGMENT);
+        verify(queue, times(2)).enqueueIfPresent(eq("foo"), any());
+
+        assertTrue(testSubject.process(letter -> true));
+        // the processing unit of work is nested in the one started for each test, which has to commit first
+        CurrentUnitOfWork.commit();
+        testSubject.handle(createEvent("foo", 4), Segment.ROOT_SEGMENT);
+
+        // the rebuild on the second claim did not count the sequence twice, so a single removal suffices
+        verify(queue, times(2)).enqueueIfPresent(eq("foo"), any());
+    }
+
+    @Test
+    void processingSequenceUnknownToTheFilterKeepsOtherSequencesInTheFilter() throws Exception {
+        setTestSubject(createTestSubject(DeadLetteringEventHandlerInvoker.Builder::enableSequenceIdentifierFilter));
+        DeadLetter<EventMessage<?>> presentLetter = new GenericDeadLetter<>("foo", createEvent("foo", 1));
+        DeadLetter<EventMessage<?>> unknownLetter = new GenericDeadLetter<>("bar", createEvent("bar", 1));
+        when(queue.deadLetters()).thenReturn(singletonList(singletonList(presentLetter)));
+        when(queue.enqueueIfPresent(any(), any())).thenReturn(true);
+        when(queue.process(any(), any())).thenAnswer(invocation -> {
+            Function<DeadLetter<? extends EventMessage<?>>, EnqueueDecision<EventMessage<?>>> task =
+                    invocation.getArgument(1);
+            return !task.apply(unknownLetter).shouldEnqueue();
+        });
+
+        testSubject.handle(createEvent("foo", 2), Segment.ROOT_SEGMENT);
+        assertTrue(testSubject.process(letter -> true));
+        CurrentUnitOfWork.commit();
+        testSubject.handle(createEvent("foo", 3), Segment.ROOT_SEGMENT);
+
+        verify(queue, times(2)).enqueueIfPresent(eq("foo"), any());
+    }
+
+    @Test
+    void filterRebuildRetainsSequencesEnqueuedByTheInvoker() throws Exception {
+        setTestSubject(createTestSubject(DeadLetteringEventHandlerInvoker.Builder::enableSequenceIdentifierFilter));
+        // the queue does not report the enqueued sequence yet, as if its transaction has not been committed
+        when(queue.deadLetters()).thenReturn(emptyList());
+        when(enqueuePolicy.decide(any(), any())).thenReturn(Decisions.enqueue());
+        doThrow(new RuntimeException("oops")).when(handler).handle(TEST_EVENT);
+
+        testSubject.handle(TEST_EVENT, Segment.ROOT_SEGMENT);
+        testSubject.segmentReleased(Segment.ROOT_SEGMENT);
+        testSubject.handle(nextMessage(TEST_EVENT), Segment.ROOT_SEGMENT);
+
+        verify(queue, times(2)).deadLetters();
+        verify(queue).enqueueIfPresent(eq(TEST_SEQUENCE_ID), any());
+    }
+
+    @Test
+    void filterRebuildForClaimedSegmentKeepsDeadLetteredSequencesVisibleToOtherSegments() throws Exception {
+        setTestSubject(createTestSubject(DeadLetteringEventHandlerInvoker.Builder::enableSequenceIdentifierFilter));
+        Segment[] segments = Segment.ROOT_SEGMENT.split();
+        Segment fooSegment = segments[0];
+        Segment barSegment = segments[1];
+        assertTrue(fooSegment.matches("foo"));
+        assertTrue(barSegment.matches("bar"));
+        DeadLetter<EventMessage<?>> presentLetter = new GenericDeadLetter<>("foo", createEvent("foo", 1));
+        CountDownLatch rebuildStarted = new CountDownLatch(1);
+        CountDownLatch rebuildReleased = new CountDownLatch(1);
+        when(queue.deadLetters()).thenReturn(singletonList(singletonList(presentLetter)))
+                                 .thenAnswer(invocation -> {
+                                     rebuildStarted.countDown();
+                                     assertTrue(rebuildReleased.await(5, TimeUnit.SECONDS));
+                                     return singletonList(singletonList(presentLetter));
+                                 });
+        when(queue.enqueueIfPresent(any(), any())).thenReturn(true);
+
+        testSubject.handle(createEvent("foo", 2), fooSegment);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            // claiming the other segment rebuilds the filter, which blocks while reading the queue
+            Future<?> claim = executor.submit(() -> {
+                testSubject.handle(createEvent("bar", 1), barSegment);
+                return null;
+            });
+            assertTrue(rebuildStarted.await(5, TimeUnit.SECONDS));
+            for (int i = 3; i < 13; i++) {
+                testSubject.handle(createEvent("foo", i), fooSegment);
+            }
+            rebuildReleased.countDown();
+            claim.get(5, TimeUnit.SECONDS);
+        } finally {
+            rebuildReleased.countDown();
+            executor.shutdownNow();
+        }
+
+        verify(queue, times(11)).enqueueIfPresent(eq("foo"), any());
+        verify(queue, never()).enqueueIfPresent(eq("bar"), any());
+        verify(handler).handle(argThat(e -> "bar".equals(((DomainEventMessage<?>) e).getAggregateIdentifier())));
+        verify(handler, never()).handle(
+                argThat(e -> "foo".equals(((DomainEventMessage<?>) e).getAggregateIdentifier()))
+        );
+    }
+
     @Test
     void handleMethodIgnoresEventForNonMatchingSegment() throws Exception {
         Segment testSegment = mock(Segment.class);
@@ -515,6 +679,57 @@ void processLettersMatchingSequenceReturnsTrueWhenFirstInvocationReturnsTrue() {
         assertTrue(filterInvoked.get());
     }
 
+    @Test
+    void processWithMaxSequencesProcessesMultipleSequences() {
+        DeadLetter<EventMessage<?>> first = new GenericDeadLetter<>("foo", createEvent("foo", 1));
+        DeadLetter<EventMessage<?>> second = new GenericDeadLetter<>("bar", createEvent("bar", 1));
+        List<DeadLetter<EventMessage<?>>> letters = new ArrayList<>(asList(first, second));
+        when(queue.process(any(), any())).thenAnswer(invocation -> {
+            Predicate<DeadLetter<? extends EventMessage<?>>> filter = invocation.getArgument(0);
+            Function<DeadLetter<? extends EventMessage<?>>, EnqueueDecision<EventMessage<?>>> task =
+                    invocation.getArgument(1);
+            for (DeadLetter<EventMessage<?>> letter : letters) {
+                if (filter.test(letter)) {
+                    return !task.apply(letter).shouldEnqueue();
+                }
+            }
+            return false;
+        });
+
+        int result = testSubject.process(letter -> true, 10);
+
+        assertEquals(2, result);
+        verify(queue, times(3)).process(any(), any());
+    }
+
+    @Test
+    void processWithMaxSequencesAttemptsEachSequenceOnce() throws Exception {
+        DeadLetter<EventMessage<?>> letter = new GenericDeadLetter<>("foo", createEvent("foo", 1));
+        AtomicInteger attempts = new AtomicInteger();
+        when(queue.process(any(), any())).thenAnswer(invocation -> {
+            Predicate<DeadLetter<? extends EventMessage<?>>> filter = invocation.getArgument(0);
+            if (filter.test(letter)) {
+                attempts.incrementAndGet();
+                Function<DeadLetter<? extends EventMessage<?>>, EnqueueDecision<EventMessage<?>>> task =
+                        invocation.getArgument(1);
+                task.apply(letter);
+            }
+            return false;
+        });
+        doThrow(new RuntimeException("oops")).when(handler).handle(any());
+        when(enqueuePolicy.decide(any(), any())).thenReturn(Decisions.requeue(new RuntimeException("oops")));
+
+        int result = testSubject.process(l -> true, 10);
+
+        assertEquals(0, result);
+        assertEquals(1, attempts.get());
+    }
+
+    @Test
+    void processWithMaxSequencesRejectsNonPositiveMaximum() {
+        assertThrows(AxonConfigurationException.class, () -> testSubject.process(letter -> true, 0));
+    }
+
     @Test
     void buildWithNullDeadLetterQueueThrowsAxonConfigurationException() {
         DeadLetteringEventHandlerInvoker.Builder builderTestSubject = DeadLetteringEventHandlerInvoker.builder();
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2010-2024. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.eventhandling.deadletter;
+
+import org.junit.jupiter.api.*;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class validating the {@link SequenceIdentifierFilter}.
+ *
+ * @author agent
+ */
+class SequenceIdentifierFilterTest {
+
+    private SequenceIdentifierFilter testSubject;
+
+    @BeforeEach
+    void setUp() {
+        testSubject = new SequenceIdentifierFilter(1024);
+    }
+
+    @Test
+    void emptyFilterDoesNotContainAnyIdentifier() {
+        assertFalse(testSubject.mightContain(UUID.randomUUID().toString()));
+    }
+
+    @Test
+    void addedIdentifierMightBeContained() {
+        String sequenceIdentifier = UUID.randomUUID().toString();
+
+        testSubject.add(sequenceIdentifier);
+
+        assertTrue(testSubject.mightContain(sequenceIdentifier));
+    }
+
+    @Test
+    void removedIdentifierIsNoLongerContained() {
+        String sequenceIdentifier = UUID.randomUUID().toString();
+        testSubject.add(sequenceIdentifier);
+
+        testSubject.remove(sequenceIdentifier);
+
+        assertFalse(testSubject.mightContain(sequenceIdentifier));
+    }
+
+    @Test
+    void identifierAddedTwiceIsCountedOnce() {
+        String sequenceIdentifier = UUID.randomUUID().toString();
+        assertTrue(testSubject.add(sequenceIdentifier));
+        assertFalse(testSubject.add(sequenceIdentifier));
+
+        assertTrue(testSubject.remove(sequenceIdentifier));
+        assertFalse(testSubject.mightContain(sequenceIdentifier));
+    }
+
+    @Test
+    void removingAnIdentifierThatWasNeverAddedKeepsCollidingIdentifiersContained() {
+        String sequenceIdentifier = UUID.randomUUID().toString();
+        testSubject.add(sequenceIdentifier);
+
+        assertFalse(testSubject.remove("never-added"));
+        // an equal hash code addresses the same counters as the registered identifier
+        assertFalse(testSubject.remove(new SameHash(sequenceIdentifier.hashCode())));
+
+        assertTrue(testSubject.mightContain(sequenceIdentifier));
+    }
+
+    @Test
+    void removingOneIdentifierKeepsOthersContained() {
+        for (int i = 0; i < 100; i++) {
+            testSubject.add("sequence-" + i);
+        }
+
+        testSubject.remove("sequence-0");
+
+        for (int i = 1; i < 100; i++) {
+            assertTrue(testSubject.mightContain("sequence-" + i));
+        }
+    }
+
+    @Test
+    void clearRemovesAllIdentifiers() {
+        String sequenceIdentifier = UUID.randomUUID().toString();
+        testSubject.add(sequenceIdentifier);
+
+        testSubject.clear();
+
+        assertFalse(testSubject.mightContain(sequenceIdentifier));
+    }
+
+    private static class SameHash {
+
+        private final int hash;
+
+        private SameHash(int hash) {
+            this.hash = hash;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -33,14 +33,17 @@
 import org.mockito.stubbing.*;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalInt;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static java.util.concurrent.CompletableFuture.completedFuture;
 import static org.axonframework.eventhandling.Segment.computeSegment;
@@ -211,6 +214,111 @@ void coordinatorShouldNotTryToOpenStreamWithNoToken() throws NoSuchFieldExceptio
         verify(messageSource, never()).openStream(any(TrackingToken.class));
     }
 
+    @Test
+    void coordinatorRoutesEventsToTheWorkPackageOwningTheRoutingHash() throws InterruptedException {
+        WorkPackage workPackageZero = mock(WorkPackage.class);
+        WorkPackage workPackageOne = mock(WorkPackage.class);
+        TrackedEventMessage<?> testEvent = startWithTwoSegments(
+                workPackageZero, workPackageOne,
+                new TestEventRouter(OptionalInt.of(3), true)
+        );
+
+        assertWithin(500, TimeUnit.MILLISECONDS,
+                     () -> verify(workPackageOne).scheduleRoutedEvent(testEvent, true));
+        verify(workPackageZero).scheduleRoutedEvent(testEvent, false);
+        verify(workPackageZero, never()).scheduleEvent(any());
+        verify(workPackageOne, never()).scheduleEvent(any());
+    }
+
+    @Test
+    void coordinatorOffersEventsToAllWorkPackagesWhenRoutingHashIsUnknown() throws InterruptedException {
+        WorkPackage workPackageZero = mock(WorkPackage.class);
+        WorkPackage workPackageOne = mock(WorkPackage.class);
+        TrackedEventMessage<?> testEvent = startWithTwoSegments(
+                workPackageZero, workPackageOne,
+                new TestEventRouter(OptionalInt.empty(), true)
+        );
+
+        assertWithin(500, TimeUnit.MILLISECONDS, () -> verify(workPackageOne).scheduleEvent(testEvent));
+        verify(workPackageZero).scheduleEvent(testEvent);
+        verify(workPackageZero, never()).scheduleRoutedEvent(any(), anyBoolean());
+        verify(workPackageOne, never()).scheduleRoutedEvent(any(), anyBoolean());
+    }
+
+    private TrackedEventMessage<?> startWithTwoSegments(WorkPackage workPackageZero,
+                                                        WorkPackage workPackageOne,
+                                                        Coordinator.EventRouter eventRouter)
+            throws InterruptedException {
+        TrackingToken testToken = new GlobalSequenceTrackingToken(0);
+        TrackedEventMessage<?> testEvent =
+                new GenericTrackedEventMessage<>(new GlobalSequenceTrackingToken(1),
+                                                 GenericEventMessage.asEventMessage("some-event"));
+        Segment[] segments = Segment.ROOT_SEGMENT.split();
+        Segment segmentZero = segments[0];
+        Segment segmentOne = segments[1];
+        for (WorkPackage workPackage : new WorkPackage[]{workPackageZero, workPackageOne}) {
+            when(workPackage.hasRemainingCapacity()).thenReturn(true);
+            when(workPackage.isAbortTriggered()).thenReturn(false);
+        }
+        when(workPackageZero.segment()).thenReturn(segmentZero);
+        when(workPackageOne.segment()).thenReturn(segmentOne);
+
+        AtomicBoolean delivered = new AtomicBoolean();
+        //noinspection unchecked
+        BlockingStream<TrackedEventMessage<?>> testStream = mock(BlockingStream.class);
+        when(testStream.setOnAvailableCallback(any())).thenReturn(false);
+        when(testStream.hasNextAvailable()).thenAnswer(i -> !delivered.get());
+        //noinspection unchecked
+        when(testStream.nextAvailable()).thenAnswer(i -> {
+            delivered.set(true);
+            return testEvent;
+        });
+        when(testStream.peek()).thenReturn(Optional.empty());
+
+        when(executorService.submit(any(Runnable.class))).thenAnswer(runTaskAsync());
+        when(tokenStore.fetchSegments(PROCESSOR_NAME)).thenReturn(new int[]{0, 1});
+        when(tokenStore.fetchAvailableSegments(PROCESSOR_NAME)).thenReturn(Arrays.asList(segmentZero, segmentOne));
+        when(tokenStore.fetchToken(eq(PROCESSOR_NAME), any(Segment.class))).thenReturn(testToken);
+        when(messageSource.openStream(testToken)).thenReturn(testStream);
+
+        testSubject = Coordinator.builder()
+                                 .name(PROCESSOR_NAME)
+                                 .messageSource(messageSource)
+                                 .tokenStore(tokenStore)
+                                 .transactionManager(NoTransactionManager.instance())
+                                 .executorService(executorService)
+                                 .workPackageFactory((segment, trackingToken) -> segment.getSegmentId() == 0
+                                         ? workPackageZero : workPackageOne)
+                                 .initialToken(es -> ReplayToken.createReplayToken(es.createHeadToken()))
+                                 .eventFilter(eventMessage -> true)
+                                 .eventRouter(eventRouter)
+                                 .maxSegmentProvider(e -> 2)
+                                 .build();
+        testSubject.start();
+        return testEvent;
+    }
+
+    private static class TestEventRouter implements Coordinator.EventRouter {
+
+        private final OptionalInt routingHash;
+        private final boolean canHandle;
+
+        private TestEventRouter(OptionalInt routingHash, boolean canHandle) {
+            this.routingHash = routingHash;
+            this.canHandle = canHandle;
+        }
+
+        @Override
+        public OptionalInt routingHash(TrackedEventMessage<?> eventMessage) {
+            return routingHash;
+        }
+
+        @Override
+        public boolean canHandle(TrackedEventMessage<?> eventMessage) {
+            return canHandle;
+        }
+    }
+
     private Answer<Future<Void>> runTaskSync() {
         return invocationOnMock -> {
             final Runnable runnable = invocationOnMock.getArgument(0);
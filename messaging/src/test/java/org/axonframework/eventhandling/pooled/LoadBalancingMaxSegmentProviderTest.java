@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2010-2024. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.eventhandling.pooled;
+
+import org.axonframework.eventhandling.Segment;
+import org.axonframework.eventhandling.tokenstore.TokenStore;
+import org.axonframework.eventhandling.tokenstore.UnableToClaimTokenException;
+import org.junit.jupiter.api.*;
+
+import java.time.Clock;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.axonframework.eventhandling.pooled.LoadBalancingMaxSegmentProvider.NODE_REGISTRY_PREFIX;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class validating the {@link LoadBalancingMaxSegmentProvider}.
+ *
+ * @author agent
+ */
+class LoadBalancingMaxSegmentProviderTest {
+
+    private static final String PROCESSOR_NAME = "test";
+    private static final String REGISTRY = NODE_REGISTRY_PREFIX + PROCESSOR_NAME;
+    private static final int SLOTS = 4;
+
+    private TokenStore tokenStore;
+    private AtomicLong currentTime;
+
+    private LoadBalancingMaxSegmentProvider testSubject;
+
+    @BeforeEach
+    void setUp() {
+        tokenStore = mock(TokenStore.class);
+        currentTime = new AtomicLong();
+        Clock clock = mock(Clock.class);
+        when(clock.millis()).thenAnswer(i -> currentTime.get());
+
+        when(tokenStore.fetchSegments(PROCESSOR_NAME)).thenReturn(IntStream.range(0, 16).toArray());
+        when(tokenStore.fetchSegments(REGISTRY)).thenReturn(IntStream.range(0, SLOTS).toArray());
+
+        testSubject = LoadBalancingMaxSegmentProvider.builder()
+                                                     .tokenStore(tokenStore)
+                                                     .refreshInterval(1000, TimeUnit.MILLISECONDS)
+                                                     .stabilizationRounds(2)
+                                                     .clock(clock)
+                                                     .build();
+    }
+
+    @Test
+    void maxSegmentsIsFairShareOfActiveNodes() {
+        // two slots are claimed by other nodes, making three active nodes including this one
+        when(tokenStore.fetchAvailableSegments(REGISTRY)).thenReturn(slots(2, 3));
+
+        assertEquals(6, testSubject.getMaxSegments(PROCESSOR_NAME));
+        assertEquals(3, testSubject.activeNodes(PROCESSOR_NAME));
+        verify(tokenStore).fetchToken(REGISTRY, 2);
+    }
+
+    @Test
+    void claimedSlotIsExtendedOnRefresh() {
+        when(tokenStore.fetchAvailableSegments(REGISTRY)).thenReturn(slots(0, 1, 2, 3));
+        testSubject.getMaxSegments(PROCESSOR_NAME);
+
+        currentTime.addAndGet(1000);
+        testSubject.getMaxSegments(PROCESSOR_NAME);
+
+        verify(tokenStore).fetchToken(REGISTRY, 0);
+        verify(tokenStore).extendClaim(REGISTRY, 0);
+    }
+
+    @Test
+    void maxSegmentsIsNotRefreshedWithinRefreshInterval() {
+        when(tokenStore.fetchAvailableSegments(REGISTRY)).thenReturn(slots(0, 1, 2, 3));
+        testSubject.getMaxSegments(PROCESSOR_NAME);
+
+        currentTime.addAndGet(999);
+        testSubject.getMaxSegments(PROCESSOR_NAME);
+
+        verify(tokenStore, times(1)).fetchSegments(PROCESSOR_NAME);
+    }
+
+    @Test
+    void lowerMaxSegmentsIsOnlyAppliedAfterStabilizationRounds() {
+        when(tokenStore.fetchAvailableSegments(REGISTRY)).thenReturn(slots(0, 1, 2, 3));
+        assertEquals(16, testSubject.getMaxSegments(PROCESSOR_NAME));
+
+        // another node joined
+        when(tokenStore.fetchAvailableSegments(REGISTRY)).thenReturn(slots(0, 2, 3));
+        currentTime.addAndGet(1000);
+        assertEquals(16, testSubject.getMaxSegments(PROCESSOR_NAME));
+        currentTime.addAndGet(1000);
+        assertEquals(8, testSubject.getMaxSegments(PROCESSOR_NAME));
+    }
+
+    @Test
+    void higherMaxSegmentsIsAppliedImmediately() {
+        when(tokenStore.fetchAvailableSegments(REGISTRY)).thenReturn(slots(0, 2, 3));
+        assertEquals(8, testSubject.getMaxSegments(PROCESSOR_NAME));
+
+        // the other node left
+        when(tokenStore.fetchAvailableSegments(REGISTRY)).thenReturn(slots(0, 1, 2, 3));
+        currentTime.addAndGet(1000);
+        assertEquals(16, testSubject.getMaxSegments(PROCESSOR_NAME));
+    }
+
+    @Test
+    void registryIsInitializedWhenAbsent() {
+        when(tokenStore.fetchSegments(REGISTRY)).thenReturn(new int[0])
+                                                .thenReturn(IntStream.range(0, SLOTS).toArray());
+        when(tokenStore.fetchAvailableSegments(REGISTRY)).thenReturn(slots(0, 1, 2, 3));
+
+        assertEquals(16, testSubject.getMaxSegments(PROCESSOR_NAME));
+
+        verify(tokenStore).initializeTokenSegments(REGISTRY, 64);
+    }
+
+    @Test
+    void slotClaimedConcurrentlyIsSkipped() {
+        when(tokenStore.fetchAvailableSegments(REGISTRY)).thenReturn(slots(0, 1, 2, 3));
+        when(tokenStore.fetchToken(REGISTRY, 0)).thenThrow(new UnableToClaimTokenException("claimed"));
+
+        testSubject.getMaxSegments(PROCESSOR_NAME);
+
+        verify(tokenStore).fetchToken(REGISTRY, 1);
+    }
+
+    @Test
+    void unboundedMaxSegmentsIsReturnedWhenTokenStoreFails() {
+        when(tokenStore.fetchSegments(PROCESSOR_NAME)).thenThrow(new IllegalStateException("unavailable"));
+
+        assertEquals(Short.MAX_VALUE, testSubject.getMaxSegments(PROCESSOR_NAME));
+        assertEquals(0, testSubject.activeNodes(PROCESSOR_NAME));
+    }
+
+    private static List<Segment> slots(int... slotIds) {
+        int[] allSlots = IntStream.range(0, SLOTS).toArray();
+        return Arrays.stream(slotIds)
+                     .mapToObj(slotId -> Segment.computeSegment(slotId, allSlots))
+                     .collect(Collectors.toList());
+    }
+}
@@ -222,6 +222,35 @@ void scheduleEventRunsSuccessfully() {
         assertEquals(1L, resultPosition.getAsLong());
     }
 
+    @Test
+    void scheduleRoutedEventHandlesEventWithoutValidatingIt() {
+        TrackingToken expectedToken = new GlobalSequenceTrackingToken(1L);
+        TrackedEventMessage<String> expectedEvent =
+                new GenericTrackedEventMessage<>(expectedToken, GenericEventMessage.asEventMessage("some-event"));
+
+        boolean result = testSubject.scheduleRoutedEvent(expectedEvent, true);
+
+        assertTrue(result);
+        List<EventMessage<?>> processedEvents = batchProcessor.getProcessedEvents();
+        assertWithin(500, TimeUnit.MILLISECONDS, () -> assertEquals(1, processedEvents.size()));
+        assertTrue(eventFilter.getValidatedEvents().isEmpty());
+    }
+
+    @Test
+    void scheduleRoutedEventNotHandledByThisPackageStillAdvancesToken() {
+        TrackingToken expectedToken = new GlobalSequenceTrackingToken(1L);
+        TrackedEventMessage<String> testEvent =
+                new GenericTrackedEventMessage<>(expectedToken, GenericEventMessage.asEventMessage("some-event"));
+
+        boolean result = testSubject.scheduleRoutedEvent(testEvent, false);
+
+        assertFalse(result);
+        assertWithin(500, TimeUnit.MILLISECONDS,
+                     () -> assertEquals(expectedToken, trackerStatus.getTrackingToken()));
+        assertTrue(eventFilter.getValidatedEvents().isEmpty());
+        assertTrue(batchProcessor.getProcessedEvents().isEmpty());
+    }
+
     @Test
     void replayTokenIsPropagatedAndAdvancedWithoutCurrent() {
         testSubjectBuilder.initialToken(new ReplayToken(new GlobalSequenceTrackingToken(1L)));
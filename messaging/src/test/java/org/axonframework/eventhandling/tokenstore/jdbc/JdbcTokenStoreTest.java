@@ -76,6 +76,14 @@ class JdbcTokenStoreTest {
     @Named("stealingTokenStore")
     private JdbcTokenStore stealingTokenStore;
 
+    @Autowired
+    @Named("leaseTokenStore")
+    private JdbcTokenStore leaseTokenStore;
+
+    @Autowired
+    @Named("concurrentLeaseTokenStore")
+    private JdbcTokenStore concurrentLeaseTokenStore;
+
     @Autowired
     private TransactionManager transactionManager;
 
@@ -413,6 +421,77 @@ void identifierReadIfAvailable() throws SQLException {
         assertEquals("test123", id1.get());
     }
 
+    @Test
+    void leaseClaimAndUpdateToken() {
+        transactionManager.executeInTransaction(() -> leaseTokenStore.initializeTokenSegments("lease", 1));
+
+        transactionManager.executeInTransaction(() -> assertNull(leaseTokenStore.fetchToken("lease", 0)));
+        TrackingToken token = new GlobalSequenceTrackingToken(1L);
+        transactionManager.executeInTransaction(() -> leaseTokenStore.storeToken(token, "lease", 0));
+        transactionManager.executeInTransaction(() -> assertEquals(token, leaseTokenStore.fetchToken("lease", 0)));
+        transactionManager.executeInTransaction(() -> leaseTokenStore.extendClaim("lease", 0));
+    }
+
+    @Test
+    void leaseClaimFailsWhenClaimedByOtherNode() {
+        transactionManager.executeInTransaction(() -> leaseTokenStore.initializeTokenSegments("lease", 1));
+
+        transactionManager.executeInTransaction(() -> leaseTokenStore.fetchToken("lease", 0));
+
+        UnableToClaimTokenException result = assertThrows(
+                UnableToClaimTokenException.class,
+                () -> transactionManager.executeInTransaction(() -> concurrentLeaseTokenStore.fetchToken("lease", 0))
+        );
+        assertTrue(result.getMessage().contains("owned by"));
+        assertThrows(UnableToClaimTokenException.class,
+                     () -> transactionManager.executeInTransaction(
+                             () -> concurrentLeaseTokenStore.extendClaim("lease", 0)
+                     ));
+        assertThrows(UnableToClaimTokenException.class,
+                     () -> transactionManager.executeInTransaction(
+                             () -> concurrentLeaseTokenStore.storeToken(new GlobalSequenceTrackingToken(1), "lease", 0)
+                     ));
+    }
+
+    @Test
+    void leaseClaimOfUninitializedSegmentFails() {
+        UnableToClaimTokenException result = assertThrows(
+                UnableToClaimTokenException.class,
+                () -> transactionManager.executeInTransaction(() -> leaseTokenStore.fetchToken("lease", 0))
+        );
+        assertTrue(result.getMessage().contains("not been initialized"));
+    }
+
+    @Test
+    void leaseClaimIsStolenAfterTimeLimit() {
+        transactionManager.executeInTransaction(() -> leaseTokenStore.initializeTokenSegments("lease", 1));
+        TrackingToken token = new GlobalSequenceTrackingToken(1L);
+        transactionManager.executeInTransaction(() -> leaseTokenStore.fetchToken("lease", 0));
+        transactionManager.executeInTransaction(() -> leaseTokenStore.storeToken(token, "lease", 0));
+
+        AbstractTokenEntry.clock = Clock.offset(Clock.systemUTC(), Duration.ofHours(1));
+        transactionManager.executeInTransaction(
+                () -> assertEquals(token, concurrentLeaseTokenStore.fetchToken("lease", 0))
+        );
+
+        assertThrows(UnableToClaimTokenException.class,
+                     () -> transactionManager.executeInTransaction(() -> leaseTokenStore.extendClaim("lease", 0)));
+    }
+
+    @Test
+    void leaseClaimIsAvailableAfterRelease() {
+        transactionManager.executeInTransaction(() -> leaseTokenStore.initializeTokenSegments("lease", 1));
+
+        transactionManager.executeInTransaction(() -> leaseTokenStore.fetchToken("lease", 0));
+        transactionManager.executeInTransaction(() -> leaseTokenStore.releaseClaim("lease", 0));
+        TrackingToken token = new GlobalSequenceTrackingToken(2L);
+        transactionManager.executeInTransaction(() -> concurrentLeaseTokenStore.storeToken(token, "lease", 0));
+
+        transactionManager.executeInTransaction(
+                () -> assertEquals(token, concurrentLeaseTokenStore.fetchToken("lease", 0))
+        );
+    }
+
     @Configuration
     public static class Context {
 
@@ -459,6 +538,27 @@ public JdbcTokenStore stealingTokenStore(DataSource dataSource) {
                                  .build();
         }
 
+        @Bean
+        public JdbcTokenStore leaseTokenStore(DataSource dataSource) {
+            return JdbcTokenStore.builder()
+                                 .connectionProvider(dataSource::getConnection)
+                                 .serializer(TestSerializer.XSTREAM.getSerializer())
+                                 .nodeId("lease")
+                                 .leaseClaims(true)
+                                 .build();
+        }
+
+        @Bean
+        public JdbcTokenStore concurrentLeaseTokenStore(DataSource dataSource) {
+            return JdbcTokenStore.builder()
+                                 .connectionProvider(dataSource::getConnection)
+                                 .serializer(TestSerializer.XSTREAM.getSerializer())
+                                 .claimTimeout(Duration.ofSeconds(2))
+                                 .nodeId("concurrentLease")
+                                 .leaseClaims(true)
+                                 .build();
+        }
+
         @Bean
         public TransactionManager transactionManager(PlatformTransactionManager txManager) {
             //noinspection Duplicates
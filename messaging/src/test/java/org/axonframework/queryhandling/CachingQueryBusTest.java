@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) 2010-2024. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.queryhandling;
+
+import org.axonframework.messaging.responsetypes.ResponseTypes;
+import org.axonframework.queryhandling.annotation.AnnotationQueryHandlerAdapter;
+import org.junit.jupiter.api.*;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class validating the {@link CachingQueryBus} and its {@link QueryResponseCache}.
+ *
+ * @author agent
+ */
+class CachingQueryBusTest {
+
+    private static final String QUERY_NAME = "echo";
+
+    private final AtomicLong currentTime = new AtomicLong();
+    private final AtomicInteger invocations = new AtomicInteger();
+
+    private QueryResponseCache responseCache;
+    private CachingQueryBus testSubject;
+
+    @BeforeEach
+    void setUp() {
+        Clock clock = mock(Clock.class);
+        when(clock.millis()).thenAnswer(i -> currentTime.get());
+        responseCache = QueryResponseCache.builder()
+                                          .maximumSize(2)
+                                          .timeToLive(Duration.ofSeconds(1))
+                                          .clock(clock)
+                                          .build();
+        testSubject = CachingQueryBus.builder()
+                                     .delegate(SimpleQueryBus.builder().build())
+                                     .responseCache(responseCache)
+                                     .cacheableQueries(QUERY_NAME)
+                                     .build();
+        testSubject.subscribe(QUERY_NAME, String.class, message -> {
+            invocations.incrementAndGet();
+            return (String) message.getPayload() + invocations.get();
+        });
+    }
+
+    @Test
+    void identicalCacheableQueriesAreDispatchedOnce() throws Exception {
+        assertEquals("hello1", query("hello"));
+        assertEquals("hello1", query("hello"));
+
+        assertEquals(1, invocations.get());
+        assertEquals(1, responseCache.hitCount());
+        assertEquals(1, responseCache.missCount());
+    }
+
+    @Test
+    void queriesWithDifferentPayloadsAreCachedSeparately() throws Exception {
+        assertEquals("hello1", query("hello"));
+        assertEquals("world2", query("world"));
+        assertEquals("hello1", query("hello"));
+
+        assertEquals(2, invocations.get());
+    }
+
+    @Test
+    void nonCacheableQueriesAreAlwaysDispatched() throws Exception {
+        testSubject.subscribe("other", String.class, message -> "other" + invocations.incrementAndGet());
+
+        GenericQueryMessage<String, String> query =
+                new GenericQueryMessage<>("hello", "other", ResponseTypes.instanceOf(String.class));
+
+        assertEquals("other1", dispatch(query));
+        assertEquals("other2", dispatch(query));
+        assertEquals(0, responseCache.size());
+    }
+
+    @Test
+    void expiredResponsesAreDispatchedAgain() throws Exception {
+        assertEquals("hello1", query("hello"));
+
+        currentTime.set(999);
+        assertEquals("hello1", query("hello"));
+
+        currentTime.set(1000);
+        assertEquals("hello2", query("hello"));
+    }
+
+    @Test
+    void leastRecentlyUsedResponseIsEvictedWhenCacheIsFull() throws Exception {
+        query("a");
+        query("b");
+        query("a");
+        query("c");
+
+        assertEquals(2, responseCache.size());
+        assertEquals("a1", query("a"));
+        assertEquals("b4", query("b"));
+    }
+
+    @Test
+    void emittedUpdatesInvalidateMatchingResponses() throws Exception {
+        assertEquals("hello1", query("hello"));
+        assertEquals("world2", query("world"));
+
+        testSubject.queryUpdateEmitter().emit(String.class, "hello"::equals, "update");
+
+        assertEquals("hello3", query("hello"));
+        assertEquals("world2", query("world"));
+    }
+
+    @Test
+    void updatesEmittedThroughOtherEmittersDoNotInvalidateResponses() throws Exception {
+        QueryUpdateEmitter otherEmitter = SimpleQueryUpdateEmitter.builder().build();
+        assertEquals("hello1", query("hello"));
+
+        otherEmitter.emit(String.class, "hello"::equals, "update");
+        assertEquals("hello1", query("hello"));
+
+        responseCache.invalidating(otherEmitter).emit(String.class, "hello"::equals, "update");
+        assertEquals("hello2", query("hello"));
+    }
+
+    @Test
+    void exceptionalResponsesAreNotCached() throws Exception {
+        CachingQueryBus failingBus = CachingQueryBus.builder()
+                                                    .delegate(SimpleQueryBus.builder().build())
+                                                    .responseCache(responseCache)
+                                                    .cacheableQueries("failing")
+                                                    .build();
+        failingBus.subscribe("failing", String.class, message -> {
+            invocations.incrementAndGet();
+            throw new IllegalStateException("failure");
+        });
+        GenericQueryMessage<String, String> query =
+                new GenericQueryMessage<>("hello", "failing", ResponseTypes.instanceOf(String.class));
+
+        assertTrue(failingBus.query(query).get().isExceptional());
+        assertTrue(failingBus.query(query).get().isExceptional());
+
+        assertEquals(2, invocations.get());
+        assertEquals(0, responseCache.size());
+    }
+
+    @Test
+    void annotatedCacheableQueryHandlersAreCached() throws Exception {
+        CachingQueryBus annotatedBus = CachingQueryBus.builder()
+                                                      .delegate(SimpleQueryBus.builder().build())
+                                                      .build();
+        new AnnotationQueryHandlerAdapter<>(new AnnotatedQueryHandler()).subscribe(annotatedBus);
+
+        GenericQueryMessage<String, String> cacheable =
+                new GenericQueryMessage<>("hello", "cacheable", ResponseTypes.instanceOf(String.class));
+        GenericQueryMessage<Integer, Integer> uncached =
+                new GenericQueryMessage<>(42, ResponseTypes.instanceOf(Integer.class));
+
+        assertEquals("hello1", annotatedBus.query(cacheable).get().getPayload());
+        assertEquals("hello1", annotatedBus.query(cacheable).get().getPayload());
+        assertEquals(44, annotatedBus.query(uncached).get().getPayload());
+        assertEquals(45, annotatedBus.query(uncached).get().getPayload());
+    }
+
+    @Test
+    void dispatchInterceptorsAreInvokedForCachedResponses() throws Exception {
+        AtomicInteger interceptions = new AtomicInteger();
+        testSubject.registerDispatchInterceptor(messages -> (i, m) -> {
+            interceptions.incrementAndGet();
+            return m;
+        });
+
+        query("hello");
+        query("hello");
+
+        assertEquals(2, interceptions.get());
+        assertEquals(1, invocations.get());
+    }
+
+    private String query(String payload) throws Exception {
+        return dispatch(new GenericQueryMessage<>(payload, QUERY_NAME, ResponseTypes.instanceOf(String.class)));
+    }
+
+    private String dispatch(QueryMessage<String, String> query) throws Exception {
+        return testSubject.query(query).get().getPayload();
+    }
+
+    private class AnnotatedQueryHandler {
+
+        @CacheableQuery
+        @QueryHandler(queryName = "cacheable")
+        public String cacheable(String query) {
+            return query + invocations.incrementAndGet();
+        }
+
+        @QueryHandler
+        public Integer uncached(Integer query) {
+            return query + invocations.incrementAndGet();
+        }
+    }
+}
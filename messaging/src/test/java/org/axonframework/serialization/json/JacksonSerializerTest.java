@@ -129,6 +129,19 @@ void serializeAndDeserializeObject_ByteArrayFormat() {
         assertEquals(toSerialize.getNested().getValue(), actual.getNested().getValue());
     }
 
+    @Test
+    void serializeAndDeserializeObject_InputStreamFormat() {
+        SimpleSerializableType toSerialize =
+                new SimpleSerializableType("first", time, new SimpleSerializableType("nested"));
+
+        SerializedObject<InputStream> serialized = testSubject.serialize(toSerialize, InputStream.class);
+
+        SimpleSerializableType actual = testSubject.deserialize(serialized);
+
+        assertEquals(toSerialize.getValue(), actual.getValue());
+        assertEquals(toSerialize.getNested().getValue(), actual.getNested().getValue());
+    }
+
     @Test
     void serializeAndDeserializeObjectUnknownType() {
         SimpleSerializableType toSerialize =
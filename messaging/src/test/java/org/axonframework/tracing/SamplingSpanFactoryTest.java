@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2010-2024. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.tracing;
+
+import org.axonframework.eventhandling.EventMessage;
+import org.axonframework.eventhandling.GenericEventMessage;
+import org.axonframework.messaging.Message;
+import org.junit.jupiter.api.*;
+
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class validating the {@link SamplingSpanFactory} and the {@link SpanSampler} implementations.
+ *
+ * @author agent
+ */
+class SamplingSpanFactoryTest {
+
+    private static final EventMessage<String> SAMPLED_EVENT = GenericEventMessage.asEventMessage("sampled");
+    private static final EventMessage<Integer> IGNORED_EVENT = GenericEventMessage.asEventMessage(42);
+
+    private TestSpanFactory delegate;
+    private SamplingSpanFactory testSubject;
+
+    @BeforeEach
+    void setUp() {
+        delegate = new TestSpanFactory();
+        testSubject = SamplingSpanFactory.builder()
+                                         .delegate(delegate)
+                                         .sampler(message -> message == null || message == SAMPLED_EVENT)
+                                         .build();
+    }
+
+    @Test
+    void handlerSpansAreOnlyCreatedForSampledMessages() {
+        testSubject.createLinkedHandlerSpan(() -> "sampled", SAMPLED_EVENT).run(() -> {
+        });
+        testSubject.createLinkedHandlerSpan(() -> "ignored", IGNORED_EVENT).run(() -> {
+        });
+
+        delegate.verifySpanCompleted("sampled");
+        delegate.verifyNoSpan("ignored");
+    }
+
+    @Test
+    void batchTraceContainsOnlySampledHandlerSpans() {
+        testSubject.createRootTrace(() -> "batch").run(() -> {
+            testSubject.createChildHandlerSpan(() -> "sampled", SAMPLED_EVENT).run(() -> {
+            });
+            testSubject.createChildHandlerSpan(() -> "ignored", IGNORED_EVENT).run(() -> {
+            });
+        });
+
+        delegate.verifySpanCompleted("batch");
+        delegate.verifySpanCompleted("sampled");
+        delegate.verifyNoSpan("ignored");
+    }
+
+    @Test
+    void nestedSpansFollowDecisionOfCurrentSpan() {
+        testSubject.createLinkedHandlerSpan(() -> "ignored", IGNORED_EVENT).run(() -> {
+            testSubject.createInternalSpan(() -> "ignoredInternal").run(() -> {
+            });
+            testSubject.createDispatchSpan(() -> "ignoredDispatch", SAMPLED_EVENT).run(() -> {
+            });
+        });
+        testSubject.createLinkedHandlerSpan(() -> "sampled", SAMPLED_EVENT).run(() -> {
+            testSubject.createInternalSpan(() -> "sampledInternal", IGNORED_EVENT).run(() -> {
+            });
+        });
+
+        delegate.verifyNoSpan("ignoredInternal");
+        delegate.verifyNoSpan("ignoredDispatch");
+        delegate.verifySpanCompleted("sampledInternal");
+    }
+
+    @Test
+    void handlerSpansWithinUnsampledRootTraceAreNotCreated() {
+        SamplingSpanFactory factory = SamplingSpanFactory.builder()
+                                                         .delegate(delegate)
+                                                         .rootTraceSampler(SpanSampler.never())
+                                                         .build();
+
+        factory.createRootTrace(() -> "batch").run(
+                () -> factory.createChildHandlerSpan(() -> "handler", SAMPLED_EVENT).run(() -> {
+                })
+        );
+        factory.createChildHandlerSpan(() -> "afterBatch", SAMPLED_EVENT).run(() -> {
+        });
+
+        delegate.verifyNoSpan("batch");
+        delegate.verifyNoSpan("handler");
+        delegate.verifySpanCompleted("afterBatch");
+    }
+
+    @Test
+    void ratioSamplerMakesSameDecisionForSameMessage() {
+        SpanSampler sampler = SpanSampler.ratio(0.5);
+        int sampled = 0;
+        for (int i = 0; i < 1000; i++) {
+            Message<?> message = GenericEventMessage.asEventMessage(i);
+            boolean decision = sampler.sample(message);
+            assertEquals(decision, sampler.sample(message));
+            if (decision) {
+                sampled++;
+            }
+        }
+        assertTrue(sampled > 400 && sampled < 600, "Unexpected number of sampled messages: " + sampled);
+    }
+
+    @Test
+    void ratioSamplerRejectsInvalidRatio() {
+        assertThrows(IllegalArgumentException.class, () -> SpanSampler.ratio(1.5));
+        assertThrows(IllegalArgumentException.class, () -> SpanSampler.ratio(-0.1));
+    }
+
+    @Test
+    void rateLimitingSamplerLimitsSpansPerSecond() {
+        AtomicLong clock = new AtomicLong(10_000_000_000L);
+        RateLimitingSpanSampler sampler = new RateLimitingSpanSampler(10, clock::get);
+
+        int sampled = 0;
+        for (int i = 0; i < 100; i++) {
+            if (sampler.sample(null)) {
+                sampled++;
+            }
+        }
+        assertEquals(10, sampled);
+
+        clock.addAndGet(100_000_000L);
+        assertTrue(sampler.sample(null));
+        assertFalse(sampler.sample(null));
+    }
+
+    @Test
+    void perPayloadTypeSamplerDelegatesBasedOnPayloadType() {
+        SpanSampler sampler = SpanSampler.perPayloadType(Collections.singletonMap(Integer.class, SpanSampler.never()),
+                                                         SpanSampler.always());
+
+        assertTrue(sampler.sample(SAMPLED_EVENT));
+        assertFalse(sampler.sample(IGNORED_EVENT));
+        assertTrue(sampler.sample(null));
+    }
+}
@@ -21,7 +21,7 @@
 import io.micrometer.core.instrument.Tag;
 import io.micrometer.core.instrument.Tags;
 import org.axonframework.messaging.Message;
-import org.axonframework.micrometer.reservoir.SlidingTimeWindowReservoir;
+import org.axonframework.micrometer.reservoir.BucketedTimeWindowReservoir;
 import org.axonframework.monitoring.MessageMonitor;
 
 import java.util.Map;
@@ -40,6 +40,10 @@
  * <p>
  * If the value for a single threaded message handler is 1 the component is active 100% of the time. This means
  * that messages will have to wait to be processed.
+ * <p>
+ * Processing times are aggregated per set of {@link Tag}s in a {@link BucketedTimeWindowReservoir}, which divides the
+ * window into a fixed number of buckets. The number of buckets defines the precision with which measurements leave
+ * the window, and defaults to {@code 60}.
  *
  * @author Marijn van Zelst
  * @author Ivan Dugalic
@@ -47,10 +51,13 @@
  */
 public class CapacityMonitor implements MessageMonitor<Message<?>> {
 
-    private final Map<String, SlidingTimeWindowReservoir> timeWindowedDurationMeasurementsMap;
+    private static final int DEFAULT_BUCKETS = 60;
+
+    private final Map<Tags, BucketedTimeWindowReservoir> timeWindowedDurationMeasurementsMap;
     private final TimeUnit timeUnit;
     private final Clock clock;
     private final long window;
+    private final int buckets;
     private final String meterNamePrefix;
     private final MeterRegistry meterRegistry;
     private final Function<Message<?>, Iterable<Tag>> tagsBuilder;
@@ -148,6 +155,28 @@ public static CapacityMonitor buildMonitor(String meterNamePrefix, MeterRegistry
         return new CapacityMonitor(window, timeUnit, clock, meterNamePrefix, meterRegistry, tagsBuilder);
     }
 
+    /**
+     * Creates a capacity monitor with the given time window, divided into the given number of {@code buckets}. Uses the
+     * provided clock to measure process time per message.
+     *
+     * @param meterNamePrefix The prefix for the meter name that will be created in the given meterRegistry
+     * @param meterRegistry   The meter registry used to create and register the meters
+     * @param window          The length of the window to measure the capacity over
+     * @param timeUnit        The temporal unit of the time window
+     * @param clock           The clock used to measure the process time per message
+     * @param tagsBuilder     The function used to construct the list of micrometer {@link Tag}, based on the ingested
+     *                        message
+     * @param buckets         The number of buckets the window is divided into, defining the precision with which
+     *                        measurements leave the window
+     * @return The created capacity monitor
+     */
+    public static CapacityMonitor buildMonitor(String meterNamePrefix, MeterRegistry meterRegistry, long window,
+                                               TimeUnit timeUnit, Clock clock,
+                                               Function<Message<?>, Iterable<Tag>> tagsBuilder, int buckets) {
+
+        return new CapacityMonitor(window, timeUnit, clock, meterNamePrefix, meterRegistry, tagsBuilder, buckets);
+    }
+
 
     private CapacityMonitor(long window, TimeUnit timeUnit, Clock clock, String meterNamePrefix,
                             MeterRegistry meterRegistry) {
@@ -162,37 +191,39 @@ private CapacityMonitor(long window, TimeUnit timeUnit, Clock clock, String mete
     private CapacityMonitor(long window, TimeUnit timeUnit, Clock clock, String meterNamePrefix,
                             MeterRegistry meterRegistry,
                             Function<Message<?>, Iterable<Tag>> tagsBuilder) {
+        this(window, timeUnit, clock, meterNamePrefix, meterRegistry, tagsBuilder, DEFAULT_BUCKETS);
+    }
+
+    private CapacityMonitor(long window, TimeUnit timeUnit, Clock clock, String meterNamePrefix,
+                            MeterRegistry meterRegistry,
+                            Function<Message<?>, Iterable<Tag>> tagsBuilder,
+                            int buckets) {
         this.timeWindowedDurationMeasurementsMap = new ConcurrentHashMap<>();
         this.timeUnit = timeUnit;
         this.clock = clock;
         this.window = window;
+        this.buckets = buckets;
         this.meterNamePrefix = meterNamePrefix;
         this.meterRegistry = meterRegistry;
         this.tagsBuilder = tagsBuilder;
     }
 
-    private SlidingTimeWindowReservoir createIfAbsent(String meterNamePrefix, Tags tags, long window, TimeUnit timeUnit,
-                                                      Clock clock) {
-        String key = meterNamePrefix + tags.stream()
-                                           .map(tag -> tag.getKey() + tag.getValue())
-                                           .reduce(String::concat)
-                                           .orElse("");
-        timeWindowedDurationMeasurementsMap.putIfAbsent(key, new SlidingTimeWindowReservoir(window, timeUnit, clock));
-        return timeWindowedDurationMeasurementsMap.get(key);
+    private BucketedTimeWindowReservoir createIfAbsent(Tags tags) {
+        BucketedTimeWindowReservoir reservoir = timeWindowedDurationMeasurementsMap.get(tags);
+        if (reservoir != null) {
+            return reservoir;
+        }
+        return timeWindowedDurationMeasurementsMap.computeIfAbsent(tags, t -> {
+            BucketedTimeWindowReservoir created = new BucketedTimeWindowReservoir(window, timeUnit, clock, buckets);
+            meterRegistry.gauge(meterNamePrefix + ".capacity", t, created, this::calculateCapacity);
+            return created;
+        });
     }
 
     @Override
     public MonitorCallback onMessageIngested(@Nonnull Message<?> message) {
-        final Iterable<Tag> tags = tagsBuilder.apply(message);
-        final SlidingTimeWindowReservoir timeWindowedDurationMeasurements = createIfAbsent(meterNamePrefix,
-                                                                                           Tags.of(tags),
-                                                                                           this.window,
-                                                                                           this.timeUnit,
-                                                                                           this.clock);
-        meterRegistry.gauge(meterNamePrefix + ".capacity",
-                            tags,
-                            this,
-                            value -> calculateCapacity(timeWindowedDurationMeasurements));
+        final BucketedTimeWindowReservoir timeWindowedDurationMeasurements =
+                createIfAbsent(Tags.of(tagsBuilder.apply(message)));
 
         final long start = clock.monotonicTime();
 
@@ -214,8 +245,7 @@ public void reportIgnored() {
         };
     }
 
-    private double calculateCapacity(SlidingTimeWindowReservoir timeWindowedDurationMeasurements) {
-        long totalProcessTime = timeWindowedDurationMeasurements.getMeasurements().stream().reduce(0L, Long::sum);
-        return (double) totalProcessTime / timeUnit.toNanos(window);
+    private double calculateCapacity(BucketedTimeWindowReservoir timeWindowedDurationMeasurements) {
+        return (double) timeWindowedDurationMeasurements.getSum() / timeUnit.toNanos(window);
     }
 }
@@ -225,15 +225,11 @@ private MessageMonitor<? extends Message<?>> registerQueryUpdateEmitter(String u
     public MessageMonitor<? extends Message<?>> registerComponentWithDefaultTags(Class<?> componentType,
                                                                                  String componentName) {
         if (EventProcessor.class.isAssignableFrom(componentType)) {
+            Tags processorTags = Tags.of(PROCESSOR_NAME_TAG, componentName);
             return registerEventProcessor(
                     EVENT_PROCESSOR_METRICS_NAME,
-                    message -> Tags.of(
-                            PAYLOAD_TYPE_TAG, message.getPayloadType().getSimpleName(),
-                            PROCESSOR_NAME_TAG, componentName
-                    ),
-                    message -> Tags.of(
-                            PROCESSOR_NAME_TAG, componentName
-                    )
+                    payloadTypeTagger(processorTags),
+                    message -> processorTags
             );
         }
         if (CommandBus.class.isAssignableFrom(componentType)) {
@@ -27,6 +27,8 @@
 
 import java.time.Duration;
 import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.function.UnaryOperator;
@@ -38,6 +40,10 @@
 /**
  * A {@link MessageMonitor} which introduces a {@link Timer} for the overall timer of all {@link Message}s being
  * ingested, as well as a success, failure and ignored {@code Timer}.
+ * <p>
+ * The {@code Timer}s are registered once per distinct set of {@link Tag}s and reused for subsequent messages with the
+ * same {@code Tag}s. Percentiles are computed by the {@code Timer}'s lock-free, fixed-size histogram, of which the
+ * precision can be adjusted through the {@link Builder#timerCustomization(UnaryOperator) timer customization}.
  *
  * @author Marijn van Zelst
  * @author Ivan Dugalic
@@ -50,6 +56,7 @@ public class MessageTimerMonitor implements MessageMonitor<Message<?>> {
     private final Clock clock;
     private final Function<Message<?>, Iterable<Tag>> tagsBuilder;
     private final UnaryOperator<Timer.Builder> timerCustomization;
+    private final Map<Tags, OutcomeTimers> timers = new ConcurrentHashMap<>();
 
     /**
      * Instantiate a Builder to be able to create a {@link MessageTimerMonitor}.
@@ -150,11 +157,7 @@ public static MessageTimerMonitor buildMonitor(String meterNamePrefix,
 
     @Override
     public MonitorCallback onMessageIngested(@Nonnull Message<?> message) {
-        Iterable<Tag> tags = tagsBuilder.apply(message);
-        Timer allTimer = buildTimer(meterNamePrefix, "allTimer", meterRegistry, tags, timerCustomization);
-        Timer successTimer = buildTimer(meterNamePrefix, "successTimer", meterRegistry, tags, timerCustomization);
-        Timer failureTimer = buildTimer(meterNamePrefix, "failureTimer", meterRegistry, tags, timerCustomization);
-        Timer ignoredTimer = buildTimer(meterNamePrefix, "ignoredTimer", meterRegistry, tags, timerCustomization);
+        OutcomeTimers outcomeTimers = timersFor(Tags.of(tagsBuilder.apply(message)));
 
         long startTime = clock.monotonicTime();
 
@@ -162,26 +165,39 @@ public MonitorCallback onMessageIngested(@Nonnull Message<?> message) {
             @Override
             public void reportSuccess() {
                 long duration = clock.monotonicTime() - startTime;
-                allTimer.record(duration, TimeUnit.NANOSECONDS);
-                successTimer.record(duration, TimeUnit.NANOSECONDS);
+                outcomeTimers.allTimer.record(duration, TimeUnit.NANOSECONDS);
+                outcomeTimers.successTimer.record(duration, TimeUnit.NANOSECONDS);
             }
 
             @Override
             public void reportFailure(Throwable cause) {
                 long duration = clock.monotonicTime() - startTime;
-                allTimer.record(duration, TimeUnit.NANOSECONDS);
-                failureTimer.record(duration, TimeUnit.NANOSECONDS);
+                outcomeTimers.allTimer.record(duration, TimeUnit.NANOSECONDS);
+                outcomeTimers.failureTimer.record(duration, TimeUnit.NANOSECONDS);
             }
 
             @Override
             public void reportIgnored() {
                 long duration = clock.monotonicTime() - startTime;
-                allTimer.record(duration, TimeUnit.NANOSECONDS);
-                ignoredTimer.record(duration, TimeUnit.NANOSECONDS);
+                outcomeTimers.allTimer.record(duration, TimeUnit.NANOSECONDS);
+                outcomeTimers.ignoredTimer.record(duration, TimeUnit.NANOSECONDS);
             }
         };
     }
 
+    private OutcomeTimers timersFor(Tags tags) {
+        OutcomeTimers outcomeTimers = timers.get(tags);
+        if (outcomeTimers != null) {
+            return outcomeTimers;
+        }
+        return timers.computeIfAbsent(tags, t -> new OutcomeTimers(
+                buildTimer(meterNamePrefix, "allTimer", meterRegistry, t, timerCustomization),
+                buildTimer(meterNamePrefix, "successTimer", meterRegistry, t, timerCustomization),
+                buildTimer(meterNamePrefix, "failureTimer", meterRegistry, t, timerCustomization),
+                buildTimer(meterNamePrefix, "ignoredTimer", meterRegistry, t, timerCustomization)
+        ));
+    }
+
     private static Timer buildTimer(String meterNamePrefix,
                                     String timerName,
                                     MeterRegistry meterRegistry,
@@ -194,6 +210,21 @@ private static Timer buildTimer(String meterNamePrefix,
         return timerCustomization.apply(timerBuilder).register(meterRegistry);
     }
 
+    private static class OutcomeTimers {
+
+        private final Timer allTimer;
+        private final Timer successTimer;
+        private final Timer failureTimer;
+        private final Timer ignoredTimer;
+
+        private OutcomeTimers(Timer allTimer, Timer successTimer, Timer failureTimer, Timer ignoredTimer) {
+            this.allTimer = allTimer;
+            this.successTimer = successTimer;
+            this.failureTimer = failureTimer;
+            this.ignoredTimer = ignoredTimer;
+        }
+    }
+
     /**
      * Builder class to instantiate a {@link MessageTimerMonitor}.
      * <p>
@@ -0,0 +1,391 @@
+/*
+ * Copyright (c) 2010-2024. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.micrometer;
+
+import io.micrometer.core.instrument.Clock;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.axonframework.common.AxonConfigurationException;
+import org.axonframework.eventhandling.StreamingProcessorInstrumentation;
+import org.axonframework.eventhandling.TrackingToken;
+import org.axonframework.messaging.StreamableMessageSource;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import static org.axonframework.common.BuilderUtils.assertNonEmpty;
+import static org.axonframework.common.BuilderUtils.assertNonNull;
+import static org.axonframework.common.BuilderUtils.assertStrictPositive;
+import static org.axonframework.micrometer.TagsUtil.PROCESSOR_NAME_TAG;
+
+/**
+ * A {@link StreamingProcessorInstrumentation} registering Micrometer meters per processor and segment. This allows to
+ * determine whether a slow {@link org.axonframework.eventhandling.StreamingEventProcessor} is bound by fetching
+ * events, by its event handlers or by the {@link org.axonframework.eventhandling.tokenstore.TokenStore}.
+ * <p>
+ * All meters are tagged with the {@link TagsUtil#PROCESSOR_NAME_TAG processor name} and the {@link #SEGMENT_TAG
+ * segment}. The following meters are registered:
+ * <ul>
+ *     <li>{@code [prefix].fetch} - a {@link Timer} measuring reading events from the stream. Processors reading
+ *     events for all segments at once use a segment tag of {@code all}.</li>
+ *     <li>{@code [prefix].batch} - a {@link Timer} measuring processing a batch, including the commit.</li>
+ *     <li>{@code [prefix].batchSize} - a {@link DistributionSummary} of the number of events per batch.</li>
+ *     <li>{@code [prefix].handler} - a {@link Timer} per {@link #HANDLER_TAG handler type} measuring event handler
+ *     invocations. The time to deserialize an event is attributed to the first handler accessing it.</li>
+ *     <li>{@code [prefix].tokenStore} - a {@link Timer} measuring storing tokens.</li>
+ *     <li>{@code [prefix].claims} and {@code [prefix].releases} - {@link Counter Counters} of segment claims and
+ *     releases.</li>
+ *     <li>{@code [prefix].lag.time} - a {@link Gauge} of the difference in milliseconds between the current time
+ *     and the timestamp of the last event processed by the segment.</li>
+ *     <li>{@code [prefix].lag.events} - a {@link Gauge} of the number of events between the head of the stream and
+ *     the position of the segment. Only registered when a {@link StreamableMessageSource} is provided and its tokens
+ *     expose a {@link TrackingToken#position() position}.</li>
+ * </ul>
+ * Meters are registered once per processor and segment, and are looked up by segment identifier, so reporting a
+ * measurement does not allocate. The head of the stream is only requested when the event lag is read, at most once per
+ * {@link Builder#headTokenRefreshInterval(long, TimeUnit) refresh interval}.
+ *
+ * @author agent
+ * @since 4.11.0
+ */
+public class StreamingProcessorMetrics implements StreamingProcessorInstrumentation {
+
+    /**
+     * The micrometer {@link io.micrometer.core.instrument.Tag} key that represents the segment of a processor.
+     */
+    public static final String SEGMENT_TAG = "segment";
+    /**
+     * The micrometer {@link io.micrometer.core.instrument.Tag} key that represents the type of event handler.
+     */
+    public static final String HANDLER_TAG = "handler";
+
+    private static final String ALL_SEGMENTS = "all";
+
+    private final String meterNamePrefix;
+    private final MeterRegistry meterRegistry;
+    private final StreamableMessageSource<?> messageSource;
+    private final Clock clock;
+    private final long headTokenRefreshIntervalMillis;
+
+    private final ConcurrentMap<String, ProcessorMeters> processorMeters = new ConcurrentHashMap<>();
+    private volatile long headPosition = -1;
+    private volatile long headPositionRetrievedAt = Long.MIN_VALUE;
+
+    /**
+     * Instantiate a Builder to be able to create a {@link StreamingProcessorMetrics}.
+     * <p>
+     * The {@link Clock} defaults to {@link Clock#SYSTEM} and the head token refresh interval to one second. The
+     * {@code meterNamePrefix} and {@link MeterRegistry} are <b>hard requirements</b> and as such should be provided.
+     *
+     * @return a Builder to be able to create a {@link StreamingProcessorMetrics}
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Instantiate a {@link StreamingProcessorMetrics} based on the fields contained in the {@link Builder}.
+     * <p>
+     * Will assert that the {@code meterNamePrefix} and {@link MeterRegistry} are not {@code null} and will throw an
+     * {@link AxonConfigurationException} if this is the case.
+     *
+     * @param builder the {@link Builder} used to instantiate a {@link StreamingProcessorMetrics} instance
+     */
+    protected StreamingProcessorMetrics(Builder builder) {
+        builder.validate();
+        this.meterNamePrefix = builder.meterNamePrefix;
+        this.meterRegistry = builder.meterRegistry;
+        this.messageSource = builder.messageSource;
+        this.clock = builder.clock;
+        this.headTokenRefreshIntervalMillis = builder.headTokenRefreshIntervalMillis;
+    }
+
+    @Override
+    public void eventsFetched(String processorName, int segmentId, int count, long durationNanos) {
+        metersFor(processorName, segmentId).fetch.record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void batchProcessed(String processorName, int segmentId, int batchSize, long durationNanos) {
+        SegmentMeters meters = metersFor(processorName, segmentId);
+        meters.batch.record(durationNanos, TimeUnit.NANOSECONDS);
+        meters.batchSize.record(batchSize);
+    }
+
+    @Override
+    public void handlerInvoked(String processorName, int segmentId, Class<?> handlerType, long durationNanos) {
+        metersFor(processorName, segmentId).handlerTimer(handlerType).record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void tokenStored(String processorName, int segmentId, long durationNanos) {
+        metersFor(processorName, segmentId).tokenStore.record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void segmentClaimed(String processorName, int segmentId) {
+        metersFor(processorName, segmentId).claims.increment();
+    }
+
+    @Override
+    public void segmentReleased(String processorName, int segmentId) {
+        metersFor(processorName, segmentId).releases.increment();
+    }
+
+    @Override
+    public void segmentAdvanced(String processorName, int segmentId, TrackingToken token, Instant eventTimestamp) {
+        SegmentMeters meters = metersFor(processorName, segmentId);
+        meters.lastEventTimestamp = eventTimestamp.toEpochMilli();
+        meters.position = positionOf(token);
+    }
+
+    private SegmentMeters metersFor(String processorName, int segmentId) {
+        ProcessorMeters meters = processorMeters.get(processorName);
+        if (meters == null) {
+            meters = processorMeters.computeIfAbsent(processorName, ProcessorMeters::new);
+        }
+        return meters.forSegment(segmentId);
+    }
+
+    private static long positionOf(TrackingToken token) {
+        OptionalLong position = token == null ? OptionalLong.empty() : token.position();
+        return position.orElse(-1);
+    }
+
+    private double eventLag(SegmentMeters meters) {
+        long position = meters.position;
+        long head = headPosition();
+        return position < 0 || head < 0 ? Double.NaN : Math.max(head - position, 0);
+    }
+
+    private long headPosition() {
+        long now = clock.monotonicTime();
+        if (headPositionRetrievedAt == Long.MIN_VALUE
+                || now - headPositionRetrievedAt >= TimeUnit.MILLISECONDS.toNanos(headTokenRefreshIntervalMillis)) {
+            headPosition = positionOf(messageSource.createHeadToken());
+            headPositionRetrievedAt = now;
+        }
+        return headPosition;
+    }
+
+    /**
+     * The meters of a single processor, indexed by segment identifier so that looking them up does not allocate.
+     */
+    private class ProcessorMeters {
+
+        private final String processorName;
+        private volatile SegmentMeters allSegments;
+        private volatile SegmentMeters[] segments = new SegmentMeters[0];
+
+        private ProcessorMeters(String processorName) {
+            this.processorName = processorName;
+        }
+
+        private SegmentMeters forSegment(int segmentId) {
+            SegmentMeters meters;
+            if (segmentId < 0) {
+                meters = allSegments;
+            } else {
+                SegmentMeters[] current = segments;
+                meters = segmentId < current.length ? current[segmentId] : null;
+            }
+            return meters != null ? meters : register(segmentId);
+        }
+
+        private synchronized SegmentMeters register(int segmentId) {
+            if (segmentId < 0) {
+                if (allSegments == null) {
+                    allSegments = new SegmentMeters(tags(ALL_SEGMENTS));
+                }
+                return allSegments;
+            }
+            SegmentMeters[] current = segments;
+            if (segmentId < current.length && current[segmentId] != null) {
+                return current[segmentId];
+            }
+            // a copy is published, so readers never observe a partially initialized array
+            SegmentMeters[] updated = Arrays.copyOf(current, Math.max(current.length, segmentId + 1));
+            updated[segmentId] = new SegmentMeters(tags(Integer.toString(segmentId)));
+            segments = updated;
+            return updated[segmentId];
+        }
+
+        private Tags tags(String segment) {
+            return Tags.of(PROCESSOR_NAME_TAG, processorName, SEGMENT_TAG, segment);
+        }
+    }
+
+    private class SegmentMeters {
+
+        private final Timer fetch;
+        private final Timer batch;
+        private final DistributionSummary batchSize;
+        private final Timer tokenStore;
+        private final Counter claims;
+        private final Counter releases;
+        private final ClassValue<Timer> handlerTimers;
+        private volatile long lastEventTimestamp = -1;
+        private volatile long position = -1;
+
+        private SegmentMeters(Tags tags) {
+            this.fetch = Timer.builder(meterNamePrefix + ".fetch").tags(tags).register(meterRegistry);
+            this.batch = Timer.builder(meterNamePrefix + ".batch").tags(tags).register(meterRegistry);
+            this.batchSize = DistributionSummary.builder(meterNamePrefix + ".batchSize")
+                                                .tags(tags)
+                                                .register(meterRegistry);
+            this.tokenStore = Timer.builder(meterNamePrefix + ".tokenStore").tags(tags).register(meterRegistry);
+            this.claims = Counter.builder(meterNamePrefix + ".claims").tags(tags).register(meterRegistry);
+            this.releases = Counter.builder(meterNamePrefix + ".releases").tags(tags).register(meterRegistry);
+            this.handlerTimers = new ClassValue<Timer>() {
+                @Override
+                protected Timer computeValue(Class<?> handlerType) {
+                    return Timer.builder(meterNamePrefix + ".handler")
+                                .tags(tags.and(HANDLER_TAG, handlerType.getSimpleName()))
+                                .register(meterRegistry);
+                }
+            };
+            Gauge.builder(meterNamePrefix + ".lag.time", this, SegmentMeters::timeLag)
+                 .tags(tags)
+                 .baseUnit("milliseconds")
+                 .register(meterRegistry);
+            if (messageSource != null) {
+                Gauge.builder(meterNamePrefix + ".lag.events", this, StreamingProcessorMetrics.this::eventLag)
+                     .tags(tags)
+                     .register(meterRegistry);
+            }
+        }
+
+        private Timer handlerTimer(Class<?> handlerType) {
+            return handlerTimers.get(handlerType);
+        }
+
+        private double timeLag() {
+            long timestamp = lastEventTimestamp;
+            return timestamp < 0 ? Double.NaN : Math.max(clock.wallTime() - timestamp, 0);
+        }
+    }
+
+    /**
+     * Builder class to instantiate a {@link StreamingProcessorMetrics}.
+     * <p>
+     * The {@link Clock} defaults to {@link Clock#SYSTEM} and the head token refresh interval to one second. The
+     * {@code meterNamePrefix} and {@link MeterRegistry} are <b>hard requirements</b> and as such should be provided.
+     */
+    public static class Builder {
+
+        private String meterNamePrefix;
+        private MeterRegistry meterRegistry;
+        private StreamableMessageSource<?> messageSource;
+        private Clock clock = Clock.SYSTEM;
+        private long headTokenRefreshIntervalMillis = 1000;
+
+        /**
+         * Sets the name used to prefix the names of the meters created by this instrumentation.
+         *
+         * @param meterNamePrefix a {@link String} used to prefix the names of the meters created by this
+         *                        instrumentation
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder meterNamePrefix(String meterNamePrefix) {
+            assertNonEmpty(meterNamePrefix, "The meter name prefix may not be null or empty");
+            this.meterNamePrefix = meterNamePrefix;
+            return this;
+        }
+
+        /**
+         * Specifies the {@link MeterRegistry} used to register the meters with.
+         *
+         * @param meterRegistry the {@link MeterRegistry} used to register the meters with
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder meterRegistry(MeterRegistry meterRegistry) {
+            assertNonNull(meterRegistry, "MeterRegistry may not be null");
+            this.meterRegistry = meterRegistry;
+            return this;
+        }
+
+        /**
+         * Sets the {@link StreamableMessageSource} the processor reads from. When provided, the number of events a
+         * segment lags behind the head of this source is registered as a {@link Gauge}. The head token is only
+         * requested when that gauge is read.
+         *
+         * @param messageSource the {@link StreamableMessageSource} the processor reads from
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder messageSource(StreamableMessageSource<?> messageSource) {
+            assertNonNull(messageSource, "StreamableMessageSource may not be null");
+            this.messageSource = messageSource;
+            return this;
+        }
+
+        /**
+         * Sets the {@link Clock} used to compute the time lag and to decide when to refresh the head token. Defaults
+         * to {@link Clock#SYSTEM}.
+         *
+         * @param clock the {@link Clock} used to compute the time lag
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder clock(Clock clock) {
+            assertNonNull(clock, "Clock may not be null");
+            this.clock = clock;
+            return this;
+        }
+
+        /**
+         * Sets the minimal interval between two requests for the head token of the {@link
+         * #messageSource(StreamableMessageSource) message source}. Defaults to one second.
+         *
+         * @param interval the minimal interval between two requests for the head token
+         * @param unit     the unit of the {@code interval}
+         * @return the current Builder instance, for fluent interfacing
+         */
+        public Builder headTokenRefreshInterval(long interval, TimeUnit unit) {
+            assertStrictPositive(interval, "The head token refresh interval should be strictly positive");
+            assertNonNull(unit, "TimeUnit may not be null");
+            this.headTokenRefreshIntervalMillis = unit.toMillis(interval);
+            return this;
+        }
+
+        /**
+         * Initializes a {@link StreamingProcessorMetrics} as specified through this Builder.
+         *
+         * @return a {@link StreamingProcessorMetrics} as specified through this Builder
+         */
+        public StreamingProcessorMetrics build() {
+            return new StreamingProcessorMetrics(this);
+        }
+
+        /**
+         * Validate whether the fields contained in this Builder as set accordingly.
+         *
+         * @throws AxonConfigurationException if one field is asserted to be incorrect according to the Builder's
+         *                                    specifications
+         */
+        protected void validate() throws AxonConfigurationException {
+            assertNonEmpty(meterNamePrefix, "The meter name prefix is a hard requirement and should be provided");
+            assertNonNull(meterRegistry, "The MeterRegistry is a hard requirement and should be provided");
+        }
+    }
+}
@@ -46,11 +46,11 @@ private TagsUtil() {
      */
     public static final String PROCESSOR_NAME_TAG = "processorName";
     /**
-     * The function for creating the Micrometer {@link Tag}s based on the message payload type.
+     * The function for creating the Micrometer {@link Tag}s based on the message payload type. The {@link Tags} are
+     * created once per payload type and reused for subsequent messages.
      */
-    public static final Function<Message<?>, Iterable<Tag>> PAYLOAD_TYPE_TAGGER_FUNCTION = message -> Tags.of(
-            PAYLOAD_TYPE_TAG,
-            message.getPayloadType().getSimpleName());
+    public static final Function<Message<?>, Iterable<Tag>> PAYLOAD_TYPE_TAGGER_FUNCTION =
+            payloadTypeTagger(Tags.empty());
 
     /**
      * The function for creating the Micrometer {@link Tag}s based on the message metadata.
@@ -58,4 +58,22 @@ private TagsUtil() {
     public static final Function<Message<?>, Iterable<Tag>> META_DATA_TAGGER_FUNCTION = message -> message
             .getMetaData().entrySet().stream().map(it -> Tag.of(it.getKey(), it.getValue().toString()))
             .collect(Collectors.toList());
+
+    /**
+     * Creates a function for creating the Micrometer {@link Tag}s based on the message payload type, combined with the
+     * given {@code additionalTags}. The {@link Tags} are created once per payload type and reused for subsequent
+     * messages, so that tagging a message does not allocate.
+     *
+     * @param additionalTags the {@link Tags} to add to the payload type {@link Tag}
+     * @return a function creating the {@link Tags} for the payload type of a message
+     */
+    public static Function<Message<?>, Iterable<Tag>> payloadTypeTagger(Tags additionalTags) {
+        ClassValue<Tags> tagsPerPayloadType = new ClassValue<Tags>() {
+            @Override
+            protected Tags computeValue(Class<?> payloadType) {
+                return additionalTags.and(PAYLOAD_TYPE_TAG, payloadType.getSimpleName());
+            }
+        };
+        return message -> tagsPerPayloadType.get(message.getPayloadType());
+    }
 }
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2010-2024. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.micrometer.reservoir;
+
+import io.micrometer.core.instrument.Clock;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A reservoir of measurements constrained by a sliding window, which aggregates the measurements made in the last
+ * {@code N} seconds (or other time unit) into a fixed ring of time buckets.
+ * <p>
+ * In contrast to the {@link SlidingTimeWindowReservoir}, this reservoir does not retain individual measurements. Each
+ * bucket only keeps the sum and count of the measurements made during its slice of the window, making the memory
+ * footprint independent of the throughput, and updates lock-free. The number of buckets defines the precision with
+ * which measurements leave the window: a measurement is part of the window until the bucket it was recorded in is
+ * reused, which is between {@code window - window / buckets} and {@code window} after the measurement was made.
+ *
+ * @author agent
+ * @since 4.11.0
+ */
+public class BucketedTimeWindowReservoir {
+
+    private static final long UNUSED = Long.MIN_VALUE;
+
+    private final Clock clock;
+    private final int buckets;
+    private final long bucketDuration;
+    private final AtomicLongArray bucketTicks;
+    private final LongAdder[] sums;
+    private final LongAdder[] counts;
+
+    /**
+     * Creates a new {@link BucketedTimeWindowReservoir} with the given clock and window of time, divided into the given
+     * number of {@code buckets}.
+     *
+     * @param window     the window of time
+     * @param windowUnit the unit of {@code window}
+     * @param clock      the {@link Clock} to use
+     * @param buckets    the number of buckets to divide the window into
+     */
+    public BucketedTimeWindowReservoir(long window, TimeUnit windowUnit, Clock clock, int buckets) {
+        if (buckets <= 0) {
+            throw new IllegalArgumentException("The number of buckets should be strictly positive");
+        }
+        this.clock = clock;
+        this.buckets = buckets;
+        this.bucketDuration = Math.max(1, windowUnit.toNanos(window) / buckets);
+        this.bucketTicks = new AtomicLongArray(buckets);
+        this.sums = new LongAdder[buckets];
+        this.counts = new LongAdder[buckets];
+        for (int i = 0; i < buckets; i++) {
+            bucketTicks.set(i, UNUSED);
+            sums[i] = new LongAdder();
+            counts[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Add new measurement value
+     *
+     * @param value the measurement value
+     */
+    public void update(long value) {
+        long tick = currentTick();
+        int index = (int) Math.floorMod(tick, (long) buckets);
+        long bucketTick = bucketTicks.get(index);
+        // the thread moving the bucket to the current tick resets it, losing at most a few concurrent measurements
+        if (bucketTick < tick && bucketTicks.compareAndSet(index, bucketTick, tick)) {
+            sums[index].reset();
+            counts[index].reset();
+        }
+        sums[index].add(value);
+        counts[index].increment();
+    }
+
+    /**
+     * Returns the sum of the measurements made within the window.
+     *
+     * @return the sum of the measurements made within the window
+     */
+    public long getSum() {
+        return aggregate(sums);
+    }
+
+    /**
+     * Returns the number of measurements made within the window.
+     *
+     * @return the number of measurements made within the window
+     */
+    public long getCount() {
+        return aggregate(counts);
+    }
+
+    private long aggregate(LongAdder[] values) {
+        long tick = currentTick();
+        long total = 0;
+        for (int i = 0; i < buckets; i++) {
+            long bucketTick = bucketTicks.get(i);
+            if (bucketTick != UNUSED && tick - bucketTick < buckets) {
+                total += values[i].sum();
+            }
+        }
+        return total;
+    }
+
+    private long currentTick() {
+        return Math.floorDiv(clock.monotonicTime(), bucketDuration);
+    }
+}
@@ -35,7 +35,10 @@
  * @author ceetav
  * @author Marijn van Zelst
  * @since 4.1
+ * @deprecated in favor of the {@link BucketedTimeWindowReservoir}, which aggregates measurements in a fixed number of
+ * buckets instead of retaining each individual measurement
  */
+@Deprecated
 public class SlidingTimeWindowReservoir {
 
     // allow for this many duplicate ticks before overwriting measurements
@@ -61,6 +61,29 @@ void capacityWithoutTags() {
         assertEquals(2, capacityGauge.value(), 0);
     }
 
+    @Test
+    void capacityExcludesMeasurementsOutsideWindow() {
+        MockClock testClock = new MockClock();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        CapacityMonitor testSubject = CapacityMonitor.buildMonitor("1",
+                                                                   meterRegistry,
+                                                                   10,
+                                                                   TimeUnit.SECONDS,
+                                                                   testClock,
+                                                                   message -> Tags.empty(),
+                                                                   10);
+
+        MessageMonitor.MonitorCallback callback = testSubject.onMessageIngested(asEventMessage(1));
+        testClock.addSeconds(5);
+        callback.reportSuccess();
+
+        Gauge capacityGauge = meterRegistry.get("1.capacity").gauge();
+        assertEquals(0.5, capacityGauge.value(), 0);
+
+        testClock.addSeconds(10);
+        assertEquals(0, capacityGauge.value(), 0);
+    }
+
     @Test
     void capacityWithPayloadTypeAsCustomTag() {
         MockClock testClock = new MockClock();
@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2010-2024. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.micrometer;
+
+import io.micrometer.core.instrument.MockClock;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.axonframework.eventhandling.GlobalSequenceTrackingToken;
+import org.axonframework.eventhandling.TrackedEventMessage;
+import org.axonframework.messaging.StreamableMessageSource;
+import org.junit.jupiter.api.*;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class validating the {@link StreamingProcessorMetrics}.
+ *
+ * @author agent
+ */
+class StreamingProcessorMetricsTest {
+
+    private MockClock clock;
+    private SimpleMeterRegistry meterRegistry;
+    private StreamableMessageSource<TrackedEventMessage<?>> messageSource;
+
+    private StreamingProcessorMetrics testSubject;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MockClock();
+        meterRegistry = new SimpleMeterRegistry();
+        //noinspection unchecked
+        messageSource = mock(StreamableMessageSource.class);
+        testSubject = StreamingProcessorMetrics.builder()
+                                               .meterNamePrefix("processor")
+                                               .meterRegistry(meterRegistry)
+                                               .messageSource(messageSource)
+                                               .clock(clock)
+                                               .build();
+    }
+
+    @Test
+    void measurementsAreRegisteredPerSegment() {
+        testSubject.batchProcessed("test", 0, 10, TimeUnit.MILLISECONDS.toNanos(5));
+        testSubject.batchProcessed("test", 1, 4, TimeUnit.MILLISECONDS.toNanos(3));
+        testSubject.batchProcessed("test", 1, 6, TimeUnit.MILLISECONDS.toNanos(3));
+
+        assertEquals(1, meterRegistry.get("processor.batch").tag("segment", "0").timer().count());
+        assertEquals(2, meterRegistry.get("processor.batch").tag("segment", "1").timer().count());
+        assertEquals(10, meterRegistry.get("processor.batchSize").tag("segment", "1").summary().totalAmount());
+    }
+
+    @Test
+    void segmentsOfDifferentProcessorsAreRegisteredSeparately() {
+        testSubject.tokenStored("test", 7, 1000);
+        testSubject.tokenStored("test", 2, 1000);
+        testSubject.tokenStored("test", 7, 1000);
+        testSubject.tokenStored("other", 2, 1000);
+
+        assertEquals(2, meterRegistry.get("processor.tokenStore")
+                                     .tag(TagsUtil.PROCESSOR_NAME_TAG, "test")
+                                     .tag("segment", "7")
+                                     .timer()
+                                     .count());
+        assertEquals(1, meterRegistry.get("processor.tokenStore")
+                                     .tag(TagsUtil.PROCESSOR_NAME_TAG, "test")
+                                     .tag("segment", "2")
+                                     .timer()
+                                     .count());
+        assertEquals(1, meterRegistry.get("processor.tokenStore")
+                                     .tag(TagsUtil.PROCESSOR_NAME_TAG, "other")
+                                     .tag("segment", "2")
+                                     .timer()
+                                     .count());
+    }
+
+    @Test
+    void fetchesForAllSegmentsAreTaggedAsSuch() {
+        testSubject.eventsFetched("test", -1, 100, 1000);
+
+        assertEquals(1, meterRegistry.get("processor.fetch")
+                                     .tag(TagsUtil.PROCESSOR_NAME_TAG, "test")
+                                     .tag("segment", "all")
+                                     .timer()
+                                     .count());
+    }
+
+    @Test
+    void handlerInvocationsAreTaggedWithHandlerType() {
+        testSubject.handlerInvoked("test", 0, String.class, 1000);
+        testSubject.handlerInvoked("test", 0, String.class, 1000);
+        testSubject.handlerInvoked("test", 0, Integer.class, 1000);
+
+        assertEquals(2, meterRegistry.get("processor.handler").tag("handler", "String").timer().count());
+        assertEquals(1, meterRegistry.get("processor.handler").tag("handler", "Integer").timer().count());
+    }
+
+    @Test
+    void claimsAndReleasesAreCounted() {
+        testSubject.segmentClaimed("test", 0);
+        testSubject.segmentReleased("test", 0);
+        testSubject.segmentClaimed("test", 0);
+
+        assertEquals(2, meterRegistry.get("processor.claims").tag("segment", "0").counter().count());
+        assertEquals(1, meterRegistry.get("processor.releases").tag("segment", "0").counter().count());
+    }
+
+    @Test
+    void lagIsComputedFromLastProcessedEvent() {
+        when(messageSource.createHeadToken()).thenReturn(new GlobalSequenceTrackingToken(100));
+        Instant eventTimestamp = Instant.ofEpochMilli(clock.wallTime());
+        clock.add(250, TimeUnit.MILLISECONDS);
+
+        testSubject.segmentAdvanced("test", 0, new GlobalSequenceTrackingToken(60), eventTimestamp);
+
+        assertEquals(250, meterRegistry.get("processor.lag.time").tag("segment", "0").gauge().value());
+        assertEquals(40, meterRegistry.get("processor.lag.events").tag("segment", "0").gauge().value());
+    }
+
+    @Test
+    void headTokenIsOnlyRequestedOncePerRefreshInterval() {
+        when(messageSource.createHeadToken()).thenReturn(new GlobalSequenceTrackingToken(100));
+        testSubject.segmentAdvanced("test", 0, new GlobalSequenceTrackingToken(60), Instant.now());
+        testSubject.segmentAdvanced("test", 1, new GlobalSequenceTrackingToken(80), Instant.now());
+
+        meterRegistry.get("processor.lag.events").gauges().forEach(gauge -> gauge.value());
+        meterRegistry.get("processor.lag.events").gauges().forEach(gauge -> gauge.value());
+        verify(messageSource, times(1)).createHeadToken();
+
+        clock.add(1, TimeUnit.SECONDS);
+        meterRegistry.get("processor.lag.events").gauges().forEach(gauge -> gauge.value());
+        verify(messageSource, times(2)).createHeadToken();
+    }
+
+    @Test
+    void eventLagIsNotRegisteredWithoutMessageSource() {
+        StreamingProcessorMetrics withoutSource = StreamingProcessorMetrics.builder()
+                                                                           .meterNamePrefix("other")
+                                                                           .meterRegistry(meterRegistry)
+                                                                           .build();
+
+        withoutSource.segmentClaimed("test", 0);
+
+        assertNull(meterRegistry.find("other.lag.events").gauge());
+        assertTrue(Double.isNaN(meterRegistry.get("other.lag.time").gauge().value()));
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2010-2024. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.micrometer.reservoir;
+
+import io.micrometer.core.instrument.Clock;
+import org.junit.jupiter.api.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class validating the {@link BucketedTimeWindowReservoir}.
+ *
+ * @author agent
+ */
+class BucketedTimeWindowReservoirTest {
+
+    private final Clock clock = mock(Clock.class);
+    private final BucketedTimeWindowReservoir reservoir =
+            new BucketedTimeWindowReservoir(10, TimeUnit.NANOSECONDS, clock, 2);
+
+    @Test
+    void aggregatesMeasurementsWithinSameBucket() {
+        when(clock.monotonicTime()).thenReturn(20L);
+
+        reservoir.update(1L);
+        reservoir.update(2L);
+
+        assertEquals(3L, reservoir.getSum());
+        assertEquals(2L, reservoir.getCount());
+    }
+
+    @Test
+    void boundsMeasurementsToATimeWindow() {
+        when(clock.monotonicTime()).thenReturn(0L);
+        reservoir.update(1L);
+
+        when(clock.monotonicTime()).thenReturn(5L);
+        reservoir.update(2L);
+
+        when(clock.monotonicTime()).thenReturn(10L);
+        reservoir.update(3L);
+
+        when(clock.monotonicTime()).thenReturn(15L);
+        reservoir.update(4L);
+
+        when(clock.monotonicTime()).thenReturn(20L);
+        reservoir.update(5L);
+
+        assertEquals(9L, reservoir.getSum());
+        assertEquals(2L, reservoir.getCount());
+    }
+
+    @Test
+    void measurementsExpireWithoutNewUpdates() {
+        when(clock.monotonicTime()).thenReturn(0L);
+        reservoir.update(1L);
+
+        when(clock.monotonicTime()).thenReturn(9L);
+        assertEquals(1L, reservoir.getSum());
+
+        when(clock.monotonicTime()).thenReturn(10L);
+        assertEquals(0L, reservoir.getSum());
+        assertEquals(0L, reservoir.getCount());
+    }
+
+    @Test
+    void emptyReservoirReportsNothing() {
+        when(clock.monotonicTime()).thenReturn(Long.MAX_VALUE);
+
+        assertEquals(0L, reservoir.getSum());
+        assertEquals(0L, reservoir.getCount());
+    }
+
+    @Test
+    void rejectsNonPositiveNumberOfBuckets() {
+        assertThrows(IllegalArgumentException.class,
+                     () -> new BucketedTimeWindowReservoir(10, TimeUnit.NANOSECONDS, clock, 0));
+    }
+}
@@ -0,0 +1,241 @@
+/*
+ * Copyright (c) 2010-2024. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.metrics;
+
+import com.codahale.metrics.Clock;
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import org.axonframework.eventhandling.StreamingProcessorInstrumentation;
+import org.axonframework.eventhandling.TrackingToken;
+import org.axonframework.messaging.StreamableMessageSource;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link StreamingProcessorInstrumentation} registering metrics per processor and segment in a {@link
+ * MetricRegistry}. This allows to determine whether a slow {@link
+ * org.axonframework.eventhandling.StreamingEventProcessor} is bound by fetching events, by its event handlers or by
+ * the {@link org.axonframework.eventhandling.tokenstore.TokenStore}.
+ * <p>
+ * Metrics are registered under {@code [processorName].[segment]}, where the segment is either {@code segment-[id]}, or
+ * {@code all} for processors reading events for all their segments at once. Per segment, it registers a {@code fetch},
+ * {@code batch} and {@code tokenStore} {@link Timer}, a {@code batchSize} {@link Histogram}, {@code claims} and
+ * {@code releases} {@link Counter Counters}, a {@code handler.[handlerType]} {@link Timer} per type of event handler
+ * and a {@code lag.time} {@link Gauge} in milliseconds. When a {@link StreamableMessageSource} is given, a {@code
+ * lag.events} {@link Gauge} is registered as well, requesting the head token at most once per second when read.
+ * <p>
+ * Note that the time to deserialize an event is attributed to the first handler accessing it.
+ *
+ * @author agent
+ * @since 4.11.0
+ */
+public class StreamingProcessorMetrics implements StreamingProcessorInstrumentation {
+
+    private static final long HEAD_TOKEN_REFRESH_INTERVAL = TimeUnit.SECONDS.toNanos(1);
+
+    private final MetricRegistry registry;
+    private final StreamableMessageSource<?> messageSource;
+    private final Clock clock;
+
+    private final ConcurrentMap<String, ProcessorMetrics> processorMetrics = new ConcurrentHashMap<>();
+    private volatile long headPosition = -1;
+    private volatile long headPositionRetrievedAt;
+    private volatile boolean headPositionRetrieved;
+
+    /**
+     * Construct a {@link StreamingProcessorMetrics} registering its metrics in the given {@code registry}, without
+     * reporting the number of events segments lag behind.
+     *
+     * @param registry the {@link MetricRegistry} to register the metrics in
+     */
+    public StreamingProcessorMetrics(MetricRegistry registry) {
+        this(registry, null, Clock.defaultClock());
+    }
+
+    /**
+     * Construct a {@link StreamingProcessorMetrics} registering its metrics in the given {@code registry}. The head
+     * token of the given {@code messageSource} is used to compute the number of events segments lag behind. The
+     * {@code messageSource} may be {@code null}, in which case this lag is not reported.
+     *
+     * @param registry      the {@link MetricRegistry} to register the metrics in
+     * @param messageSource the {@link StreamableMessageSource} the processor reads from, or {@code null}
+     * @param clock         the {@link Clock} used to compute the time lag and to decide when to refresh the head token
+     */
+    public StreamingProcessorMetrics(MetricRegistry registry, StreamableMessageSource<?> messageSource, Clock clock) {
+        this.registry = registry;
+        this.messageSource = messageSource;
+        this.clock = clock;
+    }
+
+    @Override
+    public void eventsFetched(String processorName, int segmentId, int count, long durationNanos) {
+        metricsFor(processorName, segmentId).fetch.update(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void batchProcessed(String processorName, int segmentId, int batchSize, long durationNanos) {
+        SegmentMetrics metrics = metricsFor(processorName, segmentId);
+        metrics.batch.update(durationNanos, TimeUnit.NANOSECONDS);
+        metrics.batchSize.update(batchSize);
+    }
+
+    @Override
+    public void handlerInvoked(String processorName, int segmentId, Class<?> handlerType, long durationNanos) {
+        metricsFor(processorName, segmentId).handlerTimers.get(handlerType)
+                                                          .update(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void tokenStored(String processorName, int segmentId, long durationNanos) {
+        metricsFor(processorName, segmentId).tokenStore.update(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void segmentClaimed(String processorName, int segmentId) {
+        metricsFor(processorName, segmentId).claims.inc();
+    }
+
+    @Override
+    public void segmentReleased(String processorName, int segmentId) {
+        metricsFor(processorName, segmentId).releases.inc();
+    }
+
+    @Override
+    public void segmentAdvanced(String processorName, int segmentId, TrackingToken token, Instant eventTimestamp) {
+        SegmentMetrics metrics = metricsFor(processorName, segmentId);
+        metrics.lastEventTimestamp = eventTimestamp.toEpochMilli();
+        metrics.position = positionOf(token);
+    }
+
+    private SegmentMetrics metricsFor(String processorName, int segmentId) {
+        ProcessorMetrics metrics = processorMetrics.get(processorName);
+        if (metrics == null) {
+            metrics = processorMetrics.computeIfAbsent(processorName, ProcessorMetrics::new);
+        }
+        return metrics.forSegment(segmentId);
+    }
+
+    private static long positionOf(TrackingToken token) {
+        OptionalLong position = token == null ? OptionalLong.empty() : token.position();
+        return position.orElse(-1);
+    }
+
+    private long headPosition() {
+        long now = clock.getTick();
+        if (!headPositionRetrieved || now - headPositionRetrievedAt >= HEAD_TOKEN_REFRESH_INTERVAL) {
+            headPosition = positionOf(messageSource.createHeadToken());
+            headPositionRetrievedAt = now;
+            headPositionRetrieved = true;
+        }
+        return headPosition;
+    }
+
+    /**
+     * The metrics of a single processor, indexed by segment identifier so that looking them up does not build metric
+     * names.
+     */
+    private class ProcessorMetrics {
+
+        private final String processorName;
+        private volatile SegmentMetrics allSegments;
+        private volatile SegmentMetrics[] segments = new SegmentMetrics[0];
+
+        private ProcessorMetrics(String processorName) {
+            this.processorName = processorName;
+        }
+
+        private SegmentMetrics forSegment(int segmentId) {
+            SegmentMetrics metrics;
+            if (segmentId < 0) {
+                metrics = allSegments;
+            } else {
+                SegmentMetrics[] current = segments;
+                metrics = segmentId < current.length ? current[segmentId] : null;
+            }
+            return metrics != null ? metrics : register(segmentId);
+        }
+
+        private synchronized SegmentMetrics register(int segmentId) {
+            if (segmentId < 0) {
+                if (allSegments == null) {
+                    allSegments = new SegmentMetrics(MetricRegistry.name(processorName, "all"));
+                }
+                return allSegments;
+            }
+            SegmentMetrics[] current = segments;
+            if (segmentId < current.length && current[segmentId] != null) {
+                return current[segmentId];
+            }
+            // a copy is published, so readers never observe a partially initialized array
+            SegmentMetrics[] updated = Arrays.copyOf(current, Math.max(current.length, segmentId + 1));
+            updated[segmentId] = new SegmentMetrics(MetricRegistry.name(processorName, "segment-" + segmentId));
+            segments = updated;
+            return updated[segmentId];
+        }
+    }
+
+    private class SegmentMetrics {
+
+        private final Timer fetch;
+        private final Timer batch;
+        private final Histogram batchSize;
+        private final Timer tokenStore;
+        private final Counter claims;
+        private final Counter releases;
+        private final ClassValue<Timer> handlerTimers;
+        private volatile long lastEventTimestamp = -1;
+        private volatile long position = -1;
+
+        private SegmentMetrics(String prefix) {
+            this.fetch = registry.timer(MetricRegistry.name(prefix, "fetch"));
+            this.batch = registry.timer(MetricRegistry.name(prefix, "batch"));
+            this.batchSize = registry.histogram(MetricRegistry.name(prefix, "batchSize"));
+            this.tokenStore = registry.timer(MetricRegistry.name(prefix, "tokenStore"));
+            this.claims = registry.counter(MetricRegistry.name(prefix, "claims"));
+            this.releases = registry.counter(MetricRegistry.name(prefix, "releases"));
+            this.handlerTimers = new ClassValue<Timer>() {
+                @Override
+                protected Timer computeValue(Class<?> handlerType) {
+                    return registry.timer(MetricRegistry.name(prefix, "handler", handlerType.getSimpleName()));
+                }
+            };
+            registry.gauge(MetricRegistry.name(prefix, "lag", "time"), () -> (Gauge<Long>) this::timeLag);
+            if (messageSource != null) {
+                registry.gauge(MetricRegistry.name(prefix, "lag", "events"), () -> (Gauge<Long>) this::eventLag);
+            }
+        }
+
+        private Long timeLag() {
+            long timestamp = lastEventTimestamp;
+            return timestamp < 0 ? null : Math.max(clock.getTime() - timestamp, 0);
+        }
+
+        private Long eventLag() {
+            long current = position;
+            long head = current < 0 ? -1 : headPosition();
+            return current < 0 || head < 0 ? null : Math.max(head - current, 0);
+        }
+    }
+}
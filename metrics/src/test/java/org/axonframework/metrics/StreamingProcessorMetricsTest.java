@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2010-2024. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.metrics;
+
+import com.codahale.metrics.MetricRegistry;
+import org.axonframework.eventhandling.GlobalSequenceTrackingToken;
+import org.axonframework.eventhandling.TrackedEventMessage;
+import org.axonframework.messaging.StreamableMessageSource;
+import org.junit.jupiter.api.*;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class validating the {@link StreamingProcessorMetrics}.
+ *
+ * @author agent
+ */
+class StreamingProcessorMetricsTest {
+
+    private TestClock clock;
+    private MetricRegistry registry;
+    private StreamableMessageSource<TrackedEventMessage<?>> messageSource;
+
+    private StreamingProcessorMetrics testSubject;
+
+    @BeforeEach
+    void setUp() {
+        clock = new TestClock();
+        registry = new MetricRegistry();
+        //noinspection unchecked
+        messageSource = mock(StreamableMessageSource.class);
+        testSubject = new StreamingProcessorMetrics(registry, messageSource, clock);
+    }
+
+    @Test
+    void measurementsAreRegisteredPerSegment() {
+        testSubject.batchProcessed("test", 0, 10, 1000);
+        testSubject.batchProcessed("test", 1, 4, 1000);
+        testSubject.eventsFetched("test", -1, 14, 1000);
+        testSubject.handlerInvoked("test", 1, String.class, 1000);
+        testSubject.tokenStored("test", 1, 1000);
+
+        assertEquals(1, registry.timer("test.segment-0.batch").getCount());
+        assertEquals(4, registry.histogram("test.segment-1.batchSize").getSnapshot().getMax());
+        assertEquals(1, registry.timer("test.all.fetch").getCount());
+        assertEquals(1, registry.timer("test.segment-1.handler.String").getCount());
+        assertEquals(1, registry.timer("test.segment-1.tokenStore").getCount());
+    }
+
+    @Test
+    void segmentsOfDifferentProcessorsAreRegisteredSeparately() {
+        testSubject.tokenStored("test", 7, 1000);
+        testSubject.tokenStored("test", 2, 1000);
+        testSubject.tokenStored("test", 7, 1000);
+        testSubject.tokenStored("other", 2, 1000);
+
+        assertEquals(2, registry.timer("test.segment-7.tokenStore").getCount());
+        assertEquals(1, registry.timer("test.segment-2.tokenStore").getCount());
+        assertEquals(1, registry.timer("other.segment-2.tokenStore").getCount());
+    }
+
+    @Test
+    void claimsAndReleasesAreCounted() {
+        testSubject.segmentClaimed("test", 0);
+        testSubject.segmentReleased("test", 0);
+        testSubject.segmentClaimed("test", 0);
+
+        assertEquals(2, registry.counter("test.segment-0.claims").getCount());
+        assertEquals(1, registry.counter("test.segment-0.releases").getCount());
+    }
+
+    @Test
+    void lagIsComputedFromLastProcessedEvent() {
+        when(messageSource.createHeadToken()).thenReturn(new GlobalSequenceTrackingToken(100));
+        Instant eventTimestamp = Instant.ofEpochMilli(clock.getTime());
+        clock.increase(250);
+
+        testSubject.segmentAdvanced("test", 0, new GlobalSequenceTrackingToken(60), eventTimestamp);
+
+        assertEquals(250L, registry.getGauges().get("test.segment-0.lag.time").getValue());
+        assertEquals(40L, registry.getGauges().get("test.segment-0.lag.events").getValue());
+        registry.getGauges().get("test.segment-0.lag.events").getValue();
+        verify(messageSource, times(1)).createHeadToken();
+    }
+}
@@ -34,8 +34,12 @@
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -164,6 +168,49 @@ public A load(@Nonnull String aggregateIdentifier, Long expectedVersion) {
                           });
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Aggregates already managed by the current Unit of Work are reused. All other aggregates are loaded at once
+     * through {@link #doLoadAll(Collection)}.
+     *
+     * @throws AggregateNotFoundException if any of the aggregates with given ids cannot be found
+     * @throws RuntimeException           any exception thrown by implementing classes
+     */
+    @Override
+    public Map<String, Aggregate<T>> loadAll(@Nonnull Collection<String> aggregateIdentifiers) {
+        return spanFactory.createLoadAllSpan(aggregateIdentifiers)
+                          .runSupplier(() -> doLoadAllManaged(aggregateIdentifiers));
+    }
+
+    private Map<String, Aggregate<T>> doLoadAllManaged(Collection<String> aggregateIdentifiers) {
+        UnitOfWork<?> uow = currentUnitOfWork();
+        Map<String, A> aggregates = managedAggregates(uow);
+        List<String> identifiersToLoad = new ArrayList<>();
+        for (String aggregateIdentifier : aggregateIdentifiers) {
+            if (!aggregates.containsKey(aggregateIdentifier) && !identifiersToLoad.contains(aggregateIdentifier)) {
+                identifiersToLoad.add(aggregateIdentifier);
+            }
+        }
+        if (!identifiersToLoad.isEmpty()) {
+            try {
+                aggregates.putAll(doLoadAll(identifiersToLoad));
+            } catch (Exception e) {
+                logger.warn("Exception occurred while trying to load aggregates with identifiers {}.",
+                            identifiersToLoad, e);
+                throw e;
+            }
+        }
+        Map<String, Aggregate<T>> result = new LinkedHashMap<>();
+        for (String aggregateIdentifier : aggregateIdentifiers) {
+            A aggregate = aggregates.get(aggregateIdentifier);
+            uow.onRollback(u -> aggregates.remove(aggregateIdentifier));
+            validateOnLoad(aggregate, null);
+            prepareForCommit(aggregate);
+            result.put(aggregateIdentifier, aggregate);
+        }
+        return result;
+    }
 
     @Override
     public Aggregate<T> loadOrCreate(@Nonnull String aggregateIdentifier, @Nonnull Callable<T> factoryMethod) {
@@ -343,6 +390,25 @@ protected Class<? extends T> getAggregateType() {
      */
     protected abstract A doLoad(String aggregateIdentifier, Long expectedVersion);
 
+    /**
+     * Loads and initializes the aggregates with the given {@code aggregateIdentifiers}. None of the aggregates are
+     * managed by the current Unit of Work yet.
+     * <p>
+     * This implementation invokes {@link #doLoad(String, Long)} for each of the given identifiers. Repositories able to
+     * load many aggregates in a single round trip to their storage should override this method.
+     *
+     * @param aggregateIdentifiers the distinct identifiers of the aggregates to load
+     * @return the fully initialized aggregates, mapped by identifier
+     * @throws AggregateNotFoundException if any of the aggregates with given identifiers does not exist
+     */
+    protected Map<String, A> doLoadAll(Collection<String> aggregateIdentifiers) {
+        Map<String, A> aggregates = new LinkedHashMap<>();
+        for (String aggregateIdentifier : aggregateIdentifiers) {
+            aggregates.put(aggregateIdentifier, doLoad(aggregateIdentifier, null));
+        }
+        return aggregates;
+    }
+
 
     /**
      * Loads an aggregate from the reporsitory. If the aggregate does not exists, it is created using the {@code
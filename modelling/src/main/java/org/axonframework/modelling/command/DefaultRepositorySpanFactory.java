@@ -20,6 +20,8 @@
 import org.axonframework.tracing.Span;
 import org.axonframework.tracing.SpanFactory;
 
+import java.util.Collection;
+
 /**
  * Default implementation of the {@link RepositorySpanFactory}. The attribute used for the identifier of the aggregate
  * can be configured.
@@ -62,6 +64,12 @@ public Span createLoadSpan(String aggregateId) {
                 .addAttribute(aggregateIdAttribute, aggregateId);
     }
 
+    @Override
+    public Span createLoadAllSpan(Collection<String> aggregateIds) {
+        return spanFactory.createInternalSpan(() -> "Repository.loadAll")
+                          .addAttribute(aggregateIdAttribute, String.join(",", aggregateIds));
+    }
+
     @Override
     public Span createObtainLockSpan(String aggregateId) {
         return spanFactory.createInternalSpan(() -> "Repository.obtainLock")
@@ -30,6 +30,11 @@
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.Callable;
@@ -144,6 +149,41 @@ protected LockAwareAggregate<T, A> doLoad(String aggregateIdentifier, Long expec
         }
     }
 
+    /**
+     * Obtains the locks of all given aggregates before delegating to {@link #doLoadAllWithLock(Collection)}. Locks are
+     * obtained in natural order of the aggregate identifiers, so that concurrent batch loads of overlapping aggregates
+     * cannot deadlock one another.
+     *
+     * @param aggregateIdentifiers the distinct identifiers of the aggregates to load
+     * @return the fully initialized aggregates, mapped by identifier
+     */
+    @Override
+    protected Map<String, LockAwareAggregate<T, A>> doLoadAll(Collection<String> aggregateIdentifiers) {
+        List<String> lockOrder = new ArrayList<>(aggregateIdentifiers);
+        lockOrder.sort(null);
+        Map<String, Lock> locks = new LinkedHashMap<>();
+        try {
+            for (String aggregateIdentifier : lockOrder) {
+                locks.put(aggregateIdentifier,
+                          spanFactory.createObtainLockSpan(aggregateIdentifier)
+                                     .runSupplier(() -> lockFactory.obtainLock(aggregateIdentifier)));
+            }
+            Map<String, A> loaded = doLoadAllWithLock(aggregateIdentifiers);
+            Map<String, LockAwareAggregate<T, A>> aggregates = new LinkedHashMap<>();
+            for (String aggregateIdentifier : aggregateIdentifiers) {
+                aggregates.put(aggregateIdentifier,
+                               new LockAwareAggregate<>(loaded.get(aggregateIdentifier),
+                                                        locks.get(aggregateIdentifier)));
+            }
+            CurrentUnitOfWork.get().onCleanup(u -> locks.values().forEach(Lock::release));
+            return aggregates;
+        } catch (Throwable ex) {
+            logger.debug("Exception occurred while trying to load aggregates. Releasing locks.", ex);
+            locks.values().forEach(Lock::release);
+            throw ex;
+        }
+    }
+
     @Override
     protected LockAwareAggregate<T, A> doLoadOrCreate(String aggregateIdentifier,
                                                       Callable<T> factoryMethod) throws Exception {
@@ -230,6 +270,24 @@ protected final void doDelete(LockAwareAggregate<T, A> aggregate) {
      */
     protected abstract A doLoadWithLock(String aggregateIdentifier, Long expectedVersion);
 
+    /**
+     * Loads the aggregates with the given {@code aggregateIdentifiers}. All necessary locks have been obtained.
+     * <p>
+     * This implementation invokes {@link #doLoadWithLock(String, Long)} for each of the given identifiers.
+     * Repositories able to load many aggregates in a single round trip to their storage should override this method.
+     *
+     * @param aggregateIdentifiers the distinct identifiers of the aggregates to load
+     * @return the fully initialized aggregates, mapped by identifier
+     * @throws AggregateNotFoundException if any of the aggregates with given identifiers does not exist
+     */
+    protected Map<String, A> doLoadAllWithLock(Collection<String> aggregateIdentifiers) {
+        Map<String, A> aggregates = new LinkedHashMap<>();
+        for (String aggregateIdentifier : aggregateIdentifiers) {
+            aggregates.put(aggregateIdentifier, doLoadWithLock(aggregateIdentifier, null));
+        }
+        return aggregates;
+    }
+
     /**
      * Abstract Builder class to instantiate {@link LockingRepository} implementations.
      * <p>
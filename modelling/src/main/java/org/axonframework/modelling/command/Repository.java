@@ -18,6 +18,9 @@
 
 import org.axonframework.messaging.ScopeAware;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.concurrent.Callable;
 import java.util.function.Consumer;
 import javax.annotation.Nonnull;
@@ -58,6 +61,26 @@
      */
     Aggregate<T> load(@Nonnull String aggregateIdentifier, @Nullable Long expectedVersion);
 
+    /**
+     * Load the aggregates with the given unique identifiers. No version checks are done when loading the aggregates,
+     * meaning that concurrent access will not be checked for.
+     * <p>
+     * Implementations may load the aggregates in a single round trip to the underlying storage. This default
+     * implementation invokes {@link #load(String)} for each of the given identifiers.
+     *
+     * @param aggregateIdentifiers The identifiers of the aggregates to load
+     * @return The aggregates with the given identifiers, mapped by identifier in iteration order of the given
+     * identifiers
+     * @throws AggregateNotFoundException if any of the aggregates with given ids cannot be found
+     */
+    default Map<String, Aggregate<T>> loadAll(@Nonnull Collection<String> aggregateIdentifiers) {
+        Map<String, Aggregate<T>> aggregates = new LinkedHashMap<>();
+        for (String aggregateIdentifier : aggregateIdentifiers) {
+            aggregates.put(aggregateIdentifier, load(aggregateIdentifier));
+        }
+        return aggregates;
+    }
+
     /**
      * Creates a new managed instance for the aggregate, using the given {@code factoryMethod}
      * to instantiate the aggregate's root.
@@ -18,6 +18,8 @@
 
 import org.axonframework.tracing.Span;
 
+import java.util.Collection;
+
 /**
  * Span factory that creates spans for the {@link Repository}. You can customize the spans of the bus by creating your
  * own implementation.
@@ -35,6 +37,17 @@ public interface RepositorySpanFactory {
      */
     Span createLoadSpan(String aggregateId);
 
+    /**
+     * Creates a span that represents the loading of several aggregates at once with the provided identifiers. Defaults
+     * to a {@link #createLoadSpan(String) load span} for the comma-separated identifiers.
+     *
+     * @param aggregateIds The identifiers of the aggregates that are being loaded.
+     * @return A span that represents the loading of the aggregates.
+     */
+    default Span createLoadAllSpan(Collection<String> aggregateIds) {
+        return createLoadSpan(String.join(",", aggregateIds));
+    }
+
     /**
      * Creates a span that represents the time waiting to acquire a lock on an aggregate with the provided identifier.
      *
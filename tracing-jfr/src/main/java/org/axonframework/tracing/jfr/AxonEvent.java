@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) 2010-2024. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.tracing.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+/**
+ * Base class of the Java Flight Recorder events published by Axon Framework. Stack traces are not recorded, as the
+ * events are published on hot paths and the stage of the framework is identified by the type of event.
+ *
+ * @author agent
+ * @since 4.11.0
+ */
+@Category("Axon Framework")
+@StackTrace(false)
+abstract class AxonEvent extends Event {
+
+    @Label("Failed")
+    boolean failed;
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2010-2024. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.tracing.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Java Flight Recorder event describing a read of events from the stream of a streaming event processor. As the
+ * measurement is reported once the events have been read, the time it took is recorded in the {@code fetchTime} field.
+ *
+ * @author agent
+ * @since 4.11.0
+ */
+@Name("org.axonframework.EventFetch")
+@Label("Event Fetch")
+@Category({"Axon Framework", "Event Store"})
+@Description("Reading events from the stream of a streaming event processor")
+class EventFetchEvent extends AxonEvent {
+
+    @Label("Processor Name")
+    String processorName;
+
+    @Label("Segment")
+    @Description("The segment the events were read for, or -1 when read for all segments")
+    int segment;
+
+    @Label("Event Count")
+    int eventCount;
+
+    @Label("Fetch Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long fetchTime;
+}
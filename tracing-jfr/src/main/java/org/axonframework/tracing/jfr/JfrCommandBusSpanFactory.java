@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2010-2024. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.tracing.jfr;
+
+import org.axonframework.commandhandling.CommandBusSpanFactory;
+import org.axonframework.commandhandling.CommandMessage;
+import org.axonframework.tracing.Span;
+
+/**
+ * A {@link CommandBusSpanFactory} decorator recording a {@link CommandDispatchEvent} and a {@link
+ * CommandHandlingEvent} in Java Flight Recorder for the spans created by the delegate. When these events are
+ * disabled, the spans of the delegate are returned as is.
+ *
+ * @author agent
+ * @since 4.11.0
+ */
+public class JfrCommandBusSpanFactory implements CommandBusSpanFactory {
+
+    private final CommandBusSpanFactory delegate;
+
+    /**
+     * Construct a {@link JfrCommandBusSpanFactory} decorating the given {@code delegate}.
+     *
+     * @param delegate the {@link CommandBusSpanFactory} creating the spans to record events for
+     */
+    public JfrCommandBusSpanFactory(CommandBusSpanFactory delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Span createDispatchCommandSpan(CommandMessage<?> commandMessage, boolean distributed) {
+        Span span = delegate.createDispatchCommandSpan(commandMessage, distributed);
+        CommandDispatchEvent event = new CommandDispatchEvent();
+        if (!event.isEnabled()) {
+            return span;
+        }
+        event.commandName = commandMessage.getCommandName();
+        event.distributed = distributed;
+        return new JfrSpan(span, event);
+    }
+
+    @Override
+    public Span createHandleCommandSpan(CommandMessage<?> commandMessage, boolean distributed) {
+        Span span = delegate.createHandleCommandSpan(commandMessage, distributed);
+        CommandHandlingEvent event = new CommandHandlingEvent();
+        if (!event.isEnabled()) {
+            return span;
+        }
+        event.commandName = commandMessage.getCommandName();
+        event.distributed = distributed;
+        return new JfrSpan(span, event);
+    }
+
+    @Override
+    public <T> CommandMessage<T> propagateContext(CommandMessage<T> commandMessage) {
+        return delegate.propagateContext(commandMessage);
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2010-2024. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.tracing.jfr;
+
+import org.axonframework.commandhandling.CommandBusSpanFactory;
+import org.axonframework.commandhandling.DefaultCommandBusSpanFactory;
+import org.axonframework.config.Configuration;
+import org.axonframework.config.Configurer;
+import org.axonframework.config.ConfigurerModule;
+import org.axonframework.config.EventProcessingConfiguration;
+import org.axonframework.eventhandling.DefaultEventBusSpanFactory;
+import org.axonframework.eventhandling.EventBusSpanFactory;
+import org.axonframework.eventhandling.NoOpStreamingProcessorInstrumentation;
+import org.axonframework.eventhandling.StreamingProcessorInstrumentation;
+import org.axonframework.lifecycle.Phase;
+import org.axonframework.modelling.command.DefaultRepositorySpanFactory;
+import org.axonframework.modelling.command.RepositorySpanFactory;
+import org.axonframework.queryhandling.DefaultQueryBusSpanFactory;
+import org.axonframework.queryhandling.QueryBusSpanFactory;
+
+import java.util.function.Function;
+import java.util.function.Supplier;
+import javax.annotation.Nonnull;
+
+/**
+ * A {@link ConfigurerModule} publishing Java Flight Recorder events for the hot paths of Axon Framework. It records
+ * events for dispatching and handling commands, handling queries, loading and locking aggregates, appending events,
+ * fetching events and storing tokens by streaming event processors, claiming segments and the phases of units of
+ * work.
+ * <p>
+ * The events do not record stack traces, and are only created when they are enabled in the active recording. Hence,
+ * the cost of this module is negligible when no recording is active. Events can be enabled and disabled individually
+ * through the recording settings, using their name, like {@code org.axonframework.CommandHandling}.
+ * <p>
+ * This module decorates the {@link CommandBusSpanFactory}, {@link QueryBusSpanFactory}, {@link
+ * RepositorySpanFactory}, {@link EventBusSpanFactory} and {@link StreamingProcessorInstrumentation} configured with the
+ * {@link Configurer}, so it can be combined with any tracing implementation or metrics module. The components are
+ * decorated when the configuration initializes, regardless of whether they were registered before or after this
+ * module was configured.
+ *
+ * @author agent
+ * @since 4.11.0
+ */
+public class JfrConfigurerModule implements ConfigurerModule {
+
+    @Override
+    public void configureModule(@Nonnull Configurer configurer) {
+        JfrUnitOfWorkInterceptor unitOfWorkInterceptor = new JfrUnitOfWorkInterceptor();
+        configurer.onInitialize(config -> {
+            decorate(configurer, config, CommandBusSpanFactory.class,
+                     () -> DefaultCommandBusSpanFactory.builder().spanFactory(config.spanFactory()).build(),
+                     JfrCommandBusSpanFactory::new);
+            decorate(configurer, config, QueryBusSpanFactory.class,
+                     () -> DefaultQueryBusSpanFactory.builder().spanFactory(config.spanFactory()).build(),
+                     JfrQueryBusSpanFactory::new);
+            decorate(configurer, config, RepositorySpanFactory.class,
+                     () -> DefaultRepositorySpanFactory.builder().spanFactory(config.spanFactory()).build(),
+                     JfrRepositorySpanFactory::new);
+            decorate(configurer, config, EventBusSpanFactory.class,
+                     () -> DefaultEventBusSpanFactory.builder().spanFactory(config.spanFactory()).build(),
+                     JfrEventBusSpanFactory::new);
+            decorate(configurer, config, StreamingProcessorInstrumentation.class,
+                     () -> NoOpStreamingProcessorInstrumentation.INSTANCE,
+                     JfrStreamingProcessorInstrumentation::new);
+            config.onStart(Phase.LOCAL_MESSAGE_HANDLER_REGISTRATIONS, () -> {
+                config.commandBus().registerHandlerInterceptor(unitOfWorkInterceptor);
+                config.queryBus().registerHandlerInterceptor(unitOfWorkInterceptor);
+                EventProcessingConfiguration eventProcessing = config.eventProcessingConfiguration();
+                if (eventProcessing != null) {
+                    eventProcessing.eventProcessors()
+                                   .values()
+                                   .forEach(processor -> processor.registerHandlerInterceptor(unitOfWorkInterceptor));
+                }
+            });
+        });
+    }
+
+    /**
+     * Replaces the component of given {@code componentType} with the result of the given {@code decorator}, applied to
+     * the component currently configured, or to the given {@code defaultImpl} if none is configured.
+     */
+    private static <T> void decorate(Configurer configurer,
+                                     Configuration config,
+                                     Class<T> componentType,
+                                     Supplier<T> defaultImpl,
+                                     Function<T, ? extends T> decorator) {
+        T configured = config.getComponent(componentType, defaultImpl);
+        configurer.registerComponent(componentType, c -> decorator.apply(configured));
+    }
+}
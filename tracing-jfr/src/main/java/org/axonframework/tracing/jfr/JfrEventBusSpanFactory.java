@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2010-2024. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.tracing.jfr;
+
+import org.axonframework.eventhandling.EventBusSpanFactory;
+import org.axonframework.eventhandling.EventMessage;
+import org.axonframework.tracing.Span;
+
+/**
+ * An {@link EventBusSpanFactory} decorator recording an {@link EventAppendEvent} in Java Flight Recorder for the span
+ * covering the commit of the events published in a unit of work. When the event is disabled, the spans of the
+ * delegate are returned as is.
+ *
+ * @author agent
+ * @since 4.11.0
+ */
+public class JfrEventBusSpanFactory implements EventBusSpanFactory {
+
+    private final EventBusSpanFactory delegate;
+
+    /**
+     * Construct a {@link JfrEventBusSpanFactory} decorating the given {@code delegate}.
+     *
+     * @param delegate the {@link EventBusSpanFactory} creating the spans to record events for
+     */
+    public JfrEventBusSpanFactory(EventBusSpanFactory delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Span createPublishEventSpan(EventMessage<?> eventMessage) {
+        return delegate.createPublishEventSpan(eventMessage);
+    }
+
+    @Override
+    public Span createCommitEventsSpan() {
+        Span span = delegate.createCommitEventsSpan();
+        EventAppendEvent event = new EventAppendEvent();
+        return event.isEnabled() ? new JfrSpan(span, event) : span;
+    }
+
+    @Override
+    public <T> EventMessage<T> propagateContext(EventMessage<T> eventMessage) {
+        return delegate.propagateContext(eventMessage);
+    }
+}
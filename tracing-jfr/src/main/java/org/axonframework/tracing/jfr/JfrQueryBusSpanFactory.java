@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2010-2024. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.tracing.jfr;
+
+import org.axonframework.queryhandling.QueryBusSpanFactory;
+import org.axonframework.queryhandling.QueryMessage;
+import org.axonframework.queryhandling.SubscriptionQueryMessage;
+import org.axonframework.queryhandling.SubscriptionQueryUpdateMessage;
+import org.axonframework.tracing.Span;
+
+/**
+ * A {@link QueryBusSpanFactory} decorator recording a {@link QueryHandlingEvent} in Java Flight Recorder for the spans
+ * covering the handling of a query. These are the spans of queries handled by a local query bus, and the spans of
+ * processing queries received from a remote node. When the event is disabled, the spans of the delegate are returned
+ * as is.
+ *
+ * @author agent
+ * @since 4.11.0
+ */
+public class JfrQueryBusSpanFactory implements QueryBusSpanFactory {
+
+    private final QueryBusSpanFactory delegate;
+
+    /**
+     * Construct a {@link JfrQueryBusSpanFactory} decorating the given {@code delegate}.
+     *
+     * @param delegate the {@link QueryBusSpanFactory} creating the spans to record events for
+     */
+    public JfrQueryBusSpanFactory(QueryBusSpanFactory delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Span createQuerySpan(QueryMessage<?, ?> queryMessage, boolean distributed) {
+        Span span = delegate.createQuerySpan(queryMessage, distributed);
+        return distributed ? span : recordHandling(span, queryMessage);
+    }
+
+    @Override
+    public Span createSubscriptionQuerySpan(SubscriptionQueryMessage<?, ?, ?> queryMessage, boolean distributed) {
+        return delegate.createSubscriptionQuerySpan(queryMessage, distributed);
+    }
+
+    @Override
+    public Span createSubscriptionQueryProcessUpdateSpan(SubscriptionQueryUpdateMessage<?> updateMessage,
+                                                         SubscriptionQueryMessage<?, ?, ?> queryMessage) {
+        return delegate.createSubscriptionQueryProcessUpdateSpan(updateMessage, queryMessage);
+    }
+
+    @Override
+    public Span createScatterGatherSpan(QueryMessage<?, ?> queryMessage, boolean distributed) {
+        return delegate.createScatterGatherSpan(queryMessage, distributed);
+    }
+
+    @Override
+    public Span createScatterGatherHandlerSpan(QueryMessage<?, ?> queryMessage, int handlerIndex) {
+        return recordHandling(delegate.createScatterGatherHandlerSpan(queryMessage, handlerIndex), queryMessage);
+    }
+
+    @Override
+    public Span createStreamingQuerySpan(QueryMessage<?, ?> queryMessage, boolean distributed) {
+        return delegate.createStreamingQuerySpan(queryMessage, distributed);
+    }
+
+    @Override
+    public Span createQueryProcessingSpan(QueryMessage<?, ?> queryMessage) {
+        return recordHandling(delegate.createQueryProcessingSpan(queryMessage), queryMessage);
+    }
+
+    @Override
+    public Span createResponseProcessingSpan(QueryMessage<?, ?> queryMessage) {
+        return delegate.createResponseProcessingSpan(queryMessage);
+    }
+
+    @Override
+    public <T, R, M extends QueryMessage<T, R>> M propagateContext(M queryMessage) {
+        return delegate.propagateContext(queryMessage);
+    }
+
+    private static Span recordHandling(Span span, QueryMessage<?, ?> queryMessage) {
+        QueryHandlingEvent event = new QueryHandlingEvent();
+        if (!event.isEnabled()) {
+            return span;
+        }
+        event.queryName = queryMessage.getQueryName();
+        return new JfrSpan(span, event);
+    }
+}
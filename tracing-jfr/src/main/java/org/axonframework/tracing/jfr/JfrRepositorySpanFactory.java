@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2010-2024. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.tracing.jfr;
+
+import org.axonframework.modelling.command.RepositorySpanFactory;
+import org.axonframework.tracing.Span;
+
+import java.util.Collection;
+
+/**
+ * A {@link RepositorySpanFactory} decorator recording an {@link AggregateLoadEvent} and an {@link AggregateLockEvent}
+ * in Java Flight Recorder for the spans created by the delegate. When these events are disabled, the spans of the
+ * delegate are returned as is.
+ *
+ * @author agent
+ * @since 4.11.0
+ */
+public class JfrRepositorySpanFactory implements RepositorySpanFactory {
+
+    private final RepositorySpanFactory delegate;
+
+    /**
+     * Construct a {@link JfrRepositorySpanFactory} decorating the given {@code delegate}.
+     *
+     * @param delegate the {@link RepositorySpanFactory} creating the spans to record events for
+     */
+    public JfrRepositorySpanFactory(RepositorySpanFactory delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Span createLoadSpan(String aggregateId) {
+        Span span = delegate.createLoadSpan(aggregateId);
+        AggregateLoadEvent event = new AggregateLoadEvent();
+        if (!event.isEnabled()) {
+            return span;
+        }
+        event.aggregateId = aggregateId;
+        return new JfrSpan(span, event);
+    }
+
+    @Override
+    public Span createLoadAllSpan(Collection<String> aggregateIds) {
+        Span span = delegate.createLoadAllSpan(aggregateIds);
+        AggregateLoadEvent event = new AggregateLoadEvent();
+        if (!event.isEnabled()) {
+            return span;
+        }
+        event.aggregateId = String.join(",", aggregateIds);
+        return new JfrSpan(span, event);
+    }
+
+    @Override
+    public Span createObtainLockSpan(String aggregateId) {
+        Span span = delegate.createObtainLockSpan(aggregateId);
+        AggregateLockEvent event = new AggregateLockEvent();
+        if (!event.isEnabled()) {
+            return span;
+        }
+        event.aggregateId = aggregateId;
+        return new JfrSpan(span, event);
+    }
+
+    @Override
+    public Span createInitializeStateSpan(String aggregateType, String aggregateId) {
+        return delegate.createInitializeStateSpan(aggregateType, aggregateId);
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2010-2024. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.tracing.jfr;
+
+import org.axonframework.tracing.Span;
+import org.axonframework.tracing.SpanScope;
+
+/**
+ * A {@link Span} decorator recording a Java Flight Recorder event alongside the delegate span. The event begins when
+ * the span is started and is committed when the span ends.
+ *
+ * @author agent
+ * @since 4.11.0
+ */
+class JfrSpan implements Span {
+
+    private final Span delegate;
+    private final AxonEvent event;
+
+    /**
+     * Construct a span recording the given {@code event} alongside the given {@code delegate}. The {@code event}
+     * should be {@link jdk.jfr.Event#isEnabled() enabled}, as there is no use in decorating a span otherwise.
+     *
+     * @param delegate the span to decorate
+     * @param event    the event to record alongside the span
+     */
+    JfrSpan(Span delegate, AxonEvent event) {
+        this.delegate = delegate;
+        this.event = event;
+    }
+
+    @Override
+    public Span start() {
+        event.begin();
+        delegate.start();
+        return this;
+    }
+
+    @Override
+    public SpanScope makeCurrent() {
+        return delegate.makeCurrent();
+    }
+
+    @Override
+    public void end() {
+        delegate.end();
+        event.commit();
+    }
+
+    @Override
+    public Span recordException(Throwable t) {
+        event.failed = true;
+        delegate.recordException(t);
+        return this;
+    }
+
+    @Override
+    public Span addAttribute(String key, String value) {
+        delegate.addAttribute(key, value);
+        return this;
+    }
+}
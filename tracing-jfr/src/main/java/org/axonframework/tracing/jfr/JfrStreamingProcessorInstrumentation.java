@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2010-2024. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.tracing.jfr;
+
+import org.axonframework.eventhandling.StreamingProcessorInstrumentation;
+import org.axonframework.eventhandling.TrackingToken;
+
+import java.time.Instant;
+
+/**
+ * A {@link StreamingProcessorInstrumentation} recording {@link EventFetchEvent EventFetchEvents}, {@link
+ * TokenStoreEvent TokenStoreEvents} and {@link SegmentClaimEvent SegmentClaimEvents} in Java Flight Recorder. Events
+ * are only created when they are enabled in the active recording. All invocations are forwarded to a delegate
+ * {@link StreamingProcessorInstrumentation}, allowing this instrumentation to be combined with others, such as metrics.
+ *
+ * @author agent
+ * @since 4.11.0
+ */
+public class JfrStreamingProcessorInstrumentation implements StreamingProcessorInstrumentation {
+
+    private final StreamingProcessorInstrumentation delegate;
+
+    /**
+     * Creates a {@link JfrStreamingProcessorInstrumentation} forwarding all invocations to the given {@code delegate}.
+     *
+     * @param delegate the {@link StreamingProcessorInstrumentation} to forward all invocations to
+     */
+    public JfrStreamingProcessorInstrumentation(StreamingProcessorInstrumentation delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void eventsFetched(String processorName, int segmentId, int count, long durationNanos) {
+        delegate.eventsFetched(processorName, segmentId, count, durationNanos);
+        EventFetchEvent event = new EventFetchEvent();
+        if (event.isEnabled()) {
+            event.processorName = processorName;
+            event.segment = segmentId;
+            event.eventCount = count;
+            event.fetchTime = durationNanos;
+            event.commit();
+        }
+    }
+
+    @Override
+    public void batchProcessed(String processorName, int segmentId, int batchSize, long durationNanos) {
+        delegate.batchProcessed(processorName, segmentId, batchSize, durationNanos);
+    }
+
+    @Override
+    public void handlerInvoked(String processorName, int segmentId, Class<?> handlerType, long durationNanos) {
+        delegate.handlerInvoked(processorName, segmentId, handlerType, durationNanos);
+    }
+
+    @Override
+    public void tokenStored(String processorName, int segmentId, long durationNanos) {
+        delegate.tokenStored(processorName, segmentId, durationNanos);
+        TokenStoreEvent event = new TokenStoreEvent();
+        if (event.isEnabled()) {
+            event.processorName = processorName;
+            event.segment = segmentId;
+            event.storeTime = durationNanos;
+            event.commit();
+        }
+    }
+
+    @Override
+    public void segmentClaimed(String processorName, int segmentId) {
+        delegate.segmentClaimed(processorName, segmentId);
+        recordClaim(processorName, segmentId, false);
+    }
+
+    @Override
+    public void segmentReleased(String processorName, int segmentId) {
+        delegate.segmentReleased(processorName, segmentId);
+        recordClaim(processorName, segmentId, true);
+    }
+
+    @Override
+    public void segmentAdvanced(String processorName, int segmentId, TrackingToken token, Instant eventTimestamp) {
+        delegate.segmentAdvanced(processorName, segmentId, token, eventTimestamp);
+    }
+
+    private static void recordClaim(String processorName, int segmentId, boolean released) {
+        SegmentClaimEvent event = new SegmentClaimEvent();
+        if (event.isEnabled()) {
+            event.processorName = processorName;
+            event.segment = segmentId;
+            event.released = released;
+            event.commit();
+        }
+    }
+}
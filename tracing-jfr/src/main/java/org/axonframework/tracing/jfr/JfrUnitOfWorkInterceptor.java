@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2010-2024. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.tracing.jfr;
+
+import org.axonframework.commandhandling.CommandMessage;
+import org.axonframework.messaging.InterceptorChain;
+import org.axonframework.messaging.Message;
+import org.axonframework.messaging.MessageHandlerInterceptor;
+import org.axonframework.messaging.unitofwork.BatchingUnitOfWork;
+import org.axonframework.messaging.unitofwork.UnitOfWork;
+import org.axonframework.queryhandling.QueryMessage;
+
+import javax.annotation.Nonnull;
+
+/**
+ * A {@link MessageHandlerInterceptor} recording a {@link UnitOfWorkEvent} in Java Flight Recorder for each
+ * {@link UnitOfWork} it intercepts. The event covers the unit of work until it is cleaned up, and records the time
+ * spent handling the message, preparing the commit and committing.
+ * <p>
+ * For a {@link BatchingUnitOfWork}, a single event is recorded for the entire batch, named after its first message.
+ *
+ * @author agent
+ * @since 4.11.0
+ */
+public class JfrUnitOfWorkInterceptor implements MessageHandlerInterceptor<Message<?>> {
+
+    @Override
+    public Object handle(@Nonnull UnitOfWork<? extends Message<?>> unitOfWork,
+                         @Nonnull InterceptorChain interceptorChain) throws Exception {
+        if (unitOfWork instanceof BatchingUnitOfWork && !((BatchingUnitOfWork<?>) unitOfWork).isFirstMessage()) {
+            return interceptorChain.proceed();
+        }
+        UnitOfWorkEvent event = new UnitOfWorkEvent();
+        if (!event.isEnabled()) {
+            return interceptorChain.proceed();
+        }
+        event.messageName = messageName(unitOfWork.getMessage());
+        event.begin();
+        long[] phaseStart = {System.nanoTime()};
+        // listeners of these phases are invoked in registration order, so these run before those of the handler
+        unitOfWork.onPrepareCommit(u -> event.handlingTime = endPhase(phaseStart));
+        unitOfWork.onCommit(u -> event.prepareCommitTime = endPhase(phaseStart));
+        // after commit and cleanup listeners are invoked in reverse order, so these run after those of the handler
+        unitOfWork.afterCommit(u -> event.commitTime = endPhase(phaseStart));
+        unitOfWork.onRollback(u -> event.failed = true);
+        unitOfWork.onCleanup(u -> event.commit());
+        return interceptorChain.proceed();
+    }
+
+    private static long endPhase(long[] phaseStart) {
+        long now = System.nanoTime();
+        long duration = now - phaseStart[0];
+        phaseStart[0] = now;
+        return duration;
+    }
+
+    private static String messageName(Message<?> message) {
+        if (message instanceof CommandMessage) {
+            return ((CommandMessage<?>) message).getCommandName();
+        }
+        if (message instanceof QueryMessage) {
+            return ((QueryMessage<?, ?>) message).getQueryName();
+        }
+        return message.getPayloadType().getName();
+    }
+}
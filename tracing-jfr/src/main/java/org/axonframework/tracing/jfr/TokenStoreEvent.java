@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2010-2024. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.tracing.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Java Flight Recorder event describing the storage of a token by a streaming event processor. As the measurement is
+ * reported once the token has been stored, the time it took is recorded in the {@code storeTime} field.
+ *
+ * @author agent
+ * @since 4.11.0
+ */
+@Name("org.axonframework.TokenStore")
+@Label("Token Store")
+@Category({"Axon Framework", "Event Processing"})
+@Description("Storing the token of a segment")
+class TokenStoreEvent extends AxonEvent {
+
+    @Label("Processor Name")
+    String processorName;
+
+    @Label("Segment")
+    int segment;
+
+    @Label("Store Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long storeTime;
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2010-2024. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.tracing.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Java Flight Recorder event covering a unit of work, from the moment its message is handled until the unit of work
+ * is cleaned up. The time spent in the handler and in the prepare commit and commit phases is recorded in separate
+ * fields.
+ *
+ * @author agent
+ * @since 4.11.0
+ */
+@Name("org.axonframework.UnitOfWork")
+@Label("Unit of Work")
+@Category({"Axon Framework", "Unit of Work"})
+@Description("Processing a message in a unit of work")
+class UnitOfWorkEvent extends AxonEvent {
+
+    @Label("Message Name")
+    String messageName;
+
+    @Label("Handling Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long handlingTime;
+
+    @Label("Prepare Commit Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long prepareCommitTime;
+
+    @Label("Commit Time")
+    @Description("The time spent committing, including the after commit phase")
+    @Timespan(Timespan.NANOSECONDS)
+    long commitTime;
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2010-2024. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.tracing.jfr;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.axonframework.commandhandling.CommandBusSpanFactory;
+import org.axonframework.commandhandling.CommandMessage;
+import org.axonframework.commandhandling.GenericCommandMessage;
+import org.axonframework.tracing.Span;
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class validating the {@link JfrCommandBusSpanFactory}.
+ *
+ * @author agent
+ */
+class JfrCommandBusSpanFactoryTest {
+
+    private static final CommandMessage<String> COMMAND = GenericCommandMessage.asCommandMessage("payload");
+
+    private Span delegateSpan;
+    private JfrCommandBusSpanFactory testSubject;
+
+    @BeforeEach
+    void setUp() {
+        CommandBusSpanFactory delegate = mock(CommandBusSpanFactory.class);
+        delegateSpan = mock(Span.class);
+        when(delegate.createDispatchCommandSpan(any(), anyBoolean())).thenReturn(delegateSpan);
+        when(delegate.createHandleCommandSpan(any(), anyBoolean())).thenReturn(delegateSpan);
+        testSubject = new JfrCommandBusSpanFactory(delegate);
+    }
+
+    @Test
+    void delegateSpanIsReturnedWhenNoRecordingIsActive() {
+        assertSame(delegateSpan, testSubject.createHandleCommandSpan(COMMAND, false));
+    }
+
+    @Test
+    void handlingEventIsRecordedWhenSpanEnds() throws IOException {
+        List<RecordedEvent> events;
+        try (Recording recording = new Recording()) {
+            recording.enable(CommandHandlingEvent.class);
+            recording.start();
+
+            Span span = testSubject.createHandleCommandSpan(COMMAND, true).start();
+            span.recordException(new RuntimeException("faking a failure"));
+            span.end();
+
+            recording.stop();
+            events = eventsOf(recording);
+        }
+
+        verify(delegateSpan).start();
+        verify(delegateSpan).end();
+        assertEquals(1, events.size());
+        RecordedEvent event = events.get(0);
+        assertEquals("org.axonframework.CommandHandling", event.getEventType().getName());
+        assertEquals(COMMAND.getCommandName(), event.getString("commandName"));
+        assertTrue(event.getBoolean("distributed"));
+        assertTrue(event.getBoolean("failed"));
+    }
+
+    @Test
+    void disabledEventsAreNotRecorded() throws IOException {
+        List<RecordedEvent> events;
+        try (Recording recording = new Recording()) {
+            recording.enable(CommandHandlingEvent.class);
+            recording.start();
+
+            Span dispatchSpan = testSubject.createDispatchCommandSpan(COMMAND, false);
+            dispatchSpan.start().end();
+
+            recording.stop();
+            events = eventsOf(recording);
+        }
+
+        assertTrue(events.isEmpty());
+    }
+
+    private static List<RecordedEvent> eventsOf(Recording recording) throws IOException {
+        Path file = Files.createTempFile("axon-jfr", ".jfr");
+        try {
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file)
+                                .stream()
+                                .filter(event -> event.getEventType().getName().startsWith("org.axonframework"))
+                                .collect(Collectors.toList());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2010-2024. Axon Framework
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.axonframework.tracing.jfr;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.axonframework.commandhandling.CommandMessage;
+import org.axonframework.commandhandling.GenericCommandMessage;
+import org.axonframework.messaging.InterceptorChain;
+import org.axonframework.messaging.unitofwork.DefaultUnitOfWork;
+import org.axonframework.messaging.unitofwork.UnitOfWork;
+import org.junit.jupiter.api.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class validating the {@link JfrUnitOfWorkInterceptor}.
+ *
+ * @author agent
+ */
+class JfrUnitOfWorkInterceptorTest {
+
+    private final JfrUnitOfWorkInterceptor testSubject = new JfrUnitOfWorkInterceptor();
+
+    @Test
+    void eventIsRecordedWhenUnitOfWorkIsCleanedUp() throws Exception {
+        CommandMessage<String> command = GenericCommandMessage.asCommandMessage("payload");
+        InterceptorChain interceptorChain = mock(InterceptorChain.class);
+        Path file = Files.createTempFile("axon-jfr", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(UnitOfWorkEvent.class);
+            recording.start();
+
+            UnitOfWork<CommandMessage<String>> unitOfWork = DefaultUnitOfWork.startAndGet(command);
+            unitOfWork.executeWithResult(() -> testSubject.handle(unitOfWork, interceptorChain));
+
+            recording.stop();
+            recording.dump(file);
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file)
+                                                      .stream()
+                                                      .filter(e -> e.getEventType().getName()
+                                                                    .equals("org.axonframework.UnitOfWork"))
+                                                      .collect(Collectors.toList());
+
+            verify(interceptorChain).proceed();
+            assertEquals(1, events.size());
+            assertEquals(command.getCommandName(), events.get(0).getString("messageName"));
+            assertFalse(events.get(0).getBoolean("failed"));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
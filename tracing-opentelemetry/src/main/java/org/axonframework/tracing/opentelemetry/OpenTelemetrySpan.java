@@ -27,6 +27,7 @@
 import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 
 /**
  * {@link Span} implementation that uses OpenTelemetry's {@link io.opentelemetry.api.trace.Span} to provide tracing
@@ -45,6 +46,7 @@ public class OpenTelemetrySpan implements Span {
     private static final Logger logger = LoggerFactory.getLogger(OpenTelemetrySpan.class);
 
     private final SpanBuilder spanBuilder;
+    private final Consumer<io.opentelemetry.api.trace.Span> lazyAttributes;
     private final List<Scope> scopes = new CopyOnWriteArrayList<>();
     private io.opentelemetry.api.trace.Span span = null;
     private boolean ended = false;
@@ -56,14 +58,33 @@ public class OpenTelemetrySpan implements Span {
      * @param spanBuilder The provider of the {@link io.opentelemetry.api.trace.Span}.
      */
     public OpenTelemetrySpan(SpanBuilder spanBuilder) {
+        this(spanBuilder, span -> {
+        });
+    }
+
+    /**
+     * Creates the span, based on the {@link SpanBuilder} provided. This {@link SpanBuilder} will supply the
+     * {@link io.opentelemetry.api.trace.Span} when the {@link #start()} method is invoked. The given
+     * {@code lazyAttributes} are only invoked once the span has been started, and only if it is recording.
+     *
+     * @param spanBuilder    The provider of the {@link io.opentelemetry.api.trace.Span}.
+     * @param lazyAttributes Sets attributes on the started {@link io.opentelemetry.api.trace.Span}, if it is
+     *                       recording.
+     */
+    public OpenTelemetrySpan(SpanBuilder spanBuilder, Consumer<io.opentelemetry.api.trace.Span> lazyAttributes) {
         Objects.requireNonNull(spanBuilder, "Span builder can not be null!");
+        Objects.requireNonNull(lazyAttributes, "Lazy attributes can not be null!");
         this.spanBuilder = spanBuilder;
+        this.lazyAttributes = lazyAttributes;
     }
 
     @Override
     public Span start() {
         if (span == null) {
             span = spanBuilder.startSpan();
+            if (span.isRecording()) {
+                lazyAttributes.accept(span);
+            }
         } else {
             logger.warn("An attempt was made to start span with id [{}] of trace [{}] a second time",
                          span.getSpanContext().getSpanId(),
@@ -34,6 +34,7 @@
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.function.BiConsumer;
 import java.util.function.Supplier;
 import javax.annotation.Nonnull;
 
@@ -63,6 +64,7 @@ public class OpenTelemetrySpanFactory implements SpanFactory {
     private final List<SpanAttributesProvider> spanAttributesProviders;
     private final TextMapGetter<Message<?>> textMapGetter;
     private final TextMapSetter<Map<String, String>> textMapSetter;
+    private final boolean lazyAttributes;
 
     /**
      * Instantiate a {@link OpenTelemetrySpanFactory} based on the fields contained in the {@link Builder}.
@@ -75,6 +77,7 @@ public OpenTelemetrySpanFactory(Builder builder) {
         this.textMapPropagator = builder.textMapPropagator;
         this.textMapGetter = builder.textMapGetter;
         this.textMapSetter = builder.textMapSetter;
+        this.lazyAttributes = builder.lazyAttributes;
     }
 
     /**
@@ -121,8 +124,7 @@ public Span createHandlerSpan(Supplier<String> operationNameSupplier, Message<?>
                        .setNoParent();
         }
         addLinks(spanBuilder, linkedParents);
-        addMessageAttributes(spanBuilder, parentMessage);
-        return new OpenTelemetrySpan(spanBuilder);
+        return createSpan(spanBuilder, parentMessage);
     }
 
     @Override
@@ -132,8 +134,7 @@ public Span createDispatchSpan(Supplier<String> operationNameSupplier, Message<?
                 formatName(operationNameSupplier.get(), parentMessage),
                 SpanKind.PRODUCER);
         addLinks(spanBuilder, linkedSiblings);
-        addMessageAttributes(spanBuilder, parentMessage);
-        return new OpenTelemetrySpan(spanBuilder);
+        return createSpan(spanBuilder, parentMessage);
     }
 
     private void addLinks(SpanBuilder spanBuilder, Message<?>[] linkedMessages) {
@@ -160,8 +161,7 @@ public Span createInternalSpan(Supplier<String> operationNameSupplier, Message<?
                 formatName(operationNameSupplier.get(), message),
                 SpanKind.INTERNAL
         );
-        addMessageAttributes(spanBuilder, message);
-        return new OpenTelemetrySpan(spanBuilder);
+        return createSpan(spanBuilder, message);
     }
 
     @Override
@@ -178,13 +178,21 @@ private String formatName(String operationName, Message<?> message) {
                              determineMessageName(message));
     }
 
-    private void addMessageAttributes(SpanBuilder spanBuilder, Message<?> message) {
+    private Span createSpan(SpanBuilder spanBuilder, Message<?> message) {
+        if (lazyAttributes) {
+            return new OpenTelemetrySpan(spanBuilder, span -> addMessageAttributes(span::setAttribute, message));
+        }
+        addMessageAttributes(spanBuilder::setAttribute, message);
+        return new OpenTelemetrySpan(spanBuilder);
+    }
+
+    private void addMessageAttributes(BiConsumer<String, String> attributeSetter, Message<?> message) {
         if (message == null) {
             return;
         }
         spanAttributesProviders.forEach(supplier -> {
             Map<String, String> attributes = supplier.provideForMessage(message);
-            attributes.forEach(spanBuilder::setAttribute);
+            attributes.forEach(attributeSetter);
         });
     }
 
@@ -213,6 +221,7 @@ public static class Builder {
         private TextMapPropagator textMapPropagator = null;
         private TextMapSetter<Map<String, String>> textMapSetter = MetadataContextSetter.INSTANCE;
         private TextMapGetter<Message<?>> textMapGetter = MetadataContextGetter.INSTANCE;
+        private boolean lazyAttributes = false;
 
         private final List<SpanAttributesProvider> spanAttributesProviders = new LinkedList<>();
 
@@ -278,6 +287,22 @@ public Builder textMapGetter(TextMapGetter<Message<?>> textMapGetter) {
             return this;
         }
 
+        /**
+         * Defines whether the attributes of the {@link SpanAttributesProvider SpanAttributesProviders} are only
+         * evaluated once a span has been started and is recording. Defaults to {@code false}, in which case the
+         * attributes are evaluated when the span is created, making them available to the OpenTelemetry sampler.
+         * <p>
+         * When enabled, spans that are dropped by the OpenTelemetry sampler do not evaluate any attributes. Samplers
+         * that base their decision on these attributes will not see them.
+         *
+         * @param lazyAttributes Whether attributes should only be evaluated for recording spans.
+         * @return The current Builder instance, for fluent interfacing.
+         */
+        public Builder lazyAttributes(boolean lazyAttributes) {
+            this.lazyAttributes = lazyAttributes;
+            return this;
+        }
+
         /**
          * Initializes the {@link OpenTelemetrySpanFactory}.
          *
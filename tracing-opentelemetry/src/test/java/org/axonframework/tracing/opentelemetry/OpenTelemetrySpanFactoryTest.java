@@ -151,6 +151,29 @@ void createHandlerSpanAddsAttributes() {
         verify(spanBuilder).setAttribute("myKey", "myValue");
     }
 
+    @Test
+    void lazyAttributesAreOnlyEvaluatedForRecordingSpans() {
+        OpenTelemetrySpanFactory lazyFactory =
+                OpenTelemetrySpanFactory.builder()
+                                        .tracer(tracer)
+                                        .addSpanAttributeProviders(Collections.singletonList(spanAttributesProvider))
+                                        .lazyAttributes(true)
+                                        .build();
+        Span recordingSpan = mock(Span.class);
+        when(recordingSpan.isRecording()).thenReturn(true);
+        Span droppedSpan = mock(Span.class);
+        when(droppedSpan.isRecording()).thenReturn(false);
+        when(spanBuilder.startSpan()).thenReturn(droppedSpan, recordingSpan);
+        when(spanAttributesProvider.provideForMessage(any())).thenReturn(Collections.singletonMap("myKey", "myValue"));
+
+        lazyFactory.createLinkedHandlerSpan(() -> "MyRootTrace", generateMessageWithTraceId("1")).start();
+        verify(spanAttributesProvider, never()).provideForMessage(any());
+
+        lazyFactory.createLinkedHandlerSpan(() -> "MyRootTrace", generateMessageWithTraceId("2")).start();
+        verify(recordingSpan).setAttribute("myKey", "myValue");
+        verify(spanBuilder, never()).setAttribute(anyString(), anyString());
+    }
+
     @Test
     void createDispatchSpanAddsLinks() {
         Message<?> message = generateMessageWithTraceId("1");